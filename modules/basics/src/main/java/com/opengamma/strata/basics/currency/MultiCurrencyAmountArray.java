@@ -230,10 +230,10 @@ public final class MultiCurrencyAmountArray
   public CurrencyAmountArray convertedTo(Currency resultCurrency, FxRateProvider fxRateProvider) {
     double[] singleCurrencyValues = new double[size];
     for (Map.Entry<Currency, DoubleArray> entry : values.entrySet()) {
-      Currency currency = entry.getKey();
-      DoubleArray currencyValues = entry.getValue();
+      double[] currencyValues = entry.getValue().toArrayUnsafe();
+      double fxRate = fxRateProvider.fxRate(entry.getKey(), resultCurrency);
       for (int i = 0; i < size; i++) {
-        singleCurrencyValues[i] += currencyValues.get(i) * fxRateProvider.fxRate(currency, resultCurrency);
+        singleCurrencyValues[i] += currencyValues[i] * fxRate;
       }
     }
     return CurrencyAmountArray.of(resultCurrency, DoubleArray.ofUnsafe(singleCurrencyValues));
@@ -357,23 +357,39 @@ public final class MultiCurrencyAmountArray
    * @return the collector
    */
   public static Collector<CurrencyAmountArray, ?, MultiCurrencyAmountArray> toMultiCurrencyAmountArray() {
-    return Collector.<CurrencyAmountArray, Map<Currency, CurrencyAmountArray>, MultiCurrencyAmountArray>of(
-        // accumulate into a map
+    return Collector.<CurrencyAmountArray, Map<Currency, double[]>, MultiCurrencyAmountArray>of(
+        // accumulate into a map of mutable arrays, one per currency, avoiding a new array for each element
         HashMap::new,
-        (map, ca) -> map.merge(ca.getCurrency(), ca, CurrencyAmountArray::plus),
+        (map, ca) -> accumulate(map, ca.getCurrency(), ca.getValues().toArrayUnsafe()),
         // combine two maps
         (map1, map2) -> {
-          map2.values().forEach((ca2) -> map1.merge(ca2.getCurrency(), ca2, CurrencyAmountArray::plus));
+          map2.forEach((currency, array) -> accumulate(map1, currency, array));
           return map1;
         },
         // convert to MultiCurrencyAmountArray
         map -> {
-          Map<Currency, DoubleArray> currencyArrayMap = MapStream.of(map).mapValues(caa -> caa.getValues()).toMap();
+          Map<Currency, DoubleArray> currencyArrayMap = MapStream.of(map).mapValues(DoubleArray::ofUnsafe).toMap();
           return MultiCurrencyAmountArray.of(currencyArrayMap);
         },
         UNORDERED);
   }
 
+  // adds the values to the mutable array of the currency
+  private static void accumulate(Map<Currency, double[]> map, Currency currency, double[] values) {
+    double[] total = map.get(currency);
+    if (total == null) {
+      map.put(currency, values.clone());
+      return;
+    }
+    if (total.length != values.length) {
+      throw new IllegalArgumentException(Messages.format(
+          "Sizes must be equal, this size is {}, other size is {}", total.length, values.length));
+    }
+    for (int i = 0; i < total.length; i++) {
+      total[i] += values[i];
+    }
+  }
+
   //------------------------- AUTOGENERATED START -------------------------
   /**
    * The meta-bean for {@code MultiCurrencyAmountArray}.
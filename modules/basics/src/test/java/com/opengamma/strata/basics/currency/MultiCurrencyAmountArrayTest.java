@@ -401,6 +401,16 @@ public class MultiCurrencyAmountArrayTest {
     assertThat(MultiCurrencyAmountArray.total(arrays)).isEqualTo(expected);
   }
 
+  public void collectorInputsUnchanged() {
+    CurrencyAmountArray usd1 = CurrencyAmountArray.of(USD, DoubleArray.of(10, 20, 30));
+    CurrencyAmountArray usd2 = CurrencyAmountArray.of(USD, DoubleArray.of(5, 6, 7));
+    MultiCurrencyAmountArray test = ImmutableList.of(usd1, usd2, usd1).parallelStream()
+        .collect(toMultiCurrencyAmountArray());
+    assertThat(test.getValues(USD)).isEqualTo(DoubleArray.of(25, 46, 67));
+    assertThat(usd1.getValues()).isEqualTo(DoubleArray.of(10, 20, 30));
+    assertThat(usd2.getValues()).isEqualTo(DoubleArray.of(5, 6, 7));
+  }
+
   public void collectorDifferentArrayLengths() {
     List<CurrencyAmountArray> arrays = ImmutableList.of(
         CurrencyAmountArray.of(USD, DoubleArray.of(10, 20, 30)),
@@ -0,0 +1,184 @@
+/*
+ * Copyright (C) 2019 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import static com.opengamma.strata.basics.index.IborIndices.GBP_LIBOR_6M;
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+import static com.opengamma.strata.product.swap.type.FixedIborSwapConventions.GBP_FIXED_6M_LIBOR_6M;
+import static com.opengamma.strata.product.swap.type.FixedOvernightSwapConventions.GBP_FIXED_1Y_SONIA_OIS;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.date.Tenor;
+import com.opengamma.strata.collect.io.ResourceLocator;
+import com.opengamma.strata.data.ImmutableMarketData;
+import com.opengamma.strata.loader.csv.QuotesCsvLoader;
+import com.opengamma.strata.loader.csv.RatesCalibrationCsvLoader;
+import com.opengamma.strata.market.curve.CurveGroupName;
+import com.opengamma.strata.market.curve.RatesCurveGroupDefinition;
+import com.opengamma.strata.pricer.curve.RatesCurveCalibrator;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+import com.opengamma.strata.product.Trade;
+import com.opengamma.strata.product.common.BuySell;
+import com.opengamma.strata.product.fra.type.FraConvention;
+import com.opengamma.strata.product.swap.ResolvedSwapTrade;
+import com.opengamma.strata.product.swap.SwapTrade;
+
+/**
+ * Fixtures shared by the benchmarks.
+ * <p>
+ * The market data is a GBP curve group, with an OIS discounting curve and a 6M Libor forward curve,
+ * calibrated to the market quotes of 2016-08-01.
+ * The portfolios are generated deterministically so that runs can be compared.
+ */
+public final class BenchmarkFixtures {
+
+  /**
+   * The reference data.
+   */
+  public static final ReferenceData REF_DATA = ReferenceData.standard();
+  /**
+   * The valuation date.
+   */
+  public static final LocalDate VALUATION_DATE = LocalDate.of(2016, 8, 1);
+  /**
+   * The name of the curve group.
+   */
+  public static final CurveGroupName CURVE_GROUP_NAME = CurveGroupName.of("GBP-DSCONOIS-L6MIRS");
+
+  // the location of the data files
+  private static final String GROUPS_FILE = "GBP-DSCONOIS-L6MIRS-group.csv";
+  private static final String SETTINGS_FILE = "GBP-DSCONOIS-L6MIRS-settings.csv";
+  private static final String NODES_FILE = "GBP-DSCONOIS-L6MIRS-nodes.csv";
+  private static final String QUOTES_FILE = "MARKET-QUOTES-GBP-20160801.csv";
+
+  // the swap tenors, in years, used to build the portfolios
+  private static final int[] TENORS = {1, 2, 3, 4, 5, 7, 10, 12, 15, 20, 25, 30};
+  // the notional used for the trades
+  private static final double NOTIONAL = 10_000_000;
+
+  /**
+   * Restricted constructor.
+   */
+  private BenchmarkFixtures() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Loads the curve group definition.
+   *
+   * @return the curve group definition
+   */
+  public static RatesCurveGroupDefinition curveGroupDefinition() {
+    return RatesCalibrationCsvLoader.load(resource(GROUPS_FILE), resource(SETTINGS_FILE), resource(NODES_FILE))
+        .get(CURVE_GROUP_NAME)
+        .filtered(VALUATION_DATE, REF_DATA);
+  }
+
+  /**
+   * Loads the market quotes used to calibrate the curves.
+   *
+   * @return the market quotes
+   */
+  public static ImmutableMarketData marketQuotes() {
+    return ImmutableMarketData.of(VALUATION_DATE, QuotesCsvLoader.load(VALUATION_DATE, resource(QUOTES_FILE)));
+  }
+
+  /**
+   * Calibrates the curves to the market quotes.
+   *
+   * @return the calibrated rates provider
+   */
+  public static ImmutableRatesProvider calibratedRatesProvider() {
+    return RatesCurveCalibrator.standard().calibrate(curveGroupDefinition(), marketQuotes(), REF_DATA);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates a portfolio of forward starting GBP fixed versus 6M Libor swaps.
+   * <p>
+   * The swaps cycle through tenors from 1 to 30 years with coupons spread between 0.5% and 2.5%.
+   *
+   * @param size  the number of swaps
+   * @return the swaps
+   */
+  public static ImmutableList<SwapTrade> swapPortfolio(int size) {
+    return IntStream.range(0, size)
+        .mapToObj(i -> iborSwap(i))
+        .collect(toImmutableList());
+  }
+
+  /**
+   * Creates a portfolio of resolved GBP fixed versus 6M Libor swaps.
+   *
+   * @param size  the number of swaps
+   * @return the resolved swaps
+   */
+  public static ImmutableList<ResolvedSwapTrade> resolvedSwapPortfolio(int size) {
+    return swapPortfolio(size).stream()
+        .map(trade -> trade.resolve(REF_DATA))
+        .collect(toImmutableList());
+  }
+
+  /**
+   * Creates a mixed portfolio of trades.
+   * <p>
+   * The portfolio contains 60% Libor swaps, 20% SONIA OIS and 20% FRAs, all forward starting
+   * so that no fixings are required.
+   *
+   * @param size  the number of trades
+   * @return the trades
+   */
+  public static List<Trade> mixedPortfolio(int size) {
+    return IntStream.range(0, size)
+        .mapToObj(i -> mixedTrade(i))
+        .collect(toImmutableList());
+  }
+
+  // creates the trade at the specified position in the mixed portfolio
+  private static Trade mixedTrade(int index) {
+    switch (index % 5) {
+      case 3:
+        return GBP_FIXED_1Y_SONIA_OIS.createTrade(
+            VALUATION_DATE, Period.ofMonths(1), tenor(index), buySell(index), NOTIONAL, coupon(index), REF_DATA);
+      case 4:
+        return FraConvention.of(GBP_LIBOR_6M).createTrade(
+            VALUATION_DATE, Period.ofMonths(1 + index % 18), buySell(index), NOTIONAL, coupon(index), REF_DATA);
+      default:
+        return iborSwap(index);
+    }
+  }
+
+  // creates the Libor swap at the specified position in a portfolio
+  private static SwapTrade iborSwap(int index) {
+    return GBP_FIXED_6M_LIBOR_6M.createTrade(
+        VALUATION_DATE, Period.ofMonths(3), tenor(index), buySell(index), NOTIONAL, coupon(index), REF_DATA);
+  }
+
+  private static Tenor tenor(int index) {
+    return Tenor.ofYears(TENORS[index % TENORS.length]);
+  }
+
+  private static BuySell buySell(int index) {
+    return index % 2 == 0 ? BuySell.BUY : BuySell.SELL;
+  }
+
+  private static double coupon(int index) {
+    return 0.005 + (index % 101) * 0.0002;
+  }
+
+  //-------------------------------------------------------------------------
+  // locates a file on the classpath
+  private static ResourceLocator resource(String name) {
+    return ResourceLocator.ofClasspath(BenchmarkFixtures.class, name);
+  }
+
+}
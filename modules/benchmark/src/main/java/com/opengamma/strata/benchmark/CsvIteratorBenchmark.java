@@ -0,0 +1,134 @@
+/*
+ * Copyright (C) 2019 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.io.CharSource;
+import com.opengamma.strata.collect.io.CsvIterator;
+import com.opengamma.strata.collect.io.CsvRow;
+
+// CSOFF: VisibilityModifier
+/**
+ * Benchmark for {@link CsvIterator}.
+ * <p>
+ * Parses a file of 10,000 swap trades in the format read by the trade loader.
+ * The time reported is for the whole file.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CsvIteratorBenchmark {
+
+  // the number of rows in the file
+  private static final int ROW_COUNT = 10_000;
+  // the header row
+  private static final String HEADER =
+      "Strata Trade Type,Id Scheme,Id,Trade Date,Direction,Convention,Start Date,End Date,Fixed Rate,Notional,Note";
+
+  /**
+   * Whether the fields are quoted.
+   */
+  @Param({"false", "true"})
+  boolean quoted;
+
+  private CharSource source;
+
+  /**
+   * Creates the file contents.
+   */
+  @Setup
+  public void setup() {
+    StringBuilder buf = new StringBuilder(ROW_COUNT * 150);
+    buf.append(HEADER).append('\n');
+    LocalDate tradeDate = LocalDate.of(2016, 8, 1);
+    for (int i = 0; i < ROW_COUNT; i++) {
+      String[] fields = {
+          "Swap",
+          "OG-Trade",
+          "T" + i,
+          tradeDate.toString(),
+          i % 2 == 0 ? "Buy" : "Sell",
+          "GBP-FIXED-6M-LIBOR-6M",
+          tradeDate.plusMonths(3).toString(),
+          tradeDate.plusMonths(3).plusYears(1 + i % 30).toString(),
+          Double.toString(0.005 + (i % 101) * 0.0002),
+          Integer.toString(1_000_000 * (1 + i % 50)),
+          "Trade number " + i + ", for desk " + (i % 7)};
+      for (int j = 0; j < fields.length; j++) {
+        if (j > 0) {
+          buf.append(',');
+        }
+        if (quoted || fields[j].indexOf(',') >= 0) {
+          buf.append('"').append(fields[j]).append('"');
+        } else {
+          buf.append(fields[j]);
+        }
+      }
+      buf.append('\n');
+    }
+    source = CharSource.wrap(buf.toString());
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Parses the file, accessing each field by index.
+   *
+   * @return the total length of the fields
+   */
+  @Benchmark
+  public int parseByIndex() {
+    int total = 0;
+    try (CsvIterator csv = CsvIterator.of(source, true)) {
+      while (csv.hasNext()) {
+        CsvRow row = csv.next();
+        for (int i = 0; i < row.fieldCount(); i++) {
+          total += row.field(i).length();
+        }
+      }
+    }
+    return total;
+  }
+
+  /**
+   * Parses the file, accessing the fields by header, as the trade loader does.
+   *
+   * @return the total length of the fields
+   */
+  @Benchmark
+  public int parseByHeader() {
+    int total = 0;
+    try (CsvIterator csv = CsvIterator.of(source, true)) {
+      while (csv.hasNext()) {
+        CsvRow row = csv.next();
+        total += row.getValue("Strata Trade Type").length();
+        total += row.getValue("Trade Date").length();
+        total += row.getValue("Convention").length();
+        total += row.getValue("Fixed Rate").length();
+        total += row.getValue("Notional").length();
+        total += row.findValue("Note").map(String::length).orElse(0);
+      }
+    }
+    return total;
+  }
+
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (C) 2019 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import static com.opengamma.strata.benchmark.BenchmarkFixtures.REF_DATA;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.opengamma.strata.data.ImmutableMarketData;
+import com.opengamma.strata.data.MarketDataId;
+import com.opengamma.strata.market.curve.RatesCurveGroup;
+import com.opengamma.strata.market.curve.RatesCurveGroupDefinition;
+import com.opengamma.strata.pricer.curve.CalibrationMeasures;
+import com.opengamma.strata.pricer.curve.RatesCurveCalibrator;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+
+/**
+ * Benchmark for {@link RatesCurveCalibrator}.
+ * <p>
+ * Calibrates a GBP OIS discounting and 6M Libor forward curve group to 30 market quotes.
+ * The warm start benchmark calibrates to quotes shifted by 0.1 basis point, starting from the unshifted curves.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CurveCalibrationBenchmark {
+
+  // the standard calibrator, using par spread measures
+  private static final RatesCurveCalibrator CALIBRATOR = RatesCurveCalibrator.standard();
+  // the calibrator using market quote measures
+  private static final RatesCurveCalibrator CALIBRATOR_MARKET_QUOTE =
+      RatesCurveCalibrator.of(1e-9, 1e-9, 100, CalibrationMeasures.MARKET_QUOTE);
+  // the standard calibrator, pricing the trades in parallel
+  private static final RatesCurveCalibrator CALIBRATOR_PARALLEL =
+      CALIBRATOR.withParallelism(Runtime.getRuntime().availableProcessors());
+  // the shift applied to the quotes for the warm start
+  private static final double SHIFT = 0.00001;
+
+  private RatesCurveGroupDefinition definition;
+  private ImmutableMarketData quotes;
+  private ImmutableMarketData shiftedQuotes;
+  private RatesCurveGroup startingCurves;
+
+  /**
+   * Loads the curve definition and quotes.
+   */
+  @Setup
+  public void setup() {
+    definition = BenchmarkFixtures.curveGroupDefinition();
+    quotes = BenchmarkFixtures.marketQuotes();
+    Map<MarketDataId<?>, Object> shifted = new HashMap<>();
+    quotes.getValues().forEach((id, value) -> shifted.put(id, value instanceof Double ? (Double) value + SHIFT : value));
+    shiftedQuotes = ImmutableMarketData.of(quotes.getValuationDate(), shifted);
+    ImmutableRatesProvider base = CALIBRATOR.calibrate(definition, quotes, REF_DATA);
+    startingCurves = RatesCurveGroup.of(definition.getName(), base.getDiscountCurves(), base.getIndexCurves());
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calibrates the curves using par spread measures.
+   *
+   * @return the calibrated curves
+   */
+  @Benchmark
+  public ImmutableRatesProvider calibrate() {
+    return CALIBRATOR.calibrate(definition, quotes, REF_DATA);
+  }
+
+  /**
+   * Calibrates the curves using market quote measures.
+   *
+   * @return the calibrated curves
+   */
+  @Benchmark
+  public ImmutableRatesProvider calibrateMarketQuote() {
+    return CALIBRATOR_MARKET_QUOTE.calibrate(definition, quotes, REF_DATA);
+  }
+
+  /**
+   * Calibrates the curves using par spread measures, pricing the trades in parallel.
+   *
+   * @return the calibrated curves
+   */
+  @Benchmark
+  public ImmutableRatesProvider calibrateParallel() {
+    return CALIBRATOR_PARALLEL.calibrate(definition, quotes, REF_DATA);
+  }
+
+  /**
+   * Calibrates the curves to the shifted quotes from scratch.
+   *
+   * @return the calibrated curves
+   */
+  @Benchmark
+  public ImmutableRatesProvider calibrateShifted() {
+    return CALIBRATOR.calibrate(definition, shiftedQuotes, REF_DATA);
+  }
+
+  /**
+   * Calibrates the curves to the shifted quotes, starting from the unshifted curves and their Jacobian.
+   *
+   * @return the calibrated curves
+   */
+  @Benchmark
+  public ImmutableRatesProvider calibrateShiftedWarmStart() {
+    return CALIBRATOR.calibrate(definition, shiftedQuotes, REF_DATA, startingCurves);
+  }
+
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright (C) 2019 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.opengamma.strata.basics.date.DayCounts;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.market.curve.Curves;
+import com.opengamma.strata.market.curve.InterpolatedNodalCurve;
+import com.opengamma.strata.market.curve.interpolator.CurveExtrapolators;
+import com.opengamma.strata.market.curve.interpolator.CurveInterpolator;
+import com.opengamma.strata.market.param.UnitParameterSensitivity;
+
+// CSOFF: VisibilityModifier
+/**
+ * Benchmark for {@link InterpolatedNodalCurve}.
+ * <p>
+ * Evaluates a 17 node zero rate curve at 1,000 points spread over 0 to 35 years.
+ * The time reported is for all the points.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CurveInterpolationBenchmark {
+
+  // the number of points the curve is evaluated at
+  private static final int POINT_COUNT = 1000;
+  // the curve nodes, typical of a discounting curve
+  private static final DoubleArray X_VALUES = DoubleArray.of(
+      0.003, 0.25, 0.5, 0.75, 1, 1.5, 2, 3, 4, 5, 7, 10, 12, 15, 20, 25, 30);
+  private static final DoubleArray Y_VALUES = DoubleArray.of(
+      0.0040, 0.0042, 0.0045, 0.0047, 0.0050, 0.0056, 0.0061, 0.0072, 0.0083, 0.0094,
+      0.0110, 0.0128, 0.0137, 0.0146, 0.0153, 0.0155, 0.0154);
+
+  /**
+   * The name of the interpolator.
+   */
+  @Param({"Linear", "DoubleQuadratic", "NaturalSplineNonnegativityCubic", "LogNaturalSplineMonotoneCubic"})
+  String interpolator;
+
+  private InterpolatedNodalCurve curve;
+  private double[] points;
+  private DoubleArray pointArray;
+  private DoubleArray weights;
+
+  /**
+   * Creates the curve and the points to evaluate it at.
+   */
+  @Setup
+  public void setup() {
+    curve = InterpolatedNodalCurve.of(
+        Curves.zeroRates("GBP-Discount", DayCounts.ACT_365F),
+        X_VALUES,
+        Y_VALUES,
+        CurveInterpolator.of(interpolator),
+        CurveExtrapolators.FLAT,
+        CurveExtrapolators.FLAT);
+    points = new double[POINT_COUNT];
+    for (int i = 0; i < POINT_COUNT; i++) {
+      points[i] = i * 35d / POINT_COUNT;
+    }
+    pointArray = DoubleArray.ofUnsafe(points);
+    weights = DoubleArray.filled(POINT_COUNT, 1d);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates the curve, which includes binding the interpolator to the nodes.
+   *
+   * @return the curve
+   */
+  @Benchmark
+  public InterpolatedNodalCurve bind() {
+    return curve.withYValues(Y_VALUES);
+  }
+
+  /**
+   * Evaluates the curve at each point.
+   *
+   * @return the total of the values
+   */
+  @Benchmark
+  public double yValue() {
+    double total = 0;
+    for (double x : points) {
+      total += curve.yValue(x);
+    }
+    return total;
+  }
+
+  /**
+   * Evaluates the curve at all the points in a single call.
+   *
+   * @return the values
+   */
+  @Benchmark
+  public DoubleArray yValues() {
+    return curve.yValues(pointArray);
+  }
+
+  /**
+   * Evaluates the first derivative of the curve at each point.
+   *
+   * @return the total of the derivatives
+   */
+  @Benchmark
+  public double firstDerivative() {
+    double total = 0;
+    for (double x : points) {
+      total += curve.firstDerivative(x);
+    }
+    return total;
+  }
+
+  /**
+   * Evaluates the sensitivity to the curve parameters at each point.
+   *
+   * @return the sensitivities
+   */
+  @Benchmark
+  public UnitParameterSensitivity[] yValueParameterSensitivity() {
+    UnitParameterSensitivity[] result = new UnitParameterSensitivity[points.length];
+    for (int i = 0; i < points.length; i++) {
+      result[i] = curve.yValueParameterSensitivity(points[i]);
+    }
+    return result;
+  }
+
+  /**
+   * Evaluates the total sensitivity to the curve parameters of all the points in a single call.
+   *
+   * @return the sensitivity
+   */
+  @Benchmark
+  public UnitParameterSensitivity yValuesParameterSensitivity() {
+    return curve.yValuesParameterSensitivity(pointArray, weights);
+  }
+
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (C) 2019 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import static com.opengamma.strata.benchmark.BenchmarkFixtures.REF_DATA;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.opengamma.strata.basics.date.HolidayCalendarIds;
+import com.opengamma.strata.basics.date.ImmutableHolidayCalendar;
+
+// CSOFF: VisibilityModifier
+/**
+ * Benchmark for {@link ImmutableHolidayCalendar}.
+ * <p>
+ * Shifts each date in a ten year range using the combined London and New York calendar.
+ * The time reported is for all the dates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HolidayCalendarBenchmark {
+
+  // the first date to shift
+  private static final LocalDate START_DATE = LocalDate.of(2016, 1, 1);
+  // the number of dates to shift
+  private static final int DATE_COUNT = 3653;
+
+  /**
+   * The number of business days to shift by.
+   */
+  @Param({"2", "-2", "250"})
+  int amount;
+
+  private ImmutableHolidayCalendar calendar;
+  private LocalDate[] dates;
+
+  /**
+   * Resolves the calendar and creates the dates.
+   */
+  @Setup
+  public void setup() {
+    calendar = ImmutableHolidayCalendar.combined(
+        (ImmutableHolidayCalendar) HolidayCalendarIds.GBLO.resolve(REF_DATA),
+        (ImmutableHolidayCalendar) HolidayCalendarIds.USNY.resolve(REF_DATA));
+    dates = new LocalDate[DATE_COUNT];
+    for (int i = 0; i < DATE_COUNT; i++) {
+      dates[i] = START_DATE.plusDays(i);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Shifts each date by the number of business days.
+   *
+   * @return the last shifted date
+   */
+  @Benchmark
+  public LocalDate shift() {
+    LocalDate result = null;
+    for (LocalDate date : dates) {
+      result = calendar.shift(date, amount);
+    }
+    return result;
+  }
+
+  /**
+   * Finds the next business day after each date.
+   *
+   * @return the last date found
+   */
+  @Benchmark
+  public LocalDate next() {
+    LocalDate result = null;
+    for (LocalDate date : dates) {
+      result = calendar.next(date);
+    }
+    return result;
+  }
+
+  /**
+   * Checks whether each date is a business day.
+   *
+   * @return the number of business days
+   */
+  @Benchmark
+  public int isBusinessDay() {
+    int count = 0;
+    for (LocalDate date : dates) {
+      if (calendar.isBusinessDay(date)) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (C) 2019 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import static com.opengamma.strata.benchmark.BenchmarkFixtures.REF_DATA;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.opengamma.strata.basics.date.BusinessDayAdjustment;
+import com.opengamma.strata.basics.date.BusinessDayConventions;
+import com.opengamma.strata.basics.date.HolidayCalendarIds;
+import com.opengamma.strata.basics.schedule.Frequency;
+import com.opengamma.strata.basics.schedule.PeriodicSchedule;
+import com.opengamma.strata.basics.schedule.RollConventions;
+import com.opengamma.strata.basics.schedule.Schedule;
+import com.opengamma.strata.basics.schedule.StubConvention;
+
+/**
+ * Benchmark for {@link PeriodicSchedule}.
+ * <p>
+ * Creates 30 year schedules with the business day adjustments typical of swap legs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PeriodicScheduleBenchmark {
+
+  // the business day adjustment
+  private static final BusinessDayAdjustment BDA =
+      BusinessDayAdjustment.of(BusinessDayConventions.MODIFIED_FOLLOWING, HolidayCalendarIds.GBLO);
+
+  // a quarterly schedule with regular periods
+  private static final PeriodicSchedule REGULAR = PeriodicSchedule.builder()
+      .startDate(LocalDate.of(2016, 8, 3))
+      .endDate(LocalDate.of(2046, 8, 3))
+      .frequency(Frequency.P3M)
+      .businessDayAdjustment(BDA)
+      .stubConvention(StubConvention.SHORT_INITIAL)
+      .build();
+  // a monthly schedule with an initial stub and end-of-month rolling
+  private static final PeriodicSchedule STUB_EOM = PeriodicSchedule.builder()
+      .startDate(LocalDate.of(2016, 8, 17))
+      .endDate(LocalDate.of(2046, 8, 31))
+      .frequency(Frequency.P1M)
+      .businessDayAdjustment(BDA)
+      .stubConvention(StubConvention.SHORT_INITIAL)
+      .rollConvention(RollConventions.EOM)
+      .build();
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates a quarterly schedule with regular periods.
+   *
+   * @return the schedule
+   */
+  @Benchmark
+  public Schedule createSchedule() {
+    return REGULAR.createSchedule(REF_DATA);
+  }
+
+  /**
+   * Creates a monthly schedule with an initial stub and end-of-month rolling.
+   *
+   * @return the schedule
+   */
+  @Benchmark
+  public Schedule createScheduleStubEom() {
+    return STUB_EOM.createSchedule(REF_DATA);
+  }
+
+}
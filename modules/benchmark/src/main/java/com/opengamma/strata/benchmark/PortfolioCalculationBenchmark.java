@@ -0,0 +1,131 @@
+/*
+ * Copyright (C) 2019 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import static com.opengamma.strata.benchmark.BenchmarkFixtures.CURVE_GROUP_NAME;
+import static com.opengamma.strata.benchmark.BenchmarkFixtures.REF_DATA;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.calc.CalculationRules;
+import com.opengamma.strata.calc.CalculationRunner;
+import com.opengamma.strata.calc.Column;
+import com.opengamma.strata.calc.Results;
+import com.opengamma.strata.calc.marketdata.MarketDataConfig;
+import com.opengamma.strata.calc.marketdata.MarketDataRequirements;
+import com.opengamma.strata.data.ImmutableMarketData;
+import com.opengamma.strata.data.MarketData;
+import com.opengamma.strata.market.curve.RatesCurveGroupDefinition;
+import com.opengamma.strata.measure.Measures;
+import com.opengamma.strata.measure.StandardComponents;
+import com.opengamma.strata.measure.rate.RatesMarketDataLookup;
+import com.opengamma.strata.product.Trade;
+
+// CSOFF: VisibilityModifier
+/**
+ * Benchmark for a full portfolio run using {@link CalculationRunner}.
+ * <p>
+ * The portfolio is a mix of Libor swaps, OIS and FRAs.
+ * Present value, par rate and bucketed PV01 are calculated for each trade.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PortfolioCalculationBenchmark {
+
+  // the columns to calculate
+  private static final List<Column> COLUMNS = ImmutableList.of(
+      Column.of(Measures.PRESENT_VALUE),
+      Column.of(Measures.PAR_RATE),
+      Column.of(Measures.PV01_CALIBRATED_BUCKETED));
+
+  /**
+   * The number of trades in the portfolio.
+   */
+  @Param({"1000"})
+  int portfolioSize;
+  /**
+   * The type of calculation runner.
+   */
+  @Param({"multiThreaded", "workStealing"})
+  String runnerType;
+
+  private CalculationRunner runner;
+  private CalculationRules rules;
+  private List<Trade> trades;
+  private MarketDataConfig marketDataConfig;
+  private ImmutableMarketData quotes;
+  private MarketData calibratedMarketData;
+
+  /**
+   * Creates the runner, the portfolio and the calibrated market data.
+   */
+  @Setup
+  public void setup() {
+    runner = runnerType.equals("workStealing") ? CalculationRunner.ofWorkStealing() : CalculationRunner.ofMultiThreaded();
+    RatesCurveGroupDefinition curveGroupDefinition = BenchmarkFixtures.curveGroupDefinition();
+    rules = CalculationRules.of(
+        StandardComponents.calculationFunctions(), RatesMarketDataLookup.of(curveGroupDefinition));
+    trades = BenchmarkFixtures.mixedPortfolio(portfolioSize);
+    marketDataConfig = MarketDataConfig.builder().add(CURVE_GROUP_NAME, curveGroupDefinition).build();
+    quotes = BenchmarkFixtures.marketQuotes();
+    calibratedMarketData = buildMarketData();
+  }
+
+  /**
+   * Closes the runner.
+   */
+  @TearDown
+  public void tearDown() {
+    runner.close();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the portfolio using curves that have already been calibrated.
+   *
+   * @return the results
+   */
+  @Benchmark
+  public Results calculate() {
+    return runner.calculate(rules, trades, COLUMNS, calibratedMarketData, REF_DATA);
+  }
+
+  /**
+   * Calibrates the curves and calculates the portfolio.
+   *
+   * @return the results
+   */
+  @Benchmark
+  public Results calibrateAndCalculate() {
+    return runner.calculate(rules, trades, COLUMNS, buildMarketData(), REF_DATA);
+  }
+
+  // builds the market data, calibrating the curves
+  private MarketData buildMarketData() {
+    MarketDataRequirements reqs = MarketDataRequirements.of(rules, trades, COLUMNS, REF_DATA);
+    return StandardComponents.marketDataFactory().create(reqs, marketDataConfig, quotes, REF_DATA);
+  }
+
+}
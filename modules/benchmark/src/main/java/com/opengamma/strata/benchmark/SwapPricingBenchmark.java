@@ -0,0 +1,141 @@
+/*
+ * Copyright (C) 2019 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import static com.opengamma.strata.basics.currency.Currency.GBP;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.market.sensitivity.PointSensitivities;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+import com.opengamma.strata.pricer.sensitivity.MarketQuoteSensitivityCalculator;
+import com.opengamma.strata.pricer.swap.DiscountingSwapTradePricer;
+import com.opengamma.strata.product.swap.ResolvedSwapTrade;
+
+// CSOFF: VisibilityModifier
+/**
+ * Benchmark for {@link DiscountingSwapTradePricer}.
+ * <p>
+ * Prices a portfolio of resolved GBP fixed versus 6M Libor swaps against calibrated curves.
+ * The time reported is for the whole portfolio.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SwapPricingBenchmark {
+
+  private static final DiscountingSwapTradePricer PRICER = DiscountingSwapTradePricer.DEFAULT;
+  private static final MarketQuoteSensitivityCalculator MQ_CALCULATOR = MarketQuoteSensitivityCalculator.DEFAULT;
+
+  /**
+   * The number of swaps in the portfolio.
+   */
+  @Param({"1000"})
+  int portfolioSize;
+
+  private ImmutableRatesProvider provider;
+  private List<ResolvedSwapTrade> trades;
+
+  /**
+   * Calibrates the curves and creates the portfolio.
+   */
+  @Setup
+  public void setup() {
+    provider = BenchmarkFixtures.calibratedRatesProvider();
+    trades = BenchmarkFixtures.resolvedSwapPortfolio(portfolioSize);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the present value of each swap.
+   *
+   * @return the total present value
+   */
+  @Benchmark
+  public double presentValue() {
+    double total = 0;
+    for (ResolvedSwapTrade trade : trades) {
+      total += PRICER.presentValue(trade, provider).getAmount(GBP).getAmount();
+    }
+    return total;
+  }
+
+  /**
+   * Calculates the par rate of each swap.
+   *
+   * @return the total par rate
+   */
+  @Benchmark
+  public double parRate() {
+    double total = 0;
+    for (ResolvedSwapTrade trade : trades) {
+      total += PRICER.parRate(trade, provider);
+    }
+    return total;
+  }
+
+  /**
+   * Calculates the point sensitivity of the present value of each swap.
+   *
+   * @return the point sensitivities
+   */
+  @Benchmark
+  public PointSensitivities[] presentValueSensitivity() {
+    PointSensitivities[] result = new PointSensitivities[trades.size()];
+    for (int i = 0; i < result.length; i++) {
+      result[i] = PRICER.presentValueSensitivity(trades.get(i), provider);
+    }
+    return result;
+  }
+
+  /**
+   * Calculates the bucketed PV01 of each swap with respect to the curve parameters.
+   *
+   * @return the parameter sensitivities
+   */
+  @Benchmark
+  public CurrencyParameterSensitivities[] parameterSensitivity() {
+    CurrencyParameterSensitivities[] result = new CurrencyParameterSensitivities[trades.size()];
+    for (int i = 0; i < result.length; i++) {
+      result[i] = provider.parameterSensitivity(PRICER.presentValueSensitivity(trades.get(i), provider));
+    }
+    return result;
+  }
+
+  /**
+   * Calculates the bucketed PV01 of each swap with respect to the market quotes.
+   *
+   * @return the market quote sensitivities
+   */
+  @Benchmark
+  public CurrencyParameterSensitivities[] marketQuoteSensitivity() {
+    CurrencyParameterSensitivities[] result = new CurrencyParameterSensitivities[trades.size()];
+    for (int i = 0; i < result.length; i++) {
+      CurrencyParameterSensitivities sensitivity =
+          provider.parameterSensitivity(PRICER.presentValueSensitivity(trades.get(i), provider));
+      result[i] = MQ_CALCULATOR.sensitivity(sensitivity, provider);
+    }
+    return result;
+  }
+
+}
@@ -0,0 +1,13 @@
+/*
+ * Copyright (C) 2019 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+
+/**
+ * JMH benchmarks for the core pricing and calibration paths.
+ * <p>
+ * The benchmarks are packaged into an executable jar, run using 'java -jar target/benchmarks.jar'.
+ * Standard JMH options apply, for example a regular expression to select the benchmarks to run.
+ */
+package com.opengamma.strata.benchmark;
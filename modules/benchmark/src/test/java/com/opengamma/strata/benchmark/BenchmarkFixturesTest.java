@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) 2019 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import static com.opengamma.strata.basics.currency.Currency.GBP;
+import static com.opengamma.strata.benchmark.BenchmarkFixtures.REF_DATA;
+import static com.opengamma.strata.collect.TestHelper.coverPrivateConstructor;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.market.curve.RatesCurveGroupDefinition;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+import com.opengamma.strata.pricer.swap.DiscountingSwapTradePricer;
+import com.opengamma.strata.product.Trade;
+import com.opengamma.strata.product.fra.FraTrade;
+import com.opengamma.strata.product.swap.ResolvedSwapTrade;
+import com.opengamma.strata.product.swap.SwapTrade;
+
+/**
+ * Test {@link BenchmarkFixtures}.
+ */
+@Test
+public class BenchmarkFixturesTest {
+
+  public void test_curveGroupDefinition() {
+    RatesCurveGroupDefinition test = BenchmarkFixtures.curveGroupDefinition();
+    assertThat(test.getName()).isEqualTo(BenchmarkFixtures.CURVE_GROUP_NAME);
+    assertThat(test.getCurveDefinitions()).hasSize(2);
+    assertThat(BenchmarkFixtures.marketQuotes().getIds()).hasSize(29);
+  }
+
+  public void test_calibratedRatesProvider() {
+    ImmutableRatesProvider provider = BenchmarkFixtures.calibratedRatesProvider();
+    assertThat(provider.getValuationDate()).isEqualTo(BenchmarkFixtures.VALUATION_DATE);
+    assertThat(provider.discountFactor(GBP, BenchmarkFixtures.VALUATION_DATE.plusYears(10))).isBetween(0.5, 1d);
+  }
+
+  public void test_swapPortfolio() {
+    List<ResolvedSwapTrade> test = BenchmarkFixtures.resolvedSwapPortfolio(24);
+    assertThat(test).hasSize(24);
+    assertThat(test.get(0).getProduct().getEndDate()).isNotEqualTo(test.get(1).getProduct().getEndDate());
+    assertThat(BenchmarkFixtures.swapPortfolio(24).get(5).resolve(REF_DATA)).isEqualTo(test.get(5));
+    // the swaps are near the money
+    ImmutableRatesProvider provider = BenchmarkFixtures.calibratedRatesProvider();
+    double parRate = DiscountingSwapTradePricer.DEFAULT.parRate(test.get(6), provider);
+    assertThat(parRate).isCloseTo(0.01, offset(0.01));
+  }
+
+  public void test_mixedPortfolio() {
+    List<Trade> test = BenchmarkFixtures.mixedPortfolio(10);
+    assertThat(test).hasSize(10);
+    assertThat(test.stream().filter(SwapTrade.class::isInstance).count()).isEqualTo(8);
+    assertThat(test.stream().filter(FraTrade.class::isInstance).count()).isEqualTo(2);
+  }
+
+  public void coverage() {
+    coverPrivateConstructor(BenchmarkFixtures.class);
+  }
+
+}
@@ -0,0 +1,28 @@
+/*
+ * Copyright (C) 2019 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.testng.annotations.Test;
+
+/**
+ * Test {@link CsvIteratorBenchmark}.
+ */
+@Test
+public class CsvIteratorBenchmarkTest {
+
+  public void test_benchmarks() {
+    CsvIteratorBenchmark unquoted = new CsvIteratorBenchmark();
+    unquoted.setup();
+    CsvIteratorBenchmark quoted = new CsvIteratorBenchmark();
+    quoted.quoted = true;
+    quoted.setup();
+    assertThat(unquoted.parseByIndex()).isGreaterThan(unquoted.parseByHeader()).isEqualTo(quoted.parseByIndex());
+    assertThat(unquoted.parseByHeader()).isEqualTo(quoted.parseByHeader());
+  }
+
+}
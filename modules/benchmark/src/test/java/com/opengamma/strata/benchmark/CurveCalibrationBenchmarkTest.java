@@ -0,0 +1,46 @@
+/*
+ * Copyright (C) 2019 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import static com.opengamma.strata.basics.currency.Currency.GBP;
+import static com.opengamma.strata.basics.index.IborIndices.GBP_LIBOR_6M;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.market.curve.Curve;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+
+/**
+ * Test {@link CurveCalibrationBenchmark}.
+ */
+@Test
+public class CurveCalibrationBenchmarkTest {
+
+  public void test_calibrate() {
+    CurveCalibrationBenchmark test = new CurveCalibrationBenchmark();
+    test.setup();
+    ImmutableRatesProvider parSpread = test.calibrate();
+    ImmutableRatesProvider marketQuote = test.calibrateMarketQuote();
+    assertThat(parSpread.getDiscountCurves()).containsOnlyKeys(GBP);
+    assertThat(parSpread.getIndexCurves()).containsKey(GBP_LIBOR_6M);
+    assertThat(marketQuote.getIndexCurves()).containsKey(GBP_LIBOR_6M);
+    assertThat(test.calibrateParallel().getIndexCurves()).isEqualTo(parSpread.getIndexCurves());
+  }
+
+  public void test_calibrateWarmStart() {
+    CurveCalibrationBenchmark test = new CurveCalibrationBenchmark();
+    test.setup();
+    Curve expected = test.calibrateShifted().getIndexCurves().get(GBP_LIBOR_6M);
+    Curve warm = test.calibrateShiftedWarmStart().getIndexCurves().get(GBP_LIBOR_6M);
+    assertThat(warm.getParameterCount()).isEqualTo(expected.getParameterCount());
+    for (int i = 0; i < expected.getParameterCount(); i++) {
+      assertThat(warm.getParameter(i)).isCloseTo(expected.getParameter(i), offset(1e-8));
+    }
+  }
+
+}
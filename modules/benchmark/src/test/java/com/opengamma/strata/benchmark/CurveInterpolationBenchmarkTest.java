@@ -0,0 +1,37 @@
+/*
+ * Copyright (C) 2019 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+
+import java.util.Arrays;
+
+import org.testng.annotations.Test;
+
+/**
+ * Test {@link CurveInterpolationBenchmark}.
+ */
+@Test
+public class CurveInterpolationBenchmarkTest {
+
+  public void test_benchmarks() {
+    for (String interpolator : new String[] {
+        "Linear", "DoubleQuadratic", "NaturalSplineNonnegativityCubic", "LogNaturalSplineMonotoneCubic"}) {
+      CurveInterpolationBenchmark test = new CurveInterpolationBenchmark();
+      test.interpolator = interpolator;
+      test.setup();
+      assertThat(test.bind().getInterpolator().getName()).isEqualTo(interpolator);
+      assertThat(test.yValue()).isBetween(1d, 20d);
+      assertThat(test.yValues().sum()).isCloseTo(test.yValue(), offset(1e-12));
+      assertThat(test.firstDerivative()).isNotZero();
+      assertThat(test.yValueParameterSensitivity()).hasSize(1000).doesNotContainNull();
+      double expectedTotal = Arrays.stream(test.yValueParameterSensitivity()).mapToDouble(s -> s.total()).sum();
+      assertThat(test.yValuesParameterSensitivity().total()).isCloseTo(expectedTotal, offset(1e-8));
+    }
+  }
+
+}
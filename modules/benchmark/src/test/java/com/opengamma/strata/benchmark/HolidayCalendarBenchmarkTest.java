@@ -0,0 +1,30 @@
+/*
+ * Copyright (C) 2019 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+
+import org.testng.annotations.Test;
+
+/**
+ * Test {@link HolidayCalendarBenchmark}.
+ */
+@Test
+public class HolidayCalendarBenchmarkTest {
+
+  public void test_benchmarks() {
+    HolidayCalendarBenchmark test = new HolidayCalendarBenchmark();
+    test.amount = 2;
+    test.setup();
+    // 2025-12-31 is a Wednesday, and both London and New York have holidays on 2026-01-01
+    assertThat(test.shift()).isEqualTo(LocalDate.of(2026, 1, 5));
+    assertThat(test.next()).isEqualTo(LocalDate.of(2026, 1, 2));
+    assertThat(test.isBusinessDay()).isBetween(2450, 2550);
+  }
+
+}
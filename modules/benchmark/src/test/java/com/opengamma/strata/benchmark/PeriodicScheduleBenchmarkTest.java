@@ -0,0 +1,25 @@
+/*
+ * Copyright (C) 2019 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.testng.annotations.Test;
+
+/**
+ * Test {@link PeriodicScheduleBenchmark}.
+ */
+@Test
+public class PeriodicScheduleBenchmarkTest {
+
+  public void test_benchmarks() {
+    PeriodicScheduleBenchmark test = new PeriodicScheduleBenchmark();
+    assertThat(test.createSchedule().size()).isEqualTo(120);
+    assertThat(test.createScheduleStubEom().size()).isEqualTo(361);
+    assertThat(test.createScheduleStubEom().getInitialStub()).isPresent();
+  }
+
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright (C) 2019 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.calc.Results;
+import com.opengamma.strata.collect.result.Result;
+
+/**
+ * Test {@link PortfolioCalculationBenchmark}.
+ */
+@Test
+public class PortfolioCalculationBenchmarkTest {
+
+  public void test_benchmarks() {
+    for (String runnerType : new String[] {"multiThreaded", "workStealing"}) {
+      PortfolioCalculationBenchmark test = new PortfolioCalculationBenchmark();
+      test.portfolioSize = 10;
+      test.runnerType = runnerType;
+      test.setup();
+      try {
+        Results calculated = test.calculate();
+        assertThat(calculated.getRowCount()).isEqualTo(10);
+        assertThat(calculated.getColumnCount()).isEqualTo(3);
+        assertThat(calculated.getCells()).allMatch(Result::isSuccess);
+        assertThat(test.calibrateAndCalculate().getCells()).isEqualTo(calculated.getCells());
+      } finally {
+        test.tearDown();
+      }
+    }
+  }
+
+}
@@ -0,0 +1,29 @@
+/*
+ * Copyright (C) 2019 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.testng.annotations.Test;
+
+/**
+ * Test {@link SwapPricingBenchmark}.
+ */
+@Test
+public class SwapPricingBenchmarkTest {
+
+  public void test_benchmarks() {
+    SwapPricingBenchmark test = new SwapPricingBenchmark();
+    test.portfolioSize = 12;
+    test.setup();
+    assertThat(test.presentValue()).isNotZero();
+    assertThat(test.parRate()).isGreaterThan(0);
+    assertThat(test.presentValueSensitivity()).hasSize(12).doesNotContainNull();
+    assertThat(test.parameterSensitivity()).hasSize(12).doesNotContainNull();
+    assertThat(test.marketQuoteSensitivity()).hasSize(12).doesNotContainNull();
+  }
+
+}
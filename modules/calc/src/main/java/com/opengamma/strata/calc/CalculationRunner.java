@@ -11,6 +11,7 @@ import java.util.concurrent.ExecutorService;
 import com.opengamma.strata.basics.CalculationTarget;
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.calc.runner.CalculationListener;
+import com.opengamma.strata.calc.runner.CalculationTaskObserver;
 import com.opengamma.strata.calc.runner.CalculationTaskRunner;
 import com.opengamma.strata.data.MarketData;
 import com.opengamma.strata.data.scenario.ScenarioMarketData;
@@ -66,6 +67,24 @@ public interface CalculationRunner extends AutoCloseable {
     return DefaultCalculationRunner.of(executor);
   }
 
+  /**
+   * Creates a work-stealing calculation runner that starts the most expensive calculations first.
+   * <p>
+   * See {@link CalculationTaskRunner#ofWorkStealing()} for more details.
+   * The runner should be retained between runs, as the cost estimates are based on previous timings.
+   * It is recommended to use try-with-resources to manage the runner:
+   * <pre>
+   *  try (CalculationRunner runner = CalculationRunner.ofWorkStealing()) {
+   *    // use the runner
+   *  }
+   * </pre>
+   * 
+   * @return the calculation runner
+   */
+  public static CalculationRunner ofWorkStealing() {
+    return DefaultCalculationRunner.ofWorkStealing();
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Performs calculations for a single set of market data.
@@ -171,6 +190,34 @@ public interface CalculationRunner extends AutoCloseable {
    */
   public abstract CalculationTaskRunner getTaskRunner();
 
+  /**
+   * Returns a runner that notifies the specified observer as each calculation task is executed.
+   * <p>
+   * See {@link CalculationTaskRunner#withObserver(CalculationTaskObserver)} for more details.
+   * The returned runner shares the resources of this runner, thus closing either runner closes both.
+   *
+   * @param observer  the observer to notify
+   * @return a runner that notifies the observer
+   * @throws UnsupportedOperationException if the runner does not support observers
+   */
+  public default CalculationRunner withObserver(CalculationTaskObserver observer) {
+    return new DefaultCalculationRunner(getTaskRunner().withObserver(observer));
+  }
+
+  /**
+   * Returns a runner that limits the number of calculation tasks whose results have not yet been delivered.
+   * <p>
+   * See {@link CalculationTaskRunner#withBackpressure(int)} for more details.
+   * The returned runner shares the resources of this runner, thus closing either runner closes both.
+   *
+   * @param maxPendingTasks  the maximum number of tasks whose results have not been delivered
+   * @return a runner that applies backpressure
+   * @throws UnsupportedOperationException if the runner does not support backpressure
+   */
+  public default CalculationRunner withBackpressure(int maxPendingTasks) {
+    return new DefaultCalculationRunner(getTaskRunner().withBackpressure(maxPendingTasks));
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Closes any resources held by the component.
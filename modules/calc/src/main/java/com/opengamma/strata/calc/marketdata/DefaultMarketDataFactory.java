@@ -14,11 +14,20 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Throwables;
 import com.google.common.collect.ImmutableMap;
 import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.MapStream;
 import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
 import com.opengamma.strata.collect.tuple.Pair;
 import com.opengamma.strata.data.MarketData;
 import com.opengamma.strata.data.MarketDataId;
@@ -30,9 +39,16 @@ import com.opengamma.strata.data.scenario.ScenarioMarketData;
  * The default market data factory.
  * <p>
  * This uses two providers, one for observable data and one for time-series.
+ * <p>
+ * By default, market data is built one level of the dependency tree at a time on the calling thread.
+ * If an executor is specified, each item of non-observable market data is built on the executor
+ * as soon as the market data it depends on is available.
  */
 final class DefaultMarketDataFactory implements MarketDataFactory {
 
+  /** The logger. */
+  private static final Logger log = LoggerFactory.getLogger(DefaultMarketDataFactory.class);
+
   /** Builds observable market data. */
   private final ObservableDataProvider observableDataProvider;
 
@@ -42,6 +58,12 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
   /** Market data functions, keyed by the type of the market data ID they can handle. */
   private final Map<Class<? extends MarketDataId<?>>, MarketDataFunction<?, ?>> functions;
 
+  /** The executor used to build non-observable market data, null if built level by level on the calling thread. */
+  private final Executor executor;
+
+  /** The observer informed when non-observable market data is built, null if there is no observer. */
+  private final MarketDataBuildObserver observer;
+
   //-------------------------------------------------------------------------
   /**
    * Creates an instance of the factory based on providers of market data and time-series.
@@ -52,14 +74,35 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
    * @param timeSeriesProvider  the provider time-series
    * @param functions  the functions that create the market data
    */
-  @SuppressWarnings("unchecked")
   DefaultMarketDataFactory(
       ObservableDataProvider observableDataProvider,
       TimeSeriesProvider timeSeriesProvider,
       List<MarketDataFunction<?, ?>> functions) {
 
+    this(observableDataProvider, timeSeriesProvider, null, functions);
+  }
+
+  /**
+   * Creates an instance of the factory based on providers of market data and time-series,
+   * building non-observable market data on an executor.
+   * <p>
+   * The market data functions are used to build the market data.
+   *
+   * @param observableDataProvider  the provider observable market data
+   * @param timeSeriesProvider  the provider time-series
+   * @param executor  the executor used to build non-observable market data, null to build on the calling thread
+   * @param functions  the functions that create the market data
+   */
+  DefaultMarketDataFactory(
+      ObservableDataProvider observableDataProvider,
+      TimeSeriesProvider timeSeriesProvider,
+      Executor executor,
+      List<MarketDataFunction<?, ?>> functions) {
+
     this.observableDataProvider = observableDataProvider;
     this.timeSeriesProvider = timeSeriesProvider;
+    this.executor = executor;
+    this.observer = null;
 
     // Use a HashMap instead of an ImmutableMap.Builder so values can be overwritten.
     // If the functions argument includes a missing mapping builder it can overwrite the one inserted below
@@ -69,6 +112,20 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
     this.functions = ImmutableMap.copyOf(builderMap);
   }
 
+  // creates a copy of the factory with the specified observer
+  private DefaultMarketDataFactory(DefaultMarketDataFactory base, MarketDataBuildObserver observer) {
+    this.observableDataProvider = base.observableDataProvider;
+    this.timeSeriesProvider = base.timeSeriesProvider;
+    this.executor = base.executor;
+    this.functions = base.functions;
+    this.observer = observer;
+  }
+
+  @Override
+  public DefaultMarketDataFactory withObserver(MarketDataBuildObserver observer) {
+    return new DefaultMarketDataFactory(this, ArgChecker.notNull(observer, "observer"));
+  }
+
   //-------------------------------------------------------------------------
   @Override
   public BuiltMarketData create(
@@ -103,12 +160,117 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
       ScenarioDefinition scenarioDefinition) {
 
     BuiltScenarioMarketDataBuilder dataBuilder = BuiltScenarioMarketData.builder(suppliedData.getValuationDate());
-    BuiltScenarioMarketData builtData = dataBuilder.build();
 
     // Build a tree of the market data dependencies. The root of the tree represents the calculations.
     // The children of the root represent the market data directly used in the calculations. The children
     // of those nodes represent the market data required to build that data, and so on
     MarketDataNode root = MarketDataNode.buildDependencyTree(requirements, suppliedData, marketDataConfig, functions);
+    return build(root, marketDataConfig, suppliedData, refData, scenarioDefinition, dataBuilder);
+  }
+
+  @Override
+  public BuiltScenarioMarketData updateMultiScenario(
+      BuiltScenarioMarketData previous,
+      Set<? extends MarketDataId<?>> changedValues,
+      Set<? extends ObservableId> changedTimeSeries,
+      MarketDataRequirements requirements,
+      MarketDataConfig marketDataConfig,
+      ScenarioMarketData suppliedData,
+      ReferenceData refData,
+      ScenarioDefinition scenarioDefinition) {
+
+    ArgChecker.notNull(previous, "previous");
+    ArgChecker.notNull(changedValues, "changedValues");
+    ArgChecker.notNull(changedTimeSeries, "changedTimeSeries");
+    ArgChecker.isTrue(
+        previous.getValuationDate().equals(suppliedData.getValuationDate()),
+        "Valuation date of previous market data {} must match that of supplied data {}",
+        previous.getValuationDate(),
+        suppliedData.getValuationDate());
+
+    BuiltScenarioMarketDataBuilder dataBuilder = BuiltScenarioMarketData.builder(suppliedData.getValuationDate());
+    MarketDataNode root = MarketDataNode.buildDependencyTree(requirements, suppliedData, marketDataConfig, functions);
+
+    // Copy the market data that is unaffected by the changes into the builder.
+    // Only the market data missing from the builder is built, which is the changed data and its dependents
+    for (MarketDataNode child : root.getDependencies()) {
+      copyUnchanged(child, previous, changedValues, changedTimeSeries, dataBuilder);
+    }
+    return build(root, marketDataConfig, suppliedData, refData, scenarioDefinition, dataBuilder);
+  }
+
+  /**
+   * Copies the market data in a node of the dependency tree from the previous market data
+   * if neither it nor any of its dependencies have changed.
+   * <p>
+   * A node has changed if its ID is in the matching set of changed IDs, if any of its dependencies have changed,
+   * or if its market data is not available in the previous market data.
+   *
+   * @param node  the node in the dependency tree
+   * @param previous  the previously built market data
+   * @param changedValues  the IDs of the market data values that have changed
+   * @param changedTimeSeries  the IDs of the time-series that have changed
+   * @param dataBuilder  the unchanged market data is added to this builder
+   * @return true if the market data was copied, false if it has changed and must be rebuilt
+   */
+  private static boolean copyUnchanged(
+      MarketDataNode node,
+      BuiltScenarioMarketData previous,
+      Set<? extends MarketDataId<?>> changedValues,
+      Set<? extends ObservableId> changedTimeSeries,
+      BuiltScenarioMarketDataBuilder dataBuilder) {
+
+    boolean timeSeries = node.getDataType() == MarketDataNode.DataType.TIME_SERIES;
+    boolean unchanged = !(timeSeries ? changedTimeSeries : changedValues).contains(node.getId());
+    // all dependencies are visited so unchanged data deeper in the tree is also copied
+    for (MarketDataNode dependency : node.getDependencies()) {
+      unchanged &= copyUnchanged(dependency, previous, changedValues, changedTimeSeries, dataBuilder);
+    }
+    if (!unchanged) {
+      return false;
+    }
+    if (timeSeries) {
+      ObservableId id = (ObservableId) node.getId();
+      LocalDateDoubleTimeSeries series = previous.getTimeSeries(id);
+      if (series.isEmpty()) {
+        return false;
+      }
+      dataBuilder.addTimeSeries(id, series);
+      return true;
+    }
+    Optional<? extends MarketDataBox<?>> value = previous.findValue(node.getId());
+    value.ifPresent(box -> dataBuilder.addBox(node.getId(), box));
+    return value.isPresent();
+  }
+
+  //-------------------------------------------------------------------------
+  // builds the market data in the tree that is not already in the builder
+  private BuiltScenarioMarketData build(
+      MarketDataNode root,
+      MarketDataConfig marketDataConfig,
+      ScenarioMarketData suppliedData,
+      ReferenceData refData,
+      ScenarioDefinition scenarioDefinition,
+      BuiltScenarioMarketDataBuilder dataBuilder) {
+
+    if (executor == null) {
+      return buildByLevel(root, marketDataConfig, suppliedData, refData, scenarioDefinition, dataBuilder);
+    } else {
+      return buildDataflow(root, marketDataConfig, suppliedData, refData, scenarioDefinition, dataBuilder);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  // builds the market data one level of the dependency tree at a time
+  private BuiltScenarioMarketData buildByLevel(
+      MarketDataNode root,
+      MarketDataConfig marketDataConfig,
+      ScenarioMarketData suppliedData,
+      ReferenceData refData,
+      ScenarioDefinition scenarioDefinition,
+      BuiltScenarioMarketDataBuilder dataBuilder) {
+
+    BuiltScenarioMarketData builtData = dataBuilder.build();
 
     // The leaf nodes of the dependency tree represent market data with no missing requirements for market data.
     // This includes:
@@ -138,38 +300,8 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
       // The requirements contained in the leaf nodes
       MarketDataRequirements leafRequirements = pair.getSecond();
 
-      // Time series of observable data ------------------------------------------------------------
-
-      // Build any time series that are required but not available
-      leafRequirements.getTimeSeries().stream()
-          .filter(id -> marketData.getTimeSeries(id).isEmpty())
-          .filter(id -> suppliedData.getTimeSeries(id).isEmpty())
-          .forEach(id -> dataBuilder.addTimeSeriesResult(id, timeSeriesProvider.provideTimeSeries(id)));
-
-      // Copy supplied time series to the scenario data
-      leafRequirements.getTimeSeries().stream()
-          .filter(id -> !suppliedData.getTimeSeries(id).isEmpty())
-          .forEach(id -> dataBuilder.addTimeSeries(id, suppliedData.getTimeSeries(id)));
-
-      // Single values of observable data -----------------------------------------------------------
-
-      // Filter out IDs for the data that is already available
-      Set<ObservableId> observableIds = leafRequirements.getObservables().stream()
-          .filter(not(marketData::containsValue))
-          .filter(not(suppliedData::containsValue))
-          .collect(toImmutableSet());
-
-      // Observable data is built in bulk so it can be efficiently requested from data provider in one operation
-      if (!observableIds.isEmpty()) {
-        Map<ObservableId, Result<Double>> observableResults = observableDataProvider.provideObservableData(observableIds);
-        MapStream.of(observableResults)
-            .forEach((id, res) -> addObservableResult(id, res, refData, scenarioDefinition, dataBuilder));
-      }
-
-      // Copy observable data from the supplied data to the builder, applying any matching perturbations
-      leafRequirements.getObservables().stream()
-          .filter(suppliedData::containsValue)
-          .forEach(id -> addValue(id, suppliedData.getValue(id), refData, scenarioDefinition, dataBuilder));
+      // Time series and observable data
+      addObservableData(leafRequirements, marketData, suppliedData, refData, scenarioDefinition, dataBuilder);
 
       // Non-observable data -----------------------------------------------------------------------
 
@@ -201,6 +333,78 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
     return builtData;
   }
 
+  // adds the time series and observable data in the requirements
+  private void addObservableData(
+      MarketDataRequirements leafRequirements,
+      BuiltScenarioMarketData marketData,
+      ScenarioMarketData suppliedData,
+      ReferenceData refData,
+      ScenarioDefinition scenarioDefinition,
+      BuiltScenarioMarketDataBuilder dataBuilder) {
+
+    // Time series of observable data ------------------------------------------------------------
+
+    // Build any time series that are required but not available
+    leafRequirements.getTimeSeries().stream()
+        .filter(id -> marketData.getTimeSeries(id).isEmpty())
+        .filter(id -> suppliedData.getTimeSeries(id).isEmpty())
+        .forEach(id -> dataBuilder.addTimeSeriesResult(id, timeSeriesProvider.provideTimeSeries(id)));
+
+    // Copy supplied time series to the scenario data
+    leafRequirements.getTimeSeries().stream()
+        .filter(id -> !suppliedData.getTimeSeries(id).isEmpty())
+        .forEach(id -> dataBuilder.addTimeSeries(id, suppliedData.getTimeSeries(id)));
+
+    // Single values of observable data -----------------------------------------------------------
+
+    // Filter out IDs for the data that is already available
+    Set<ObservableId> observableIds = leafRequirements.getObservables().stream()
+        .filter(not(marketData::containsValue))
+        .filter(not(suppliedData::containsValue))
+        .collect(toImmutableSet());
+
+    // Observable data is built in bulk so it can be efficiently requested from data provider in one operation
+    if (!observableIds.isEmpty()) {
+      Map<ObservableId, Result<Double>> observableResults = observableDataProvider.provideObservableData(observableIds);
+      MapStream.of(observableResults)
+          .forEach((id, res) -> addObservableResult(id, res, refData, scenarioDefinition, dataBuilder));
+    }
+
+    // Copy observable data from the supplied data to the builder, applying any matching perturbations
+    leafRequirements.getObservables().stream()
+        .filter(suppliedData::containsValue)
+        .forEach(id -> addValue(id, suppliedData.getValue(id), refData, scenarioDefinition, dataBuilder));
+  }
+
+  //-------------------------------------------------------------------------
+  // builds the market data as a dataflow, each item being built as soon as its dependencies are available
+  private BuiltScenarioMarketData buildDataflow(
+      MarketDataNode root,
+      MarketDataConfig marketDataConfig,
+      ScenarioMarketData suppliedData,
+      ReferenceData refData,
+      ScenarioDefinition scenarioDefinition,
+      BuiltScenarioMarketDataBuilder dataBuilder) {
+
+    // Time series, observable data and supplied data are always leaves of the dependency tree.
+    // They are added first, on the calling thread, as they do not depend on anything else.
+    BuiltScenarioMarketData availableData = dataBuilder.build();
+    MarketDataRequirements leafRequirements = root.withLeavesRemoved().getSecond();
+    addObservableData(leafRequirements, availableData, suppliedData, refData, scenarioDefinition, dataBuilder);
+    leafRequirements.getNonObservables().stream()
+        .filter(suppliedData::containsValue)
+        .forEach(id -> addValue(id, suppliedData.getValue(id), refData, scenarioDefinition, dataBuilder));
+
+    // The remaining non-observable data forms a graph, where each item is built when its dependencies complete.
+    // The tree may contain the same item more than once, but it is only built once.
+    // Market data that was available before building started is not built.
+    BuiltScenarioMarketData leafData = dataBuilder.build();
+    DataflowBuild build =
+        new DataflowBuild(marketDataConfig, suppliedData, leafData, refData, scenarioDefinition, dataBuilder);
+    root.getDependencies().forEach(build::schedule);
+    return build.await();
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Builds items of non-observable market data using a market data function.
@@ -215,7 +419,7 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
   private Result<MarketDataBox<?>> buildNonObservableData(
       MarketDataId id,
       MarketDataConfig marketDataConfig,
-      BuiltScenarioMarketData suppliedData,
+      ScenarioMarketData suppliedData,
       ReferenceData refData) {
 
     // The raw types in this method are an unfortunate necessity. The type parameters on MarketDataBuilder
@@ -231,7 +435,23 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
     if (marketDataFunction == null) {
       throw new IllegalStateException("No market data function available for market data ID of type " + idClass.getName());
     }
-    return Result.of(() -> marketDataFunction.build(id, marketDataConfig, suppliedData, refData));
+    if (observer == null) {
+      return Result.of(() -> marketDataFunction.build(id, marketDataConfig, suppliedData, refData));
+    }
+    long start = System.nanoTime();
+    Result<MarketDataBox<?>> result =
+        Result.of(() -> marketDataFunction.build(id, marketDataConfig, suppliedData, refData));
+    notifyObserver(id, System.nanoTime() - start);
+    return result;
+  }
+
+  // informs the observer that market data has been built, a failure of the observer does not affect the build
+  private void notifyObserver(MarketDataId<?> id, long elapsedNanos) {
+    try {
+      observer.marketDataBuilt(id, elapsedNanos);
+    } catch (RuntimeException ex) {
+      log.warn("Exception invoking observer.marketDataBuilt", ex);
+    }
   }
 
   @SuppressWarnings("unchecked")
@@ -310,7 +530,6 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
    * @param scenarioDefinition  definition of a set of scenarios
    * @param builder  the market data is added to this builder
    */
-  @SuppressWarnings("unchecked")
   private void addValue(
       MarketDataId<?> id,
       MarketDataBox<?> value,
@@ -318,20 +537,136 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
       ScenarioDefinition scenarioDefinition,
       BuiltScenarioMarketDataBuilder builder) {
 
+    builder.addResult(id, perturb(id, value, refData, scenarioDefinition));
+  }
+
+  /**
+   * Applies the scenario definition to an item of market data.
+   * <p>
+   * If any of the mappings match the value, the value is perturbed by the first matching mapping.
+   *
+   * @param id  ID of the market data value
+   * @param value  the market data value
+   * @param scenarioDefinition  definition of a set of scenarios
+   * @return a result containing the value, perturbed if a mapping matched, or details of why the perturbation failed
+   */
+  @SuppressWarnings("unchecked")
+  private Result<MarketDataBox<?>> perturb(
+      MarketDataId<?> id,
+      MarketDataBox<?> value,
+      ReferenceData refData,
+      ScenarioDefinition scenarioDefinition) {
+
     Optional<PerturbationMapping<?>> optionalMapping = scenarioDefinition.getMappings().stream()
         .filter(m -> m.matches(id, value, refData))
         .findFirst();
 
-    if (optionalMapping.isPresent()) {
-      // This is definitely safe because the filter matched the value and the types of the filter and perturbation
-      // are compatible
-      PerturbationMapping<Object> mapping = (PerturbationMapping<Object>) optionalMapping.get();
-      MarketDataBox<Object> objectValue = ((MarketDataBox<Object>) value);
-      // Result.of() catches any exceptions thrown by the mapping and wraps them in a failure
-      Result<MarketDataBox<?>> result = Result.of(() -> mapping.applyPerturbation(objectValue, refData));
-      builder.addResult(id, result);
-    } else {
-      builder.addBox(id, value);
+    if (!optionalMapping.isPresent()) {
+      return Result.success(value);
+    }
+    // This is definitely safe because the filter matched the value and the types of the filter and perturbation
+    // are compatible
+    PerturbationMapping<Object> mapping = (PerturbationMapping<Object>) optionalMapping.get();
+    MarketDataBox<Object> objectValue = ((MarketDataBox<Object>) value);
+    // Result.of() catches any exceptions thrown by the mapping and wraps them in a failure
+    return Result.of(() -> mapping.applyPerturbation(objectValue, refData));
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The state of a single dataflow build.
+   * <p>
+   * Each item of non-observable market data is built on the executor once all the futures of
+   * its dependencies have completed. The future of each item holds its result after the scenario
+   * definition has been applied, thus an item is built from the leaf data and the results of its
+   * own dependencies, without copying the market data built so far. The results are added to the
+   * shared builder, which is only accessed while holding its lock.
+   */
+  private final class DataflowBuild {
+
+    private final MarketDataConfig marketDataConfig;
+    private final ScenarioMarketData suppliedData;
+    private final BuiltScenarioMarketData leafData;
+    private final ReferenceData refData;
+    private final ScenarioDefinition scenarioDefinition;
+    private final BuiltScenarioMarketDataBuilder dataBuilder;
+    /** The future for each item of market data being built, only accessed by the calling thread. */
+    private final Map<MarketDataId<?>, CompletableFuture<Result<MarketDataBox<?>>>> futures = new HashMap<>();
+
+    private DataflowBuild(
+        MarketDataConfig marketDataConfig,
+        ScenarioMarketData suppliedData,
+        BuiltScenarioMarketData leafData,
+        ReferenceData refData,
+        ScenarioDefinition scenarioDefinition,
+        BuiltScenarioMarketDataBuilder dataBuilder) {
+
+      this.marketDataConfig = marketDataConfig;
+      this.suppliedData = suppliedData;
+      this.leafData = leafData;
+      this.refData = refData;
+      this.scenarioDefinition = scenarioDefinition;
+      this.dataBuilder = dataBuilder;
+    }
+
+    // schedules the build of the node after its dependencies, returning a future of the result
+    // the future completes with null if the data was available before the dataflow started
+    private CompletableFuture<Result<MarketDataBox<?>>> schedule(MarketDataNode node) {
+      MarketDataId<?> id = node.getId();
+      if (node.getDataType() == MarketDataNode.DataType.TIME_SERIES ||
+          id instanceof ObservableId ||
+          suppliedData.containsValue(id) ||
+          leafData.containsValue(id)) {
+        return CompletableFuture.completedFuture(null);
+      }
+      CompletableFuture<Result<MarketDataBox<?>>> existing = futures.get(id);
+      if (existing != null) {
+        return existing;
+      }
+      Map<MarketDataId<?>, CompletableFuture<Result<MarketDataBox<?>>>> dependencies = new HashMap<>();
+      node.getDependencies().forEach(child -> dependencies.put(child.getId(), schedule(child)));
+      CompletableFuture<Result<MarketDataBox<?>>> future =
+          CompletableFuture.allOf(dependencies.values().toArray(new CompletableFuture<?>[0]))
+              .thenApplyAsync(ignored -> build(id, dependencies), executor);
+      futures.put(id, future);
+      return future;
+    }
+
+    // builds a single item of market data from its dependencies, invoked on the executor
+    private Result<MarketDataBox<?>> build(
+        MarketDataId<?> id,
+        Map<MarketDataId<?>, CompletableFuture<Result<MarketDataBox<?>>>> dependencies) {
+
+      BuiltScenarioMarketDataBuilder dependencyBuilder = BuiltScenarioMarketData.builder(leafData.getValuationDate());
+      dependencies.forEach((dependencyId, future) -> {
+        Result<MarketDataBox<?>> dependencyResult = future.join();
+        if (dependencyResult != null) {
+          dependencyBuilder.addResult(dependencyId, dependencyResult);
+        }
+      });
+      ScenarioMarketData marketData = leafData.combinedWith(dependencyBuilder.build());
+      Result<MarketDataBox<?>> result = buildNonObservableData(id, marketDataConfig, marketData, refData)
+          .flatMap(value -> perturb(id, value, refData, scenarioDefinition));
+      synchronized (dataBuilder) {
+        dataBuilder.addResult(id, result);
+      }
+      return result;
+    }
+
+    // waits for all the items to be built, propagating any unexpected exception
+    private BuiltScenarioMarketData await() {
+      try {
+        CompletableFuture.allOf(futures.values().toArray(new CompletableFuture<?>[0])).get();
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        throw new RuntimeException(ex);
+      } catch (ExecutionException ex) {
+        Throwables.throwIfUnchecked(ex.getCause());
+        throw new RuntimeException(ex.getCause());
+      }
+      synchronized (dataBuilder) {
+        return dataBuilder.build();
+      }
     }
   }
 
@@ -0,0 +1,31 @@
+/*
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.marketdata;
+
+import com.opengamma.strata.data.MarketDataId;
+
+/**
+ * Observer of the market data built by a {@link MarketDataFactory}.
+ * <p>
+ * A market data factory that has an observer informs it of the time taken to build each item of
+ * non-observable market data, such as a curve group or surface, using a {@link MarketDataFunction}.
+ * <p>
+ * The observer may be invoked concurrently from multiple threads if the factory builds market data
+ * using an executor. Implementations must be thread-safe and should return quickly.
+ */
+public interface MarketDataBuildObserver {
+
+  /**
+   * Invoked when an item of market data has been built.
+   * <p>
+   * This is invoked whether the market data was built successfully or not.
+   *
+   * @param id  the identifier of the market data
+   * @param elapsedNanos  the time in nanoseconds taken to build the market data
+   */
+  public abstract void marketDataBuilt(MarketDataId<?> id, long elapsedNanos);
+
+}
@@ -6,11 +6,16 @@
 package com.opengamma.strata.calc.marketdata;
 
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
 
 import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.calc.runner.CalculationTasks;
+import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.data.MarketData;
+import com.opengamma.strata.data.MarketDataId;
+import com.opengamma.strata.data.ObservableId;
 import com.opengamma.strata.data.scenario.ScenarioMarketData;
 
 /**
@@ -74,6 +79,35 @@ public interface MarketDataFactory {
     return new DefaultMarketDataFactory(observableDataProvider, timeSeriesProvider, functions);
   }
 
+  /**
+   * Obtains an instance of the factory that builds market data concurrently using an executor.
+   * <p>
+   * The market data functions are used to build the market data.
+   * Each item of non-observable market data, such as a curve group or surface, is built on the executor
+   * as soon as the market data it depends on is available, rather than waiting for all the items at
+   * the same level of the dependency tree. Independent items are therefore built concurrently.
+   * The market data and failures produced are the same as those of the other factories.
+   * <p>
+   * The calling thread blocks until the market data has been built, thus the executor must not
+   * be one whose threads are all occupied by callers of this factory.
+   * It is the callers responsibility to manage the life-cycle of the executor.
+   *
+   * @param observableDataProvider  the provider of observable market data
+   * @param timeSeriesProvider  the provider of time-series
+   * @param executor  the executor used to build non-observable market data
+   * @param functions  the functions that create the market data
+   * @return the market data factory
+   */
+  public static MarketDataFactory of(
+      ObservableDataProvider observableDataProvider,
+      TimeSeriesProvider timeSeriesProvider,
+      Executor executor,
+      List<MarketDataFunction<?, ?>> functions) {
+
+    ArgChecker.notNull(executor, "executor");
+    return new DefaultMarketDataFactory(observableDataProvider, timeSeriesProvider, executor, functions);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Builds a set of market data.
@@ -154,4 +188,71 @@ public interface MarketDataFactory {
       ReferenceData refData,
       ScenarioDefinition scenarioDefinition);
 
+  /**
+   * Rebuilds the market data required for performing calculations for a set of scenarios,
+   * reusing the market data that is not affected by a set of changes.
+   * <p>
+   * This is intended to be used when a small number of inputs have changed since the previous
+   * market data was built, for example when a few quotes have ticked intraday.
+   * The changed inputs are specified as two sets of IDs, one for values, typically observable quotes,
+   * and one for time-series. The changed inputs are obtained again, and all market data that depends
+   * on them, directly or indirectly, is rebuilt. Any other market data required is copied from the previous market data without being rebuilt.
+   * <p>
+   * The result is the same as that of {@link #createMultiScenario(MarketDataRequirements, MarketDataConfig,
+   * ScenarioMarketData, ReferenceData, ScenarioDefinition) createMultiScenario} if the previous market data
+   * was built by this factory with the same configuration and scenario definition,
+   * and no inputs other than those specified have changed.
+   * Market data that could not be built previously is always rebuilt.
+   * <p>
+   * The default implementation builds all the market data again using {@code createMultiScenario},
+   * thus only checks the previous market data for consistency.
+   *
+   * @param previous  the market data previously built by this factory
+   * @param changedValues  the IDs of the market data values that have changed since the previous market data was built
+   * @param changedTimeSeries  the IDs of the time-series that have changed since the previous market data was built
+   * @param requirements  the market data required for the calculations
+   * @param marketDataConfig  configuration needed to build non-observable market data, for example curves or surfaces
+   * @param suppliedData  the base market data used to derive the data for each scenario
+   * @param refData  the reference data
+   * @param scenarioDefinition  defines how the market data for each scenario is derived from the base data
+   * @return the market data required by the calculations
+   * @throws IllegalArgumentException if the valuation date of the previous market data differs from that
+   *   of the supplied data
+   */
+  public default BuiltScenarioMarketData updateMultiScenario(
+      BuiltScenarioMarketData previous,
+      Set<? extends MarketDataId<?>> changedValues,
+      Set<? extends ObservableId> changedTimeSeries,
+      MarketDataRequirements requirements,
+      MarketDataConfig marketDataConfig,
+      ScenarioMarketData suppliedData,
+      ReferenceData refData,
+      ScenarioDefinition scenarioDefinition) {
+
+    ArgChecker.notNull(previous, "previous");
+    ArgChecker.notNull(changedValues, "changedValues");
+    ArgChecker.notNull(changedTimeSeries, "changedTimeSeries");
+    ArgChecker.isTrue(
+        previous.getValuationDate().equals(suppliedData.getValuationDate()),
+        "Valuation date of previous market data {} must match that of supplied data {}",
+        previous.getValuationDate(),
+        suppliedData.getValuationDate());
+    return createMultiScenario(requirements, marketDataConfig, suppliedData, refData, scenarioDefinition);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns a factory that informs an observer of the time taken to build each item of market data.
+   * <p>
+   * The returned factory builds market data in the same way as this factory.
+   * This allows the cost of building curves and surfaces to be monitored in production.
+   *
+   * @param observer  the observer to inform when market data is built
+   * @return a factory that informs the observer
+   * @throws UnsupportedOperationException if the factory does not support observers
+   */
+  public default MarketDataFactory withObserver(MarketDataBuildObserver observer) {
+    throw new UnsupportedOperationException("Market data factory does not support observers: " + getClass().getName());
+  }
+
 }
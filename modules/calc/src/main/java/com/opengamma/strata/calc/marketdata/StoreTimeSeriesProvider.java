@@ -0,0 +1,53 @@
+/*
+ * Copyright (C) 2019 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.marketdata;
+
+import java.util.function.Function;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeriesStore;
+import com.opengamma.strata.data.ObservableId;
+
+/**
+ * Implementation of a time-series provider which serves time-series from a store.
+ * <p>
+ * The store is typically memory-mapped, allowing the time-series to be served lazily
+ * without loading all of them onto the heap.
+ */
+class StoreTimeSeriesProvider implements TimeSeriesProvider {
+
+  /** The store of time-series. */
+  private final LocalDateDoubleTimeSeriesStore store;
+  /** The function providing the key in the store of an identifier. */
+  private final Function<ObservableId, String> keyFunction;
+
+  /**
+   * Creates an instance.
+   *
+   * @param store  the store of time-series
+   * @param keyFunction  the function providing the key in the store of an identifier
+   */
+  StoreTimeSeriesProvider(LocalDateDoubleTimeSeriesStore store, Function<ObservableId, String> keyFunction) {
+    this.store = ArgChecker.notNull(store, "store");
+    this.keyFunction = ArgChecker.notNull(keyFunction, "keyFunction");
+  }
+
+  @Override
+  public Result<LocalDateDoubleTimeSeries> provideTimeSeries(ObservableId id) {
+    String key = keyFunction.apply(id);
+    return store.find(key)
+        .map(Result::success)
+        .orElseGet(() -> Result.failure(
+            FailureReason.MISSING_DATA,
+            "No time-series found in store for '{}' using key '{}'",
+            id,
+            key));
+  }
+
+}
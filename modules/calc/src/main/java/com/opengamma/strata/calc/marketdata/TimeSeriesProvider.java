@@ -5,8 +5,11 @@
  */
 package com.opengamma.strata.calc.marketdata;
 
+import java.util.function.Function;
+
 import com.opengamma.strata.collect.result.Result;
 import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeriesStore;
 import com.opengamma.strata.data.ObservableId;
 
 /**
@@ -41,6 +44,39 @@ public interface TimeSeriesProvider {
     return EmptyTimeSeriesProvider.INSTANCE;
   }
 
+  /**
+   * Returns a time-series provider that serves time-series from a store.
+   * <p>
+   * The time-series are looked up in the store using the string form of the standard identifier
+   * of the observable identifier, such as 'OG-Ticker~GBP-LIBOR-3M'.
+   * Time-series are served as views of the store, without loading them onto the heap.
+   * A failure is returned if the store does not contain the time-series.
+   *
+   * @param store  the store of time-series
+   * @return the time-series provider
+   */
+  public static TimeSeriesProvider of(LocalDateDoubleTimeSeriesStore store) {
+    return of(store, id -> id.getStandardId().toString());
+  }
+
+  /**
+   * Returns a time-series provider that serves time-series from a store, using a function to obtain the key.
+   * <p>
+   * The time-series are looked up in the store using the key returned by the function.
+   * Time-series are served as views of the store, without loading them onto the heap.
+   * A failure is returned if the store does not contain the time-series.
+   *
+   * @param store  the store of time-series
+   * @param keyFunction  the function providing the key in the store of an identifier
+   * @return the time-series provider
+   */
+  public static TimeSeriesProvider of(
+      LocalDateDoubleTimeSeriesStore store,
+      Function<ObservableId, String> keyFunction) {
+
+    return new StoreTimeSeriesProvider(store, keyFunction);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Provides the time-series for the specified identifier.
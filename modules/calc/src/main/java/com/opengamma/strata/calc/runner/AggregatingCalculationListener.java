@@ -24,7 +24,13 @@ public abstract class AggregatingCalculationListener<T>
 
   @Override
   public final void calculationsComplete() {
-    future.complete(createAggregateResult());
+    // the future must complete, even if the aggregate result cannot be created
+    try {
+      future.complete(createAggregateResult());
+    } catch (RuntimeException ex) {
+      future.completeExceptionally(ex);
+      throw ex;
+    }
   }
 
   /**
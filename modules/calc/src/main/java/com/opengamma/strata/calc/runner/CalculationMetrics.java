@@ -0,0 +1,205 @@
+/*
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.calc.Measure;
+import com.opengamma.strata.calc.marketdata.MarketDataBuildObserver;
+import com.opengamma.strata.collect.io.AsciiTable;
+import com.opengamma.strata.collect.io.AsciiTableAlignment;
+import com.opengamma.strata.collect.tuple.Pair;
+import com.opengamma.strata.data.MarketDataId;
+
+/**
+ * Metrics recording where the time is spent in calculation runs.
+ * <p>
+ * This records histograms of elapsed times, grouped into the following categories:
+ * <ul>
+ * <li>'Task' - the time taken to execute each task
+ * <li>'Queue Wait' - the time between each task being submitted and starting to execute
+ * <li>'Function' - the time taken to execute each task, by calculation function
+ * <li>'Measure' - the time taken to execute each task, by measure, where a task calculating
+ *  several measures is included in the histogram of each
+ * <li>'Target Type' - the time taken to execute each task, by the type of the target
+ * <li>'Market Data Lookup' - the time spent by each task looking up market data, by calculation function
+ * <li>'Market Data Build' - the time taken to build each item of market data, such as a curve group
+ * </ul>
+ * <p>
+ * An instance is attached to a calculation runner using {@link CalculationTaskRunner#withObserver}
+ * and to a market data factory using {@code MarketDataFactory.withObserver}.
+ * The same instance can be attached to both. It accumulates across runs until {@link #reset()} is called.
+ * <p>
+ * This class is thread-safe and recording is lock-free.
+ */
+public final class CalculationMetrics implements CalculationTaskObserver, MarketDataBuildObserver {
+
+  /** The category for task execution times. */
+  public static final String TASK = "Task";
+  /** The category for queue wait times. */
+  public static final String QUEUE_WAIT = "Queue Wait";
+  /** The category for task execution times by function. */
+  public static final String FUNCTION = "Function";
+  /** The category for task execution times by measure. */
+  public static final String MEASURE = "Measure";
+  /** The category for task execution times by target type. */
+  public static final String TARGET_TYPE = "Target Type";
+  /** The category for market data lookup times by function. */
+  public static final String MARKET_DATA_LOOKUP = "Market Data Lookup";
+  /** The category for market data build times. */
+  public static final String MARKET_DATA_BUILD = "Market Data Build";
+  /** The name used in categories that are not grouped. */
+  private static final String ALL = "All";
+  /** The order of the categories in the summary. */
+  private static final List<String> CATEGORIES =
+      ImmutableList.of(TASK, QUEUE_WAIT, FUNCTION, MEASURE, TARGET_TYPE, MARKET_DATA_LOOKUP, MARKET_DATA_BUILD);
+  /** The table headers. */
+  private static final List<String> HEADERS = ImmutableList.of(
+      "Category", "Name", "Count", "Total ms", "Mean ms", "Median ms", "90% ms", "99% ms", "Max ms");
+  /** The table alignments. */
+  private static final List<AsciiTableAlignment> ALIGNMENTS = ImmutableList.of(
+      AsciiTableAlignment.LEFT,
+      AsciiTableAlignment.LEFT,
+      AsciiTableAlignment.RIGHT,
+      AsciiTableAlignment.RIGHT,
+      AsciiTableAlignment.RIGHT,
+      AsciiTableAlignment.RIGHT,
+      AsciiTableAlignment.RIGHT,
+      AsciiTableAlignment.RIGHT,
+      AsciiTableAlignment.RIGHT);
+
+  /**
+   * The histograms, keyed by category and name.
+   */
+  private final ConcurrentMap<Pair<String, String>, TimingHistogram> histograms = new ConcurrentHashMap<>();
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates an empty instance.
+   *
+   * @return the metrics
+   */
+  public static CalculationMetrics create() {
+    return new CalculationMetrics();
+  }
+
+  // restricted constructor
+  private CalculationMetrics() {
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public void taskExecuted(
+      CalculationTask task,
+      int scenarioCount,
+      long queueNanos,
+      long executionNanos,
+      long marketDataNanos) {
+
+    String functionName = task.getFunction().getClass().getSimpleName();
+    record(TASK, ALL, executionNanos);
+    record(QUEUE_WAIT, ALL, queueNanos);
+    record(FUNCTION, functionName, executionNanos);
+    for (Measure measure : task.getMeasures()) {
+      record(MEASURE, measure.getName(), executionNanos);
+    }
+    record(TARGET_TYPE, task.getTarget().getClass().getSimpleName(), executionNanos);
+    record(MARKET_DATA_LOOKUP, functionName, marketDataNanos);
+  }
+
+  @Override
+  public void marketDataBuilt(MarketDataId<?> id, long elapsedNanos) {
+    record(MARKET_DATA_BUILD, id.toString(), elapsedNanos);
+  }
+
+  // records a time in the histogram for the category and name
+  private void record(String category, String name, long nanos) {
+    histograms.computeIfAbsent(Pair.of(category, name), key -> new TimingHistogram()).record(nanos);
+  }
+
+  /**
+   * Removes all the recorded times.
+   * <p>
+   * Times recorded concurrently with this method may or may not be retained.
+   */
+  public void reset() {
+    histograms.clear();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the statistics of the recorded times.
+   * <p>
+   * The statistics are ordered by category, as listed in the class documentation,
+   * and then by decreasing total time within each category.
+   *
+   * @return the statistics
+   */
+  public ImmutableList<CalculationTimingStatistics> statistics() {
+    return histograms.entrySet().stream()
+        .map(e -> e.getValue().statistics(e.getKey().getFirst(), e.getKey().getSecond()))
+        .sorted(Comparator.comparingInt((CalculationTimingStatistics s) -> CATEGORIES.indexOf(s.getCategory()))
+            .thenComparing(Comparator.comparingLong(CalculationTimingStatistics::getTotalNanos).reversed())
+            .thenComparing(CalculationTimingStatistics::getName))
+        .collect(toImmutableList());
+  }
+
+  /**
+   * Gets the statistics of the recorded times in a single category.
+   * <p>
+   * The statistics are ordered by decreasing total time.
+   *
+   * @param category  the category, such as {@link #FUNCTION}
+   * @return the statistics in the category
+   */
+  public ImmutableList<CalculationTimingStatistics> statistics(String category) {
+    return statistics().stream()
+        .filter(s -> s.getCategory().equals(category))
+        .collect(toImmutableList());
+  }
+
+  /**
+   * Generates a summary table of the recorded times.
+   * <p>
+   * The table contains a row for each category and name, with times in milliseconds.
+   *
+   * @return the summary table
+   */
+  public String summaryTable() {
+    List<List<String>> cells = statistics().stream()
+        .map(s -> ImmutableList.of(
+            s.getCategory(),
+            s.getName(),
+            Long.toString(s.getCount()),
+            millis(s.getTotalNanos()),
+            millis(s.getMeanNanos()),
+            millis(s.getMedianNanos()),
+            millis(s.getPercentile90Nanos()),
+            millis(s.getPercentile99Nanos()),
+            millis(s.getMaxNanos())))
+        .collect(toImmutableList());
+    return AsciiTable.generate(HEADERS, ALIGNMENTS, cells);
+  }
+
+  // formats nanoseconds as milliseconds
+  private static String millis(double nanos) {
+    return String.format(Locale.ENGLISH, "%.3f", nanos / 1_000_000d);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return summaryTable();
+  }
+
+}
@@ -0,0 +1,309 @@
+/*
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.calc.Column;
+import com.opengamma.strata.calc.ColumnHeader;
+import com.opengamma.strata.calc.Results;
+import com.opengamma.strata.calc.marketdata.MarketDataRequirements;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.data.MarketDataId;
+import com.opengamma.strata.data.ObservableId;
+import com.opengamma.strata.data.scenario.ScenarioMarketData;
+
+/**
+ * A session that recalculates a set of calculation tasks as market data changes.
+ * <p>
+ * The session retains the market data requirements of each task, and the result of each cell
+ * in the grid of results from the most recent calculation. When the market data changes, only the
+ * tasks whose requirements include market data that has changed are executed again.
+ * The results of the other tasks are reused.
+ * <p>
+ * The changed market data can either be specified explicitly, or it can be determined by comparing
+ * the market data with that used in the previous calculation. Note that the requirements of a task
+ * typically refer to derived market data, such as curves, rather than the quotes used to build it.
+ * When specifying the changes explicitly, the IDs of any derived market data that has been rebuilt must be included.
+ * <p>
+ * The first calculation performed by a session executes all the tasks.
+ * <p>
+ * Instances of this class are not thread-safe. A calculation must complete before the next one is started.
+ */
+public final class CalculationSession {
+
+  /** The runner used to execute the tasks. */
+  private final CalculationTaskRunner runner;
+  /** The calculation tasks. */
+  private final CalculationTasks tasks;
+  /** The reference data. */
+  private final ReferenceData refData;
+  /** The market data requirements of each task, in the same order as the tasks. */
+  private final List<MarketDataRequirements> taskRequirements;
+  /** The market data requirements of all the tasks. */
+  private final MarketDataRequirements requirements;
+  /** The number of columns in the grid of results. */
+  private final int columnCount;
+
+  // Mutable state -----------------------------------------------------
+
+  /** The result of each cell from the most recent calculation, in row-major order. */
+  private final Result<?>[] cells;
+  /** The market data used in the most recent calculation, null if there has been no calculation. */
+  private ScenarioMarketData previousMarketData;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains a session that executes tasks using the specified runner.
+   * <p>
+   * The market data requirements of each task are determined when the session is created.
+   *
+   * @param runner  the runner used to execute the tasks
+   * @param tasks  the calculation tasks
+   * @param refData  the reference data
+   * @return the session
+   */
+  public static CalculationSession of(CalculationTaskRunner runner, CalculationTasks tasks, ReferenceData refData) {
+    return new CalculationSession(runner, tasks, refData);
+  }
+
+  // creates an instance
+  private CalculationSession(CalculationTaskRunner runner, CalculationTasks tasks, ReferenceData refData) {
+    this.runner = ArgChecker.notNull(runner, "runner");
+    this.tasks = ArgChecker.notNull(tasks, "tasks");
+    this.refData = ArgChecker.notNull(refData, "refData");
+    this.taskRequirements = tasks.getTasks().stream()
+        .map(task -> task.requirements(refData))
+        .collect(toImmutableList());
+    this.requirements = MarketDataRequirements.combine(taskRequirements);
+    this.columnCount = tasks.getColumns().size();
+    this.cells = new Result<?>[tasks.getTargets().size() * columnCount];
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the market data required by all the tasks.
+   * <p>
+   * This can be used to obtain and calibrate the market data passed to the session.
+   *
+   * @return the market data requirements
+   */
+  public MarketDataRequirements getRequirements() {
+    return requirements;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the results for a set of scenarios, recalculating the tasks whose market data has changed.
+   * <p>
+   * The changed market data is determined by comparing the market data required by each task with
+   * the market data used in the previous calculation. The comparison is by equality, which is fast
+   * when unchanged market data is the same instance as in the previous calculation.
+   * <p>
+   * The results contain the recalculated results merged with the results of the previous calculation.
+   *
+   * @param marketData  the market data used in the calculations
+   * @return the results of the calculations
+   */
+  public Results calculateMultiScenario(ScenarioMarketData marketData) {
+    MergedResultsListener listener = new MergedResultsListener();
+    calculateMultiScenarioAsync(marketData, listener);
+    return listener.result();
+  }
+
+  /**
+   * Calculates the results for a set of scenarios, recalculating the tasks that use the changed market data.
+   * <p>
+   * A task is recalculated if its market data requirements include a value with any of the specified IDs,
+   * or a time-series with any of the specified observable IDs.
+   * <p>
+   * The results contain the recalculated results merged with the results of the previous calculation.
+   *
+   * @param marketData  the market data used in the calculations
+   * @param changedIds  the IDs of the market data that has changed since the previous calculation
+   * @return the results of the calculations
+   */
+  public Results calculateMultiScenario(ScenarioMarketData marketData, Set<? extends MarketDataId<?>> changedIds) {
+    MergedResultsListener listener = new MergedResultsListener();
+    calculateMultiScenarioAsync(marketData, changedIds, listener);
+    return listener.result();
+  }
+
+  /**
+   * Calculates the results for a set of scenarios asynchronously,
+   * recalculating the tasks whose market data has changed.
+   * <p>
+   * The changed market data is determined as described in {@link #calculateMultiScenario(ScenarioMarketData)}.
+   * <p>
+   * The listener receives the results of the recalculated cells only.
+   * Once the calculations are complete, the merged results can be obtained using {@link #results()}.
+   *
+   * @param marketData  the market data used in the calculations
+   * @param listener  the listener that receives the recalculated results
+   */
+  public void calculateMultiScenarioAsync(ScenarioMarketData marketData, CalculationListener listener) {
+    ArgChecker.notNull(marketData, "marketData");
+    calculateMultiScenarioAsync(marketData, changedIds(marketData), listener);
+  }
+
+  /**
+   * Calculates the results for a set of scenarios asynchronously,
+   * recalculating the tasks that use the changed market data.
+   * <p>
+   * The changed market data is as described in {@link #calculateMultiScenario(ScenarioMarketData, Set)}.
+   * <p>
+   * The listener receives the results of the recalculated cells only.
+   * Once the calculations are complete, the merged results can be obtained using {@link #results()}.
+   *
+   * @param marketData  the market data used in the calculations
+   * @param changedIds  the IDs of the market data that has changed since the previous calculation
+   * @param listener  the listener that receives the recalculated results
+   */
+  public void calculateMultiScenarioAsync(
+      ScenarioMarketData marketData,
+      Set<? extends MarketDataId<?>> changedIds,
+      CalculationListener listener) {
+
+    ArgChecker.notNull(marketData, "marketData");
+    ArgChecker.notNull(changedIds, "changedIds");
+    ArgChecker.notNull(listener, "listener");
+    boolean calculateAll = previousMarketData == null ||
+        previousMarketData.getScenarioCount() != marketData.getScenarioCount() ||
+        !previousMarketData.getValuationDate().equals(marketData.getValuationDate());
+    previousMarketData = marketData;
+
+    List<CalculationTask> affectedTasks = new ArrayList<>();
+    for (int i = 0; i < taskRequirements.size(); i++) {
+      if (calculateAll || isAffected(taskRequirements.get(i), changedIds)) {
+        affectedTasks.add(tasks.getTasks().get(i));
+      }
+    }
+    CalculationListener sessionListener = new SessionListener(listener);
+    if (affectedTasks.isEmpty()) {
+      sessionListener.calculationsStarted(tasks.getTargets(), tasks.getColumns());
+      sessionListener.calculationsComplete();
+    } else {
+      CalculationTasks subset = CalculationTasks.ofSubset(tasks, affectedTasks);
+      runner.calculateMultiScenarioAsync(subset, marketData, refData, sessionListener);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns the results of the most recent calculation.
+   * <p>
+   * Cells that have not been calculated contain a failure.
+   * This must not be called while a calculation is in progress.
+   *
+   * @return the results
+   */
+  public Results results() {
+    List<ColumnHeader> headers = tasks.getColumns().stream()
+        .map(Column::toHeader)
+        .collect(toImmutableList());
+    List<Result<?>> results = Arrays.stream(cells)
+        .map(cell -> cell != null ? cell : Result.failure(FailureReason.CALCULATION_FAILED, "Cell not calculated"))
+        .collect(toImmutableList());
+    return Results.of(headers, results);
+  }
+
+  //-------------------------------------------------------------------------
+  // the IDs of the market data required by the tasks that differs from the previous market data
+  private Set<MarketDataId<?>> changedIds(ScenarioMarketData marketData) {
+    Set<MarketDataId<?>> changed = new HashSet<>();
+    if (previousMarketData == null) {
+      return changed;
+    }
+    for (ObservableId id : requirements.getObservables()) {
+      if (!Objects.equals(previousMarketData.findValue(id), marketData.findValue(id))) {
+        changed.add(id);
+      }
+    }
+    for (MarketDataId<?> id : requirements.getNonObservables()) {
+      if (!Objects.equals(previousMarketData.findValue(id), marketData.findValue(id))) {
+        changed.add(id);
+      }
+    }
+    for (ObservableId id : requirements.getTimeSeries()) {
+      if (!previousMarketData.getTimeSeries(id).equals(marketData.getTimeSeries(id))) {
+        changed.add(id);
+      }
+    }
+    return changed;
+  }
+
+  // checks whether any of the changed IDs are required
+  private static boolean isAffected(MarketDataRequirements requirements, Set<? extends MarketDataId<?>> changedIds) {
+    for (MarketDataId<?> id : changedIds) {
+      if (requirements.getNonObservables().contains(id) ||
+          requirements.getObservables().contains(id) ||
+          requirements.getTimeSeries().contains(id)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Listener that stores the recalculated results in the session before passing them to another listener.
+   * <p>
+   * The calculation runner ensures the listener is only invoked by a single thread at a time.
+   */
+  private final class SessionListener implements CalculationListener {
+
+    private final CalculationListener delegate;
+
+    private SessionListener(CalculationListener delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public void calculationsStarted(List<CalculationTarget> targets, List<Column> columns) {
+      delegate.calculationsStarted(targets, columns);
+    }
+
+    @Override
+    public void resultReceived(CalculationTarget target, CalculationResult result) {
+      cells[result.getRowIndex() * columnCount + result.getColumnIndex()] = result.getResult();
+      delegate.resultReceived(target, result);
+    }
+
+    @Override
+    public void calculationsComplete() {
+      delegate.calculationsComplete();
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Listener that provides the merged results of the session once the calculations are complete.
+   */
+  private final class MergedResultsListener extends AggregatingCalculationListener<Results> {
+
+    @Override
+    public void resultReceived(CalculationTarget target, CalculationResult result) {
+      // the results are stored by the session listener
+    }
+
+    @Override
+    protected Results createAggregateResult() {
+      return results();
+    }
+  }
+
+}
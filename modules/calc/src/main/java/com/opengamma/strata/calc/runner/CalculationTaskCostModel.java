@@ -0,0 +1,61 @@
+/*
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+/**
+ * Model used to estimate the relative cost of executing a calculation task.
+ * <p>
+ * A calculation task runner may use the model to decide the order in which tasks are started.
+ * Starting the most expensive tasks first avoids the situation where a single expensive task
+ * is started at the end of a run and keeps one thread busy while all the others are idle.
+ * <p>
+ * The runner informs the model of the time taken by each task it executes,
+ * allowing the estimates to be refined from one run to the next.
+ * <p>
+ * Implementations of this interface must be thread-safe.
+ */
+public interface CalculationTaskCostModel {
+
+  /**
+   * Obtains a model that estimates costs based on the timings of previous executions.
+   * <p>
+   * Timings are grouped by the type of the function, the type of the target and the set of measures.
+   * Tasks that have not been seen before are estimated to be as expensive as the most expensive
+   * group seen so far, which ensures they are started early and measured.
+   * <p>
+   * The instance should be retained and reused across runs to benefit from the recorded timings.
+   *
+   * @return the cost model
+   */
+  public static CalculationTaskCostModel ofHistorical() {
+    return new HistoricalCalculationTaskCostModel();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Estimates the cost of executing the task.
+   * <p>
+   * The result has no units, it is only used to compare one task with another.
+   * A larger value indicates a more expensive task.
+   *
+   * @param task  the task to be executed
+   * @param scenarioCount  the number of scenarios that the task will be executed for
+   * @return the estimated cost, zero or greater
+   */
+  public abstract double estimateCost(CalculationTask task, int scenarioCount);
+
+  /**
+   * Records the time taken to execute a task.
+   * <p>
+   * This is called by the runner after each task has been executed.
+   *
+   * @param task  the task that was executed
+   * @param scenarioCount  the number of scenarios that the task was executed for
+   * @param elapsedNanos  the elapsed time in nanoseconds
+   */
+  public abstract void recordExecution(CalculationTask task, int scenarioCount, long elapsedNanos);
+
+}
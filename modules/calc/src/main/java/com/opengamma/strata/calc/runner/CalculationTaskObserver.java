@@ -0,0 +1,39 @@
+/*
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+/**
+ * Observer of the execution of calculation tasks.
+ * <p>
+ * A calculation task runner that has an observer informs it of the timings of each task it executes.
+ * This allows the hotspots of a calculation run to be found without attaching a profiler.
+ * See {@link CalculationMetrics} for an observer that records the timings as histograms.
+ * <p>
+ * The observer is invoked on the thread that executed the task, before the results are passed
+ * to the {@link CalculationListener}. Implementations must be thread-safe and should return quickly.
+ */
+public interface CalculationTaskObserver {
+
+  /**
+   * Invoked when a task has been executed.
+   * <p>
+   * The market data lookup time is the time spent by the function obtaining market data
+   * from the {@code ScenarioMarketData}. It is included in the execution time.
+   *
+   * @param task  the task that was executed
+   * @param scenarioCount  the number of scenarios that the task was executed for
+   * @param queueNanos  the time in nanoseconds between the task being submitted and starting to execute
+   * @param executionNanos  the time in nanoseconds taken to execute the task
+   * @param marketDataNanos  the time in nanoseconds spent looking up market data during execution
+   */
+  public abstract void taskExecuted(
+      CalculationTask task,
+      int scenarioCount,
+      long queueNanos,
+      long executionNanos,
+      long marketDataNanos);
+
+}
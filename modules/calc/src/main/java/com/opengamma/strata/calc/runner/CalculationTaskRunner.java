@@ -7,6 +7,7 @@ package com.opengamma.strata.calc.runner;
 
 import java.util.List;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
 
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.calc.CalculationRules;
@@ -79,6 +80,43 @@ public interface CalculationTaskRunner extends AutoCloseable {
     return DefaultCalculationTaskRunner.of(executor);
   }
 
+  /**
+   * Creates a work-stealing calculation task runner that starts the most expensive tasks first.
+   * <p>
+   * This factory creates a work-stealing {@link ForkJoinPool} basing the number of threads on the
+   * number of available processors. Tasks are submitted in order of decreasing estimated cost,
+   * where the cost of each task is estimated using {@link CalculationTaskCostModel#ofHistorical()}.
+   * The estimates improve as the runner is reused, thus the runner should be retained between runs.
+   * <p>
+   * The results are the same as those produced by the other runners, only the order
+   * in which the calculations are performed differs.
+   * It is recommended to use try-with-resources to manage the runner:
+   * <pre>
+   *  try (CalculationTaskRunner runner = CalculationTaskRunner.ofWorkStealing()) {
+   *    // use the runner
+   *  }
+   * </pre>
+   * 
+   * @return the calculation task runner
+   */
+  public static CalculationTaskRunner ofWorkStealing() {
+    return DefaultCalculationTaskRunner.ofWorkStealing();
+  }
+
+  /**
+   * Creates a calculation task runner that starts the most expensive tasks first,
+   * specifying the executor and the model used to estimate the cost of each task.
+   * <p>
+   * It is the callers responsibility to manage the life-cycle of the executor.
+   * 
+   * @param executor  the executor to use
+   * @param costModel  the model used to estimate the cost of each task
+   * @return the calculation task runner
+   */
+  public static CalculationTaskRunner of(ExecutorService executor, CalculationTaskCostModel costModel) {
+    return DefaultCalculationTaskRunner.of(executor, costModel);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Performs calculations for a single set of market data.
@@ -107,6 +145,10 @@ public interface CalculationTaskRunner extends AutoCloseable {
    * This method requires the listener to assemble the results, but it can be much more memory efficient when
    * calculating aggregate results. If the individual results are discarded after they are incorporated into
    * the aggregate they can be garbage collected.
+   * <p>
+   * The tasks are submitted on the calling thread. If the runner applies backpressure, see
+   * {@link #withBackpressure(int)}, this method blocks until the last task has been submitted,
+   * thus the listener must not wait for this method to return before accepting results.
    * 
    * @param tasks  the calculation tasks to invoke
    * @param marketData  the market data to be used in the calculations
@@ -149,6 +191,10 @@ public interface CalculationTaskRunner extends AutoCloseable {
    * This method requires the listener to assemble the results, but it can be much more memory efficient when
    * calculating aggregate results. If the individual results are discarded after they are incorporated into
    * the aggregate they can be garbage collected.
+   * <p>
+   * The tasks are submitted on the calling thread. If the runner applies backpressure, see
+   * {@link #withBackpressure(int)}, this method blocks until the last task has been submitted,
+   * thus the listener must not wait for this method to return before accepting results.
    * 
    * @param tasks  the calculation tasks to invoke
    * @param marketData  the market data to be used in the calculations
@@ -161,6 +207,45 @@ public interface CalculationTaskRunner extends AutoCloseable {
       ReferenceData refData,
       CalculationListener listener);
 
+  //-------------------------------------------------------------------------
+  /**
+   * Returns a runner that notifies the specified observer as each task is executed.
+   * <p>
+   * The observer is notified of the time each task waited to execute, the time taken to execute it,
+   * and the part of that time spent looking up market data.
+   * See {@link CalculationMetrics} for an observer that summarizes the timings.
+   * <p>
+   * The returned runner shares the resources of this runner, thus closing either runner closes both.
+   *
+   * @param observer  the observer to notify
+   * @return a runner that notifies the observer
+   * @throws UnsupportedOperationException if the runner does not support observers
+   */
+  public default CalculationTaskRunner withObserver(CalculationTaskObserver observer) {
+    throw new UnsupportedOperationException("Task runner does not support observers: " + getClass().getName());
+  }
+
+  /**
+   * Returns a runner that limits the number of tasks whose results have not yet been delivered.
+   * <p>
+   * A task is pending from the time it is submitted until its results have been passed to the listener.
+   * When the limit is reached, the thread submitting the tasks blocks until the listener has
+   * received the results of an earlier task. The asynchronous methods therefore block until the
+   * last task has been submitted, although they still return before all the results are received.
+   * <p>
+   * This is used with a listener that streams the results, such as {@link StreamingResultsListener},
+   * to ensure that a slow destination bounds the memory used by completed, but undelivered, results.
+   * <p>
+   * The returned runner shares the resources of this runner, thus closing either runner closes both.
+   *
+   * @param maxPendingTasks  the maximum number of tasks whose results have not been delivered
+   * @return a runner that applies backpressure
+   * @throws UnsupportedOperationException if the runner does not support backpressure
+   */
+  public default CalculationTaskRunner withBackpressure(int maxPendingTasks) {
+    throw new UnsupportedOperationException("Task runner does not support backpressure: " + getClass().getName());
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Closes any resources held by the component.
@@ -8,7 +8,9 @@ package com.opengamma.strata.calc.runner;
 import static com.opengamma.strata.collect.Guavate.toImmutableList;
 
 import java.lang.invoke.MethodHandles;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 import org.joda.beans.ImmutableBean;
 import org.joda.beans.JodaBeanUtils;
@@ -31,7 +33,9 @@ import com.opengamma.strata.calc.Measure;
 import com.opengamma.strata.calc.ReportingCurrency;
 import com.opengamma.strata.calc.marketdata.MarketDataRequirements;
 import com.opengamma.strata.calc.marketdata.MarketDataRequirementsBuilder;
+import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.OrderedTaskQueue;
 
 /**
  * The tasks that will be used to perform the calculations.
@@ -43,6 +47,11 @@ import com.opengamma.strata.collect.Messages;
 @BeanDefinition(style = "light")
 public final class CalculationTasks implements ImmutableBean {
 
+  /**
+   * The number of blocks of targets per unit of parallelism when resolving in parallel.
+   */
+  private static final int BLOCKS_PER_THREAD = 4;
+
   /**
    * The targets that calculations will be performed on.
    * <p>
@@ -94,7 +103,8 @@ public final class CalculationTasks implements ImmutableBean {
    * The targets will typically be trades and positions.
    * The columns represent the measures to calculate.
    * <p>
-   * The targets will be resolved if they implement {@link ResolvableCalculationTarget}.
+   * The targets will be resolved on the calling thread if they implement {@link ResolvableCalculationTarget}.
+   * If the parameters of the rules contain a {@link ResolvedTargetCache}, it is used to resolve the targets.
    * 
    * @param rules  the rules defining how the calculation is performed
    * @param targets  the targets for which values of the measures will be calculated
@@ -108,38 +118,147 @@ public final class CalculationTasks implements ImmutableBean {
       List<Column> columns,
       ReferenceData refData) {
 
+    return of(rules, targets, columns, refData, ResolvedTargetCache.from(rules.getParameters()));
+  }
+
+  /**
+   * Obtains an instance from a set of targets, columns and rules, resolving the targets using a cache.
+   * <p>
+   * The targets will typically be trades and positions.
+   * The columns represent the measures to calculate.
+   * <p>
+   * The targets will be resolved on the calling thread if they implement {@link ResolvableCalculationTarget}.
+   * The cache is queried first, allowing targets resolved by an earlier call to be reused.
+   * The cache is also added to the parameters of each task, allowing the calculation functions
+   * to cache the resolved form of other targets, such as swap trades.
+   * 
+   * @param rules  the rules defining how the calculation is performed
+   * @param targets  the targets for which values of the measures will be calculated
+   * @param columns  the columns that will be calculated
+   * @param refData  the reference data to use to resolve the targets
+   * @param cache  the cache of resolved targets
+   * @return the calculation tasks
+   */
+  public static CalculationTasks of(
+      CalculationRules rules,
+      List<? extends CalculationTarget> targets,
+      List<Column> columns,
+      ReferenceData refData,
+      ResolvedTargetCache cache) {
+
+    ArgChecker.notNull(cache, "cache");
+    return create(rules, targets, columns, refData, cache, null, 1);
+  }
+
+  /**
+   * Obtains an instance from a set of targets, columns and rules, resolving the targets in parallel using a cache.
+   * <p>
+   * This is the same as {@link #of(CalculationRules, List, List, ReferenceData, ResolvedTargetCache)},
+   * except that the targets are split into blocks which are resolved in parallel using the executor.
+   * The blocks are run using {@link OrderedTaskQueue}, thus this method may be invoked from a thread
+   * of the same executor. It is the caller's responsibility to manage the life-cycle of the executor.
+   * 
+   * @param rules  the rules defining how the calculation is performed
+   * @param targets  the targets for which values of the measures will be calculated
+   * @param columns  the columns that will be calculated
+   * @param refData  the reference data to use to resolve the targets
+   * @param cache  the cache of resolved targets
+   * @param executor  the executor used to resolve the targets
+   * @param parallelism  the maximum number of blocks of targets that are resolved at the same time
+   * @return the calculation tasks
+   */
+  public static CalculationTasks of(
+      CalculationRules rules,
+      List<? extends CalculationTarget> targets,
+      List<Column> columns,
+      ReferenceData refData,
+      ResolvedTargetCache cache,
+      Executor executor,
+      int parallelism) {
+
+    ArgChecker.notNull(cache, "cache");
+    ArgChecker.notNull(executor, "executor");
+    ArgChecker.notNegativeOrZero(parallelism, "parallelism");
+    return create(rules, targets, columns, refData, cache, executor, parallelism);
+  }
+
+  // creates the tasks, resolving the targets on the calling thread if the executor is null
+  private static CalculationTasks create(
+      CalculationRules rules,
+      List<? extends CalculationTarget> targets,
+      List<Column> columns,
+      ReferenceData refData,
+      ResolvedTargetCache cache,
+      Executor executor,
+      int parallelism) {
+
     // create columns that are a combination of the column overrides and the defaults
     // this is done once as it is the same for all targets
+    // the cache is added to the parameters so that it is available to the calculation functions
+    CalculationParameters parameters = cache == ResolvedTargetCache.none() ?
+        rules.getParameters() :
+        rules.getParameters().with(cache);
     List<Column> effectiveColumns =
         columns.stream()
-            .map(column -> column.combineWithDefaults(rules.getReportingCurrency(), rules.getParameters()))
+            .map(column -> column.combineWithDefaults(rules.getReportingCurrency(), parameters))
             .collect(toImmutableList());
 
     // loop around the targets, then the columns, to build the tasks
+    // the targets are independent, thus blocks of targets can be resolved in parallel
+    // the queue consumes the blocks in order, which retains the order of the targets
     ImmutableList.Builder<CalculationTask> taskBuilder = ImmutableList.builder();
-    for (int rowIndex = 0; rowIndex < targets.size(); rowIndex++) {
-      CalculationTarget target = resolveTarget(targets.get(rowIndex), refData);
-
-      // find the applicable function, resolving the target if necessary
-      CalculationFunction<?> fn = target instanceof UnresolvableTarget ?
-          UnresolvableTargetCalculationFunction.INSTANCE :
-          rules.getFunctions().getFunction(target);
-
-      // create the tasks
-      List<CalculationTask> targetTasks = createTargetTasks(target, rowIndex, fn, effectiveColumns);
-      taskBuilder.addAll(targetTasks);
+    OrderedTaskQueue<List<CalculationTask>> queue = executor == null ?
+        OrderedTaskQueue.serial(taskBuilder::addAll) :
+        OrderedTaskQueue.of(executor, parallelism, taskBuilder::addAll);
+    int blockSize = (targets.size() - 1) / (parallelism * BLOCKS_PER_THREAD) + 1;
+    for (int blockStart = 0; blockStart < targets.size(); blockStart += blockSize) {
+      int start = blockStart;
+      int end = Math.min(blockStart + blockSize, targets.size());
+      queue.submit(() -> {
+        List<CalculationTask> blockTasks = new ArrayList<>();
+        for (int rowIndex = start; rowIndex < end; rowIndex++) {
+          blockTasks.addAll(
+              createTargetTasks(rules, targets.get(rowIndex), rowIndex, refData, cache, effectiveColumns));
+        }
+        return blockTasks;
+      });
     }
+    queue.finish();
 
     // calculation tasks holds the original user-specified columns, not the derived ones
     return new CalculationTasks(taskBuilder.build(), columns);
   }
 
+  // resolves the target and creates the tasks for it
+  private static List<CalculationTask> createTargetTasks(
+      CalculationRules rules,
+      CalculationTarget target,
+      int rowIndex,
+      ReferenceData refData,
+      ResolvedTargetCache cache,
+      List<Column> columns) {
+
+    CalculationTarget resolvedTarget = resolveTarget(target, refData, cache);
+
+    // find the applicable function, resolving the target if necessary
+    CalculationFunction<?> fn = resolvedTarget instanceof UnresolvableTarget ?
+        UnresolvableTargetCalculationFunction.INSTANCE :
+        rules.getFunctions().getFunction(resolvedTarget);
+
+    // create the tasks
+    return createTargetTasks(resolvedTarget, rowIndex, fn, columns);
+  }
+
   // resolves the target
-  private static CalculationTarget resolveTarget(CalculationTarget target, ReferenceData refData) {
+  private static CalculationTarget resolveTarget(
+      CalculationTarget target,
+      ReferenceData refData,
+      ResolvedTargetCache cache) {
+
     if (target instanceof ResolvableCalculationTarget) {
       ResolvableCalculationTarget resolvable = (ResolvableCalculationTarget) target;
       try {
-        return resolvable.resolveTarget(refData);
+        return cache.resolve(resolvable, refData);
       } catch (RuntimeException ex) {
         return new UnresolvableTarget(resolvable, ex.getMessage());
       }
@@ -187,6 +306,20 @@ public final class CalculationTasks implements ImmutableBean {
     return new CalculationTasks(tasks, columns);
   }
 
+  /**
+   * Obtains an instance containing a subset of the tasks of another instance.
+   * <p>
+   * The targets and columns are those of the original instance, thus the tasks
+   * only calculate some of the cells in the grid of results.
+   *
+   * @param tasks  the calculation tasks
+   * @param subset  the tasks to retain, not empty
+   * @return the calculation tasks
+   */
+  static CalculationTasks ofSubset(CalculationTasks tasks, List<CalculationTask> subset) {
+    return new CalculationTasks(tasks.targets, tasks.columns, subset);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Creates an instance.
@@ -0,0 +1,303 @@
+/*
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import java.io.Serializable;
+import java.lang.invoke.MethodHandles;
+
+import org.joda.beans.ImmutableBean;
+import org.joda.beans.JodaBeanUtils;
+import org.joda.beans.MetaBean;
+import org.joda.beans.TypedMetaBean;
+import org.joda.beans.gen.BeanDefinition;
+import org.joda.beans.gen.PropertyDefinition;
+import org.joda.beans.impl.light.LightMetaBean;
+
+import com.opengamma.strata.collect.ArgChecker;
+
+/**
+ * Statistics of the time taken by one part of a calculation run.
+ * <p>
+ * Instances are created by {@link CalculationMetrics}, with one instance for each category and name,
+ * such as the category 'Function' and the name of a calculation function.
+ * <p>
+ * The percentiles are approximate, being accurate to within 25%.
+ */
+@BeanDefinition(style = "light")
+public final class CalculationTimingStatistics
+    implements ImmutableBean, Serializable {
+
+  /**
+   * The category of the statistics, such as 'Function' or 'Measure'.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final String category;
+  /**
+   * The name of the statistics within the category, such as the name of the function or measure.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final String name;
+  /**
+   * The number of times recorded.
+   */
+  @PropertyDefinition(validate = "ArgChecker.notNegative")
+  private final long count;
+  /**
+   * The total of the times recorded, in nanoseconds.
+   */
+  @PropertyDefinition(validate = "ArgChecker.notNegative")
+  private final long totalNanos;
+  /**
+   * The approximate median time, in nanoseconds.
+   */
+  @PropertyDefinition(validate = "ArgChecker.notNegative")
+  private final long medianNanos;
+  /**
+   * The approximate 90th percentile time, in nanoseconds.
+   */
+  @PropertyDefinition(validate = "ArgChecker.notNegative")
+  private final long percentile90Nanos;
+  /**
+   * The approximate 99th percentile time, in nanoseconds.
+   */
+  @PropertyDefinition(validate = "ArgChecker.notNegative")
+  private final long percentile99Nanos;
+  /**
+   * The maximum time recorded, in nanoseconds.
+   */
+  @PropertyDefinition(validate = "ArgChecker.notNegative")
+  private final long maxNanos;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance.
+   *
+   * @param category  the category of the statistics
+   * @param name  the name of the statistics within the category
+   * @param count  the number of times recorded
+   * @param totalNanos  the total of the times recorded, in nanoseconds
+   * @param medianNanos  the approximate median time, in nanoseconds
+   * @param percentile90Nanos  the approximate 90th percentile time, in nanoseconds
+   * @param percentile99Nanos  the approximate 99th percentile time, in nanoseconds
+   * @param maxNanos  the maximum time recorded, in nanoseconds
+   * @return the statistics
+   */
+  public static CalculationTimingStatistics of(
+      String category,
+      String name,
+      long count,
+      long totalNanos,
+      long medianNanos,
+      long percentile90Nanos,
+      long percentile99Nanos,
+      long maxNanos) {
+
+    return new CalculationTimingStatistics(
+        category, name, count, totalNanos, medianNanos, percentile90Nanos, percentile99Nanos, maxNanos);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the mean time, in nanoseconds.
+   *
+   * @return the mean time, zero if no times have been recorded
+   */
+  public double getMeanNanos() {
+    return count == 0 ? 0d : (double) totalNanos / count;
+  }
+
+  //------------------------- AUTOGENERATED START -------------------------
+  /**
+   * The meta-bean for {@code CalculationTimingStatistics}.
+   */
+  private static final TypedMetaBean<CalculationTimingStatistics> META_BEAN =
+      LightMetaBean.of(
+          CalculationTimingStatistics.class,
+          MethodHandles.lookup(),
+          new String[] {
+              "category",
+              "name",
+              "count",
+              "totalNanos",
+              "medianNanos",
+              "percentile90Nanos",
+              "percentile99Nanos",
+              "maxNanos"},
+          new Object[0]);
+
+  /**
+   * The meta-bean for {@code CalculationTimingStatistics}.
+   * @return the meta-bean, not null
+   */
+  public static TypedMetaBean<CalculationTimingStatistics> meta() {
+    return META_BEAN;
+  }
+
+  static {
+    MetaBean.register(META_BEAN);
+  }
+
+  /**
+   * The serialization version id.
+   */
+  private static final long serialVersionUID = 1L;
+
+  private CalculationTimingStatistics(
+      String category,
+      String name,
+      long count,
+      long totalNanos,
+      long medianNanos,
+      long percentile90Nanos,
+      long percentile99Nanos,
+      long maxNanos) {
+    JodaBeanUtils.notNull(category, "category");
+    JodaBeanUtils.notNull(name, "name");
+    ArgChecker.notNegative(count, "count");
+    ArgChecker.notNegative(totalNanos, "totalNanos");
+    ArgChecker.notNegative(medianNanos, "medianNanos");
+    ArgChecker.notNegative(percentile90Nanos, "percentile90Nanos");
+    ArgChecker.notNegative(percentile99Nanos, "percentile99Nanos");
+    ArgChecker.notNegative(maxNanos, "maxNanos");
+    this.category = category;
+    this.name = name;
+    this.count = count;
+    this.totalNanos = totalNanos;
+    this.medianNanos = medianNanos;
+    this.percentile90Nanos = percentile90Nanos;
+    this.percentile99Nanos = percentile99Nanos;
+    this.maxNanos = maxNanos;
+  }
+
+  @Override
+  public TypedMetaBean<CalculationTimingStatistics> metaBean() {
+    return META_BEAN;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the category of the statistics, such as 'Function' or 'Measure'.
+   * @return the value of the property, not null
+   */
+  public String getCategory() {
+    return category;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the name of the statistics within the category, such as the name of the function or measure.
+   * @return the value of the property, not null
+   */
+  public String getName() {
+    return name;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the number of times recorded.
+   * @return the value of the property
+   */
+  public long getCount() {
+    return count;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the total of the times recorded, in nanoseconds.
+   * @return the value of the property
+   */
+  public long getTotalNanos() {
+    return totalNanos;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the approximate median time, in nanoseconds.
+   * @return the value of the property
+   */
+  public long getMedianNanos() {
+    return medianNanos;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the approximate 90th percentile time, in nanoseconds.
+   * @return the value of the property
+   */
+  public long getPercentile90Nanos() {
+    return percentile90Nanos;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the approximate 99th percentile time, in nanoseconds.
+   * @return the value of the property
+   */
+  public long getPercentile99Nanos() {
+    return percentile99Nanos;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the maximum time recorded, in nanoseconds.
+   * @return the value of the property
+   */
+  public long getMaxNanos() {
+    return maxNanos;
+  }
+
+  //-----------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj != null && obj.getClass() == this.getClass()) {
+      CalculationTimingStatistics other = (CalculationTimingStatistics) obj;
+      return JodaBeanUtils.equal(category, other.category) &&
+          JodaBeanUtils.equal(name, other.name) &&
+          (count == other.count) &&
+          (totalNanos == other.totalNanos) &&
+          (medianNanos == other.medianNanos) &&
+          (percentile90Nanos == other.percentile90Nanos) &&
+          (percentile99Nanos == other.percentile99Nanos) &&
+          (maxNanos == other.maxNanos);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = getClass().hashCode();
+    hash = hash * 31 + JodaBeanUtils.hashCode(category);
+    hash = hash * 31 + JodaBeanUtils.hashCode(name);
+    hash = hash * 31 + JodaBeanUtils.hashCode(count);
+    hash = hash * 31 + JodaBeanUtils.hashCode(totalNanos);
+    hash = hash * 31 + JodaBeanUtils.hashCode(medianNanos);
+    hash = hash * 31 + JodaBeanUtils.hashCode(percentile90Nanos);
+    hash = hash * 31 + JodaBeanUtils.hashCode(percentile99Nanos);
+    hash = hash * 31 + JodaBeanUtils.hashCode(maxNanos);
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder buf = new StringBuilder(288);
+    buf.append("CalculationTimingStatistics{");
+    buf.append("category").append('=').append(category).append(',').append(' ');
+    buf.append("name").append('=').append(name).append(',').append(' ');
+    buf.append("count").append('=').append(count).append(',').append(' ');
+    buf.append("totalNanos").append('=').append(totalNanos).append(',').append(' ');
+    buf.append("medianNanos").append('=').append(medianNanos).append(',').append(' ');
+    buf.append("percentile90Nanos").append('=').append(percentile90Nanos).append(',').append(' ');
+    buf.append("percentile99Nanos").append('=').append(percentile99Nanos).append(',').append(' ');
+    buf.append("maxNanos").append('=').append(JodaBeanUtils.toString(maxNanos));
+    buf.append('}');
+    return buf.toString();
+  }
+
+  //-------------------------- AUTOGENERATED END --------------------------
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright (C) 2019 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.calc.Column;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.io.CsvOutput;
+import com.opengamma.strata.collect.result.Result;
+
+/**
+ * Sink that writes rows of results in CSV format.
+ */
+final class CsvResultRowSink implements ResultRowSink {
+
+  /**
+   * The CSV output.
+   */
+  private final CsvOutput output;
+
+  /**
+   * Creates an instance.
+   *
+   * @param underlying  the destination of the CSV lines
+   */
+  CsvResultRowSink(Appendable underlying) {
+    this.output = CsvOutput.standard(ArgChecker.notNull(underlying, "underlying"));
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public void started(List<CalculationTarget> targets, List<Column> columns) {
+    List<String> headers = new ArrayList<>(columns.size() + 1);
+    headers.add("Row");
+    for (Column column : columns) {
+      headers.add(column.getName().getName());
+    }
+    output.writeLine(headers);
+  }
+
+  @Override
+  public void rowsReceived(List<ResultRow> rows) {
+    for (ResultRow row : rows) {
+      List<String> line = new ArrayList<>(row.getResults().size() + 1);
+      line.add(Integer.toString(row.getRowIndex()));
+      for (Result<?> result : row.getResults()) {
+        line.add(result.isSuccess() ? String.valueOf(result.getValue()) : "");
+      }
+      output.writeLine(line);
+    }
+  }
+
+}
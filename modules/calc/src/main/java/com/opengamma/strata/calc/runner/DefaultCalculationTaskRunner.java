@@ -7,13 +7,23 @@ package com.opengamma.strata.calc.runner;
 
 import static com.opengamma.strata.collect.Guavate.toImmutableList;
 
+import java.util.Comparator;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinPool.ForkJoinWorkerThreadFactory;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.ThreadFactory;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import com.opengamma.strata.basics.CalculationTarget;
 import com.opengamma.strata.basics.ReferenceData;
@@ -21,6 +31,7 @@ import com.opengamma.strata.calc.Column;
 import com.opengamma.strata.calc.Results;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.result.FailureReason;
 import com.opengamma.strata.collect.result.Result;
 import com.opengamma.strata.data.MarketData;
 import com.opengamma.strata.data.scenario.ScenarioArray;
@@ -30,14 +41,37 @@ import com.opengamma.strata.data.scenario.ScenarioMarketData;
  * The default calculation task runner.
  * <p>
  * This uses a single instance of {@link ExecutorService}.
+ * <p>
+ * If a {@link CalculationTaskCostModel} is specified, the tasks are submitted to the executor
+ * in order of decreasing estimated cost, otherwise they are submitted in row order.
+ * If a {@link CalculationTaskObserver} is specified, it is notified of the timings of each task.
+ * If a maximum number of pending tasks is specified, task submission blocks while that many
+ * tasks have been submitted but their results not yet delivered to the listener.
  */
 final class DefaultCalculationTaskRunner implements CalculationTaskRunner {
 
+  /**
+   * The logger.
+   */
+  private static final Logger log = LoggerFactory.getLogger(DefaultCalculationTaskRunner.class);
+
   /**
    * Executes the tasks that perform the individual calculations.
    * This will typically be multi-threaded, but single or direct executors also work.
    */
   private final ExecutorService executor;
+  /**
+   * The model used to order the tasks, null if the tasks are submitted in row order.
+   */
+  private final CalculationTaskCostModel costModel;
+  /**
+   * The observer notified of the timings of each task, null if there is no observer.
+   */
+  private final CalculationTaskObserver observer;
+  /**
+   * The maximum number of tasks submitted whose results have not been delivered, zero if unbounded.
+   */
+  private final int maxPendingTasks;
 
   //-------------------------------------------------------------------------
   /**
@@ -54,7 +88,7 @@ final class DefaultCalculationTaskRunner implements CalculationTaskRunner {
    * @return the calculation task runner
    */
   static DefaultCalculationTaskRunner ofMultiThreaded() {
-    return new DefaultCalculationTaskRunner(createExecutor(Runtime.getRuntime().availableProcessors()));
+    return new DefaultCalculationTaskRunner(createExecutor(Runtime.getRuntime().availableProcessors()), null, null, 0);
   }
 
   /**
@@ -66,7 +100,37 @@ final class DefaultCalculationTaskRunner implements CalculationTaskRunner {
    * @return the calculation task runner
    */
   static DefaultCalculationTaskRunner of(ExecutorService executor) {
-    return new DefaultCalculationTaskRunner(executor);
+    return new DefaultCalculationTaskRunner(executor, null, null, 0);
+  }
+
+  /**
+   * Creates a work-stealing calculation task runner that starts the most expensive tasks first.
+   * <p>
+   * This factory creates a {@link ForkJoinPool} basing the number of threads on the number of available processors.
+   * The cost of each task is estimated from the timings of previous runs of this runner.
+   *
+   * @return the calculation task runner
+   */
+  static DefaultCalculationTaskRunner ofWorkStealing() {
+    return new DefaultCalculationTaskRunner(
+        createWorkStealingExecutor(Runtime.getRuntime().availableProcessors()),
+        CalculationTaskCostModel.ofHistorical(),
+        null,
+        0);
+  }
+
+  /**
+   * Creates a calculation task runner that starts the most expensive tasks first,
+   * specifying the executor and cost model.
+   * <p>
+   * It is the callers responsibility to manage the life-cycle of the executor.
+   *
+   * @param executor  the executor to use
+   * @param costModel  the model used to estimate the cost of each task
+   * @return the calculation task runner
+   */
+  static DefaultCalculationTaskRunner of(ExecutorService executor, CalculationTaskCostModel costModel) {
+    return new DefaultCalculationTaskRunner(executor, ArgChecker.notNull(costModel, "costModel"), null, 0);
   }
 
   // create an executor with daemon threads
@@ -82,14 +146,50 @@ final class DefaultCalculationTaskRunner implements CalculationTaskRunner {
     return Executors.newFixedThreadPool(effectiveThreads, threadFactory);
   }
 
+  // create a work-stealing executor with daemon threads, processing submitted tasks in FIFO order
+  private static ExecutorService createWorkStealingExecutor(int threads) {
+    int effectiveThreads = (threads <= 0 ? Runtime.getRuntime().availableProcessors() : threads);
+    ForkJoinWorkerThreadFactory threadFactory = pool -> {
+      ForkJoinWorkerThread t = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+      t.setName("CalculationTaskRunner-" + t.getName());
+      t.setDaemon(true);
+      return t;
+    };
+    return new ForkJoinPool(effectiveThreads, threadFactory, null, true);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Creates an instance specifying the executor to use.
    *
    * @param executor  the executor that is used to perform the calculations
+   * @param costModel  the model used to order the tasks, null to use row order
+   * @param observer  the observer notified of the timings of each task, null if there is no observer
+   * @param maxPendingTasks  the maximum number of tasks whose results have not been delivered, zero if unbounded
    */
-  private DefaultCalculationTaskRunner(ExecutorService executor) {
+  private DefaultCalculationTaskRunner(
+      ExecutorService executor,
+      CalculationTaskCostModel costModel,
+      CalculationTaskObserver observer,
+      int maxPendingTasks) {
+
     this.executor = ArgChecker.notNull(executor, "executor");
+    this.costModel = costModel;
+    this.observer = observer;
+    this.maxPendingTasks = maxPendingTasks;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public DefaultCalculationTaskRunner withObserver(CalculationTaskObserver observer) {
+    return new DefaultCalculationTaskRunner(
+        executor, costModel, ArgChecker.notNull(observer, "observer"), maxPendingTasks);
+  }
+
+  @Override
+  public DefaultCalculationTaskRunner withBackpressure(int maxPendingTasks) {
+    ArgChecker.notNegativeOrZero(maxPendingTasks, "maxPendingTasks");
+    return new DefaultCalculationTaskRunner(executor, costModel, observer, maxPendingTasks);
   }
 
   //-------------------------------------------------------------------------
@@ -174,14 +274,27 @@ final class DefaultCalculationTaskRunner implements CalculationTaskRunner {
       CalculationListener listener) {
 
     List<CalculationTask> taskList = tasks.getTasks();
+    // when there is backpressure, a permit is needed to submit a task
+    // the permit is released once the results of the task have been delivered to the listener
+    Semaphore permits = maxPendingTasks > 0 ? new Semaphore(maxPendingTasks) : null;
     // the listener is invoked via this wrapper
     // the wrapper ensures thread-safety for the listener
     // it also calls the listener with single CalculationResult cells, not CalculationResults
-    Consumer<CalculationResults> consumer =
-        new ListenerWrapper(listener, taskList.size(), tasks.getTargets(), tasks.getColumns());
+    Consumer<CalculationResults> consumer = new ListenerWrapper(
+        listener, taskList.size(), tasks.getTargets(), tasks.getColumns(), permits == null ? null : permits::release);
 
     // run each task using the executor
-    taskList.forEach(task -> runTask(task, marketData, refData, consumer));
+    List<CalculationTask> orderedTasks = costModel == null ? taskList : orderByCost(taskList, marketData.getScenarioCount());
+    for (CalculationTask task : orderedTasks) {
+      if (permits != null) {
+        permits.acquireUninterruptibly();
+      }
+      if (costModel == null && observer == null) {
+        runTask(task, marketData, refData, consumer);
+      } else {
+        runTimedTask(task, marketData, refData, consumer);
+      }
+    }
   }
 
   // submits a task to the executor to be run
@@ -194,7 +307,95 @@ final class DefaultCalculationTaskRunner implements CalculationTaskRunner {
     // the task is executed, with the result passed to the consumer
     // the consumer wraps the listener to ensure thread-safety
     Supplier<CalculationResults> taskExecutor = () -> task.execute(marketData, refData);
-    CompletableFuture.supplyAsync(taskExecutor, executor).thenAccept(consumer);
+    submit(task, taskExecutor, consumer);
+  }
+
+  // submits a task to the executor to be run, recording the elapsed time in the cost model and observer
+  private void runTimedTask(
+      CalculationTask task,
+      ScenarioMarketData marketData,
+      ReferenceData refData,
+      Consumer<CalculationResults> consumer) {
+
+    int scenarioCount = marketData.getScenarioCount();
+    long submitted = System.nanoTime();
+    Supplier<CalculationResults> taskExecutor = () -> {
+      long start = System.nanoTime();
+      if (observer == null) {
+        CalculationResults results = task.execute(marketData, refData);
+        costModel.recordExecution(task, scenarioCount, System.nanoTime() - start);
+        return results;
+      }
+      // the market data is wrapped to record the time spent looking up market data
+      TimedScenarioMarketData timedMarketData = new TimedScenarioMarketData(marketData);
+      CalculationResults results = task.execute(timedMarketData, refData);
+      long elapsed = System.nanoTime() - start;
+      if (costModel != null) {
+        costModel.recordExecution(task, scenarioCount, elapsed);
+      }
+      notifyObserver(task, scenarioCount, start - submitted, elapsed, timedMarketData.getElapsedNanos());
+      return results;
+    };
+    submit(task, taskExecutor, consumer);
+  }
+
+  // submits the task executor to the executor, passing the results to the consumer
+  // an exception thrown outside the function, such as by the cost model, is passed to the consumer as failures
+  // thus the listener always receives the results of the task and any backpressure permit is released
+  private void submit(
+      CalculationTask task,
+      Supplier<CalculationResults> taskExecutor,
+      Consumer<CalculationResults> consumer) {
+
+    CompletableFuture.supplyAsync(taskExecutor, executor)
+        .whenComplete((results, ex) -> consumer.accept(ex == null ? results : failureResults(task, ex)));
+  }
+
+  // creates the results of a task that failed unexpectedly, with a failure for each cell
+  private static CalculationResults failureResults(CalculationTask task, Throwable throwable) {
+    Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null ?
+        throwable.getCause() :
+        throwable;
+    Exception ex = cause instanceof Exception ? (Exception) cause : new RuntimeException(cause);
+    Result<?> failure = Result.failure(
+        FailureReason.ERROR,
+        ex,
+        "Error when running calculation task for target '{}': {}",
+        task.getTarget(),
+        cause.getMessage());
+    List<CalculationResult> cells = task.getCells().stream()
+        .map(cell -> CalculationResult.of(cell.getRowIndex(), cell.getColumnIndex(), failure))
+        .collect(toImmutableList());
+    return CalculationResults.of(task.getTarget(), cells);
+  }
+
+  // notifies the observer, ensuring that an exception in the observer does not affect the results
+  private void notifyObserver(
+      CalculationTask task,
+      int scenarioCount,
+      long queueNanos,
+      long executionNanos,
+      long marketDataNanos) {
+
+    try {
+      observer.taskExecuted(task, scenarioCount, queueNanos, executionNanos, marketDataNanos);
+    } catch (RuntimeException ex) {
+      log.warn("Exception invoking observer.taskExecuted", ex);
+    }
+  }
+
+  // orders the tasks by decreasing estimated cost, retaining row order for tasks of equal cost
+  private List<CalculationTask> orderByCost(List<CalculationTask> tasks, int scenarioCount) {
+    double[] costs = new double[tasks.size()];
+    for (int i = 0; i < costs.length; i++) {
+      costs[i] = costModel.estimateCost(tasks.get(i), scenarioCount);
+    }
+    Comparator<Integer> byCost = (a, b) -> Double.compare(costs[b], costs[a]);
+    return IntStream.range(0, costs.length)
+        .boxed()
+        .sorted(byCost)
+        .map(tasks::get)
+        .collect(toImmutableList());
   }
 
   //-------------------------------------------------------------------------
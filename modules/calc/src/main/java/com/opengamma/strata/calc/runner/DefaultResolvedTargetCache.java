@@ -0,0 +1,139 @@
+/*
+ * Copyright (C) 2019 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import java.util.Objects;
+import java.util.function.Function;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
+
+/**
+ * The default cache of resolved calculation targets, based on a Guava cache.
+ */
+final class DefaultResolvedTargetCache implements ResolvedTargetCache {
+
+  /**
+   * The instance that does not cache.
+   */
+  static final DefaultResolvedTargetCache NONE = new DefaultResolvedTargetCache(null, 0);
+
+  /**
+   * The underlying cache, null if not caching.
+   */
+  private final Cache<Key, Object> cache;
+  /**
+   * The maximum number of resolved targets retained.
+   */
+  private final int maximumSize;
+
+  /**
+   * Obtains an instance that retains up to the specified number of resolved targets.
+   *
+   * @param maximumSize  the maximum number of resolved targets retained
+   * @return the cache
+   */
+  static DefaultResolvedTargetCache of(int maximumSize) {
+    ArgChecker.notNegativeOrZero(maximumSize, "maximumSize");
+    Cache<Key, Object> cache = CacheBuilder.newBuilder().maximumSize(maximumSize).build();
+    return new DefaultResolvedTargetCache(cache, maximumSize);
+  }
+
+  // restricted constructor
+  private DefaultResolvedTargetCache(Cache<Key, Object> cache, int maximumSize) {
+    this.cache = cache;
+    this.maximumSize = maximumSize;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public <T> T resolve(
+      CalculationTarget target,
+      ReferenceData refData,
+      Class<T> resolvedType,
+      Function<ReferenceData, ? extends T> resolver) {
+
+    if (cache == null) {
+      return resolver.apply(refData);
+    }
+    Key key = new Key(target, refData, resolvedType);
+    Object cached = cache.getIfPresent(key);
+    if (cached != null) {
+      return resolvedType.cast(cached);
+    }
+    // resolve outside the cache so that failures propagate unwrapped and are not cached
+    T resolved = resolver.apply(refData);
+    cache.put(key, resolved);
+    return resolved;
+  }
+
+  @Override
+  public void invalidateAll() {
+    if (cache != null) {
+      cache.invalidateAll();
+    }
+  }
+
+  /**
+   * Gets the approximate number of resolved targets in the cache.
+   *
+   * @return the number of resolved targets
+   */
+  long size() {
+    return cache == null ? 0 : cache.size();
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return cache == null ?
+        "ResolvedTargetCache[none]" :
+        Messages.format("ResolvedTargetCache[size={}, maximumSize={}]", cache.size(), maximumSize);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The cache key, comparing the target by equality, the reference data by identity and the resolved type.
+   */
+  private static final class Key {
+
+    private final CalculationTarget target;
+    private final ReferenceData refData;
+    private final Class<?> resolvedType;
+    private final int hashCode;
+
+    private Key(CalculationTarget target, ReferenceData refData, Class<?> resolvedType) {
+      this.target = target;
+      this.refData = refData;
+      this.resolvedType = resolvedType;
+      this.hashCode = 31 * (31 * target.hashCode() + System.identityHashCode(refData)) + resolvedType.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (obj == this) {
+        return true;
+      }
+      if (obj instanceof Key) {
+        Key other = (Key) obj;
+        return refData == other.refData &&
+            resolvedType == other.resolvedType &&
+            Objects.equals(target, other.target);
+      }
+      return false;
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.opengamma.strata.calc.Measure;
+import com.opengamma.strata.collect.ArgChecker;
+
+/**
+ * Cost model based on the timings of previous executions.
+ * <p>
+ * Timings are grouped by function type, target type and the set of measures,
+ * and are combined using an exponentially weighted moving average per scenario.
+ */
+final class HistoricalCalculationTaskCostModel implements CalculationTaskCostModel {
+
+  /**
+   * The weight applied to the most recent timing.
+   */
+  private static final double WEIGHT = 0.25;
+
+  /**
+   * The average cost per scenario, keyed by the group.
+   */
+  private final ConcurrentHashMap<CostKey, Double> costPerScenario = new ConcurrentHashMap<>();
+  /**
+   * The largest average cost per scenario, used for tasks that have not been seen before.
+   */
+  private volatile double maxCostPerScenario = 1d;
+
+  //-------------------------------------------------------------------------
+  @Override
+  public double estimateCost(CalculationTask task, int scenarioCount) {
+    Double cost = costPerScenario.get(CostKey.of(task));
+    double perScenario = cost != null ? cost : maxCostPerScenario;
+    return perScenario * Math.max(scenarioCount, 1);
+  }
+
+  @Override
+  public void recordExecution(CalculationTask task, int scenarioCount, long elapsedNanos) {
+    ArgChecker.notNegative(elapsedNanos, "elapsedNanos");
+    double perScenario = (double) elapsedNanos / Math.max(scenarioCount, 1);
+    Double updated = costPerScenario.merge(
+        CostKey.of(task), perScenario, (previous, latest) -> previous + WEIGHT * (latest - previous));
+    if (updated > maxCostPerScenario) {
+      synchronized (this) {
+        maxCostPerScenario = Math.max(maxCostPerScenario, updated);
+      }
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "HistoricalCalculationTaskCostModel[groups=" + costPerScenario.size() + "]";
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The key used to group tasks with similar costs.
+   */
+  private static final class CostKey {
+
+    private final Class<?> functionType;
+    private final Class<?> targetType;
+    private final Set<Measure> measures;
+
+    private static CostKey of(CalculationTask task) {
+      return new CostKey(task.getFunction().getClass(), task.getTarget().getClass(), task.getMeasures());
+    }
+
+    private CostKey(Class<?> functionType, Class<?> targetType, Set<Measure> measures) {
+      this.functionType = functionType;
+      this.targetType = targetType;
+      this.measures = measures;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (obj == this) {
+        return true;
+      }
+      if (obj instanceof CostKey) {
+        CostKey other = (CostKey) obj;
+        return functionType.equals(other.functionType) &&
+            targetType.equals(other.targetType) &&
+            measures.equals(other.measures);
+      }
+      return false;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(functionType, targetType, measures);
+    }
+  }
+
+}
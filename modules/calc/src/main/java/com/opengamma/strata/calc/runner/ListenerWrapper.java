@@ -49,6 +49,9 @@ final class ListenerWrapper implements Consumer<CalculationResults> {
   /** The total number of tasks to be executed. */
   private final int tasksExpected;
 
+  /** The action invoked after the results of each task have been delivered, null if none. */
+  private final Runnable deliveredAction;
+
   // Mutable state -----------------------------------------------------
 
   /**
@@ -70,8 +73,31 @@ final class ListenerWrapper implements Consumer<CalculationResults> {
    * @param columns  the columns for which values are being calculated
    */
   ListenerWrapper(CalculationListener listener, int tasksExpected, List<CalculationTarget> targets, List<Column> columns) {
+    this(listener, tasksExpected, targets, columns, null);
+  }
+
+  /**
+   * Creates an instance wrapping the specified listener, with an action invoked as results are delivered.
+   * <p>
+   * The action is invoked after the results of each task have been passed to the listener.
+   * It is used to release the capacity to submit another task.
+   *
+   * @param listener  the underlying listener wrapped by this object
+   * @param tasksExpected  the number of tasks to be executed
+   * @param targets  the targets for which values are being calculated
+   * @param columns  the columns for which values are being calculated
+   * @param deliveredAction  the action invoked after the results of each task are delivered, null if none
+   */
+  ListenerWrapper(
+      CalculationListener listener,
+      int tasksExpected,
+      List<CalculationTarget> targets,
+      List<Column> columns,
+      Runnable deliveredAction) {
+
     this.listener = ArgChecker.notNull(listener, "listener");
     this.tasksExpected = ArgChecker.notNegative(tasksExpected, "tasksExpected");
+    this.deliveredAction = deliveredAction;
 
     listenerLock.lock();
     try {
@@ -148,6 +174,9 @@ final class ListenerWrapper implements Consumer<CalculationResults> {
       } finally {
         listenerLock.unlock();
       }
+      if (deliveredAction != null) {
+        deliveredAction.run();
+      }
 
       // The following code must be executed whilst holding the lock to guarantee any changes
       // to the executing flag and to the state of the queue are visible to all threads
@@ -0,0 +1,128 @@
+/*
+ * Copyright (C) 2019 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import java.util.List;
+import java.util.function.Function;
+
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.ResolvableCalculationTarget;
+import com.opengamma.strata.calc.CalculationRules;
+import com.opengamma.strata.calc.Column;
+
+/**
+ * Cache of resolved calculation targets.
+ * <p>
+ * When {@link CalculationTasks} are created, each target that implements {@link ResolvableCalculationTarget}
+ * is resolved against the reference data. Where the same targets are calculated repeatedly,
+ * such as in intraday runs, a cache allows the resolved form to be reused instead of being
+ * resolved again each time the tasks are created.
+ * See {@link CalculationTasks#of(CalculationRules, List, List, ReferenceData, ResolvedTargetCache)}.
+ * <p>
+ * The cache is also a {@link CalculationParameter}, which is added to the parameters of each task.
+ * This allows a calculation function to cache the resolved form of a target that is not a
+ * {@code ResolvableCalculationTarget}, such as a swap trade, using {@link #from(CalculationParameters)}
+ * and {@link #resolve(CalculationTarget, ReferenceData, Class, Function)}.
+ * The cache may also be specified in the parameters of the {@link CalculationRules}.
+ * <p>
+ * Implementations of this interface must be thread-safe, as targets are resolved in parallel.
+ */
+public interface ResolvedTargetCache extends CalculationParameter {
+
+  /**
+   * Obtains a cache that does not cache, resolving the target every time.
+   *
+   * @return the cache that does not cache
+   */
+  public static ResolvedTargetCache none() {
+    return DefaultResolvedTargetCache.NONE;
+  }
+
+  /**
+   * Obtains a cache that retains up to the specified number of resolved targets.
+   * <p>
+   * The cache is keyed on the target and the reference data.
+   * Targets are compared using {@code equals}, thus a trade that has been amended is a different key.
+   * The reference data is compared by identity, thus the same instance must be used on each
+   * run to benefit from the cache. When the reference data changes, the entries resolved
+   * using the old reference data are no longer found and are evicted as the cache fills.
+   * <p>
+   * Targets that fail to resolve are not cached.
+   *
+   * @param maximumSize  the maximum number of resolved targets retained
+   * @return the cache
+   */
+  public static ResolvedTargetCache of(int maximumSize) {
+    return DefaultResolvedTargetCache.of(maximumSize);
+  }
+
+  /**
+   * Obtains the cache from the calculation parameters.
+   * <p>
+   * This is intended for use by calculation functions, which receive the parameters of the task.
+   * If the parameters do not contain a cache, the cache that does not cache is returned.
+   *
+   * @param parameters  the calculation parameters
+   * @return the cache, or the cache that does not cache if there is no cache in the parameters
+   */
+  public static ResolvedTargetCache from(CalculationParameters parameters) {
+    return parameters.findParameter(ResolvedTargetCache.class).orElse(none());
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Resolves the target, returning the cached resolved form if available.
+   * <p>
+   * If the target is not in the cache, it is resolved using
+   * {@link ResolvableCalculationTarget#resolveTarget(ReferenceData)}.
+   *
+   * @param target  the target to resolve
+   * @param refData  the reference data to use to resolve the target
+   * @return the resolved target
+   * @throws RuntimeException if unable to resolve the target
+   */
+  public default CalculationTarget resolve(ResolvableCalculationTarget target, ReferenceData refData) {
+    return resolve(target, refData, CalculationTarget.class, target::resolveTarget);
+  }
+
+  /**
+   * Resolves the target using the specified resolver, returning the cached resolved form if available.
+   * <p>
+   * This is used by calculation functions to cache the resolved form of a target, such as the
+   * {@code ResolvedSwapTrade} of a {@code SwapTrade}, across runs with the same reference data.
+   * The resolved type forms part of the key, thus a target may be cached in more than one resolved form.
+   *
+   * @param <T>  the type of the resolved target
+   * @param target  the target to resolve
+   * @param refData  the reference data to use to resolve the target
+   * @param resolvedType  the type of the resolved target
+   * @param resolver  the function that resolves the target if it is not in the cache
+   * @return the resolved target
+   * @throws RuntimeException if unable to resolve the target
+   */
+  public abstract <T> T resolve(
+      CalculationTarget target,
+      ReferenceData refData,
+      Class<T> resolvedType,
+      Function<ReferenceData, ? extends T> resolver);
+
+  /**
+   * Removes all the resolved targets from the cache.
+   */
+  public abstract void invalidateAll();
+
+  /**
+   * Gets the type that the parameter will be queried by, which is {@code ResolvedTargetCache}.
+   *
+   * @return the query type
+   */
+  @Override
+  public default Class<? extends CalculationParameter> queryType() {
+    return ResolvedTargetCache.class;
+  }
+
+}
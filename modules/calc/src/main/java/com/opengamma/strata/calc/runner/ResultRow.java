@@ -0,0 +1,185 @@
+/*
+ * Copyright (C) 2019 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import java.lang.invoke.MethodHandles;
+import java.util.List;
+
+import org.joda.beans.ImmutableBean;
+import org.joda.beans.JodaBeanUtils;
+import org.joda.beans.MetaBean;
+import org.joda.beans.TypedMetaBean;
+import org.joda.beans.gen.BeanDefinition;
+import org.joda.beans.gen.PropertyDefinition;
+import org.joda.beans.impl.light.LightMetaBean;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.collect.result.Result;
+
+/**
+ * The results of the calculations for a single target, forming one row in the results grid.
+ * <p>
+ * This is passed to a {@link ResultRowSink} when streaming results using {@link StreamingResultsListener}.
+ */
+@BeanDefinition(style = "light")
+public final class ResultRow implements ImmutableBean {
+
+  /**
+   * The row index in the results grid.
+   */
+  @PropertyDefinition
+  private final int rowIndex;
+  /**
+   * The target of the calculations, such as a trade.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final CalculationTarget target;
+  /**
+   * The results, one for each column in the results grid.
+   * <p>
+   * The result may be a single value or a multi-scenario value.
+   * If the calculation did not complete successfully, the result is a failure.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final ImmutableList<Result<?>> results;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance.
+   *
+   * @param rowIndex  the row index in the results grid
+   * @param target  the target of the calculations
+   * @param results  the results, one for each column in the results grid
+   * @return the row
+   */
+  public static ResultRow of(int rowIndex, CalculationTarget target, List<? extends Result<?>> results) {
+    return new ResultRow(rowIndex, target, ImmutableList.copyOf(results));
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the result for the specified column index.
+   *
+   * @param columnIndex  the column index
+   * @return the result
+   * @throws IndexOutOfBoundsException if the index is invalid
+   */
+  public Result<?> getResult(int columnIndex) {
+    return results.get(columnIndex);
+  }
+
+  //------------------------- AUTOGENERATED START -------------------------
+  /**
+   * The meta-bean for {@code ResultRow}.
+   */
+  private static final TypedMetaBean<ResultRow> META_BEAN =
+      LightMetaBean.of(
+          ResultRow.class,
+          MethodHandles.lookup(),
+          new String[] {
+              "rowIndex",
+              "target",
+              "results"},
+          0,
+          null,
+          ImmutableList.of());
+
+  /**
+   * The meta-bean for {@code ResultRow}.
+   * @return the meta-bean, not null
+   */
+  public static TypedMetaBean<ResultRow> meta() {
+    return META_BEAN;
+  }
+
+  static {
+    MetaBean.register(META_BEAN);
+  }
+
+  private ResultRow(
+      int rowIndex,
+      CalculationTarget target,
+      List<Result<?>> results) {
+    JodaBeanUtils.notNull(target, "target");
+    JodaBeanUtils.notNull(results, "results");
+    this.rowIndex = rowIndex;
+    this.target = target;
+    this.results = ImmutableList.copyOf(results);
+  }
+
+  @Override
+  public TypedMetaBean<ResultRow> metaBean() {
+    return META_BEAN;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the row index in the results grid.
+   * @return the value of the property
+   */
+  public int getRowIndex() {
+    return rowIndex;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the target of the calculations, such as a trade.
+   * @return the value of the property, not null
+   */
+  public CalculationTarget getTarget() {
+    return target;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the results, one for each column in the results grid.
+   * <p>
+   * The result may be a single value or a multi-scenario value.
+   * If the calculation did not complete successfully, the result is a failure.
+   * @return the value of the property, not null
+   */
+  public ImmutableList<Result<?>> getResults() {
+    return results;
+  }
+
+  //-----------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj != null && obj.getClass() == this.getClass()) {
+      ResultRow other = (ResultRow) obj;
+      return (rowIndex == other.rowIndex) &&
+          JodaBeanUtils.equal(target, other.target) &&
+          JodaBeanUtils.equal(results, other.results);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = getClass().hashCode();
+    hash = hash * 31 + JodaBeanUtils.hashCode(rowIndex);
+    hash = hash * 31 + JodaBeanUtils.hashCode(target);
+    hash = hash * 31 + JodaBeanUtils.hashCode(results);
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder buf = new StringBuilder(128);
+    buf.append("ResultRow{");
+    buf.append("rowIndex").append('=').append(rowIndex).append(',').append(' ');
+    buf.append("target").append('=').append(target).append(',').append(' ');
+    buf.append("results").append('=').append(JodaBeanUtils.toString(results));
+    buf.append('}');
+    return buf.toString();
+  }
+
+  //-------------------------- AUTOGENERATED END --------------------------
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (C) 2019 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import java.util.List;
+
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.calc.Column;
+
+/**
+ * Destination for rows of results that are streamed as the calculations complete.
+ * <p>
+ * The sink is invoked by {@link StreamingResultsListener}, receiving the rows of the results grid
+ * in batches as soon as every cell in each row has been calculated.
+ * The rows are received in the order in which they complete, which is not necessarily row order.
+ * Each row contains its row index in the grid.
+ * <p>
+ * As with {@link CalculationListener}, the sink is only invoked by a single thread at any time
+ * and the calling code ensures changes in the sink state are visible to every thread.
+ * Therefore implementations are not required to be thread-safe.
+ */
+@FunctionalInterface
+public interface ResultRowSink {
+
+  /**
+   * Obtains a sink that writes the rows in CSV format.
+   * <p>
+   * The first line contains the headers, 'Row' followed by the name of each column.
+   * Each subsequent line contains the row index followed by the value of each column.
+   * Values are written using {@code toString()} and failures are written as an empty cell.
+   * For control over the formatting of values, implement this interface directly.
+   * <p>
+   * It is the callers responsibility to flush and close the underlying appendable.
+   *
+   * @param underlying  the destination of the CSV lines
+   * @return the sink
+   */
+  public static ResultRowSink ofCsv(Appendable underlying) {
+    return new CsvResultRowSink(underlying);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Invoked when the calculations start, before any rows are received.
+   *
+   * @param targets  the targets for which values are being calculated, one for each row
+   * @param columns  the columns for which values are being calculated
+   */
+  public default void started(List<CalculationTarget> targets, List<Column> columns) {
+    // default implementation does nothing
+  }
+
+  /**
+   * Invoked when a batch of rows has been calculated.
+   * <p>
+   * The rows must not be retained beyond the scope of the sink if memory is to remain bounded.
+   *
+   * @param rows  the completed rows
+   */
+  public abstract void rowsReceived(List<ResultRow> rows);
+
+  /**
+   * Invoked when all the rows have been received.
+   */
+  public default void completed() {
+    // default implementation does nothing
+  }
+
+}
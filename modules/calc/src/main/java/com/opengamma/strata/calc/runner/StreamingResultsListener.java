@@ -0,0 +1,149 @@
+/*
+ * Copyright (C) 2019 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.calc.Column;
+import com.opengamma.strata.calc.Results;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.result.Result;
+
+/**
+ * Calculation listener that streams rows of results to a sink in batches as each row completes.
+ * <p>
+ * Unlike {@link ResultsListener}, this listener does not build a set of {@link Results} for the whole grid.
+ * Instead, once every cell in a row has been calculated, the row is added to the current batch.
+ * When the batch is full it is passed to the {@link ResultRowSink} and discarded.
+ * Only the incomplete rows and the current batch are held in memory.
+ * <p>
+ * To bound memory when the sink is slower than the calculations, use a runner with backpressure,
+ * see {@link CalculationTaskRunner#withBackpressure(int)}.
+ * <p>
+ * The aggregate result is the number of rows passed to the sink.
+ * If the sink throws an exception, no further rows are passed to it and the aggregate result
+ * completes with the exception.
+ */
+public final class StreamingResultsListener extends AggregatingCalculationListener<Integer> {
+
+  /** The sink that receives the rows. */
+  private final ResultRowSink sink;
+  /** The number of rows passed to the sink at a time. */
+  private final int batchSize;
+  /** The rows that have been partly received, keyed by row index. */
+  private final Map<Integer, PendingRow> pendingRows = new HashMap<>();
+
+  /** The targets, one for each row. */
+  private List<CalculationTarget> targets;
+  /** The number of columns. */
+  private int columnCount;
+  /** The current batch of completed rows. */
+  private List<ResultRow> batch;
+  /** The number of rows passed to the sink. */
+  private int rowCount;
+  /** The exception thrown by the sink, null if none. */
+  private RuntimeException failure;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates an instance.
+   *
+   * @param sink  the sink that receives the rows
+   * @param batchSize  the number of rows passed to the sink at a time
+   */
+  public StreamingResultsListener(ResultRowSink sink, int batchSize) {
+    this.sink = ArgChecker.notNull(sink, "sink");
+    this.batchSize = ArgChecker.notNegativeOrZero(batchSize, "batchSize");
+    this.batch = new ArrayList<>(batchSize);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public void calculationsStarted(List<CalculationTarget> targets, List<Column> columns) {
+    this.targets = ImmutableList.copyOf(targets);
+    this.columnCount = columns.size();
+    try {
+      sink.started(this.targets, ImmutableList.copyOf(columns));
+    } catch (RuntimeException ex) {
+      failure = ex;
+    }
+  }
+
+  @Override
+  public void resultReceived(CalculationTarget target, CalculationResult result) {
+    int rowIndex = result.getRowIndex();
+    PendingRow row = pendingRows.computeIfAbsent(rowIndex, i -> new PendingRow(columnCount));
+    if (row.add(result.getColumnIndex(), result.getResult())) {
+      pendingRows.remove(rowIndex);
+      batch.add(ResultRow.of(rowIndex, targets.get(rowIndex), Arrays.asList(row.results)));
+      if (batch.size() == batchSize) {
+        flush();
+      }
+    }
+  }
+
+  @Override
+  protected Integer createAggregateResult() {
+    flush();
+    if (failure == null) {
+      try {
+        sink.completed();
+      } catch (RuntimeException ex) {
+        failure = ex;
+      }
+    }
+    if (failure != null) {
+      throw failure;
+    }
+    return rowCount;
+  }
+
+  // passes the current batch to the sink, unless the sink has failed
+  private void flush() {
+    if (batch.isEmpty()) {
+      return;
+    }
+    List<ResultRow> rows = batch;
+    batch = new ArrayList<>(batchSize);
+    if (failure == null) {
+      try {
+        sink.rowsReceived(rows);
+        rowCount += rows.size();
+      } catch (RuntimeException ex) {
+        failure = ex;
+      }
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * A row that has been partly received.
+   */
+  private static final class PendingRow {
+
+    private final Result<?>[] results;
+    private int remaining;
+
+    private PendingRow(int columnCount) {
+      this.results = new Result<?>[columnCount];
+      this.remaining = columnCount;
+    }
+
+    // adds a result, returning true if the row is complete
+    private boolean add(int columnIndex, Result<?> result) {
+      results[columnIndex] = result;
+      remaining--;
+      return remaining == 0;
+    }
+  }
+
+}
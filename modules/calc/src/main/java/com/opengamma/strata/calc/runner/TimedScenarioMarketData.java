@@ -0,0 +1,131 @@
+/*
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.Set;
+
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.data.MarketDataId;
+import com.opengamma.strata.data.MarketDataName;
+import com.opengamma.strata.data.ObservableId;
+import com.opengamma.strata.data.scenario.MarketDataBox;
+import com.opengamma.strata.data.scenario.ScenarioMarketData;
+
+/**
+ * Market data that records the time spent looking up values in the underlying market data.
+ * <p>
+ * An instance is created for each task execution, and is therefore only used by a single thread.
+ */
+final class TimedScenarioMarketData implements ScenarioMarketData {
+
+  /**
+   * The underlying market data.
+   */
+  private final ScenarioMarketData underlying;
+  /**
+   * The total time spent looking up market data, in nanoseconds.
+   */
+  private long elapsedNanos;
+
+  /**
+   * Creates an instance.
+   *
+   * @param underlying  the underlying market data
+   */
+  TimedScenarioMarketData(ScenarioMarketData underlying) {
+    this.underlying = underlying;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the total time spent looking up market data.
+   *
+   * @return the elapsed time in nanoseconds
+   */
+  long getElapsedNanos() {
+    return elapsedNanos;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public MarketDataBox<LocalDate> getValuationDate() {
+    return underlying.getValuationDate();
+  }
+
+  @Override
+  public int getScenarioCount() {
+    return underlying.getScenarioCount();
+  }
+
+  @Override
+  public boolean containsValue(MarketDataId<?> id) {
+    long start = System.nanoTime();
+    try {
+      return underlying.containsValue(id);
+    } finally {
+      elapsedNanos += System.nanoTime() - start;
+    }
+  }
+
+  @Override
+  public <T> MarketDataBox<T> getValue(MarketDataId<T> id) {
+    long start = System.nanoTime();
+    try {
+      return underlying.getValue(id);
+    } finally {
+      elapsedNanos += System.nanoTime() - start;
+    }
+  }
+
+  @Override
+  public <T> Optional<MarketDataBox<T>> findValue(MarketDataId<T> id) {
+    long start = System.nanoTime();
+    try {
+      return underlying.findValue(id);
+    } finally {
+      elapsedNanos += System.nanoTime() - start;
+    }
+  }
+
+  @Override
+  public Set<MarketDataId<?>> getIds() {
+    return underlying.getIds();
+  }
+
+  @Override
+  public <T> Set<MarketDataId<T>> findIds(MarketDataName<T> name) {
+    long start = System.nanoTime();
+    try {
+      return underlying.findIds(name);
+    } finally {
+      elapsedNanos += System.nanoTime() - start;
+    }
+  }
+
+  @Override
+  public Set<ObservableId> getTimeSeriesIds() {
+    return underlying.getTimeSeriesIds();
+  }
+
+  @Override
+  public LocalDateDoubleTimeSeries getTimeSeries(ObservableId id) {
+    long start = System.nanoTime();
+    try {
+      return underlying.getTimeSeries(id);
+    } finally {
+      elapsedNanos += System.nanoTime() - start;
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return underlying.toString();
+  }
+
+}
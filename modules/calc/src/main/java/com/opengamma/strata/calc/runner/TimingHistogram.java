@@ -0,0 +1,110 @@
+/*
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A thread-safe histogram of elapsed times.
+ * <p>
+ * Times are counted in logarithmic buckets, with each power of two split into four sub-buckets.
+ * Percentiles are therefore accurate to within 25%, while recording a time is cheap and lock-free.
+ */
+final class TimingHistogram {
+
+  /** The number of bits used to select the sub-bucket. */
+  private static final int SUB_BUCKET_BITS = 2;
+  /** The number of sub-buckets per power of two. */
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  /** The number of buckets, sufficient for any positive long. */
+  private static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+  /** The count in each bucket. */
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+  /** The total of the times recorded. */
+  private final LongAdder total = new LongAdder();
+  /** The maximum time recorded. */
+  private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+  //-------------------------------------------------------------------------
+  /**
+   * Records an elapsed time.
+   *
+   * @param nanos  the elapsed time in nanoseconds, negative treated as zero
+   */
+  void record(long nanos) {
+    long value = Math.max(nanos, 0);
+    counts.incrementAndGet(bucket(value));
+    total.add(value);
+    max.accumulate(value);
+  }
+
+  /**
+   * Creates the statistics of the recorded times.
+   *
+   * @param category  the category of the statistics
+   * @param name  the name of the statistics within the category
+   * @return the statistics
+   */
+  CalculationTimingStatistics statistics(String category, String name) {
+    long[] snapshot = new long[BUCKETS];
+    long count = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      snapshot[i] = counts.get(i);
+      count += snapshot[i];
+    }
+    long maxNanos = max.get();
+    return CalculationTimingStatistics.of(
+        category,
+        name,
+        count,
+        total.sum(),
+        percentile(snapshot, count, 0.5, maxNanos),
+        percentile(snapshot, count, 0.9, maxNanos),
+        percentile(snapshot, count, 0.99, maxNanos),
+        maxNanos);
+  }
+
+  //-------------------------------------------------------------------------
+  // finds the bucket of a value
+  static int bucket(long value) {
+    if (value < SUB_BUCKETS) {
+      return (int) value;
+    }
+    int exponent = 63 - Long.numberOfLeadingZeros(value);
+    int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+    return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+  }
+
+  // finds the largest value in a bucket
+  static long bucketUpperBound(int bucket) {
+    if (bucket < SUB_BUCKETS) {
+      return bucket;
+    }
+    int shift = bucket / SUB_BUCKETS - 1;
+    long lower = ((long) (SUB_BUCKETS + bucket % SUB_BUCKETS)) << shift;
+    return lower + (1L << shift) - 1;
+  }
+
+  // finds the value at a percentile, never exceeding the maximum recorded
+  private static long percentile(long[] counts, long count, double percentile, long maxNanos) {
+    if (count == 0) {
+      return 0;
+    }
+    long target = (long) Math.ceil(percentile * count);
+    long cumulative = 0;
+    for (int i = 0; i < counts.length; i++) {
+      cumulative += counts[i];
+      if (cumulative >= target) {
+        return Math.min(bucketUpperBound(i), maxNanos);
+      }
+    }
+    return maxNanos;
+  }
+
+}
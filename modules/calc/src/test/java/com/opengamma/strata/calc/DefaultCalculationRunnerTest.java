@@ -34,6 +34,12 @@ public class DefaultCalculationRunnerTest {
     }
   }
 
+  public void test_ofWorkStealing() {
+    try (CalculationRunner test = CalculationRunner.ofWorkStealing()) {
+      assertThat(test.getTaskRunner()).isNotNull();
+    }
+  }
+
   //-------------------------------------------------------------------------
   public void calculate() {
     ImmutableList<CalculationTarget> targets = ImmutableList.of(TARGET);
@@ -7,12 +7,18 @@ package com.opengamma.strata.calc.marketdata;
 
 import static com.opengamma.strata.collect.Guavate.toImmutableMap;
 import static com.opengamma.strata.collect.TestHelper.assertThrows;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
 import static com.opengamma.strata.collect.TestHelper.date;
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.testng.annotations.Test;
 
@@ -117,6 +123,43 @@ public class DefaultMarketDataFactoryTest {
     assertThat(marketData.getValue(idC)).isEqualTo(new TestMarketDataC(timeSeries));
   }
 
+  /**
+   * Tests the observer is informed when non-observable market data is built.
+   */
+  public void buildNonObservableValues_observer() {
+    ObservableId idA = new TestIdA("1");
+    MarketDataId<?> idC = new TestIdC("1");
+    LocalDateDoubleTimeSeries timeSeries = LocalDateDoubleTimeSeries.of(date(2012, 4, 8), 10);
+    MarketData suppliedData = ImmutableMarketData.builder(date(2011, 3, 8))
+        .addTimeSeries(idA, timeSeries)
+        .build();
+    MarketDataFactory baseFactory = MarketDataFactory.of(
+        ObservableDataProvider.none(),
+        new TestTimeSeriesProvider(ImmutableMap.of()),
+        new TestMarketDataFunctionC());
+    List<MarketDataId<?>> built = new ArrayList<>();
+    MarketDataFactory factory = baseFactory.withObserver((id, elapsedNanos) -> {
+      assertThat(elapsedNanos).isNotNegative();
+      built.add(id);
+    });
+
+    MarketDataRequirements requirements = MarketDataRequirements.builder()
+        .addValues(idC)
+        .build();
+    BuiltMarketData marketData = factory.create(requirements, MARKET_DATA_CONFIG, suppliedData, REF_DATA);
+    assertThat(marketData.getValue(idC)).isEqualTo(new TestMarketDataC(timeSeries));
+    assertThat(built).containsExactly(idC);
+
+    // an exception in the observer does not affect the market data
+    MarketDataFactory failingFactory = baseFactory.withObserver((id, elapsedNanos) -> {
+      throw new IllegalStateException("Expected");
+    });
+    BuiltMarketData failingMarketData =
+        failingFactory.create(requirements, MARKET_DATA_CONFIG, suppliedData, REF_DATA);
+    assertThat(failingMarketData.getValue(idC)).isEqualTo(new TestMarketDataC(timeSeries));
+    assertThrowsIllegalArg(() -> baseFactory.withObserver(null));
+  }
+
   /**
    * Tests building observable market data values.
    */
@@ -355,6 +398,240 @@ public class DefaultMarketDataFactoryTest {
     assertThat(marketData.getValue(new TestIdC("2"))).isEqualTo(expectedC2);
   }
 
+  /**
+   * Tests building market data as a dataflow on an executor produces the same data as building level by level.
+   */
+  public void buildDataflow() {
+    Map<TestIdA, LocalDateDoubleTimeSeries> timeSeriesMap = ImmutableMap.of(
+        new TestIdA("1"), LocalDateDoubleTimeSeries.of(date(2011, 3, 8), 1),
+        new TestIdA("2"), LocalDateDoubleTimeSeries.of(date(2011, 3, 8), 10),
+        new TestIdA("3"), LocalDateDoubleTimeSeries.of(date(2011, 3, 8), 100));
+    List<MarketDataFunction<?, ?>> functions = ImmutableList.of(
+        new TestMarketDataFunctionB(),
+        new TestMarketDataFunctionC(),
+        new NonObservableMarketDataFunction());
+
+    // B depends on C, which depends on a time series, and C1 is also required directly
+    NonObservableId idA = new NonObservableId("a");
+    NonObservableId idB = new NonObservableId("b");
+    MarketDataRequirements requirements = MarketDataRequirements.builder()
+        .addValues(new TestIdB("1"), new TestIdB("2"), new TestIdB("3"), new TestIdC("1"))
+        .addValues(idA, idB)
+        .build();
+    PerturbationMapping<String> mapping = PerturbationMapping.of(
+        new ExactIdFilter<>(idA),
+        new StringAppender("foo", "bar"));
+    ScenarioDefinition scenarioDefinition = ScenarioDefinition.ofMappings(ImmutableList.of(mapping));
+    BuiltScenarioMarketData suppliedData = BuiltScenarioMarketData.builder(date(2011, 3, 8)).build();
+
+    MarketDataFactory levelFactory = MarketDataFactory.of(
+        new TestObservableDataProvider(), new TestTimeSeriesProvider(timeSeriesMap), functions);
+    BuiltScenarioMarketData expected =
+        levelFactory.createMultiScenario(requirements, MARKET_DATA_CONFIG, suppliedData, REF_DATA, scenarioDefinition);
+
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      MarketDataFactory factory = MarketDataFactory.of(
+          new TestObservableDataProvider(), new TestTimeSeriesProvider(timeSeriesMap), executor, functions);
+      BuiltScenarioMarketData marketData =
+          factory.createMultiScenario(requirements, MARKET_DATA_CONFIG, suppliedData, REF_DATA, scenarioDefinition);
+
+      assertThat(marketData.getValueFailures()).isEmpty();
+      assertThat(marketData).isEqualTo(expected);
+      TestMarketDataC expectedC3 = new TestMarketDataC(timeSeriesMap.get(new TestIdA("3")));
+      assertThat(marketData.getValue(new TestIdB("3")))
+          .isEqualTo(MarketDataBox.ofSingleValue(new TestMarketDataB(3, expectedC3)));
+      assertThat(marketData.getValue(idA)).isEqualTo(MarketDataBox.ofScenarioValues("1.0foo", "1.0bar"));
+      assertThat(marketData.getValue(idB)).isEqualTo(MarketDataBox.ofSingleValue("2.0"));
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  /**
+   * Tests an exception is thrown when there is no builder for an ID type when building as a dataflow.
+   */
+  public void buildDataflow_noMarketDataBuilderAvailable() {
+    MarketDataRequirements requirements = MarketDataRequirements.builder()
+        .addValues(new TestIdB("1"), new TestIdB("2"))
+        .build();
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      MarketDataFactory factory = MarketDataFactory.of(
+          new TestObservableDataProvider(),
+          new TestTimeSeriesProvider(ImmutableMap.of()),
+          executor,
+          ImmutableList.of(new TestMarketDataFunctionB()));
+
+      BuiltScenarioMarketData suppliedData = BuiltScenarioMarketData.builder(date(2011, 3, 8)).build();
+      assertThrows(
+          () -> factory.createMultiScenario(
+              requirements, MARKET_DATA_CONFIG, suppliedData, REF_DATA, ScenarioDefinition.empty()),
+          IllegalStateException.class,
+          "No market data function available for market data ID of type.*");
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  /**
+   * Tests rebuilding market data only rebuilds the data affected by the changes.
+   */
+  public void updateMultiScenario() {
+    TestIdA idA1 = new TestIdA("1");
+    TestIdA idA2 = new TestIdA("2");
+    TestIdB idB1 = new TestIdB("1");
+    TestIdB idB2 = new TestIdB("2");
+    TestIdC idC1 = new TestIdC("1");
+    TestIdC idC2 = new TestIdC("2");
+    LocalDateDoubleTimeSeries timeSeries1 = LocalDateDoubleTimeSeries.of(date(2011, 3, 8), 1);
+    LocalDateDoubleTimeSeries timeSeries2 = LocalDateDoubleTimeSeries.of(date(2011, 3, 8), 10);
+    Map<TestIdA, LocalDateDoubleTimeSeries> timeSeriesMap = ImmutableMap.of(idA1, timeSeries1, idA2, timeSeries2);
+    List<MarketDataFunction<?, ?>> functions =
+        ImmutableList.of(new TestMarketDataFunctionB(), new TestMarketDataFunctionC());
+    MarketDataRequirements requirements = MarketDataRequirements.builder().addValues(idB1, idB2).build();
+    BuiltScenarioMarketData suppliedData = BuiltScenarioMarketData.builder(date(2011, 3, 8)).build();
+
+    MarketDataFactory factory =
+        MarketDataFactory.of(new TestObservableDataProvider(), new TestTimeSeriesProvider(timeSeriesMap), functions);
+    BuiltScenarioMarketData previous =
+        factory.createMultiScenario(requirements, MARKET_DATA_CONFIG, suppliedData, REF_DATA, ScenarioDefinition.empty());
+
+    // the observable value A1 ticks, which affects B1 but not C1 which is built from the time series
+    Set<ObservableId> requested = new HashSet<>();
+    ObservableDataProvider tickedProvider = ids -> {
+      requested.addAll(ids);
+      return ids.stream().collect(toImmutableMap(id -> id, id -> Result.success(id.equals(idA1) ? 5d : 2d)));
+    };
+    MarketDataFactory tickedFactory =
+        MarketDataFactory.of(tickedProvider, new TestTimeSeriesProvider(timeSeriesMap), functions);
+    BuiltScenarioMarketData marketData = tickedFactory.updateMultiScenario(
+        previous,
+        ImmutableSet.of(idA1),
+        ImmutableSet.of(),
+        requirements,
+        MARKET_DATA_CONFIG,
+        suppliedData,
+        REF_DATA,
+        ScenarioDefinition.empty());
+
+    assertThat(requested).containsOnly(idA1);
+    assertThat(marketData.getValue(idB1))
+        .isEqualTo(MarketDataBox.ofSingleValue(new TestMarketDataB(5, new TestMarketDataC(timeSeries1))));
+    assertThat(marketData.getValue(idC1)).isSameAs(previous.getValue(idC1));
+    assertThat(marketData.getValue(idB2)).isSameAs(previous.getValue(idB2));
+    assertThat(marketData.getValue(idC2)).isSameAs(previous.getValue(idC2));
+    assertThat(marketData).isEqualTo(
+        tickedFactory.createMultiScenario(requirements, MARKET_DATA_CONFIG, suppliedData, REF_DATA, ScenarioDefinition.empty()));
+
+    // a changed time series affects C2 and B2
+    LocalDateDoubleTimeSeries timeSeries3 = LocalDateDoubleTimeSeries.of(date(2011, 3, 8), 100);
+    MarketDataFactory timeSeriesFactory = MarketDataFactory.of(
+        tickedProvider,
+        new TestTimeSeriesProvider(ImmutableMap.of(idA1, timeSeries1, idA2, timeSeries3)),
+        functions);
+    requested.clear();
+    BuiltScenarioMarketData marketData2 = timeSeriesFactory.updateMultiScenario(
+        marketData,
+        ImmutableSet.of(),
+        ImmutableSet.of(idA2),
+        requirements,
+        MARKET_DATA_CONFIG,
+        suppliedData,
+        REF_DATA,
+        ScenarioDefinition.empty());
+
+    assertThat(requested).isEmpty();
+    assertThat(marketData2.getTimeSeries(idA2)).isEqualTo(timeSeries3);
+    assertThat(marketData2.getValue(idC2)).isEqualTo(MarketDataBox.ofSingleValue(new TestMarketDataC(timeSeries3)));
+    assertThat(marketData2.getValue(idB2))
+        .isEqualTo(MarketDataBox.ofSingleValue(new TestMarketDataB(2, new TestMarketDataC(timeSeries3))));
+    assertThat(marketData2.getValue(idB1)).isSameAs(marketData.getValue(idB1));
+    assertThat(marketData2.getValue(idC1)).isSameAs(marketData.getValue(idC1));
+  }
+
+  /**
+   * Tests rebuilding market data retries data that failed previously.
+   */
+  public void updateMultiScenario_previousFailures() {
+    NonObservableId id = new NonObservableId("a");
+    MarketDataRequirements requirements = MarketDataRequirements.builder().addValues(id).build();
+    BuiltScenarioMarketData suppliedData = BuiltScenarioMarketData.builder(date(2011, 3, 8)).build();
+    ObservableDataProvider failingProvider = ids -> ids.stream()
+        .collect(toImmutableMap(obsId -> obsId, obsId -> Result.failure(FailureReason.MISSING_DATA, "Not found")));
+    MarketDataFactory failingFactory = MarketDataFactory.of(
+        failingProvider, TimeSeriesProvider.none(), new NonObservableMarketDataFunction());
+    BuiltScenarioMarketData previous = failingFactory.createMultiScenario(
+        requirements, MARKET_DATA_CONFIG, suppliedData, REF_DATA, ScenarioDefinition.empty());
+    assertThat(previous.getValueFailures()).containsKey(id);
+
+    MarketDataFactory factory = MarketDataFactory.of(
+        new TestObservableDataProvider(), TimeSeriesProvider.none(), new NonObservableMarketDataFunction());
+    BuiltScenarioMarketData marketData = factory.updateMultiScenario(
+        previous,
+        ImmutableSet.of(),
+        ImmutableSet.of(),
+        requirements,
+        MARKET_DATA_CONFIG,
+        suppliedData,
+        REF_DATA,
+        ScenarioDefinition.empty());
+    assertThat(marketData.getValueFailures()).isEmpty();
+    assertThat(marketData.getValue(id)).isEqualTo(MarketDataBox.ofSingleValue("1.0"));
+  }
+
+  /**
+   * Tests rebuilding market data fails if the valuation date has changed.
+   */
+  public void updateMultiScenario_valuationDateMismatch() {
+    MarketDataFactory factory = MarketDataFactory.of(
+        new TestObservableDataProvider(), TimeSeriesProvider.none(), new NonObservableMarketDataFunction());
+    BuiltScenarioMarketData previous = BuiltScenarioMarketData.builder(date(2011, 3, 8)).build();
+    BuiltScenarioMarketData suppliedData = BuiltScenarioMarketData.builder(date(2011, 3, 9)).build();
+    assertThrowsIllegalArg(() -> factory.updateMultiScenario(
+        previous,
+        ImmutableSet.of(),
+        ImmutableSet.of(),
+        MarketDataRequirements.empty(),
+        MARKET_DATA_CONFIG,
+        suppliedData,
+        REF_DATA,
+        ScenarioDefinition.empty()));
+  }
+
+  /**
+   * Tests the default implementation of rebuilding market data builds all the data again.
+   */
+  public void updateMultiScenario_defaultImplementation() {
+    NonObservableId id = new NonObservableId("a");
+    MarketDataRequirements requirements = MarketDataRequirements.builder().addValues(id).build();
+    BuiltScenarioMarketData suppliedData = BuiltScenarioMarketData.builder(date(2011, 3, 8)).build();
+    MarketDataFactory delegate = MarketDataFactory.of(
+        new TestObservableDataProvider(), TimeSeriesProvider.none(), new NonObservableMarketDataFunction());
+    MarketDataFactory factory = new DelegatingMarketDataFactory(delegate);
+    BuiltScenarioMarketData previous = BuiltScenarioMarketData.builder(date(2011, 3, 8)).build();
+    BuiltScenarioMarketData marketData = factory.updateMultiScenario(
+        previous,
+        ImmutableSet.of(),
+        ImmutableSet.of(),
+        requirements,
+        MARKET_DATA_CONFIG,
+        suppliedData,
+        REF_DATA,
+        ScenarioDefinition.empty());
+    assertThat(marketData.getValue(id)).isEqualTo(MarketDataBox.ofSingleValue("1.0"));
+    BuiltScenarioMarketData otherDate = BuiltScenarioMarketData.builder(date(2011, 3, 9)).build();
+    assertThrowsIllegalArg(() -> factory.updateMultiScenario(
+        otherDate,
+        ImmutableSet.of(),
+        ImmutableSet.of(),
+        requirements,
+        MARKET_DATA_CONFIG,
+        suppliedData,
+        REF_DATA,
+        ScenarioDefinition.empty()));
+  }
+
   /**
    * Tests building multiple observable values for scenarios where the values aren't perturbed.
    */
@@ -1340,4 +1617,50 @@ public class DefaultMarketDataFactoryTest {
       return TestMarketDataC.class;
     }
   }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Market data factory that only implements the abstract methods, delegating to another factory.
+   */
+  private static final class DelegatingMarketDataFactory implements MarketDataFactory {
+
+    private final MarketDataFactory delegate;
+
+    private DelegatingMarketDataFactory(MarketDataFactory delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public BuiltMarketData create(
+        MarketDataRequirements requirements,
+        MarketDataConfig marketDataConfig,
+        MarketData suppliedData,
+        ReferenceData refData) {
+
+      return delegate.create(requirements, marketDataConfig, suppliedData, refData);
+    }
+
+    @Override
+    public BuiltScenarioMarketData createMultiScenario(
+        MarketDataRequirements requirements,
+        MarketDataConfig marketDataConfig,
+        MarketData suppliedData,
+        ReferenceData refData,
+        ScenarioDefinition scenarioDefinition) {
+
+      return delegate.createMultiScenario(requirements, marketDataConfig, suppliedData, refData, scenarioDefinition);
+    }
+
+    @Override
+    public BuiltScenarioMarketData createMultiScenario(
+        MarketDataRequirements requirements,
+        MarketDataConfig marketDataConfig,
+        ScenarioMarketData suppliedData,
+        ReferenceData refData,
+        ScenarioDefinition scenarioDefinition) {
+
+      return delegate.createMultiScenario(requirements, marketDataConfig, suppliedData, refData, scenarioDefinition);
+    }
+  }
+
 }
@@ -0,0 +1,62 @@
+/*
+ * Copyright (C) 2019 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.marketdata;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.testng.Assert.assertEquals;
+
+import java.io.File;
+import java.nio.file.Path;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeriesStore;
+
+/**
+ * Test {@link StoreTimeSeriesProvider}.
+ */
+@Test
+public class StoreTimeSeriesProviderTest {
+
+  private static final TestObservableId ID_1 = TestObservableId.of("1");
+  private static final TestObservableId ID_2 = TestObservableId.of("2");
+  private static final LocalDateDoubleTimeSeries SERIES = LocalDateDoubleTimeSeries.builder()
+      .put(date(2015, 1, 5), 1.1d)
+      .put(date(2015, 1, 6), 1.2d)
+      .build();
+
+  //-------------------------------------------------------------------------
+  public void test_of() throws Exception {
+    TimeSeriesProvider test = TimeSeriesProvider.of(store());
+    Result<LocalDateDoubleTimeSeries> result = test.provideTimeSeries(ID_1);
+    assertEquals(result.isSuccess(), true);
+    assertEquals(result.getValue().toBuilder().build(), SERIES);
+    Result<LocalDateDoubleTimeSeries> missing = test.provideTimeSeries(ID_2);
+    assertEquals(missing.isFailure(), true);
+    assertEquals(missing.getFailure().getReason(), FailureReason.MISSING_DATA);
+  }
+
+  public void test_of_keyFunction() throws Exception {
+    TimeSeriesProvider test = TimeSeriesProvider.of(store(), id -> "test~" + id.getStandardId().getValue());
+    assertEquals(test.provideTimeSeries(ID_1).getValue().getLatestValue(), 1.2d);
+    assertThrowsIllegalArg(() -> TimeSeriesProvider.of(null));
+  }
+
+  //-------------------------------------------------------------------------
+  private static LocalDateDoubleTimeSeriesStore store() throws Exception {
+    File file = File.createTempFile("TimeSeriesStore", ".bin");
+    file.deleteOnExit();
+    Path path = file.toPath();
+    LocalDateDoubleTimeSeriesStore.write(path, ImmutableMap.of(ID_1.getStandardId().toString(), SERIES));
+    return LocalDateDoubleTimeSeriesStore.open(path);
+  }
+
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import static com.opengamma.strata.calc.ReportingCurrency.NATURAL;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.calc.TestingMeasures;
+import com.opengamma.strata.calc.marketdata.TestId;
+import com.opengamma.strata.calc.runner.CalculationTaskTest.TestFunction;
+import com.opengamma.strata.calc.runner.CalculationTaskTest.TestTarget;
+
+/**
+ * Test {@link CalculationMetrics}.
+ */
+@Test
+public class CalculationMetricsTest {
+
+  private static final CalculationTask TASK = CalculationTask.of(
+      new TestTarget(), new TestFunction(), CalculationTaskCell.of(0, 0, TestingMeasures.PRESENT_VALUE, NATURAL));
+
+  //-------------------------------------------------------------------------
+  public void test_empty() {
+    CalculationMetrics test = CalculationMetrics.create();
+    assertThat(test.statistics()).isEmpty();
+    assertThat(test.summaryTable()).contains("Category").contains("Max ms");
+  }
+
+  public void test_taskExecuted() {
+    CalculationMetrics test = CalculationMetrics.create();
+    test.taskExecuted(TASK, 1, 1_000_000, 2_000_000, 500_000);
+    test.taskExecuted(TASK, 1, 3_000_000, 4_000_000, 1_500_000);
+
+    assertThat(test.statistics()).extracting(CalculationTimingStatistics::getCategory).containsExactly(
+        CalculationMetrics.TASK,
+        CalculationMetrics.QUEUE_WAIT,
+        CalculationMetrics.FUNCTION,
+        CalculationMetrics.MEASURE,
+        CalculationMetrics.TARGET_TYPE,
+        CalculationMetrics.MARKET_DATA_LOOKUP);
+    CalculationTimingStatistics task = test.statistics(CalculationMetrics.TASK).get(0);
+    assertThat(task.getName()).isEqualTo("All");
+    assertThat(task.getCount()).isEqualTo(2);
+    assertThat(task.getTotalNanos()).isEqualTo(6_000_000);
+    assertThat(task.getMaxNanos()).isEqualTo(4_000_000);
+    assertThat(test.statistics(CalculationMetrics.QUEUE_WAIT).get(0).getTotalNanos()).isEqualTo(4_000_000);
+    assertThat(test.statistics(CalculationMetrics.FUNCTION).get(0).getName()).isEqualTo("TestFunction");
+    assertThat(test.statistics(CalculationMetrics.MEASURE).get(0).getName()).isEqualTo("PresentValue");
+    assertThat(test.statistics(CalculationMetrics.TARGET_TYPE).get(0).getName()).isEqualTo("TestTarget");
+    CalculationTimingStatistics lookup = test.statistics(CalculationMetrics.MARKET_DATA_LOOKUP).get(0);
+    assertThat(lookup.getName()).isEqualTo("TestFunction");
+    assertThat(lookup.getTotalNanos()).isEqualTo(2_000_000);
+
+    String table = test.summaryTable();
+    assertThat(table).contains("Queue Wait").contains("TestFunction").contains("6.000").contains("3.000");
+    assertThat(test.toString()).isEqualTo(table);
+  }
+
+  public void test_marketDataBuilt() {
+    CalculationMetrics test = CalculationMetrics.create();
+    test.marketDataBuilt(TestId.of("1"), 1_000);
+    test.marketDataBuilt(TestId.of("2"), 5_000);
+    test.marketDataBuilt(TestId.of("2"), 5_000);
+    assertThat(test.statistics(CalculationMetrics.MARKET_DATA_BUILD))
+        .extracting(CalculationTimingStatistics::getName)
+        .containsExactly(TestId.of("2").toString(), TestId.of("1").toString());
+
+    test.reset();
+    assertThat(test.statistics()).isEmpty();
+  }
+
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.calc.ReportingCurrency.NATURAL;
+import static com.opengamma.strata.collect.CollectProjectAssertions.assertThat;
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.calc.Column;
+import com.opengamma.strata.calc.Measure;
+import com.opengamma.strata.calc.Results;
+import com.opengamma.strata.calc.TestingMeasures;
+import com.opengamma.strata.calc.marketdata.TestId;
+import com.opengamma.strata.calc.runner.CalculationTaskTest.TestTarget;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.data.ImmutableMarketData;
+import com.opengamma.strata.data.MarketData;
+import com.opengamma.strata.data.scenario.ScenarioArray;
+import com.opengamma.strata.data.scenario.ScenarioMarketData;
+
+/**
+ * Test {@link CalculationSession}.
+ */
+@Test
+public class CalculationSessionTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final TestTarget TARGET = new TestTarget();
+  private static final LocalDate VAL_DATE = date(2011, 3, 8);
+  private static final TestId ID_A = TestId.of("a");
+  private static final TestId ID_B = TestId.of("b");
+  private static final TestId ID_C = TestId.of("c");
+
+  //-------------------------------------------------------------------------
+  public void recalculateChangedMarketData() {
+    List<MarketDataFunction> functions = ImmutableList.of(
+        new MarketDataFunction(ID_A), new MarketDataFunction(ID_B), new MarketDataFunction(ID_C));
+    CalculationSession test = session(functions);
+    assertThat(test.getRequirements().getNonObservables()).containsOnly(ID_A, ID_B, ID_C);
+
+    Results results1 = test.calculateMultiScenario(marketData("1", "2", "3"));
+    assertResults(results1, "1", "2", "3");
+    assertExecutions(functions, 1, 1, 1);
+
+    // only the value for B has changed
+    Results results2 = test.calculateMultiScenario(marketData("1", "20", "3"));
+    assertResults(results2, "1", "20", "3");
+    assertExecutions(functions, 1, 2, 1);
+
+    // nothing has changed
+    Results results3 = test.calculateMultiScenario(marketData("1", "20", "3"));
+    assertResults(results3, "1", "20", "3");
+    assertExecutions(functions, 1, 2, 1);
+    assertThat(test.results()).isEqualTo(results3);
+  }
+
+  public void recalculateChangedIds() {
+    List<MarketDataFunction> functions = ImmutableList.of(
+        new MarketDataFunction(ID_A), new MarketDataFunction(ID_B), new MarketDataFunction(ID_C));
+    CalculationSession test = session(functions);
+
+    // the first calculation calculates everything regardless of the changes
+    Results results1 = test.calculateMultiScenario(marketData("1", "2", "3"), ImmutableSet.of());
+    assertResults(results1, "1", "2", "3");
+    assertExecutions(functions, 1, 1, 1);
+
+    Results results2 = test.calculateMultiScenario(marketData("10", "20", "30"), ImmutableSet.of(ID_A, ID_C));
+    assertResults(results2, "10", "2", "30");
+    assertExecutions(functions, 2, 1, 2);
+
+    // a change in the number of scenarios recalculates everything
+    ScenarioMarketData twoScenarios = ScenarioMarketData.of(2, marketData("10", "20", "30").scenario(0));
+    Results results3 = test.calculateMultiScenario(twoScenarios, ImmutableSet.of());
+    assertThat(results3.get(1, 0)).hasValue(ScenarioArray.of("20", "20"));
+    assertExecutions(functions, 3, 2, 3);
+  }
+
+  public void recalculateAsync() {
+    List<MarketDataFunction> functions = ImmutableList.of(
+        new MarketDataFunction(ID_A), new MarketDataFunction(ID_B), new MarketDataFunction(ID_C));
+    CalculationSession test = session(functions);
+    test.calculateMultiScenario(marketData("1", "2", "3"));
+
+    List<Integer> rows = new ArrayList<>();
+    AtomicInteger completions = new AtomicInteger();
+    CalculationListener listener = new CalculationListener() {
+      @Override
+      public void resultReceived(CalculationTarget target, CalculationResult result) {
+        rows.add(result.getRowIndex());
+      }
+
+      @Override
+      public void calculationsComplete() {
+        completions.incrementAndGet();
+      }
+    };
+    test.calculateMultiScenarioAsync(marketData("1", "2", "30"), listener);
+    assertThat(rows).containsExactly(2);
+    assertThat(completions.get()).isEqualTo(1);
+    assertResults(test.results(), "1", "2", "30");
+
+    // no changes, the listener is still informed that the calculations are complete
+    test.calculateMultiScenarioAsync(marketData("1", "2", "30"), listener);
+    assertThat(rows).containsExactly(2);
+    assertThat(completions.get()).isEqualTo(2);
+  }
+
+  public void resultsBeforeCalculation() {
+    CalculationSession test = session(ImmutableList.of(new MarketDataFunction(ID_A)));
+    assertThat(test.results().get(0, 0)).isFailure();
+  }
+
+  //-------------------------------------------------------------------------
+  private static CalculationSession session(List<MarketDataFunction> functions) {
+    List<CalculationTask> taskList = new ArrayList<>();
+    for (int i = 0; i < functions.size(); i++) {
+      CalculationTaskCell cell = CalculationTaskCell.of(i, 0, TestingMeasures.PRESENT_VALUE, NATURAL);
+      taskList.add(CalculationTask.of(TARGET, functions.get(i), cell));
+    }
+    CalculationTasks tasks = CalculationTasks.of(taskList, ImmutableList.of(Column.of(TestingMeasures.PRESENT_VALUE)));
+    // using the direct executor means there is no need to close/shutdown the runner
+    CalculationTaskRunner runner = CalculationTaskRunner.of(MoreExecutors.newDirectExecutorService());
+    return CalculationSession.of(runner, tasks, REF_DATA);
+  }
+
+  private static ScenarioMarketData marketData(String a, String b, String c) {
+    MarketData marketData = ImmutableMarketData.builder(VAL_DATE)
+        .addValue(ID_A, a)
+        .addValue(ID_B, b)
+        .addValue(ID_C, c)
+        .build();
+    return ScenarioMarketData.of(1, marketData);
+  }
+
+  private static void assertResults(Results results, String... expected) {
+    assertThat(results.getRowCount()).isEqualTo(expected.length);
+    for (int i = 0; i < expected.length; i++) {
+      assertThat(results.get(i, 0)).hasValue(ScenarioArray.of(expected[i]));
+    }
+  }
+
+  private static void assertExecutions(List<MarketDataFunction> functions, int... expected) {
+    for (int i = 0; i < expected.length; i++) {
+      assertThat(functions.get(i).executions.get()).isEqualTo(expected[i]);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  private static final class MarketDataFunction implements CalculationFunction<TestTarget> {
+
+    private final TestId id;
+    private final AtomicInteger executions = new AtomicInteger();
+
+    private MarketDataFunction(TestId id) {
+      this.id = id;
+    }
+
+    @Override
+    public Class<TestTarget> targetType() {
+      return TestTarget.class;
+    }
+
+    @Override
+    public Set<Measure> supportedMeasures() {
+      return ImmutableSet.of(TestingMeasures.PRESENT_VALUE);
+    }
+
+    @Override
+    public Currency naturalCurrency(TestTarget trade, ReferenceData refData) {
+      return USD;
+    }
+
+    @Override
+    public FunctionRequirements requirements(
+        TestTarget target,
+        Set<Measure> measures,
+        CalculationParameters parameters,
+        ReferenceData refData) {
+
+      return FunctionRequirements.builder().valueRequirements(id).build();
+    }
+
+    @Override
+    public Map<Measure, Result<?>> calculate(
+        TestTarget target,
+        Set<Measure> measures,
+        CalculationParameters parameters,
+        ScenarioMarketData marketData,
+        ReferenceData refData) {
+
+      executions.incrementAndGet();
+      ScenarioArray<String> values = ScenarioArray.of(marketData.scenarios()
+          .map(md -> md.getValue(id))
+          .collect(toImmutableList()));
+      return ImmutableMap.of(TestingMeasures.PRESENT_VALUE, Result.success(values));
+    }
+  }
+
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import static com.opengamma.strata.calc.ReportingCurrency.NATURAL;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.calc.TestingMeasures;
+import com.opengamma.strata.calc.runner.CalculationTaskTest.TestFunction;
+import com.opengamma.strata.calc.runner.CalculationTaskTest.TestTarget;
+
+/**
+ * Test {@link CalculationTaskCostModel}.
+ */
+@Test
+public class CalculationTaskCostModelTest {
+
+  private static final TestTarget TARGET = new TestTarget();
+  private static final CalculationTask TASK_PV = CalculationTask.of(
+      TARGET, new TestFunction(), CalculationTaskCell.of(0, 0, TestingMeasures.PRESENT_VALUE, NATURAL));
+  private static final CalculationTask TASK_PAR = CalculationTask.of(
+      TARGET, new TestFunction(), CalculationTaskCell.of(1, 0, TestingMeasures.PAR_RATE, NATURAL));
+  private static final CalculationTask TASK_PV2 = CalculationTask.of(
+      TARGET, new TestFunction(), CalculationTaskCell.of(2, 0, TestingMeasures.PRESENT_VALUE, NATURAL));
+
+  //-------------------------------------------------------------------------
+  public void test_historical_noTimings() {
+    CalculationTaskCostModel test = CalculationTaskCostModel.ofHistorical();
+    assertThat(test.estimateCost(TASK_PV, 1)).isEqualTo(1d);
+    assertThat(test.estimateCost(TASK_PV, 10)).isEqualTo(10d);
+    assertThat(test.estimateCost(TASK_PV, 0)).isEqualTo(1d);
+  }
+
+  public void test_historical_timings() {
+    CalculationTaskCostModel test = CalculationTaskCostModel.ofHistorical();
+    test.recordExecution(TASK_PV, 10, 1000);
+    // same group is estimated using the recorded time per scenario
+    assertThat(test.estimateCost(TASK_PV, 10)).isEqualTo(1000d);
+    assertThat(test.estimateCost(TASK_PV2, 20)).isEqualTo(2000d);
+    // unknown group is estimated using the most expensive group
+    assertThat(test.estimateCost(TASK_PAR, 10)).isEqualTo(1000d);
+
+    // later timings are combined with the earlier ones
+    test.recordExecution(TASK_PV, 10, 2000);
+    assertThat(test.estimateCost(TASK_PV, 10)).isCloseTo(1250d, offset(1e-10));
+    test.recordExecution(TASK_PAR, 10, 100);
+    assertThat(test.estimateCost(TASK_PAR, 10)).isEqualTo(100d);
+    assertThat(test.estimateCost(TASK_PV, 10)).isGreaterThan(test.estimateCost(TASK_PAR, 10));
+  }
+
+  public void test_historical_negativeTime() {
+    CalculationTaskCostModel test = CalculationTaskCostModel.ofHistorical();
+    assertThrowsIllegalArg(() -> test.recordExecution(TASK_PV, 1, -1));
+  }
+
+}
@@ -6,12 +6,17 @@
 package com.opengamma.strata.calc.runner;
 
 import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
 import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.testng.Assert.assertNotNull;
 
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
 
 import org.testng.annotations.Test;
 
@@ -27,6 +32,7 @@ import com.opengamma.strata.calc.marketdata.TestId;
 import com.opengamma.strata.calc.marketdata.TestObservableId;
 import com.opengamma.strata.calc.runner.CalculationTaskTest.TestFunction;
 import com.opengamma.strata.calc.runner.CalculationTaskTest.TestTarget;
+import com.opengamma.strata.calc.runner.ResolvedTargetCacheTest.TestResolvableTarget;
 import com.opengamma.strata.data.MarketDataId;
 import com.opengamma.strata.data.ObservableId;
 
@@ -76,6 +82,67 @@ public class CalculationTasksTest {
     assertNotNull(CalculationTasks.meta());
   }
 
+  public void test_of_resolvedTargetCache() {
+    CalculationFunctions functions = CalculationFunctions.of(ImmutableMap.of(TestTarget.class, new TestFunction()));
+    CalculationRules calculationRules = CalculationRules.of(functions, USD);
+    List<Column> columns = ImmutableList.of(Column.of(TestingMeasures.PRESENT_VALUE));
+    AtomicInteger counter = new AtomicInteger();
+    List<TestResolvableTarget> targets = ImmutableList.of(
+        new TestResolvableTarget("A", counter),
+        new TestResolvableTarget("Fail", counter));
+    ResolvedTargetCache cache = ResolvedTargetCache.of(10);
+
+    CalculationTasks test1 = CalculationTasks.of(calculationRules, targets, columns, REF_DATA, cache);
+    CalculationTasks test2 = CalculationTasks.of(calculationRules, targets, columns, REF_DATA, cache);
+    assertThat(test1.getTargets().get(0)).isInstanceOf(TestTarget.class);
+    assertThat(test1.getTargets().get(1)).isInstanceOf(UnresolvableTarget.class);
+    assertThat(test2.getTargets().get(0)).isSameAs(test1.getTargets().get(0));
+    assertThat(test2.getTasks().get(1).getFunction()).isEqualTo(UnresolvableTargetCalculationFunction.INSTANCE);
+    assertThat(ResolvedTargetCache.from(test1.getTasks().get(0).getParameters())).isSameAs(cache);
+    // the failing target is resolved each time
+    assertThat(counter.get()).isEqualTo(3);
+  }
+
+  public void test_of_manyTargets() {
+    CalculationFunctions functions = CalculationFunctions.of(ImmutableMap.of(TestTarget.class, new TestFunction()));
+    CalculationRules calculationRules = CalculationRules.of(functions, USD);
+    List<Column> columns = ImmutableList.of(Column.of(TestingMeasures.PRESENT_VALUE), Column.of(TestingMeasures.PAR_RATE));
+    AtomicInteger counter = new AtomicInteger();
+    List<TestResolvableTarget> targets = IntStream.range(0, 5000)
+        .mapToObj(i -> new TestResolvableTarget(Integer.toString(i), counter))
+        .collect(toImmutableList());
+
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      CalculationTasks test = CalculationTasks.of(
+          calculationRules, targets, columns, REF_DATA, ResolvedTargetCache.none(), executor, 4);
+      assertThat(counter.get()).isEqualTo(5000);
+      assertThat(test.getTargets()).hasSize(5000);
+      assertThat(test.getTasks()).hasSize(5000);
+      for (int i = 0; i < test.getTasks().size(); i++) {
+        assertThat(test.getTasks().get(i).getRowIndex()).isEqualTo(i);
+        assertThat(test.getTasks().get(i).getTarget()).isSameAs(test.getTargets().get(i));
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  public void test_of_resolvedTargetCacheInParameters() {
+    CalculationFunctions functions = CalculationFunctions.of(ImmutableMap.of(TestTarget.class, new TestFunction()));
+    ResolvedTargetCache cache = ResolvedTargetCache.of(10);
+    CalculationRules calculationRules = CalculationRules.of(functions, USD, cache);
+    List<Column> columns = ImmutableList.of(Column.of(TestingMeasures.PRESENT_VALUE));
+    AtomicInteger counter = new AtomicInteger();
+    List<TestResolvableTarget> targets = ImmutableList.of(new TestResolvableTarget("A", counter));
+
+    CalculationTasks test1 = CalculationTasks.of(calculationRules, targets, columns, REF_DATA);
+    CalculationTasks test2 = CalculationTasks.of(calculationRules, targets, columns, REF_DATA);
+    assertThat(test2.getTargets().get(0)).isSameAs(test1.getTargets().get(0));
+    assertThat(counter.get()).isEqualTo(1);
+    assertThat(ResolvedTargetCache.from(test1.getTasks().get(0).getParameters())).isSameAs(cache);
+  }
+
   //-------------------------------------------------------------------------
   public void test_requirements() {
     CalculationFunctions functions = CalculationFunctions.of(ImmutableMap.of(TestTarget.class, new TestFunction()));
@@ -0,0 +1,59 @@
+/*
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import static com.opengamma.strata.collect.TestHelper.assertSerialization;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
+import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.testng.annotations.Test;
+
+/**
+ * Test {@link CalculationTimingStatistics}.
+ */
+@Test
+public class CalculationTimingStatisticsTest {
+
+  //-------------------------------------------------------------------------
+  public void test_of() {
+    CalculationTimingStatistics test = CalculationTimingStatistics.of("Task", "All", 4, 100, 20, 30, 40, 50);
+    assertThat(test.getCategory()).isEqualTo("Task");
+    assertThat(test.getName()).isEqualTo("All");
+    assertThat(test.getCount()).isEqualTo(4);
+    assertThat(test.getTotalNanos()).isEqualTo(100);
+    assertThat(test.getMedianNanos()).isEqualTo(20);
+    assertThat(test.getPercentile90Nanos()).isEqualTo(30);
+    assertThat(test.getPercentile99Nanos()).isEqualTo(40);
+    assertThat(test.getMaxNanos()).isEqualTo(50);
+    assertThat(test.getMeanNanos()).isEqualTo(25d);
+  }
+
+  public void test_of_empty() {
+    CalculationTimingStatistics test = CalculationTimingStatistics.of("Task", "All", 0, 0, 0, 0, 0, 0);
+    assertThat(test.getMeanNanos()).isEqualTo(0d);
+  }
+
+  public void test_of_negative() {
+    assertThrowsIllegalArg(() -> CalculationTimingStatistics.of("Task", "All", -1, 0, 0, 0, 0, 0));
+    assertThrowsIllegalArg(() -> CalculationTimingStatistics.of("Task", "All", 1, -1, 0, 0, 0, 0));
+    assertThrowsIllegalArg(() -> CalculationTimingStatistics.of(null, "All", 1, 1, 0, 0, 0, 0));
+  }
+
+  //-------------------------------------------------------------------------
+  public void coverage() {
+    CalculationTimingStatistics test = CalculationTimingStatistics.of("Task", "All", 4, 100, 20, 30, 40, 50);
+    coverImmutableBean(test);
+    CalculationTimingStatistics test2 = CalculationTimingStatistics.of("Function", "Fn", 1, 2, 2, 2, 2, 2);
+    coverBeanEquals(test, test2);
+  }
+
+  public void test_serialization() {
+    assertSerialization(CalculationTimingStatistics.of("Task", "All", 4, 100, 20, 30, 40, 50));
+  }
+
+}
@@ -7,6 +7,7 @@ package com.opengamma.strata.calc.runner;
 
 import static com.opengamma.strata.basics.currency.Currency.USD;
 import static com.opengamma.strata.calc.ReportingCurrency.NATURAL;
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
 import static com.opengamma.strata.collect.CollectProjectAssertions.assertThat;
 import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
 import static com.opengamma.strata.collect.TestHelper.date;
@@ -14,6 +15,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.testng.Assert.assertEquals;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
@@ -21,7 +24,9 @@ import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
 
 import org.testng.annotations.Test;
 
@@ -154,6 +159,236 @@ public class DefaultCalculationTaskRunnerTest {
     assertThat(results.getColumns().get(0).getMeasure()).isEqualTo(TestingMeasures.PRESENT_VALUE);
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Tests that the tasks are started in order of decreasing estimated cost.
+   */
+  public void costOrdered() {
+    ScenarioArray<String> scenarioResult = ScenarioArray.of("foo");
+    ScenarioResultFunction fn = new ScenarioResultFunction(TestingMeasures.PRESENT_VALUE, scenarioResult);
+    List<CalculationTask> taskList = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      CalculationTaskCell cell = CalculationTaskCell.of(i, 0, TestingMeasures.PRESENT_VALUE, NATURAL);
+      taskList.add(CalculationTask.of(TARGET, fn, cell));
+    }
+    Column column = Column.of(TestingMeasures.PRESENT_VALUE);
+    CalculationTasks tasks = CalculationTasks.of(taskList, ImmutableList.of(column));
+
+    // estimate row 2 as the most expensive, then rows 1 and 3, then row 0
+    double[] costs = {1d, 2d, 5d, 2d};
+    List<Integer> recorded = new ArrayList<>();
+    CalculationTaskCostModel costModel = new CalculationTaskCostModel() {
+      @Override
+      public double estimateCost(CalculationTask task, int scenarioCount) {
+        return costs[task.getRowIndex()];
+      }
+
+      @Override
+      public void recordExecution(CalculationTask task, int scenarioCount, long elapsedNanos) {
+        recorded.add(task.getRowIndex());
+      }
+    };
+
+    // using the direct executor means there is no need to close/shutdown the runner
+    CalculationTaskRunner test = CalculationTaskRunner.of(MoreExecutors.newDirectExecutorService(), costModel);
+    Results results = test.calculateMultiScenario(tasks, ScenarioMarketData.of(1, MarketData.empty(VAL_DATE)), REF_DATA);
+    assertThat(recorded).containsExactly(2, 1, 3, 0);
+    assertThat(results.getRowCount()).isEqualTo(4);
+    for (int i = 0; i < 4; i++) {
+      assertThat(results.get(i, 0)).hasValue(scenarioResult);
+    }
+  }
+
+  public void workStealing() {
+    ScenarioArray<String> scenarioResult = ScenarioArray.of("foo");
+    ScenarioResultFunction fn = new ScenarioResultFunction(TestingMeasures.PRESENT_VALUE, scenarioResult);
+    List<CalculationTask> taskList = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      CalculationTaskCell cell = CalculationTaskCell.of(i, 0, TestingMeasures.PRESENT_VALUE, NATURAL);
+      taskList.add(CalculationTask.of(TARGET, fn, cell));
+    }
+    Column column = Column.of(TestingMeasures.PRESENT_VALUE);
+    CalculationTasks tasks = CalculationTasks.of(taskList, ImmutableList.of(column));
+
+    try (CalculationTaskRunner test = CalculationTaskRunner.ofWorkStealing()) {
+      MarketData marketData = MarketData.empty(VAL_DATE);
+      // run twice, the second run uses the timings of the first
+      for (int run = 0; run < 2; run++) {
+        Results results = test.calculate(tasks, marketData, REF_DATA);
+        assertThat(results.getRowCount()).isEqualTo(20);
+        for (int i = 0; i < 20; i++) {
+          assertThat(results.get(i, 0)).hasValue("foo");
+        }
+      }
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Tests that the observer is notified of each task and that a failing observer does not affect the results.
+   */
+  public void observed() {
+    ScenarioArray<String> scenarioResult = ScenarioArray.of("foo", "bar");
+    ScenarioResultFunction fn = new ScenarioResultFunction(TestingMeasures.PRESENT_VALUE, scenarioResult);
+    List<CalculationTask> taskList = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      CalculationTaskCell cell = CalculationTaskCell.of(i, 0, TestingMeasures.PRESENT_VALUE, NATURAL);
+      taskList.add(CalculationTask.of(TARGET, fn, cell));
+    }
+    Column column = Column.of(TestingMeasures.PRESENT_VALUE);
+    CalculationTasks tasks = CalculationTasks.of(taskList, ImmutableList.of(column));
+    ScenarioMarketData marketData = ScenarioMarketData.of(2, MarketData.empty(VAL_DATE));
+
+    List<Integer> observed = new ArrayList<>();
+    CalculationTaskObserver observer = (task, scenarioCount, queueNanos, executionNanos, marketDataNanos) -> {
+      assertThat(scenarioCount).isEqualTo(2);
+      assertThat(queueNanos).isNotNegative();
+      assertThat(executionNanos).isGreaterThanOrEqualTo(marketDataNanos);
+      observed.add(task.getRowIndex());
+    };
+    // using the direct executor means there is no need to close/shutdown the runner
+    CalculationTaskRunner base = CalculationTaskRunner.of(MoreExecutors.newDirectExecutorService());
+    CalculationTaskRunner test = base.withObserver(observer);
+    Results results = test.calculateMultiScenario(tasks, marketData, REF_DATA);
+    assertThat(observed).containsExactly(0, 1, 2);
+    assertThat(results.getRowCount()).isEqualTo(3);
+    for (int i = 0; i < 3; i++) {
+      assertThat(results.get(i, 0)).hasValue(scenarioResult);
+    }
+
+    // an exception in the observer is logged and ignored
+    CalculationTaskRunner failing = base.withObserver((task, scenarioCount, queue, execution, md) -> {
+      throw new IllegalStateException("Expected");
+    });
+    Results failingResults = failing.calculateMultiScenario(tasks, marketData, REF_DATA);
+    for (int i = 0; i < 3; i++) {
+      assertThat(failingResults.get(i, 0)).hasValue(scenarioResult);
+    }
+    assertThrowsIllegalArg(() -> base.withObserver(null));
+  }
+
+  /**
+   * Tests that the observer is notified when the tasks are ordered by cost.
+   */
+  public void observedCostOrdered() {
+    ScenarioArray<String> scenarioResult = ScenarioArray.of("foo");
+    ScenarioResultFunction fn = new ScenarioResultFunction(TestingMeasures.PRESENT_VALUE, scenarioResult);
+    List<CalculationTask> taskList = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      CalculationTaskCell cell = CalculationTaskCell.of(i, 0, TestingMeasures.PRESENT_VALUE, NATURAL);
+      taskList.add(CalculationTask.of(TARGET, fn, cell));
+    }
+    Column column = Column.of(TestingMeasures.PRESENT_VALUE);
+    CalculationTasks tasks = CalculationTasks.of(taskList, ImmutableList.of(column));
+
+    CalculationMetrics metrics = CalculationMetrics.create();
+    CalculationTaskRunner test = CalculationTaskRunner.of(
+        MoreExecutors.newDirectExecutorService(), CalculationTaskCostModel.ofHistorical())
+        .withObserver(metrics);
+    test.calculate(tasks, MarketData.empty(VAL_DATE), REF_DATA);
+    assertThat(metrics.statistics(CalculationMetrics.TASK)).hasSize(1);
+    assertThat(metrics.statistics(CalculationMetrics.TASK).get(0).getCount()).isEqualTo(4);
+    assertThat(metrics.statistics(CalculationMetrics.FUNCTION).get(0).getName()).isEqualTo("ScenarioResultFunction");
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Tests that backpressure limits the number of tasks whose results have not been delivered.
+   */
+  public void backpressure() {
+    ScenarioArray<String> scenarioResult = ScenarioArray.of("foo");
+    ScenarioResultFunction fn = new ScenarioResultFunction(TestingMeasures.PRESENT_VALUE, scenarioResult);
+    List<CalculationTask> taskList = new ArrayList<>();
+    for (int i = 0; i < 50; i++) {
+      CalculationTaskCell cell = CalculationTaskCell.of(i, 0, TestingMeasures.PRESENT_VALUE, NATURAL);
+      taskList.add(CalculationTask.of(TARGET, fn, cell));
+    }
+    Column column = Column.of(TestingMeasures.PRESENT_VALUE);
+    CalculationTasks tasks = CalculationTasks.of(taskList, ImmutableList.of(column));
+
+    AtomicInteger executed = new AtomicInteger();
+    AtomicInteger maxPending = new AtomicInteger();
+    List<Integer> rowIndices = new ArrayList<>();
+    ResultRowSink sink = rows -> {
+      // the sink is slow, thus without backpressure the tasks would run ahead
+      sleep(2);
+      for (ResultRow row : rows) {
+        assertThat(row.getResult(0)).hasValue("foo");
+        rowIndices.add(row.getRowIndex());
+      }
+      maxPending.accumulateAndGet(executed.get() - rowIndices.size(), Math::max);
+    };
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      CalculationTaskRunner test = CalculationTaskRunner.of(executor)
+          .withObserver((task, scenarioCount, queueNanos, executionNanos, marketDataNanos) -> executed.incrementAndGet())
+          .withBackpressure(3);
+      StreamingResultsListener listener = new StreamingResultsListener(sink, 1);
+      test.calculateAsync(tasks, MarketData.empty(VAL_DATE), REF_DATA, listener);
+      assertThat(listener.result()).isEqualTo(50);
+      assertThat(rowIndices).containsOnlyElementsOf(IntStream.range(0, 50).boxed().collect(toImmutableList()));
+      assertThat(rowIndices).hasSize(50);
+      assertThat(maxPending.get()).isLessThanOrEqualTo(3);
+    } finally {
+      executor.shutdownNow();
+    }
+    assertThrowsIllegalArg(() -> CalculationTaskRunner.of(executor).withBackpressure(0));
+  }
+
+  /**
+   * Tests that an exception outside the function, here in the cost model, is a failure result
+   * and does not lose the backpressure permit of the task.
+   */
+  public void backpressure_costModelFailure() throws InterruptedException {
+    ScenarioArray<String> scenarioResult = ScenarioArray.of("foo");
+    ScenarioResultFunction fn = new ScenarioResultFunction(TestingMeasures.PRESENT_VALUE, scenarioResult);
+    List<CalculationTask> taskList = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      CalculationTaskCell cell = CalculationTaskCell.of(i, 0, TestingMeasures.PRESENT_VALUE, NATURAL);
+      taskList.add(CalculationTask.of(TARGET, fn, cell));
+    }
+    Column column = Column.of(TestingMeasures.PRESENT_VALUE);
+    CalculationTasks tasks = CalculationTasks.of(taskList, ImmutableList.of(column));
+    CalculationTaskCostModel costModel = new CalculationTaskCostModel() {
+      @Override
+      public double estimateCost(CalculationTask task, int scenarioCount) {
+        return 1d;
+      }
+
+      @Override
+      public void recordExecution(CalculationTask task, int scenarioCount, long elapsedNanos) {
+        throw new IllegalStateException("Cost model failed");
+      }
+    };
+
+    // using the direct executor means there is no need to close/shutdown the runner
+    CalculationTaskRunner test = CalculationTaskRunner.of(MoreExecutors.newDirectExecutorService(), costModel)
+        .withBackpressure(2);
+    ResultsListener listener = new ResultsListener();
+    // the tasks are submitted on a daemon thread, which would block forever if a permit was lost
+    Thread submitter = new Thread(() -> test.calculateMultiScenarioAsync(
+        tasks, ScenarioMarketData.of(1, MarketData.empty(VAL_DATE)), REF_DATA, listener));
+    submitter.setDaemon(true);
+    submitter.start();
+    submitter.join(10_000);
+    assertThat(submitter.isAlive()).isFalse();
+    Results results = listener.result();
+    assertThat(results.getRowCount()).isEqualTo(5);
+    for (int i = 0; i < 5; i++) {
+      assertThat(results.get(i, 0))
+          .isFailure(FailureReason.ERROR)
+          .hasFailureMessageMatching(".*Cost model failed");
+    }
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
   //-------------------------------------------------------------------------
   private static final class ScenarioResultFunction implements CalculationFunction<TestTarget> {
 
@@ -0,0 +1,147 @@
+/*
+ * Copyright (C) 2019 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrows;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.ResolvableCalculationTarget;
+import com.opengamma.strata.calc.runner.CalculationTaskTest.TestTarget;
+
+/**
+ * Test {@link ResolvedTargetCache}.
+ */
+@Test
+public class ResolvedTargetCacheTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+
+  //-------------------------------------------------------------------------
+  public void test_none() {
+    AtomicInteger counter = new AtomicInteger();
+    TestResolvableTarget target = new TestResolvableTarget("A", counter);
+    ResolvedTargetCache test = ResolvedTargetCache.none();
+    CalculationTarget resolved1 = test.resolve(target, REF_DATA);
+    CalculationTarget resolved2 = test.resolve(target, REF_DATA);
+    assertThat(resolved1).isNotSameAs(resolved2);
+    assertThat(counter.get()).isEqualTo(2);
+    test.invalidateAll();
+    assertThat(test.toString()).isEqualTo("ResolvedTargetCache[none]");
+  }
+
+  public void test_of() {
+    AtomicInteger counter = new AtomicInteger();
+    ResolvedTargetCache test = ResolvedTargetCache.of(10);
+    CalculationTarget resolved1 = test.resolve(new TestResolvableTarget("A", counter), REF_DATA);
+    CalculationTarget resolved2 = test.resolve(new TestResolvableTarget("A", counter), REF_DATA);
+    CalculationTarget resolved3 = test.resolve(new TestResolvableTarget("B", counter), REF_DATA);
+    assertThat(resolved1).isSameAs(resolved2);
+    assertThat(resolved1).isNotSameAs(resolved3);
+    assertThat(counter.get()).isEqualTo(2);
+    assertThat(((DefaultResolvedTargetCache) test).size()).isEqualTo(2);
+    assertThat(test.toString()).isEqualTo("ResolvedTargetCache[size=2, maximumSize=10]");
+  }
+
+  public void test_of_differentReferenceData() {
+    AtomicInteger counter = new AtomicInteger();
+    ResolvedTargetCache test = ResolvedTargetCache.of(10);
+    TestResolvableTarget target = new TestResolvableTarget("A", counter);
+    CalculationTarget resolved1 = test.resolve(target, REF_DATA);
+    CalculationTarget resolved2 = test.resolve(target, ReferenceData.minimal());
+    assertThat(resolved1).isNotSameAs(resolved2);
+    assertThat(counter.get()).isEqualTo(2);
+  }
+
+  public void test_of_invalidateAll() {
+    AtomicInteger counter = new AtomicInteger();
+    ResolvedTargetCache test = ResolvedTargetCache.of(10);
+    TestResolvableTarget target = new TestResolvableTarget("A", counter);
+    CalculationTarget resolved1 = test.resolve(target, REF_DATA);
+    test.invalidateAll();
+    CalculationTarget resolved2 = test.resolve(target, REF_DATA);
+    assertThat(resolved1).isNotSameAs(resolved2);
+    assertThat(counter.get()).isEqualTo(2);
+  }
+
+  public void test_of_failureNotCached() {
+    AtomicInteger counter = new AtomicInteger();
+    ResolvedTargetCache test = ResolvedTargetCache.of(10);
+    TestResolvableTarget target = new TestResolvableTarget("Fail", counter);
+    assertThrows(() -> test.resolve(target, REF_DATA), IllegalStateException.class, "Unable to resolve");
+    assertThrows(() -> test.resolve(target, REF_DATA), IllegalStateException.class, "Unable to resolve");
+    assertThat(counter.get()).isEqualTo(2);
+    assertThat(((DefaultResolvedTargetCache) test).size()).isEqualTo(0);
+  }
+
+  public void test_of_resolvedType() {
+    AtomicInteger counter = new AtomicInteger();
+    ResolvedTargetCache test = ResolvedTargetCache.of(10);
+    TestResolvableTarget target = new TestResolvableTarget("A", counter);
+    CalculationTarget resolved = test.resolve(target, REF_DATA);
+    String name1 = test.resolve(target, REF_DATA, String.class, refData -> "A" + counter.incrementAndGet());
+    String name2 = test.resolve(target, REF_DATA, String.class, refData -> "A" + counter.incrementAndGet());
+    assertThat(name1).isEqualTo("A2");
+    assertThat(name2).isSameAs(name1);
+    assertThat(test.resolve(target, REF_DATA)).isSameAs(resolved);
+    assertThat(counter.get()).isEqualTo(2);
+    assertThat(((DefaultResolvedTargetCache) test).size()).isEqualTo(2);
+  }
+
+  public void test_from() {
+    ResolvedTargetCache cache = ResolvedTargetCache.of(10);
+    assertThat(cache.queryType()).isEqualTo(ResolvedTargetCache.class);
+    assertThat(ResolvedTargetCache.from(CalculationParameters.of(cache))).isSameAs(cache);
+    assertThat(ResolvedTargetCache.from(CalculationParameters.empty())).isSameAs(ResolvedTargetCache.none());
+  }
+
+  public void test_of_invalid() {
+    assertThrowsIllegalArg(() -> ResolvedTargetCache.of(0));
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Target that resolves to a new {@link TestTarget}, counting the number of times it is resolved.
+   * <p>
+   * Targets are equal if they have the same name. The target named 'Fail' cannot be resolved.
+   */
+  static final class TestResolvableTarget implements ResolvableCalculationTarget {
+
+    private final String name;
+    private final AtomicInteger counter;
+
+    TestResolvableTarget(String name, AtomicInteger counter) {
+      this.name = name;
+      this.counter = counter;
+    }
+
+    @Override
+    public CalculationTarget resolveTarget(ReferenceData refData) {
+      counter.incrementAndGet();
+      if (name.equals("Fail")) {
+        throw new IllegalStateException("Unable to resolve");
+      }
+      return new TestTarget();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      return obj instanceof TestResolvableTarget && ((TestResolvableTarget) obj).name.equals(name);
+    }
+
+    @Override
+    public int hashCode() {
+      return name.hashCode();
+    }
+  }
+
+}
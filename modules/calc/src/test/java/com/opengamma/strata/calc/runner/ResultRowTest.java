@@ -0,0 +1,47 @@
+/*
+ * Copyright (C) 2019 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
+import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.calc.runner.CalculationTaskTest.TestTarget;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+
+/**
+ * Test {@link ResultRow}.
+ */
+@Test
+public class ResultRowTest {
+
+  private static final TestTarget TARGET = new TestTarget();
+  private static final Result<String> RESULT = Result.success("OK");
+  private static final Result<String> FAILURE = Result.failure(FailureReason.NOT_APPLICABLE, "N/A");
+
+  //-------------------------------------------------------------------------
+  public void of() {
+    ResultRow test = ResultRow.of(3, TARGET, ImmutableList.of(RESULT, FAILURE));
+    assertThat(test.getRowIndex()).isEqualTo(3);
+    assertThat(test.getTarget()).isSameAs(TARGET);
+    assertThat(test.getResults()).containsExactly(RESULT, FAILURE);
+    assertThat(test.getResult(0)).isEqualTo(RESULT);
+    assertThat(test.getResult(1)).isEqualTo(FAILURE);
+  }
+
+  //-------------------------------------------------------------------------
+  public void coverage() {
+    ResultRow test = ResultRow.of(3, TARGET, ImmutableList.of(RESULT, FAILURE));
+    coverImmutableBean(test);
+    ResultRow test2 = ResultRow.of(4, new TestTarget(), ImmutableList.of(FAILURE));
+    coverBeanEquals(test, test2);
+  }
+
+}
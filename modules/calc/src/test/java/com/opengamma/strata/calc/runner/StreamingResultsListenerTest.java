@@ -0,0 +1,136 @@
+/*
+ * Copyright (C) 2019 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrows;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.calc.Column;
+import com.opengamma.strata.calc.TestingMeasures;
+import com.opengamma.strata.calc.runner.CalculationTaskTest.TestTarget;
+import com.opengamma.strata.collect.result.Result;
+
+/**
+ * Test {@link StreamingResultsListener} and {@link ResultRowSink}.
+ */
+@Test
+public class StreamingResultsListenerTest {
+
+  private static final List<CalculationTarget> TARGETS =
+      ImmutableList.of(new TestTarget(), new TestTarget(), new TestTarget());
+  private static final List<Column> COLUMNS =
+      ImmutableList.of(Column.of(TestingMeasures.PRESENT_VALUE), Column.of(TestingMeasures.PAR_RATE));
+
+  //-------------------------------------------------------------------------
+  public void test_batches() {
+    RecordingSink sink = new RecordingSink();
+    StreamingResultsListener test = new StreamingResultsListener(sink, 2);
+    test.calculationsStarted(TARGETS, COLUMNS);
+    assertThat(sink.started).isTrue();
+    test.resultReceived(TARGETS.get(2), CalculationResult.of(2, 1, Result.success("2-1")));
+    test.resultReceived(TARGETS.get(0), CalculationResult.of(0, 0, Result.success("0-0")));
+    test.resultReceived(TARGETS.get(2), CalculationResult.of(2, 0, Result.success("2-0")));
+    assertThat(sink.batches).isEmpty();
+    test.resultReceived(TARGETS.get(1), CalculationResult.of(1, 0, Result.success("1-0")));
+    test.resultReceived(TARGETS.get(1), CalculationResult.of(1, 1, Result.success("1-1")));
+    // rows two and one are complete, in that order
+    assertThat(sink.batches).hasSize(1);
+    assertThat(sink.batches.get(0)).extracting(ResultRow::getRowIndex).containsExactly(2, 1);
+    assertThat(sink.batches.get(0).get(0).getTarget()).isSameAs(TARGETS.get(2));
+    assertThat(sink.batches.get(0).get(0).getResults()).containsExactly(Result.success("2-0"), Result.success("2-1"));
+    test.resultReceived(TARGETS.get(0), CalculationResult.of(0, 1, Result.success("0-1")));
+    assertThat(sink.batches).hasSize(1);
+    assertThat(sink.completed).isFalse();
+
+    // the last partial batch is passed on completion
+    test.calculationsComplete();
+    assertThat(sink.batches).hasSize(2);
+    assertThat(sink.batches.get(1)).extracting(ResultRow::getRowIndex).containsExactly(0);
+    assertThat(sink.completed).isTrue();
+    assertThat(test.result()).isEqualTo(3);
+  }
+
+  public void test_noRows() {
+    RecordingSink sink = new RecordingSink();
+    StreamingResultsListener test = new StreamingResultsListener(sink, 10);
+    test.calculationsStarted(ImmutableList.of(), COLUMNS);
+    test.calculationsComplete();
+    assertThat(sink.batches).isEmpty();
+    assertThat(sink.completed).isTrue();
+    assertThat(test.result()).isEqualTo(0);
+  }
+
+  public void test_failingSink() {
+    List<Integer> received = new ArrayList<>();
+    ResultRowSink sink = rows -> {
+      received.add(rows.get(0).getRowIndex());
+      throw new IllegalStateException("Sink failed");
+    };
+    StreamingResultsListener test = new StreamingResultsListener(sink, 1);
+    test.calculationsStarted(TARGETS, COLUMNS.subList(0, 1));
+    test.resultReceived(TARGETS.get(0), CalculationResult.of(0, 0, Result.success("0-0")));
+    test.resultReceived(TARGETS.get(1), CalculationResult.of(1, 0, Result.success("1-0")));
+    // no further rows are passed to the sink once it has failed
+    assertThat(received).containsExactly(0);
+    assertThrows(() -> test.calculationsComplete(), IllegalStateException.class, "Sink failed");
+    assertThat(test.getFuture().isCompletedExceptionally()).isTrue();
+  }
+
+  public void test_invalid() {
+    assertThrowsIllegalArg(() -> new StreamingResultsListener(null, 1));
+    assertThrowsIllegalArg(() -> new StreamingResultsListener(new RecordingSink(), 0));
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_ofCsv() {
+    StringBuilder buf = new StringBuilder();
+    StreamingResultsListener test = new StreamingResultsListener(ResultRowSink.ofCsv(buf), 10);
+    test.calculationsStarted(TARGETS.subList(0, 2), COLUMNS);
+    test.resultReceived(TARGETS.get(1), CalculationResult.of(1, 0, Result.success(1.5d)));
+    test.resultReceived(TARGETS.get(1), CalculationResult.of(1, 1, Result.failure(new IllegalStateException())));
+    test.resultReceived(TARGETS.get(0), CalculationResult.of(0, 0, Result.success("A")));
+    test.resultReceived(TARGETS.get(0), CalculationResult.of(0, 1, Result.success("B,C")));
+    test.calculationsComplete();
+    assertThat(test.result()).isEqualTo(2);
+    String newLine = System.lineSeparator();
+    assertThat(buf.toString()).isEqualTo(
+        "Row,PresentValue,ParRate" + newLine +
+            "1,1.5," + newLine +
+            "0,A,\"B,C\"" + newLine);
+  }
+
+  //-------------------------------------------------------------------------
+  private static final class RecordingSink implements ResultRowSink {
+
+    private boolean started;
+    private final List<List<ResultRow>> batches = new ArrayList<>();
+    private boolean completed;
+
+    @Override
+    public void started(List<CalculationTarget> targets, List<Column> columns) {
+      started = true;
+    }
+
+    @Override
+    public void rowsReceived(List<ResultRow> rows) {
+      batches.add(rows);
+    }
+
+    @Override
+    public void completed() {
+      completed = true;
+    }
+  }
+
+}
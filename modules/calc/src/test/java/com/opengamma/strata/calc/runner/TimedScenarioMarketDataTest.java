@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import static com.opengamma.strata.basics.currency.Currency.GBP;
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.currency.FxRate;
+import com.opengamma.strata.calc.marketdata.TestObservableId;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.data.FxRateId;
+import com.opengamma.strata.data.scenario.ImmutableScenarioMarketData;
+import com.opengamma.strata.data.scenario.MarketDataBox;
+import com.opengamma.strata.data.scenario.ScenarioMarketData;
+
+/**
+ * Test {@link TimedScenarioMarketData}.
+ */
+@Test
+public class TimedScenarioMarketDataTest {
+
+  private static final FxRateId FX_ID = FxRateId.of(GBP, USD);
+  private static final TestObservableId TS_ID = TestObservableId.of("1");
+  private static final LocalDateDoubleTimeSeries TIME_SERIES = LocalDateDoubleTimeSeries.of(date(2011, 3, 7), 1d);
+  private static final ScenarioMarketData MARKET_DATA = ImmutableScenarioMarketData.builder(date(2011, 3, 8))
+      .addScenarioValue(FX_ID, ImmutableList.of(FxRate.of(GBP, USD, 1.6), FxRate.of(GBP, USD, 1.7)))
+      .addTimeSeries(TS_ID, TIME_SERIES)
+      .build();
+
+  //-------------------------------------------------------------------------
+  public void test_delegates() {
+    TimedScenarioMarketData test = new TimedScenarioMarketData(MARKET_DATA);
+    assertThat(test.getElapsedNanos()).isEqualTo(0);
+    assertThat(test.getValuationDate()).isEqualTo(MARKET_DATA.getValuationDate());
+    assertThat(test.getScenarioCount()).isEqualTo(2);
+    assertThat(test.getIds()).isEqualTo(MARKET_DATA.getIds());
+    assertThat(test.getTimeSeriesIds()).isEqualTo(MARKET_DATA.getTimeSeriesIds());
+    assertThat(test.toString()).isEqualTo(MARKET_DATA.toString());
+
+    assertThat(test.containsValue(FX_ID)).isTrue();
+    MarketDataBox<FxRate> value = test.getValue(FX_ID);
+    assertThat(value).isEqualTo(MARKET_DATA.getValue(FX_ID));
+    assertThat(test.findValue(FX_ID)).hasValue(value);
+    assertThat(test.findValue(FxRateId.of(GBP, GBP))).isEmpty();
+    assertThat(test.getTimeSeries(TS_ID)).isEqualTo(TIME_SERIES);
+    assertThat(test.getElapsedNanos()).isPositive();
+  }
+
+  public void test_recordsFailedLookup() {
+    TimedScenarioMarketData test = new TimedScenarioMarketData(MARKET_DATA);
+    try {
+      test.getValue(FxRateId.of(USD, GBP));
+    } catch (RuntimeException ex) {
+      // expected
+    }
+    assertThat(test.getElapsedNanos()).isPositive();
+  }
+
+}
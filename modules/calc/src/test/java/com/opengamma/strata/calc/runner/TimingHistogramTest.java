@@ -0,0 +1,50 @@
+/*
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.testng.annotations.Test;
+
+/**
+ * Test {@link TimingHistogram}.
+ */
+@Test
+public class TimingHistogramTest {
+
+  public void test_bucket() {
+    for (long value = 0; value < 100_000; value++) {
+      int bucket = TimingHistogram.bucket(value);
+      assertThat(TimingHistogram.bucketUpperBound(bucket)).isGreaterThanOrEqualTo(value);
+      if (bucket > 0) {
+        assertThat(TimingHistogram.bucketUpperBound(bucket - 1)).isLessThan(value);
+      }
+    }
+    assertThat(TimingHistogram.bucketUpperBound(TimingHistogram.bucket(Long.MAX_VALUE))).isEqualTo(Long.MAX_VALUE);
+  }
+
+  public void test_statistics_empty() {
+    TimingHistogram test = new TimingHistogram();
+    assertThat(test.statistics("Task", "All")).isEqualTo(CalculationTimingStatistics.of("Task", "All", 0, 0, 0, 0, 0, 0));
+  }
+
+  public void test_statistics() {
+    TimingHistogram test = new TimingHistogram();
+    for (int i = 1; i <= 100; i++) {
+      test.record(i * 1000);
+    }
+    test.record(-5);
+    CalculationTimingStatistics stats = test.statistics("Task", "All");
+    assertThat(stats.getCount()).isEqualTo(101);
+    assertThat(stats.getTotalNanos()).isEqualTo(5_050_000);
+    assertThat(stats.getMaxNanos()).isEqualTo(100_000);
+    // percentiles are accurate to within the size of a bucket
+    assertThat(stats.getMedianNanos()).isBetween(50_000L, 62_500L);
+    assertThat(stats.getPercentile90Nanos()).isBetween(90_000L, 100_000L);
+    assertThat(stats.getPercentile99Nanos()).isBetween(99_000L, 100_000L);
+  }
+
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (C) 2019 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * A queue of tasks that are run optionally in parallel, with the results consumed in submission order.
+ * <p>
+ * Up to {@code parallelism} tasks are pending at the same time. When a task is submitted and
+ * the queue is full, the result of the oldest task is consumed first. When the result of a task
+ * is needed and the executor has not yet started it, the task is run on the calling thread.
+ * As such, progress is made even if the executor is busy, which allows the queue to be used
+ * from a thread of the same executor. It is the caller's responsibility to manage the
+ * life-cycle of the executor.
+ * <p>
+ * The consumer is only invoked on the thread that submits the tasks, thus it does not need to be thread-safe.
+ * If a task throws an exception or error, it is rethrown on the calling thread.
+ * <p>
+ * Where the number of tasks is known up-front, such as a function of an index, use {@link ParallelEvaluator} instead.
+ * <p>
+ * This class is mutable and not thread-safe. It is intended to be used by a single thread.
+ *
+ * @param <T>  the type of the task results
+ */
+public final class OrderedTaskQueue<T> {
+
+  /**
+   * The executor used to run the tasks, null if serial.
+   */
+  private final Executor executor;
+  /**
+   * The maximum number of tasks that are pending at the same time.
+   */
+  private final int parallelism;
+  /**
+   * The consumer of the results, invoked in submission order.
+   */
+  private final Consumer<? super T> consumer;
+  /**
+   * The pending tasks, oldest first.
+   */
+  private final Deque<FutureTask<T>> pending = new ArrayDeque<>();
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance that runs each task on the calling thread when it is submitted.
+   *
+   * @param <T>  the type of the task results
+   * @param consumer  the consumer of the results
+   * @return the queue
+   */
+  public static <T> OrderedTaskQueue<T> serial(Consumer<? super T> consumer) {
+    ArgChecker.notNull(consumer, "consumer");
+    return new OrderedTaskQueue<>(null, 1, consumer);
+  }
+
+  /**
+   * Obtains an instance that runs the tasks on an executor.
+   * <p>
+   * If the parallelism is one, each task is run on the calling thread when it is submitted.
+   *
+   * @param <T>  the type of the task results
+   * @param executor  the executor used to run the tasks
+   * @param parallelism  the maximum number of tasks that are pending at the same time
+   * @param consumer  the consumer of the results
+   * @return the queue
+   */
+  public static <T> OrderedTaskQueue<T> of(Executor executor, int parallelism, Consumer<? super T> consumer) {
+    ArgChecker.notNull(executor, "executor");
+    ArgChecker.notNegativeOrZero(parallelism, "parallelism");
+    ArgChecker.notNull(consumer, "consumer");
+    return new OrderedTaskQueue<>(parallelism == 1 ? null : executor, parallelism, consumer);
+  }
+
+  // restricted constructor
+  private OrderedTaskQueue(Executor executor, int parallelism, Consumer<? super T> consumer) {
+    this.executor = executor;
+    this.parallelism = parallelism;
+    this.consumer = consumer;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Submits a task.
+   * <p>
+   * If the queue is full, the result of the oldest task is consumed before the task is submitted.
+   * When serial, the task is run and its result consumed before this method returns.
+   *
+   * @param task  the task
+   */
+  public void submit(Supplier<? extends T> task) {
+    ArgChecker.notNull(task, "task");
+    if (executor == null) {
+      consumer.accept(task.get());
+      return;
+    }
+    if (pending.size() >= parallelism) {
+      complete(pending.removeFirst());
+    }
+    FutureTask<T> future = new FutureTask<>(task::get);
+    pending.addLast(future);
+    executor.execute(future);
+  }
+
+  /**
+   * Consumes the results of all pending tasks, in submission order.
+   * <p>
+   * This blocks until all the tasks submitted to the queue have completed.
+   */
+  public void finish() {
+    while (!pending.isEmpty()) {
+      complete(pending.removeFirst());
+    }
+  }
+
+  // consumes the result of a task, running it on the calling thread if it has not been started
+  private void complete(FutureTask<T> task) {
+    task.run();
+    T result;
+    try {
+      result = task.get();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for task", ex);
+    } catch (ExecutionException ex) {
+      Throwable cause = ex.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw new IllegalStateException(cause);
+    }
+    consumer.accept(result);
+  }
+
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright (C) 2019 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.function.IntToDoubleFunction;
+
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+
+/**
+ * Evaluates a function for each index of a range, optionally in parallel.
+ * <p>
+ * The results are stored by index, thus are the same as evaluating each index in turn.
+ * <p>
+ * The calling thread always takes part in the evaluation, with up to {@code parallelism - 1}
+ * helper tasks submitted to the executor. As such, progress is made even if the executor is busy,
+ * which allows the evaluator to be used from a thread of the same executor. It is the caller's
+ * responsibility to manage the life-cycle of the executor.
+ * <p>
+ * Where the tasks are not indexed up-front, but are submitted one at a time and consumed in order,
+ * use {@link OrderedTaskQueue} instead.
+ * <p>
+ * This class is immutable and thread-safe.
+ */
+public final class ParallelEvaluator {
+
+  /**
+   * The evaluator that evaluates each index in turn on the calling thread.
+   */
+  public static final ParallelEvaluator SERIAL = new ParallelEvaluator(null, 1);
+
+  /**
+   * The executor used to run the helper tasks, null if serial.
+   */
+  private final Executor executor;
+  /**
+   * The maximum number of indices that are evaluated at the same time.
+   */
+  private final int parallelism;
+
+  /**
+   * Obtains an instance.
+   *
+   * @param executor  the executor used to run the helper tasks
+   * @param parallelism  the maximum number of indices that are evaluated at the same time
+   * @return the evaluator
+   */
+  public static ParallelEvaluator of(Executor executor, int parallelism) {
+    ArgChecker.notNull(executor, "executor");
+    ArgChecker.notNegativeOrZero(parallelism, "parallelism");
+    return parallelism == 1 ? SERIAL : new ParallelEvaluator(executor, parallelism);
+  }
+
+  // restricted constructor
+  private ParallelEvaluator(Executor executor, int parallelism) {
+    this.executor = executor;
+    this.parallelism = parallelism;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the maximum number of indices that are evaluated at the same time.
+   *
+   * @return the parallelism
+   */
+  public int getParallelism() {
+    return parallelism;
+  }
+
+  /**
+   * Evaluates a function for each index, returning the results as an array.
+   *
+   * @param size  the number of indices
+   * @param function  the function to evaluate
+   * @return the array of results
+   */
+  public DoubleArray values(int size, IntToDoubleFunction function) {
+    double[] result = new double[size];
+    forEach(size, i -> result[i] = function.applyAsDouble(i));
+    return DoubleArray.ofUnsafe(result);
+  }
+
+  /**
+   * Evaluates a function for each row index, returning the results as the rows of a matrix.
+   *
+   * @param rows  the number of rows
+   * @param columns  the number of columns
+   * @param function  the function to evaluate, returning an array of the size of the number of columns
+   * @return the matrix of results
+   */
+  public DoubleMatrix rows(int rows, int columns, IntFunction<DoubleArray> function) {
+    DoubleArray[] result = new DoubleArray[rows];
+    forEach(rows, i -> result[i] = function.apply(i));
+    return DoubleMatrix.ofArrayObjects(rows, columns, i -> result[i]);
+  }
+
+  /**
+   * Evaluates a function for each index, returning the results as a list.
+   *
+   * @param <T>  the type of the results
+   * @param size  the number of indices
+   * @param function  the function to evaluate
+   * @return the list of results, in index order
+   */
+  public <T> List<T> objects(int size, IntFunction<T> function) {
+    Object[] result = new Object[size];
+    forEach(size, i -> result[i] = function.apply(i));
+    @SuppressWarnings("unchecked")
+    List<T> list = (List<T>) Arrays.asList(result);
+    return Collections.unmodifiableList(list);
+  }
+
+  // evaluates the consumer for each index, blocking until all have completed
+  // the first exception or error is rethrown on the calling thread, with the remaining indices skipped
+  private void forEach(int size, IntConsumer consumer) {
+    int helperCount = Math.min(parallelism, size) - 1;
+    if (helperCount <= 0) {
+      for (int i = 0; i < size; i++) {
+        consumer.accept(i);
+      }
+      return;
+    }
+    AtomicInteger nextIndex = new AtomicInteger();
+    CountDownLatch remaining = new CountDownLatch(size);
+    AtomicReference<Throwable> failure = new AtomicReference<>();
+    Runnable worker = () -> {
+      for (int i = nextIndex.getAndIncrement(); i < size; i = nextIndex.getAndIncrement()) {
+        try {
+          if (failure.get() == null) {
+            consumer.accept(i);
+          }
+        } catch (Throwable ex) {
+          failure.compareAndSet(null, ex);
+        } finally {
+          remaining.countDown();
+        }
+      }
+    };
+    for (int i = 0; i < helperCount; i++) {
+      executor.execute(worker);
+    }
+    worker.run();
+    try {
+      remaining.await();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for evaluation", ex);
+    }
+    Throwable ex = failure.get();
+    if (ex instanceof RuntimeException) {
+      throw (RuntimeException) ex;
+    }
+    if (ex instanceof Error) {
+      throw (Error) ex;
+    }
+    if (ex != null) {
+      throw new IllegalStateException(ex);
+    }
+  }
+
+}
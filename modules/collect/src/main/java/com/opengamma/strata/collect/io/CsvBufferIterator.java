@@ -0,0 +1,464 @@
+/*
+ * Copyright (C) 2019 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.io;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.io.ByteSource;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Unchecked;
+
+/**
+ * High-throughput iterator over the rows of a CSV file held as bytes.
+ * <p>
+ * This parses the same format as {@link CsvFile} and {@link CsvIterator}, but operates on bytes
+ * rather than characters, and is intended for very large files.
+ * The input is either a {@link ByteBuffer}, such as a memory-mapped file, or a {@link ByteSource}
+ * which is read in blocks. The input must be encoded in UTF-8, or ASCII, with an optional byte order mark.
+ * <p>
+ * No objects are created for each row. A single {@link CsvBufferRow} is reused, and the fields
+ * are only decoded when accessed. Numbers and dates may be parsed directly from the bytes using
+ * {@link CsvBufferRow#parseDouble(int)} and {@link CsvBufferRow#parseDate(int)}.
+ * Where the full row API is needed, {@link CsvBufferRow#toCsvRow()} converts the row to a {@link CsvRow}.
+ * <p>
+ * This class must be used in a try-with-resources block to ensure that the underlying source is closed:
+ * <pre>
+ *  try (CsvBufferIterator csvIterator = CsvBufferIterator.of(source, true)) {
+ *    int valueIndex = csvIterator.headerIndex("Value");
+ *    while (csvIterator.hasNext()) {
+ *      CsvBufferRow row = csvIterator.next();
+ *      double value = row.parseDouble(valueIndex);
+ *    }
+ *  }
+ * </pre>
+ * This class is mutable and not intended for use in multiple threads.
+ */
+public final class CsvBufferIterator implements AutoCloseable {
+
+  /**
+   * The initial size of the buffer when reading from a channel.
+   */
+  private static final int BLOCK_SIZE = 1 << 16;
+
+  /**
+   * The channel, null if the whole input is in the buffer.
+   */
+  private final ReadableByteChannel channel;
+  /**
+   * The separator.
+   */
+  private final byte separator;
+  /**
+   * The header row, ordered as the headers appear in the file.
+   */
+  private final ImmutableList<String> headers;
+  /**
+   * The header map, transformed for case-insensitive searching.
+   */
+  private final ImmutableMap<String, Integer> searchHeaders;
+  /**
+   * The row, reused for each line.
+   */
+  private final CsvBufferRow row;
+  /**
+   * The buffer.
+   */
+  private ByteBuffer buffer;
+  /**
+   * The position of the next unread byte in the buffer.
+   */
+  private int position;
+  /**
+   * The limit of the data in the buffer.
+   */
+  private int limit;
+  /**
+   * Whether the end of the input has been reached.
+   */
+  private boolean endOfInput;
+  /**
+   * Whether a line feed should be skipped, as the last line ended with a carriage return.
+   */
+  private boolean skipLineFeed;
+  /**
+   * The start of the current line.
+   */
+  private int lineStart;
+  /**
+   * The end of the current line.
+   */
+  private int lineEnd;
+  /**
+   * The current line number in the source file.
+   */
+  private int currentLineNumber;
+  /**
+   * Whether the row holds the next row.
+   */
+  private boolean nextAvailable;
+
+  //------------------------------------------------------------------------
+  /**
+   * Parses the specified source as a CSV file, using a comma as the separator.
+   *
+   * @param source  the source to read as CSV
+   * @param headerRow  whether the source has a header row, an empty source must still contain the header
+   * @return the CSV iterator
+   * @throws UncheckedIOException if an IO exception occurs
+   * @throws IllegalArgumentException if the file cannot be parsed
+   */
+  public static CsvBufferIterator of(ByteSource source, boolean headerRow) {
+    return of(source, headerRow, ',');
+  }
+
+  /**
+   * Parses the specified source as a CSV file where the separator is specified and might not be a comma.
+   * <p>
+   * The source is read in blocks. A source encoded in UTF-16, as indicated by a byte order mark,
+   * is converted to UTF-8 in memory.
+   *
+   * @param source  the source to read as CSV
+   * @param headerRow  whether the source has a header row, an empty source must still contain the header
+   * @param separator  the separator used to separate each field, typically a comma, but a tab is sometimes used
+   * @return the CSV iterator
+   * @throws UncheckedIOException if an IO exception occurs
+   * @throws IllegalArgumentException if the file cannot be parsed
+   */
+  public static CsvBufferIterator of(ByteSource source, boolean headerRow, char separator) {
+    ArgChecker.notNull(source, "source");
+    if (isUtf16(Unchecked.wrap(() -> source.slice(0, 2).read()))) {
+      byte[] bytes = Unchecked.wrap(() -> UnicodeBom.toCharSource(source).read()).getBytes(UTF_8);
+      return of(ByteBuffer.wrap(bytes), headerRow, separator);
+    }
+    @SuppressWarnings("resource")
+    InputStream stream = Unchecked.wrap(() -> source.openStream());
+    ReadableByteChannel channel = Channels.newChannel(stream);
+    return create(channel, ByteBuffer.allocate(BLOCK_SIZE), 0, headerRow, separator);
+  }
+
+  /**
+   * Parses the specified buffer as a CSV file, using a comma as the separator.
+   * <p>
+   * The buffer may be memory-mapped, in which case the file is parsed without copying.
+   * The bytes from the position to the limit of the buffer are parsed.
+   * The buffer must not be changed while the iterator is in use.
+   *
+   * @param buffer  the buffer to read as CSV
+   * @param headerRow  whether the buffer has a header row, an empty buffer must still contain the header
+   * @return the CSV iterator
+   * @throws IllegalArgumentException if the file cannot be parsed
+   */
+  public static CsvBufferIterator of(ByteBuffer buffer, boolean headerRow) {
+    return of(buffer, headerRow, ',');
+  }
+
+  /**
+   * Parses the specified buffer as a CSV file where the separator is specified and might not be a comma.
+   * <p>
+   * The buffer may be memory-mapped, in which case the file is parsed without copying.
+   * The bytes from the position to the limit of the buffer are parsed.
+   * The buffer must not be changed while the iterator is in use.
+   *
+   * @param buffer  the buffer to read as CSV
+   * @param headerRow  whether the buffer has a header row, an empty buffer must still contain the header
+   * @param separator  the separator used to separate each field, typically a comma, but a tab is sometimes used
+   * @return the CSV iterator
+   * @throws IllegalArgumentException if the file cannot be parsed
+   */
+  public static CsvBufferIterator of(ByteBuffer buffer, boolean headerRow, char separator) {
+    ArgChecker.notNull(buffer, "buffer");
+    ByteBuffer slice = buffer.slice();
+    ArgChecker.isFalse(
+        slice.remaining() >= 2 && isUtf16(new byte[] {slice.get(0), slice.get(1)}),
+        "CSV buffer must be encoded in UTF-8");
+    return create(null, slice, slice.limit(), headerRow, separator);
+  }
+
+  // checks for a UTF-16 byte order mark
+  private static boolean isUtf16(byte[] bytes) {
+    return bytes.length == 2 &&
+        ((bytes[0] == (byte) 0xFE && bytes[1] == (byte) 0xFF) || (bytes[0] == (byte) 0xFF && bytes[1] == (byte) 0xFE));
+  }
+
+  // create the iterator
+  private static CsvBufferIterator create(
+      ReadableByteChannel channel,
+      ByteBuffer buffer,
+      int limit,
+      boolean headerRow,
+      char separator) {
+
+    ArgChecker.isTrue(separator < 0x80, "Separator must be an ASCII character");
+    try {
+      CsvBufferIterator reader = new CsvBufferIterator(
+          channel, buffer, limit, (byte) separator, ImmutableList.of(), ImmutableMap.of());
+      reader.skipByteOrderMark();
+      if (!headerRow) {
+        return reader;
+      }
+      if (reader.hasNext()) {
+        ImmutableList<String> headers = reader.next().toCsvRow().fields();
+        return new CsvBufferIterator(reader, headers, CsvFile.buildSearchHeaders(headers));
+      }
+      throw new IllegalArgumentException("Could not read header row from empty CSV file");
+
+    } catch (RuntimeException ex) {
+      if (channel != null) {
+        try {
+          channel.close();
+        } catch (IOException ex2) {
+          ex.addSuppressed(ex2);
+        }
+      }
+      throw ex;
+    }
+  }
+
+  //------------------------------------------------------------------------
+  /**
+   * Restricted constructor.
+   *
+   * @param channel  the channel, null if the whole input is in the buffer
+   * @param buffer  the buffer
+   * @param limit  the limit of the data in the buffer
+   * @param separator  the separator
+   * @param headers  the header row
+   * @param searchHeaders  the search headers
+   */
+  private CsvBufferIterator(
+      ReadableByteChannel channel,
+      ByteBuffer buffer,
+      int limit,
+      byte separator,
+      ImmutableList<String> headers,
+      ImmutableMap<String, Integer> searchHeaders) {
+
+    this.channel = channel;
+    this.buffer = buffer;
+    this.limit = limit;
+    this.endOfInput = channel == null;
+    this.separator = separator;
+    this.headers = headers;
+    this.searchHeaders = searchHeaders;
+    this.row = new CsvBufferRow(headers, searchHeaders);
+  }
+
+  /**
+   * Restricted constructor, continuing from the header row.
+   *
+   * @param other  the iterator that read the header row
+   * @param headers  the header row
+   * @param searchHeaders  the search headers
+   */
+  private CsvBufferIterator(
+      CsvBufferIterator other,
+      ImmutableList<String> headers,
+      ImmutableMap<String, Integer> searchHeaders) {
+
+    this(other.channel, other.buffer, other.limit, other.separator, headers, searchHeaders);
+    this.position = other.position;
+    this.endOfInput = other.endOfInput;
+    this.skipLineFeed = other.skipLineFeed;
+    this.currentLineNumber = other.currentLineNumber;
+  }
+
+  //------------------------------------------------------------------------
+  /**
+   * Gets the header row.
+   * <p>
+   * If there is no header row, an empty list is returned.
+   *
+   * @return the header row
+   */
+  public ImmutableList<String> headers() {
+    return headers;
+  }
+
+  /**
+   * Checks if the header is known.
+   * <p>
+   * Matching is case insensitive.
+   *
+   * @param header  the column header to match
+   * @return true if the header is known
+   */
+  public boolean containsHeader(String header) {
+    return searchHeaders.containsKey(header.toLowerCase(Locale.ENGLISH));
+  }
+
+  /**
+   * Gets the index of the specified header.
+   * <p>
+   * This returns the index of the first column where the header matches the specified header.
+   * Matching is case insensitive.
+   * The index is typically obtained once and used to access the field of each row.
+   *
+   * @param header  the column header to match
+   * @return the index of the header
+   * @throws IllegalArgumentException if the header is not found
+   */
+  public int headerIndex(String header) {
+    Integer index = searchHeaders.get(header.toLowerCase(Locale.ENGLISH));
+    if (index == null) {
+      throw new IllegalArgumentException("Header not found: '" + header + "'");
+    }
+    return index;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Checks whether there is another row in the CSV file.
+   * <p>
+   * If there is another row, it is parsed into the row returned by {@link #next()}.
+   *
+   * @return true if there is another row, false if not
+   * @throws UncheckedIOException if an IO exception occurs
+   */
+  public boolean hasNext() {
+    if (nextAvailable) {
+      return true;
+    }
+    while (nextLine()) {
+      if (row.parse(buffer, lineStart, lineEnd, separator, currentLineNumber)) {
+        nextAvailable = true;
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Returns the next row from the CSV file.
+   * <p>
+   * The same row instance is returned each time, and is only valid until the iterator is advanced.
+   *
+   * @return the next row
+   * @throws UncheckedIOException if an IO exception occurs
+   * @throws NoSuchElementException if the end of file has been reached
+   */
+  public CsvBufferRow next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException("CsvBufferIterator has reached the end of the file");
+    }
+    nextAvailable = false;
+    return row;
+  }
+
+  //-------------------------------------------------------------------------
+  // skips the UTF-8 byte order mark
+  private void skipByteOrderMark() {
+    while (limit < 3 && !endOfInput) {
+      fill();
+    }
+    if (limit >= 3 &&
+        buffer.get(0) == (byte) 0xEF && buffer.get(1) == (byte) 0xBB && buffer.get(2) == (byte) 0xBF) {
+      position = 3;
+    }
+  }
+
+  // finds the next line, handling CR, LF and CRLF
+  private boolean nextLine() {
+    int scan = position;
+    while (true) {
+      if (skipLineFeed && position < limit) {
+        if (buffer.get(position) == '\n') {
+          position++;
+        }
+        skipLineFeed = false;
+        scan = position;
+      }
+      if (!skipLineFeed || endOfInput) {
+        skipLineFeed = false;
+        for (int i = scan; i < limit; i++) {
+          byte ch = buffer.get(i);
+          if (ch == '\n' || ch == '\r') {
+            lineStart = position;
+            lineEnd = i;
+            position = i + 1;
+            skipLineFeed = ch == '\r';
+            currentLineNumber++;
+            return true;
+          }
+        }
+        scan = limit;
+        if (endOfInput) {
+          if (position < limit) {
+            lineStart = position;
+            lineEnd = limit;
+            position = limit;
+            currentLineNumber++;
+            return true;
+          }
+          return false;
+        }
+      }
+      scan -= fill();
+    }
+  }
+
+  // reads more data from the channel, returning the number of bytes the data was shifted by
+  private int fill() {
+    if (endOfInput) {
+      return 0;
+    }
+    int shift = position;
+    byte[] array = buffer.array();
+    if (shift > 0) {
+      System.arraycopy(array, shift, array, 0, limit - shift);
+      limit -= shift;
+      position = 0;
+    }
+    if (limit == array.length) {
+      byte[] larger = new byte[array.length * 2];
+      System.arraycopy(array, 0, larger, 0, limit);
+      array = larger;
+      buffer = ByteBuffer.wrap(array);
+    }
+    ByteBuffer target = ByteBuffer.wrap(array, limit, array.length - limit);
+    int read = Unchecked.wrap(() -> channel.read(target));
+    if (read < 0) {
+      endOfInput = true;
+    } else {
+      limit += read;
+    }
+    return shift;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Closes the underlying source.
+   *
+   * @throws UncheckedIOException if an IO exception occurs
+   */
+  @Override
+  public void close() {
+    if (channel != null) {
+      Unchecked.wrap(() -> channel.close());
+    }
+  }
+
+  /**
+   * Returns a string describing the CSV iterator.
+   *
+   * @return the descriptive string
+   */
+  @Override
+  public String toString() {
+    return "CsvBufferIterator" + headers.toString();
+  }
+
+}
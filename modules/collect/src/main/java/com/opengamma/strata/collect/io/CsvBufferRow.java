@@ -0,0 +1,586 @@
+/*
+ * Copyright (C) 2019 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.io;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.nio.ByteBuffer;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Optional;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * A row in a CSV file parsed by {@link CsvBufferIterator}.
+ * <p>
+ * The fields of the row are held as positions in the underlying buffer and are only decoded when accessed.
+ * The {@link #fieldSequence(int)} method provides a view of a field without creating a string,
+ * while {@link #parseDouble(int)} and {@link #parseDate(int)} parse the field directly from the buffer.
+ * The {@link #toCsvRow()} method converts the row to a standard {@link CsvRow}.
+ * <p>
+ * The same instance is reused for each row returned by the iterator, thus the row
+ * is only valid until the next call to {@link CsvBufferIterator#hasNext()} or {@link CsvBufferIterator#next()}.
+ * The character sequences returned by {@link #fieldSequence(int)} are also only valid until then.
+ * <p>
+ * This class is mutable and not intended for use in multiple threads.
+ */
+public final class CsvBufferRow {
+
+  /**
+   * Exact powers of ten, used for fast parsing of doubles.
+   */
+  private static final double[] POWERS_OF_TEN = {
+      1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+      1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+  /**
+   * The maximum number of significant digits for fast parsing of doubles.
+   */
+  private static final int MAX_FAST_DIGITS = 15;
+
+  /**
+   * The header row, ordered as the headers appear in the file.
+   */
+  private final ImmutableList<String> headers;
+  /**
+   * The header map, transformed for case-insensitive searching.
+   */
+  private final ImmutableMap<String, Integer> searchHeaders;
+  /**
+   * The buffer holding the current line.
+   */
+  private ByteBuffer buffer;
+  /**
+   * The start of each field in the buffer.
+   */
+  private int[] starts = new int[16];
+  /**
+   * The end of each field in the buffer.
+   */
+  private int[] ends = new int[16];
+  /**
+   * The decoded value of each field that cannot be represented as a range of the buffer, null otherwise.
+   */
+  private String[] decoded = new String[16];
+  /**
+   * The number of fields in the row.
+   */
+  private int size;
+  /**
+   * The line number in the source file.
+   */
+  private int lineNumber;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates an instance.
+   *
+   * @param headers  the headers
+   * @param searchHeaders  the search headers
+   */
+  CsvBufferRow(ImmutableList<String> headers, ImmutableMap<String, Integer> searchHeaders) {
+    this.headers = headers;
+    this.searchHeaders = searchHeaders;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Parses a line of the buffer into this row, using the same rules as {@link CsvFile}.
+   *
+   * @param buffer  the buffer
+   * @param start  the start of the line, inclusive
+   * @param end  the end of the line, exclusive
+   * @param separator  the separator
+   * @param lineNumber  the line number
+   * @return true if the line has content, false if it is blank or a comment
+   */
+  boolean parse(ByteBuffer buffer, int start, int end, byte separator, int lineNumber) {
+    this.buffer = buffer;
+    this.lineNumber = lineNumber;
+    this.size = 0;
+    if (start == end) {
+      return false;
+    }
+    byte first = buffer.get(start);
+    if (first == '#' || (first == ';' && separator != ';')) {
+      return false;
+    }
+    int pos = start;
+    while (true) {
+      // ignore spaces after separators, and the equals in the ="xxx" convention
+      while (pos < end && buffer.get(pos) == ' ') {
+        pos++;
+      }
+      if (pos < end - 1 && buffer.get(pos) == '=' && buffer.get(pos + 1) == '"') {
+        pos++;
+      }
+      if (pos == end) {
+        // the line ends with a separator
+        addField(pos, pos, null);
+        break;
+      }
+      byte ch = buffer.get(pos);
+      if (ch == separator) {
+        addField(pos, pos, null);
+        pos++;
+        continue;
+      }
+      if (ch == '"') {
+        // quoted mode, two double quotes will become one
+        int quoteStart = pos + 1;
+        int quoteEnd = quoteStart;
+        boolean escaped = false;
+        while (quoteEnd < end) {
+          if (buffer.get(quoteEnd) == '"') {
+            if (quoteEnd < end - 1 && buffer.get(quoteEnd + 1) == '"') {
+              escaped = true;
+              quoteEnd += 2;
+              continue;
+            }
+            break;
+          }
+          quoteEnd++;
+        }
+        if (quoteEnd >= end) {
+          // end of line with quote not terminated properly
+          addField(quoteStart, end, escaped ? unescape(quoteStart, end) : null);
+          break;
+        }
+        // any text after the quoted section is trimmed and combined with it
+        int sepPos = findSeparator(quoteEnd + 1, end, separator);
+        int trimStart = trimStart(quoteEnd + 1, sepPos);
+        int trimEnd = trimEnd(trimStart, sepPos);
+        if (trimStart == trimEnd) {
+          addField(quoteStart, quoteEnd, escaped ? unescape(quoteStart, quoteEnd) : null);
+        } else {
+          String quoted = escaped ? unescape(quoteStart, quoteEnd) : decode(quoteStart, quoteEnd);
+          addField(quoteStart, quoteEnd, quoted + decode(trimStart, trimEnd));
+        }
+        if (sepPos == end) {
+          break;
+        }
+        pos = sepPos + 1;
+      } else {
+        // non-quoted mode
+        int sepPos = findSeparator(pos, end, separator);
+        int trimEnd = trimEnd(pos, sepPos);
+        addField(trimStart(pos, trimEnd), trimEnd, null);
+        if (sepPos == end) {
+          break;
+        }
+        pos = sepPos + 1;
+      }
+    }
+    // check line has content, this handles lines that contain separators but nothing else
+    for (int i = 0; i < size; i++) {
+      if (decoded[i] != null ? !decoded[i].isEmpty() : starts[i] < ends[i]) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  // finds the next separator, or the end
+  private int findSeparator(int pos, int end, byte separator) {
+    int i = pos;
+    while (i < end && buffer.get(i) != separator) {
+      i++;
+    }
+    return i;
+  }
+
+  // trims leading whitespace, matching String.trim()
+  private int trimStart(int start, int end) {
+    int i = start;
+    while (i < end && (buffer.get(i) & 0xFF) <= ' ') {
+      i++;
+    }
+    return i;
+  }
+
+  // trims trailing whitespace, matching String.trim()
+  private int trimEnd(int start, int end) {
+    int i = end;
+    while (i > start && (buffer.get(i - 1) & 0xFF) <= ' ') {
+      i--;
+    }
+    return i;
+  }
+
+  // decodes a quoted section containing escaped quotes
+  private String unescape(int start, int end) {
+    return decode(start, end).replace("\"\"", "\"");
+  }
+
+  // adds a field
+  private void addField(int start, int end, String decodedValue) {
+    if (size == starts.length) {
+      starts = Arrays.copyOf(starts, size * 2);
+      ends = Arrays.copyOf(ends, size * 2);
+      decoded = Arrays.copyOf(decoded, size * 2);
+    }
+    starts[size] = start;
+    ends[size] = end;
+    decoded[size] = decodedValue;
+    size++;
+  }
+
+  // decodes part of the buffer as UTF-8
+  private String decode(int start, int end) {
+    if (buffer.hasArray()) {
+      return new String(buffer.array(), buffer.arrayOffset() + start, end - start, UTF_8);
+    }
+    byte[] bytes = new byte[end - start];
+    for (int i = 0; i < bytes.length; i++) {
+      bytes[i] = buffer.get(start + i);
+    }
+    return new String(bytes, UTF_8);
+  }
+
+  //------------------------------------------------------------------------
+  /**
+   * Gets the header row.
+   * <p>
+   * If there is no header row, an empty list is returned.
+   *
+   * @return the header row
+   */
+  public ImmutableList<String> headers() {
+    return headers;
+  }
+
+  /**
+   * Gets the line number in the source file.
+   *
+   * @return the line number
+   */
+  public int lineNumber() {
+    return lineNumber;
+  }
+
+  /**
+   * Gets the number of fields.
+   * <p>
+   * This will never be less than the number of headers.
+   *
+   * @return the number of fields
+   */
+  public int fieldCount() {
+    return Math.max(size, headers.size());
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the specified field as a string.
+   * <p>
+   * This decodes the field, see {@link #fieldSequence(int)} to avoid creating a string.
+   *
+   * @param index  the field index
+   * @return the field
+   * @throws IndexOutOfBoundsException if the field index is invalid
+   */
+  public String field(int index) {
+    if (checkIndex(index)) {
+      return "";
+    }
+    return decoded[index] != null ? decoded[index] : decode(starts[index], ends[index]);
+  }
+
+  /**
+   * Gets the specified field as a character sequence.
+   * <p>
+   * Fields that only contain ASCII characters are returned as a view of the buffer, without copying.
+   * The sequence is only valid until the iterator is advanced, {@code toString()} must be
+   * called to retain the value.
+   *
+   * @param index  the field index
+   * @return the field
+   * @throws IndexOutOfBoundsException if the field index is invalid
+   */
+  public CharSequence fieldSequence(int index) {
+    if (checkIndex(index)) {
+      return "";
+    }
+    if (decoded[index] != null) {
+      return decoded[index];
+    }
+    int start = starts[index];
+    int end = ends[index];
+    for (int i = start; i < end; i++) {
+      if (buffer.get(i) < 0) {
+        return decode(start, end);
+      }
+    }
+    return new AsciiSequence(buffer, start, end);
+  }
+
+  /**
+   * Checks if the specified field is empty.
+   *
+   * @param index  the field index
+   * @return true if the field is empty
+   * @throws IndexOutOfBoundsException if the field index is invalid
+   */
+  public boolean isEmpty(int index) {
+    if (checkIndex(index)) {
+      return true;
+    }
+    return decoded[index] != null ? decoded[index].isEmpty() : starts[index] == ends[index];
+  }
+
+  /**
+   * Parses the specified field as a {@code double}.
+   * <p>
+   * Plain decimal numbers, optionally with an exponent, are parsed directly from the buffer.
+   * Other formats accepted by {@link Double#parseDouble(String)} are also supported.
+   *
+   * @param index  the field index
+   * @return the parsed value
+   * @throws IndexOutOfBoundsException if the field index is invalid
+   * @throws NumberFormatException if the field is not a number
+   */
+  public double parseDouble(int index) {
+    if (checkIndex(index) || decoded[index] != null) {
+      return Double.parseDouble(field(index));
+    }
+    int pos = starts[index];
+    int end = ends[index];
+    boolean negative = false;
+    if (pos < end && (buffer.get(pos) == '-' || buffer.get(pos) == '+')) {
+      negative = buffer.get(pos) == '-';
+      pos++;
+    }
+    long mantissa = 0;
+    int digits = 0;
+    int exponent = 0;
+    int digitsStart = pos;
+    boolean point = false;
+    for (; pos < end; pos++) {
+      int ch = buffer.get(pos);
+      if (ch >= '0' && ch <= '9') {
+        mantissa = mantissa * 10 + (ch - '0');
+        if (mantissa != 0) {
+          digits++;
+        }
+        if (point) {
+          exponent--;
+        }
+        if (digits > MAX_FAST_DIGITS) {
+          return Double.parseDouble(field(index));
+        }
+      } else if (ch == '.' && !point) {
+        point = true;
+      } else {
+        break;
+      }
+    }
+    if (pos - digitsStart == (point ? 1 : 0)) {
+      // no digits
+      return Double.parseDouble(field(index));
+    }
+    if (pos < end && (buffer.get(pos) == 'e' || buffer.get(pos) == 'E')) {
+      pos++;
+      boolean negativeExponent = false;
+      if (pos < end && (buffer.get(pos) == '-' || buffer.get(pos) == '+')) {
+        negativeExponent = buffer.get(pos) == '-';
+        pos++;
+      }
+      int exponentStart = pos;
+      int explicitExponent = 0;
+      for (; pos < end && pos - exponentStart < 4; pos++) {
+        int ch = buffer.get(pos);
+        if (ch < '0' || ch > '9') {
+          break;
+        }
+        explicitExponent = explicitExponent * 10 + (ch - '0');
+      }
+      if (pos == exponentStart) {
+        return Double.parseDouble(field(index));
+      }
+      exponent += negativeExponent ? -explicitExponent : explicitExponent;
+    }
+    if (pos != end || exponent < -22 || exponent > 22) {
+      return Double.parseDouble(field(index));
+    }
+    // the mantissa and the power of ten are exact, thus a single operation is correctly rounded
+    double value = exponent >= 0 ? mantissa * POWERS_OF_TEN[exponent] : mantissa / POWERS_OF_TEN[-exponent];
+    return negative ? -value : value;
+  }
+
+  /**
+   * Parses the specified field as a date.
+   * <p>
+   * The date must be in the ISO format 'yyyy-MM-dd' or the basic format 'yyyyMMdd',
+   * which are parsed directly from the buffer.
+   * Other formats must be parsed from {@link #field(int)}.
+   *
+   * @param index  the field index
+   * @return the parsed date
+   * @throws IndexOutOfBoundsException if the field index is invalid
+   * @throws IllegalArgumentException if the field is not a date in a supported format
+   */
+  public LocalDate parseDate(int index) {
+    if (!checkIndex(index) && decoded[index] == null) {
+      int start = starts[index];
+      int length = ends[index] - start;
+      try {
+        if (length == 10 && buffer.get(start + 4) == '-' && buffer.get(start + 7) == '-') {
+          int year = digits(start, 4);
+          int month = digits(start + 5, 2);
+          int day = digits(start + 8, 2);
+          if (year >= 0 && month >= 0 && day >= 0) {
+            return LocalDate.of(year, month, day);
+          }
+        } else if (length == 8) {
+          int year = digits(start, 4);
+          int month = digits(start + 4, 2);
+          int day = digits(start + 6, 2);
+          if (year >= 0 && month >= 0 && day >= 0) {
+            return LocalDate.of(year, month, day);
+          }
+        }
+      } catch (DateTimeException ex) {
+        throw new IllegalArgumentException("Invalid date: '" + field(index) + "'", ex);
+      }
+    }
+    throw new IllegalArgumentException(
+        "Unknown date format, must be formatted as yyyy-MM-dd or yyyyMMdd but was: '" + field(index) + "'");
+  }
+
+  // parses a fixed number of digits, returning -1 if not all digits
+  private int digits(int start, int count) {
+    int result = 0;
+    for (int i = start; i < start + count; i++) {
+      int ch = buffer.get(i);
+      if (ch < '0' || ch > '9') {
+        return -1;
+      }
+      result = result * 10 + (ch - '0');
+    }
+    return result;
+  }
+
+  // checks the index, returning true if the field is a missing trailing field
+  private boolean checkIndex(int index) {
+    if (index >= size && index < headers.size()) {
+      return true;
+    }
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("Invalid field index: " + index);
+    }
+    return false;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets a single field value from the row by header.
+   * <p>
+   * This returns the value of the first column where the header matches the specified header.
+   * Matching is case insensitive.
+   *
+   * @param header  the column header
+   * @return the trimmed field value
+   * @throws IllegalArgumentException if the header is not found
+   */
+  public String getField(String header) {
+    Integer index = searchHeaders.get(header.toLowerCase(Locale.ENGLISH));
+    if (index == null) {
+      throw new IllegalArgumentException("Header not found: '" + header + "'");
+    }
+    return field(index);
+  }
+
+  /**
+   * Gets a single field value from the row by header.
+   * <p>
+   * This returns the value of the first column where the header matches the specified header.
+   * Matching is case insensitive.
+   *
+   * @param header  the column header
+   * @return the trimmed field value, empty if not found
+   */
+  public Optional<String> findField(String header) {
+    Integer index = searchHeaders.get(header.toLowerCase(Locale.ENGLISH));
+    return index == null ? Optional.empty() : Optional.of(field(index));
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Converts this row to a standard CSV row.
+   * <p>
+   * This decodes all the fields, providing the full {@link CsvRow} API.
+   * The result remains valid once the iterator is advanced.
+   *
+   * @return the CSV row
+   */
+  public CsvRow toCsvRow() {
+    ImmutableList.Builder<String> fields = ImmutableList.builder();
+    for (int i = 0; i < size; i++) {
+      fields.add(field(i));
+    }
+    return new CsvRow(headers, searchHeaders, lineNumber, fields.build());
+  }
+
+  /**
+   * Returns a string describing the row.
+   *
+   * @return the descriptive string
+   */
+  @Override
+  public String toString() {
+    return "CsvBufferRow" + toCsvRow().fields().toString();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * A view of an ASCII field in the buffer.
+   */
+  private static final class AsciiSequence implements CharSequence {
+    private final ByteBuffer buffer;
+    private final int start;
+    private final int end;
+
+    private AsciiSequence(ByteBuffer buffer, int start, int end) {
+      this.buffer = buffer;
+      this.start = start;
+      this.end = end;
+    }
+
+    @Override
+    public int length() {
+      return end - start;
+    }
+
+    @Override
+    public char charAt(int index) {
+      if (index < 0 || index >= end - start) {
+        throw new IndexOutOfBoundsException("Invalid index: " + index);
+      }
+      return (char) buffer.get(start + index);
+    }
+
+    @Override
+    public CharSequence subSequence(int startIndex, int endIndex) {
+      if (startIndex < 0 || endIndex > end - start || startIndex > endIndex) {
+        throw new IndexOutOfBoundsException("Invalid range: " + startIndex + " to " + endIndex);
+      }
+      return new AsciiSequence(buffer, start + startIndex, start + endIndex);
+    }
+
+    @Override
+    public String toString() {
+      char[] chars = new char[end - start];
+      for (int i = 0; i < chars.length; i++) {
+        chars[i] = (char) buffer.get(start + i);
+      }
+      return new String(chars);
+    }
+  }
+
+}
@@ -7,8 +7,13 @@ package com.opengamma.strata.collect.io;
 
 import java.io.InputStream;
 import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
 import java.util.function.ToIntFunction;
 
 import javax.xml.stream.XMLInputFactory;
@@ -30,7 +35,8 @@ import com.opengamma.strata.collect.Unchecked;
  * This uses the standard StAX API to parse the file.
  * Once parsed, the XML is represented as a DOM-like structure, see {@link XmlElement}.
  * This approach is suitable for XML files where the size of the parsed XML file is
- * known to be manageable in memory.
+ * known to be manageable in memory. For larger files, {@link #streamElements} parses
+ * the selected elements one at a time.
  * <p>
  * Note that the {@link XmlElement} representation does not express all XML features.
  * No support is provided for processing instructions, comments or mixed content.
@@ -147,6 +153,51 @@ public final class XmlFile {
     });
   }
 
+  /**
+   * Parses the specified XML, streaming the selected elements to a consumer.
+   * <p>
+   * This parses the specified byte source expecting an XML file format.
+   * The selector is invoked for each element with the path of element names from the root,
+   * with the last name in the path being that of the element itself.
+   * When the selector returns true, the element is parsed to an {@link XmlElement} and passed to
+   * the consumer, before parsing continues with the next sibling. Otherwise, the element is not retained,
+   * but its children are still offered to the selector.
+   * As such, the memory used is bounded by the size of a single selected element.
+   * <p>
+   * The consumer also receives the references captured within the selected element.
+   * Wherever the parser finds an attribute with the specified name, the element is added to the map.
+   * For example, if one part of the XML has {@code <foo id="fooId">}, the references map will
+   * contain an entry mapping "fooId" to the parsed element {@code <foo>}.
+   * 
+   * @param source  the XML source data
+   * @param refAttrName  the attribute name that should be parsed as a reference
+   * @param selector  the selector, passed the path of element names from the root, which must not be stored
+   * @param consumer  the consumer of each selected element and its references
+   * @throws UncheckedIOException if an IO exception occurs
+   * @throws IllegalArgumentException if the file cannot be parsed
+   */
+  public static void streamElements(
+      ByteSource source,
+      String refAttrName,
+      Predicate<List<String>> selector,
+      BiConsumer<XmlElement, Map<String, XmlElement>> consumer) {
+
+    ArgChecker.notNull(source, "source");
+    ArgChecker.notNull(refAttrName, "refAttrName");
+    ArgChecker.notNull(selector, "selector");
+    ArgChecker.notNull(consumer, "consumer");
+    Unchecked.wrap(() -> {
+      try (InputStream in = source.openBufferedStream()) {
+        XMLStreamReader xmlReader = XML_FACTORY.createXMLStreamReader(in);
+        try {
+          streamElements(xmlReader, refAttrName, selector, consumer);
+        } finally {
+          xmlReader.close();
+        }
+      }
+    });
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Parses the tree from the StAX stream reader, capturing references.
@@ -235,6 +286,36 @@ public final class XmlFile {
     }
   }
 
+  // streams the selected elements from the input
+  private static void streamElements(
+      XMLStreamReader reader,
+      String refAttr,
+      Predicate<List<String>> selector,
+      BiConsumer<XmlElement, Map<String, XmlElement>> consumer) {
+
+    try {
+      List<String> path = new ArrayList<>();
+      List<String> pathView = Collections.unmodifiableList(path);
+      while (reader.hasNext()) {
+        int event = reader.next();
+        if (event == XMLStreamConstants.START_ELEMENT) {
+          path.add(reader.getLocalName());
+          if (selector.test(pathView)) {
+            HashMap<String, XmlElement> refs = new HashMap<>();
+            XmlElement parsed = parse(reader, refAttr, refs);
+            path.remove(path.size() - 1);
+            consumer.accept(parsed, ImmutableMap.copyOf(refs));
+          }
+        } else if (event == XMLStreamConstants.END_ELEMENT) {
+          path.remove(path.size() - 1);
+        }
+      }
+
+    } catch (XMLStreamException ex) {
+      throw new IllegalArgumentException(ex);
+    }
+  }
+
   // find the start element and parses the name
   private static String parseElementName(XMLStreamReader reader) throws XMLStreamException {
     int event = reader.getEventType();
@@ -0,0 +1,302 @@
+/*
+ * Copyright (C) 2019 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.timeseries;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.opengamma.strata.collect.ArgChecker;
+
+/**
+ * A store of time-series held in a memory-mapped file.
+ * <p>
+ * Each time-series in the store is identified by a string key.
+ * The store is created by {@link #write(Path, Map)} and read by {@link #open(Path)}.
+ * When the store is opened, only the directory of keys is read.
+ * The time-series returned by {@link #get(String)} are views of the mapped file, thus the data
+ * of a time-series is only paged into memory when it is used, and the page cache is shared
+ * between all the processes that open the same file.
+ * <p>
+ * The same format can also be held in memory, see {@link #toByteArray(Map)} and {@link #of(ByteBuffer)},
+ * such as when embedded in a message. The time-series are then views of the buffer.
+ * <p>
+ * The file starts with a header and a directory, holding the key, size and location of each time-series.
+ * Each time-series is then held as the values, as 8-byte doubles, followed by the dates, as 4-byte epoch-days.
+ * All numbers are little-endian. The size of the file is limited to 2Gb.
+ * <p>
+ * The file must not be modified while the store is open.
+ * This class is immutable and thread-safe.
+ */
+public final class LocalDateDoubleTimeSeriesStore {
+
+  /**
+   * The marker at the start of the file.
+   */
+  private static final int MAGIC = 0x53544453;
+  /**
+   * The version of the file format.
+   */
+  private static final int VERSION = 1;
+  /**
+   * The byte order.
+   */
+  private static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+
+  /**
+   * The mapped file.
+   */
+  private final ByteBuffer buffer;
+  /**
+   * The location in the mapped file and size of each time-series, keyed by the time-series key.
+   */
+  private final ImmutableMap<String, long[]> directory;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Opens a store from a file.
+   * <p>
+   * The file is mapped into memory, and only the directory of keys is read.
+   *
+   * @param file  the file, as created by {@link #write(Path, Map)}
+   * @return the store
+   * @throws UncheckedIOException if an IO error occurs
+   * @throws IllegalArgumentException if the file is not a valid store
+   */
+  public static LocalDateDoubleTimeSeriesStore open(Path file) {
+    ArgChecker.notNull(file, "file");
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      long fileSize = channel.size();
+      ArgChecker.isTrue(fileSize <= Integer.MAX_VALUE, "Time-series store is too large: {}", file);
+      // the mapping remains valid once the channel is closed
+      MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+      return new LocalDateDoubleTimeSeriesStore(mapped.order(ORDER), file);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  /**
+   * Obtains a store from a buffer.
+   * <p>
+   * The store starts at the position of the buffer and extends to its limit.
+   * Only the directory of keys is read, the time-series are views of the buffer.
+   * The buffer must not be modified while the store or its time-series are in use.
+   *
+   * @param buffer  the buffer, as created by {@link #toByteArray(Map)}
+   * @return the store
+   * @throws IllegalArgumentException if the buffer is not a valid store
+   */
+  public static LocalDateDoubleTimeSeriesStore of(ByteBuffer buffer) {
+    ArgChecker.notNull(buffer, "buffer");
+    return new LocalDateDoubleTimeSeriesStore(buffer.slice().order(ORDER), "buffer");
+  }
+
+  // restricted constructor, reading the directory
+  private LocalDateDoubleTimeSeriesStore(ByteBuffer buffer, Object source) {
+    ArgChecker.isTrue(
+        buffer.remaining() >= 12 && buffer.getInt(0) == MAGIC && buffer.getInt(4) == VERSION,
+        "File is not a time-series store: {}", source);
+    ByteBuffer header = buffer.duplicate().order(ORDER);
+    header.position(8);
+    int count = header.getInt();
+    ImmutableMap.Builder<String, long[]> builder = ImmutableMap.builder();
+    for (int i = 0; i < count; i++) {
+      byte[] keyBytes = new byte[header.getInt()];
+      header.get(keyBytes);
+      long position = header.getLong();
+      long size = header.getInt();
+      ArgChecker.isTrue(position + size * 12 <= buffer.limit(), "Time-series store is truncated: {}", source);
+      builder.put(new String(keyBytes, UTF_8), new long[] {position, size});
+    }
+    this.buffer = buffer;
+    this.directory = builder.build();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Writes a store to a file.
+   * <p>
+   * Any existing file is replaced.
+   *
+   * @param file  the file to write
+   * @param timeSeries  the time-series to write, keyed by the key used to find them in the store
+   * @throws UncheckedIOException if an IO error occurs
+   * @throws IllegalArgumentException if the store would be too large
+   */
+  public static void write(Path file, Map<String, ? extends LocalDateDoubleTimeSeries> timeSeries) {
+    ArgChecker.notNull(file, "file");
+    ArgChecker.noNulls(timeSeries, "timeSeries");
+    ByteBuffer header = header(timeSeries, file);
+    // write the header and then each time-series
+    try (FileChannel channel = FileChannel.open(
+        file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+      writeFully(channel, header);
+      for (LocalDateDoubleTimeSeries series : timeSeries.values()) {
+        writeFully(channel, data(series));
+      }
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  /**
+   * Writes a store to a byte array.
+   * <p>
+   * The format is the same as that written by {@link #write(Path, Map)}.
+   * The array can be read using {@link #of(ByteBuffer)}.
+   *
+   * @param timeSeries  the time-series to write, keyed by the key used to find them in the store
+   * @return the store as a byte array
+   * @throws IllegalArgumentException if the store would be too large
+   */
+  public static byte[] toByteArray(Map<String, ? extends LocalDateDoubleTimeSeries> timeSeries) {
+    ArgChecker.noNulls(timeSeries, "timeSeries");
+    ByteBuffer header = header(timeSeries, "byte array");
+    long size = header.remaining();
+    for (LocalDateDoubleTimeSeries series : timeSeries.values()) {
+      size += dataSize(series);
+    }
+    ByteBuffer buf = ByteBuffer.allocate((int) size);
+    buf.put(header);
+    for (LocalDateDoubleTimeSeries series : timeSeries.values()) {
+      buf.put(data(series));
+    }
+    return buf.array();
+  }
+
+  // builds the header and directory, with the data starting on an 8 byte boundary
+  private static ByteBuffer header(Map<String, ? extends LocalDateDoubleTimeSeries> timeSeries, Object target) {
+    int directorySize = 12;
+    for (String key : timeSeries.keySet()) {
+      directorySize += 16 + key.getBytes(UTF_8).length;
+    }
+    long position = (directorySize + 7) & ~7;
+    ByteBuffer header = ByteBuffer.allocate((int) position).order(ORDER);
+    header.putInt(MAGIC).putInt(VERSION).putInt(timeSeries.size());
+    for (Entry<String, ? extends LocalDateDoubleTimeSeries> entry : timeSeries.entrySet()) {
+      byte[] keyBytes = entry.getKey().getBytes(UTF_8);
+      header.putInt(keyBytes.length).put(keyBytes).putLong(position).putInt(entry.getValue().size());
+      position += dataSize(entry.getValue());
+    }
+    ArgChecker.isTrue(position <= Integer.MAX_VALUE, "Time-series store is too large: {}", target);
+    header.rewind();
+    return header;
+  }
+
+  // the size of the data of a time-series, padded to 8 bytes
+  private static long dataSize(LocalDateDoubleTimeSeries series) {
+    return ((series.size() * 12L) + 7) & ~7L;
+  }
+
+  // the data of a time-series, the values followed by the dates
+  private static ByteBuffer data(LocalDateDoubleTimeSeries series) {
+    ByteBuffer data = ByteBuffer.allocate((int) dataSize(series)).order(ORDER);
+    series.values().forEach(data::putDouble);
+    series.dates().forEach(date -> data.putInt(Math.toIntExact(date.toEpochDay())));
+    data.rewind();
+    return data;
+  }
+
+  // writes the entire buffer
+  private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the keys of the time-series in the store.
+   *
+   * @return the keys
+   */
+  public ImmutableSet<String> getKeys() {
+    return directory.keySet();
+  }
+
+  /**
+   * Checks if the store contains a time-series for the specified key.
+   *
+   * @param key  the key
+   * @return true if the store contains the time-series
+   */
+  public boolean contains(String key) {
+    return directory.containsKey(key);
+  }
+
+  /**
+   * Finds the time-series for the specified key.
+   * <p>
+   * The time-series is a view of the mapped file, no data is copied.
+   *
+   * @param key  the key
+   * @return the time-series, empty if not found
+   */
+  public Optional<LocalDateDoubleTimeSeries> find(String key) {
+    long[] location = directory.get(key);
+    return location == null ? Optional.empty() : Optional.of(timeSeries(location));
+  }
+
+  /**
+   * Gets the time-series for the specified key.
+   * <p>
+   * The time-series is a view of the mapped file, no data is copied.
+   *
+   * @param key  the key
+   * @return the time-series
+   * @throws IllegalArgumentException if the key is not found
+   */
+  public LocalDateDoubleTimeSeries get(String key) {
+    long[] location = directory.get(key);
+    if (location == null) {
+      throw new IllegalArgumentException("Time-series not found in store: " + key);
+    }
+    return timeSeries(location);
+  }
+
+  // creates a view of a time-series
+  private LocalDateDoubleTimeSeries timeSeries(long[] location) {
+    int position = (int) location[0];
+    int size = (int) location[1];
+    if (size == 0) {
+      return LocalDateDoubleTimeSeries.empty();
+    }
+    ByteBuffer valuesBytes = slice(position, size * 8);
+    ByteBuffer datesBytes = slice(position + size * 8, size * 4);
+    return MappedLocalDateDoubleTimeSeries.of(datesBytes.asIntBuffer(), valuesBytes.asDoubleBuffer());
+  }
+
+  // a slice of the mapped file, the byte order is reset by slice()
+  private ByteBuffer slice(int position, int length) {
+    ByteBuffer duplicate = buffer.duplicate();
+    duplicate.position(position).limit(position + length);
+    return duplicate.slice().order(ORDER);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return new StringBuilder(64)
+        .append("LocalDateDoubleTimeSeriesStore{size=")
+        .append(directory.size())
+        .append('}')
+        .toString();
+  }
+
+}
@@ -0,0 +1,335 @@
+/*
+ * Copyright (C) 2019 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.timeseries;
+
+import java.io.Serializable;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.time.LocalDate;
+import java.util.NoSuchElementException;
+import java.util.OptionalDouble;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.Function;
+import java.util.function.ObjDoubleConsumer;
+import java.util.stream.Collectors;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.function.ObjDoublePredicate;
+
+/**
+ * An immutable implementation of {@code LocalDateDoubleTimeSeries} backed by buffers
+ * that are typically mapped from a file by {@link LocalDateDoubleTimeSeriesStore}.
+ * <p>
+ * The dates are held as epoch-day integers and the values as doubles.
+ * No data is copied onto the heap when the series is created or when a sub-series is taken.
+ * Operations that create a new series, such as {@link #mapValues(DoubleUnaryOperator)},
+ * return an on-heap series.
+ * <p>
+ * This implementation only uses absolute reads from the buffers, and is thus thread-safe.
+ * When serialized, the series is converted to an on-heap series.
+ */
+final class MappedLocalDateDoubleTimeSeries
+    implements LocalDateDoubleTimeSeries, Serializable {
+
+  /** Serialization version. */
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * The dates, as epoch-days.
+   */
+  private final transient IntBuffer dates;
+  /**
+   * The values.
+   */
+  private final transient DoubleBuffer values;
+  /**
+   * The index of the first point in the buffers.
+   */
+  private final int offset;
+  /**
+   * The number of points.
+   */
+  private final int size;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains a time-series from buffers of dates and values.
+   * <p>
+   * The buffers must not be modified after calling this method.
+   * The dates must be in ascending order.
+   *
+   * @param dates  the dates, as epoch-days
+   * @param values  the values
+   * @return the time-series
+   */
+  static MappedLocalDateDoubleTimeSeries of(IntBuffer dates, DoubleBuffer values) {
+    ArgChecker.isTrue(
+        dates.limit() == values.limit(),
+        "Buffers must have the same size, but were {} and {}", dates.limit(), values.limit());
+    return new MappedLocalDateDoubleTimeSeries(dates, values, 0, dates.limit());
+  }
+
+  // restricted constructor
+  private MappedLocalDateDoubleTimeSeries(IntBuffer dates, DoubleBuffer values, int offset, int size) {
+    this.dates = dates;
+    this.values = values;
+    this.offset = offset;
+    this.size = size;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  @Override
+  public boolean containsDate(LocalDate date) {
+    return (findDatePosition(date) >= 0);
+  }
+
+  @Override
+  public OptionalDouble get(LocalDate date) {
+    int position = findDatePosition(date);
+    return (position >= 0 ? OptionalDouble.of(value(position)) : OptionalDouble.empty());
+  }
+
+  // binary search on the epoch-days, returning the position relative to the offset
+  private int findDatePosition(LocalDate date) {
+    long key = date.toEpochDay();
+    int low = 0;
+    int high = size - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      int midDay = dates.get(offset + mid);
+      if (midDay < key) {
+        low = mid + 1;
+      } else if (midDay > key) {
+        high = mid - 1;
+      } else {
+        return mid;
+      }
+    }
+    return -(low + 1);
+  }
+
+  // the insertion point of the date, whether or not it is in the series
+  private int insertionPosition(LocalDate date) {
+    int position = findDatePosition(date);
+    return position >= 0 ? position : -position - 1;
+  }
+
+  private LocalDate date(int position) {
+    return LocalDate.ofEpochDay(dates.get(offset + position));
+  }
+
+  private double value(int position) {
+    return values.get(offset + position);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public LocalDate getEarliestDate() {
+    if (isEmpty()) {
+      throw new NoSuchElementException("Unable to return earliest, time-series is empty");
+    }
+    return date(0);
+  }
+
+  @Override
+  public double getEarliestValue() {
+    if (isEmpty()) {
+      throw new NoSuchElementException("Unable to return earliest, time-series is empty");
+    }
+    return value(0);
+  }
+
+  @Override
+  public LocalDate getLatestDate() {
+    if (isEmpty()) {
+      throw new NoSuchElementException("Unable to return latest, time-series is empty");
+    }
+    return date(size - 1);
+  }
+
+  @Override
+  public double getLatestValue() {
+    if (isEmpty()) {
+      throw new NoSuchElementException("Unable to return latest, time-series is empty");
+    }
+    return value(size - 1);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public LocalDateDoubleTimeSeries subSeries(LocalDate startInclusive, LocalDate endExclusive) {
+    ArgChecker.notNull(startInclusive, "startInclusive");
+    ArgChecker.notNull(endExclusive, "endExclusive");
+    if (endExclusive.isBefore(startInclusive)) {
+      throw new IllegalArgumentException(
+          "Invalid sub series, end before start: " + startInclusive + " to " + endExclusive);
+    }
+    // special case when this is empty or when the dates are the same
+    if (isEmpty() || startInclusive.equals(endExclusive)) {
+      return SparseLocalDateDoubleTimeSeries.EMPTY;
+    }
+    int startPos = insertionPosition(startInclusive);
+    int endPos = insertionPosition(endExclusive);
+    return view(startPos, endPos);
+  }
+
+  @Override
+  public LocalDateDoubleTimeSeries headSeries(int numPoints) {
+    ArgChecker.notNegative(numPoints, "numPoints");
+    return view(0, Math.min(numPoints, size));
+  }
+
+  @Override
+  public LocalDateDoubleTimeSeries tailSeries(int numPoints) {
+    ArgChecker.notNegative(numPoints, "numPoints");
+    return view(Math.max(size - numPoints, 0), size);
+  }
+
+  // a view of part of this series, sharing the buffers
+  private LocalDateDoubleTimeSeries view(int startPos, int endPos) {
+    if (startPos >= endPos) {
+      return SparseLocalDateDoubleTimeSeries.EMPTY;
+    }
+    if (startPos == 0 && endPos == size) {
+      return this;
+    }
+    return new MappedLocalDateDoubleTimeSeries(dates, values, offset + startPos, endPos - startPos);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public Stream<LocalDateDoublePoint> stream() {
+    return IntStream.range(0, size).mapToObj(i -> LocalDateDoublePoint.of(date(i), value(i)));
+  }
+
+  @Override
+  public Stream<LocalDate> dates() {
+    return IntStream.range(0, size).mapToObj(this::date);
+  }
+
+  @Override
+  public DoubleStream values() {
+    return IntStream.range(0, size).mapToDouble(this::value);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public void forEach(ObjDoubleConsumer<LocalDate> action) {
+    ArgChecker.notNull(action, "action");
+    for (int i = 0; i < size; i++) {
+      action.accept(date(i), value(i));
+    }
+  }
+
+  @Override
+  public LocalDateDoubleTimeSeries mapDates(Function<? super LocalDate, ? extends LocalDate> mapper) {
+    return toHeap().mapDates(mapper);
+  }
+
+  @Override
+  public LocalDateDoubleTimeSeries mapValues(DoubleUnaryOperator mapper) {
+    return toHeap().mapValues(mapper);
+  }
+
+  @Override
+  public LocalDateDoubleTimeSeries filter(ObjDoublePredicate<LocalDate> predicate) {
+    return toHeap().filter(predicate);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public LocalDateDoubleTimeSeriesBuilder toBuilder() {
+    LocalDate[] datesArray = new LocalDate[size];
+    double[] valuesArray = new double[size];
+    for (int i = 0; i < size; i++) {
+      datesArray[i] = date(i);
+      valuesArray[i] = value(i);
+    }
+    return new LocalDateDoubleTimeSeriesBuilder(datesArray, valuesArray);
+  }
+
+  // copies the series to the heap
+  private LocalDateDoubleTimeSeries toHeap() {
+    return toBuilder().build();
+  }
+
+  // serializes the series as an on-heap series
+  private Object writeReplace() {
+    return toHeap();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Checks if this time-series is equal to another time-series.
+   * <p>
+   * Compares this {@code LocalDateDoubleTimeSeries} with another ensuring
+   * that the dates and values are the same.
+   *
+   * @param obj  the object to check, null returns false
+   * @return true if this is equal to the other date
+   */
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (obj instanceof MappedLocalDateDoubleTimeSeries) {
+      MappedLocalDateDoubleTimeSeries other = (MappedLocalDateDoubleTimeSeries) obj;
+      if (size != other.size) {
+        return false;
+      }
+      for (int i = 0; i < size; i++) {
+        if (dates.get(offset + i) != other.dates.get(other.offset + i) ||
+            Double.doubleToLongBits(value(i)) != Double.doubleToLongBits(other.value(i))) {
+          return false;
+        }
+      }
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * A hash code for this time-series.
+   *
+   * @return a suitable hash code
+   */
+  @Override
+  public int hashCode() {
+    int hash = size;
+    for (int i = 0; i < size; i++) {
+      hash = hash * 31 + dates.get(offset + i);
+      hash = hash * 31 + Double.hashCode(value(i));
+    }
+    return hash;
+  }
+
+  /**
+   * Returns a string representation of the time-series.
+   *
+   * @return the string
+   */
+  @Override
+  public String toString() {
+    return stream()
+        .map(LocalDateDoublePoint::toString)
+        .collect(Collectors.joining(", ", "[", "]"));
+  }
+
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (C) 2019 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrows;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Test {@link OrderedTaskQueue}.
+ */
+@Test
+public class OrderedTaskQueueTest {
+
+  private static final List<Integer> EXPECTED = IntStream.range(0, 100).boxed().collect(Collectors.toList());
+
+  //-------------------------------------------------------------------------
+  public void test_serial() {
+    List<Integer> results = new ArrayList<>();
+    OrderedTaskQueue<Integer> test = OrderedTaskQueue.serial(results::add);
+    test.submit(() -> 1);
+    assertEquals(results, ImmutableList.of(1));
+    test.submit(() -> 2);
+    test.finish();
+    assertEquals(results, ImmutableList.of(1, 2));
+  }
+
+  public void test_parallel() {
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Integer> results = new ArrayList<>();
+      OrderedTaskQueue<Integer> test = OrderedTaskQueue.of(executor, 4, results::add);
+      for (int i = 0; i < 100; i++) {
+        int value = i;
+        test.submit(() -> {
+          sleep(value % 5);
+          return value;
+        });
+      }
+      test.finish();
+      assertEquals(results, EXPECTED);
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  public void test_parallel_busyExecutor() {
+    // the executor never runs the tasks, thus the calling thread must run them
+    List<Integer> results = new ArrayList<>();
+    OrderedTaskQueue<Integer> test = OrderedTaskQueue.of(task -> { }, 3, results::add);
+    for (int i = 0; i < 100; i++) {
+      int value = i;
+      test.submit(() -> value);
+    }
+    test.finish();
+    assertEquals(results, EXPECTED);
+  }
+
+  public void test_parallel_exception() {
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      OrderedTaskQueue<Integer> test = OrderedTaskQueue.of(executor, 2, value -> { });
+      test.submit(() -> 1);
+      test.submit(() -> {
+        throw new IllegalStateException("Failed");
+      });
+      assertThrows(() -> test.finish(), IllegalStateException.class, "Failed");
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  public void test_parallel_error() {
+    OrderedTaskQueue<Integer> test = OrderedTaskQueue.of(task -> { }, 2, value -> { });
+    test.submit(() -> {
+      throw new AssertionError("Failed");
+    });
+    // cannot use assertThrows() here
+    try {
+      test.finish();
+      fail();
+    } catch (AssertionError ex) {
+      assertEquals(ex.getMessage(), "Failed");
+    }
+  }
+
+  public void test_of_invalid() {
+    assertThrowsIllegalArg(() -> OrderedTaskQueue.of(null, 2, value -> { }));
+    assertThrowsIllegalArg(() -> OrderedTaskQueue.of(task -> { }, 0, value -> { }));
+    assertThrowsIllegalArg(() -> OrderedTaskQueue.of(task -> { }, 2, null));
+    assertThrowsIllegalArg(() -> OrderedTaskQueue.serial(null));
+  }
+
+  //-------------------------------------------------------------------------
+  private static void sleep(int millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException ex) {
+      throw new IllegalStateException(ex);
+    }
+  }
+
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (C) 2019 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect;
+
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+import static com.opengamma.strata.collect.TestHelper.assertThrows;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+
+/**
+ * Tests {@link ParallelEvaluator}.
+ */
+@Test
+public class ParallelEvaluatorTest {
+
+  public void test_of() {
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      assertThat(ParallelEvaluator.of(executor, 1)).isSameAs(ParallelEvaluator.SERIAL);
+      assertThat(ParallelEvaluator.of(executor, 3).getParallelism()).isEqualTo(3);
+      assertThrowsIllegalArg(() -> ParallelEvaluator.of(executor, 0));
+      assertThrowsIllegalArg(() -> ParallelEvaluator.of(null, 2));
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  public void test_values() {
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      DoubleArray expected = DoubleArray.of(100, i -> i * 1.5);
+      assertThat(ParallelEvaluator.SERIAL.values(100, i -> i * 1.5)).isEqualTo(expected);
+      assertThat(ParallelEvaluator.of(executor, 4).values(100, i -> i * 1.5)).isEqualTo(expected);
+      assertThat(ParallelEvaluator.of(executor, 4).values(0, i -> i * 1.5)).isEqualTo(DoubleArray.EMPTY);
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  public void test_rows() {
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      DoubleMatrix expected = DoubleMatrix.of(20, 3, (i, j) -> i * 10 + j);
+      assertThat(ParallelEvaluator.SERIAL.rows(20, 3, i -> DoubleArray.of(3, j -> i * 10 + j))).isEqualTo(expected);
+      assertThat(ParallelEvaluator.of(executor, 4).rows(20, 3, i -> DoubleArray.of(3, j -> i * 10 + j)))
+          .isEqualTo(expected);
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  public void test_objects() {
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      List<String> expected = IntStream.range(0, 50).mapToObj(i -> "N" + i).collect(toImmutableList());
+      assertThat(ParallelEvaluator.SERIAL.objects(50, i -> "N" + i)).isEqualTo(expected);
+      assertThat(ParallelEvaluator.of(executor, 4).objects(50, i -> "N" + i)).isEqualTo(expected);
+      assertThat(ParallelEvaluator.of(executor, 4).objects(0, i -> "N" + i)).isEmpty();
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  public void test_failure() {
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      ParallelEvaluator test = ParallelEvaluator.of(executor, 4);
+      assertThrows(() -> test.values(100, i -> {
+        if (i == 50) {
+          throw new IllegalStateException("Failed");
+        }
+        return i;
+      }), IllegalStateException.class, "Failed");
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  public void test_error_helperThread() {
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      Thread caller = Thread.currentThread();
+      CountDownLatch helperStarted = new CountDownLatch(1);
+      ParallelEvaluator test = ParallelEvaluator.of(executor, 2);
+      // the calling thread waits until the helper thread has taken an index, which fails with an error
+      assertThrows(() -> test.objects(2, i -> {
+        if (Thread.currentThread() != caller) {
+          helperStarted.countDown();
+          throw new StackOverflowError("Helper failed");
+        }
+        awaitQuietly(helperStarted);
+        return "N" + i;
+      }), StackOverflowError.class, "Helper failed");
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  private static void awaitQuietly(CountDownLatch latch) {
+    try {
+      latch.await(10, TimeUnit.SECONDS);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright (C) 2019 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.io;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrows;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static java.nio.charset.StandardCharsets.UTF_16;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.testng.Assert.assertEquals;
+
+import java.io.File;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.ByteSource;
+import com.google.common.io.CharSource;
+import com.google.common.io.Files;
+
+/**
+ * Test {@link CsvBufferIterator}.
+ */
+@Test
+public class CsvBufferIteratorTest {
+
+  private static final String CSV1 = "" +
+      "h1,h2\n" +
+      "r11,r12\n" +
+      "r21,r22";
+
+  private static final String CSV2 = "" +
+      "# Comment about the file\n" +
+      "h1,h2\n" +
+      "#r11,r12\n" +
+      ";r11,r12\n" +
+      "\n" +
+      ",\n" +
+      "r21,r22\n";
+
+  //-------------------------------------------------------------------------
+  @DataProvider(name = "lines")
+  public static Object[][] data_lines() {
+    return new Object[][] {
+        {"a,b,c"},
+        {" a , b ,c "},
+        {"a,,c,"},
+        {",,"},
+        {"\"a,b\",c"},
+        {"\"a\"\"b\",c"},
+        {"=\"0123\",x"},
+        {"\"ab\"cd ,e"},
+        {"\"ab\"  ,e"},
+        {"\"a\"\"b\"x,e"},
+        {"\"unterminated,x"},
+        {"\"unterminated\"\",x"},
+        {"\" spaced \",x"},
+        {"a\tb,c"},
+        {"été,€100"},
+        {"#comment,x"},
+        {";comment,x"},
+        {"  "},
+        {"= a,b"},
+        {"\"\""},
+    };
+  }
+
+  @Test(dataProvider = "lines")
+  public void test_parse_matchesCsvFile(String line) {
+    try (CsvBufferIterator test = CsvBufferIterator.of(ByteBuffer.wrap(line.getBytes(UTF_8)), false)) {
+      ImmutableList<String> expected = CsvFile.parseLine(line, ',');
+      if (expected.isEmpty()) {
+        assertEquals(test.hasNext(), false);
+      } else {
+        CsvBufferRow row = test.next();
+        assertEquals(row.toCsvRow().fields(), expected);
+        for (int i = 0; i < expected.size(); i++) {
+          assertEquals(row.field(i), expected.get(i));
+          assertEquals(row.fieldSequence(i).toString(), expected.get(i));
+          assertEquals(row.isEmpty(i), expected.get(i).isEmpty());
+        }
+      }
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_of_empty_no_header() {
+    try (CsvBufferIterator test = CsvBufferIterator.of(ByteSource.empty(), false)) {
+      assertEquals(test.headers().size(), 0);
+      assertEquals(test.containsHeader("a"), false);
+      assertEquals(test.hasNext(), false);
+      assertThrows(() -> test.next(), NoSuchElementException.class);
+    }
+  }
+
+  public void test_of_empty_with_header() {
+    assertThrowsIllegalArg(() -> CsvBufferIterator.of(ByteSource.empty(), true));
+  }
+
+  public void test_of_ioException() {
+    assertThrows(
+        () -> CsvBufferIterator.of(Files.asByteSource(new File("src/test/resources")), false),
+        UncheckedIOException.class);
+  }
+
+  public void test_of_simple_with_header() {
+    try (CsvBufferIterator test = CsvBufferIterator.of(ByteSource.wrap(CSV1.getBytes(UTF_8)), true)) {
+      assertEquals(test.headers(), ImmutableList.of("h1", "h2"));
+      assertEquals(test.containsHeader("H2"), true);
+      assertEquals(test.headerIndex("H2"), 1);
+      assertThrowsIllegalArg(() -> test.headerIndex("h3"));
+      CsvBufferRow row = test.next();
+      assertEquals(row.lineNumber(), 2);
+      assertEquals(row.fieldCount(), 2);
+      assertEquals(row.headers(), ImmutableList.of("h1", "h2"));
+      assertEquals(row.getField("h1"), "r11");
+      assertEquals(row.findField("h2").get(), "r12");
+      assertEquals(row.findField("h3").isPresent(), false);
+      assertThrowsIllegalArg(() -> row.getField("h3"));
+      assertThrows(() -> row.field(2), IndexOutOfBoundsException.class);
+      assertEquals(row.toString(), "CsvBufferRow[r11, r12]");
+      assertEquals(test.next().toCsvRow(), CsvFile.of(CharSource.wrap(CSV1), true).row(1));
+      assertEquals(test.hasNext(), false);
+      assertEquals(test.toString(), "CsvBufferIterator[h1, h2]");
+    }
+  }
+
+  public void test_of_comment_blank_with_header() {
+    try (CsvBufferIterator test = CsvBufferIterator.of(ByteSource.wrap(CSV2.getBytes(UTF_8)), true)) {
+      assertEquals(test.headers(), ImmutableList.of("h1", "h2"));
+      CsvBufferRow row = test.next();
+      assertEquals(row.lineNumber(), 7);
+      assertEquals(row.toCsvRow(), CsvFile.of(CharSource.wrap(CSV2), true).row(0));
+      assertEquals(test.hasNext(), false);
+    }
+  }
+
+  public void test_of_missingTrailingFields() {
+    try (CsvBufferIterator test = CsvBufferIterator.of(ByteSource.wrap("h1,h2,h3\na\n".getBytes(UTF_8)), true)) {
+      CsvBufferRow row = test.next();
+      assertEquals(row.fieldCount(), 3);
+      assertEquals(row.field(2), "");
+      assertEquals(row.isEmpty(2), true);
+      assertEquals(row.getField("h3"), "");
+    }
+  }
+
+  public void test_of_tabs() {
+    String csv = "h1\th2\nr11\tr12\n";
+    try (CsvBufferIterator test = CsvBufferIterator.of(ByteSource.wrap(csv.getBytes(UTF_8)), true, '\t')) {
+      assertEquals(test.headers(), ImmutableList.of("h1", "h2"));
+      assertEquals(test.next().field(1), "r12");
+    }
+  }
+
+  public void test_of_byteOrderMark() {
+    byte[] bytes = ("﻿" + CSV1).getBytes(UTF_8);
+    try (CsvBufferIterator test = CsvBufferIterator.of(ByteBuffer.wrap(bytes), true)) {
+      assertEquals(test.headers(), ImmutableList.of("h1", "h2"));
+    }
+    try (CsvBufferIterator test = CsvBufferIterator.of(ByteSource.wrap(CSV1.getBytes(UTF_16)), true)) {
+      assertEquals(test.headers(), ImmutableList.of("h1", "h2"));
+      assertEquals(test.next().field(0), "r11");
+    }
+    assertThrowsIllegalArg(() -> CsvBufferIterator.of(ByteBuffer.wrap(CSV1.getBytes(UTF_16)), true));
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_largeInput() {
+    // more than one block, with all line endings
+    StringBuilder buf = new StringBuilder("Id,Date,Value\r\n");
+    String[] endings = {"\n", "\r\n", "\r"};
+    for (int i = 0; i < 20_000; i++) {
+      buf.append(i).append(",2015-01-").append(10 + i % 20).append(',').append(i * 0.25d).append(endings[i % 3]);
+    }
+    // a long line, larger than a block
+    buf.append("long,");
+    for (int i = 0; i < 100_000; i++) {
+      buf.append('x');
+    }
+    buf.append("\r\n");
+    byte[] bytes = buf.toString().getBytes(UTF_8);
+    List<CsvRow> expected = CsvFile.of(CharSource.wrap(buf), true).rows();
+    for (CsvBufferIterator test : new CsvBufferIterator[] {
+        CsvBufferIterator.of(ByteSource.wrap(bytes), true), CsvBufferIterator.of(ByteBuffer.wrap(bytes), true)}) {
+      try (CsvBufferIterator it = test) {
+        int valueIndex = it.headerIndex("Value");
+        List<CsvRow> rows = new ArrayList<>();
+        while (it.hasNext()) {
+          CsvBufferRow row = it.next();
+          rows.add(row.toCsvRow());
+          if (row.lineNumber() <= 20_001) {
+            assertEquals(row.parseDouble(valueIndex), (row.lineNumber() - 2) * 0.25d);
+          }
+        }
+        assertEquals(rows, expected);
+        assertEquals(rows.get(rows.size() - 1).field(1).length(), 100_000);
+      }
+    }
+  }
+
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (C) 2019 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.io;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrows;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.testng.Assert.assertEquals;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.Random;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/**
+ * Test {@link CsvBufferRow}.
+ */
+@Test
+public class CsvBufferRowTest {
+
+  //-------------------------------------------------------------------------
+  @DataProvider(name = "doubles")
+  public static Object[][] data_doubles() {
+    return new Object[][] {
+        {"0"},
+        {"-0"},
+        {"1"},
+        {"+1.5"},
+        {"-123.456"},
+        {"0.1"},
+        {".5"},
+        {"5."},
+        {"0.000123"},
+        {"1e5"},
+        {"1.25E-3"},
+        {"-2.5e+10"},
+        {"123456789012345"},
+        {"1234567890123456789"},
+        {"0.1234567890123456789"},
+        {"1e-30"},
+        {"1e300"},
+        {"0.30000000000000004"},
+        {"2.2250738585072014E-308"},
+        {"NaN"},
+        {"-Infinity"},
+        {"1.5d"},
+        {"\"2.5\""},
+    };
+  }
+
+  @Test(dataProvider = "doubles")
+  public void test_parseDouble(String text) {
+    CsvBufferRow row = row(text);
+    double expected = Double.parseDouble(row.field(0));
+    assertEquals(Double.doubleToLongBits(row.parseDouble(0)), Double.doubleToLongBits(expected));
+  }
+
+  public void test_parseDouble_invalid() {
+    assertThrows(() -> row("").parseDouble(0), NumberFormatException.class);
+    assertThrows(() -> row(".").parseDouble(0), NumberFormatException.class);
+    assertThrows(() -> row("1e").parseDouble(0), NumberFormatException.class);
+    assertThrows(() -> row("1.2.3").parseDouble(0), NumberFormatException.class);
+    assertThrows(() -> row("abc").parseDouble(0), NumberFormatException.class);
+  }
+
+  public void test_parseDouble_random() {
+    Random random = new Random(1);
+    for (int i = 0; i < 10_000; i++) {
+      String text = Double.toString((random.nextDouble() - 0.5d) * Math.pow(10, random.nextInt(20) - 10));
+      assertEquals(row(text).parseDouble(0), Double.parseDouble(text));
+      String rounded = String.format(Locale.ENGLISH, "%.6f", random.nextDouble() * 1000d);
+      assertEquals(row(rounded).parseDouble(0), Double.parseDouble(rounded));
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_parseDate() {
+    assertEquals(row("2015-06-30").parseDate(0), LocalDate.of(2015, 6, 30));
+    assertEquals(row("20150630").parseDate(0), LocalDate.of(2015, 6, 30));
+    assertEquals(row(" 2015-06-30 ").parseDate(0), LocalDate.of(2015, 6, 30));
+    assertThrowsIllegalArg(() -> row("2015-02-30").parseDate(0));
+    assertThrowsIllegalArg(() -> row("30/06/2015").parseDate(0));
+    assertThrowsIllegalArg(() -> row("2015-6-300").parseDate(0));
+    assertThrowsIllegalArg(() -> row("").parseDate(0));
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_fieldSequence() {
+    CsvBufferRow row = row("abcdef,été,\"a\"\"b\"");
+    CharSequence ascii = row.fieldSequence(0);
+    assertEquals(ascii.length(), 6);
+    assertEquals(ascii.charAt(1), 'b');
+    assertEquals(ascii.subSequence(2, 4).toString(), "cd");
+    assertEquals(ascii.toString(), "abcdef");
+    assertThrows(() -> ascii.charAt(6), IndexOutOfBoundsException.class);
+    assertThrows(() -> ascii.subSequence(4, 2), IndexOutOfBoundsException.class);
+    assertEquals(row.fieldSequence(1).toString(), "été");
+    assertEquals(row.fieldSequence(2).toString(), "a\"b");
+    assertThrows(() -> row.fieldSequence(4), IndexOutOfBoundsException.class);
+  }
+
+  public void test_directBuffer() {
+    byte[] bytes = "abc,1.5,2015-06-30,é".getBytes(UTF_8);
+    ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+    direct.put(bytes).flip();
+    try (CsvBufferIterator test = CsvBufferIterator.of(direct, false)) {
+      CsvBufferRow row = test.next();
+      assertEquals(row.field(0), "abc");
+      assertEquals(row.parseDouble(1), 1.5d);
+      assertEquals(row.parseDate(2), LocalDate.of(2015, 6, 30));
+      assertEquals(row.field(3), "é");
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  private static CsvBufferRow row(String line) {
+    CsvBufferIterator iterator = CsvBufferIterator.of(ByteBuffer.wrap((line + ",x").getBytes(UTF_8)), false);
+    return iterator.next();
+  }
+
+}
@@ -13,6 +13,7 @@ import static org.testng.Assert.assertFalse;
 import java.io.File;
 import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -195,6 +196,53 @@ public class XmlFileTest {
     assertThrows(() -> XmlFile.parseElements(source, name -> Integer.MAX_VALUE), UncheckedIOException.class);
   }
 
+  //-------------------------------------------------------------------------
+  public void test_streamElements() {
+    ByteSource source = ByteSource.wrap(SAMPLE.getBytes(StandardCharsets.UTF_8));
+    List<XmlElement> elements = new ArrayList<>();
+    List<List<String>> paths = new ArrayList<>();
+    XmlFile.streamElements(
+        source,
+        "",
+        path -> {
+          paths.add(ImmutableList.copyOf(path));
+          return path.get(path.size() - 1).startsWith("leaf");
+        },
+        (el, refs) -> elements.add(el));
+    assertEquals(elements, ImmutableList.of(LEAF1, LEAF2A, LEAF2B, LEAF3));
+    assertEquals(paths, ImmutableList.of(
+        ImmutableList.of("base"),
+        ImmutableList.of("base", "test"),
+        ImmutableList.of("base", "test", "leaf1"),
+        ImmutableList.of("base", "test", "leaf2"),
+        ImmutableList.of("base", "test", "leaf2"),
+        ImmutableList.of("base", "test", "obj"),
+        ImmutableList.of("base", "test", "obj", "leaf3")));
+  }
+
+  public void test_streamElements_refs() {
+    String xml = "<base><a id='x'><b id='y'>1</b></a><a id='z'>2</a></base>";
+    ByteSource source = ByteSource.wrap(xml.getBytes(StandardCharsets.UTF_8));
+    List<Map<String, XmlElement>> refs = new ArrayList<>();
+    XmlFile.streamElements(source, "id", path -> path.size() == 2, (el, elRefs) -> refs.add(elRefs));
+    XmlElement b = XmlElement.ofContent("b", ImmutableMap.of("id", "y"), "1");
+    assertEquals(refs, ImmutableList.of(
+        ImmutableMap.of("x", XmlElement.ofChildren("a", ImmutableMap.of("id", "x"), ImmutableList.of(b)), "y", b),
+        ImmutableMap.of("z", XmlElement.ofContent("a", ImmutableMap.of("id", "z"), "2"))));
+  }
+
+  public void test_streamElements_mismatchedTags() {
+    ByteSource source = ByteSource.wrap(SAMPLE_MISMATCHED_TAGS.getBytes(StandardCharsets.UTF_8));
+    assertThrowsIllegalArg(() -> XmlFile.streamElements(source, "", path -> false, (el, refs) -> { }));
+  }
+
+  public void test_streamElements_ioException() {
+    ByteSource source = Files.asByteSource(new File("/oh-dear-no-such-file"));
+    assertThrows(
+        () -> XmlFile.streamElements(source, "", path -> true, (el, refs) -> { }),
+        UncheckedIOException.class);
+  }
+
   //-------------------------------------------------------------------------
   public void test_equalsHashCodeToString() {
     ByteSource source = ByteSource.wrap(SAMPLE.getBytes(StandardCharsets.UTF_8));
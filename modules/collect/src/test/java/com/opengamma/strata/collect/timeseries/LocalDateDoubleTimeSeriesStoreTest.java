@@ -0,0 +1,114 @@
+/*
+ * Copyright (C) 2019 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.timeseries;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.testng.Assert.assertEquals;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Optional;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * Test {@link LocalDateDoubleTimeSeriesStore}.
+ */
+@Test
+public class LocalDateDoubleTimeSeriesStoreTest {
+
+  private static final LocalDateDoubleTimeSeries SERIES_1 = LocalDateDoubleTimeSeries.builder()
+      .put(date(2015, 1, 5), 1.1d)
+      .put(date(2015, 1, 6), 1.2d)
+      .put(date(2015, 1, 7), 1.3d)
+      .build();
+  private static final LocalDateDoubleTimeSeries SERIES_2 = LocalDateDoubleTimeSeries.of(date(2016, 2, 29), -0.5d);
+
+  //-------------------------------------------------------------------------
+  public void test_roundTrip() throws Exception {
+    LocalDateDoubleTimeSeries large = largeSeries();
+    Path file = tempFile();
+    ImmutableMap<String, LocalDateDoubleTimeSeries> input = ImmutableMap.of(
+        "GBP-LIBOR-3M", SERIES_1,
+        "Empty", LocalDateDoubleTimeSeries.empty(),
+        "US-CPI-U£", SERIES_2,
+        "Large", large);
+    LocalDateDoubleTimeSeriesStore.write(file, input);
+
+    LocalDateDoubleTimeSeriesStore test = LocalDateDoubleTimeSeriesStore.open(file);
+    assertEquals(test.getKeys(), ImmutableSet.of("GBP-LIBOR-3M", "Empty", "US-CPI-U£", "Large"));
+    assertEquals(test.contains("GBP-LIBOR-3M"), true);
+    assertEquals(test.contains("Unknown"), false);
+    assertEquals(test.get("GBP-LIBOR-3M").toBuilder().build(), SERIES_1);
+    assertEquals(test.get("US-CPI-U£").toBuilder().build(), SERIES_2);
+    assertEquals(test.get("Empty"), LocalDateDoubleTimeSeries.empty());
+    assertEquals(test.get("Large").toBuilder().build(), large);
+    assertEquals(test.get("Large").get(date(2000, 1, 4)), large.get(date(2000, 1, 4)));
+    assertEquals(test.find("GBP-LIBOR-3M").get().getLatestValue(), 1.3d);
+    assertEquals(test.find("Unknown"), Optional.empty());
+    assertThrowsIllegalArg(() -> test.get("Unknown"));
+    assertEquals(test.toString(), "LocalDateDoubleTimeSeriesStore{size=4}");
+  }
+
+  public void test_write_replacesFile() throws Exception {
+    Path file = tempFile();
+    LocalDateDoubleTimeSeriesStore.write(file, ImmutableMap.of("A", largeSeries()));
+    LocalDateDoubleTimeSeriesStore.write(file, ImmutableMap.of("B", SERIES_2));
+    LocalDateDoubleTimeSeriesStore test = LocalDateDoubleTimeSeriesStore.open(file);
+    assertEquals(test.getKeys(), ImmutableSet.of("B"));
+    assertEquals(test.get("B").toBuilder().build(), SERIES_2);
+  }
+
+  public void test_byteArray() throws Exception {
+    LocalDateDoubleTimeSeries large = largeSeries();
+    ImmutableMap<String, LocalDateDoubleTimeSeries> input = ImmutableMap.of("A", SERIES_1, "Large", large);
+    byte[] bytes = LocalDateDoubleTimeSeriesStore.toByteArray(input);
+    Path file = tempFile();
+    LocalDateDoubleTimeSeriesStore.write(file, input);
+    assertEquals(bytes, Files.readAllBytes(file));
+
+    // the store need not start at the start of the buffer
+    ByteBuffer buffer = ByteBuffer.allocate(bytes.length + 3);
+    buffer.position(3);
+    buffer.put(bytes).position(3);
+    LocalDateDoubleTimeSeriesStore test = LocalDateDoubleTimeSeriesStore.of(buffer);
+    assertEquals(buffer.position(), 3);
+    assertEquals(test.getKeys(), ImmutableSet.of("A", "Large"));
+    assertEquals(test.get("A").toBuilder().build(), SERIES_1);
+    assertEquals(test.get("Large").toBuilder().build(), large);
+    assertThrowsIllegalArg(() -> LocalDateDoubleTimeSeriesStore.of(ByteBuffer.wrap(new byte[8])));
+  }
+
+  public void test_open_invalid() throws Exception {
+    Path file = tempFile();
+    Files.write(file, new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13});
+    assertThrowsIllegalArg(() -> LocalDateDoubleTimeSeriesStore.open(file));
+  }
+
+  //-------------------------------------------------------------------------
+  private static LocalDateDoubleTimeSeries largeSeries() {
+    LocalDateDoubleTimeSeriesBuilder builder = LocalDateDoubleTimeSeries.builder();
+    LocalDate date = date(2000, 1, 3);
+    for (int i = 0; i < 5000; i++) {
+      builder.put(date.plusDays(i), i * 0.01d);
+    }
+    return builder.build();
+  }
+
+  private static Path tempFile() throws Exception {
+    File file = File.createTempFile("TimeSeriesStore", ".bin");
+    file.deleteOnExit();
+    return file.toPath();
+  }
+
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright (C) 2019 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.timeseries;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrows;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static java.util.stream.Collectors.toList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.time.LocalDate;
+import java.util.NoSuchElementException;
+import java.util.OptionalDouble;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Test {@link MappedLocalDateDoubleTimeSeries}.
+ */
+@Test
+public class MappedLocalDateDoubleTimeSeriesTest {
+
+  private static final LocalDate DATE_1 = date(2015, 1, 5);
+  private static final LocalDate DATE_2 = date(2015, 1, 7);
+  private static final LocalDate DATE_3 = date(2015, 2, 2);
+  private static final LocalDate DATE_4 = date(2015, 6, 30);
+  private static final LocalDateDoubleTimeSeries EXPECTED = LocalDateDoubleTimeSeries.builder()
+      .put(DATE_1, 1d)
+      .put(DATE_2, 2d)
+      .put(DATE_3, 3d)
+      .put(DATE_4, 4d)
+      .build();
+
+  //-------------------------------------------------------------------------
+  public void test_of() {
+    MappedLocalDateDoubleTimeSeries test = series();
+    assertEquals(test.size(), 4);
+    assertEquals(test.isEmpty(), false);
+    assertEquals(test.containsDate(DATE_2), true);
+    assertEquals(test.containsDate(date(2015, 1, 6)), false);
+    assertEquals(test.get(DATE_3), OptionalDouble.of(3d));
+    assertEquals(test.get(date(2020, 1, 1)), OptionalDouble.empty());
+    assertEquals(test.getEarliestDate(), DATE_1);
+    assertEquals(test.getEarliestValue(), 1d);
+    assertEquals(test.getLatestDate(), DATE_4);
+    assertEquals(test.getLatestValue(), 4d);
+    assertEquals(test.dates().collect(toList()), ImmutableList.of(DATE_1, DATE_2, DATE_3, DATE_4));
+    assertEquals(test.values().boxed().collect(toList()), ImmutableList.of(1d, 2d, 3d, 4d));
+    assertEquals(test.stream().collect(toList()), EXPECTED.stream().collect(toList()));
+    assertEquals(test.toBuilder().build(), EXPECTED);
+    assertEquals(test.toString(), EXPECTED.toString());
+  }
+
+  public void test_of_mismatch() {
+    assertThrowsIllegalArg(() -> MappedLocalDateDoubleTimeSeries.of(IntBuffer.allocate(2), DoubleBuffer.allocate(3)));
+  }
+
+  public void test_empty() {
+    LocalDateDoubleTimeSeries test = series().subSeries(date(2016, 1, 1), date(2017, 1, 1));
+    assertEquals(test, LocalDateDoubleTimeSeries.empty());
+    MappedLocalDateDoubleTimeSeries empty =
+        MappedLocalDateDoubleTimeSeries.of(IntBuffer.allocate(0), DoubleBuffer.allocate(0));
+    assertEquals(empty.isEmpty(), true);
+    assertEquals(empty.get(DATE_1), OptionalDouble.empty());
+    assertThrows(() -> empty.getLatestDate(), NoSuchElementException.class);
+    assertThrows(() -> empty.getEarliestValue(), NoSuchElementException.class);
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_subSeries() {
+    MappedLocalDateDoubleTimeSeries test = series();
+    assertEquals(test.subSeries(DATE_2, DATE_4).toBuilder().build(), EXPECTED.subSeries(DATE_2, DATE_4));
+    assertEquals(test.subSeries(date(2015, 1, 6), date(2015, 3, 1)).toBuilder().build(),
+        EXPECTED.subSeries(date(2015, 1, 6), date(2015, 3, 1)));
+    assertEquals(test.subSeries(DATE_1, date(2016, 1, 1)), test);
+    assertEquals(test.subSeries(DATE_2, DATE_2), LocalDateDoubleTimeSeries.empty());
+    assertThrowsIllegalArg(() -> test.subSeries(DATE_2, DATE_1));
+    // sub-series of a view
+    LocalDateDoubleTimeSeries view = test.subSeries(DATE_2, date(2016, 1, 1));
+    assertEquals(view.subSeries(DATE_1, DATE_4).toBuilder().build(), EXPECTED.subSeries(DATE_2, DATE_4));
+    assertEquals(view.getEarliestDate(), DATE_2);
+    assertEquals(view.get(DATE_1), OptionalDouble.empty());
+  }
+
+  public void test_headSeries_tailSeries() {
+    MappedLocalDateDoubleTimeSeries test = series();
+    assertEquals(test.headSeries(2).toBuilder().build(), EXPECTED.headSeries(2));
+    assertEquals(test.headSeries(5), test);
+    assertEquals(test.headSeries(0), LocalDateDoubleTimeSeries.empty());
+    assertEquals(test.tailSeries(3).toBuilder().build(), EXPECTED.tailSeries(3));
+    assertEquals(test.tailSeries(3).headSeries(1).toBuilder().build(), LocalDateDoubleTimeSeries.of(DATE_2, 2d));
+    assertEquals(test.tailSeries(0), LocalDateDoubleTimeSeries.empty());
+    assertThrowsIllegalArg(() -> test.headSeries(-1));
+    assertThrowsIllegalArg(() -> test.tailSeries(-1));
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_map_filter() {
+    MappedLocalDateDoubleTimeSeries test = series();
+    assertEquals(test.mapValues(v -> v * 2d), EXPECTED.mapValues(v -> v * 2d));
+    assertEquals(test.mapDates(d -> d.plusYears(1)), EXPECTED.mapDates(d -> d.plusYears(1)));
+    assertEquals(test.filter((d, v) -> v > 2d), EXPECTED.filter((d, v) -> v > 2d));
+    StringBuilder buf = new StringBuilder();
+    test.forEach((d, v) -> buf.append(v));
+    assertEquals(buf.toString(), "1.02.03.04.0");
+  }
+
+  public void test_equalsHashCode() {
+    MappedLocalDateDoubleTimeSeries test = series();
+    MappedLocalDateDoubleTimeSeries other = series();
+    assertEquals(test, test);
+    assertEquals(test, other);
+    assertEquals(test.hashCode(), other.hashCode());
+    assertEquals(test.headSeries(2), other.headSeries(2));
+    assertNotEquals(test.headSeries(2), other.tailSeries(2));
+    assertNotEquals(test, EXPECTED);
+    assertNotEquals(test, "");
+  }
+
+  public void test_serialization() throws Exception {
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(baos)) {
+      out.writeObject(series());
+    }
+    try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(baos.toByteArray()))) {
+      assertEquals(in.readObject(), EXPECTED);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  private static MappedLocalDateDoubleTimeSeries series() {
+    IntBuffer dates = IntBuffer.wrap(new int[] {
+        (int) DATE_1.toEpochDay(), (int) DATE_2.toEpochDay(), (int) DATE_3.toEpochDay(), (int) DATE_4.toEpochDay()});
+    DoubleBuffer values = DoubleBuffer.wrap(new double[] {1d, 2d, 3d, 4d});
+    return MappedLocalDateDoubleTimeSeries.of(dates, values);
+  }
+
+}
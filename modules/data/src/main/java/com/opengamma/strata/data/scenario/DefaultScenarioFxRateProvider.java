@@ -6,8 +6,13 @@
 package com.opengamma.strata.data.scenario;
 
 import java.io.Serializable;
+import java.util.Optional;
 
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.FxRate;
 import com.opengamma.strata.basics.currency.FxRateProvider;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.data.FxRateId;
 import com.opengamma.strata.data.MarketDataFxRateProvider;
 import com.opengamma.strata.data.ObservableSource;
 
@@ -41,6 +46,20 @@ class DefaultScenarioFxRateProvider
     return marketData.getScenarioCount();
   }
 
+  @Override
+  public DoubleArray fxRates(Currency baseCurrency, Currency counterCurrency) {
+    if (baseCurrency.equals(counterCurrency)) {
+      return DoubleArray.filled(getScenarioCount(), 1d);
+    }
+    // find the direct rates once, rather than once per scenario
+    Optional<MarketDataBox<FxRate>> rates = marketData.findValue(FxRateId.of(baseCurrency, counterCurrency, source));
+    if (rates.isPresent()) {
+      MarketDataBox<FxRate> box = rates.get();
+      return DoubleArray.of(getScenarioCount(), i -> box.getValue(i).fxRate(baseCurrency, counterCurrency));
+    }
+    return ScenarioFxRateProvider.super.fxRates(baseCurrency, counterCurrency);
+  }
+
   @Override
   public FxRateProvider fxRateProvider(int scenarioIndex) {
     return MarketDataFxRateProvider.of(marketData.scenario(scenarioIndex), source);
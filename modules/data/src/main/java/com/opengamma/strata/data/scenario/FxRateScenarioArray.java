@@ -27,6 +27,7 @@ import org.joda.beans.impl.direct.DirectPrivateBeanBuilder;
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.currency.CurrencyPair;
 import com.opengamma.strata.basics.currency.FxRate;
+import com.opengamma.strata.basics.currency.FxRateProvider;
 import com.opengamma.strata.collect.Messages;
 import com.opengamma.strata.collect.array.DoubleArray;
 
@@ -45,7 +46,7 @@ import com.opengamma.strata.collect.array.DoubleArray;
  */
 @BeanDefinition(builderScope = "private")
 public final class FxRateScenarioArray
-    implements ScenarioArray<FxRate>, ImmutableBean, Serializable {
+    implements ScenarioArray<FxRate>, ScenarioFxRateProvider, ImmutableBean, Serializable {
 
   /**
    * The currency pair.
@@ -133,7 +134,11 @@ public final class FxRateScenarioArray
    * @return the FX rate for the currency pair
    * @throws IllegalArgumentException if no FX rate could be found
    */
+  @Override
   public double fxRate(Currency baseCurrency, Currency counterCurrency, int scenarioIndex) {
+    if (baseCurrency.equals(counterCurrency)) {
+      return 1d;
+    }
     if (baseCurrency.equals(pair.getBase()) && counterCurrency.equals(pair.getCounter())) {
       return rates.get(scenarioIndex);
     }
@@ -143,6 +148,47 @@ public final class FxRateScenarioArray
     throw new IllegalArgumentException("Unknown rate: " + baseCurrency + "/" + counterCurrency);
   }
 
+  /**
+   * Returns the FX rates for the specified currency pair, one for each scenario.
+   * <p>
+   * The rates returned are the rates from the base currency to the counter currency
+   * as defined by this formula: {@code (1 * baseCurrency = fxRate * counterCurrency)}.
+   * <p>
+   * This will return the rates or inverse rates, or rates of 1 if the two input currencies are the same.
+   *
+   * @param baseCurrency  the base currency, to convert from
+   * @param counterCurrency  the counter currency, to convert to
+   * @return the FX rates for the currency pair, one for each scenario
+   * @throws IllegalArgumentException if no FX rate could be found
+   */
+  @Override
+  public DoubleArray fxRates(Currency baseCurrency, Currency counterCurrency) {
+    if (baseCurrency.equals(counterCurrency)) {
+      return DoubleArray.filled(rates.size(), 1d);
+    }
+    if (baseCurrency.equals(pair.getBase()) && counterCurrency.equals(pair.getCounter())) {
+      return rates;
+    }
+    if (counterCurrency.equals(pair.getBase()) && baseCurrency.equals(pair.getCounter())) {
+      return DoubleArray.filled(rates.size(), 1d).dividedBy(rates);
+    }
+    throw new IllegalArgumentException("Unknown rate: " + baseCurrency + "/" + counterCurrency);
+  }
+
+  /**
+   * Returns the FX rate provider for the specified scenario index.
+   * <p>
+   * This is the {@link FxRate} of the scenario.
+   *
+   * @param scenarioIndex  the index of the scenario
+   * @return the FX rate for the specified scenario
+   * @throws IndexOutOfBoundsException if the index is invalid
+   */
+  @Override
+  public FxRateProvider fxRateProvider(int scenarioIndex) {
+    return get(scenarioIndex);
+  }
+
   /**
    * Converts an amount in a currency to an amount in a different currency using this rate.
    * <p>
@@ -159,7 +205,7 @@ public final class FxRateScenarioArray
       return amounts.multipliedBy(rates);
     }
     if (toCurrency.equals(pair.getBase()) && fromCurrency.equals(pair.getCounter())) {
-      return rates.mapWithIndex((i, v) -> amounts.get(i) / v);
+      return amounts.dividedBy(rates);
     }
     throw new IllegalArgumentException("Unknown rate: " + fromCurrency + "/" + toCurrency);
   }
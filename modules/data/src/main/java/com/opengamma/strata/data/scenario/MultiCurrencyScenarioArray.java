@@ -5,18 +5,17 @@
  */
 package com.opengamma.strata.data.scenario;
 
-import static java.util.stream.Collector.Characteristics.UNORDERED;
 import static java.util.stream.Collectors.toList;
 
 import java.io.Serializable;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.function.IntFunction;
 import java.util.stream.Collector;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.joda.beans.Bean;
@@ -34,11 +33,9 @@ import org.joda.beans.impl.direct.DirectPrivateBeanBuilder;
 
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.currency.CurrencyAmount;
-import com.opengamma.strata.basics.currency.CurrencyAmountArray;
 import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
 import com.opengamma.strata.basics.currency.MultiCurrencyAmountArray;
 import com.opengamma.strata.collect.Guavate;
-import com.opengamma.strata.collect.MapStream;
 import com.opengamma.strata.collect.Messages;
 import com.opengamma.strata.collect.array.DoubleArray;
 
@@ -191,19 +188,47 @@ public final class MultiCurrencyScenarioArray
           "Expected {} FX rates but received {}", size, fxRateProvider.getScenarioCount()));
     }
 
+    // the rates are found once for each currency, then applied to all scenarios in a simple loop
     double[] singleCurrencyValues = new double[size];
     for (Map.Entry<Currency, DoubleArray> entry : amounts.getValues().entrySet()) {
-      Currency currency = entry.getKey();
-      DoubleArray currencyValues = entry.getValue();
-
+      double[] currencyValues = entry.getValue().toArrayUnsafe();
+      double[] rates = fxRateProvider.fxRates(entry.getKey(), reportingCurrency).toArrayUnsafe();
       for (int i = 0; i < size; i++) {
-        double convertedValue = currencyValues.get(i) * fxRateProvider.fxRate(currency, reportingCurrency, i);
-        singleCurrencyValues[i] += convertedValue;
+        singleCurrencyValues[i] += currencyValues[i] * rates[i];
       }
     }
     return CurrencyScenarioArray.of(reportingCurrency, DoubleArray.ofUnsafe(singleCurrencyValues));
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Returns a new array containing the values from this array added to the values in the other array.
+   * <p>
+   * The amounts are added to the matching element in this array.
+   * The arrays must have the same size.
+   *
+   * @param other  another array of multiple currency values.
+   * @return a new array containing the values from this array added to the values in the other array
+   * @throws IllegalArgumentException if the arrays have different sizes
+   */
+  public MultiCurrencyScenarioArray plus(MultiCurrencyScenarioArray other) {
+    return MultiCurrencyScenarioArray.of(amounts.plus(other.amounts));
+  }
+
+  /**
+   * Returns a new array containing the values from this array with the values from the other array subtracted.
+   * <p>
+   * The amounts are subtracted from the matching element in this array.
+   * The arrays must have the same size.
+   *
+   * @param other  another array of multiple currency values.
+   * @return a new array containing the values from this array with the values from the other array subtracted
+   * @throws IllegalArgumentException if the arrays have different sizes
+   */
+  public MultiCurrencyScenarioArray minus(MultiCurrencyScenarioArray other) {
+    return MultiCurrencyScenarioArray.of(amounts.minus(other.amounts));
+  }
+
   /**
    * Returns a multi currency scenario array representing the total of the input arrays.
    * <p>
@@ -225,21 +250,11 @@ public final class MultiCurrencyScenarioArray
    * @return the collector
    */
   public static Collector<CurrencyScenarioArray, ?, MultiCurrencyScenarioArray> toMultiCurrencyScenarioArray() {
-    return Collector.<CurrencyScenarioArray, Map<Currency, CurrencyAmountArray>, MultiCurrencyScenarioArray>of(
-        // accumulate into a map
-        HashMap::new,
-        (map, ca) -> map.merge(ca.getCurrency(), ca.getAmounts(), CurrencyAmountArray::plus),
-        // combine two maps
-        (map1, map2) -> {
-          map2.values().forEach((ca2) -> map1.merge(ca2.getCurrency(), ca2, CurrencyAmountArray::plus));
-          return map1;
-        },
-        // convert to MultiCurrencyScenarioArray
-        map -> {
-          Map<Currency, DoubleArray> currencyArrayMap = MapStream.of(map).mapValues(caa -> caa.getValues()).toMap();
-          return MultiCurrencyScenarioArray.of(currencyArrayMap);
-        },
-        UNORDERED);
+    return Collectors.mapping(
+        CurrencyScenarioArray::getAmounts,
+        Collectors.collectingAndThen(
+            MultiCurrencyAmountArray.toMultiCurrencyAmountArray(),
+            MultiCurrencyScenarioArray::of));
   }
 
   //------------------------- AUTOGENERATED START -------------------------
@@ -52,6 +52,25 @@ public class FxRateScenarioArrayTest {
         "Conversion rate between identical currencies must be one");
   }
 
+  public void fxRate_identicalCurrencies() {
+    FxRateScenarioArray rates = FxRateScenarioArray.of(Currency.EUR, Currency.USD, DoubleArray.of(1.07, 1.08, 1.09));
+    assertThat(rates.fxRate(Currency.GBP, Currency.GBP, 0)).isEqualTo(1d);
+  }
+
+  public void fxRates() {
+    FxRateScenarioArray rates = FxRateScenarioArray.of(Currency.EUR, Currency.USD, DoubleArray.of(1.07, 1.08, 1.09));
+    assertThat(rates.fxRates(Currency.EUR, Currency.USD)).isEqualTo(DoubleArray.of(1.07, 1.08, 1.09));
+    assertThat(rates.fxRates(Currency.USD, Currency.EUR)).isEqualTo(DoubleArray.of(1 / 1.07, 1 / 1.08, 1 / 1.09));
+    assertThat(rates.fxRates(Currency.EUR, Currency.EUR)).isEqualTo(DoubleArray.of(1, 1, 1));
+    assertThrowsIllegalArg(() -> rates.fxRates(Currency.AED, Currency.ARS));
+  }
+
+  public void fxRateProvider() {
+    FxRateScenarioArray rates = FxRateScenarioArray.of(Currency.EUR, Currency.USD, DoubleArray.of(1.07, 1.08, 1.09));
+    assertThat(rates.fxRateProvider(1)).isEqualTo(FxRate.of(Currency.EUR, Currency.USD, 1.08));
+    assertThat(rates.convert(10, Currency.EUR, Currency.USD, 2)).isEqualTo(10 * 1.09);
+  }
+
   public void unknownCurrencyPair() {
     FxRateScenarioArray rates = FxRateScenarioArray.of(Currency.EUR, Currency.USD, DoubleArray.of(1.07, 1.08, 1.09));
     assertThrowsIllegalArg(() -> rates.fxRate(Currency.AED, Currency.ARS, 0));
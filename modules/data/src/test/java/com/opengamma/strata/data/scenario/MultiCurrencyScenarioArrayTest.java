@@ -180,6 +180,53 @@ public class MultiCurrencyScenarioArrayTest {
     }
   }
 
+  public void convertUsingFxRateScenarioArray() {
+    MultiCurrencyScenarioArray array = MultiCurrencyScenarioArray.of(ImmutableMap.of(
+        GBP, DoubleArray.of(20, 21, 22),
+        USD, DoubleArray.of(30, 32, 33)));
+    FxRateScenarioArray rates = FxRateScenarioArray.of(GBP, USD, DoubleArray.of(1.50, 1.51, 1.52));
+    CurrencyScenarioArray convertedArray = array.convertedTo(Currency.USD, rates);
+    DoubleArray expected = DoubleArray.of(20 * 1.50 + 30, 21 * 1.51 + 32, 22 * 1.52 + 33);
+    assertThat(convertedArray.getAmounts().getValues()).isEqualTo(expected);
+  }
+
+  public void convertWrongScenarioCount() {
+    FxRateScenarioArray rates = FxRateScenarioArray.of(GBP, USD, DoubleArray.of(1.50, 1.51));
+    assertThrowsIllegalArg(() -> VALUES_ARRAY.convertedTo(Currency.USD, rates));
+  }
+
+  //-------------------------------------------------------------------------
+  public void plus() {
+    MultiCurrencyScenarioArray other = MultiCurrencyScenarioArray.of(ImmutableMap.of(
+        GBP, DoubleArray.of(1, 2, 3),
+        CAD, DoubleArray.of(4, 5, 6)));
+    MultiCurrencyScenarioArray expected = MultiCurrencyScenarioArray.of(ImmutableMap.of(
+        GBP, DoubleArray.of(21, 23, 25),
+        USD, DoubleArray.of(30, 32, 33),
+        EUR, DoubleArray.of(40, 43, 44),
+        CAD, DoubleArray.of(4, 5, 6)));
+    assertThat(VALUES_ARRAY.plus(other)).isEqualTo(expected);
+  }
+
+  public void minus() {
+    MultiCurrencyScenarioArray other = MultiCurrencyScenarioArray.of(ImmutableMap.of(
+        GBP, DoubleArray.of(1, 2, 3),
+        CAD, DoubleArray.of(4, 5, 6)));
+    MultiCurrencyScenarioArray expected = MultiCurrencyScenarioArray.of(ImmutableMap.of(
+        GBP, DoubleArray.of(19, 19, 19),
+        USD, DoubleArray.of(30, 32, 33),
+        EUR, DoubleArray.of(40, 43, 44),
+        CAD, DoubleArray.of(-4, -5, -6)));
+    assertThat(VALUES_ARRAY.minus(other)).isEqualTo(expected);
+  }
+
+  public void plusMinusDifferentSize() {
+    MultiCurrencyScenarioArray other = MultiCurrencyScenarioArray.of(ImmutableMap.of(GBP, DoubleArray.of(1, 2)));
+    assertThrowsIllegalArg(() -> VALUES_ARRAY.plus(other));
+    assertThrowsIllegalArg(() -> VALUES_ARRAY.minus(other));
+  }
+
+  //-------------------------------------------------------------------------
   /**
    * Test the hand-written equals and hashCode methods which correctly handle maps with array values
    */
@@ -241,6 +288,16 @@ public class MultiCurrencyScenarioArrayTest {
     assertThat(MultiCurrencyScenarioArray.total(arrays)).isEqualTo(expected);
   }
 
+  public void collectorInputsUnchanged() {
+    CurrencyScenarioArray usd1 = CurrencyScenarioArray.of(USD, DoubleArray.of(10, 20, 30));
+    CurrencyScenarioArray usd2 = CurrencyScenarioArray.of(USD, DoubleArray.of(5, 6, 7));
+    MultiCurrencyScenarioArray test = ImmutableList.of(usd1, usd2, usd1).parallelStream()
+        .collect(toMultiCurrencyScenarioArray());
+    assertThat(test.getValues(USD)).isEqualTo(DoubleArray.of(25, 46, 67));
+    assertThat(usd1.getAmounts().getValues()).isEqualTo(DoubleArray.of(10, 20, 30));
+    assertThat(usd2.getAmounts().getValues()).isEqualTo(DoubleArray.of(5, 6, 7));
+  }
+
   public void collectorDifferentArrayLengths() {
     List<CurrencyScenarioArray> arrays = ImmutableList.of(
         CurrencyScenarioArray.of(USD, DoubleArray.of(10, 20, 30)),
@@ -14,6 +14,7 @@ import org.testng.annotations.Test;
 
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.currency.FxRate;
+import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.data.FxRateId;
 import com.opengamma.strata.data.ObservableSource;
 
@@ -39,6 +40,26 @@ public class ScenarioFxRateProviderTest {
     assertThat(fxRateProvider.fxRate(Currency.GBP, Currency.USD, 0)).isEqualTo(1.4d);
   }
 
+  public void fxRates() {
+    FxRateScenarioArray gbpUsd = FxRateScenarioArray.of(Currency.GBP, Currency.USD, DoubleArray.of(1.4d, 1.41d, 1.42d));
+    FxRateScenarioArray eurUsd = FxRateScenarioArray.of(Currency.EUR, Currency.USD, DoubleArray.of(1.1d, 1.11d, 1.12d));
+    ScenarioMarketData marketData = ImmutableScenarioMarketData.builder(LocalDate.of(2011, 3, 8))
+        .addScenarioValue(FxRateId.of(Currency.GBP, Currency.USD), gbpUsd)
+        .addScenarioValue(FxRateId.of(Currency.EUR, Currency.USD), eurUsd)
+        .build();
+    ScenarioFxRateProvider test = ScenarioFxRateProvider.of(marketData);
+    assertThat(test.fxRates(Currency.GBP, Currency.USD)).isEqualTo(DoubleArray.of(1.4d, 1.41d, 1.42d));
+    assertThat(test.fxRates(Currency.GBP, Currency.GBP)).isEqualTo(DoubleArray.filled(3, 1d));
+    // each of the direct, inverse and triangulated rates match the rates of the individual scenarios
+    for (Currency[] pair : new Currency[][] {
+        {Currency.GBP, Currency.USD}, {Currency.USD, Currency.EUR}, {Currency.EUR, Currency.GBP}}) {
+      DoubleArray rates = test.fxRates(pair[0], pair[1]);
+      for (int i = 0; i < 3; i++) {
+        assertThat(rates.get(i)).isEqualTo(test.fxRate(pair[0], pair[1], i));
+      }
+    }
+  }
+
   public void specifySource() {
     ObservableSource testSource = ObservableSource.of("test");
     ScenarioMarketData marketData = ImmutableScenarioMarketData.builder(LocalDate.of(2011, 3, 8))
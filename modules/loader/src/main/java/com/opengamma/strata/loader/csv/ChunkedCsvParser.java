@@ -0,0 +1,229 @@
+/*
+ * Copyright (C) 2019 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.loader.csv;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import com.google.common.collect.Iterators;
+import com.google.common.collect.PeekingIterator;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.OrderedTaskQueue;
+import com.opengamma.strata.collect.io.CsvRow;
+import com.opengamma.strata.collect.result.FailureItem;
+import com.opengamma.strata.collect.result.ValueWithFailures;
+
+/**
+ * Parses the rows of a CSV file in chunks, optionally in parallel.
+ * <p>
+ * The rows are read on the calling thread and split into chunks, which are parsed by up to
+ * {@code parallelism} tasks at the same time. A chunk never ends before a continuation row,
+ * such as the 'Variable' rows of a swap, thus each chunk holds complete items.
+ * The results of the chunks are merged in file order, and so are the same as parsing the file serially.
+ * <p>
+ * The files of a collection can also be parsed at the same time, with the results merged in order.
+ * <p>
+ * The chunks and files are run using {@link OrderedTaskQueue}, thus the calling thread parses any
+ * that have not been started when the result is needed. This allows the parser to be run on
+ * a thread of the same executor.
+ */
+final class ChunkedCsvParser {
+
+  /**
+   * The parser that parses each file serially on the calling thread.
+   */
+  static final ChunkedCsvParser SERIAL = new ChunkedCsvParser(null, 1, Integer.MAX_VALUE);
+  /**
+   * The default number of rows in a chunk.
+   */
+  private static final int DEFAULT_CHUNK_SIZE = 512;
+
+  /**
+   * The executor used to parse the chunks, null if serial.
+   */
+  private final Executor executor;
+  /**
+   * The maximum number of chunks that are parsed at the same time.
+   */
+  private final int parallelism;
+  /**
+   * The minimum number of rows in a chunk.
+   */
+  private final int chunkSize;
+
+  /**
+   * Obtains an instance.
+   *
+   * @param executor  the executor used to parse the chunks
+   * @param parallelism  the maximum number of chunks that are parsed at the same time
+   * @return the parser
+   */
+  static ChunkedCsvParser of(Executor executor, int parallelism) {
+    return of(executor, parallelism, DEFAULT_CHUNK_SIZE);
+  }
+
+  /**
+   * Obtains an instance specifying the chunk size.
+   *
+   * @param executor  the executor used to parse the chunks
+   * @param parallelism  the maximum number of chunks that are parsed at the same time
+   * @param chunkSize  the minimum number of rows in a chunk
+   * @return the parser
+   */
+  static ChunkedCsvParser of(Executor executor, int parallelism, int chunkSize) {
+    ArgChecker.notNull(executor, "executor");
+    ArgChecker.notNegativeOrZero(parallelism, "parallelism");
+    ArgChecker.notNegativeOrZero(chunkSize, "chunkSize");
+    return parallelism == 1 ? SERIAL : new ChunkedCsvParser(executor, parallelism, chunkSize);
+  }
+
+  // restricted constructor
+  private ChunkedCsvParser(Executor executor, int parallelism, int chunkSize) {
+    this.executor = executor;
+    this.parallelism = parallelism;
+    this.chunkSize = chunkSize;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the maximum number of chunks that are parsed at the same time.
+   *
+   * @return the parallelism
+   */
+  int getParallelism() {
+    return parallelism;
+  }
+
+  /**
+   * Parses the rows of a CSV file.
+   * <p>
+   * The chunk parser is invoked with the rows of a chunk and the index of the first row of
+   * the chunk within the file. When serial, it is invoked once with all the rows of the file.
+   * The chunk parser must capture failures of individual rows in the result.
+   *
+   * @param <T>  the type of the parsed items
+   * @param csv  the rows of the CSV file
+   * @param continuation  whether a row continues the item of the previous row
+   * @param chunkParser  the parser of a chunk of rows
+   * @return the parsed items, in file order
+   */
+  <T> ValueWithFailures<List<T>> parse(
+      PeekingIterator<CsvRow> csv,
+      Predicate<CsvRow> continuation,
+      ChunkParser<T> chunkParser) {
+
+    if (executor == null) {
+      return chunkParser.parse(csv, 0);
+    }
+    List<T> values = new ArrayList<>();
+    List<FailureItem> failures = new ArrayList<>();
+    OrderedTaskQueue<ValueWithFailures<List<T>>> queue = OrderedTaskQueue.of(executor, parallelism, result -> {
+      values.addAll(result.getValue());
+      failures.addAll(result.getFailures());
+    });
+    List<CsvRow> chunk = new ArrayList<>(chunkSize);
+    int chunkStart = 0;
+    int rowIndex = 0;
+    while (csv.hasNext()) {
+      chunk.add(csv.next());
+      rowIndex++;
+      if (chunk.size() >= chunkSize && csv.hasNext() && !continuation.test(csv.peek())) {
+        submit(queue, chunk, chunkStart, chunkParser);
+        chunk = new ArrayList<>(chunkSize);
+        chunkStart = rowIndex;
+      }
+    }
+    if (!chunk.isEmpty()) {
+      submit(queue, chunk, chunkStart, chunkParser);
+    }
+    queue.finish();
+    return ValueWithFailures.of(values, failures);
+  }
+
+  /**
+   * Parses the rows of a CSV file, where the parser does not need the index of the first row of a chunk.
+   *
+   * @param <T>  the type of the parsed items
+   * @param csv  the rows of the CSV file
+   * @param continuation  whether a row continues the item of the previous row
+   * @param chunkParser  the parser of a chunk of rows
+   * @return the parsed items, in file order
+   */
+  <T> ValueWithFailures<List<T>> parse(
+      PeekingIterator<CsvRow> csv,
+      Predicate<CsvRow> continuation,
+      Function<PeekingIterator<CsvRow>, ValueWithFailures<List<T>>> chunkParser) {
+
+    return parse(csv, continuation, (rows, firstRowIndex) -> chunkParser.apply(rows));
+  }
+
+  /**
+   * Parses a number of sources, such as CSV files.
+   * <p>
+   * Up to {@code parallelism} sources are parsed at the same time.
+   * The results of the sources are merged in the order of the collection.
+   *
+   * @param <S>  the type of the sources
+   * @param <T>  the type of the parsed items
+   * @param sources  the sources
+   * @param sourceParser  the parser of a single source
+   * @return the parsed items, in source order
+   */
+  <S, T> ValueWithFailures<List<T>> parseAll(
+      Collection<S> sources,
+      Function<S, ValueWithFailures<List<T>>> sourceParser) {
+
+    List<T> values = new ArrayList<>();
+    List<FailureItem> failures = new ArrayList<>();
+    Consumer<ValueWithFailures<List<T>>> merger = result -> {
+      values.addAll(result.getValue());
+      failures.addAll(result.getFailures());
+    };
+    OrderedTaskQueue<ValueWithFailures<List<T>>> queue = executor == null ?
+        OrderedTaskQueue.serial(merger) :
+        OrderedTaskQueue.of(executor, parallelism, merger);
+    for (S source : sources) {
+      queue.submit(() -> sourceParser.apply(source));
+    }
+    queue.finish();
+    return ValueWithFailures.of(values, failures);
+  }
+
+  // submits a chunk to the queue, the chunk is parsed on the calling thread if the executor has not started it
+  private static <T> void submit(
+      OrderedTaskQueue<ValueWithFailures<List<T>>> queue,
+      List<CsvRow> chunk,
+      int chunkStart,
+      ChunkParser<T> chunkParser) {
+
+    queue.submit(() -> chunkParser.parse(Iterators.peekingIterator(chunk.iterator()), chunkStart));
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Parses a chunk of rows.
+   *
+   * @param <T>  the type of the parsed items
+   */
+  @FunctionalInterface
+  interface ChunkParser<T> {
+
+    /**
+     * Parses a chunk of rows.
+     *
+     * @param rows  the rows of the chunk
+     * @param firstRowIndex  the index of the first row of the chunk within the file
+     * @return the parsed items, with the failures
+     */
+    public abstract ValueWithFailures<List<T>> parse(PeekingIterator<CsvRow> rows, int firstRowIndex);
+  }
+
+}
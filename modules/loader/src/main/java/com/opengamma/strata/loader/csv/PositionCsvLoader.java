@@ -13,13 +13,16 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.PeekingIterator;
 import com.google.common.io.CharSource;
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.StandardId;
 import com.opengamma.strata.collect.ArgChecker;
-import com.opengamma.strata.collect.Guavate;
+import com.opengamma.strata.collect.OrderedTaskQueue;
 import com.opengamma.strata.collect.io.CsvIterator;
 import com.opengamma.strata.collect.io.CsvRow;
 import com.opengamma.strata.collect.io.ResourceLocator;
@@ -133,6 +136,12 @@ import com.opengamma.strata.product.etd.EtdSettlementType;
  * <p>
  * The expiry is normally controlled using just the 'Expiry' column.
  * Flex options will also set the 'Expiry Day', 'Settlement Type' and 'Exercise Style'.
+ * 
+ * <h4>Parallelism</h4>
+ * <p>
+ * Use {@link #withParallelism(Executor, int)} to parse large files in parallel.
+ * Each file is split into chunks of rows which are parsed in parallel and merged in file order,
+ * thus the result is the same as parsing serially.
  */
 public final class PositionCsvLoader {
 
@@ -152,6 +161,10 @@ public final class PositionCsvLoader {
    * The resolver, providing additional information.
    */
   private final PositionCsvInfoResolver resolver;
+  /**
+   * The parser used to split each file into chunks.
+   */
+  private final ChunkedCsvParser parser;
 
   //-------------------------------------------------------------------------
   /**
@@ -160,7 +173,7 @@ public final class PositionCsvLoader {
    * @return the loader
    */
   public static PositionCsvLoader standard() {
-    return new PositionCsvLoader(PositionCsvInfoResolver.standard());
+    return new PositionCsvLoader(PositionCsvInfoResolver.standard(), ChunkedCsvParser.SERIAL);
   }
 
   /**
@@ -170,7 +183,7 @@ public final class PositionCsvLoader {
    * @return the loader
    */
   public static PositionCsvLoader of(ReferenceData refData) {
-    return new PositionCsvLoader(PositionCsvInfoResolver.of(refData));
+    return new PositionCsvLoader(PositionCsvInfoResolver.of(refData), ChunkedCsvParser.SERIAL);
   }
 
   /**
@@ -180,12 +193,51 @@ public final class PositionCsvLoader {
    * @return the loader
    */
   public static PositionCsvLoader of(PositionCsvInfoResolver resolver) {
-    return new PositionCsvLoader(resolver);
+    return new PositionCsvLoader(resolver, ChunkedCsvParser.SERIAL);
   }
 
   // restricted constructor
-  private PositionCsvLoader(PositionCsvInfoResolver resolver) {
+  private PositionCsvLoader(PositionCsvInfoResolver resolver, ChunkedCsvParser parser) {
     this.resolver = ArgChecker.notNull(resolver, "resolver");
+    this.parser = parser;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns a loader that parses the files in parallel using the common fork-join pool.
+   * <p>
+   * See {@link #withParallelism(Executor, int)} for details.
+   *
+   * @param parallelism  the maximum number of files or chunks that are parsed at the same time
+   * @return a loader that parses the files in parallel
+   */
+  public PositionCsvLoader withParallelism(int parallelism) {
+    return withParallelism(ForkJoinPool.commonPool(), parallelism);
+  }
+
+  /**
+   * Returns a loader that parses the files in parallel using the specified executor.
+   * <p>
+   * When parsing a collection of files, the files are parsed in parallel.
+   * The rows of each file are read and split into chunks.
+   * The chunks are parsed in parallel, with the positions and failures merged in file order.
+   * The tasks are run using {@link OrderedTaskQueue}, thus the loader may be invoked
+   * from a thread of the same executor.
+   * It is the caller's responsibility to manage the life-cycle of the executor.
+   * <p>
+   * The resolver must be safe for use in multiple threads when the parallelism is greater than one.
+   *
+   * @param executor  the executor used to parse the files and chunks
+   * @param parallelism  the maximum number of files or chunks that are parsed at the same time
+   * @return a loader that parses the files in parallel
+   */
+  public PositionCsvLoader withParallelism(Executor executor, int parallelism) {
+    return new PositionCsvLoader(resolver, ChunkedCsvParser.of(executor, parallelism));
+  }
+
+  // returns a loader using the specified parser, for testing
+  PositionCsvLoader withParser(ChunkedCsvParser parser) {
+    return new PositionCsvLoader(resolver, parser);
   }
 
   //-------------------------------------------------------------------------
@@ -291,12 +343,7 @@ public final class PositionCsvLoader {
    */
   public <T extends Position> ValueWithFailures<List<T>> parse(Collection<CharSource> charSources, Class<T> positionType) {
     try {
-      ValueWithFailures<List<T>> result = ValueWithFailures.of(ImmutableList.of());
-      for (CharSource charSource : charSources) {
-        ValueWithFailures<List<T>> singleResult = parseFile(charSource, positionType);
-        result = result.combinedWith(singleResult, Guavate::concatToList);
-      }
-      return result;
+      return parser.parseAll(charSources, charSource -> parseFile(charSource, positionType));
 
     } catch (RuntimeException ex) {
       return ValueWithFailures.of(ImmutableList.of(), FailureItem.of(FailureReason.ERROR, ex));
@@ -311,7 +358,7 @@ public final class PositionCsvLoader {
             ImmutableList.of(),
             FailureItem.of(FailureReason.PARSING, "CSV file does not contain '{header}' header: {}", TYPE_FIELD, charSource));
       }
-      return parseFile(csv, positionType);
+      return parser.parse(csv, row -> false, (rows, firstRowIndex) -> parseRows(rows, firstRowIndex, positionType));
 
     } catch (RuntimeException ex) {
       return ValueWithFailures.of(
@@ -321,11 +368,15 @@ public final class PositionCsvLoader {
     }
   }
 
-  // loads a single CSV file
-  private <T extends Position> ValueWithFailures<List<T>> parseFile(CsvIterator csv, Class<T> posType) {
+  // loads the rows of a single CSV file, or a chunk of the file
+  private <T extends Position> ValueWithFailures<List<T>> parseRows(
+      PeekingIterator<CsvRow> csv,
+      int firstRowIndex,
+      Class<T> posType) {
+
     List<T> positions = new ArrayList<>();
     List<FailureItem> failures = new ArrayList<>();
-    int line = 2;
+    int line = 2 + firstRowIndex;
     for (CsvRow row : (Iterable<CsvRow>) () -> csv) {
       try {
         PositionInfo info = parsePositionInfo(row);
@@ -5,8 +5,6 @@
  */
 package com.opengamma.strata.loader.csv;
 
-import static java.util.stream.Collectors.toList;
-
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.Collection;
@@ -21,6 +19,8 @@ import com.google.common.collect.ImmutableMap.Builder;
 import com.google.common.io.CharSource;
 import com.opengamma.strata.basics.StandardId;
 import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.io.CsvBufferIterator;
+import com.opengamma.strata.collect.io.CsvBufferRow;
 import com.opengamma.strata.collect.io.CsvFile;
 import com.opengamma.strata.collect.io.CsvRow;
 import com.opengamma.strata.collect.io.ResourceLocator;
@@ -97,8 +97,7 @@ public final class QuotesCsvLoader {
    * @throws IllegalArgumentException if the files contain a duplicate entry
    */
   public static ImmutableMap<QuoteId, Double> load(LocalDate marketDataDate, Collection<ResourceLocator> resources) {
-    Collection<CharSource> charSources = resources.stream().map(r -> r.getCharSource()).collect(toList());
-    return parse(d -> marketDataDate.equals(d), charSources).getOrDefault(marketDataDate, ImmutableMap.of());
+    return parseResources(d -> marketDataDate.equals(d), resources).getOrDefault(marketDataDate, ImmutableMap.of());
   }
 
   //-------------------------------------------------------------------------
@@ -137,8 +136,7 @@ public final class QuotesCsvLoader {
       Set<LocalDate> marketDataDates,
       Collection<ResourceLocator> resources) {
 
-    Collection<CharSource> charSources = resources.stream().map(r -> r.getCharSource()).collect(toList());
-    return parse(d -> marketDataDates.contains(d), charSources);
+    return parseResources(d -> marketDataDates.contains(d), resources);
   }
 
   //-------------------------------------------------------------------------
@@ -171,8 +169,7 @@ public final class QuotesCsvLoader {
   public static ImmutableMap<LocalDate, ImmutableMap<QuoteId, Double>> loadAllDates(
       Collection<ResourceLocator> resources) {
 
-    Collection<CharSource> charSources = resources.stream().map(r -> r.getCharSource()).collect(toList());
-    return parse(d -> true, charSources);
+    return parseResources(d -> true, resources);
   }
 
   //-------------------------------------------------------------------------
@@ -198,6 +195,26 @@ public final class QuotesCsvLoader {
     for (CharSource charSource : charSources) {
       parseSingle(datePredicate, charSource, mutableMap);
     }
+    return build(mutableMap);
+  }
+
+  // parses the resources using the byte-based CSV parser, which avoids creating objects for each row
+  private static ImmutableMap<LocalDate, ImmutableMap<QuoteId, Double>> parseResources(
+      Predicate<LocalDate> datePredicate,
+      Collection<ResourceLocator> resources) {
+
+    // builder ensures keys can only be seen once
+    Map<LocalDate, ImmutableMap.Builder<QuoteId, Double>> mutableMap = new HashMap<>();
+    for (ResourceLocator resource : resources) {
+      parseSingle(datePredicate, resource, mutableMap);
+    }
+    return build(mutableMap);
+  }
+
+  // builds the result
+  private static ImmutableMap<LocalDate, ImmutableMap<QuoteId, Double>> build(
+      Map<LocalDate, ImmutableMap.Builder<QuoteId, Double>> mutableMap) {
+
     ImmutableMap.Builder<LocalDate, ImmutableMap<QuoteId, Double>> builder = ImmutableMap.builder();
     for (Entry<LocalDate, Builder<QuoteId, Double>> entry : mutableMap.entrySet()) {
       builder.put(entry.getKey(), entry.getValue().build());
@@ -236,6 +253,58 @@ public final class QuotesCsvLoader {
     }
   }
 
+  // loads a single CSV file, filtering by date
+  private static void parseSingle(
+      Predicate<LocalDate> datePredicate,
+      ResourceLocator resource,
+      Map<LocalDate, ImmutableMap.Builder<QuoteId, Double>> mutableMap) {
+
+    try (CsvBufferIterator csv = CsvBufferIterator.of(resource.getByteSource(), true)) {
+      int dateIndex = csv.headerIndex(DATE_FIELD);
+      int symbologyIndex = findHeaderIndex(csv, SYMBOLOGY_FIELD);
+      int tickerIndex = findHeaderIndex(csv, TICKER_FIELD);
+      int fieldNameIndex = findHeaderIndex(csv, FIELD_NAME_FIELD);
+      int valueIndex = findHeaderIndex(csv, VALUE_FIELD);
+      // quotes files typically contain many rows for each date, so the last date is cached
+      String lastDateText = null;
+      LocalDate date = null;
+      boolean dateMatches = false;
+      while (csv.hasNext()) {
+        CsvBufferRow row = csv.next();
+        CharSequence dateText = row.fieldSequence(dateIndex);
+        if (lastDateText == null || !lastDateText.contentEquals(dateText)) {
+          lastDateText = dateText.toString();
+          date = LoaderUtils.parseDate(lastDateText);
+          dateMatches = datePredicate.test(date);
+        }
+        if (dateMatches) {
+          String symbologyStr = field(row, symbologyIndex, SYMBOLOGY_FIELD);
+          String tickerStr = field(row, tickerIndex, TICKER_FIELD);
+          String fieldNameStr = field(row, fieldNameIndex, FIELD_NAME_FIELD);
+          double value = valueIndex >= 0 ? row.parseDouble(valueIndex) : Double.valueOf(row.getField(VALUE_FIELD));
+          StandardId id = StandardId.of(symbologyStr, tickerStr);
+          FieldName fieldName = fieldNameStr.isEmpty() ? FieldName.MARKET_VALUE : FieldName.of(fieldNameStr);
+
+          ImmutableMap.Builder<QuoteId, Double> builderForDate = mutableMap.computeIfAbsent(date, k -> ImmutableMap.builder());
+          builderForDate.put(QuoteId.of(id, fieldName), value);
+        }
+      }
+    } catch (RuntimeException ex) {
+      throw new IllegalArgumentException(
+          Messages.format("Error processing resource as CSV file: {}", resource), ex);
+    }
+  }
+
+  // finds the index of a header, -1 if not found
+  private static int findHeaderIndex(CsvBufferIterator csv, String header) {
+    return csv.containsHeader(header) ? csv.headerIndex(header) : -1;
+  }
+
+  // gets a field, an error is only thrown if the header is missing and the field is needed
+  private static String field(CsvBufferRow row, int index, String header) {
+    return index >= 0 ? row.field(index) : row.getField(header);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Restricted constructor.
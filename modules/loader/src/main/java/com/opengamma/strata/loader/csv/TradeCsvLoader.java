@@ -15,13 +15,16 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.PeekingIterator;
 import com.google.common.io.CharSource;
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.StandardId;
 import com.opengamma.strata.collect.ArgChecker;
-import com.opengamma.strata.collect.Guavate;
+import com.opengamma.strata.collect.OrderedTaskQueue;
 import com.opengamma.strata.collect.io.CsvIterator;
 import com.opengamma.strata.collect.io.CsvRow;
 import com.opengamma.strata.collect.io.ResourceLocator;
@@ -200,6 +203,12 @@ import com.opengamma.strata.product.swaption.SwaptionTrade;
  * <p>
  * The quantity will normally be set from the 'Quantity' column.
  * If that column is not found, the 'Long Quantity' and 'Short Quantity' columns will be used instead.
+ * 
+ * <h4>Parallelism</h4>
+ * <p>
+ * Use {@link #withParallelism(Executor, int)} to parse large files in parallel.
+ * Each file is split into chunks of rows, keeping the 'Variable' rows with their 'Swap' or 'Swaption'.
+ * The chunks are parsed in parallel and merged in file order, thus the result is the same as parsing serially.
  */
 public final class TradeCsvLoader {
 
@@ -272,6 +281,10 @@ public final class TradeCsvLoader {
    * The resolver, providing additional information.
    */
   private final TradeCsvInfoResolver resolver;
+  /**
+   * The parser used to split each file into chunks.
+   */
+  private final ChunkedCsvParser parser;
 
   //-------------------------------------------------------------------------
   /**
@@ -280,7 +293,7 @@ public final class TradeCsvLoader {
    * @return the loader
    */
   public static TradeCsvLoader standard() {
-    return new TradeCsvLoader(TradeCsvInfoResolver.standard());
+    return new TradeCsvLoader(TradeCsvInfoResolver.standard(), ChunkedCsvParser.SERIAL);
   }
 
   /**
@@ -290,7 +303,7 @@ public final class TradeCsvLoader {
    * @return the loader
    */
   public static TradeCsvLoader of(ReferenceData refData) {
-    return new TradeCsvLoader(TradeCsvInfoResolver.of(refData));
+    return new TradeCsvLoader(TradeCsvInfoResolver.of(refData), ChunkedCsvParser.SERIAL);
   }
 
   /**
@@ -300,12 +313,52 @@ public final class TradeCsvLoader {
    * @return the loader
    */
   public static TradeCsvLoader of(TradeCsvInfoResolver resolver) {
-    return new TradeCsvLoader(resolver);
+    return new TradeCsvLoader(resolver, ChunkedCsvParser.SERIAL);
   }
 
   // restricted constructor
-  private TradeCsvLoader(TradeCsvInfoResolver resolver) {
+  private TradeCsvLoader(TradeCsvInfoResolver resolver, ChunkedCsvParser parser) {
     this.resolver = ArgChecker.notNull(resolver, "resolver");
+    this.parser = parser;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns a loader that parses the files in parallel using the common fork-join pool.
+   * <p>
+   * See {@link #withParallelism(Executor, int)} for details.
+   *
+   * @param parallelism  the maximum number of files or chunks that are parsed at the same time
+   * @return a loader that parses the files in parallel
+   */
+  public TradeCsvLoader withParallelism(int parallelism) {
+    return withParallelism(ForkJoinPool.commonPool(), parallelism);
+  }
+
+  /**
+   * Returns a loader that parses the files in parallel using the specified executor.
+   * <p>
+   * When parsing a collection of files, the files are parsed in parallel.
+   * The rows of each file are read and split into chunks.
+   * A chunk never separates a 'Swap' or 'Swaption' from its 'Variable' rows.
+   * The chunks are parsed in parallel, with the trades and failures merged in file order.
+   * The tasks are run using {@link OrderedTaskQueue}, thus the loader may be invoked
+   * from a thread of the same executor.
+   * It is the caller's responsibility to manage the life-cycle of the executor.
+   * <p>
+   * The resolver must be safe for use in multiple threads when the parallelism is greater than one.
+   *
+   * @param executor  the executor used to parse the files and chunks
+   * @param parallelism  the maximum number of files or chunks that are parsed at the same time
+   * @return a loader that parses the files in parallel
+   */
+  public TradeCsvLoader withParallelism(Executor executor, int parallelism) {
+    return new TradeCsvLoader(resolver, ChunkedCsvParser.of(executor, parallelism));
+  }
+
+  // returns a loader using the specified parser, for testing
+  TradeCsvLoader withParser(ChunkedCsvParser parser) {
+    return new TradeCsvLoader(resolver, parser);
   }
 
   //-------------------------------------------------------------------------
@@ -420,12 +473,7 @@ public final class TradeCsvLoader {
    */
   public <T extends Trade> ValueWithFailures<List<T>> parse(Collection<CharSource> charSources, Class<T> tradeType) {
     try {
-      ValueWithFailures<List<T>> result = ValueWithFailures.of(ImmutableList.of());
-      for (CharSource charSource : charSources) {
-        ValueWithFailures<List<T>> singleResult = parseFile(charSource, tradeType);
-        result = result.combinedWith(singleResult, Guavate::concatToList);
-      }
-      return result;
+      return parser.parseAll(charSources, charSource -> parseFile(charSource, tradeType));
 
     } catch (RuntimeException ex) {
       return ValueWithFailures.of(ImmutableList.of(), FailureItem.of(FailureReason.ERROR, ex));
@@ -440,7 +488,7 @@ public final class TradeCsvLoader {
             ImmutableList.of(),
             FailureItem.of(FailureReason.PARSING, "CSV file does not contain '{header}' header: {}", TYPE_FIELD, charSource));
       }
-      return parseFile(csv, tradeType);
+      return parser.parse(csv, TradeCsvLoader::isVariable, rows -> parseRows(rows, tradeType));
 
     } catch (RuntimeException ex) {
       return ValueWithFailures.of(
@@ -450,8 +498,13 @@ public final class TradeCsvLoader {
     }
   }
 
-  // loads a single CSV file
-  private <T extends Trade> ValueWithFailures<List<T>> parseFile(CsvIterator csv, Class<T> tradeType) {
+  // checks if the row is a 'Variable' row that continues a swap or swaption
+  private static boolean isVariable(CsvRow row) {
+    return row.getField(TYPE_FIELD).toUpperCase(Locale.ENGLISH).equals("VARIABLE");
+  }
+
+  // loads the rows of a single CSV file, or a chunk of the file
+  private <T extends Trade> ValueWithFailures<List<T>> parseRows(PeekingIterator<CsvRow> csv, Class<T> tradeType) {
     List<T> trades = new ArrayList<>();
     List<FailureItem> failures = new ArrayList<>();
     while (csv.hasNext()) {
@@ -478,7 +531,7 @@ public final class TradeCsvLoader {
           case "SWAP":
             if (tradeType == SwapTrade.class || tradeType == Trade.class) {
               List<CsvRow> variableRows = new ArrayList<>();
-              while (csv.hasNext() && csv.peek().getField(TYPE_FIELD).toUpperCase(Locale.ENGLISH).equals("VARIABLE")) {
+              while (csv.hasNext() && isVariable(csv.peek())) {
                 variableRows.add(csv.next());
               }
               trades.add(tradeType.cast(resolver.parseSwapTrade(row, variableRows, info)));
@@ -487,7 +540,7 @@ public final class TradeCsvLoader {
           case "SWAPTION":
             if (tradeType == SwaptionTrade.class || tradeType == Trade.class) {
               List<CsvRow> variableRows = new ArrayList<>();
-              while (csv.hasNext() && csv.peek().getField(TYPE_FIELD).toUpperCase(Locale.ENGLISH).equals("VARIABLE")) {
+              while (csv.hasNext() && isVariable(csv.peek())) {
                 variableRows.add(csv.next());
               }
               trades.add(tradeType.cast(resolver.parseSwaptionTrade(row, variableRows, info)));
@@ -13,6 +13,8 @@ import java.time.Period;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -218,6 +220,39 @@ public final class FpmlDocument {
     this.refData = refData;
   }
 
+  // creates an instance for a single trade, sharing the parsed parties
+  private FpmlDocument(
+      FpmlDocument base,
+      XmlElement fpmlRootEl,
+      Map<String, XmlElement> references) {
+
+    this.fpmlRoot = fpmlRootEl;
+    this.references = ImmutableMap.copyOf(references);
+    this.parties = base.parties;
+    this.ourPartyHrefIds = base.ourPartyHrefIds;
+    this.tradeInfoParser = base.tradeInfoParser;
+    this.refData = base.refData;
+  }
+
+  /**
+   * Returns a document containing the parties of this document and a single trade.
+   * <p>
+   * This is used when streaming trades, where this document contains only the parties.
+   * The parties and "our" party are not parsed again.
+   * 
+   * @param tradeEl  the trade element
+   * @param tradeReferences  the map of id/href to referenced element within the trade
+   * @return the document for the trade
+   */
+  FpmlDocument withTrade(XmlElement tradeEl, Map<String, XmlElement> tradeReferences) {
+    List<XmlElement> children = new ArrayList<>(fpmlRoot.getChildren());
+    children.add(tradeEl);
+    XmlElement root = XmlElement.ofChildren(fpmlRoot.getName(), fpmlRoot.getAttributes(), children);
+    Map<String, XmlElement> refs = new HashMap<>(references);
+    refs.putAll(tradeReferences);
+    return new FpmlDocument(this, root, refs);
+  }
+
   // parse all the root-level party elements
   private static ImmutableListMultimap<String, String> parseParties(XmlElement root) {
     ListMultimap<String, String> parties = ArrayListMultimap.create();
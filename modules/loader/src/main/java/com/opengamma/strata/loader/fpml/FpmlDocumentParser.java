@@ -10,18 +10,34 @@ import static com.opengamma.strata.collect.Guavate.toImmutableSet;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.io.ByteSource;
 import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.OrderedTaskQueue;
 import com.opengamma.strata.collect.io.XmlElement;
 import com.opengamma.strata.collect.io.XmlFile;
 import com.opengamma.strata.collect.named.ExtendedEnum;
+import com.opengamma.strata.collect.result.FailureItem;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.ValueWithFailures;
 import com.opengamma.strata.product.Trade;
 
 /**
@@ -32,10 +48,14 @@ import com.opengamma.strata.product.Trade;
  * <p>
  * The trade parsers implement {@link FpmlParserPlugin} and are pluggable using
  * the {@code FpmlParserPlugin.ini} configuration file.
+ * <p>
+ * Large documents can be parsed using {@link #streamTrades(ByteSource, Consumer, Consumer)},
+ * which only holds the parties and a single trade in memory at any one time.
  */
 public final class FpmlDocumentParser {
   // Notes: Streaming trades directly from the file is difficult due to the
   // need to parse the party element at the root, which is after the trades
+  // as such, streaming reads the source twice, first for the parties and then for the trades
 
   /**
    * The lookup of trade parsers.
@@ -58,6 +78,14 @@ public final class FpmlDocumentParser {
    * The reference data.
    */
   private final ReferenceData refData;
+  /**
+   * The executor used to parse streamed trades, null if serial.
+   */
+  private final Executor executor;
+  /**
+   * The maximum number of streamed trades that are parsed at the same time.
+   */
+  private final int parallelism;
 
   //-------------------------------------------------------------------------
   /**
@@ -178,7 +206,7 @@ public final class FpmlDocumentParser {
       Map<String, FpmlParserPlugin> tradeParsers,
       ReferenceData refData) {
 
-    return new FpmlDocumentParser(ourPartySelector, tradeInfoParser, tradeParsers, refData);
+    return new FpmlDocumentParser(ourPartySelector, tradeInfoParser, tradeParsers, refData, null, 1);
   }
 
   //-------------------------------------------------------------------------
@@ -188,17 +216,60 @@ public final class FpmlDocumentParser {
    * @param ourPartySelector  the selector used to find "our" party within the set of parties in the FpML document
    * @param tradeInfoParser  the trade info parser
    * @param tradeParsers  the map of trade parsers, keyed by the FpML element name
+   * @param refData  the reference data to use
+   * @param executor  the executor used to parse streamed trades, null if serial
+   * @param parallelism  the maximum number of streamed trades that are parsed at the same time
    */
   private FpmlDocumentParser(
       FpmlPartySelector ourPartySelector,
       FpmlTradeInfoParserPlugin tradeInfoParser,
       Map<String, FpmlParserPlugin> tradeParsers,
-      ReferenceData refData) {
+      ReferenceData refData,
+      Executor executor,
+      int parallelism) {
 
     this.ourPartySelector = ourPartySelector;
     this.tradeInfoParser = tradeInfoParser;
     this.tradeParsers = tradeParsers;
     this.refData = refData;
+    this.executor = executor;
+    this.parallelism = parallelism;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns a parser that parses streamed trades in parallel using the common fork-join pool.
+   * <p>
+   * See {@link #withParallelism(Executor, int)} for details.
+   *
+   * @param parallelism  the maximum number of trades that are parsed at the same time
+   * @return a parser that parses streamed trades in parallel
+   */
+  public FpmlDocumentParser withParallelism(int parallelism) {
+    return withParallelism(ForkJoinPool.commonPool(), parallelism);
+  }
+
+  /**
+   * Returns a parser that parses streamed trades in parallel using the specified executor.
+   * <p>
+   * This affects {@link #streamTrades(ByteSource, Consumer, Consumer)}.
+   * The XML is read on the calling thread, with the trade elements converted to trades in parallel.
+   * The trades and failures are still passed to the consumers on the calling thread in document order.
+   * The trades are parsed using {@link OrderedTaskQueue}, thus the parser may be invoked
+   * from a thread of the same executor.
+   * It is the caller's responsibility to manage the life-cycle of the executor.
+   * <p>
+   * The plugins must be safe for use in multiple threads when the parallelism is greater than one.
+   *
+   * @param executor  the executor used to parse the trades
+   * @param parallelism  the maximum number of trades that are parsed at the same time
+   * @return a parser that parses streamed trades in parallel
+   */
+  public FpmlDocumentParser withParallelism(Executor executor, int parallelism) {
+    ArgChecker.notNull(executor, "executor");
+    ArgChecker.notNegativeOrZero(parallelism, "parallelism");
+    return new FpmlDocumentParser(
+        ourPartySelector, tradeInfoParser, tradeParsers, refData, parallelism == 1 ? null : executor, parallelism);
   }
 
   //-------------------------------------------------------------------------
@@ -263,6 +334,100 @@ public final class FpmlDocumentParser {
     return parseTrades(root, xmlFile.getReferences());
   }
 
+  /**
+   * Parses FpML from the specified source, streaming the trades to a consumer.
+   * <p>
+   * This parses the specified byte source which must be an XML document.
+   * Unlike {@link #parseTrades(ByteSource)}, the document is not held in memory.
+   * Instead, the source is read twice, first to find the {@code <party>} elements, then to parse
+   * each {@code <trade>} element in turn. As such, the memory used is bounded by the parties and a
+   * single trade, or as many trades as the parallelism when {@linkplain #withParallelism parallel}.
+   * <p>
+   * Each trade is passed to the trade consumer as soon as it has been parsed, in document order.
+   * If a trade cannot be parsed, a failure is passed to the failure consumer and parsing continues.
+   * Both consumers are invoked on the calling thread.
+   * <p>
+   * The FpML root element is found in a similar way to {@link #parseTrades(ByteSource)}.
+   * It is the root, a child or a grand-child of the root that has {@code <party>} children and
+   * {@code <trade>} elements as children, grand-children or great-grand-children.
+   * References from within a trade are resolved against the trade itself and the parties.
+   * 
+   * @param source  the source of the FpML XML document
+   * @param tradeConsumer  the consumer of each parsed trade
+   * @param failureConsumer  the consumer of each trade that could not be parsed
+   * @throws RuntimeException if the document cannot be parsed
+   */
+  public void streamTrades(
+      ByteSource source,
+      Consumer<? super Trade> tradeConsumer,
+      Consumer<? super FailureItem> failureConsumer) {
+
+    ArgChecker.notNull(source, "source");
+    ArgChecker.notNull(tradeConsumer, "tradeConsumer");
+    ArgChecker.notNull(failureConsumer, "failureConsumer");
+
+    // find the parties, which may be after the trades
+    PartyFinder partyFinder = new PartyFinder();
+    XmlFile.streamElements(source, FpmlDocument.ID, partyFinder, partyFinder);
+    List<String> rootPath = partyFinder.findRootPath();
+    if (rootPath == null) {
+      throw new FpmlParseException("Unable to find FpML root element");
+    }
+    String rootName = rootPath.get(rootPath.size() - 1);
+    XmlElement partiesRoot = XmlElement.ofChildren(rootName, partyFinder.parties.get(rootPath));
+    Map<String, XmlElement> partyRefs = partyFinder.references.get(rootPath);
+    FpmlDocument document = new FpmlDocument(partiesRoot, partyRefs, ourPartySelector, tradeInfoParser, refData);
+
+    // parse each trade, keeping the results in document order
+    Consumer<ValueWithFailures<List<Trade>>> resultConsumer = result -> {
+      result.getValue().forEach(tradeConsumer);
+      result.getFailures().forEach(failureConsumer);
+    };
+    OrderedTaskQueue<ValueWithFailures<List<Trade>>> queue = executor == null ?
+        OrderedTaskQueue.serial(resultConsumer) :
+        OrderedTaskQueue.of(executor, parallelism, resultConsumer);
+    AtomicInteger tradeCount = new AtomicInteger();
+    XmlFile.streamElements(
+        source,
+        FpmlDocument.ID,
+        path -> isTrade(path, rootPath),
+        (tradeEl, refs) -> {
+          int tradeNumber = tradeCount.incrementAndGet();
+          queue.submit(() -> parseStreamedTrade(document.withTrade(tradeEl, refs), tradeEl, tradeNumber));
+        });
+    queue.finish();
+  }
+
+  // checks if the path is a trade element within the FpML root, or a child or grand-child of the root
+  private static boolean isTrade(List<String> path, List<String> rootPath) {
+    int size = path.size();
+    int rootSize = rootPath.size();
+    return size > rootSize &&
+        size <= rootSize + 3 &&
+        path.get(size - 1).equals("trade") &&
+        path.subList(0, rootSize).equals(rootPath);
+  }
+
+  // parses a streamed trade, capturing any exception as a failure
+  private ValueWithFailures<List<Trade>> parseStreamedTrade(
+      FpmlDocument document,
+      XmlElement tradeEl,
+      int tradeNumber) {
+
+    try {
+      return ValueWithFailures.of(ImmutableList.of(parseTrade(document, tradeEl)));
+    } catch (RuntimeException ex) {
+      return ValueWithFailures.of(
+          ImmutableList.of(),
+          FailureItem.of(
+              FailureReason.PARSING,
+              ex,
+              "FpML trade {tradeNumber} could not be parsed: {exceptionMessage}",
+              tradeNumber,
+              ex.getMessage()));
+    }
+  }
+
   // intelligently finds the FpML root element
   private static XmlElement findFpmlRoot(XmlElement root) {
     XmlElement fpmlRoot = getFpmlRoot(root);
@@ -362,4 +527,51 @@ public final class FpmlDocumentParser {
     throw new FpmlParseException("Unknown product type: " + childNames);
   }
 
+  //-------------------------------------------------------------------------
+  // finds the party elements when streaming, together with the elements that contain trades
+  // the FpML root is the shallowest element with party children and trades within three levels
+  private static final class PartyFinder
+      implements Predicate<List<String>>, BiConsumer<XmlElement, Map<String, XmlElement>> {
+
+    // the party elements, keyed by the path of the parent element, in document order
+    private final Map<List<String>, List<XmlElement>> parties = new LinkedHashMap<>();
+    // the references within the party elements, keyed by the path of the parent element
+    private final Map<List<String>, Map<String, XmlElement>> references = new HashMap<>();
+    // the paths of the elements that have a trade as a child, grand-child or great-grand-child
+    private final Set<List<String>> tradeAncestors = new HashSet<>();
+    // the path of the parent of the party element being parsed
+    private List<String> currentParent;
+
+    @Override
+    public boolean test(List<String> path) {
+      int size = path.size();
+      String name = path.get(size - 1);
+      if (name.equals("trade") && size <= 6) {
+        for (int i = Math.max(size - 3, 1); i < size; i++) {
+          tradeAncestors.add(ImmutableList.copyOf(path.subList(0, i)));
+        }
+        return false;
+      }
+      if (name.equals("party") && size >= 2 && size <= 4) {
+        currentParent = ImmutableList.copyOf(path.subList(0, size - 1));
+        return true;
+      }
+      return false;
+    }
+
+    @Override
+    public void accept(XmlElement partyEl, Map<String, XmlElement> refs) {
+      parties.computeIfAbsent(currentParent, k -> new ArrayList<>()).add(partyEl);
+      references.computeIfAbsent(currentParent, k -> new HashMap<>()).putAll(refs);
+    }
+
+    // finds the path of the FpML root, null if not found
+    private List<String> findRootPath() {
+      return parties.keySet().stream()
+          .filter(tradeAncestors::contains)
+          .min(Comparator.comparingInt(List::size))
+          .orElse(null);
+    }
+  }
+
 }
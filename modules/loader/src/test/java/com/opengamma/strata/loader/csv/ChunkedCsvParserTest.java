@@ -0,0 +1,168 @@
+/*
+ * Copyright (C) 2019 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.loader.csv;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrows;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterators;
+import com.google.common.collect.PeekingIterator;
+import com.google.common.io.CharSource;
+import com.opengamma.strata.collect.Guavate;
+import com.opengamma.strata.collect.io.CsvFile;
+import com.opengamma.strata.collect.io.CsvRow;
+import com.opengamma.strata.collect.result.FailureItem;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.ValueWithFailures;
+
+/**
+ * Test {@link ChunkedCsvParser}.
+ */
+@Test
+public class ChunkedCsvParserTest {
+
+  private static final Executor EXECUTOR = ForkJoinPool.commonPool();
+  private static final Predicate<CsvRow> CONTINUATION = row -> row.getField("Type").equals("+");
+
+  //-------------------------------------------------------------------------
+  public void test_of() {
+    assertSame(ChunkedCsvParser.of(EXECUTOR, 1), ChunkedCsvParser.SERIAL);
+    assertEquals(ChunkedCsvParser.SERIAL.getParallelism(), 1);
+    assertEquals(ChunkedCsvParser.of(EXECUTOR, 4).getParallelism(), 4);
+    assertThrowsIllegalArg(() -> ChunkedCsvParser.of(null, 2));
+    assertThrowsIllegalArg(() -> ChunkedCsvParser.of(EXECUTOR, 0));
+    assertThrowsIllegalArg(() -> ChunkedCsvParser.of(EXECUTOR, 2, 0));
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_parse_serial() {
+    List<Integer> firstRowIndices = new ArrayList<>();
+    ValueWithFailures<List<String>> result = ChunkedCsvParser.SERIAL.parse(
+        rows(20),
+        CONTINUATION,
+        (rows, firstRowIndex) -> {
+          firstRowIndices.add(firstRowIndex);
+          return parseGroups(rows, firstRowIndex);
+        });
+    assertEquals(firstRowIndices, ImmutableList.of(0));
+    assertEqualResults(result, parseGroups(rows(20), 0));
+  }
+
+  public void test_parse_parallel() {
+    ValueWithFailures<List<String>> expected = parseGroups(rows(200), 0);
+    for (int chunkSize : new int[] {1, 2, 3, 7, 50, 500}) {
+      for (int parallelism : new int[] {2, 3, 8}) {
+        ChunkedCsvParser test = ChunkedCsvParser.of(EXECUTOR, parallelism, chunkSize);
+        ValueWithFailures<List<String>> result = test.parse(rows(200), CONTINUATION, ChunkedCsvParserTest::parseGroups);
+        assertEqualResults(result, expected);
+      }
+    }
+  }
+
+  public void test_parse_parallel_callerRuns() {
+    // an executor that never runs the tasks, thus the calling thread parses every chunk
+    ChunkedCsvParser test = ChunkedCsvParser.of(task -> { }, 2, 4);
+    ValueWithFailures<List<String>> result = test.parse(rows(50), CONTINUATION, ChunkedCsvParserTest::parseGroups);
+    assertEqualResults(result, parseGroups(rows(50), 0));
+  }
+
+  public void test_parse_parallel_exception() {
+    ChunkedCsvParser test = ChunkedCsvParser.of(EXECUTOR, 2, 4);
+    assertThrows(
+        () -> test.parse(rows(50), CONTINUATION, (rows, firstRowIndex) -> {
+          throw new IllegalStateException("Bad");
+        }),
+        IllegalStateException.class,
+        "Bad");
+  }
+
+  public void test_parse_withoutRowIndex() {
+    ChunkedCsvParser test = ChunkedCsvParser.of(EXECUTOR, 3, 5);
+    ValueWithFailures<List<String>> result = test.parse(rows(50), CONTINUATION, rows -> parseGroups(rows, 0));
+    assertEquals(result.getValue(), parseGroups(rows(50), 0).getValue());
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_parseAll() {
+    List<Integer> sizes = ImmutableList.of(20, 0, 50, 7, 100);
+    ValueWithFailures<List<String>> expected = ValueWithFailures.of(ImmutableList.of());
+    for (int size : sizes) {
+      expected = expected.combinedWith(parseGroups(rows(size), 0), Guavate::concatToList);
+    }
+    for (ChunkedCsvParser test : ImmutableList.of(
+        ChunkedCsvParser.SERIAL, ChunkedCsvParser.of(EXECUTOR, 3, 4), ChunkedCsvParser.of(task -> { }, 2, 4))) {
+      ValueWithFailures<List<String>> result = test.parseAll(
+          sizes, size -> test.parse(rows(size), CONTINUATION, ChunkedCsvParserTest::parseGroups));
+      assertEqualResults(result, expected);
+    }
+  }
+
+  public void test_parseAll_exception() {
+    ChunkedCsvParser test = ChunkedCsvParser.of(EXECUTOR, 2, 4);
+    assertThrows(
+        () -> test.parseAll(ImmutableList.of(1, 2, 3), size -> {
+          throw new IllegalStateException("Bad");
+        }),
+        IllegalStateException.class,
+        "Bad");
+  }
+
+  //-------------------------------------------------------------------------
+  // rows where every third row is a continuation of the previous row
+  private static PeekingIterator<CsvRow> rows(int count) {
+    StringBuilder buf = new StringBuilder("Type,Value\n");
+    for (int i = 0; i < count; i++) {
+      buf.append(i % 3 == 2 ? "+" : "N").append(',').append(i).append('\n');
+    }
+    return Iterators.peekingIterator(CsvFile.of(CharSource.wrap(buf), true).rows().iterator());
+  }
+
+  // parses groups of rows, failing if a group does not start with a new item
+  private static ValueWithFailures<List<String>> parseGroups(PeekingIterator<CsvRow> rows, int firstRowIndex) {
+    List<String> values = new ArrayList<>();
+    List<FailureItem> failures = new ArrayList<>();
+    int index = firstRowIndex;
+    while (rows.hasNext()) {
+      CsvRow row = rows.next();
+      if (CONTINUATION.test(row)) {
+        failures.add(FailureItem.of(FailureReason.PARSING, "Orphan continuation at {index}", index));
+      }
+      StringBuilder group = new StringBuilder(row.getField("Value"));
+      index++;
+      while (rows.hasNext() && CONTINUATION.test(rows.peek())) {
+        group.append('+').append(rows.next().getField("Value"));
+        index++;
+      }
+      if (row.getField("Value").equals("9")) {
+        failures.add(FailureItem.of(FailureReason.PARSING, "Nine at {index}", index - 1));
+      }
+      values.add(group.toString());
+    }
+    return ValueWithFailures.of(values, failures);
+  }
+
+  // the stack traces of failures depend on the thread, so the failures are compared as strings
+  private static void assertEqualResults(
+      ValueWithFailures<List<String>> actual,
+      ValueWithFailures<List<String>> expected) {
+
+
+    assertEquals(actual.getValue(), expected.getValue());
+    assertEquals(actual.getFailures().toString(), expected.getFailures().toString());
+  }
+
+}
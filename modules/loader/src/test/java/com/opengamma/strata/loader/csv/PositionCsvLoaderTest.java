@@ -13,7 +13,9 @@ import static org.joda.beans.test.BeanAssert.assertBeanEquals;
 import static org.testng.Assert.assertEquals;
 
 import java.time.YearMonth;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 import org.testng.annotations.Test;
 
@@ -417,4 +419,46 @@ public class PositionCsvLoaderTest {
             "Security must contain a quantity column, either 'Quantity' or 'Long Quantity' and 'Short Quantity'");
   }
 
+  //-------------------------------------------------------------------------
+  public void test_parse_parallel() {
+    StringBuilder buf = new StringBuilder("Strata Position Type,Security Id,Quantity\n");
+    for (int i = 0; i < 100; i++) {
+      buf.append(i % 7 == 0 ? "Foo" : "SEC").append(",S").append(i).append(',').append(i).append('\n');
+    }
+    ImmutableList<CharSource> sources = ImmutableList.of(CharSource.wrap(buf));
+    ValueWithFailures<List<Position>> expected = PositionCsvLoader.standard().parse(sources);
+    assertEquals(expected.getValue().size(), 85);
+    assertEquals(expected.getFailures().size(), 15);
+    assertEquals(expected.getFailures().get(1).getMessage(), "CSV file position type 'Foo' is not known at line 9");
+
+    for (int chunkSize : new int[] {1, 3, 10, 1000}) {
+      PositionCsvLoader test = PositionCsvLoader.standard()
+          .withParser(ChunkedCsvParser.of(ForkJoinPool.commonPool(), 4, chunkSize));
+      ValueWithFailures<List<Position>> parsed = test.parse(sources);
+      assertEquals(parsed.getValue(), expected.getValue());
+      assertEquals(parsed.getFailures().toString(), expected.getFailures().toString());
+    }
+    assertEquals(PositionCsvLoader.standard().withParallelism(4).parse(sources).getValue(), expected.getValue());
+  }
+
+  public void test_parse_parallel_multipleFiles() {
+    List<CharSource> sources = new ArrayList<>();
+    for (int file = 0; file < 10; file++) {
+      StringBuilder buf = new StringBuilder("Strata Position Type,Security Id,Quantity\n");
+      for (int i = 0; i < 20; i++) {
+        buf.append(i % 7 == 0 ? "Foo" : "SEC").append(",S").append(file).append('-').append(i).append(",1\n");
+      }
+      sources.add(CharSource.wrap(buf));
+    }
+    ValueWithFailures<List<Position>> expected = PositionCsvLoader.standard().parse(sources);
+    assertEquals(expected.getValue().size(), 170);
+    assertEquals(expected.getFailures().size(), 30);
+
+    PositionCsvLoader test = PositionCsvLoader.standard()
+        .withParser(ChunkedCsvParser.of(ForkJoinPool.commonPool(), 3, 4));
+    ValueWithFailures<List<Position>> parsed = test.parse(sources);
+    assertEquals(parsed.getValue(), expected.getValue());
+    assertEquals(parsed.getFailures().toString(), expected.getFailures().toString());
+  }
+
 }
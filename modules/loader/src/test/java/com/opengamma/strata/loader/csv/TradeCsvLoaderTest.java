@@ -35,6 +35,7 @@ import java.time.Period;
 import java.time.ZoneId;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -1806,6 +1807,38 @@ public class TradeCsvLoaderTest {
     }
   }
 
+  //-------------------------------------------------------------------------
+  public void test_load_parallel() {
+    ValueWithFailures<List<Trade>> expected = TradeCsvLoader.standard().load(FILE);
+    for (int chunkSize : new int[] {1, 2, 5, 1000}) {
+      TradeCsvLoader test = TradeCsvLoader.standard()
+          .withParser(ChunkedCsvParser.of(ForkJoinPool.commonPool(), 4, chunkSize));
+      ValueWithFailures<List<Trade>> trades = test.load(FILE);
+      assertEquals(trades.getValue(), expected.getValue());
+      assertEquals(trades.getFailures().toString(), expected.getFailures().toString());
+    }
+    assertEquals(TradeCsvLoader.standard().withParallelism(4).load(FILE).getValue(), expected.getValue());
+  }
+
+  public void test_load_parallel_variableRows() {
+    String csv = "Strata Trade Type,Buy Sell\n" +
+        "Swap,Buy\n" +
+        "Variable,Buy\n" +
+        "Variable,Buy\n" +
+        "Variable,Buy\n" +
+        "Swap,Buy\n" +
+        "Variable,Buy\n";
+    ImmutableList<CharSource> sources = ImmutableList.of(CharSource.wrap(csv));
+    ValueWithFailures<List<Trade>> expected = TradeCsvLoader.standard().parse(sources);
+    TradeCsvLoader test = TradeCsvLoader.standard()
+        .withParser(ChunkedCsvParser.of(ForkJoinPool.commonPool(), 2, 1));
+    ValueWithFailures<List<Trade>> trades = test.parse(sources);
+    // the variable rows are never separated from their swap, so no orphan 'Variable' failures
+    assertEquals(trades.getFailures().size(), 2);
+    assertEquals(trades.getFailures().toString(), expected.getFailures().toString());
+    assertEquals(trades.getFailures().get(1).getMessage().startsWith("CSV file trade could not be parsed at line 6"), true);
+  }
+
   //-------------------------------------------------------------------------
   public void coverage() {
     coverPrivateConstructor(BulletPaymentTradeCsvPlugin.class);
@@ -59,6 +59,7 @@ import java.time.LocalTime;
 import java.time.Period;
 import java.time.ZoneId;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.regex.Pattern;
@@ -101,6 +102,8 @@ import com.opengamma.strata.basics.value.ValueStep;
 import com.opengamma.strata.basics.value.ValueStepSequence;
 import com.opengamma.strata.collect.io.ResourceLocator;
 import com.opengamma.strata.collect.io.XmlElement;
+import com.opengamma.strata.collect.result.FailureItem;
+import com.opengamma.strata.collect.result.FailureReason;
 import com.opengamma.strata.product.Trade;
 import com.opengamma.strata.product.common.LongShort;
 import com.opengamma.strata.product.common.PayReceive;
@@ -1543,6 +1546,120 @@ public class FpmlDocumentParserTest {
     assertEquals(trades.size(), 1);
   }
 
+  //-------------------------------------------------------------------------
+  @DataProvider(name = "stream")
+  public static Object[][] data_stream() {
+    return new Object[][] {
+        {"classpath:com/opengamma/strata/loader/fpml/brl-future-value-notional.xml", null},
+        {"classpath:com/opengamma/strata/loader/fpml/bullet-payment-weird.xml", null},
+        {"classpath:com/opengamma/strata/loader/fpml/cd-ex01-long-asia-corp-fixreg.xml", "Party2"},
+        {"classpath:com/opengamma/strata/loader/fpml/cd-ex02-2003-short-asia-corp-fixreg.xml", "Party2"},
+        {"classpath:com/opengamma/strata/loader/fpml/cd-ex02-short-asia-corp-fixreg.xml", "Party2"},
+        {"classpath:com/opengamma/strata/loader/fpml/cd-ex03-long-aussie-corp-fixreg.xml", "Party2"},
+        {"classpath:com/opengamma/strata/loader/fpml/cd-ex04-short-aussie-corp-fixreg.xml", "Party2"},
+        {"classpath:com/opengamma/strata/loader/fpml/cd-ex05-long-emasia-corp-fixreg.xml", "Party2"},
+        {"classpath:com/opengamma/strata/loader/fpml/cd-ex06-long-emeur-sov-fixreg.xml", "Party2"},
+        {"classpath:com/opengamma/strata/loader/fpml/cd-ex07-2003-long-euro-corp-fixreg.xml", "Party2"},
+        {"classpath:com/opengamma/strata/loader/fpml/cd-ex07-long-euro-corp-fixreg.xml", "Party2"},
+        {"classpath:com/opengamma/strata/loader/fpml/cd-ex08-2003-short-euro-corp-fixreg.xml", "Party2"},
+        {"classpath:com/opengamma/strata/loader/fpml/cd-ex08-short-euro-corp-fixreg.xml", "Party2"},
+        {"classpath:com/opengamma/strata/loader/fpml/cd-ex09-long-euro-sov-fixreg.xml", "Party2"},
+        {"classpath:com/opengamma/strata/loader/fpml/cd-ex10-2003-long-us-corp-fixreg.xml", "Party2"},
+        {"classpath:com/opengamma/strata/loader/fpml/cd-ex10-long-us-corp-fixreg.xml", "Party2"},
+        {"classpath:com/opengamma/strata/loader/fpml/cd-ex11-2003-short-us-corp-fixreg.xml", "Party2"},
+        {"classpath:com/opengamma/strata/loader/fpml/cd-ex11-short-us-corp-fixreg.xml", "Party2"},
+        {"classpath:com/opengamma/strata/loader/fpml/cd-ex12-long-emasia-sov-fixreg.xml", "Party2"},
+        {"classpath:com/opengamma/strata/loader/fpml/cd-ex13-long-asia-sov-fixreg.xml", "Party2"},
+        {"classpath:com/opengamma/strata/loader/fpml/cd-ex14-long-emlatin-corp-fixreg.xml", "Party2"},
+        {"classpath:com/opengamma/strata/loader/fpml/cd-ex15-long-emlatin-sov-fixreg.xml", "Party2"},
+        {"classpath:com/opengamma/strata/loader/fpml/cd-ex16-short-us-corp-fixreg-recovery-factor.xml", "Party2"},
+        {"classpath:com/opengamma/strata/loader/fpml/cd-ex17-short-us-corp-portfolio-compression.xml", "Party2"},
+        {"classpath:com/opengamma/strata/loader/fpml/cd-ex18-standard-north-american-corp.xml", "Party2"},
+        {"classpath:com/opengamma/strata/loader/fpml/cdindex-ex01-cdx.xml", "Party2"},
+        {"classpath:com/opengamma/strata/loader/fpml/fx-ex01-fx-spot.xml", null},
+        {"classpath:com/opengamma/strata/loader/fpml/fx-ex02-spot-cross-w-side-rates.xml", null},
+        {"classpath:com/opengamma/strata/loader/fpml/fx-ex03-fx-fwd-split-date.xml", null},
+        {"classpath:com/opengamma/strata/loader/fpml/fx-ex03-fx-fwd.xml", null},
+        {"classpath:com/opengamma/strata/loader/fpml/fx-ex04-fx-fwd-w-settlement.xml", null},
+        {"classpath:com/opengamma/strata/loader/fpml/fx-ex05-fx-fwd-w-ssi.xml", null},
+        {"classpath:com/opengamma/strata/loader/fpml/fx-ex06-fx-fwd-w-splits.xml", null},
+        {"classpath:com/opengamma/strata/loader/fpml/fx-ex07-non-deliverable-forward.xml", null},
+        {"classpath:com/opengamma/strata/loader/fpml/fx-ex08-fx-swap.xml", "Party1"},
+        {"classpath:com/opengamma/strata/loader/fpml/inflation-swap-ex01-yoy.xml", null},
+        {"classpath:com/opengamma/strata/loader/fpml/ird-ex01-vanilla-swap.xml", null},
+        {"classpath:com/opengamma/strata/loader/fpml/ird-ex02-stub-amort-swap.xml", null},
+        {"classpath:com/opengamma/strata/loader/fpml/ird-ex02-stub-amort-swap2.xml", null},
+        {"classpath:com/opengamma/strata/loader/fpml/ird-ex03-compound-swap.xml", null},
+        {"classpath:com/opengamma/strata/loader/fpml/ird-ex04-arrears-stepup-fee-swap.xml", null},
+        {"classpath:com/opengamma/strata/loader/fpml/ird-ex05-long-stub-swap.xml", null},
+        {"classpath:com/opengamma/strata/loader/fpml/ird-ex06-xccy-swap.xml", null},
+        {"classpath:com/opengamma/strata/loader/fpml/ird-ex07-ois-swap.xml", null},
+        {"classpath:com/opengamma/strata/loader/fpml/ird-ex08-fra-interpolated.xml", null},
+        {"classpath:com/opengamma/strata/loader/fpml/ird-ex08-fra-namespace.xml", null},
+        {"classpath:com/opengamma/strata/loader/fpml/ird-ex08-fra-wrapper-clearing-status.xml", null},
+        {"classpath:com/opengamma/strata/loader/fpml/ird-ex08-fra-wrapper1.xml", null},
+        {"classpath:com/opengamma/strata/loader/fpml/ird-ex08-fra-wrapper2.xml", null},
+        {"classpath:com/opengamma/strata/loader/fpml/ird-ex08-fra.xml", null},
+        {"classpath:com/opengamma/strata/loader/fpml/ird-ex10-euro-swaption-relative.xml", "Party1"},
+        {"classpath:com/opengamma/strata/loader/fpml/ird-ex28-bullet-payments.xml", null},
+        {"classpath:com/opengamma/strata/loader/fpml/ird-ex30-swap-comp-avg-relative-date.xml", null},
+        {"classpath:com/opengamma/strata/loader/fpml/ird-ex32-zero-coupon-swap.xml", null},
+        {"classpath:com/opengamma/strata/loader/fpml/ird-ex35-inverse-floater-inverse-vs-floating.xml", null},
+        {"classpath:com/opengamma/strata/loader/fpml/ird-ibor-no-reset-dates.xml", null},
+        {"classpath:com/opengamma/strata/loader/fpml/ird-ois-no-reset-dates.xml", null},
+        {"classpath:com/opengamma/strata/loader/fpml/td-ex01-simple-term-deposit.xml", null},
+    };
+  }
+
+  @Test(dataProvider = "stream")
+  public void streamTrades(String location, String party) {
+    ByteSource resource = ResourceLocator.of(location).getByteSource();
+    FpmlPartySelector selector = party == null ? FpmlPartySelector.any() : FpmlPartySelector.matching(party);
+    FpmlDocumentParser parser = FpmlDocumentParser.of(selector);
+    List<Trade> expected = parser.parseTrades(resource);
+    for (FpmlDocumentParser test : new FpmlDocumentParser[] {parser, parser.withParallelism(4)}) {
+      List<Trade> trades = new ArrayList<>();
+      List<FailureItem> failures = new ArrayList<>();
+      test.streamTrades(resource, trades::add, failures::add);
+      assertEquals(failures, ImmutableList.of());
+      assertEquals(trades, expected);
+    }
+  }
+
+  public void streamTrades_failure() throws Exception {
+    String location = "classpath:com/opengamma/strata/loader/fpml/bullet-payment-weird.xml";
+    String xml = ResourceLocator.of(location).getCharSource().read()
+        .replace("</trade>", "</trade><trade><tradeHeader><tradeDate>2001-04-29</tradeDate></tradeHeader><unknown/></trade>");
+    ByteSource resource = CharSource.wrap(xml).asByteSource(StandardCharsets.UTF_8);
+    FpmlPartySelector selector = FpmlPartySelector.matchingRegex(Pattern.compile("Party1[ab]"));
+    FpmlDocumentParser parser = FpmlDocumentParser.of(selector);
+    List<Trade> expected = FpmlDocumentParser.of(selector)
+        .parseTrades(ResourceLocator.of(location).getByteSource());
+    for (FpmlDocumentParser test : new FpmlDocumentParser[] {parser, parser.withParallelism(2)}) {
+      List<Object> results = new ArrayList<>();
+      test.streamTrades(resource, results::add, results::add);
+      assertEquals(results.size(), 4);
+      assertEquals(results.get(0), expected.get(0));
+      assertEquals(results.get(2), expected.get(1));
+      FailureItem failure0 = (FailureItem) results.get(1);
+      assertEquals(failure0.getReason(), FailureReason.PARSING);
+      assertEquals(failure0.getMessage(), "FpML trade 2 could not be parsed: Unknown product type: [tradeHeader, unknown]");
+      FailureItem failure1 = (FailureItem) results.get(3);
+      assertEquals(failure1.getMessage().startsWith("FpML trade 4 could not be parsed"), true);
+    }
+  }
+
+  public void streamTrades_notFpml() {
+    String xml = "<?xml version=\"1.0\" encoding=\"utf-8\"?>\r\n" +
+        "<root><trade/></root>";
+    ByteSource resource = CharSource.wrap(xml).asByteSource(StandardCharsets.UTF_8);
+    FpmlDocumentParser parser = FpmlDocumentParser.of(FpmlPartySelector.any());
+    assertThrows(
+        () -> parser.streamTrades(resource, trade -> { }, failure -> { }),
+        FpmlParseException.class,
+        "Unable to find FpML root element.*");
+  }
+
   //-------------------------------------------------------------------------
   public void noTrades() {
     XmlElement rootEl = XmlElement.ofChildren("dataDocument", ImmutableList.of());
@@ -13,6 +13,7 @@ import java.util.stream.IntStream;
 
 import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivity;
 import com.opengamma.strata.market.param.ParameterMetadata;
@@ -114,6 +115,66 @@ public interface Curve extends ParameterizedData {
    */
   public abstract double firstDerivative(double x);
 
+  //-------------------------------------------------------------------------
+  /**
+   * Computes the y-values for the specified x-values.
+   * <p>
+   * The result is the same as calling {@link #yValue(double)} for each x-value.
+   * Implementations may compute the y-values more efficiently, particularly if the x-values are
+   * sorted from low to high, as is typical for the payment dates of a cash flow schedule.
+   * 
+   * @param xValues  the x-values to find the y-values for
+   * @return the values at the x-values
+   */
+  public default DoubleArray yValues(DoubleArray xValues) {
+    return xValues.map(this::yValue);
+  }
+
+  /**
+   * Computes the weighted sum of the sensitivities of the y-values with respect to the curve parameters.
+   * <p>
+   * This returns the sensitivity of {@code sum(weights[i] * yValue(xValues[i]))} to each parameter.
+   * It is typically used to find the sensitivity to the curve of a cash flow schedule,
+   * where the weights are the sensitivities of the cash flows to the y-values.
+   * Implementations may compute the sensitivity more efficiently if the x-values are sorted from low to high.
+   * 
+   * @param xValues  the x-values at which the parameter sensitivity is computed
+   * @param weights  the weight of each x-value
+   * @return the sensitivity
+   * @throws IllegalArgumentException if the arrays are of different sizes
+   * @throws RuntimeException if the sensitivity cannot be calculated
+   */
+  public default UnitParameterSensitivity yValuesParameterSensitivity(DoubleArray xValues, DoubleArray weights) {
+    ArgChecker.isTrue(xValues.size() == weights.size(), "Arrays must have the same size");
+    if (xValues.isEmpty()) {
+      return createParameterSensitivity(DoubleArray.filled(getParameterCount()));
+    }
+    UnitParameterSensitivity first = yValueParameterSensitivity(xValues.get(0));
+    double[] total = first.getSensitivity().multipliedBy(weights.get(0)).toArray();
+    for (int i = 1; i < xValues.size(); i++) {
+      DoubleArray sensitivity = yValueParameterSensitivity(xValues.get(i)).getSensitivity();
+      double weight = weights.get(i);
+      for (int j = 0; j < total.length; j++) {
+        total[j] += weight * sensitivity.get(j);
+      }
+    }
+    return first.withSensitivity(DoubleArray.ofUnsafe(total));
+  }
+
+  /**
+   * Computes the first derivatives of the curve for the specified x-values.
+   * <p>
+   * The result is the same as calling {@link #firstDerivative(double)} for each x-value.
+   * Implementations may compute the derivatives more efficiently if the x-values are sorted from low to high.
+   * 
+   * @param xValues  the x-values at which the derivative is taken
+   * @return the first derivatives
+   * @throws RuntimeException if a derivative cannot be calculated
+   */
+  public default DoubleArray firstDerivatives(DoubleArray xValues) {
+    return xValues.map(this::firstDerivative);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Creates a parameter sensitivity instance for this curve when the sensitivity values are known.
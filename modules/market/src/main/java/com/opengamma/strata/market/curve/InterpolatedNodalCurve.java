@@ -30,7 +30,9 @@ import org.joda.beans.impl.direct.DirectMetaProperty;
 import org.joda.beans.impl.direct.DirectMetaPropertyMap;
 
 import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.market.curve.interpolator.BoundCurveInterpolator;
 import com.opengamma.strata.market.curve.interpolator.CurveExtrapolator;
 import com.opengamma.strata.market.curve.interpolator.CurveExtrapolators;
@@ -253,6 +255,30 @@ public final class InterpolatedNodalCurve
     return boundInterpolator.firstDerivative(x);
   }
 
+  @Override
+  public DoubleArray yValues(DoubleArray xValues) {
+    return boundInterpolator.interpolate(xValues);
+  }
+
+  @Override
+  public UnitParameterSensitivity yValuesParameterSensitivity(DoubleArray xValues, DoubleArray weights) {
+    ArgChecker.isTrue(xValues.size() == weights.size(), "Arrays must have the same size");
+    DoubleMatrix sensitivities = boundInterpolator.parameterSensitivity(xValues);
+    double[] total = new double[yValues.size()];
+    for (int i = 0; i < sensitivities.rowCount(); i++) {
+      double weight = weights.get(i);
+      for (int j = 0; j < total.length; j++) {
+        total[j] += weight * sensitivities.get(i, j);
+      }
+    }
+    return createParameterSensitivity(DoubleArray.ofUnsafe(total));
+  }
+
+  @Override
+  public DoubleArray firstDerivatives(DoubleArray xValues) {
+    return boundInterpolator.firstDerivative(xValues);
+  }
+
   //-------------------------------------------------------------------------
   @Override
   public InterpolatedNodalCurve withMetadata(CurveMetadata metadata) {
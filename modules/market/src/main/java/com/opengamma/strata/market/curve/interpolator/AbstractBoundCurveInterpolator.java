@@ -7,9 +7,16 @@ package com.opengamma.strata.market.curve.interpolator;
 
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
 
 /**
  * Abstract interpolator implementation.
+ * <p>
+ * The methods taking an array of x-values locate the interval of each x-value by moving
+ * a cursor along the nodes, rather than performing a binary search for each x-value.
+ * This is most effective when the x-values are sorted, although any order is supported.
+ * Subclasses benefit from this by overriding the methods that take the lower bound index,
+ * such as {@link #doInterpolate(double, int)}.
  */
 public abstract class AbstractBoundCurveInterpolator
     implements BoundCurveInterpolator {
@@ -27,6 +34,10 @@ public abstract class AbstractBoundCurveInterpolator
    * The right extrapolator.
    */
   private final BoundCurveExtrapolator extrapolatorRight;
+  /**
+   * The x-values of the nodes.
+   */
+  private final double[] nodeXValues;
   /**
    * The x-value of the first node.
    */
@@ -54,6 +65,7 @@ public abstract class AbstractBoundCurveInterpolator
     ArgChecker.isTrue(size > 1, "Curve node arrays must have at least two nodes");
     this.extrapolatorLeft = ExceptionCurveExtrapolator.INSTANCE;
     this.extrapolatorRight = ExceptionCurveExtrapolator.INSTANCE;
+    this.nodeXValues = xValues.toArrayUnsafe();
     this.firstXValue = xValues.get(0);
     this.lastXValue = xValues.get(size - 1);
     this.lastYValue = yValues.get(size - 1);
@@ -73,6 +85,7 @@ public abstract class AbstractBoundCurveInterpolator
 
     this.extrapolatorLeft = ArgChecker.notNull(extrapolatorLeft, "extrapolatorLeft");
     this.extrapolatorRight = ArgChecker.notNull(extrapolatorRight, "extrapolatorRight");
+    this.nodeXValues = base.nodeXValues;
     this.firstXValue = base.firstXValue;
     this.lastXValue = base.lastXValue;
     this.lastYValue = base.lastYValue;
@@ -152,6 +165,127 @@ public abstract class AbstractBoundCurveInterpolator
    */
   protected abstract DoubleArray doParameterSensitivity(double xValue);
 
+  //-------------------------------------------------------------------------
+  @Override
+  public final DoubleArray interpolate(DoubleArray xValues) {
+    int size = xValues.size();
+    double[] result = new double[size];
+    int lowerIndex = 0;
+    for (int i = 0; i < size; i++) {
+      double xValue = xValues.get(i);
+      if (xValue < firstXValue) {
+        result[i] = extrapolatorLeft.leftExtrapolate(xValue);
+      } else if (xValue > lastXValue) {
+        result[i] = extrapolatorRight.rightExtrapolate(xValue);
+      } else if (xValue == lastXValue) {
+        result[i] = lastYValue;
+      } else {
+        lowerIndex = advanceLowerBoundIndex(xValue, lowerIndex);
+        result[i] = doInterpolate(xValue, lowerIndex);
+      }
+    }
+    return DoubleArray.ofUnsafe(result);
+  }
+
+  /**
+   * Method for subclasses to calculate the interpolated value, where the lower bound index is known.
+   * <p>
+   * Callers can assume that {@code xValue} is less than the x-value of the last node,
+   * and that {@code lowerIndex} is the result of {@link #lowerBoundIndex(double, double[])}.
+   * This implementation ignores the index and calls {@link #doInterpolate(double)}.
+   * 
+   * @param xValue  the x-value
+   * @param lowerIndex  the index of the last node whose x-value is less than or equal to the x-value
+   * @return the interpolated y-value
+   */
+  protected double doInterpolate(double xValue, int lowerIndex) {
+    return doInterpolate(xValue);
+  }
+
+  @Override
+  public final DoubleArray firstDerivative(DoubleArray xValues) {
+    int size = xValues.size();
+    double[] result = new double[size];
+    int lowerIndex = 0;
+    for (int i = 0; i < size; i++) {
+      double xValue = xValues.get(i);
+      if (xValue < firstXValue) {
+        result[i] = extrapolatorLeft.leftExtrapolateFirstDerivative(xValue);
+      } else if (xValue > lastXValue) {
+        result[i] = extrapolatorRight.rightExtrapolateFirstDerivative(xValue);
+      } else {
+        lowerIndex = advanceLowerBoundIndex(xValue, lowerIndex);
+        result[i] = doFirstDerivative(xValue, lowerIndex);
+      }
+    }
+    return DoubleArray.ofUnsafe(result);
+  }
+
+  /**
+   * Method for subclasses to calculate the first derivative, where the lower bound index is known.
+   * <p>
+   * Callers can assume that {@code lowerIndex} is the result of {@link #lowerBoundIndex(double, double[])}.
+   * This implementation ignores the index and calls {@link #doFirstDerivative(double)}.
+   * 
+   * @param xValue  the x-value
+   * @param lowerIndex  the index of the last node whose x-value is less than or equal to the x-value
+   * @return the first derivative
+   */
+  protected double doFirstDerivative(double xValue, int lowerIndex) {
+    return doFirstDerivative(xValue);
+  }
+
+  @Override
+  public final DoubleMatrix parameterSensitivity(DoubleArray xValues) {
+    int size = xValues.size();
+    double[][] result = new double[size][];
+    int lowerIndex = 0;
+    for (int i = 0; i < size; i++) {
+      double xValue = xValues.get(i);
+      DoubleArray sensitivity;
+      if (xValue < firstXValue) {
+        sensitivity = extrapolatorLeft.leftExtrapolateParameterSensitivity(xValue);
+      } else if (xValue > lastXValue) {
+        sensitivity = extrapolatorRight.rightExtrapolateParameterSensitivity(xValue);
+      } else {
+        lowerIndex = advanceLowerBoundIndex(xValue, lowerIndex);
+        sensitivity = doParameterSensitivity(xValue, lowerIndex);
+      }
+      // the arrays are immutable, so can be shared with the matrix
+      result[i] = sensitivity.toArrayUnsafe();
+    }
+    return DoubleMatrix.ofUnsafe(result);
+  }
+
+  /**
+   * Method for subclasses to calculate parameter sensitivity, where the lower bound index is known.
+   * <p>
+   * Callers can assume that {@code lowerIndex} is the result of {@link #lowerBoundIndex(double, double[])}.
+   * This implementation ignores the index and calls {@link #doParameterSensitivity(double)}.
+   * 
+   * @param xValue  the x-value
+   * @param lowerIndex  the index of the last node whose x-value is less than or equal to the x-value
+   * @return the parameter sensitivity
+   */
+  protected DoubleArray doParameterSensitivity(double xValue, int lowerIndex) {
+    return doParameterSensitivity(xValue);
+  }
+
+  // moves the cursor from the lower bound index of the previous x-value to that of the specified x-value
+  // the x-value must be within the range of the nodes
+  private int advanceLowerBoundIndex(double xValue, int previousIndex) {
+    if (nodeXValues[previousIndex] > xValue) {
+      // x-values are not sorted, restart using a binary search
+      return lowerBoundIndex(xValue, nodeXValues);
+    }
+    int index = previousIndex;
+    int lastIndex = nodeXValues.length - 1;
+    while (index < lastIndex && nodeXValues[index + 1] <= xValue) {
+      index++;
+    }
+    return index;
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Returns the index of the last value in the input array which is lower than the specified value.
@@ -6,6 +6,7 @@
 package com.opengamma.strata.market.curve.interpolator;
 
 import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
 
 /**
  * A curve interpolator that has been bound to a specific curve.
@@ -52,6 +53,55 @@ public interface BoundCurveInterpolator {
    */
   public abstract DoubleArray parameterSensitivity(double x);
 
+  //-------------------------------------------------------------------------
+  /**
+   * Computes the y-values for the specified x-values by interpolation.
+   * <p>
+   * The result is the same as calling {@link #interpolate(double)} for each x-value.
+   * Implementations may compute the y-values more efficiently if the x-values are sorted
+   * from low to high, as is typical for the payment dates of a cash flow schedule.
+   * 
+   * @param xValues  the x-values to find the y-values for
+   * @return the values at the x-values
+   * @throws RuntimeException if a y-value cannot be calculated
+   */
+  public default DoubleArray interpolate(DoubleArray xValues) {
+    return xValues.map(this::interpolate);
+  }
+
+  /**
+   * Computes the first derivative of the y-values for the specified x-values.
+   * <p>
+   * The result is the same as calling {@link #firstDerivative(double)} for each x-value.
+   * Implementations may compute the derivatives more efficiently if the x-values are sorted from low to high.
+   * 
+   * @param xValues  the x-values at which the derivative is taken
+   * @return the first derivatives
+   * @throws RuntimeException if a derivative cannot be calculated
+   */
+  public default DoubleArray firstDerivative(DoubleArray xValues) {
+    return xValues.map(this::firstDerivative);
+  }
+
+  /**
+   * Computes the sensitivity of the y-values with respect to the curve parameters.
+   * <p>
+   * This returns a matrix with one row for each x-value and one column for each parameter of the curve.
+   * Each row is the same as the result of calling {@link #parameterSensitivity(double)} for the x-value.
+   * Implementations may compute the sensitivities more efficiently if the x-values are sorted from low to high.
+   * 
+   * @param xValues  the x-values at which the parameter sensitivity is computed
+   * @return the sensitivity, one row for each x-value
+   * @throws RuntimeException if the sensitivity cannot be calculated
+   */
+  public default DoubleMatrix parameterSensitivity(DoubleArray xValues) {
+    double[][] result = new double[xValues.size()][];
+    for (int i = 0; i < result.length; i++) {
+      result[i] = parameterSensitivity(xValues.get(i)).toArrayUnsafe();
+    }
+    return DoubleMatrix.ofUnsafe(result);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Binds this interpolator to the specified extrapolators.
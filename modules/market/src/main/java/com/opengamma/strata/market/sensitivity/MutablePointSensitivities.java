@@ -189,18 +189,33 @@ public final class MutablePointSensitivities
    */
   @Override
   public MutablePointSensitivities normalize() {
+    int size = merge(sensitivities);
+    sensitivities.subList(size, sensitivities.size()).clear();
+    return this;
+  }
+
+  // sorts and merges the list in place, returning the number of merged entries at the start of the list
+  // entries are compacted as they are merged, avoiding repeated removal from the middle of the list
+  static int merge(List<PointSensitivity> sensitivities) {
+    if (sensitivities.isEmpty()) {
+      return 0;
+    }
     sensitivities.sort(PointSensitivity::compareKey);
-    PointSensitivity previous = sensitivities.get(0);
+    PointSensitivity merged = sensitivities.get(0);
+    double total = merged.getSensitivity();
+    int size = 0;
     for (int i = 1; i < sensitivities.size(); i++) {
       PointSensitivity current = sensitivities.get(i);
-      if (current.compareKey(previous) == 0) {
-        sensitivities.set(i - 1, previous.withSensitivity(previous.getSensitivity() + current.getSensitivity()));
-        sensitivities.remove(i);
-        i--;
+      if (current.compareKey(merged) == 0) {
+        total += current.getSensitivity();
+      } else {
+        sensitivities.set(size++, total == merged.getSensitivity() ? merged : merged.withSensitivity(total));
+        merged = current;
+        total = current.getSensitivity();
       }
-      previous = current;
     }
-    return this;
+    sensitivities.set(size++, total == merged.getSensitivity() ? merged : merged.withSensitivity(total));
+    return size;
   }
 
   //-----------------------------------------------------------------------
@@ -183,11 +183,9 @@ public final class PointSensitivities
     if (sensitivities.isEmpty()) {
       return this;
     }
-    List<PointSensitivity> mutable = new ArrayList<>();
-    for (PointSensitivity sensi : sensitivities) {
-      insert(mutable, sensi);
-    }
-    return new PointSensitivities(mutable);
+    List<PointSensitivity> mutable = new ArrayList<>(sensitivities);
+    int size = MutablePointSensitivities.merge(mutable);
+    return new PointSensitivities(mutable.subList(0, size));
   }
 
   //-----------------------------------------------------------------------
@@ -6,6 +6,7 @@
 package com.opengamma.strata.market.curve;
 
 import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
 import static org.testng.Assert.assertEquals;
 
 import org.testng.annotations.Test;
@@ -47,6 +48,20 @@ public class CurveTest {
     assertEquals(test.createParameterSensitivity(USD, DoubleArray.of(2d)).getSensitivity(), DoubleArray.of(2d));
   }
 
+  public void test_batch() {
+    Curve test = new TestingCurve(2d);
+    DoubleArray xValues = DoubleArray.of(1d, 2d, 3d);
+    assertEquals(test.yValues(xValues), DoubleArray.of(2d, 2d, 2d));
+    assertEquals(test.firstDerivatives(xValues), DoubleArray.of(0d, 0d, 0d));
+    assertEquals(
+        test.yValuesParameterSensitivity(xValues, DoubleArray.of(1d, 2d, 4d)),
+        test.createParameterSensitivity(DoubleArray.of(7d)));
+    assertEquals(
+        test.yValuesParameterSensitivity(DoubleArray.EMPTY, DoubleArray.EMPTY),
+        test.createParameterSensitivity(DoubleArray.of(0d)));
+    assertThrowsIllegalArg(() -> test.yValuesParameterSensitivity(xValues, DoubleArray.of(1d)));
+  }
+
   //-------------------------------------------------------------------------
   static class TestingCurve implements Curve {
 
@@ -93,7 +108,7 @@ public class CurveTest {
 
     @Override
     public UnitParameterSensitivity yValueParameterSensitivity(double x) {
-      return UnitParameterSensitivity.of(CURVE_NAME, DoubleArray.filled(1));
+      return UnitParameterSensitivity.of(CURVE_NAME, ImmutableList.of(PARAM_META), DoubleArray.of(1d));
     }
 
     @Override
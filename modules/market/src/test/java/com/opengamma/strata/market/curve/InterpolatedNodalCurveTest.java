@@ -229,6 +229,23 @@ public class InterpolatedNodalCurveTest {
   }
 
   //-------------------------------------------------------------------------
+  public void test_batch() {
+    InterpolatedNodalCurve test = InterpolatedNodalCurve.of(
+        METADATA_ENTRIES, XVALUES, YVALUES, INTERPOLATOR, FLAT_EXTRAPOLATOR, LINEAR_EXTRAPOLATOR);
+    DoubleArray xValues = DoubleArray.of(0.5, 1d, 1.25, 2d, 2.75, 3d, 4d);
+    DoubleArray weights = DoubleArray.of(1d, 2d, -1d, 0.5d, 3d, 1d, -2d);
+    assertThat(test.yValues(xValues)).isEqualTo(xValues.map(test::yValue));
+    assertThat(test.firstDerivatives(xValues)).isEqualTo(xValues.map(test::firstDerivative));
+    UnitParameterSensitivity expected = test.createParameterSensitivity(DoubleArray.filled(SIZE));
+    for (int i = 0; i < xValues.size(); i++) {
+      expected = expected.plus(test.yValueParameterSensitivity(xValues.get(i)).multipliedBy(weights.get(i)));
+    }
+    UnitParameterSensitivity computed = test.yValuesParameterSensitivity(xValues, weights);
+    assertThat(computed.getMarketDataName()).isEqualTo(expected.getMarketDataName());
+    assertThat(computed.getSensitivity().equalWithTolerance(expected.getSensitivity(), 1e-14)).isTrue();
+    assertThrowsIllegalArg(() -> test.yValuesParameterSensitivity(xValues, DoubleArray.of(1d)));
+  }
+
   public void test_createParameterSensitivity() {
     InterpolatedNodalCurve test = InterpolatedNodalCurve.of(METADATA_ENTRIES, XVALUES, YVALUES, INTERPOLATOR);
     assertThat(test.createParameterSensitivity(DoubleArray.of(2d, 3d, 4d))).isEqualTo(
@@ -30,6 +30,7 @@ import org.testng.annotations.Test;
 
 import com.google.common.collect.ImmutableMap;
 import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
 
 /**
  * Test {@link CurveInterpolator}.
@@ -108,6 +109,29 @@ public class CurveInterpolatorTest {
     assertNotNull(bound.toString());
   }
 
+  @Test(dataProvider = "name")
+  public void test_bind_batch(CurveInterpolator interpolator, String name) {
+    DoubleArray xValues = DoubleArray.of(0.5, 1, 2, 3, 5, 10);
+    DoubleArray yValues = DoubleArray.of(0.9, 0.85, 0.8, 0.7, 0.6, 0.4);
+    BoundCurveInterpolator bound = interpolator.bind(xValues, yValues, CurveExtrapolators.FLAT, CurveExtrapolators.FLAT);
+    // sorted, including extrapolation, nodes and repeated values
+    assertBatch(bound, DoubleArray.of(0.1, 0.5, 0.7, 0.7, 1, 1.5, 2.5, 3, 4, 4.5, 7, 9.9, 10, 12));
+    // unsorted
+    assertBatch(bound, DoubleArray.of(4, 0.7, 12, 3, 2.5, 9.9, 0.1, 10, 1));
+    assertBatch(bound, DoubleArray.EMPTY);
+  }
+
+  // checks the batch methods match the single value methods
+  private static void assertBatch(BoundCurveInterpolator bound, DoubleArray xValues) {
+    assertEquals(bound.interpolate(xValues), xValues.map(bound::interpolate));
+    assertEquals(bound.firstDerivative(xValues), xValues.map(bound::firstDerivative));
+    DoubleMatrix sensitivity = bound.parameterSensitivity(xValues);
+    assertEquals(sensitivity.rowCount(), xValues.size());
+    for (int i = 0; i < xValues.size(); i++) {
+      assertEquals(sensitivity.row(i), bound.parameterSensitivity(xValues.get(i)));
+    }
+  }
+
   public void test_lowerBound() {
     // bad input, but still produces good output
     assertEquals(AbstractBoundCurveInterpolator.lowerBoundIndex(0.0d, new double[] {1, 2, 3}), 0);
@@ -79,6 +79,11 @@ public class PointSensitivitiesTest {
     assertEquals(test.normalized().getSensitivities(), ImmutableList.of(CS1, CS2, CS3.withSensitivity(35d)));
   }
 
+  public void test_normalized_mergesMany() {
+    PointSensitivities test = PointSensitivities.of(Lists.newArrayList(CS3, CS3B, CS2, CS3B, CS1));
+    assertEquals(test.normalized().getSensitivities(), ImmutableList.of(CS1, CS2, CS3.withSensitivity(38d)));
+  }
+
   public void test_normalized_empty() {
     assertEquals(PointSensitivities.empty().normalized(), PointSensitivities.empty());
   }
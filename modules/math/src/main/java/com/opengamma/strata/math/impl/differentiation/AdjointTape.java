@@ -0,0 +1,547 @@
+/*
+ * Copyright (C) 2019 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.differentiation;
+
+import java.util.Arrays;
+
+import com.opengamma.strata.basics.value.ValueDerivatives;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+
+/**
+ * Tape recording a calculation for Algorithmic Differentiation.
+ * <p>
+ * The calculation is expressed in terms of variables, each identified by an {@code int} handle.
+ * Inputs are created using {@link #input(double)}, and each operation records a new variable
+ * together with the local first and second order derivatives with respect to its arguments.
+ * Once the calculation has been recorded, the first order derivatives of any variable with respect
+ * to the inputs are computed by a single reverse (adjoint) sweep of the tape, see {@link #derivatives(int)}.
+ * The second order derivatives are computed by one forward-over-reverse sweep for each input,
+ * see {@link #secondDerivatives(int)}.
+ * <p>
+ * Neither sweep evaluates the calculation again, thus the cost is proportional to the size of the
+ * tape rather than to the cost of the original calculation, such as a pricer with its date logic.
+ * <p>
+ * Functions with known derivatives can be recorded as a single operation using
+ * {@link #unary(int, double, double, double)},
+ * {@link #binary(int, int, double, double, double, double, double, double)},
+ * {@link #function(int[], double, DoubleArray, DoubleMatrix)} and {@link #linear(int[], DoubleArray)}.
+ * <p>
+ * This is a mutable recorder that is not intended for use in multiple threads.
+ */
+public final class AdjointTape {
+
+  /**
+   * The initial capacity of the buffers.
+   */
+  private static final int INITIAL_CAPACITY = 64;
+  /**
+   * The marker for an operation without second order derivatives.
+   */
+  private static final int LINEAR = -1;
+
+  /**
+   * The value of each variable.
+   */
+  private double[] values = new double[INITIAL_CAPACITY];
+  /**
+   * The offset of the arguments of each variable in the argument buffers.
+   */
+  private int[] argOffsets = new int[INITIAL_CAPACITY];
+  /**
+   * The number of arguments of each variable.
+   */
+  private int[] argCounts = new int[INITIAL_CAPACITY];
+  /**
+   * The offset of the second order derivatives of each variable, or -1 if the operation is linear.
+   */
+  private int[] secondOffsets = new int[INITIAL_CAPACITY];
+  /**
+   * The number of variables.
+   */
+  private int size;
+  /**
+   * The arguments of the operations.
+   */
+  private int[] args = new int[INITIAL_CAPACITY];
+  /**
+   * The first order derivative of each operation with respect to each argument.
+   */
+  private double[] firstDerivatives = new double[INITIAL_CAPACITY];
+  /**
+   * The number of arguments.
+   */
+  private int argSize;
+  /**
+   * The second order derivatives of the operations, as a row-major matrix for each operation.
+   */
+  private double[] secondDerivatives = new double[INITIAL_CAPACITY];
+  /**
+   * The number of second order derivatives.
+   */
+  private int secondSize;
+  /**
+   * The variables that are inputs, in the order they were created.
+   */
+  private int[] inputs = new int[INITIAL_CAPACITY];
+  /**
+   * The number of inputs.
+   */
+  private int inputCount;
+
+  /**
+   * Creates an empty tape.
+   */
+  public AdjointTape() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the number of variables recorded on the tape.
+   *
+   * @return the number of variables
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Gets the number of inputs.
+   *
+   * @return the number of inputs
+   */
+  public int getInputCount() {
+    return inputCount;
+  }
+
+  /**
+   * Gets the value of a variable.
+   *
+   * @param variable  the variable
+   * @return the value
+   */
+  public double value(int variable) {
+    checkVariable(variable);
+    return values[variable];
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Records an input, the derivatives are computed with respect to the inputs.
+   *
+   * @param value  the value of the input
+   * @return the variable
+   */
+  public int input(double value) {
+    int variable = record(value, 0, LINEAR);
+    if (inputCount == inputs.length) {
+      inputs = Arrays.copyOf(inputs, inputCount * 2);
+    }
+    inputs[inputCount++] = variable;
+    return variable;
+  }
+
+  /**
+   * Records a constant.
+   *
+   * @param value  the value of the constant
+   * @return the variable
+   */
+  public int constant(double value) {
+    return record(value, 0, LINEAR);
+  }
+
+  /**
+   * Records a function of one variable with known derivatives.
+   *
+   * @param a  the argument
+   * @param value  the value of the function
+   * @param derivative  the first derivative of the function
+   * @param secondDerivative  the second derivative of the function
+   * @return the variable
+   */
+  public int unary(int a, double value, double derivative, double secondDerivative) {
+    checkVariable(a);
+    int variable = record(value, 1, secondDerivative == 0d ? LINEAR : 1);
+    addArgument(a, derivative);
+    if (secondDerivative != 0d) {
+      addSecondDerivative(secondDerivative);
+    }
+    return variable;
+  }
+
+  /**
+   * Records a function of two variables with known derivatives.
+   *
+   * @param a  the first argument
+   * @param b  the second argument
+   * @param value  the value of the function
+   * @param derivativeA  the first derivative with respect to the first argument
+   * @param derivativeB  the first derivative with respect to the second argument
+   * @param secondDerivativeAA  the second derivative with respect to the first argument
+   * @param secondDerivativeAB  the cross derivative with respect to both arguments
+   * @param secondDerivativeBB  the second derivative with respect to the second argument
+   * @return the variable
+   */
+  public int binary(
+      int a,
+      int b,
+      double value,
+      double derivativeA,
+      double derivativeB,
+      double secondDerivativeAA,
+      double secondDerivativeAB,
+      double secondDerivativeBB) {
+
+    checkVariable(a);
+    checkVariable(b);
+    boolean linear = secondDerivativeAA == 0d && secondDerivativeAB == 0d && secondDerivativeBB == 0d;
+    int variable = record(value, 2, linear ? LINEAR : 4);
+    addArgument(a, derivativeA);
+    addArgument(b, derivativeB);
+    if (!linear) {
+      addSecondDerivative(secondDerivativeAA);
+      addSecondDerivative(secondDerivativeAB);
+      addSecondDerivative(secondDerivativeAB);
+      addSecondDerivative(secondDerivativeBB);
+    }
+    return variable;
+  }
+
+  /**
+   * Records a function of several variables with known derivatives.
+   *
+   * @param variables  the arguments
+   * @param value  the value of the function
+   * @param derivatives  the first derivative with respect to each argument
+   * @param secondDerivatives  the second derivatives, a square matrix with a row and column for each argument
+   * @return the variable
+   */
+  public int function(int[] variables, double value, DoubleArray derivatives, DoubleMatrix secondDerivatives) {
+    int count = variables.length;
+    ArgChecker.isTrue(count == derivatives.size(), "Variables and derivatives must be the same size");
+    ArgChecker.isTrue(
+        count == secondDerivatives.rowCount() && count == secondDerivatives.columnCount(),
+        "Second derivatives must be a square matrix of the size of the variables");
+    for (int i = 0; i < count; i++) {
+      checkVariable(variables[i]);
+    }
+    int variable = record(value, count, count * count);
+    for (int i = 0; i < count; i++) {
+      addArgument(variables[i], derivatives.get(i));
+    }
+    for (int i = 0; i < count; i++) {
+      for (int j = 0; j < count; j++) {
+        addSecondDerivative(secondDerivatives.get(i, j));
+      }
+    }
+    return variable;
+  }
+
+  /**
+   * Records a linear combination of variables.
+   *
+   * @param variables  the variables
+   * @param weights  the weight of each variable
+   * @return the variable
+   */
+  public int linear(int[] variables, DoubleArray weights) {
+    ArgChecker.isTrue(variables.length == weights.size(), "Variables and weights must be the same size");
+    double value = 0d;
+    for (int i = 0; i < variables.length; i++) {
+      checkVariable(variables[i]);
+      value += values[variables[i]] * weights.get(i);
+    }
+    return linear(variables, weights, value);
+  }
+
+  /**
+   * Records a function that is locally linear in the variables, with the specified value.
+   * <p>
+   * This is used where the value is known, but the second order derivatives are zero or are to be ignored,
+   * such as the interpolation of a curve with respect to its parameters.
+   *
+   * @param variables  the variables
+   * @param derivatives  the first derivative with respect to each variable
+   * @param value  the value of the function
+   * @return the variable
+   */
+  public int linear(int[] variables, DoubleArray derivatives, double value) {
+    ArgChecker.isTrue(variables.length == derivatives.size(), "Variables and derivatives must be the same size");
+    for (int i = 0; i < variables.length; i++) {
+      checkVariable(variables[i]);
+    }
+    int variable = record(value, variables.length, LINEAR);
+    for (int i = 0; i < variables.length; i++) {
+      addArgument(variables[i], derivatives.get(i));
+    }
+    return variable;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Records the sum of two variables.
+   *
+   * @param a  the first variable
+   * @param b  the second variable
+   * @return the variable
+   */
+  public int add(int a, int b) {
+    return binary(a, b, value(a) + value(b), 1d, 1d, 0d, 0d, 0d);
+  }
+
+  /**
+   * Records the sum of a variable and a constant.
+   *
+   * @param a  the variable
+   * @param constant  the constant
+   * @return the variable
+   */
+  public int add(int a, double constant) {
+    return unary(a, value(a) + constant, 1d, 0d);
+  }
+
+  /**
+   * Records the difference of two variables.
+   *
+   * @param a  the first variable
+   * @param b  the second variable
+   * @return the variable
+   */
+  public int subtract(int a, int b) {
+    return binary(a, b, value(a) - value(b), 1d, -1d, 0d, 0d, 0d);
+  }
+
+  /**
+   * Records the product of two variables.
+   *
+   * @param a  the first variable
+   * @param b  the second variable
+   * @return the variable
+   */
+  public int multiply(int a, int b) {
+    double valueA = value(a);
+    double valueB = value(b);
+    return binary(a, b, valueA * valueB, valueB, valueA, 0d, 1d, 0d);
+  }
+
+  /**
+   * Records the product of a variable and a constant.
+   *
+   * @param a  the variable
+   * @param constant  the constant
+   * @return the variable
+   */
+  public int multiply(int a, double constant) {
+    return unary(a, value(a) * constant, constant, 0d);
+  }
+
+  /**
+   * Records the quotient of two variables.
+   *
+   * @param a  the numerator
+   * @param b  the denominator
+   * @return the variable
+   */
+  public int divide(int a, int b) {
+    double valueA = value(a);
+    double valueB = value(b);
+    double inverse = 1d / valueB;
+    double inverse2 = inverse * inverse;
+    return binary(a, b, valueA * inverse, inverse, -valueA * inverse2, 0d, -inverse2, 2d * valueA * inverse2 * inverse);
+  }
+
+  /**
+   * Records the exponential of a variable.
+   *
+   * @param a  the variable
+   * @return the variable
+   */
+  public int exp(int a) {
+    double exp = Math.exp(value(a));
+    return unary(a, exp, exp, exp);
+  }
+
+  /**
+   * Records the natural logarithm of a variable.
+   *
+   * @param a  the variable
+   * @return the variable
+   */
+  public int log(int a) {
+    double valueA = value(a);
+    double inverse = 1d / valueA;
+    return unary(a, Math.log(valueA), inverse, -inverse * inverse);
+  }
+
+  /**
+   * Records the square root of a variable.
+   *
+   * @param a  the variable
+   * @return the variable
+   */
+  public int sqrt(int a) {
+    double sqrt = Math.sqrt(value(a));
+    return unary(a, sqrt, 0.5d / sqrt, -0.25d / (sqrt * value(a)));
+  }
+
+  /**
+   * Records a variable raised to a constant power.
+   *
+   * @param a  the variable
+   * @param power  the power
+   * @return the variable
+   */
+  public int pow(int a, double power) {
+    double valueA = value(a);
+    double pow = Math.pow(valueA, power);
+    return unary(a, pow, power * pow / valueA, power * (power - 1d) * pow / (valueA * valueA));
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Computes the value of a variable and its first order derivatives with respect to the inputs.
+   * <p>
+   * The derivatives are in the order that the inputs were created.
+   *
+   * @param variable  the variable to differentiate
+   * @return the value and derivatives
+   */
+  public ValueDerivatives derivatives(int variable) {
+    checkVariable(variable);
+    double[] adjoints = new double[variable + 1];
+    adjoints[variable] = 1d;
+    for (int k = variable; k >= 0; k--) {
+      double adjoint = adjoints[k];
+      if (adjoint != 0d) {
+        for (int i = argOffsets[k]; i < argOffsets[k] + argCounts[k]; i++) {
+          adjoints[args[i]] += adjoint * firstDerivatives[i];
+        }
+      }
+    }
+    return ValueDerivatives.of(values[variable], inputValues(adjoints));
+  }
+
+  /**
+   * Computes the second order derivatives of a variable with respect to the inputs.
+   * <p>
+   * The rows and columns of the matrix are in the order that the inputs were created.
+   *
+   * @param variable  the variable to differentiate
+   * @return the matrix of second order derivatives
+   */
+  public DoubleMatrix secondDerivatives(int variable) {
+    checkVariable(variable);
+    int count = variable + 1;
+    double[] tangents = new double[count];
+    double[] adjoints = new double[count];
+    double[] adjointTangents = new double[count];
+    double[][] result = new double[inputCount][];
+    for (int j = 0; j < inputCount; j++) {
+      // forward sweep, the derivative of each variable with respect to input j
+      Arrays.fill(tangents, 0d);
+      int input = inputs[j];
+      if (input < count) {
+        tangents[input] = 1d;
+      }
+      for (int k = input + 1; k < count; k++) {
+        double tangent = 0d;
+        for (int i = argOffsets[k]; i < argOffsets[k] + argCounts[k]; i++) {
+          tangent += firstDerivatives[i] * tangents[args[i]];
+        }
+        tangents[k] = tangent;
+      }
+      // reverse sweep, the adjoints and their derivative with respect to input j
+      Arrays.fill(adjoints, 0d);
+      Arrays.fill(adjointTangents, 0d);
+      adjoints[variable] = 1d;
+      for (int k = variable; k >= 0; k--) {
+        double adjoint = adjoints[k];
+        double adjointTangent = adjointTangents[k];
+        if (adjoint == 0d && adjointTangent == 0d) {
+          continue;
+        }
+        int offset = argOffsets[k];
+        int argCount = argCounts[k];
+        int secondOffset = secondOffsets[k];
+        for (int i = 0; i < argCount; i++) {
+          int arg = args[offset + i];
+          double derivative = firstDerivatives[offset + i];
+          adjoints[arg] += adjoint * derivative;
+          double secondTerm = 0d;
+          if (secondOffset != LINEAR) {
+            for (int l = 0; l < argCount; l++) {
+              secondTerm += secondDerivatives[secondOffset + i * argCount + l] * tangents[args[offset + l]];
+            }
+          }
+          adjointTangents[arg] += adjointTangent * derivative + adjoint * secondTerm;
+        }
+      }
+      result[j] = inputValues(adjointTangents).toArrayUnsafe();
+    }
+    return DoubleMatrix.ofUnsafe(result);
+  }
+
+  //-------------------------------------------------------------------------
+  // records a variable, reserving space for the arguments and second order derivatives
+  private int record(double value, int argCount, int secondCount) {
+    if (size == values.length) {
+      int capacity = size * 2;
+      values = Arrays.copyOf(values, capacity);
+      argOffsets = Arrays.copyOf(argOffsets, capacity);
+      argCounts = Arrays.copyOf(argCounts, capacity);
+      secondOffsets = Arrays.copyOf(secondOffsets, capacity);
+    }
+    if (argSize + argCount > args.length) {
+      int capacity = Math.max(args.length * 2, argSize + argCount);
+      args = Arrays.copyOf(args, capacity);
+      firstDerivatives = Arrays.copyOf(firstDerivatives, capacity);
+    }
+    if (secondCount != LINEAR && secondSize + secondCount > secondDerivatives.length) {
+      secondDerivatives = Arrays.copyOf(secondDerivatives, Math.max(secondDerivatives.length * 2, secondSize + secondCount));
+    }
+    values[size] = value;
+    argOffsets[size] = argSize;
+    argCounts[size] = argCount;
+    secondOffsets[size] = secondCount == LINEAR ? LINEAR : secondSize;
+    return size++;
+  }
+
+  // adds an argument of the last variable
+  private void addArgument(int arg, double derivative) {
+    args[argSize] = arg;
+    firstDerivatives[argSize] = derivative;
+    argSize++;
+  }
+
+  // adds a second order derivative of the last variable
+  private void addSecondDerivative(double secondDerivative) {
+    secondDerivatives[secondSize++] = secondDerivative;
+  }
+
+  // extracts the values for the inputs, zero for inputs created after the variable
+  private DoubleArray inputValues(double[] variableValues) {
+    return DoubleArray.of(inputCount, j -> inputs[j] < variableValues.length ? variableValues[inputs[j]] : 0d);
+  }
+
+  // checks the variable is on the tape
+  private void checkVariable(int variable) {
+    ArgChecker.inRange(variable, 0, size, "variable");
+  }
+
+  @Override
+  public String toString() {
+    return new StringBuilder(64)
+        .append("AdjointTape{size=")
+        .append(size)
+        .append(", inputs=")
+        .append(inputCount)
+        .append('}')
+        .toString();
+  }
+
+}
@@ -5,8 +5,10 @@
  */
 package com.opengamma.strata.math.impl.rootfinding;
 
+import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
 
+import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.math.MathException;
 
 /**
@@ -48,9 +50,22 @@ public class BisectionSingleRootFinder extends RealSingleRootFinder {
    */
   @Override
   public Double getRoot(Function<Double, Double> function, Double x1, Double x2) {
-    checkInputs(function, x1, x2);
-    double y1 = function.apply(x1);
-    double y = function.apply(x2);
+    ArgChecker.notNull(function, "function");
+    ArgChecker.notNull(x1, "x1");
+    ArgChecker.notNull(x2, "x2");
+    return getRootPrimitive(function::apply, x1.doubleValue(), x2.doubleValue());
+  }
+
+  /**
+   * {@inheritDoc}
+   * @throws MathException If the root is not found to the required accuracy in 100 attempts
+   */
+  @Override
+  public double getRootPrimitive(DoubleUnaryOperator function, double x1, double x2) {
+    ArgChecker.notNull(function, "function");
+    double y1 = function.applyAsDouble(x1);
+    double y = function.applyAsDouble(x2);
+    checkInputs(x1, x2, y1, y);
     if (Math.abs(y) < _accuracy) {
       return x2;
     }
@@ -68,7 +83,7 @@ public class BisectionSingleRootFinder extends RealSingleRootFinder {
     for (int i = 0; i < MAX_ITER; i++) {
       dx *= 0.5;
       xMid = xRoot + dx;
-      y = function.apply(xMid);
+      y = function.applyAsDouble(xMid);
       if (y <= 0) {
         xRoot = xMid;
       }
@@ -5,8 +5,10 @@
  */
 package com.opengamma.strata.math.impl.rootfinding;
 
+import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
 
+import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.math.MathException;
 
 /**
@@ -37,18 +39,32 @@ public class BrentSingleRootFinder extends RealSingleRootFinder {
   //-------------------------------------------------------------------------
   @Override
   public Double getRoot(Function<Double, Double> function, Double xLower, Double xUpper) {
-    checkInputs(function, xLower, xUpper);
-    if (xLower.equals(xUpper)) {
-      return xLower;
-    }
+    ArgChecker.notNull(function, "function");
+    ArgChecker.notNull(xLower, "x1");
+    ArgChecker.notNull(xUpper, "x2");
+    return getRootPrimitive(function::apply, xLower.doubleValue(), xUpper.doubleValue());
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * The function is evaluated once per iteration, without boxing.
+   */
+  @Override
+  public double getRootPrimitive(DoubleUnaryOperator function, double xLower, double xUpper) {
+    ArgChecker.notNull(function, "function");
     double x1 = xLower;
     double x2 = xUpper;
+    double f1 = function.applyAsDouble(x1);
+    double f2 = function.applyAsDouble(x2);
+    checkInputs(x1, x2, f1, f2);
+    if (xLower == xUpper) {
+      return xLower;
+    }
     double x3 = xUpper;
+    double f3 = f2;
     double delta = 0;
     double oldDelta = 0;
-    double f1 = function.apply(x1);
-    double f2 = function.apply(x2);
-    double f3 = f2;
     double r1, r2, r3, r4, eps, xMid, min1, min2;
     for (int i = 0; i < MAX_ITER; i++) {
       if (f2 > 0 && f3 > 0 || f2 < 0 && f3 < 0) {
@@ -98,15 +114,15 @@ public class BrentSingleRootFinder extends RealSingleRootFinder {
         delta = xMid;
         oldDelta = delta;
       }
+      // the values at x1 and x3 are already known, thus only the new x2 is evaluated
       x1 = x2;
+      f1 = f2;
       if (Math.abs(delta) > eps) {
         x2 += delta;
       } else {
         x2 += Math.copySign(eps, xMid);
       }
-      f1 = function.apply(x1);
-      f2 = function.apply(x2);
-      f3 = function.apply(x3);
+      f2 = function.applyAsDouble(x2);
     }
     throw new MathException("Could not converge to root in " + MAX_ITER + " attempts");
   }
@@ -5,6 +5,7 @@
  */
 package com.opengamma.strata.math.impl.rootfinding;
 
+import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
 
 import com.opengamma.strata.collect.ArgChecker;
@@ -150,13 +151,49 @@ public class NewtonRaphsonSingleRootFinder extends RealSingleRootFinder {
    *   step takes the estimate for the root outside the original bounds.
    */
   public Double getRoot(DoubleFunction1D function, DoubleFunction1D derivative, Double x1, Double x2) {
-    checkInputs(function, x1, x2);
+    ArgChecker.notNull(x1, "x1");
+    ArgChecker.notNull(x2, "x2");
+    return getRootPrimitive(function, derivative, x1.doubleValue(), x2.doubleValue());
+  }
+
+  /**
+   * Uses the {@link DoubleFunction1D#derivative()} method if the function is a {@code DoubleFunction1D},
+   * otherwise the derivative is approximated using finite difference.
+   * 
+   * @param function  the function, not null
+   * @param x1  the first bound of the root
+   * @param x2  the second bound of the root
+   * @return the root
+   * @throws MathException If the root is not found in 1000 attempts; if the Newton
+   *   step takes the estimate for the root outside the original bounds.
+   */
+  @Override
+  public double getRootPrimitive(DoubleUnaryOperator function, double x1, double x2) {
+    ArgChecker.notNull(function, "function");
+    DoubleFunction1D f = function instanceof DoubleFunction1D ? (DoubleFunction1D) function : function::applyAsDouble;
+    return getRootPrimitive(f, f.derivative(), x1, x2);
+  }
+
+  /**
+   * Uses the function and its derivative, without boxing.
+   * 
+   * @param function  the function, not null
+   * @param derivative  the derivative, not null
+   * @param x1  the first bound of the root
+   * @param x2  the second bound of the root
+   * @return the root
+   * @throws MathException If the root is not found in 1000 attempts; if the Newton
+   *   step takes the estimate for the root outside the original bounds.
+   */
+  public double getRootPrimitive(DoubleUnaryOperator function, DoubleUnaryOperator derivative, double x1, double x2) {
+    ArgChecker.notNull(function, "function");
     ArgChecker.notNull(derivative, "derivative function");
     double y1 = function.applyAsDouble(x1);
+    double y2 = function.applyAsDouble(x2);
+    checkInputs(x1, x2, y1, y2);
     if (Math.abs(y1) < _accuracy) {
       return x1;
     }
-    double y2 = function.applyAsDouble(x2);
     if (Math.abs(y2) < _accuracy) {
       return x2;
     }
@@ -195,9 +232,23 @@ public class NewtonRaphsonSingleRootFinder extends RealSingleRootFinder {
    * @throws MathException If the root is not found in 1000 attempts.
    */
   public Double getRoot(DoubleFunction1D function, DoubleFunction1D derivative, Double x) {
+    ArgChecker.notNull(x, "x");
+    return getRootPrimitive(function, derivative, x.doubleValue());
+  }
+
+  /**
+   * Uses the function and its derivative, without boxing.
+   * This method uses an initial guess for the root, rather than bounds.
+   * 
+   * @param function  the function, not null
+   * @param derivative  the derivative, not null
+   * @param x  the initial guess for the root
+   * @return the root
+   * @throws MathException If the root is not found in 1000 attempts.
+   */
+  public double getRootPrimitive(DoubleUnaryOperator function, DoubleUnaryOperator derivative, double x) {
     ArgChecker.notNull(function, "function");
     ArgChecker.notNull(derivative, "derivative function");
-    ArgChecker.notNull(x, "x");
     double root = x;
     for (int i = 0; i < MAX_ITER; i++) {
       double y = function.applyAsDouble(root);
@@ -5,6 +5,7 @@
  */
 package com.opengamma.strata.math.impl.rootfinding;
 
+import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
 
 import com.opengamma.strata.collect.ArgChecker;
@@ -12,6 +13,10 @@ import com.opengamma.strata.math.impl.function.DoubleFunction1D;
 
 /**
  * Parent class for root-finders that find a single real root $x$ for a function $f(x)$.  
+ * <p>
+ * The function may be supplied as a {@link DoubleUnaryOperator}, which avoids boxing on each evaluation.
+ * Implementations should override {@link #getRootPrimitive(DoubleUnaryOperator, double, double)} to find
+ * the root without boxing, as the default implementation adapts the function.
  */
 //CSOFF: JavadocMethod
 public abstract class RealSingleRootFinder implements SingleRootFinder<Double, Double> {
@@ -25,6 +30,19 @@ public abstract class RealSingleRootFinder implements SingleRootFinder<Double, D
 
   public abstract Double getRoot(Function<Double, Double> function, Double x1, Double x2);
 
+  /**
+   * Finds the root of a primitive function.
+   * 
+   * @param function  the function, not null
+   * @param x1  the first bound
+   * @param x2  the second bound
+   * @return a root lying between x1 and x2
+   */
+  public double getRootPrimitive(DoubleUnaryOperator function, double x1, double x2) {
+    ArgChecker.notNull(function, "function");
+    return getRoot((Function<Double, Double>) function::applyAsDouble, x1, x2);
+  }
+
   /**
    * Tests that the inputs to the root-finder are not null, and that a root is bracketed by the bounding values.
    * 
@@ -57,4 +75,20 @@ public abstract class RealSingleRootFinder implements SingleRootFinder<Double, D
     ArgChecker.isTrue(function.applyAsDouble(x1) * function.applyAsDouble(x2) <= 0, "x1 and x2 do not bracket a root");
   }
 
+  /**
+   * Tests that a root is bracketed by the bounding values.
+   * <p>
+   * The values of the function at the bounds are supplied, thus the function is not evaluated again.
+   * 
+   * @param x1 The first bound
+   * @param x2 The second bound, must be greater than x1
+   * @param y1 The value of the function at the first bound
+   * @param y2 The value of the function at the second bound
+   * @throws IllegalArgumentException if x1 and x2 do not bracket a root
+   */
+  protected void checkInputs(double x1, double x2, double y1, double y2) {
+    ArgChecker.isTrue(x1 <= x2, "x1 must be less or equal to  x2");
+    ArgChecker.isTrue(y1 * y2 <= 0, "x1 and x2 do not bracket a root");
+  }
+
 }
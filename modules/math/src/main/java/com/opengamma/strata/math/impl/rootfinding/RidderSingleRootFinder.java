@@ -5,6 +5,7 @@
  */
 package com.opengamma.strata.math.impl.rootfinding;
 
+import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
 
 import org.apache.commons.math3.analysis.UnivariateFunction;
@@ -12,8 +13,8 @@ import org.apache.commons.math3.analysis.solvers.RiddersSolver;
 import org.apache.commons.math3.exception.NoBracketingException;
 import org.apache.commons.math3.exception.TooManyEvaluationsException;
 
+import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.math.MathException;
-import com.opengamma.strata.math.impl.util.CommonsMathWrapper;
 
 /**
  * Finds a single root of a function using Ridder's method. This class is a wrapper for the
@@ -54,8 +55,22 @@ public class RidderSingleRootFinder extends RealSingleRootFinder {
    */
   @Override
   public Double getRoot(Function<Double, Double> function, Double xLow, Double xHigh) {
-    checkInputs(function, xLow, xHigh);
-    UnivariateFunction wrapped = CommonsMathWrapper.wrapUnivariate(function);
+    ArgChecker.notNull(function, "function");
+    ArgChecker.notNull(xLow, "x1");
+    ArgChecker.notNull(xHigh, "x2");
+    return getRootPrimitive(function::apply, xLow.doubleValue(), xHigh.doubleValue());
+  }
+
+  /**
+   * {@inheritDoc}
+   * @throws MathException If the Commons method could not evaluate the function;
+   *   if the Commons method could not converge.
+   */
+  @Override
+  public double getRootPrimitive(DoubleUnaryOperator function, double xLow, double xHigh) {
+    ArgChecker.notNull(function, "function");
+    checkInputs(xLow, xHigh, function.applyAsDouble(xLow), function.applyAsDouble(xHigh));
+    UnivariateFunction wrapped = function::applyAsDouble;
     try {
       return _ridder.solve(MAX_ITER, wrapped, xLow, xHigh);
     } catch (TooManyEvaluationsException | NoBracketingException e) {
@@ -33,6 +33,25 @@ public abstract class DiscreteQuantileMethod
     return QuantileResult.of(s[index - 1], ind, DoubleArray.of(1));
   }
 
+  // the value alone is read directly from the sorted sample, without copying, sorting or tracking indices
+  @Override
+  public double quantileFromSorted(double level, DoubleArray sortedSample) {
+    return quantileValue(level, sortedSample, false);
+  }
+
+  @Override
+  public double quantileWithExtrapolationFromSorted(double level, DoubleArray sortedSample) {
+    return quantileValue(level, sortedSample, true);
+  }
+
+  private double quantileValue(double level, DoubleArray sortedSample, boolean isExtrapolated) {
+    ArgChecker.isTrue(level > 0, "Quantile should be above 0.");
+    ArgChecker.isTrue(level < 1, "Quantile should be below 1.");
+    int sampleSize = sampleCorrection(sortedSample.size());
+    int index = (int) checkIndex(index(level * sampleSize), sortedSample.size(), isExtrapolated);
+    return sortedSample.get(index - 1);
+  }
+
   @Override
   protected QuantileResult expectedShortfall(double level, DoubleArray sample) {
     ArgChecker.isTrue(level > 0, "Quantile should be above 0.");
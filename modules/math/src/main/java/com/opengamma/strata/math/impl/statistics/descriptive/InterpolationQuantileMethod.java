@@ -42,6 +42,29 @@ public abstract class InterpolationQuantileMethod
         DoubleArray.of(lowerWeight, upperWeight));
   }
 
+  // the value alone is computed directly from the sorted sample, without copying, sorting or tracking indices
+  @Override
+  public double quantileFromSorted(double level, DoubleArray sortedSample) {
+    return quantileValue(level, sortedSample, false);
+  }
+
+  @Override
+  public double quantileWithExtrapolationFromSorted(double level, DoubleArray sortedSample) {
+    return quantileValue(level, sortedSample, true);
+  }
+
+  private double quantileValue(double level, DoubleArray sortedSample, boolean isExtrapolated) {
+    ArgChecker.isTrue(level > 0, "Quantile should be above 0.");
+    ArgChecker.isTrue(level < 1, "Quantile should be below 1.");
+    int sampleSize = sampleCorrection(sortedSample.size());
+    double adjustedLevel = checkIndex(level * sampleSize + indexCorrection(), sortedSample.size(), isExtrapolated);
+    int lowerIndex = (int) Math.floor(adjustedLevel);
+    int upperIndex = (int) Math.ceil(adjustedLevel);
+    double lowerWeight = upperIndex - adjustedLevel;
+    double upperWeight = 1d - lowerWeight;
+    return lowerWeight * sortedSample.get(lowerIndex - 1) + upperWeight * sortedSample.get(upperIndex - 1);
+  }
+
   @Override
   protected QuantileResult expectedShortfall(double level, DoubleArray sample) {
     ArgChecker.isTrue(level > 0, "Quantile should be above 0.");
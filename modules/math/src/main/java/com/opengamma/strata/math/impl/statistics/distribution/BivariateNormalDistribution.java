@@ -22,7 +22,7 @@ import com.opengamma.strata.collect.ArgChecker;
  */
 public class BivariateNormalDistribution implements ProbabilityDistribution<double[]> {
 
-  private static final ProbabilityDistribution<Double> NORMAL = new NormalDistribution(0, 1);
+  private static final NormalDistribution NORMAL = new NormalDistribution(0, 1);
   private static final double TWO_PI = 2 * Math.PI;
   private static final double[] X = new double[] {0.04691008, 0.23076534, 0.5, 0.76923466, 0.95308992};
   private static final double[] Y = new double[] {0.018854042, 0.038088059, 0.0452707394, 0.038088059, 0.018854042};
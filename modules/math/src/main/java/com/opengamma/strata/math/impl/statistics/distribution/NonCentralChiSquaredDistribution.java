@@ -30,6 +30,8 @@ import com.opengamma.strata.math.impl.function.special.GammaFunction;
 // CSOFF: AbbreviationAsWordInName
 public class NonCentralChiSquaredDistribution implements ProbabilityDistribution<Double> {
 
+  private static final NormalDistribution NORMAL = new NormalDistribution(0, 1);
+
   private final double _lambdaOverTwo;
   private final int _k;
   private final double _dofOverTwo;
@@ -66,7 +68,7 @@ public class NonCentralChiSquaredDistribution implements ProbabilityDistribution
     } else {
       z = mu - s - (_dofOverTwo * 2.0 - 1) / 2 * (Math.log(mu) - Math.log(s)) / (mu - s);
     }
-    return (new NormalDistribution(0, 1)).getCDF(z);
+    return NORMAL.getCDF(z);
   }
 
   /**
@@ -10,7 +10,6 @@ import java.util.Date;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.math.impl.cern.MersenneTwister64;
 import com.opengamma.strata.math.impl.cern.Normal;
-import com.opengamma.strata.math.impl.cern.Probability;
 import com.opengamma.strata.math.impl.cern.RandomEngine;
 
 /**
@@ -22,7 +21,12 @@ import com.opengamma.strata.math.impl.cern.RandomEngine;
  * $$
  * where $\mu$ is the mean and $\sigma$ the standard deviation of
  * the distribution.
+ * <p>
+ * In addition to the methods of {@link ProbabilityDistribution}, primitive methods are provided
+ * that do not box, together with batch methods that evaluate an array of values into a result array.
+ * These are intended for use in the inner loops of option pricing and random number generation.
  */
+// CSOFF: AbbreviationAsWordInName
 public class NormalDistribution implements ProbabilityDistribution<Double> {
 
   private static final double ROOT2 = Math.sqrt(2);
@@ -59,18 +63,72 @@ public class NormalDistribution implements ProbabilityDistribution<Double> {
   @Override
   public double getCDF(Double x) {
     ArgChecker.notNull(x, "x");
+    return getCDF(x.doubleValue());
+  }
+
+  /**
+   * Returns the cumulative distribution function for a value, without boxing.
+   * 
+   * @param x  the value
+   * @return the cdf
+   */
+  public double getCDF(double x) {
     return DERFC.getErfc(-x / ROOT2) / 2;
   }
 
+  /**
+   * Evaluates the cumulative distribution function for each value in an array.
+   * <p>
+   * The result array may be the same as the input array.
+   * 
+   * @param x  the values
+   * @param cdf  the array to populate with the cdf of each value, at least as long as the values
+   */
+  public void getCDF(double[] x, double[] cdf) {
+    ArgChecker.notNull(x, "x");
+    ArgChecker.notNull(cdf, "cdf");
+    ArgChecker.isTrue(cdf.length >= x.length, "Result array must be at least as long as the values");
+    for (int i = 0; i < x.length; i++) {
+      cdf[i] = DERFC.getErfc(-x[i] / ROOT2) / 2;
+    }
+  }
+
   /**
    * {@inheritDoc}
    */
   @Override
   public double getPDF(Double x) {
     ArgChecker.notNull(x, "x");
+    return getPDF(x.doubleValue());
+  }
+
+  /**
+   * Returns the probability density function for a value, without boxing.
+   * 
+   * @param x  the value
+   * @return the pdf
+   */
+  public double getPDF(double x) {
     return _normal.pdf(x);
   }
 
+  /**
+   * Evaluates the probability density function for each value in an array.
+   * <p>
+   * The result array may be the same as the input array.
+   * 
+   * @param x  the values
+   * @param pdf  the array to populate with the pdf of each value, at least as long as the values
+   */
+  public void getPDF(double[] x, double[] pdf) {
+    ArgChecker.notNull(x, "x");
+    ArgChecker.notNull(pdf, "pdf");
+    ArgChecker.isTrue(pdf.length >= x.length, "Result array must be at least as long as the values");
+    for (int i = 0; i < x.length; i++) {
+      pdf[i] = _normal.pdf(x[i]);
+    }
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -85,8 +143,80 @@ public class NormalDistribution implements ProbabilityDistribution<Double> {
   @Override
   public double getInverseCDF(Double p) {
     ArgChecker.notNull(p, "p");
+    return getInverseCDF(p.doubleValue());
+  }
+
+  /**
+   * Given a probability, returns the value that returns this cdf, without boxing.
+   * <p>
+   * This uses algorithm AS241 of Wichura, which is accurate to about 1 part in 10<sup>16</sup>.
+   * A probability of zero or one returns negative or positive infinity.
+   * 
+   * @param p  the probability, $0 \leq p \leq 1$
+   * @return the inverse cdf
+   */
+  public double getInverseCDF(double p) {
     ArgChecker.isTrue(p >= 0 && p <= 1, "Probability must be >= 0 and <= 1");
-    return Probability.normalInverse(p);
+    return inverseCdf(p);
+  }
+
+  /**
+   * Evaluates the inverse cumulative distribution function for each probability in an array.
+   * <p>
+   * The result array may be the same as the input array.
+   * This is suitable for converting uniform random numbers to normal random numbers.
+   * 
+   * @param p  the probabilities, each $0 \leq p \leq 1$
+   * @param x  the array to populate with the inverse cdf of each probability, at least as long as the probabilities
+   */
+  public void getInverseCDF(double[] p, double[] x) {
+    ArgChecker.notNull(p, "p");
+    ArgChecker.notNull(x, "x");
+    ArgChecker.isTrue(x.length >= p.length, "Result array must be at least as long as the probabilities");
+    for (int i = 0; i < p.length; i++) {
+      ArgChecker.isTrue(p[i] >= 0 && p[i] <= 1, "Probability must be >= 0 and <= 1");
+      x[i] = inverseCdf(p[i]);
+    }
+  }
+
+  // algorithm AS241, Wichura, Applied Statistics 37 (1988), PPND16
+  private static double inverseCdf(double p) {
+    double q = p - 0.5;
+    if (Math.abs(q) <= 0.425) {
+      double r = 0.180625 - q * q;
+      return q * (((((((2.5090809287301226727e3 * r + 3.3430575583588128105e4) * r + 6.7265770927008700853e4) * r +
+          4.5921953931549871457e4) * r + 1.3731693765509461125e4) * r + 1.9715909503065514427e3) * r +
+          1.3314166789178437745e2) * r + 3.3871328727963666080e0) /
+          (((((((5.2264952788528545610e3 * r + 2.8729085735721942674e4) * r + 3.9307895800092710610e4) * r +
+              2.1213794301586595867e4) * r + 5.3941960214247511077e3) * r + 6.8718700749205790830e2) * r +
+              4.2313330701600911252e1) * r + 1d);
+    }
+    if (p == 0d) {
+      return Double.NEGATIVE_INFINITY;
+    }
+    if (p == 1d) {
+      return Double.POSITIVE_INFINITY;
+    }
+    double r = Math.sqrt(-Math.log(q < 0 ? p : 1d - p));
+    double x;
+    if (r <= 5d) {
+      r -= 1.6;
+      x = (((((((7.74545014278341407640e-4 * r + 2.27238449892691845833e-2) * r + 2.41780725177450611770e-1) * r +
+          1.27045825245236838258e0) * r + 3.64784832476320460504e0) * r + 5.76949722146069140550e0) * r +
+          4.63033784615654529590e0) * r + 1.42343711074968357734e0) /
+          (((((((1.05075007164441684324e-9 * r + 5.47593808499534494600e-4) * r + 1.51986665636164571966e-2) * r +
+              1.48103976427480074590e-1) * r + 6.89767334985100004550e-1) * r + 1.67638483018380384940e0) * r +
+              2.05319162663775882187e0) * r + 1d);
+    } else {
+      r -= 5d;
+      x = (((((((2.01033439929228813265e-7 * r + 2.71155556874348757815e-5) * r + 1.24266094738807843860e-3) * r +
+          2.65321895265761230930e-2) * r + 2.96560571828504891230e-1) * r + 1.78482653991729133580e0) * r +
+          5.46378491116411436990e0) * r + 6.65790464350110377720e0) /
+          (((((((2.04426310338993978564e-15 * r + 1.42151175831644588870e-7) * r + 1.84631831751005468180e-5) * r +
+              7.86869131145613259100e-4) * r + 1.48753612908506148525e-2) * r + 1.36929880922735805310e-1) * r +
+              5.99832206555887937690e-1) * r + 1d);
+    }
+    return q < 0 ? -x : x;
   }
 
   /**
@@ -0,0 +1,172 @@
+/*
+ * Copyright (C) 2019 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.differentiation;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.basics.value.ValueDerivatives;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+
+/**
+ * Test {@link AdjointTape}.
+ */
+@Test
+public class AdjointTapeTest {
+
+  private static final double X = 0.7;
+  private static final double Y = 1.3;
+  private static final double Z = 2.1;
+  private static final double TOLERANCE = 1.0e-12;
+
+  //-------------------------------------------------------------------------
+  public void test_value() {
+    AdjointTape tape = new AdjointTape();
+    int x = tape.input(X);
+    int c = tape.constant(2d);
+    int result = tape.multiply(tape.add(x, c), 3d);
+    assertEquals(tape.value(result), (X + 2d) * 3d, TOLERANCE);
+    assertEquals(tape.size(), 4);
+    assertEquals(tape.getInputCount(), 1);
+    assertEquals(tape.toString(), "AdjointTape{size=4, inputs=1}");
+  }
+
+  public void test_invalidVariable() {
+    AdjointTape tape = new AdjointTape();
+    int x = tape.input(X);
+    assertThrowsIllegalArg(() -> tape.value(x + 1));
+    assertThrowsIllegalArg(() -> tape.exp(-1));
+    assertThrowsIllegalArg(() -> tape.linear(new int[] {x}, DoubleArray.of(1d, 2d)));
+  }
+
+  //-------------------------------------------------------------------------
+  // f = exp(x * y) / z + log(y) * sqrt(z) + x^3 - z
+  public void test_derivatives() {
+    AdjointTape tape = new AdjointTape();
+    int x = tape.input(X);
+    int y = tape.input(Y);
+    int z = tape.input(Z);
+    int term1 = tape.divide(tape.exp(tape.multiply(x, y)), z);
+    int term2 = tape.multiply(tape.log(y), tape.sqrt(z));
+    int term3 = tape.pow(x, 3d);
+    int f = tape.subtract(tape.add(tape.add(term1, term2), term3), z);
+
+    double exy = Math.exp(X * Y);
+    double sqrtZ = Math.sqrt(Z);
+    double logY = Math.log(Y);
+    ValueDerivatives computed = tape.derivatives(f);
+    assertEquals(computed.getValue(), exy / Z + logY * sqrtZ + X * X * X - Z, TOLERANCE);
+    assertEquals(computed.getDerivative(0), Y * exy / Z + 3d * X * X, TOLERANCE);
+    assertEquals(computed.getDerivative(1), X * exy / Z + sqrtZ / Y, TOLERANCE);
+    assertEquals(computed.getDerivative(2), -exy / (Z * Z) + 0.5d * logY / sqrtZ - 1d, TOLERANCE);
+
+    DoubleMatrix second = tape.secondDerivatives(f);
+    double dxx = Y * Y * exy / Z + 6d * X;
+    double dxy = (1d + X * Y) * exy / Z;
+    double dxz = -Y * exy / (Z * Z);
+    double dyy = X * X * exy / Z - sqrtZ / (Y * Y);
+    double dyz = -X * exy / (Z * Z) + 0.5d / (Y * sqrtZ);
+    double dzz = 2d * exy / (Z * Z * Z) - 0.25d * logY / (Z * sqrtZ);
+    DoubleMatrix expected = DoubleMatrix.of(3, 3,
+        dxx, dxy, dxz,
+        dxy, dyy, dyz,
+        dxz, dyz, dzz);
+    assertEquals(second.rowCount(), 3);
+    for (int i = 0; i < 3; i++) {
+      assertEquals(second.row(i).equalWithTolerance(expected.row(i), TOLERANCE), true);
+    }
+  }
+
+  public void test_derivatives_intermediate() {
+    AdjointTape tape = new AdjointTape();
+    int x = tape.input(X);
+    int square = tape.multiply(x, x);
+    int y = tape.input(Y);
+    tape.multiply(square, y);
+    // derivatives of a variable recorded before the last input
+    ValueDerivatives computed = tape.derivatives(square);
+    assertEquals(computed.getDerivatives(), DoubleArray.of(2d * X, 0d));
+    assertEquals(tape.secondDerivatives(square), DoubleMatrix.of(2, 2, 2d, 0d, 0d, 0d));
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_unary_binary_linear() {
+    AdjointTape tape = new AdjointTape();
+    int x = tape.input(X);
+    int y = tape.input(Y);
+    // x^2 * y^3 recorded as a single binary operation
+    double value = X * X * Y * Y * Y;
+    int binary = tape.binary(
+        x, y, value, 2d * X * Y * Y * Y, 3d * X * X * Y * Y, 2d * Y * Y * Y, 6d * X * Y * Y, 6d * X * X * Y);
+    // sin(x) recorded as a single unary operation
+    int unary = tape.unary(x, Math.sin(X), Math.cos(X), -Math.sin(X));
+    int linear = tape.linear(new int[] {binary, unary}, DoubleArray.of(2d, -1d));
+    assertEquals(tape.value(linear), 2d * value - Math.sin(X), TOLERANCE);
+    ValueDerivatives computed = tape.derivatives(linear);
+    assertEquals(computed.getDerivative(0), 4d * X * Y * Y * Y - Math.cos(X), TOLERANCE);
+    assertEquals(computed.getDerivative(1), 6d * X * X * Y * Y, TOLERANCE);
+    DoubleMatrix second = tape.secondDerivatives(linear);
+    assertEquals(second.get(0, 0), 4d * Y * Y * Y + Math.sin(X), TOLERANCE);
+    assertEquals(second.get(0, 1), 12d * X * Y * Y, TOLERANCE);
+    assertEquals(second.get(1, 0), 12d * X * Y * Y, TOLERANCE);
+    assertEquals(second.get(1, 1), 12d * X * X * Y, TOLERANCE);
+  }
+
+  public void test_function() {
+    AdjointTape tape = new AdjointTape();
+    int x = tape.input(X);
+    int y = tape.input(Y);
+    // x^2 * y^3 recorded as a single function of two variables, matching the binary operation
+    double value = X * X * Y * Y * Y;
+    DoubleArray derivatives = DoubleArray.of(2d * X * Y * Y * Y, 3d * X * X * Y * Y);
+    DoubleMatrix secondDerivatives =
+        DoubleMatrix.of(2, 2, 2d * Y * Y * Y, 6d * X * Y * Y, 6d * X * Y * Y, 6d * X * X * Y);
+    int function = tape.function(new int[] {x, y}, value, derivatives, secondDerivatives);
+    int binary = tape.binary(
+        x, y, value, 2d * X * Y * Y * Y, 3d * X * X * Y * Y, 2d * Y * Y * Y, 6d * X * Y * Y, 6d * X * X * Y);
+    assertEquals(tape.value(function), value);
+    assertEquals(tape.derivatives(function), tape.derivatives(binary));
+    assertEquals(tape.secondDerivatives(function), tape.secondDerivatives(binary));
+    assertThrowsIllegalArg(() -> tape.function(new int[] {x}, value, derivatives, secondDerivatives));
+    assertThrowsIllegalArg(() -> tape.function(new int[] {x, y}, value, derivatives, DoubleMatrix.filled(2, 1)));
+  }
+
+  public void test_largeTape() {
+    // sum of x_i^2 * x_{i+1}, exercising the growth of the buffers
+    int n = 200;
+    AdjointTape tape = new AdjointTape();
+    int[] inputs = new int[n];
+    for (int i = 0; i < n; i++) {
+      inputs[i] = tape.input(1d + i / (double) n);
+    }
+    int sum = tape.constant(0d);
+    for (int i = 0; i < n - 1; i++) {
+      sum = tape.add(sum, tape.multiply(tape.multiply(inputs[i], inputs[i]), inputs[i + 1]));
+    }
+    ValueDerivatives computed = tape.derivatives(sum);
+    DoubleMatrix second = tape.secondDerivatives(sum);
+    for (int i = 0; i < n; i++) {
+      double xi = tape.value(inputs[i]);
+      double expected = 0d;
+      double expectedSecond = 0d;
+      if (i < n - 1) {
+        expected += 2d * xi * tape.value(inputs[i + 1]);
+        expectedSecond += 2d * tape.value(inputs[i + 1]);
+        assertEquals(second.get(i, i + 1), 2d * xi, TOLERANCE);
+      }
+      if (i > 0) {
+        double previous = tape.value(inputs[i - 1]);
+        expected += previous * previous;
+      }
+      assertEquals(computed.getDerivative(i), expected, TOLERANCE);
+      assertEquals(second.get(i, i), expectedSecond, TOLERANCE);
+    }
+  }
+
+}
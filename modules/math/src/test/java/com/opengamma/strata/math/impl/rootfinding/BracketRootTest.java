@@ -0,0 +1,51 @@
+/*
+ * Copyright (C) 2019 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.rootfinding;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.Function;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.math.MathException;
+
+/**
+ * Test {@link BracketRoot}.
+ */
+@Test
+public class BracketRootTest {
+
+  private static final BracketRoot BRACKETER = new BracketRoot();
+  private static final DoubleUnaryOperator F = x -> x * x - 30;
+  private static final Function<Double, Double> F_BOXED = x -> x * x - 30;
+
+  public void test_bracket() {
+    double[] bracket = BRACKETER.getBracketedPointsPrimitive(F, 1d, 2d);
+    assertTrue(F.applyAsDouble(bracket[0]) * F.applyAsDouble(bracket[1]) < 0);
+    assertEquals(BRACKETER.getBracketedPoints(F_BOXED, 1d, 2d), bracket);
+  }
+
+  public void test_bracket_limits() {
+    double[] bracket = BRACKETER.getBracketedPointsPrimitive(F, 1d, 2d, 0d, 6d);
+    assertTrue(F.applyAsDouble(bracket[0]) * F.applyAsDouble(bracket[1]) <= 0);
+    assertTrue(bracket[1] <= 6d);
+    assertEquals(BRACKETER.getBracketedPoints(F_BOXED, 1d, 2d, 0d, 6d), bracket);
+  }
+
+  @Test(expectedExceptions = MathException.class)
+  public void test_bracket_noRoot() {
+    BRACKETER.getBracketedPointsPrimitive(x -> x * x + 1, 1d, 2d, 0d, 6d);
+  }
+
+  @Test(expectedExceptions = MathException.class)
+  public void test_bracket_nan() {
+    BRACKETER.getBracketedPointsPrimitive(x -> Double.NaN, 1d, 2d);
+  }
+
+}
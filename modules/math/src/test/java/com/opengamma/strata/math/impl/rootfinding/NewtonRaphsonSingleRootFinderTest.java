@@ -7,6 +7,7 @@ package com.opengamma.strata.math.impl.rootfinding;
 
 import static org.testng.AssertJUnit.assertEquals;
 
+import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
 
 import org.testng.annotations.Test;
@@ -192,4 +193,24 @@ public class NewtonRaphsonSingleRootFinderTest {
     assertEquals(ROOT_FINDER.getRoot(F2, X), ROOT, EPS);
     assertEquals(ROOT_FINDER.getRoot(F2, DF2, X), ROOT, EPS);
   }
+
+  public void testPrimitive() {
+    DoubleUnaryOperator f = x -> x * x * x - 6 * x * x + 11 * x - 106;
+    DoubleUnaryOperator df = x -> 3 * x * x - 12 * x + 11;
+    assertEquals(ROOT_FINDER.getRootPrimitive(f, df, X1, X2), ROOT, EPS);
+    assertEquals(ROOT_FINDER.getRootPrimitive(f, df, X), ROOT, EPS);
+    assertEquals(ROOT_FINDER.getRootPrimitive(f, X1, X2), ROOT, EPS);
+    assertEquals(ROOT_FINDER.getRootPrimitive(F1, X1, X2), ROOT_FINDER.getRoot(F1, DF1, X1, X2), 0);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testPrimitiveNullDerivative() {
+    ROOT_FINDER.getRootPrimitive(F1, null, X1, X2);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testPrimitiveNotBracketed() {
+    ROOT_FINDER.getRootPrimitive(F1, DF1, X1, X1 + 1);
+  }
+
 }
@@ -7,6 +7,7 @@ package com.opengamma.strata.math.impl.rootfinding;
 
 import static org.testng.AssertJUnit.assertEquals;
 
+import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
 
 import org.testng.annotations.Test;
@@ -24,6 +25,7 @@ public abstract class RealSingleRootFinderTestCase {
       return x * x * x - 4 * x * x + x + 6;
     }
   };
+  protected static final DoubleUnaryOperator F_PRIMITIVE = x -> x * x * x - 4 * x * x + x + 6;
   protected static final double EPS = 1e-9;
 
   protected abstract RealSingleRootFinder getRootFinder();
@@ -60,4 +62,29 @@ public abstract class RealSingleRootFinderTestCase {
     assertEquals(finder.getRoot(F, 1.5, 2.5), 2, EPS);
     assertEquals(finder.getRoot(F, -1.5, 0.5), -1, EPS);
   }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testPrimitiveNullFunction() {
+    getRootFinder().getRootPrimitive(null, 1d, 2d);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testPrimitiveOutsideRoots() {
+    getRootFinder().getRootPrimitive(F_PRIMITIVE, 10d, 100d);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testPrimitiveBracketTwoRoots() {
+    getRootFinder().getRootPrimitive(F_PRIMITIVE, 1.5d, 3.5d);
+  }
+
+  @Test
+  public void testPrimitive() {
+    RealSingleRootFinder finder = getRootFinder();
+    assertEquals(finder.getRootPrimitive(F_PRIMITIVE, 2.5d, 3.5d), 3, EPS);
+    assertEquals(finder.getRootPrimitive(F_PRIMITIVE, 1.5d, 2.5d), 2, EPS);
+    assertEquals(finder.getRootPrimitive(F_PRIMITIVE, -1.5d, 0.5d), -1, EPS);
+    assertEquals(finder.getRootPrimitive(F_PRIMITIVE, 2.5d, 3.5d), finder.getRoot(F, 2.5, 3.5), 0d);
+  }
+
 }
@@ -115,6 +115,40 @@ public class QuantileCalculationMethodTest {
     assertThrowsIllegalArg(() -> QUANTILE_SAMPLE1_NEAREST_INDEX.quantileFromUnsorted(LEVEL5, UNSORTED_100));
   }
 
+  public void sorted_wrong_quantile() {
+    assertThrowsIllegalArg(() -> QUANTILE_INDEX_ABOVE.quantileFromSorted(1.01, SORTED_100));
+    assertThrowsIllegalArg(() -> QUANTILE_SAMPLE_INTERPOLATION.quantileFromSorted(0.0, SORTED_100));
+    assertThrowsIllegalArg(() -> QUANTILE_MIDWAY_INTERPOLATION.quantileFromSorted(LEVEL5, SORTED_100));
+    assertThrowsIllegalArg(() -> QUANTILE_SAMPLE1_NEAREST_INDEX.quantileFromSorted(LEVEL4, SORTED_100));
+  }
+
+  //-------------------------------------------------------------------------
+  public void value_matches_result() {
+    QuantileCalculationMethod[] methods = {
+        QUANTILE_INDEX_ABOVE,
+        QUANTILE_NEAREST_INDEX,
+        QUANTILE_SAMPLE1_NEAREST_INDEX,
+        QUANTILE_SAMPLE_INTERPOLATION,
+        QUANTILE_SAMPLE1_INTERPOLATION,
+        QUANTILE_MIDWAY_INTERPOLATION,
+        ExcelInterpolationQuantileMethod.DEFAULT};
+    for (QuantileCalculationMethod method : methods) {
+      for (double level : new double[] {0.5, LEVEL1, LEVEL2, LEVEL3, LEVEL4, LEVEL5}) {
+        for (DoubleArray sample : new DoubleArray[] {UNSORTED_100, UNSORTED_123}) {
+          double expected = method.quantileResultWithExtrapolationFromUnsorted(level, sample).getValue();
+          assertEquals(method.quantileWithExtrapolationFromUnsorted(level, sample), expected);
+          assertEquals(method.quantileWithExtrapolationFromSorted(level, sample.sorted()), expected);
+          double index = level * sample.size();
+          if (index > 2 && index < sample.size() - 2) {
+            assertEquals(
+                method.quantileFromUnsorted(level, sample),
+                method.quantileResultFromUnsorted(level, sample).getValue());
+          }
+        }
+      }
+    }
+  }
+
   //-------------------------------------------------------------------------
   public void discrete_wrong_expectedShortfall_large() {
     assertThrowsIllegalArg(() -> QUANTILE_INDEX_ABOVE.expectedShortfallFromUnsorted(1.01, UNSORTED_100));
@@ -5,6 +5,7 @@
  */
 package com.opengamma.strata.math.impl.statistics.distribution;
 
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
 import static org.testng.AssertJUnit.assertEquals;
 import static org.testng.AssertJUnit.assertFalse;
 
@@ -46,6 +47,60 @@ public class NormalDistributionTest extends ProbabilityDistributionTestCase {
     }
   }
 
+  public void testPrimitive() {
+    NormalDistribution normal = new NormalDistribution(0, 1, ENGINE);
+    for (double x : X) {
+      assertEquals(normal.getCDF(x), NORMAL.getCDF(Double.valueOf(x)), 0d);
+      assertEquals(normal.getCDF(-x), NORMAL.getCDF(Double.valueOf(-x)), 0d);
+      assertEquals(normal.getPDF(x), NORMAL.getPDF(Double.valueOf(x)), 0d);
+    }
+    for (double p : P) {
+      assertEquals(normal.getInverseCDF(p), NORMAL.getInverseCDF(Double.valueOf(p)), 0d);
+    }
+    assertEquals(normal.getInverseCDF(0d), Double.NEGATIVE_INFINITY);
+    assertEquals(normal.getInverseCDF(1d), Double.POSITIVE_INFINITY);
+    assertEquals(normal.getInverseCDF(0.5d), 0d);
+    assertThrowsIllegalArg(() -> normal.getInverseCDF(1.1d));
+    assertThrowsIllegalArg(() -> normal.getInverseCDF(-0.1d));
+    assertThrowsIllegalArg(() -> normal.getInverseCDF(Double.NaN));
+  }
+
+  public void testInverseAccuracy() {
+    NormalDistribution normal = new NormalDistribution(0, 1, ENGINE);
+    // the lower tail, where the probabilities are not rounded
+    for (int i = 0; i <= 120; i++) {
+      double x = -30 + 0.25 * i;
+      double p = normal.getCDF(x);
+      assertEquals(normal.getInverseCDF(p), x, 1e-9 * Math.max(1, Math.abs(x)));
+    }
+    // symmetry
+    for (int i = 1; i < 1000; i++) {
+      double p = i / 1000d;
+      assertEquals(normal.getInverseCDF(p), -normal.getInverseCDF(1 - p), 1e-12);
+    }
+  }
+
+  public void testBatch() {
+    NormalDistribution normal = new NormalDistribution(0, 1, ENGINE);
+    double[] cdf = new double[X.length];
+    double[] pdf = new double[X.length];
+    double[] inverse = new double[X.length];
+    normal.getCDF(X, cdf);
+    normal.getPDF(X, pdf);
+    normal.getInverseCDF(cdf, inverse);
+    for (int i = 0; i < X.length; i++) {
+      assertEquals(cdf[i], normal.getCDF(X[i]), 0d);
+      assertEquals(pdf[i], normal.getPDF(X[i]), 0d);
+      assertEquals(inverse[i], normal.getInverseCDF(cdf[i]), 0d);
+    }
+    double[] inPlace = X.clone();
+    normal.getCDF(inPlace, inPlace);
+    assertEquals(inPlace[3], cdf[3], 0d);
+    assertThrowsIllegalArg(() -> normal.getCDF(X, new double[X.length - 1]));
+    assertThrowsIllegalArg(() -> normal.getPDF(X, new double[X.length - 1]));
+    assertThrowsIllegalArg(() -> normal.getInverseCDF(new double[] {0.5, 1.5}, new double[2]));
+  }
+
   public void testObject() {
     NormalDistribution other = new NormalDistribution(0, 1, ENGINE);
     assertEquals(NORMAL, other);
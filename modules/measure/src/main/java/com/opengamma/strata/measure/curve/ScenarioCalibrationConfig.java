@@ -0,0 +1,478 @@
+/*
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.measure.curve;
+
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+import org.joda.beans.Bean;
+import org.joda.beans.ImmutableBean;
+import org.joda.beans.JodaBeanUtils;
+import org.joda.beans.MetaBean;
+import org.joda.beans.MetaProperty;
+import org.joda.beans.gen.BeanDefinition;
+import org.joda.beans.gen.ImmutableDefaults;
+import org.joda.beans.gen.PropertyDefinition;
+import org.joda.beans.impl.direct.DirectFieldsBeanBuilder;
+import org.joda.beans.impl.direct.DirectMetaBean;
+import org.joda.beans.impl.direct.DirectMetaProperty;
+import org.joda.beans.impl.direct.DirectMetaPropertyMap;
+
+import com.opengamma.strata.collect.ArgChecker;
+
+/**
+ * Configuration for the calibration of curves when there are multiple scenarios.
+ * <p>
+ * When market data is built for multiple scenarios, the curves for each scenario are independent.
+ * This configuration allows the scenarios to be calibrated concurrently, and allows the
+ * calibration of each scenario to start from the curves of the first scenario.
+ * <p>
+ * If this configuration is not present in the market data configuration,
+ * the scenarios are calibrated one at a time on the calling thread.
+ */
+@BeanDefinition
+public final class ScenarioCalibrationConfig implements ImmutableBean {
+
+  /** The configuration where each scenario is calibrated in turn on the calling thread. */
+  private static final ScenarioCalibrationConfig SERIAL = new ScenarioCalibrationConfig(null, 1, false);
+
+  /**
+   * The executor used to calibrate the scenarios concurrently, optional.
+   * <p>
+   * If not present, and the parallelism is greater than one, the common fork-join pool is used.
+   * It is the caller's responsibility to manage the life-cycle of the executor.
+   */
+  @PropertyDefinition(get = "optional")
+  private final Executor executor;
+  /**
+   * The maximum number of scenarios that are calibrated at the same time.
+   * <p>
+   * A value of one means that the scenarios are calibrated one at a time on the calling thread.
+   */
+  @PropertyDefinition(validate = "ArgChecker.notNegativeOrZero")
+  private final int parallelism;
+  /**
+   * Whether the calibration of each scenario starts from the curves of the first scenario.
+   * <p>
+   * If true, the first scenario is calibrated before any other scenario. The curves of the first
+   * scenario are then used as the initial guess for the calibration of every other scenario.
+   * This reduces the number of root finder iterations where the scenarios are perturbations of
+   * the same base market data.
+   */
+  @PropertyDefinition
+  private final boolean warmStart;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns the configuration where each scenario is calibrated in turn on the calling thread.
+   * <p>
+   * This is the behavior when no configuration is specified.
+   *
+   * @return the serial configuration
+   */
+  public static ScenarioCalibrationConfig serial() {
+    return SERIAL;
+  }
+
+  /**
+   * Returns the configuration where scenarios are calibrated concurrently using the common fork-join pool.
+   * <p>
+   * The parallelism is the parallelism of the common pool and warm starts are used.
+   *
+   * @return the concurrent configuration
+   */
+  public static ScenarioCalibrationConfig concurrent() {
+    return new ScenarioCalibrationConfig(null, Math.max(ForkJoinPool.getCommonPoolParallelism(), 1), true);
+  }
+
+  /**
+   * Returns the configuration where scenarios are calibrated concurrently using the specified executor.
+   * <p>
+   * Warm starts are used.
+   *
+   * @param executor  the executor used to calibrate the scenarios
+   * @param parallelism  the maximum number of scenarios that are calibrated at the same time
+   * @return the concurrent configuration
+   */
+  public static ScenarioCalibrationConfig concurrent(Executor executor, int parallelism) {
+    ArgChecker.notNull(executor, "executor");
+    return new ScenarioCalibrationConfig(executor, parallelism, true);
+  }
+
+  @ImmutableDefaults
+  private static void applyDefaults(Builder builder) {
+    builder.parallelism(1);
+  }
+
+  //------------------------- AUTOGENERATED START -------------------------
+  /**
+   * The meta-bean for {@code ScenarioCalibrationConfig}.
+   * @return the meta-bean, not null
+   */
+  public static ScenarioCalibrationConfig.Meta meta() {
+    return ScenarioCalibrationConfig.Meta.INSTANCE;
+  }
+
+  static {
+    MetaBean.register(ScenarioCalibrationConfig.Meta.INSTANCE);
+  }
+
+  /**
+   * Returns a builder used to create an instance of the bean.
+   * @return the builder, not null
+   */
+  public static ScenarioCalibrationConfig.Builder builder() {
+    return new ScenarioCalibrationConfig.Builder();
+  }
+
+  private ScenarioCalibrationConfig(
+      Executor executor,
+      int parallelism,
+      boolean warmStart) {
+    ArgChecker.notNegativeOrZero(parallelism, "parallelism");
+    this.executor = executor;
+    this.parallelism = parallelism;
+    this.warmStart = warmStart;
+  }
+
+  @Override
+  public ScenarioCalibrationConfig.Meta metaBean() {
+    return ScenarioCalibrationConfig.Meta.INSTANCE;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the executor used to calibrate the scenarios concurrently, optional.
+   * <p>
+   * If not present, and the parallelism is greater than one, the common fork-join pool is used.
+   * It is the caller's responsibility to manage the life-cycle of the executor.
+   * @return the optional value of the property, not null
+   */
+  public Optional<Executor> getExecutor() {
+    return Optional.ofNullable(executor);
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the maximum number of scenarios that are calibrated at the same time.
+   * <p>
+   * A value of one means that the scenarios are calibrated one at a time on the calling thread.
+   * @return the value of the property
+   */
+  public int getParallelism() {
+    return parallelism;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets whether the calibration of each scenario starts from the curves of the first scenario.
+   * <p>
+   * If true, the first scenario is calibrated before any other scenario. The curves of the first
+   * scenario are then used as the initial guess for the calibration of every other scenario.
+   * This reduces the number of root finder iterations where the scenarios are perturbations of
+   * the same base market data.
+   * @return the value of the property
+   */
+  public boolean isWarmStart() {
+    return warmStart;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Returns a builder that allows this bean to be mutated.
+   * @return the mutable builder, not null
+   */
+  public Builder toBuilder() {
+    return new Builder(this);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj != null && obj.getClass() == this.getClass()) {
+      ScenarioCalibrationConfig other = (ScenarioCalibrationConfig) obj;
+      return JodaBeanUtils.equal(executor, other.executor) &&
+          (parallelism == other.parallelism) &&
+          (warmStart == other.warmStart);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = getClass().hashCode();
+    hash = hash * 31 + JodaBeanUtils.hashCode(executor);
+    hash = hash * 31 + JodaBeanUtils.hashCode(parallelism);
+    hash = hash * 31 + JodaBeanUtils.hashCode(warmStart);
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder buf = new StringBuilder(128);
+    buf.append("ScenarioCalibrationConfig{");
+    buf.append("executor").append('=').append(executor).append(',').append(' ');
+    buf.append("parallelism").append('=').append(parallelism).append(',').append(' ');
+    buf.append("warmStart").append('=').append(JodaBeanUtils.toString(warmStart));
+    buf.append('}');
+    return buf.toString();
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * The meta-bean for {@code ScenarioCalibrationConfig}.
+   */
+  public static final class Meta extends DirectMetaBean {
+    /**
+     * The singleton instance of the meta-bean.
+     */
+    static final Meta INSTANCE = new Meta();
+
+    /**
+     * The meta-property for the {@code executor} property.
+     */
+    private final MetaProperty<Executor> executor = DirectMetaProperty.ofImmutable(
+        this, "executor", ScenarioCalibrationConfig.class, Executor.class);
+    /**
+     * The meta-property for the {@code parallelism} property.
+     */
+    private final MetaProperty<Integer> parallelism = DirectMetaProperty.ofImmutable(
+        this, "parallelism", ScenarioCalibrationConfig.class, Integer.TYPE);
+    /**
+     * The meta-property for the {@code warmStart} property.
+     */
+    private final MetaProperty<Boolean> warmStart = DirectMetaProperty.ofImmutable(
+        this, "warmStart", ScenarioCalibrationConfig.class, Boolean.TYPE);
+    /**
+     * The meta-properties.
+     */
+    private final Map<String, MetaProperty<?>> metaPropertyMap$ = new DirectMetaPropertyMap(
+        this, null,
+        "executor",
+        "parallelism",
+        "warmStart");
+
+    /**
+     * Restricted constructor.
+     */
+    private Meta() {
+    }
+
+    @Override
+    protected MetaProperty<?> metaPropertyGet(String propertyName) {
+      switch (propertyName.hashCode()) {
+        case 2043017427:  // executor
+          return executor;
+        case 635164956:  // parallelism
+          return parallelism;
+        case -1787818787:  // warmStart
+          return warmStart;
+      }
+      return super.metaPropertyGet(propertyName);
+    }
+
+    @Override
+    public ScenarioCalibrationConfig.Builder builder() {
+      return new ScenarioCalibrationConfig.Builder();
+    }
+
+    @Override
+    public Class<? extends ScenarioCalibrationConfig> beanType() {
+      return ScenarioCalibrationConfig.class;
+    }
+
+    @Override
+    public Map<String, MetaProperty<?>> metaPropertyMap() {
+      return metaPropertyMap$;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * The meta-property for the {@code executor} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<Executor> executor() {
+      return executor;
+    }
+
+    /**
+     * The meta-property for the {@code parallelism} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<Integer> parallelism() {
+      return parallelism;
+    }
+
+    /**
+     * The meta-property for the {@code warmStart} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<Boolean> warmStart() {
+      return warmStart;
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    protected Object propertyGet(Bean bean, String propertyName, boolean quiet) {
+      switch (propertyName.hashCode()) {
+        case 2043017427:  // executor
+          return ((ScenarioCalibrationConfig) bean).executor;
+        case 635164956:  // parallelism
+          return ((ScenarioCalibrationConfig) bean).getParallelism();
+        case -1787818787:  // warmStart
+          return ((ScenarioCalibrationConfig) bean).isWarmStart();
+      }
+      return super.propertyGet(bean, propertyName, quiet);
+    }
+
+    @Override
+    protected void propertySet(Bean bean, String propertyName, Object newValue, boolean quiet) {
+      metaProperty(propertyName);
+      if (quiet) {
+        return;
+      }
+      throw new UnsupportedOperationException("Property cannot be written: " + propertyName);
+    }
+
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * The bean-builder for {@code ScenarioCalibrationConfig}.
+   */
+  public static final class Builder extends DirectFieldsBeanBuilder<ScenarioCalibrationConfig> {
+
+    private Executor executor;
+    private int parallelism;
+    private boolean warmStart;
+
+    /**
+     * Restricted constructor.
+     */
+    private Builder() {
+      applyDefaults(this);
+    }
+
+    /**
+     * Restricted copy constructor.
+     * @param beanToCopy  the bean to copy from, not null
+     */
+    private Builder(ScenarioCalibrationConfig beanToCopy) {
+      this.executor = beanToCopy.executor;
+      this.parallelism = beanToCopy.getParallelism();
+      this.warmStart = beanToCopy.isWarmStart();
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public Object get(String propertyName) {
+      switch (propertyName.hashCode()) {
+        case 2043017427:  // executor
+          return executor;
+        case 635164956:  // parallelism
+          return parallelism;
+        case -1787818787:  // warmStart
+          return warmStart;
+        default:
+          throw new NoSuchElementException("Unknown property: " + propertyName);
+      }
+    }
+
+    @Override
+    public Builder set(String propertyName, Object newValue) {
+      switch (propertyName.hashCode()) {
+        case 2043017427:  // executor
+          this.executor = (Executor) newValue;
+          break;
+        case 635164956:  // parallelism
+          this.parallelism = (Integer) newValue;
+          break;
+        case -1787818787:  // warmStart
+          this.warmStart = (Boolean) newValue;
+          break;
+        default:
+          throw new NoSuchElementException("Unknown property: " + propertyName);
+      }
+      return this;
+    }
+
+    @Override
+    public Builder set(MetaProperty<?> property, Object value) {
+      super.set(property, value);
+      return this;
+    }
+
+    @Override
+    public ScenarioCalibrationConfig build() {
+      return new ScenarioCalibrationConfig(
+          executor,
+          parallelism,
+          warmStart);
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Sets the executor used to calibrate the scenarios concurrently, optional.
+     * <p>
+     * If not present, and the parallelism is greater than one, the common fork-join pool is used.
+     * It is the caller's responsibility to manage the life-cycle of the executor.
+     * @param executor  the new value
+     * @return this, for chaining, not null
+     */
+    public Builder executor(Executor executor) {
+      this.executor = executor;
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of scenarios that are calibrated at the same time.
+     * <p>
+     * A value of one means that the scenarios are calibrated one at a time on the calling thread.
+     * @param parallelism  the new value
+     * @return this, for chaining, not null
+     */
+    public Builder parallelism(int parallelism) {
+      ArgChecker.notNegativeOrZero(parallelism, "parallelism");
+      this.parallelism = parallelism;
+      return this;
+    }
+
+    /**
+     * Sets whether the calibration of each scenario starts from the curves of the first scenario.
+     * <p>
+     * If true, the first scenario is calibrated before any other scenario. The curves of the first
+     * scenario are then used as the initial guess for the calibration of every other scenario.
+     * This reduces the number of root finder iterations where the scenarios are perturbations of
+     * the same base market data.
+     * @param warmStart  the new value
+     * @return this, for chaining, not null
+     */
+    public Builder warmStart(boolean warmStart) {
+      this.warmStart = warmStart;
+      return this;
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public String toString() {
+      StringBuilder buf = new StringBuilder(128);
+      buf.append("ScenarioCalibrationConfig.Builder{");
+      buf.append("executor").append('=').append(JodaBeanUtils.toString(executor)).append(',').append(' ');
+      buf.append("parallelism").append('=').append(JodaBeanUtils.toString(parallelism)).append(',').append(' ');
+      buf.append("warmStart").append('=').append(JodaBeanUtils.toString(warmStart));
+      buf.append('}');
+      return buf.toString();
+    }
+
+  }
+
+  //-------------------------- AUTOGENERATED END --------------------------
+}
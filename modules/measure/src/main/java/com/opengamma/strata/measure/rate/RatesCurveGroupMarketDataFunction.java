@@ -11,6 +11,8 @@ import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
 
 import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.ReferenceData;
@@ -19,6 +21,7 @@ import com.opengamma.strata.calc.marketdata.MarketDataFunction;
 import com.opengamma.strata.calc.marketdata.MarketDataRequirements;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.ParallelEvaluator;
 import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
 import com.opengamma.strata.data.ImmutableMarketData;
 import com.opengamma.strata.data.MarketData;
@@ -36,6 +39,7 @@ import com.opengamma.strata.market.curve.RatesCurveInputs;
 import com.opengamma.strata.market.curve.RatesCurveInputsId;
 import com.opengamma.strata.market.observable.IndexQuoteId;
 import com.opengamma.strata.measure.curve.RootFinderConfig;
+import com.opengamma.strata.measure.curve.ScenarioCalibrationConfig;
 import com.opengamma.strata.pricer.curve.CalibrationMeasures;
 import com.opengamma.strata.pricer.curve.RatesCurveCalibrator;
 import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
@@ -58,7 +62,8 @@ public class RatesCurveGroupMarketDataFunction implements MarketDataFunction<Rat
    * <p>
    * This will use the standard {@linkplain CalibrationMeasures#PAR_SPREAD par spread} measures
    * for calibration. The {@link MarketDataConfig} may contain a {@link RootFinderConfig}
-   * to define the tolerances.
+   * to define the tolerances, and a {@link ScenarioCalibrationConfig} to define how
+   * multiple scenarios are calibrated.
    */
   public RatesCurveGroupMarketDataFunction() {
     this(CalibrationMeasures.PAR_SPREAD);
@@ -111,10 +116,12 @@ public class RatesCurveGroupMarketDataFunction implements MarketDataFunction<Rat
     RatesCurveCalibrator calibrator = RatesCurveCalibrator.of(
         rfc.getAbsoluteTolerance(), rfc.getRelativeTolerance(), rfc.getMaximumSteps(), calibrationMeasures);
 
-    // calibrate
+    // calibrate, using the configured ScenarioCalibrationConfig if found
+    ScenarioCalibrationConfig scc =
+        marketDataConfig.find(ScenarioCalibrationConfig.class).orElse(ScenarioCalibrationConfig.serial());
     CurveGroupName groupName = id.getCurveGroupName();
     RatesCurveGroupDefinition configuredDefn = marketDataConfig.get(RatesCurveGroupDefinition.class, groupName);
-    return buildCurveGroup(configuredDefn, calibrator, marketData, refData, id.getObservableSource());
+    return buildCurveGroup(configuredDefn, calibrator, marketData, refData, id.getObservableSource(), scc);
   }
 
   @Override
@@ -140,6 +147,29 @@ public class RatesCurveGroupMarketDataFunction implements MarketDataFunction<Rat
       ReferenceData refData,
       ObservableSource obsSource) {
 
+    return buildCurveGroup(
+        configuredGroup, calibrator, marketData, refData, obsSource, ScenarioCalibrationConfig.serial());
+  }
+
+  /**
+   * Builds a curve group given the configuration for the group and a set of market data.
+   *
+   * @param configuredGroup  the definition of the curve group
+   * @param calibrator  the calibrator
+   * @param marketData  the market data containing any values required to build the curve group
+   * @param refData  the reference data, used for resolving trades
+   * @param obsSource  the source of observable market data
+   * @param scenarioConfig  the configuration controlling how multiple scenarios are calibrated
+   * @return a result containing the curve group or details of why it couldn't be built
+   */
+  MarketDataBox<RatesCurveGroup> buildCurveGroup(
+      RatesCurveGroupDefinition configuredGroup,
+      RatesCurveCalibrator calibrator,
+      ScenarioMarketData marketData,
+      ReferenceData refData,
+      ObservableSource obsSource,
+      ScenarioCalibrationConfig scenarioConfig) {
+
     // find and combine all the input data
     CurveGroupName groupName = configuredGroup.getName();
 
@@ -154,7 +184,8 @@ public class RatesCurveGroupMarketDataFunction implements MarketDataFunction<Rat
     Map<ObservableId, LocalDateDoubleTimeSeries> fixings = extractFixings(marketData);
 
     return multipleValues || multipleValuationDates ?
-        buildMultipleCurveGroups(configuredGroup, calibrator, valuationDates, inputBoxes, fixings, refData) :
+        buildMultipleCurveGroups(
+            configuredGroup, calibrator, valuationDates, inputBoxes, fixings, refData, scenarioConfig) :
         buildSingleCurveGroup(configuredGroup, calibrator, valuationDates.getSingleValue(), inputBoxes, fixings, refData);
   }
 
@@ -174,20 +205,50 @@ public class RatesCurveGroupMarketDataFunction implements MarketDataFunction<Rat
       MarketDataBox<LocalDate> valuationDateBox,
       List<MarketDataBox<RatesCurveInputs>> inputBoxes,
       Map<ObservableId, LocalDateDoubleTimeSeries> fixings,
-      ReferenceData refData) {
+      ReferenceData refData,
+      ScenarioCalibrationConfig scenarioConfig) {
 
     int scenarioCount = scenarioCount(valuationDateBox, inputBoxes);
-    ImmutableList.Builder<RatesCurveGroup> builder = ImmutableList.builder();
-
-    for (int i = 0; i < scenarioCount; i++) {
-      LocalDate valuationDate = valuationDateBox.getValue(i);
-      RatesCurveGroupDefinition filteredGroup = configuredGroup.filtered(valuationDate, refData);
-      List<RatesCurveInputs> curveInputsList = inputsForScenario(inputBoxes, i);
-      MarketData inputs = inputsByKey(valuationDate, curveInputsList, fixings);
-      builder.add(buildGroup(filteredGroup, calibrator, inputs, refData));
+    ImmutableList.Builder<RatesCurveGroup> curveGroups = ImmutableList.builder();
+
+    // when warm starting, the first scenario is calibrated first and used as the starting point of the others
+    int startIndex = 0;
+    Optional<RatesCurveGroup> startingCurves = Optional.empty();
+    if (scenarioConfig.isWarmStart()) {
+      RatesCurveGroup firstGroup = buildScenarioGroup(
+          configuredGroup, calibrator, valuationDateBox, inputBoxes, fixings, refData, 0, startingCurves);
+      curveGroups.add(firstGroup);
+      startingCurves = Optional.of(firstGroup);
+      startIndex = 1;
     }
-    ImmutableList<RatesCurveGroup> curveGroups = builder.build();
-    return MarketDataBox.ofScenarioValues(curveGroups);
+    // the remaining scenarios are calibrated using up to the configured number of threads
+    int firstIndex = startIndex;
+    Optional<RatesCurveGroup> start = startingCurves;
+    ParallelEvaluator evaluator = ParallelEvaluator.of(
+        scenarioConfig.getExecutor().orElse(ForkJoinPool.commonPool()), scenarioConfig.getParallelism());
+    curveGroups.addAll(evaluator.objects(
+        scenarioCount - firstIndex,
+        i -> buildScenarioGroup(
+            configuredGroup, calibrator, valuationDateBox, inputBoxes, fixings, refData, firstIndex + i, start)));
+    return MarketDataBox.ofScenarioValues(curveGroups.build());
+  }
+
+  // calibrates the curve group for a single scenario
+  private RatesCurveGroup buildScenarioGroup(
+      RatesCurveGroupDefinition configuredGroup,
+      RatesCurveCalibrator calibrator,
+      MarketDataBox<LocalDate> valuationDateBox,
+      List<MarketDataBox<RatesCurveInputs>> inputBoxes,
+      Map<ObservableId, LocalDateDoubleTimeSeries> fixings,
+      ReferenceData refData,
+      int scenarioIndex,
+      Optional<RatesCurveGroup> startingCurves) {
+
+    LocalDate valuationDate = valuationDateBox.getValue(scenarioIndex);
+    RatesCurveGroupDefinition filteredGroup = configuredGroup.filtered(valuationDate, refData);
+    List<RatesCurveInputs> curveInputsList = inputsForScenario(inputBoxes, scenarioIndex);
+    MarketData inputs = inputsByKey(valuationDate, curveInputsList, fixings);
+    return buildGroup(filteredGroup, calibrator, inputs, refData, startingCurves);
   }
 
   private static List<RatesCurveInputs> inputsForScenario(List<MarketDataBox<RatesCurveInputs>> boxes, int scenarioIndex) {
@@ -208,7 +269,7 @@ public class RatesCurveGroupMarketDataFunction implements MarketDataFunction<Rat
     RatesCurveGroupDefinition filteredGroup = configuredGroup.filtered(valuationDate, refData);
     List<RatesCurveInputs> inputs = inputBoxes.stream().map(MarketDataBox::getSingleValue).collect(toImmutableList());
     MarketData inputValues = inputsByKey(valuationDate, inputs, fixings);
-    RatesCurveGroup curveGroup = buildGroup(filteredGroup, calibrator, inputValues, refData);
+    RatesCurveGroup curveGroup = buildGroup(filteredGroup, calibrator, inputValues, refData, Optional.empty());
     return MarketDataBox.ofSingleValue(curveGroup);
   }
 
@@ -253,13 +314,13 @@ public class RatesCurveGroupMarketDataFunction implements MarketDataFunction<Rat
       RatesCurveGroupDefinition groupDefn,
       RatesCurveCalibrator calibrator,
       MarketData marketData,
-      ReferenceData refData) {
+      ReferenceData refData,
+      Optional<RatesCurveGroup> startingCurves) {
 
     // perform the calibration
-    ImmutableRatesProvider calibratedProvider = calibrator.calibrate(
-        groupDefn,
-        marketData,
-        refData);
+    ImmutableRatesProvider calibratedProvider = startingCurves
+        .map(curves -> calibrator.calibrate(groupDefn, marketData, refData, curves))
+        .orElseGet(() -> calibrator.calibrate(groupDefn, marketData, refData));
 
     return RatesCurveGroup.of(
         groupDefn.getName(),
@@ -0,0 +1,309 @@
+/*
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.measure.swap;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.index.IborIndex;
+import com.opengamma.strata.basics.index.IborIndexObservation;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.tuple.Pair;
+import com.opengamma.strata.data.scenario.MultiCurrencyScenarioArray;
+import com.opengamma.strata.measure.rate.RatesScenarioMarketData;
+import com.opengamma.strata.pricer.DiscountFactors;
+import com.opengamma.strata.pricer.rate.IborIndexRates;
+import com.opengamma.strata.pricer.rate.RatesProvider;
+import com.opengamma.strata.product.rate.FixedRateComputation;
+import com.opengamma.strata.product.rate.IborRateComputation;
+import com.opengamma.strata.product.rate.RateComputation;
+import com.opengamma.strata.product.swap.NegativeRateMethod;
+import com.opengamma.strata.product.swap.NotionalExchange;
+import com.opengamma.strata.product.swap.RateAccrualPeriod;
+import com.opengamma.strata.product.swap.RatePaymentPeriod;
+import com.opengamma.strata.product.swap.ResolvedSwap;
+import com.opengamma.strata.product.swap.ResolvedSwapLeg;
+import com.opengamma.strata.product.swap.SwapPaymentEvent;
+import com.opengamma.strata.product.swap.SwapPaymentPeriod;
+
+/**
+ * Prices a swap for all scenarios at once.
+ * <p>
+ * The structure of the swap is analyzed once, extracting the payment dates, amounts and rate
+ * observations into arrays. The distinct discount factor and Ibor rate lookups are identified
+ * so each is only performed once per scenario, even if shared by several periods or legs.
+ * The present value of each scenario is then calculated by looping over the arrays.
+ * <p>
+ * The result is the same as that of {@code DiscountingSwapProductPricer.DEFAULT}.
+ * Only swaps consisting of fixed and Ibor periods, without compounding or FX reset, and notional
+ * exchanges are supported. This covers the majority of vanilla swaps.
+ */
+final class SwapScenarioPricer {
+
+  /** The currencies of the result, one for each leg currency. */
+  private final List<Currency> currencies;
+  /** The index of the result currency of each leg. */
+  private final int[] legCurrency;
+  /** The index of the first period of each leg, with an additional element for the end of the last leg. */
+  private final int[] legPeriodStart;
+  /** The index of the first event of each leg, with an additional element for the end of the last leg. */
+  private final int[] legEventStart;
+
+  /** The distinct discount factor lookups, the currency and payment date. */
+  private final List<Pair<Currency, LocalDate>> discountLookups;
+  /** The distinct Ibor index lookups. */
+  private final List<IborIndex> iborIndices;
+  /** The distinct Ibor rate lookups. */
+  private final List<IborIndexObservation> iborObservations;
+  /** The index of the Ibor index of each Ibor rate lookup. */
+  private final int[] iborObservationIndex;
+
+  /** The payment date of each period. */
+  private final LocalDate[] periodPaymentDate;
+  /** The discount factor lookup of each period. */
+  private final int[] periodDiscount;
+  /** The Ibor rate lookup of each period, -1 if the rate is fixed. */
+  private final int[] periodIbor;
+  /** The fixed rate of each period, unused if the rate is not fixed. */
+  private final double[] periodFixedRate;
+  /** The gearing of each period. */
+  private final double[] periodGearing;
+  /** The spread of each period. */
+  private final double[] periodSpread;
+  /** The year fraction of each period. */
+  private final double[] periodYearFraction;
+  /** The negative rate method of each period. */
+  private final NegativeRateMethod[] periodNegativeRateMethod;
+  /** The notional of each period. */
+  private final double[] periodNotional;
+
+  /** The payment date of each event. */
+  private final LocalDate[] eventPaymentDate;
+  /** The discount factor lookup of each event. */
+  private final int[] eventDiscount;
+  /** The amount of each event. */
+  private final double[] eventAmount;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance for the swap, if supported.
+   *
+   * @param swap  the swap
+   * @return the pricer, empty if the swap is not supported
+   */
+  static Optional<SwapScenarioPricer> of(ResolvedSwap swap) {
+    for (ResolvedSwapLeg leg : swap.getLegs()) {
+      for (SwapPaymentPeriod period : leg.getPaymentPeriods()) {
+        if (!isSupported(period)) {
+          return Optional.empty();
+        }
+      }
+      for (SwapPaymentEvent event : leg.getPaymentEvents()) {
+        if (!(event instanceof NotionalExchange)) {
+          return Optional.empty();
+        }
+      }
+    }
+    return Optional.of(new SwapScenarioPricer(swap));
+  }
+
+  // checks if the period is a simple fixed or Ibor period
+  private static boolean isSupported(SwapPaymentPeriod period) {
+    if (!(period instanceof RatePaymentPeriod)) {
+      return false;
+    }
+    RatePaymentPeriod ratePeriod = (RatePaymentPeriod) period;
+    if (ratePeriod.getFxReset().isPresent() || ratePeriod.getAccrualPeriods().size() != 1) {
+      return false;
+    }
+    RateComputation computation = ratePeriod.getAccrualPeriods().get(0).getRateComputation();
+    return computation instanceof FixedRateComputation || computation instanceof IborRateComputation;
+  }
+
+  // creates an instance
+  private SwapScenarioPricer(ResolvedSwap swap) {
+    List<ResolvedSwapLeg> legs = swap.getLegs();
+    int periodCount = legs.stream().mapToInt(leg -> leg.getPaymentPeriods().size()).sum();
+    int eventCount = legs.stream().mapToInt(leg -> leg.getPaymentEvents().size()).sum();
+    Map<Currency, Integer> currencyMap = new LinkedHashMap<>();
+    Map<Pair<Currency, LocalDate>, Integer> discountMap = new LinkedHashMap<>();
+    Map<IborIndex, Integer> indexMap = new LinkedHashMap<>();
+    Map<IborIndexObservation, Integer> observationMap = new LinkedHashMap<>();
+    List<Integer> observationIndex = new ArrayList<>();
+
+    this.legCurrency = new int[legs.size()];
+    this.legPeriodStart = new int[legs.size() + 1];
+    this.legEventStart = new int[legs.size() + 1];
+    this.periodPaymentDate = new LocalDate[periodCount];
+    this.periodDiscount = new int[periodCount];
+    this.periodIbor = new int[periodCount];
+    this.periodFixedRate = new double[periodCount];
+    this.periodGearing = new double[periodCount];
+    this.periodSpread = new double[periodCount];
+    this.periodYearFraction = new double[periodCount];
+    this.periodNegativeRateMethod = new NegativeRateMethod[periodCount];
+    this.periodNotional = new double[periodCount];
+    this.eventPaymentDate = new LocalDate[eventCount];
+    this.eventDiscount = new int[eventCount];
+    this.eventAmount = new double[eventCount];
+
+    int periodIdx = 0;
+    int eventIdx = 0;
+    for (int legIdx = 0; legIdx < legs.size(); legIdx++) {
+      ResolvedSwapLeg leg = legs.get(legIdx);
+      legCurrency[legIdx] = currencyMap.computeIfAbsent(leg.getCurrency(), ccy -> currencyMap.size());
+      legPeriodStart[legIdx] = periodIdx;
+      legEventStart[legIdx] = eventIdx;
+      for (SwapPaymentPeriod period : leg.getPaymentPeriods()) {
+        RatePaymentPeriod ratePeriod = (RatePaymentPeriod) period;
+        RateAccrualPeriod accrualPeriod = ratePeriod.getAccrualPeriods().get(0);
+        RateComputation computation = accrualPeriod.getRateComputation();
+        periodPaymentDate[periodIdx] = ratePeriod.getPaymentDate();
+        periodDiscount[periodIdx] = discountMap.computeIfAbsent(
+            Pair.of(ratePeriod.getCurrency(), ratePeriod.getPaymentDate()), key -> discountMap.size());
+        if (computation instanceof FixedRateComputation) {
+          periodIbor[periodIdx] = -1;
+          periodFixedRate[periodIdx] = ((FixedRateComputation) computation).getRate();
+        } else {
+          IborRateComputation iborComputation = (IborRateComputation) computation;
+          int index = indexMap.computeIfAbsent(iborComputation.getIndex(), idx -> indexMap.size());
+          periodIbor[periodIdx] = observationMap.computeIfAbsent(iborComputation.getObservation(), obs -> {
+            observationIndex.add(index);
+            return observationMap.size();
+          });
+        }
+        periodGearing[periodIdx] = accrualPeriod.getGearing();
+        periodSpread[periodIdx] = accrualPeriod.getSpread();
+        periodYearFraction[periodIdx] = accrualPeriod.getYearFraction();
+        periodNegativeRateMethod[periodIdx] = accrualPeriod.getNegativeRateMethod();
+        periodNotional[periodIdx] = ratePeriod.getNotional();
+        periodIdx++;
+      }
+      for (SwapPaymentEvent event : leg.getPaymentEvents()) {
+        NotionalExchange exchange = (NotionalExchange) event;
+        eventPaymentDate[eventIdx] = exchange.getPaymentDate();
+        eventDiscount[eventIdx] = discountMap.computeIfAbsent(
+            Pair.of(exchange.getCurrency(), exchange.getPaymentDate()), key -> discountMap.size());
+        eventAmount[eventIdx] = exchange.getPaymentAmount().getAmount();
+        eventIdx++;
+      }
+    }
+    legPeriodStart[legs.size()] = periodIdx;
+    legEventStart[legs.size()] = eventIdx;
+    this.currencies = new ArrayList<>(currencyMap.keySet());
+    this.discountLookups = new ArrayList<>(discountMap.keySet());
+    this.iborIndices = new ArrayList<>(indexMap.keySet());
+    this.iborObservations = new ArrayList<>(observationMap.keySet());
+    this.iborObservationIndex = observationIndex.stream().mapToInt(i -> i).toArray();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the present value of the swap for all scenarios.
+   * <p>
+   * The result contains the present value of each leg in its currency,
+   * with legs of the same currency summed.
+   *
+   * @param marketData  the market data for all scenarios
+   * @return the present value for each scenario
+   */
+  MultiCurrencyScenarioArray presentValue(RatesScenarioMarketData marketData) {
+    int scenarioCount = marketData.getScenarioCount();
+    double[][] values = new double[currencies.size()][scenarioCount];
+    ScenarioLookup lookup = new ScenarioLookup();
+    for (int scenarioIdx = 0; scenarioIdx < scenarioCount; scenarioIdx++) {
+      RatesProvider provider = marketData.scenario(scenarioIdx).ratesProvider();
+      lookup.reset(provider);
+      for (int legIdx = 0; legIdx < legCurrency.length; legIdx++) {
+        values[legCurrency[legIdx]][scenarioIdx] += legPresentValue(legIdx, provider.getValuationDate(), lookup);
+      }
+    }
+    Map<Currency, DoubleArray> amounts = new LinkedHashMap<>();
+    for (int i = 0; i < currencies.size(); i++) {
+      amounts.put(currencies.get(i), DoubleArray.ofUnsafe(values[i]));
+    }
+    return MultiCurrencyScenarioArray.of(amounts);
+  }
+
+  // calculates the present value of one leg for one scenario, matching the order of operations of the pricer
+  private double legPresentValue(int legIdx, LocalDate valuationDate, ScenarioLookup lookup) {
+    double periodTotal = 0d;
+    for (int i = legPeriodStart[legIdx]; i < legPeriodStart[legIdx + 1]; i++) {
+      if (!periodPaymentDate[i].isBefore(valuationDate)) {
+        double rawRate = periodIbor[i] < 0 ? periodFixedRate[i] : lookup.iborRate(periodIbor[i]);
+        double treatedRate = rawRate * periodGearing[i] + periodSpread[i];
+        double unitAccrual = periodNegativeRateMethod[i].adjust(treatedRate * periodYearFraction[i]);
+        periodTotal += unitAccrual * periodNotional[i] * lookup.discountFactor(periodDiscount[i]);
+      }
+    }
+    double eventTotal = 0d;
+    for (int i = legEventStart[legIdx]; i < legEventStart[legIdx + 1]; i++) {
+      if (!eventPaymentDate[i].isBefore(valuationDate)) {
+        eventTotal += eventAmount[i] * lookup.discountFactor(eventDiscount[i]);
+      }
+    }
+    return periodTotal + eventTotal;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The discount factors and Ibor rates of one scenario.
+   * <p>
+   * Each distinct lookup is performed at most once per scenario, when first needed.
+   * Lookups for payments in the past are never performed, matching the pricer.
+   */
+  private final class ScenarioLookup {
+
+    private final double[] discountFactors = new double[discountLookups.size()];
+    private final double[] iborRates = new double[iborObservations.size()];
+    private final IborIndexRates[] indexRates = new IborIndexRates[iborIndices.size()];
+    private final Map<Currency, DiscountFactors> discountCurves = new HashMap<>();
+    private RatesProvider provider;
+
+    // prepares for the next scenario
+    private void reset(RatesProvider provider) {
+      this.provider = provider;
+      Arrays.fill(discountFactors, Double.NaN);
+      Arrays.fill(iborRates, Double.NaN);
+      Arrays.fill(indexRates, null);
+      discountCurves.clear();
+    }
+
+    // the discount factor of the distinct lookup
+    private double discountFactor(int lookupIdx) {
+      double df = discountFactors[lookupIdx];
+      if (Double.isNaN(df)) {
+        Pair<Currency, LocalDate> lookup = discountLookups.get(lookupIdx);
+        DiscountFactors curve = discountCurves.computeIfAbsent(lookup.getFirst(), provider::discountFactors);
+        df = curve.discountFactor(lookup.getSecond());
+        discountFactors[lookupIdx] = df;
+      }
+      return df;
+    }
+
+    // the Ibor rate of the distinct observation
+    private double iborRate(int observationIdx) {
+      double rate = iborRates[observationIdx];
+      if (Double.isNaN(rate)) {
+        int index = iborObservationIndex[observationIdx];
+        if (indexRates[index] == null) {
+          indexRates[index] = provider.iborIndexRates(iborIndices.get(index));
+        }
+        rate = indexRates[index].rate(iborObservations.get(observationIdx));
+        iborRates[observationIdx] = rate;
+      }
+      return rate;
+    }
+  }
+
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.measure.curve;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
+import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.Executor;
+
+import org.testng.annotations.Test;
+
+import com.google.common.util.concurrent.MoreExecutors;
+
+/**
+ * Test {@link ScenarioCalibrationConfig}.
+ */
+@Test
+public class ScenarioCalibrationConfigTest {
+
+  private static final Executor EXECUTOR = MoreExecutors.directExecutor();
+
+  //-------------------------------------------------------------------------
+  public void test_serial() {
+    ScenarioCalibrationConfig test = ScenarioCalibrationConfig.serial();
+    assertThat(test.getExecutor()).isEmpty();
+    assertThat(test.getParallelism()).isEqualTo(1);
+    assertThat(test.isWarmStart()).isFalse();
+    assertThat(ScenarioCalibrationConfig.builder().build()).isEqualTo(test);
+  }
+
+  public void test_concurrent() {
+    ScenarioCalibrationConfig test = ScenarioCalibrationConfig.concurrent();
+    assertThat(test.getExecutor()).isEmpty();
+    assertThat(test.getParallelism()).isGreaterThanOrEqualTo(1);
+    assertThat(test.isWarmStart()).isTrue();
+  }
+
+  public void test_concurrent_executor() {
+    ScenarioCalibrationConfig test = ScenarioCalibrationConfig.concurrent(EXECUTOR, 4);
+    assertThat(test.getExecutor()).hasValue(EXECUTOR);
+    assertThat(test.getParallelism()).isEqualTo(4);
+    assertThat(test.isWarmStart()).isTrue();
+  }
+
+  public void test_concurrent_invalid() {
+    assertThrowsIllegalArg(() -> ScenarioCalibrationConfig.concurrent(null, 4));
+    assertThrowsIllegalArg(() -> ScenarioCalibrationConfig.concurrent(EXECUTOR, 0));
+  }
+
+  //-------------------------------------------------------------------------
+  public void coverage() {
+    coverImmutableBean(ScenarioCalibrationConfig.serial());
+    coverBeanEquals(ScenarioCalibrationConfig.serial(), ScenarioCalibrationConfig.concurrent(EXECUTOR, 2));
+  }
+
+}
@@ -8,15 +8,19 @@ package com.opengamma.strata.measure.rate;
 import static com.opengamma.strata.basics.date.DayCounts.ACT_360;
 import static com.opengamma.strata.collect.Guavate.casting;
 import static com.opengamma.strata.collect.Guavate.toImmutableList;
+import static com.opengamma.strata.collect.Guavate.toImmutableMap;
 import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
 import static com.opengamma.strata.collect.TestHelper.date;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.api.Assertions.offset;
 
 import java.time.LocalDate;
 import java.time.Period;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.testng.annotations.Test;
 
@@ -37,6 +41,7 @@ import com.opengamma.strata.data.FxRateId;
 import com.opengamma.strata.data.ImmutableMarketData;
 import com.opengamma.strata.data.MarketData;
 import com.opengamma.strata.data.MarketDataId;
+import com.opengamma.strata.data.MarketDataNotFoundException;
 import com.opengamma.strata.data.ObservableSource;
 import com.opengamma.strata.data.scenario.ImmutableScenarioMarketData;
 import com.opengamma.strata.data.scenario.MarketDataBox;
@@ -62,6 +67,7 @@ import com.opengamma.strata.market.curve.node.FxSwapCurveNode;
 import com.opengamma.strata.market.observable.IndexQuoteId;
 import com.opengamma.strata.market.observable.QuoteId;
 import com.opengamma.strata.market.param.ParameterMetadata;
+import com.opengamma.strata.measure.curve.ScenarioCalibrationConfig;
 import com.opengamma.strata.measure.curve.TestMarketDataMap;
 import com.opengamma.strata.pricer.curve.RatesCurveCalibrator;
 import com.opengamma.strata.pricer.fra.DiscountingFraTradePricer;
@@ -186,6 +192,91 @@ public class RatesCurveGroupMarketDataFunctionTest {
     checkSwapPvIsZero((FixedIborSwapCurveNode) nodes.get(4), ratesProvider, marketData);
   }
 
+  public void multipleScenarios() {
+    CurveGroupName groupName = CurveGroupName.of("Curve Group");
+    InterpolatedNodalCurveDefinition curveDefn = CurveTestUtils.fraSwapCurveDefinition();
+    CurveName curveName = curveDefn.getName();
+    List<CurveNode> nodes = curveDefn.getNodes();
+
+    RatesCurveGroupDefinition groupDefn = RatesCurveGroupDefinition.builder()
+        .name(groupName)
+        .addCurve(curveDefn, Currency.USD, IborIndices.USD_LIBOR_3M)
+        .build();
+
+    RatesCurveGroupMarketDataFunction function = new RatesCurveGroupMarketDataFunction();
+    LocalDate valuationDate = date(2011, 3, 8);
+    double[] rates = {0.0037, 0.0054, 0.005, 0.0087, 0.012};
+    int scenarioCount = 6;
+    ImmutableList.Builder<RatesCurveInputs> inputsBuilder = ImmutableList.builder();
+    for (int i = 0; i < scenarioCount; i++) {
+      ImmutableMap.Builder<MarketDataId<?>, Double> inputData = ImmutableMap.builder();
+      for (int j = 0; j < nodes.size(); j++) {
+        inputData.put(CurveTestUtils.key(nodes.get(j)), rates[j] + i * 0.0001);
+      }
+      inputsBuilder.add(RatesCurveInputs.of(inputData.build(), DefaultCurveMetadata.of(curveName)));
+    }
+    ScenarioMarketData inputMarketData = ImmutableScenarioMarketData.builder(valuationDate)
+        .addBox(
+            RatesCurveInputsId.of(groupName, curveName, ObservableSource.NONE),
+            MarketDataBox.ofScenarioValues(inputsBuilder.build()))
+        .build();
+
+    MarketDataBox<RatesCurveGroup> expected =
+        function.buildCurveGroup(groupDefn, CALIBRATOR, inputMarketData, REF_DATA, ObservableSource.NONE);
+    ExecutorService executor = Executors.newFixedThreadPool(3);
+    try {
+      List<ScenarioCalibrationConfig> configs = ImmutableList.of(
+          ScenarioCalibrationConfig.concurrent(executor, 3),
+          ScenarioCalibrationConfig.concurrent(),
+          ScenarioCalibrationConfig.builder().warmStart(true).build(),
+          ScenarioCalibrationConfig.builder().executor(executor).parallelism(4).build());
+      for (ScenarioCalibrationConfig config : configs) {
+        MarketDataBox<RatesCurveGroup> test = function.buildCurveGroup(
+            groupDefn, CALIBRATOR, inputMarketData, REF_DATA, ObservableSource.NONE, config);
+        assertThat(test.getScenarioCount()).isEqualTo(scenarioCount);
+        for (int i = 0; i < scenarioCount; i++) {
+          Curve expectedCurve = expected.getValue(i).findDiscountCurve(Currency.USD).get();
+          Curve testCurve = test.getValue(i).findDiscountCurve(Currency.USD).get();
+          for (int j = 0; j < expectedCurve.getParameterCount(); j++) {
+            assertThat(testCurve.getParameter(j)).isCloseTo(expectedCurve.getParameter(j), offset(1e-8));
+          }
+        }
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  public void multipleScenarios_failure() {
+    CurveGroupName groupName = CurveGroupName.of("Curve Group");
+    InterpolatedNodalCurveDefinition curveDefn = CurveTestUtils.fraSwapCurveDefinition();
+    CurveName curveName = curveDefn.getName();
+    List<CurveNode> nodes = curveDefn.getNodes();
+
+    RatesCurveGroupDefinition groupDefn = RatesCurveGroupDefinition.builder()
+        .name(groupName)
+        .addCurve(curveDefn, Currency.USD, IborIndices.USD_LIBOR_3M)
+        .build();
+
+    // the second scenario is missing a quote
+    Map<MarketDataId<?>, Double> inputData = ImmutableMap.of(CurveTestUtils.key(nodes.get(0)), 0.0037);
+    RatesCurveInputs goodInputs = RatesCurveInputs.of(
+        nodes.stream().collect(toImmutableMap(node -> CurveTestUtils.key(node), node -> 0.005)),
+        DefaultCurveMetadata.of(curveName));
+    RatesCurveInputs badInputs = RatesCurveInputs.of(inputData, DefaultCurveMetadata.of(curveName));
+    ScenarioMarketData inputMarketData = ImmutableScenarioMarketData.builder(date(2011, 3, 8))
+        .addBox(
+            RatesCurveInputsId.of(groupName, curveName, ObservableSource.NONE),
+            MarketDataBox.ofScenarioValues(goodInputs, badInputs, goodInputs))
+        .build();
+
+    RatesCurveGroupMarketDataFunction function = new RatesCurveGroupMarketDataFunction();
+    ScenarioCalibrationConfig config = ScenarioCalibrationConfig.concurrent();
+    assertThatThrownBy(() -> function.buildCurveGroup(
+        groupDefn, CALIBRATOR, inputMarketData, REF_DATA, ObservableSource.NONE, config))
+            .isInstanceOf(MarketDataNotFoundException.class);
+  }
+
   /**
    * Tests that par rates and ibor index are required for curves.
    */
@@ -0,0 +1,155 @@
+/*
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.measure.swap;
+
+import static com.opengamma.strata.basics.currency.Currency.GBP;
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.basics.date.DayCounts.ACT_360;
+import static com.opengamma.strata.basics.index.IborIndices.GBP_LIBOR_3M;
+import static com.opengamma.strata.basics.index.IborIndices.GBP_LIBOR_6M;
+import static com.opengamma.strata.basics.index.IborIndices.USD_LIBOR_3M;
+import static com.opengamma.strata.basics.index.OvernightIndices.GBP_SONIA;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
+import com.opengamma.strata.basics.date.Tenor;
+import com.opengamma.strata.basics.index.Index;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeriesBuilder;
+import com.opengamma.strata.data.scenario.ImmutableScenarioMarketData;
+import com.opengamma.strata.data.scenario.ImmutableScenarioMarketDataBuilder;
+import com.opengamma.strata.data.scenario.MultiCurrencyScenarioArray;
+import com.opengamma.strata.market.curve.Curve;
+import com.opengamma.strata.market.curve.CurveId;
+import com.opengamma.strata.market.curve.Curves;
+import com.opengamma.strata.market.curve.InterpolatedNodalCurve;
+import com.opengamma.strata.market.curve.interpolator.CurveInterpolators;
+import com.opengamma.strata.market.observable.IndexQuoteId;
+import com.opengamma.strata.measure.rate.RatesMarketDataLookup;
+import com.opengamma.strata.measure.rate.RatesScenarioMarketData;
+import com.opengamma.strata.pricer.swap.DiscountingSwapTradePricer;
+import com.opengamma.strata.product.common.BuySell;
+import com.opengamma.strata.product.swap.ResolvedSwapTrade;
+import com.opengamma.strata.product.swap.type.FixedIborSwapConventions;
+import com.opengamma.strata.product.swap.type.FixedOvernightSwapConventions;
+import com.opengamma.strata.product.swap.type.XCcyIborIborSwapConventions;
+
+/**
+ * Test {@link SwapScenarioPricer}.
+ */
+@Test
+public class SwapScenarioPricerTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final ResolvedSwapTrade TRADE = FixedIborSwapConventions.GBP_FIXED_6M_LIBOR_6M
+      .createTrade(date(2016, 6, 30), Tenor.TENOR_10Y, BuySell.BUY, 1_000_000, 0.01, REF_DATA)
+      .resolve(REF_DATA);
+  private static final ResolvedSwapTrade XCCY_TRADE = XCcyIborIborSwapConventions.GBP_LIBOR_3M_USD_LIBOR_3M
+      .createTrade(date(2016, 6, 30), Tenor.TENOR_5Y, BuySell.BUY, 1_000_000, 1_400_000, 0.001, REF_DATA)
+      .resolve(REF_DATA);
+  private static final List<Index> INDICES = ImmutableList.of(GBP_LIBOR_6M, GBP_LIBOR_3M, USD_LIBOR_3M, GBP_SONIA);
+  private static final CurveId GBP_DISCOUNT_CURVE_ID = CurveId.of("Default", "GBP-Discount");
+  private static final CurveId USD_DISCOUNT_CURVE_ID = CurveId.of("Default", "USD-Discount");
+  private static final CurveId FORWARD_CURVE_ID = CurveId.of("Default", "Forward");
+  private static final RatesMarketDataLookup RATES_LOOKUP = RatesMarketDataLookup.of(
+      ImmutableMap.of(GBP, GBP_DISCOUNT_CURVE_ID, USD, USD_DISCOUNT_CURVE_ID),
+      ImmutableMap.of(
+          GBP_LIBOR_6M, FORWARD_CURVE_ID,
+          GBP_LIBOR_3M, FORWARD_CURVE_ID,
+          USD_LIBOR_3M, FORWARD_CURVE_ID,
+          GBP_SONIA, FORWARD_CURVE_ID));
+  private static final int SCENARIO_COUNT = 5;
+
+  //-------------------------------------------------------------------------
+  public void test_presentValue_forwardStarting() {
+    RatesScenarioMarketData md = marketData(date(2016, 6, 23));
+    assertPresentValue(TRADE, md);
+  }
+
+  public void test_presentValue_seasoned() {
+    // some periods are in the past and the current period has fixed
+    RatesScenarioMarketData md = marketData(date(2018, 2, 14));
+    assertPresentValue(TRADE, md);
+  }
+
+  public void test_presentValue_crossCurrency() {
+    // the legs have notional exchanges and are priced in different currencies
+    assertPresentValue(XCCY_TRADE, marketData(date(2016, 6, 23)));
+    assertPresentValue(XCCY_TRADE, marketData(date(2018, 2, 14)));
+  }
+
+  public void test_unsupported() {
+    ResolvedSwapTrade trade = FixedOvernightSwapConventions.GBP_FIXED_1Y_SONIA_OIS
+        .createTrade(date(2016, 6, 30), Tenor.TENOR_2Y, BuySell.BUY, 1_000_000, 0.01, REF_DATA)
+        .resolve(REF_DATA);
+    assertThat(SwapScenarioPricer.of(trade.getProduct())).isEmpty();
+    // falls back to pricing each scenario
+    RatesScenarioMarketData md = marketData(date(2016, 6, 23));
+    assertThat(SwapMeasureCalculations.DEFAULT.presentValue(trade, md)).isEqualTo(
+        MultiCurrencyScenarioArray.of(md.getScenarioCount(), i -> DiscountingSwapTradePricer.DEFAULT
+            .presentValue(trade, md.scenario(i).ratesProvider())));
+  }
+
+  //-------------------------------------------------------------------------
+  // checks the present value matches that of the pricer for each scenario
+  private static void assertPresentValue(ResolvedSwapTrade trade, RatesScenarioMarketData md) {
+    DiscountingSwapTradePricer pricer = DiscountingSwapTradePricer.DEFAULT;
+    List<MultiCurrencyAmount> expected = new ArrayList<>();
+    for (int i = 0; i < md.getScenarioCount(); i++) {
+      expected.add(pricer.presentValue(trade, md.scenario(i).ratesProvider()));
+    }
+    MultiCurrencyScenarioArray test = SwapScenarioPricer.of(trade.getProduct()).get().presentValue(md);
+    assertThat(test).isEqualTo(MultiCurrencyScenarioArray.of(expected));
+    assertThat(SwapMeasureCalculations.DEFAULT.presentValue(trade, md)).isEqualTo(test);
+  }
+
+  // market data with different curves in each scenario
+  private static RatesScenarioMarketData marketData(LocalDate valuationDate) {
+    List<Curve> gbpDiscountCurves = new ArrayList<>();
+    List<Curve> usdDiscountCurves = new ArrayList<>();
+    List<Curve> forwardCurves = new ArrayList<>();
+    for (int i = 0; i < SCENARIO_COUNT; i++) {
+      double shift = i * 0.001;
+      gbpDiscountCurves.add(curve("GBP-Discount", shift));
+      usdDiscountCurves.add(curve("USD-Discount", 0.003 - shift));
+      forwardCurves.add(curve("Forward", 0.002 + 2 * shift));
+    }
+    LocalDateDoubleTimeSeriesBuilder fixings = LocalDateDoubleTimeSeries.builder();
+    for (LocalDate date = date(2016, 6, 1); date.isBefore(valuationDate); date = date.plusDays(1)) {
+      if (date.getDayOfWeek() != DayOfWeek.SATURDAY && date.getDayOfWeek() != DayOfWeek.SUNDAY) {
+        fixings.put(date, 0.005 + date.getDayOfYear() * 1e-5);
+      }
+    }
+    ImmutableScenarioMarketDataBuilder builder = ImmutableScenarioMarketData.builder(valuationDate)
+        .addScenarioValue(GBP_DISCOUNT_CURVE_ID, gbpDiscountCurves)
+        .addScenarioValue(USD_DISCOUNT_CURVE_ID, usdDiscountCurves)
+        .addScenarioValue(FORWARD_CURVE_ID, forwardCurves);
+    LocalDateDoubleTimeSeries series = fixings.build();
+    INDICES.forEach(index -> builder.addTimeSeries(IndexQuoteId.of(index), series));
+    return RATES_LOOKUP.marketDataView(builder.build());
+  }
+
+  private static Curve curve(String name, double shift) {
+    return InterpolatedNodalCurve.of(
+        Curves.zeroRates(name, ACT_360),
+        DoubleArray.of(0.25, 1, 2, 5, 10, 20),
+        DoubleArray.of(0.005, 0.007, 0.01, 0.015, 0.02, 0.022).plus(shift),
+        CurveInterpolators.LINEAR);
+  }
+
+}
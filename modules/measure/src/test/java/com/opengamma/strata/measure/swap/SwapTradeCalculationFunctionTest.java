@@ -25,6 +25,7 @@ import com.opengamma.strata.basics.index.IborIndex;
 import com.opengamma.strata.calc.Measure;
 import com.opengamma.strata.calc.runner.CalculationParameters;
 import com.opengamma.strata.calc.runner.FunctionRequirements;
+import com.opengamma.strata.calc.runner.ResolvedTargetCache;
 import com.opengamma.strata.collect.result.Result;
 import com.opengamma.strata.data.scenario.DoubleScenarioArray;
 import com.opengamma.strata.data.scenario.MultiCurrencyScenarioArray;
@@ -123,6 +124,17 @@ public class SwapTradeCalculationFunctionTest {
             Measures.RESOLVED_TARGET, Result.success(RTRADE));
   }
 
+  public void test_resolvedTargetCache() {
+    SwapTradeCalculationFunction function = new SwapTradeCalculationFunction();
+    ScenarioMarketData md = marketData();
+    CalculationParameters params = PARAMS.with(ResolvedTargetCache.of(10));
+    Set<Measure> measures = ImmutableSet.of(Measures.RESOLVED_TARGET);
+    Result<?> result1 = function.calculate(TRADE, measures, params, md, REF_DATA).get(Measures.RESOLVED_TARGET);
+    Result<?> result2 = function.calculate(TRADE, measures, params, md, REF_DATA).get(Measures.RESOLVED_TARGET);
+    assertThat(result1.getValue()).isEqualTo(RTRADE);
+    assertThat(result2.getValue()).isSameAs(result1.getValue());
+  }
+
   public void test_pv01() {
     SwapTradeCalculationFunction function = new SwapTradeCalculationFunction();
     ScenarioMarketData md = marketData();
@@ -447,6 +447,34 @@ public interface DiscountFactors
    */
   public abstract CurrencyParameterSensitivities parameterSensitivity(ZeroRateSensitivity pointSensitivity);
 
+  /**
+   * Calculates the parameter sensitivity from a set of point sensitivities to the zero rate.
+   * <p>
+   * This is used to convert many point sensitivities, all in the same currency, to parameter sensitivity.
+   * The result is the same as summing {@link #parameterSensitivity(ZeroRateSensitivity)} for each point,
+   * however implementations may accumulate the values without creating the intermediate objects.
+   * 
+   * @param sensitivityCurrency  the currency of the point sensitivities
+   * @param yearFractions  the year fraction of each point
+   * @param sensitivities  the sensitivity of each point, matching the year fractions
+   * @return the parameter sensitivity
+   * @throws RuntimeException if the result cannot be calculated
+   */
+  public default CurrencyParameterSensitivities parameterSensitivity(
+      Currency sensitivityCurrency,
+      DoubleArray yearFractions,
+      DoubleArray sensitivities) {
+
+    ArgChecker.isTrue(yearFractions.size() == sensitivities.size(), "Arrays must be the same size");
+    CurrencyParameterSensitivities result = CurrencyParameterSensitivities.empty();
+    for (int i = 0; i < yearFractions.size(); i++) {
+      ZeroRateSensitivity point =
+          ZeroRateSensitivity.of(getCurrency(), yearFractions.get(i), sensitivityCurrency, sensitivities.get(i));
+      result = result.combinedWith(parameterSensitivity(point));
+    }
+    return result;
+  }
+
   /**
    * Creates the parameter sensitivity when the sensitivity values are known.
    * <p>
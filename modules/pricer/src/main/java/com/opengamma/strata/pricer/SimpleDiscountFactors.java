@@ -203,6 +203,31 @@ public final class SimpleDiscountFactors
     return CurrencyParameterSensitivities.of(curSens);
   }
 
+  @Override
+  public CurrencyParameterSensitivities parameterSensitivity(
+      Currency sensitivityCurrency,
+      DoubleArray yearFractions,
+      DoubleArray sensitivities) {
+
+    ArgChecker.isTrue(yearFractions.size() == sensitivities.size(), "Arrays must be the same size");
+    double[] weights = new double[yearFractions.size()];
+    boolean hasSensitivity = false;
+    for (int i = 0; i < yearFractions.size(); i++) {
+      double yearFraction = yearFractions.get(i);
+      // Discount factor in 0 is always 1, no sensitivity.
+      if (Math.abs(yearFraction) >= EFFECTIVE_ZERO) {
+        weights[i] = sensitivities.get(i) * -1d / (yearFraction * discountFactor(yearFraction));
+        hasSensitivity = true;
+      }
+    }
+    if (!hasSensitivity) {
+      return CurrencyParameterSensitivities.empty();
+    }
+    return CurrencyParameterSensitivities.of(
+        curve.yValuesParameterSensitivity(yearFractions, DoubleArray.ofUnsafe(weights))
+            .multipliedBy(sensitivityCurrency, 1d));
+  }
+
   @Override
   public CurrencyParameterSensitivities createParameterSensitivity(Currency currency, DoubleArray sensitivities) {
     return CurrencyParameterSensitivities.of(curve.createParameterSensitivity(currency, sensitivities));
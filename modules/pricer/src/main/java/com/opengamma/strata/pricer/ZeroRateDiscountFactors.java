@@ -191,6 +191,20 @@ public final class ZeroRateDiscountFactors
     return CurrencyParameterSensitivities.of(curSens);
   }
 
+  @Override
+  public CurrencyParameterSensitivities parameterSensitivity(
+      Currency sensitivityCurrency,
+      DoubleArray yearFractions,
+      DoubleArray sensitivities) {
+
+    ArgChecker.isTrue(yearFractions.size() == sensitivities.size(), "Arrays must be the same size");
+    if (yearFractions.isEmpty()) {
+      return CurrencyParameterSensitivities.empty();
+    }
+    return CurrencyParameterSensitivities.of(
+        curve.yValuesParameterSensitivity(yearFractions, sensitivities).multipliedBy(sensitivityCurrency, 1d));
+  }
+
   @Override
   public CurrencyParameterSensitivities createParameterSensitivity(Currency currency, DoubleArray sensitivities) {
     return CurrencyParameterSensitivities.of(curve.createParameterSensitivity(currency, sensitivities));
@@ -233,6 +233,22 @@ public final class ZeroRatePeriodicDiscountFactors
     return CurrencyParameterSensitivities.of(curSens);
   }
 
+  @Override
+  public CurrencyParameterSensitivities parameterSensitivity(
+      Currency sensitivityCurrency,
+      DoubleArray yearFractions,
+      DoubleArray sensitivities) {
+
+    ArgChecker.isTrue(yearFractions.size() == sensitivities.size(), "Arrays must be the same size");
+    if (yearFractions.isEmpty()) {
+      return CurrencyParameterSensitivities.empty();
+    }
+    DoubleArray rp = curve.yValues(yearFractions);
+    DoubleArray weights = sensitivities.mapWithIndex((i, sensitivity) -> sensitivity / (1 + rp.get(i) / frequency));
+    return CurrencyParameterSensitivities.of(
+        curve.yValuesParameterSensitivity(yearFractions, weights).multipliedBy(sensitivityCurrency, 1d));
+  }
+
   @Override
   public CurrencyParameterSensitivities createParameterSensitivity(Currency currency, DoubleArray sensitivities) {
     return CurrencyParameterSensitivities.of(curve.createParameterSensitivity(currency, sensitivities));
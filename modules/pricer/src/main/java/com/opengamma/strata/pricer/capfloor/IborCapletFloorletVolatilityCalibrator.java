@@ -12,11 +12,15 @@ import static com.opengamma.strata.market.ValueType.STRIKE;
 import java.time.LocalDate;
 import java.time.ZonedDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Function;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.index.IborIndex;
 import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.ParallelEvaluator;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.market.surface.ConstantSurface;
 import com.opengamma.strata.market.surface.Surface;
@@ -40,6 +44,10 @@ abstract class IborCapletFloorletVolatilityCalibrator {
    * The reference data.
    */
   private final ReferenceData referenceData;
+  /**
+   * The evaluator used to calibrate several definitions and to price the caps, optionally in parallel.
+   */
+  private final ParallelEvaluator evaluator;
 
   /**
    * Constructor with cap pricer and reference data.
@@ -48,8 +56,24 @@ abstract class IborCapletFloorletVolatilityCalibrator {
    * @param referenceData  the reference data
    */
   public IborCapletFloorletVolatilityCalibrator(VolatilityIborCapFloorLegPricer pricer, ReferenceData referenceData) {
+    this(pricer, referenceData, ParallelEvaluator.SERIAL);
+  }
+
+  /**
+   * Constructor with cap pricer, reference data and evaluator.
+   * 
+   * @param pricer  the cap pricer
+   * @param referenceData  the reference data
+   * @param evaluator  the evaluator
+   */
+  protected IborCapletFloorletVolatilityCalibrator(
+      VolatilityIborCapFloorLegPricer pricer,
+      ReferenceData referenceData,
+      ParallelEvaluator evaluator) {
+
     this.pricer = ArgChecker.notNull(pricer, "pricer");
     this.referenceData = ArgChecker.notNull(referenceData, "referenceData");
+    this.evaluator = ArgChecker.notNull(evaluator, "evaluator");
   }
 
   /**
@@ -67,6 +91,74 @@ abstract class IborCapletFloorletVolatilityCalibrator {
       RawOptionData capFloorData,
       RatesProvider ratesProvider);
 
+  /**
+   * Recalibrates caplet volatilities to cap volatilities, starting from a previous calibration.
+   * <p>
+   * This is used when the cap data has changed since the previous calibration, typically when
+   * only a subset of the cap quotes has moved. If the cap data is unchanged, the previous result is returned.
+   * Otherwise, this implementation performs a full calibration. Subclasses may reuse the previous
+   * result to reduce the work, for example by skipping the bootstrap steps whose cap data is unchanged.
+   * <p>
+   * The previous result must have been calibrated by this calibrator with the same definition,
+   * calibration time and rates provider.
+   * 
+   * @param definition  the caplet volatility definition
+   * @param calibrationDateTime  the calibration time
+   * @param capFloorData  the cap data
+   * @param ratesProvider  the rates provider
+   * @param previousCapFloorData  the cap data of the previous calibration
+   * @param previousResult  the previous calibration result
+   * @return the calibration result
+   */
+  public IborCapletFloorletVolatilityCalibrationResult recalibrate(
+      IborCapletFloorletVolatilityDefinition definition,
+      ZonedDateTime calibrationDateTime,
+      RawOptionData capFloorData,
+      RatesProvider ratesProvider,
+      RawOptionData previousCapFloorData,
+      IborCapletFloorletVolatilityCalibrationResult previousResult) {
+
+    ArgChecker.notNull(previousCapFloorData, "previousCapFloorData");
+    ArgChecker.notNull(previousResult, "previousResult");
+    if (capFloorData.equals(previousCapFloorData)) {
+      return previousResult;
+    }
+    return calibrate(definition, calibrationDateTime, capFloorData, ratesProvider);
+  }
+
+  /**
+   * Calibrates caplet volatilities to cap volatilities for several definitions.
+   * <p>
+   * This is typically used to calibrate the caplet volatilities of several indices or currencies at once.
+   * When parallelism is enabled, the definitions are calibrated in parallel.
+   * The names of the definitions must be unique.
+   * 
+   * @param capFloorData  the cap data, keyed by caplet volatility definition
+   * @param calibrationDateTime  the calibration time
+   * @param ratesProvider  the rates provider
+   * @return the calibration results, keyed by volatilities name
+   * @throws IllegalArgumentException if the names of the definitions are not unique
+   */
+  public ImmutableMap<IborCapletFloorletVolatilitiesName, IborCapletFloorletVolatilityCalibrationResult> calibrateAll(
+      Map<? extends IborCapletFloorletVolatilityDefinition, RawOptionData> capFloorData,
+      ZonedDateTime calibrationDateTime,
+      RatesProvider ratesProvider) {
+
+    List<IborCapletFloorletVolatilityDefinition> definitions = ImmutableList.copyOf(capFloorData.keySet());
+    ArgChecker.isTrue(
+        definitions.stream().map(IborCapletFloorletVolatilityDefinition::getName).distinct().count() == definitions.size(),
+        "caplet volatility definitions must have unique names");
+    List<IborCapletFloorletVolatilityCalibrationResult> results = evaluator.objects(
+        definitions.size(),
+        i -> calibrate(definitions.get(i), calibrationDateTime, capFloorData.get(definitions.get(i)), ratesProvider));
+    ImmutableMap.Builder<IborCapletFloorletVolatilitiesName, IborCapletFloorletVolatilityCalibrationResult> builder =
+        ImmutableMap.builder();
+    for (int i = 0; i < definitions.size(); i++) {
+      builder.put(definitions.get(i).getName(), results.get(i));
+    }
+    return builder.build();
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Gets the reference data.
@@ -86,6 +178,15 @@ abstract class IborCapletFloorletVolatilityCalibrator {
     return pricer;
   }
 
+  /**
+   * Gets the evaluator.
+   * 
+   * @return the evaluator
+   */
+  protected ParallelEvaluator getEvaluator() {
+    return evaluator;
+  }
+
   //-------------------------------------------------------------------------
   // create complete lists of caps, volatilities, strikes, expiries
   protected void reduceRawData(
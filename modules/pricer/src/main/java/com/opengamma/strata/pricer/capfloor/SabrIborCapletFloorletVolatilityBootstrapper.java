@@ -14,6 +14,8 @@ import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.BitSet;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -21,6 +23,7 @@ import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.index.IborIndex;
 import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.ParallelEvaluator;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.market.ValueType;
@@ -111,7 +114,8 @@ public class SabrIborCapletFloorletVolatilityBootstrapper extends IborCapletFloo
       ReferenceData referenceData) {
 
     NonLinearLeastSquare solver = new NonLinearLeastSquare(SV_COMMONS, OG_ALGEBRA, epsilon);
-    return new SabrIborCapletFloorletVolatilityBootstrapper(pricer, sabrPeriodPricer, solver, referenceData);
+    return new SabrIborCapletFloorletVolatilityBootstrapper(
+        pricer, sabrPeriodPricer, solver, referenceData, ParallelEvaluator.SERIAL);
   }
 
   // private constructor
@@ -119,13 +123,46 @@ public class SabrIborCapletFloorletVolatilityBootstrapper extends IborCapletFloo
       VolatilityIborCapFloorLegPricer pricer,
       SabrIborCapletFloorletPeriodPricer sabrPeriodPricer,
       NonLinearLeastSquare solver,
-      ReferenceData referenceData) {
+      ReferenceData referenceData,
+      ParallelEvaluator evaluator) {
 
-    super(pricer, referenceData);
+    super(pricer, referenceData, evaluator);
     this.sabrPeriodPricer = ArgChecker.notNull(sabrPeriodPricer, "sabrPeriodPricer");
     this.solver = ArgChecker.notNull(solver, "solver");
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Returns a bootstrapper that prices the caps in parallel using the common fork-join pool.
+   * <p>
+   * The cap prices and the rows of the Jacobian of each bootstrap step are calculated in parallel,
+   * as are the definitions passed to {@link #calibrateAll}. The bootstrap steps remain sequential.
+   * A parallelism of one means that the caps are priced one at a time on the calling thread.
+   *
+   * @param parallelism  the maximum number of caps that are priced at the same time
+   * @return a bootstrapper that prices the caps in parallel
+   */
+  public SabrIborCapletFloorletVolatilityBootstrapper withParallelism(int parallelism) {
+    return withParallelism(ForkJoinPool.commonPool(), parallelism);
+  }
+
+  /**
+   * Returns a bootstrapper that prices the caps in parallel using the specified executor.
+   * <p>
+   * The cap prices and the rows of the Jacobian of each bootstrap step are calculated in parallel,
+   * as are the definitions passed to {@link #calibrateAll}. The bootstrap steps remain sequential.
+   * The calling thread takes part in the pricing, see {@link ParallelEvaluator}.
+   * It is the caller's responsibility to manage the life-cycle of the executor.
+   *
+   * @param executor  the executor used to price the caps
+   * @param parallelism  the maximum number of caps that are priced at the same time
+   * @return a bootstrapper that prices the caps in parallel
+   */
+  public SabrIborCapletFloorletVolatilityBootstrapper withParallelism(Executor executor, int parallelism) {
+    return new SabrIborCapletFloorletVolatilityBootstrapper(
+        getLegPricer(), sabrPeriodPricer, solver, getReferenceData(), ParallelEvaluator.of(executor, parallelism));
+  }
+
   //-------------------------------------------------------------------------
   @Override
   public IborCapletFloorletVolatilityCalibrationResult calibrate(
@@ -134,6 +171,87 @@ public class SabrIborCapletFloorletVolatilityBootstrapper extends IborCapletFloo
       RawOptionData capFloorData,
       RatesProvider ratesProvider) {
 
+    return calibrate(definition, calibrationDateTime, capFloorData, ratesProvider, null, 0);
+  }
+
+  /**
+   * Recalibrates caplet volatilities to cap volatilities, reusing a previous calibration.
+   * <p>
+   * The bootstrap step of an expiry only depends on the cap data of that expiry and of the shorter expiries.
+   * Thus the steps preceding the first expiry whose cap data has changed are not solved again,
+   * the previously calibrated SABR parameters are used instead. The bootstrap is then resumed
+   * from the first changed expiry. If the cap data is unchanged, the previous result is returned.
+   * <p>
+   * If the expiries, strikes or value types of the cap data differ from the previous cap data,
+   * a full calibration is performed.
+   * The previous result must have been calibrated by this bootstrapper with the same definition,
+   * calibration time and rates provider.
+   * 
+   * @param definition  the caplet volatility definition
+   * @param calibrationDateTime  the calibration time
+   * @param capFloorData  the cap data
+   * @param ratesProvider  the rates provider
+   * @param previousCapFloorData  the cap data of the previous calibration
+   * @param previousResult  the previous calibration result
+   * @return the calibration result
+   */
+  @Override
+  public IborCapletFloorletVolatilityCalibrationResult recalibrate(
+      IborCapletFloorletVolatilityDefinition definition,
+      ZonedDateTime calibrationDateTime,
+      RawOptionData capFloorData,
+      RatesProvider ratesProvider,
+      RawOptionData previousCapFloorData,
+      IborCapletFloorletVolatilityCalibrationResult previousResult) {
+
+    ArgChecker.notNull(previousCapFloorData, "previousCapFloorData");
+    ArgChecker.notNull(previousResult, "previousResult");
+    ArgChecker.isTrue(previousResult.getVolatilities() instanceof SabrParametersIborCapletFloorletVolatilities,
+        "previousResult should contain SabrParametersIborCapletFloorletVolatilities");
+    int firstChanged = firstChangedExpiry(capFloorData, previousCapFloorData);
+    if (firstChanged == capFloorData.getExpiries().size()) {
+      return previousResult;
+    }
+    SabrParametersIborCapletFloorletVolatilities previousVols =
+        (SabrParametersIborCapletFloorletVolatilities) previousResult.getVolatilities();
+    int nExpiries = capFloorData.getExpiries().size();
+    ArgChecker.isTrue(previousVols.getParameters().getAlphaCurve().getParameterCount() == nExpiries,
+        "previousResult should be calibrated with the same definition");
+    return calibrate(
+        definition, calibrationDateTime, capFloorData, ratesProvider, previousVols.getParameters(), firstChanged);
+  }
+
+  // the index of the first expiry whose data has changed, the number of expiries if unchanged
+  private static int firstChangedExpiry(RawOptionData capFloorData, RawOptionData previousCapFloorData) {
+    if (!capFloorData.getExpiries().equals(previousCapFloorData.getExpiries()) ||
+        !capFloorData.getStrikes().equals(previousCapFloorData.getStrikes()) ||
+        !capFloorData.getStrikeType().equals(previousCapFloorData.getStrikeType()) ||
+        !capFloorData.getDataType().equals(previousCapFloorData.getDataType()) ||
+        !capFloorData.getShift().equals(previousCapFloorData.getShift())) {
+      return 0;
+    }
+    int nExpiries = capFloorData.getExpiries().size();
+    int nStrikes = capFloorData.getStrikes().size();
+    DoubleMatrix errors = capFloorData.getError().orElse(DoubleMatrix.filled(nExpiries, nStrikes, 1d));
+    DoubleMatrix previousErrors = previousCapFloorData.getError().orElse(DoubleMatrix.filled(nExpiries, nStrikes, 1d));
+    for (int i = 0; i < nExpiries; ++i) {
+      if (!capFloorData.getData().row(i).equals(previousCapFloorData.getData().row(i)) ||
+          !errors.row(i).equals(previousErrors.row(i))) {
+        return i;
+      }
+    }
+    return nExpiries;
+  }
+
+  // calibrates, reusing the previous parameters for the expiries before firstChanged
+  private IborCapletFloorletVolatilityCalibrationResult calibrate(
+      IborCapletFloorletVolatilityDefinition definition,
+      ZonedDateTime calibrationDateTime,
+      RawOptionData capFloorData,
+      RatesProvider ratesProvider,
+      SabrParameters previousParameters,
+      int firstChanged) {
+
     ArgChecker.isTrue(ratesProvider.getValuationDate().equals(calibrationDateTime.toLocalDate()),
         "valuationDate of ratesProvider should be coherent to calibrationDateTime");
     ArgChecker.isTrue(definition instanceof SabrIborCapletFloorletVolatilityBootstrapDefinition,
@@ -219,6 +337,28 @@ public class SabrIborCapletFloorletVolatilityBootstrapper extends IborCapletFloo
     double totalChiSq = 0d;
     ZonedDateTime prevExpiry = calibrationDateTime.minusDays(1L); // included if calibrationDateTime == fixingDateTime
     for (int i = 0; i < nExpiries; ++i) {
+      if (i < firstChanged) {
+        // reuse the previous parameters, the chi-square of the step is evaluated at these parameters
+        int currentStart = startIndex[i];
+        int nCaplets = startIndex[i + 1] - currentStart;
+        DoubleArray params = DoubleArray.of(
+            previousParameters.getAlphaCurve().getParameter(i),
+            betaFix ? 0d : previousParameters.getBetaCurve().getParameter(i),
+            betaFix ? previousParameters.getRhoCurve().getParameter(i) : 0d,
+            previousParameters.getNuCurve().getParameter(i));
+        DoubleArray adjustedPrices =
+            adjustedPrices(ratesProvider, vols, prevExpiry, capList, priceList, startIndex, i, nCaplets);
+        DoubleArray values = createPriceFunction(
+            ratesProvider, vols, prevExpiry, capList, priceList, startIndex, nExpiries, i, nCaplets, betaFix)
+            .apply(params);
+        for (int n = 0; n < nCaplets; ++n) {
+          double residual = (adjustedPrices.get(n) - values.get(n)) / errorList.get(currentStart + n);
+          totalChiSq += residual * residual;
+        }
+        vols = updateParameters(vols, nExpiries, i, betaFix, params);
+        prevExpiry = capList.get(startIndex[i + 1] - 1).getFinalFixingDateTime();
+        continue;
+      }
       DoubleArray start = computeInitialValues(
           ratesProvider, betaCurve, shiftCurve, timeList, volList, capList, startIndex, i, betaFix, capFloorData.getDataType());
       UncoupledParameterTransforms transform = new UncoupledParameterTransforms(start, TRANSFORMS, fixed);
@@ -291,7 +431,7 @@ public class SabrIborCapletFloorletVolatilityBootstrapper extends IborCapletFloo
       @Override
       public DoubleArray apply(DoubleArray x) {
         SabrParametersIborCapletFloorletVolatilities volsNew = updateParameters(volatilities, nExpiries, timeIndex, betaFixed, x);
-        return DoubleArray.of(nCaplets,
+        return getEvaluator().values(nCaplets,
             n -> capList.get(currentStart + n).getCapletFloorletPeriods().stream()
                 .filter(p -> p.getFixingDateTime().isAfter(prevExpiry))
                 .mapToDouble(p -> sabrPeriodPricer.presentValue(p, ratesProvider, volsNew).getAmount())
@@ -324,8 +464,7 @@ public class SabrIborCapletFloorletVolatilityBootstrapper extends IborCapletFloo
       @Override
       public DoubleMatrix apply(DoubleArray x) {
         SabrParametersIborCapletFloorletVolatilities volsNew = updateParameters(volatilities, nExpiries, timeIndex, betaFixed, x);
-        double[][] jacobian = new double[nCaplets][4];
-        for (int i = 0; i < nCaplets; ++i) {
+        return getEvaluator().rows(nCaplets, 4, i -> {
           PointSensitivities point = capList.get(currentStart + i).getCapletFloorletPeriods().stream()
               .filter(p -> p.getFixingDateTime().isAfter(prevExpiry))
               .map(p -> sabrPeriodPricer.presentValueSensitivityModelParamsSabr(p, ratesProvider, volsNew))
@@ -334,19 +473,16 @@ public class SabrIborCapletFloorletVolatilityBootstrapper extends IborCapletFloo
               .build();
           double targetPrice = priceList.get(currentStart + i);
           CurrencyParameterSensitivities sensi = volsNew.parameterSensitivity(point);
-          jacobian[i][0] = sensi.getSensitivity(alphaCurve.getName(), currency).getSensitivity().get(timeIndex) / targetPrice;
+          double[] row = new double[4];
+          row[0] = sensi.getSensitivity(alphaCurve.getName(), currency).getSensitivity().get(timeIndex) / targetPrice;
           if (betaFixed) {
-            jacobian[i][1] = 0d;
-            jacobian[i][2] = sensi.getSensitivity(rhoCurve.getName(), currency).getSensitivity().get(timeIndex) / targetPrice;
-
+            row[2] = sensi.getSensitivity(rhoCurve.getName(), currency).getSensitivity().get(timeIndex) / targetPrice;
           } else {
-            jacobian[i][1] = sensi.getSensitivity(betaCurve.getName(), currency).getSensitivity().get(timeIndex) / targetPrice;
-            jacobian[i][2] = 0d;
-
+            row[1] = sensi.getSensitivity(betaCurve.getName(), currency).getSensitivity().get(timeIndex) / targetPrice;
           }
-          jacobian[i][3] = sensi.getSensitivity(nuCurve.getName(), currency).getSensitivity().get(timeIndex) / targetPrice;
-        }
-        return DoubleMatrix.ofUnsafe(jacobian);
+          row[3] = sensi.getSensitivity(nuCurve.getName(), currency).getSensitivity().get(timeIndex) / targetPrice;
+          return DoubleArray.ofUnsafe(row);
+        });
       }
     };
     return jacobianFunction;
@@ -388,7 +524,7 @@ public class SabrIborCapletFloorletVolatilityBootstrapper extends IborCapletFloo
       return DoubleArray.filled(nCaplets, 1d);
     }
     int currentStart = startIndex[timeIndex];
-    return DoubleArray.of(nCaplets,
+    return getEvaluator().values(nCaplets,
         n -> (priceList.get(currentStart + n) - capList.get(currentStart + n).getCapletFloorletPeriods().stream()
             .filter(p -> !p.getFixingDateTime().isAfter(prevExpiry))
             .mapToDouble(p -> sabrPeriodPricer.presentValue(p, ratesProvider, vols).getAmount())
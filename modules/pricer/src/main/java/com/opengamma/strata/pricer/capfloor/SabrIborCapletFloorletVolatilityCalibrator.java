@@ -14,6 +14,8 @@ import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.BitSet;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Function;
 
 import com.google.common.collect.ImmutableList;
@@ -21,6 +23,7 @@ import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.index.IborIndex;
 import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.ParallelEvaluator;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.market.curve.Curve;
@@ -110,7 +113,8 @@ public class SabrIborCapletFloorletVolatilityCalibrator
       ReferenceData referenceData) {
 
     NonLinearLeastSquare solver = new NonLinearLeastSquare(SV_COMMONS, OG_ALGEBRA, epsilon);
-    return new SabrIborCapletFloorletVolatilityCalibrator(pricer, sabrPricer, solver, referenceData);
+    return new SabrIborCapletFloorletVolatilityCalibrator(
+        pricer, sabrPricer, solver, referenceData, ParallelEvaluator.SERIAL);
   }
 
   // private constructor
@@ -118,13 +122,46 @@ public class SabrIborCapletFloorletVolatilityCalibrator
       VolatilityIborCapFloorLegPricer pricer,
       SabrIborCapFloorLegPricer sabrPricer,
       NonLinearLeastSquare solver,
-      ReferenceData referenceData) {
+      ReferenceData referenceData,
+      ParallelEvaluator evaluator) {
 
-    super(pricer, referenceData);
+    super(pricer, referenceData, evaluator);
     this.sabrPricer = ArgChecker.notNull(sabrPricer, "sabrPricer");
     this.solver = ArgChecker.notNull(solver, "solver");
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Returns a calibrator that prices the caps in parallel using the common fork-join pool.
+   * <p>
+   * The cap prices and the rows of the Jacobian are calculated in parallel, as are the
+   * definitions passed to {@link #calibrateAll}. The least square solver itself is unchanged.
+   * A parallelism of one means that the caps are priced one at a time on the calling thread.
+   *
+   * @param parallelism  the maximum number of caps that are priced at the same time
+   * @return a calibrator that prices the caps in parallel
+   */
+  public SabrIborCapletFloorletVolatilityCalibrator withParallelism(int parallelism) {
+    return withParallelism(ForkJoinPool.commonPool(), parallelism);
+  }
+
+  /**
+   * Returns a calibrator that prices the caps in parallel using the specified executor.
+   * <p>
+   * The cap prices and the rows of the Jacobian are calculated in parallel, as are the
+   * definitions passed to {@link #calibrateAll}. The least square solver itself is unchanged.
+   * The calling thread takes part in the pricing, see {@link ParallelEvaluator}.
+   * It is the caller's responsibility to manage the life-cycle of the executor.
+   *
+   * @param executor  the executor used to price the caps
+   * @param parallelism  the maximum number of caps that are priced at the same time
+   * @return a calibrator that prices the caps in parallel
+   */
+  public SabrIborCapletFloorletVolatilityCalibrator withParallelism(Executor executor, int parallelism) {
+    return new SabrIborCapletFloorletVolatilityCalibrator(
+        getLegPricer(), sabrPricer, solver, getReferenceData(), ParallelEvaluator.of(executor, parallelism));
+  }
+
   //-------------------------------------------------------------------------
   @Override
   public IborCapletFloorletVolatilityCalibrationResult calibrate(
@@ -133,6 +170,57 @@ public class SabrIborCapletFloorletVolatilityCalibrator
       RawOptionData capFloorData,
       RatesProvider ratesProvider) {
 
+    return calibrate(definition, calibrationDateTime, capFloorData, ratesProvider, null);
+  }
+
+  /**
+   * Recalibrates caplet volatilities to cap volatilities, starting from a previous calibration.
+   * <p>
+   * If the cap data is unchanged, the previous result is returned.
+   * Otherwise, the least square fit is started from the previously calibrated SABR parameters
+   * rather than the initial parameters of the definition. When only a subset of the cap quotes
+   * has changed, the fit typically converges in a few iterations.
+   * <p>
+   * The previous result must have been calibrated by this calibrator with the same definition,
+   * calibration time and rates provider.
+   * 
+   * @param definition  the caplet volatility definition
+   * @param calibrationDateTime  the calibration time
+   * @param capFloorData  the cap data
+   * @param ratesProvider  the rates provider
+   * @param previousCapFloorData  the cap data of the previous calibration
+   * @param previousResult  the previous calibration result
+   * @return the calibration result
+   */
+  @Override
+  public IborCapletFloorletVolatilityCalibrationResult recalibrate(
+      IborCapletFloorletVolatilityDefinition definition,
+      ZonedDateTime calibrationDateTime,
+      RawOptionData capFloorData,
+      RatesProvider ratesProvider,
+      RawOptionData previousCapFloorData,
+      IborCapletFloorletVolatilityCalibrationResult previousResult) {
+
+    ArgChecker.notNull(previousCapFloorData, "previousCapFloorData");
+    ArgChecker.notNull(previousResult, "previousResult");
+    ArgChecker.isTrue(previousResult.getVolatilities() instanceof SabrParametersIborCapletFloorletVolatilities,
+        "previousResult should contain SabrParametersIborCapletFloorletVolatilities");
+    if (capFloorData.equals(previousCapFloorData)) {
+      return previousResult;
+    }
+    SabrParametersIborCapletFloorletVolatilities previousVols =
+        (SabrParametersIborCapletFloorletVolatilities) previousResult.getVolatilities();
+    return calibrate(definition, calibrationDateTime, capFloorData, ratesProvider, previousVols.getParameters());
+  }
+
+  // calibrates, starting from the previous parameters if not null
+  private IborCapletFloorletVolatilityCalibrationResult calibrate(
+      IborCapletFloorletVolatilityDefinition definition,
+      ZonedDateTime calibrationDateTime,
+      RawOptionData capFloorData,
+      RatesProvider ratesProvider,
+      SabrParameters previousParameters) {
+
     ArgChecker.isTrue(ratesProvider.getValuationDate().equals(calibrationDateTime.toLocalDate()),
         "valuationDate of ratesProvider should be coherent to calibrationDateTime");
     ArgChecker.isTrue(definition instanceof SabrIborCapletFloorletVolatilityCalibrationDefinition,
@@ -170,6 +258,9 @@ public class SabrIborCapletFloorletVolatilityCalibrator
     // create initial caplet vol surface
     List<CurveMetadata> metadataList = sabrDefinition.createSabrParameterMetadata();
     DoubleArray initialValues = sabrDefinition.createFullInitialValues();
+    if (previousParameters != null) {
+      initialValues = previousValues(sabrDefinition, previousParameters, initialValues.size());
+    }
     List<Curve> curveList = sabrDefinition.createSabrParameterCurve(metadataList, initialValues);
     SabrParameters sabrParamsInitial = SabrParameters.of(
         curveList.get(0),
@@ -186,7 +277,7 @@ public class SabrIborCapletFloorletVolatilityCalibrator
     Function<DoubleArray, DoubleArray> valueFunction = createPriceFunction(
         sabrDefinition, ratesProvider, vols, capList, priceList);
     Function<DoubleArray, DoubleMatrix> jacobianFunction = createJacobianFunction(
-        sabrDefinition, ratesProvider, vols, capList, priceList, index.getCurrency());
+        sabrDefinition, ratesProvider, vols, capList, priceList, index.getCurrency(), initialValues.size());
     NonLinearTransformFunction transFunc = new NonLinearTransformFunction(valueFunction, jacobianFunction, transform);
     LeastSquareResults res = solver.solve(
         DoubleArray.filled(priceList.size(), 1d),
@@ -212,7 +303,7 @@ public class SabrIborCapletFloorletVolatilityCalibrator
       @Override
       public DoubleArray apply(DoubleArray x) {
         SabrParametersIborCapletFloorletVolatilities volsNew = updateParameters(sabrDefinition, volatilities, x);
-        return DoubleArray.of(capList.size(),
+        return getEvaluator().values(capList.size(),
             n -> sabrPricer.presentValue(capList.get(n), ratesProvider, volsNew).getAmount() / priceList.get(n));
       }
     };
@@ -226,7 +317,8 @@ public class SabrIborCapletFloorletVolatilityCalibrator
       SabrParametersIborCapletFloorletVolatilities volatilities,
       List<ResolvedIborCapFloorLeg> capList,
       List<Double> priceList,
-      Currency currency) {
+      Currency currency,
+      int nParams) {
 
     int nCaps = capList.size();
     SabrParameters sabrParams = volatilities.getParameters();
@@ -238,8 +330,7 @@ public class SabrIborCapletFloorletVolatilityCalibrator
       @Override
       public DoubleMatrix apply(DoubleArray x) {
         SabrParametersIborCapletFloorletVolatilities volsNew = updateParameters(sabrDefinition, volatilities, x);
-        double[][] jacobian = new double[nCaps][];
-        for (int i = 0; i < nCaps; ++i) {
+        return getEvaluator().rows(nCaps, nParams, i -> {
           PointSensitivities point =
               sabrPricer.presentValueSensitivityModelParamsSabr(capList.get(i), ratesProvider, volsNew).build();
           CurrencyParameterSensitivities sensi = volsNew.parameterSensitivity(point);
@@ -250,16 +341,36 @@ public class SabrIborCapletFloorletVolatilityCalibrator
           } else { // rho fixed
             sensitivities = sensitivities.concat(sensi.getSensitivity(betaName, currency).getSensitivity());
           }
-          jacobian[i] = sensitivities.concat(sensi.getSensitivity(nuName, currency).getSensitivity())
-              .multipliedBy(targetPriceInv)
-              .toArray();
-        }
-        return DoubleMatrix.ofUnsafe(jacobian);
+          return sensitivities.concat(sensi.getSensitivity(nuName, currency).getSensitivity())
+              .multipliedBy(targetPriceInv);
+        });
       }
     };
     return jacobianFunction;
   }
 
+  // the values of the calibrated parameters, in the order of the initial values of the definition
+  private static DoubleArray previousValues(
+      SabrIborCapletFloorletVolatilityCalibrationDefinition sabrDefinition,
+      SabrParameters previousParameters,
+      int nParams) {
+
+    DoubleArray values = curveParameters(previousParameters.getAlphaCurve());
+    if (sabrDefinition.getBetaCurve().isPresent()) {
+      values = values.concat(curveParameters(previousParameters.getRhoCurve()));
+    } else {
+      values = values.concat(curveParameters(previousParameters.getBetaCurve()));
+    }
+    values = values.concat(curveParameters(previousParameters.getNuCurve()));
+    ArgChecker.isTrue(values.size() == nParams, "previousResult should be calibrated with the same definition");
+    return values;
+  }
+
+  // the parameters of a curve
+  private static DoubleArray curveParameters(Curve curve) {
+    return DoubleArray.of(curve.getParameterCount(), curve::getParameter);
+  }
+
   // update vols
   private SabrParametersIborCapletFloorletVolatilities updateParameters(
       SabrIborCapletFloorletVolatilityCalibrationDefinition sabrDefinition,
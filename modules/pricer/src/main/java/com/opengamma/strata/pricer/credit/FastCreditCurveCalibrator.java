@@ -10,9 +10,16 @@ import static com.opengamma.strata.math.impl.util.Epsilon.epsilonP;
 
 import java.time.LocalDate;
 import java.util.List;
-import java.util.function.Function;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.DoubleUnaryOperator;
 
+import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.collect.Guavate;
+import com.opengamma.strata.collect.ParallelEvaluator;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.market.ValueType;
 import com.opengamma.strata.market.curve.ConstantNodalCurve;
@@ -56,6 +63,11 @@ public final class FastCreditCurveCalibrator extends IsdaCompliantCreditCurveCal
    */
   private static final RealSingleRootFinder ROOTFINDER = new BrentSingleRootFinder();
 
+  /**
+   * The integration schedules shared between the curves of a batch, null if not shared.
+   */
+  private final ConcurrentMap<List<Object>, IntegrationSchedule> schedules;
+
   //-------------------------------------------------------------------------
   /**
    * Obtains the standard calibrator.
@@ -76,6 +88,7 @@ public final class FastCreditCurveCalibrator extends IsdaCompliantCreditCurveCal
    */
   private FastCreditCurveCalibrator() {
     super();
+    this.schedules = null;
   }
 
   /**
@@ -87,6 +100,7 @@ public final class FastCreditCurveCalibrator extends IsdaCompliantCreditCurveCal
    */
   public FastCreditCurveCalibrator(AccrualOnDefaultFormula formula) {
     super(formula);
+    this.schedules = null;
   }
 
   /**
@@ -97,6 +111,56 @@ public final class FastCreditCurveCalibrator extends IsdaCompliantCreditCurveCal
    */
   public FastCreditCurveCalibrator(AccrualOnDefaultFormula formula, ArbitrageHandling arbHandling) {
     super(formula, arbHandling);
+    this.schedules = null;
+  }
+
+  // creates an instance with the evaluator and the shared integration schedules
+  private FastCreditCurveCalibrator(
+      AccrualOnDefaultFormula formula,
+      ArbitrageHandling arbHandling,
+      ParallelEvaluator evaluator,
+      ConcurrentMap<List<Object>, IntegrationSchedule> schedules) {
+
+    super(formula, arbHandling, evaluator);
+    this.schedules = schedules;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns a calibrator that calibrates the curves of a batch in parallel using the common fork-join pool.
+   * <p>
+   * The curves passed to {@link #calibrateAll} are calibrated in parallel.
+   * The calibration of a single curve is unchanged.
+   * A parallelism of one means that the curves are calibrated one at a time on the calling thread.
+   *
+   * @param parallelism  the maximum number of curves that are calibrated at the same time
+   * @return a calibrator that calibrates the curves in parallel
+   */
+  public FastCreditCurveCalibrator withParallelism(int parallelism) {
+    return withParallelism(ForkJoinPool.commonPool(), parallelism);
+  }
+
+  /**
+   * Returns a calibrator that calibrates the curves of a batch in parallel using the specified executor.
+   * <p>
+   * The curves passed to {@link #calibrateAll} are calibrated in parallel.
+   * The calling thread takes part in the calibration, see {@link ParallelEvaluator}.
+   * It is the caller's responsibility to manage the life-cycle of the executor.
+   *
+   * @param executor  the executor used to calibrate the curves
+   * @param parallelism  the maximum number of curves that are calibrated at the same time
+   * @return a calibrator that calibrates the curves in parallel
+   */
+  public FastCreditCurveCalibrator withParallelism(Executor executor, int parallelism) {
+    return new FastCreditCurveCalibrator(
+        getAccrualOnDefaultFormula(), getArbitrageHandling(), ParallelEvaluator.of(executor, parallelism), null);
+  }
+
+  // the integration schedules are shared between the curves of the batch
+  @Override
+  IsdaCompliantCreditCurveCalibrator batchCalibrator() {
+    return new FastCreditCurveCalibrator(
+        getAccrualOnDefaultFormula(), getArbitrageHandling(), getEvaluator(), new ConcurrentHashMap<>());
   }
 
   //-------------------------------------------------------------------------
@@ -146,21 +210,22 @@ public final class FastCreditCurveCalibrator extends IsdaCompliantCreditCurveCal
           .orElse(cds.getSettlementDateOffset().adjust(valuationDate, refData));
       double accrued = cds.accruedYearFraction(stepinDate);
 
-      Pricer pricer = new Pricer(cds, discountFactors, times, flactionalSpreads.get(i), pointsUpfront.get(i), lgd[i], stepinDate,
-          effectiveStartDate, settlementDate, accrued);
-      Function<Double, Double> func = pricer.getPointFunction(i, creditCurve);
+      IntegrationSchedule schedule =
+          integrationSchedule(cds, discountFactors, times, stepinDate, effectiveStartDate, settlementDate);
+      Pricer pricer = new Pricer(schedule, flactionalSpreads.get(i), pointsUpfront.get(i), lgd[i], accrued);
+      DoubleUnaryOperator func = pricer.getPointFunction(i, creditCurve);
 
       switch (getArbitrageHandling()) {
         case IGNORE: {
           try {
-            double[] bracket = BRACKETER.getBracketedPoints(
+            double[] bracket = BRACKETER.getBracketedPointsPrimitive(
                 func, 0.8 * guess[i], 1.25 * guess[i], Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
             double zeroRate = bracket[0] > bracket[1] ?
-                ROOTFINDER.getRoot(func, bracket[1], bracket[0]) :
-                ROOTFINDER.getRoot(func, bracket[0], bracket[1]); //Negative guess handled
+                ROOTFINDER.getRootPrimitive(func, bracket[1], bracket[0]) :
+                ROOTFINDER.getRootPrimitive(func, bracket[0], bracket[1]); //Negative guess handled
             creditCurve = creditCurve.withParameter(i, zeroRate);
           } catch (final MathException e) { //handling bracketing failure due to small survival probability
-            if (Math.abs(func.apply(creditCurve.getYValues().get(i - 1))) < 1.e-12) {
+            if (Math.abs(func.applyAsDouble(creditCurve.getYValues().get(i - 1))) < 1.e-12) {
               creditCurve = creditCurve.withParameter(i, creditCurve.getYValues().get(i - 1));
             } else {
               throw new MathException(e);
@@ -172,7 +237,7 @@ public final class FastCreditCurveCalibrator extends IsdaCompliantCreditCurveCal
           final double minValue = i == 0 ?
               0d :
               creditCurve.getYValues().get(i - 1) * creditCurve.getXValues().get(i - 1) / creditCurve.getXValues().get(i);
-          if (i > 0 && func.apply(minValue) > 0.0) { //can never fail on the first spread
+          if (i > 0 && func.applyAsDouble(minValue) > 0.0) { //can never fail on the first spread
             final StringBuilder msg = new StringBuilder();
             if (pointsUpfront.get(i) == 0.0) {
               msg.append("The par spread of " + flactionalSpreads.get(i) + " at index " + i);
@@ -185,8 +250,9 @@ public final class FastCreditCurveCalibrator extends IsdaCompliantCreditCurveCal
             throw new IllegalArgumentException(msg.toString());
           }
           guess[i] = Math.max(minValue, guess[i]);
-          double[] bracket = BRACKETER.getBracketedPoints(func, guess[i], 1.2 * guess[i], minValue, Double.POSITIVE_INFINITY);
-          double zeroRate = ROOTFINDER.getRoot(func, bracket[0], bracket[1]);
+          double[] bracket =
+              BRACKETER.getBracketedPointsPrimitive(func, guess[i], 1.2 * guess[i], minValue, Double.POSITIVE_INFINITY);
+          double zeroRate = ROOTFINDER.getRootPrimitive(func, bracket[0], bracket[1]);
           creditCurve = creditCurve.withParameter(i, zeroRate);
           break;
         }
@@ -194,13 +260,13 @@ public final class FastCreditCurveCalibrator extends IsdaCompliantCreditCurveCal
           final double minValue = i == 0 ?
               0.0 :
               creditCurve.getYValues().get(i - 1) * creditCurve.getXValues().get(i - 1) / creditCurve.getXValues().get(i);
-          if (i > 0 && func.apply(minValue) > 0.0) { //can never fail on the first spread
+          if (i > 0 && func.applyAsDouble(minValue) > 0.0) { //can never fail on the first spread
             creditCurve = creditCurve.withParameter(i, minValue);
           } else {
             guess[i] = Math.max(minValue, guess[i]);
-            final double[] bracket =
-                BRACKETER.getBracketedPoints(func, guess[i], 1.2 * guess[i], minValue, Double.POSITIVE_INFINITY);
-            final double zeroRate = ROOTFINDER.getRoot(func, bracket[0], bracket[1]);
+            final double[] bracket = BRACKETER.getBracketedPointsPrimitive(
+                func, guess[i], 1.2 * guess[i], minValue, Double.POSITIVE_INFINITY);
+            final double zeroRate = ROOTFINDER.getRootPrimitive(func, bracket[0], bracket[1]);
             creditCurve = creditCurve.withParameter(i, zeroRate);
           }
           break;
@@ -212,14 +278,48 @@ public final class FastCreditCurveCalibrator extends IsdaCompliantCreditCurveCal
     return creditCurve;
   }
 
-  /* Prices the CDS */
-  final class Pricer {
+  // the integration schedule of the node, shared with the other curves of the batch if possible
+  private IntegrationSchedule integrationSchedule(
+      ResolvedCds cds,
+      CreditDiscountFactors discountFactors,
+      DoubleArray creditCurveKnots,
+      LocalDate stepinDate,
+      LocalDate effectiveStartDate,
+      LocalDate settlementDate) {
+
+    if (schedules == null) {
+      return new IntegrationSchedule(
+          cds, discountFactors, creditCurveKnots, stepinDate, effectiveStartDate, settlementDate);
+    }
+    // the schedule does not depend on the legal entity, the coupon or the notional of the CDS
+    ImmutableList<ImmutableList<Object>> periods = cds.getPaymentPeriods().stream()
+        .map(p -> ImmutableList.<Object>of(
+            p.getStartDate(),
+            p.getEndDate(),
+            p.getEffectiveStartDate(),
+            p.getEffectiveEndDate(),
+            p.getPaymentDate(),
+            p.getYearFraction()))
+        .collect(Guavate.toImmutableList());
+    ImmutableList<Object> key = ImmutableList.of(
+        discountFactors,
+        creditCurveKnots,
+        stepinDate,
+        effectiveStartDate,
+        settlementDate,
+        cds.getAccrualStartDate(),
+        cds.getProtectionEndDate(),
+        cds.getPaymentOnDefault(),
+        periods);
+    return schedules.computeIfAbsent(key, k -> new IntegrationSchedule(
+        cds, discountFactors, creditCurveKnots, stepinDate, effectiveStartDate, settlementDate));
+  }
+
+  /* The integration points and discount factors of a CDS, independent of the quote and recovery rate */
+  static final class IntegrationSchedule {
 
-    private final ResolvedCds cds;
-    private final double lgdDF;
     private final double valuationDF;
-    private final double fracSpread;
-    private final double puf;
+    private final boolean accruedInterest;
     // protection leg
     private final int nProPoints;
     private final double[] proLegIntPoints;
@@ -227,6 +327,7 @@ public final class FastCreditCurveCalibrator extends IsdaCompliantCreditCurveCal
     private final double[] proDF;
     // premium leg
     private final int nPayments;
+    private final double[] paymentYearFraction;
     private final double[] paymentDF;
     private final double[][] premLegIntPoints;
     private final double[][] premDF;
@@ -236,18 +337,13 @@ public final class FastCreditCurveCalibrator extends IsdaCompliantCreditCurveCal
     private final double[] offsetAccStart;
     private final double[] offsetAccEnd;
 
-    private final double accYearFraction;
     private final double productEffectiveStart;
     private final int startPeriodIndex;
 
-    public Pricer(ResolvedCds nodeCds, CreditDiscountFactors yieldCurve, DoubleArray creditCurveKnots, double fractionalSpread,
-        double pointsUpfront, double lgd, LocalDate stepinDate, LocalDate effectiveStartDate, LocalDate settlementDate,
-        double accruedYearFraction) {
+    IntegrationSchedule(ResolvedCds cds, CreditDiscountFactors yieldCurve, DoubleArray creditCurveKnots,
+        LocalDate stepinDate, LocalDate effectiveStartDate, LocalDate settlementDate) {
 
-      accYearFraction = accruedYearFraction;
-      cds = nodeCds;
-      fracSpread = fractionalSpread;
-      puf = pointsUpfront;
+      accruedInterest = cds.getPaymentOnDefault().isAccruedInterest();
       productEffectiveStart = yieldCurve.relativeYearFraction(effectiveStartDate);
       double protectionEnd = yieldCurve.relativeYearFraction(cds.getProtectionEndDate());
       // protection leg
@@ -257,7 +353,6 @@ public final class FastCreditCurveCalibrator extends IsdaCompliantCreditCurveCal
           yieldCurve.getParameterKeys(), creditCurveKnots).toArray();
       nProPoints = proLegIntPoints.length;
       valuationDF = yieldCurve.discountFactor(settlementDate);
-      lgdDF = lgd / valuationDF;
       proYieldCurveRT = new double[nProPoints];
       proDF = new double[nProPoints];
       for (int i = 0; i < nProPoints; i++) {
@@ -266,9 +361,11 @@ public final class FastCreditCurveCalibrator extends IsdaCompliantCreditCurveCal
       }
       // premium leg
       nPayments = cds.getPaymentPeriods().size();
+      paymentYearFraction = new double[nPayments];
       paymentDF = new double[nPayments];
       int indexTmp = -1;
       for (int i = 0; i < nPayments; i++) {
+        paymentYearFraction[i] = cds.getPaymentPeriods().get(i).getYearFraction();
         if (stepinDate.isBefore(cds.getPaymentPeriods().get(i).getEndDate())) {
           paymentDF[i] = yieldCurve.discountFactor(cds.getPaymentPeriods().get(i).getPaymentDate());
         } else {
@@ -277,7 +374,11 @@ public final class FastCreditCurveCalibrator extends IsdaCompliantCreditCurveCal
       }
       startPeriodIndex = indexTmp + 1;
       // accrual on default
-      if (cds.getPaymentOnDefault().isAccruedInterest()) {
+      offsetAccEnd = new double[nPayments];
+      for (int i = startPeriodIndex; i < nPayments; i++) {
+        offsetAccEnd[i] = yieldCurve.relativeYearFraction(cds.getPaymentPeriods().get(i).getEffectiveEndDate());
+      }
+      if (accruedInterest) {
         LocalDate tmp = nPayments == 1 ? effectiveStartDate : cds.getAccrualStartDate();
         DoubleArray integrationSchedule =
             DoublesScheduleGenerator.getIntegrationsPoints(
@@ -287,7 +388,6 @@ public final class FastCreditCurveCalibrator extends IsdaCompliantCreditCurveCal
                 creditCurveKnots);
         accRate = new double[nPayments];
         offsetAccStart = new double[nPayments];
-        offsetAccEnd = new double[nPayments];
         premLegIntPoints = new double[nPayments][];
         premDF = new double[nPayments][];
         rt = new double[nPayments][];
@@ -295,7 +395,6 @@ public final class FastCreditCurveCalibrator extends IsdaCompliantCreditCurveCal
         for (int i = startPeriodIndex; i < nPayments; i++) {
           CreditCouponPaymentPeriod coupon = cds.getPaymentPeriods().get(i);
           offsetAccStart[i] = yieldCurve.relativeYearFraction(coupon.getEffectiveStartDate());
-          offsetAccEnd[i] = yieldCurve.relativeYearFraction(coupon.getEffectiveEndDate());
           accRate[i] = coupon.getYearFraction() /
               yieldCurve.getDayCount().relativeYearFraction(coupon.getStartDate(), coupon.getEndDate());
           double start = Math.max(productEffectiveStart, offsetAccStart[i]);
@@ -323,18 +422,37 @@ public final class FastCreditCurveCalibrator extends IsdaCompliantCreditCurveCal
       } else {
         accRate = null;
         offsetAccStart = null;
-        offsetAccEnd = null;
         premDF = null;
         premDt = null;
         rt = null;
         premLegIntPoints = null;
       }
     }
+  }
 
-    public Function<Double, Double> getPointFunction(int index, NodalCurve creditCurve) {
-      return new Function<Double, Double>() {
+  /* Prices the CDS */
+  final class Pricer {
+
+    private final IntegrationSchedule schedule;
+    private final double lgdDF;
+    private final double fracSpread;
+    private final double puf;
+    private final double accYearFraction;
+
+    public Pricer(IntegrationSchedule schedule, double fractionalSpread, double pointsUpfront, double lgd,
+        double accruedYearFraction) {
+
+      this.schedule = schedule;
+      accYearFraction = accruedYearFraction;
+      fracSpread = fractionalSpread;
+      puf = pointsUpfront;
+      lgdDF = lgd / schedule.valuationDF;
+    }
+
+    public DoubleUnaryOperator getPointFunction(int index, NodalCurve creditCurve) {
+      return new DoubleUnaryOperator() {
         @Override
-        public Double apply(Double x) {
+        public double applyAsDouble(double x) {
           NodalCurve cc = creditCurve.withParameter(index, x);
           double rpv01 = rpv01(cc, PriceType.CLEAN);
           double pro = protectionLeg(cc);
@@ -345,21 +463,20 @@ public final class FastCreditCurveCalibrator extends IsdaCompliantCreditCurveCal
 
     public double rpv01(NodalCurve creditCurve, PriceType cleanOrDirty) {
       double pv = 0.0;
-      for (int i = startPeriodIndex; i < nPayments; i++) {
-        CreditCouponPaymentPeriod coupon = cds.getPaymentPeriods().get(i);
-        double yc = offsetAccEnd[i];
+      for (int i = schedule.startPeriodIndex; i < schedule.nPayments; i++) {
+        double yc = schedule.offsetAccEnd[i];
         double q = Math.exp(-creditCurve.yValue(yc) * yc);
-        pv += coupon.getYearFraction() * paymentDF[i] * q;
+        pv += schedule.paymentYearFraction[i] * schedule.paymentDF[i] * q;
       }
 
-      if (cds.getPaymentOnDefault().isAccruedInterest()) {
+      if (schedule.accruedInterest) {
         double accPV = 0.0;
-        for (int i = startPeriodIndex; i < nPayments; i++) {
+        for (int i = schedule.startPeriodIndex; i < schedule.nPayments; i++) {
           accPV += calculateSinglePeriodAccrualOnDefault(i, creditCurve);
         }
         pv += accPV;
       }
-      pv /= valuationDF;
+      pv /= schedule.valuationDF;
       if (cleanOrDirty == PriceType.CLEAN) {
         pv -= accYearFraction;
       }
@@ -367,15 +484,15 @@ public final class FastCreditCurveCalibrator extends IsdaCompliantCreditCurveCal
     }
 
     private double calculateSinglePeriodAccrualOnDefault(int paymentIndex, NodalCurve creditCurve) {
-      double[] knots = premLegIntPoints[paymentIndex];
+      double[] knots = schedule.premLegIntPoints[paymentIndex];
       if (knots == null) {
         return 0d;
       }
-      double[] df = premDF[paymentIndex];
-      double[] deltaT = premDt[paymentIndex];
-      double[] rtCurrent = rt[paymentIndex];
-      double accRateCurrent = accRate[paymentIndex];
-      double accStart = offsetAccStart[paymentIndex];
+      double[] df = schedule.premDF[paymentIndex];
+      double[] deltaT = schedule.premDt[paymentIndex];
+      double[] rtCurrent = schedule.rt[paymentIndex];
+      double accRateCurrent = schedule.accRate[paymentIndex];
+      double accStart = schedule.offsetAccStart[paymentIndex];
       double t = knots[0];
       double ht0 = creditCurve.yValue(t) * t;
       double rt0 = rtCurrent[0];
@@ -417,11 +534,14 @@ public final class FastCreditCurveCalibrator extends IsdaCompliantCreditCurveCal
     }
 
     public double protectionLeg(NodalCurve creditCurve) {
+      double[] proLegIntPoints = schedule.proLegIntPoints;
+      double[] proYieldCurveRT = schedule.proYieldCurveRT;
+      double[] proDF = schedule.proDF;
       double ht0 = creditCurve.yValue(proLegIntPoints[0]) * proLegIntPoints[0];
       double rt0 = proYieldCurveRT[0];
       double b0 = proDF[0] * Math.exp(-ht0);
       double pv = 0d;
-      for (int i = 1; i < nProPoints; ++i) {
+      for (int i = 1; i < schedule.nProPoints; ++i) {
         double ht1 = creditCurve.yValue(proLegIntPoints[i]) * proLegIntPoints[i];
         double rt1 = proYieldCurveRT[i];
         double b1 = proDF[i] * Math.exp(-ht1);
@@ -6,6 +6,7 @@
 package com.opengamma.strata.pricer.credit;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.function.Function;
@@ -21,8 +22,13 @@ import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.date.DayCount;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.Guavate;
+import com.opengamma.strata.collect.ParallelEvaluator;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.collect.result.FailureItem;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.collect.result.ValueWithFailures;
 import com.opengamma.strata.collect.tuple.Pair;
 import com.opengamma.strata.data.MarketData;
 import com.opengamma.strata.market.curve.CurveInfoType;
@@ -84,6 +90,10 @@ public abstract class IsdaCompliantCreditCurveCalibrator {
    * The trade pricer.
    */
   private final IsdaCdsTradePricer tradePricer;
+  /**
+   * The evaluator used to calibrate the curves of a batch, optionally in parallel.
+   */
+  private final ParallelEvaluator evaluator;
 
   //-------------------------------------------------------------------------
   protected IsdaCompliantCreditCurveCalibrator() {
@@ -95,8 +105,17 @@ public abstract class IsdaCompliantCreditCurveCalibrator {
   }
 
   protected IsdaCompliantCreditCurveCalibrator(AccrualOnDefaultFormula formula, ArbitrageHandling arbHandling) {
+    this(formula, arbHandling, ParallelEvaluator.SERIAL);
+  }
+
+  protected IsdaCompliantCreditCurveCalibrator(
+      AccrualOnDefaultFormula formula,
+      ArbitrageHandling arbHandling,
+      ParallelEvaluator evaluator) {
+
     this.arbHandling = ArgChecker.notNull(arbHandling, "arbHandling");
     this.formula = ArgChecker.notNull(formula, "formula");
+    this.evaluator = ArgChecker.notNull(evaluator, "evaluator");
     this.tradePricer = new IsdaCdsTradePricer(formula);
   }
 
@@ -132,6 +151,15 @@ public abstract class IsdaCompliantCreditCurveCalibrator {
     return tradePricer;
   }
 
+  /**
+   * Obtains the evaluator used to calibrate the curves of a batch.
+   * 
+   * @return the evaluator
+   */
+  protected ParallelEvaluator getEvaluator() {
+    return evaluator;
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Calibrates the ISDA compliant credit curve to the market data.
@@ -172,6 +200,66 @@ public abstract class IsdaCompliantCreditCurveCalibrator {
         refData);
   }
 
+  /**
+   * Calibrates the ISDA compliant credit curves of several legal entities to the market data.
+   * <p>
+   * This creates a credit curve for each curve definition, see
+   * {@link #calibrate(IsdaCreditCurveDefinition, MarketData, ImmutableCreditRatesProvider, ReferenceData)}.
+   * The curves typically share the discount curve and the maturities of the CDS, in which case
+   * the calibrator may share the integration schedules between the curves.
+   * When parallelism is enabled, the curves are calibrated in parallel.
+   * <p>
+   * The calibration of a curve that fails does not prevent the calibration of the other curves.
+   * The failures are returned with the calibrated curves.
+   * 
+   * @param curveDefinitions  the curve definitions
+   * @param marketData  the market data
+   * @param ratesProvider  the rates provider
+   * @param refData  the reference data
+   * @return the ISDA compliant credit curves keyed by curve name, with the failures
+   * @throws IllegalArgumentException if the names of the curve definitions are not unique
+   */
+  public ValueWithFailures<ImmutableMap<CurveName, LegalEntitySurvivalProbabilities>> calibrateAll(
+      List<IsdaCreditCurveDefinition> curveDefinitions,
+      MarketData marketData,
+      ImmutableCreditRatesProvider ratesProvider,
+      ReferenceData refData) {
+
+    ArgChecker.isTrue(
+        curveDefinitions.stream().map(IsdaCreditCurveDefinition::getName).distinct().count() == curveDefinitions.size(),
+        "curve definitions must have unique names");
+    IsdaCompliantCreditCurveCalibrator batchCalibrator = batchCalibrator();
+    List<Result<LegalEntitySurvivalProbabilities>> results = evaluator.objects(curveDefinitions.size(), i -> {
+      IsdaCreditCurveDefinition curveDefinition = curveDefinitions.get(i);
+      try {
+        return Result.success(batchCalibrator.calibrate(curveDefinition, marketData, ratesProvider, refData));
+      } catch (RuntimeException ex) {
+        return Result.failure(
+            FailureReason.CALCULATION_FAILED,
+            ex,
+            "Unable to calibrate credit curve '{}': {}",
+            curveDefinition.getName(),
+            ex.getMessage());
+      }
+    });
+    ImmutableMap.Builder<CurveName, LegalEntitySurvivalProbabilities> curves = ImmutableMap.builder();
+    List<FailureItem> failures = new ArrayList<>();
+    for (int i = 0; i < curveDefinitions.size(); i++) {
+      Result<LegalEntitySurvivalProbabilities> result = results.get(i);
+      if (result.isSuccess()) {
+        curves.put(curveDefinitions.get(i).getName(), result.getValue());
+      } else {
+        failures.addAll(result.getFailure().getItems());
+      }
+    }
+    return ValueWithFailures.of(curves.build(), failures);
+  }
+
+  // the calibrator used for the curves of a batch, which may share state between the curves
+  IsdaCompliantCreditCurveCalibrator batchCalibrator() {
+    return this;
+  }
+
   LegalEntitySurvivalProbabilities calibrate(
       List<CdsIsdaCreditCurveNode> curveNodes,
       CurveName name,
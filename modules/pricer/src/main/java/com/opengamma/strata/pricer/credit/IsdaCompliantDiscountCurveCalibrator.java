@@ -10,7 +10,7 @@ import java.time.Period;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.function.Function;
+import java.util.function.DoubleUnaryOperator;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableList.Builder;
@@ -229,9 +229,9 @@ public final class IsdaCompliantDiscountCurveCalibrator {
     int index1 = i1;
     int index2 = i2;
 
-    Function<Double, Double> func = new Function<Double, Double>() {
+    DoubleUnaryOperator func = new DoubleUnaryOperator() {
       @Override
-      public Double apply(final Double x) {
+      public double applyAsDouble(final double x) {
         InterpolatedNodalCurve tempCurve = curve.withParameter(curveIndex, x);
         double sum = 1.0 - cachedValues; // Floating leg at par
         for (int i = index1; i < index2; i++) {
@@ -242,9 +242,9 @@ public final class IsdaCompliantDiscountCurveCalibrator {
       }
     };
 
-    Function<Double, Double> grad = new Function<Double, Double>() {
+    DoubleUnaryOperator grad = new DoubleUnaryOperator() {
       @Override
-      public Double apply(final Double x) {
+      public double applyAsDouble(final double x) {
         InterpolatedNodalCurve tempCurve = curve.withParameter(curveIndex, x);
         double sum = cachedSense;
         for (int i = index1; i < index2; i++) {
@@ -258,13 +258,15 @@ public final class IsdaCompliantDiscountCurveCalibrator {
     };
 
     double guess = curve.getParameter(curveIndex);
-    if (guess == 0.0 && func.apply(guess) == 0.0) {
+    if (guess == 0.0 && func.applyAsDouble(guess) == 0.0) {
       return curve;
     }
     double[] bracket = guess > 0d ?
-        BRACKETER.getBracketedPoints(func, 0.8 * guess, 1.25 * guess, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY) :
-        BRACKETER.getBracketedPoints(func, 1.25 * guess, 0.8 * guess, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
-    double r = rootFinder.getRoot(func, grad, bracket[0], bracket[1]);
+        BRACKETER.getBracketedPointsPrimitive(
+            func, 0.8 * guess, 1.25 * guess, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY) :
+        BRACKETER.getBracketedPointsPrimitive(
+            func, 1.25 * guess, 0.8 * guess, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+    double r = rootFinder.getRootPrimitive(func, grad, bracket[0], bracket[1]);
     return curve.withParameter(curveIndex, r);
   }
 
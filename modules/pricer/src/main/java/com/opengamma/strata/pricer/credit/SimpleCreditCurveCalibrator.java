@@ -7,12 +7,15 @@ package com.opengamma.strata.pricer.credit;
 
 import java.time.LocalDate;
 import java.util.List;
-import java.util.function.Function;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.DoubleUnaryOperator;
 
 import com.google.common.collect.ImmutableMap;
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.StandardId;
 import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.collect.ParallelEvaluator;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.tuple.Pair;
 import com.opengamma.strata.market.ValueType;
@@ -86,6 +89,46 @@ public final class SimpleCreditCurveCalibrator extends IsdaCompliantCreditCurveC
     super(formula);
   }
 
+  // creates an instance with the evaluator
+  private SimpleCreditCurveCalibrator(
+      AccrualOnDefaultFormula formula,
+      ArbitrageHandling arbHandling,
+      ParallelEvaluator evaluator) {
+
+    super(formula, arbHandling, evaluator);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns a calibrator that calibrates the curves of a batch in parallel using the common fork-join pool.
+   * <p>
+   * The curves passed to {@link #calibrateAll} are calibrated in parallel.
+   * The calibration of a single curve is unchanged.
+   * A parallelism of one means that the curves are calibrated one at a time on the calling thread.
+   *
+   * @param parallelism  the maximum number of curves that are calibrated at the same time
+   * @return a calibrator that calibrates the curves in parallel
+   */
+  public SimpleCreditCurveCalibrator withParallelism(int parallelism) {
+    return withParallelism(ForkJoinPool.commonPool(), parallelism);
+  }
+
+  /**
+   * Returns a calibrator that calibrates the curves of a batch in parallel using the specified executor.
+   * <p>
+   * The curves passed to {@link #calibrateAll} are calibrated in parallel.
+   * The calling thread takes part in the calibration, see {@link ParallelEvaluator}.
+   * It is the caller's responsibility to manage the life-cycle of the executor.
+   *
+   * @param executor  the executor used to calibrate the curves
+   * @param parallelism  the maximum number of curves that are calibrated at the same time
+   * @return a calibrator that calibrates the curves in parallel
+   */
+  public SimpleCreditCurveCalibrator withParallelism(Executor executor, int parallelism) {
+    return new SimpleCreditCurveCalibrator(
+        getAccrualOnDefaultFormula(), getArbitrageHandling(), ParallelEvaluator.of(executor, parallelism));
+  }
+
   //-------------------------------------------------------------------------
   @Override
   public NodalCurve calibrate(
@@ -126,7 +169,7 @@ public final class SimpleCreditCurveCalibrator extends IsdaCompliantCreditCurveC
             CurveExtrapolators.PRODUCT_LINEAR);
 
     for (int i = 0; i < n; i++) {
-      Function<Double, Double> func = getPriceFunction(
+      DoubleUnaryOperator func = getPriceFunction(
           i,
           calibrationCDSs.get(i),
           premiums.get(i),
@@ -136,17 +179,18 @@ public final class SimpleCreditCurveCalibrator extends IsdaCompliantCreditCurveC
           discountFactors,
           recoveryRates,
           refData);
-      double[] bracket = BRACKER.getBracketedPoints(func, 0.8 * guess[i], 1.25 * guess[i], 0.0, Double.POSITIVE_INFINITY);
+      double[] bracket =
+          BRACKER.getBracketedPointsPrimitive(func, 0.8 * guess[i], 1.25 * guess[i], 0.0, Double.POSITIVE_INFINITY);
       double zeroRate = bracket[0] > bracket[1] ?
-          ROOTFINDER.getRoot(func, bracket[1], bracket[0]) :
-          ROOTFINDER.getRoot(func, bracket[0], bracket[1]); //Negative guess handled
+          ROOTFINDER.getRootPrimitive(func, bracket[1], bracket[0]) :
+          ROOTFINDER.getRootPrimitive(func, bracket[0], bracket[1]); //Negative guess handled
       creditCurve = creditCurve.withParameter(i, zeroRate);
     }
 
     return creditCurve;
   }
 
-  private Function<Double, Double> getPriceFunction(
+  private DoubleUnaryOperator getPriceFunction(
       int index,
       ResolvedCdsTrade cds,
       double flactionalSpread,
@@ -166,9 +210,9 @@ public final class SimpleCreditCurveCalibrator extends IsdaCompliantCreditCurveC
         .discountCurves(ImmutableMap.of(currency, discountFactors))
         .recoveryRateCurves(ImmutableMap.of(legalEntityId, recoveryRates))
         .build();
-    Function<Double, Double> func = new Function<Double, Double>() {
+    DoubleUnaryOperator func = new DoubleUnaryOperator() {
       @Override
-      public Double apply(Double x) {
+      public double applyAsDouble(double x) {
         NodalCurve tempCreditCurve = creditCurve.withParameter(index, x);
         ImmutableCreditRatesProvider rates = ratesbase.toBuilder()
             .creditCurves(ImmutableMap.of(pair, LegalEntitySurvivalProbabilities.of(
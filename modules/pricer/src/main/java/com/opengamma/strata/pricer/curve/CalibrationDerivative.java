@@ -8,6 +8,7 @@ package com.opengamma.strata.pricer.curve;
 import java.util.List;
 import java.util.function.Function;
 
+import com.opengamma.strata.collect.ParallelEvaluator;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.market.curve.CurveParameterSize;
@@ -20,6 +21,11 @@ import com.opengamma.strata.product.ResolvedTrade;
  * This provides the value sensitivity from the specified {@link CalibrationMeasures}
  * instance in matrix form suitable for use in curve calibration root finding.
  * The value will typically be par spread or converted present value.
+ * <p>
+ * An initial derivative may be specified, typically the derivative from an earlier calibration.
+ * It is returned, in place of the calculated derivative, the first time the derivative is
+ * requested at the initial position of the root finder.
+ * As such, an instance must only be used by a single root finder.
  */
 class CalibrationDerivative
     implements Function<DoubleArray, DoubleMatrix> {
@@ -41,6 +47,18 @@ class CalibrationDerivative
    * The expected number of parameters for each curve is also provided.
    */
   private final List<CurveParameterSize> curveOrder;
+  /**
+   * The evaluator, used to calculate the derivative of the trades.
+   */
+  private final ParallelEvaluator evaluator;
+  /**
+   * The initial position, null if there is no initial derivative.
+   */
+  private final DoubleArray initialPosition;
+  /**
+   * The initial derivative, null once used or if there is no initial derivative.
+   */
+  private DoubleMatrix initialDerivative;
 
   /**
    * Creates an instance.
@@ -49,27 +67,61 @@ class CalibrationDerivative
    * @param measures  the calibration measures
    * @param providerGenerator  the provider generator, used to create child providers
    * @param curveOrder  the curve order
+   * @param evaluator  the evaluator, used to calculate the derivative of the trades
+   */
+  public CalibrationDerivative(
+      List<ResolvedTrade> trades,
+      CalibrationMeasures measures,
+      RatesProviderGenerator providerGenerator,
+      List<CurveParameterSize> curveOrder,
+      ParallelEvaluator evaluator) {
+
+    this(trades, measures, providerGenerator, curveOrder, evaluator, null, null);
+  }
+
+  /**
+   * Creates an instance specifying the derivative at the initial position.
+   * 
+   * @param trades  the trades
+   * @param measures  the calibration measures
+   * @param providerGenerator  the provider generator, used to create child providers
+   * @param curveOrder  the curve order
+   * @param evaluator  the evaluator, used to calculate the derivative of the trades
+   * @param initialPosition  the initial position, null if there is no initial derivative
+   * @param initialDerivative  the derivative at the initial position, null if it is to be calculated
    */
   public CalibrationDerivative(
       List<ResolvedTrade> trades,
       CalibrationMeasures measures,
       RatesProviderGenerator providerGenerator,
-      List<CurveParameterSize> curveOrder) {
+      List<CurveParameterSize> curveOrder,
+      ParallelEvaluator evaluator,
+      DoubleArray initialPosition,
+      DoubleMatrix initialDerivative) {
 
     this.measures = measures;
     this.trades = trades;
     this.providerGenerator = providerGenerator;
     this.curveOrder = curveOrder;
+    this.evaluator = evaluator;
+    this.initialPosition = initialPosition;
+    this.initialDerivative = initialDerivative;
   }
 
   //-------------------------------------------------------------------------
   @Override
   public DoubleMatrix apply(DoubleArray x) {
+    // use the initial derivative once, recalculating if the root finder asks again
+    if (initialDerivative != null && x.equals(initialPosition)) {
+      DoubleMatrix derivative = initialDerivative;
+      initialDerivative = null;
+      return derivative;
+    }
     // create child provider from matrix
     ImmutableRatesProvider provider = providerGenerator.generate(x);
     // calculate derivative for each trade using the child provider
     int size = trades.size();
-    return DoubleMatrix.ofArrayObjects(size, size, i -> measures.derivative(trades.get(i), provider, curveOrder));
+    return evaluator.rows(size, size, i -> measures.derivative(trades.get(i), provider, curveOrder));
   }
 
 }
@@ -8,6 +8,7 @@ package com.opengamma.strata.pricer.curve;
 import java.util.List;
 import java.util.function.Function;
 
+import com.opengamma.strata.collect.ParallelEvaluator;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
 import com.opengamma.strata.product.ResolvedTrade;
@@ -34,6 +35,10 @@ class CalibrationValue
    * The provider generator, used to create child providers.
    */
   private final RatesProviderGenerator providerGenerator;
+  /**
+   * The evaluator, used to calculate the value of the trades.
+   */
+  private final ParallelEvaluator evaluator;
 
   /**
    * Creates an instance.
@@ -41,15 +46,18 @@ class CalibrationValue
    * @param trades  the trades
    * @param measures  the calibration measures
    * @param providerGenerator  the provider generator, used to create child providers
+   * @param evaluator  the evaluator, used to calculate the value of the trades
    */
   CalibrationValue(
       List<ResolvedTrade> trades,
       CalibrationMeasures measures,
-      RatesProviderGenerator providerGenerator) {
+      RatesProviderGenerator providerGenerator,
+      ParallelEvaluator evaluator) {
 
     this.trades = trades;
     this.measures = measures;
     this.providerGenerator = providerGenerator;
+    this.evaluator = evaluator;
   }
 
   //-------------------------------------------------------------------------
@@ -58,7 +66,7 @@ class CalibrationValue
     // create child provider from matrix
     ImmutableRatesProvider childProvider = providerGenerator.generate(x);
     // calculate value for each trade using the child provider
-    return DoubleArray.of(trades.size(), i -> measures.value(trades.get(i), childProvider));
+    return evaluator.values(trades.size(), i -> measures.value(trades.get(i), childProvider));
   }
 
 }
@@ -11,6 +11,9 @@ import static com.opengamma.strata.collect.Guavate.toImmutableMap;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Function;
 
 import com.google.common.collect.ImmutableList;
@@ -20,15 +23,20 @@ import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.index.Index;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.ParallelEvaluator;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
 import com.opengamma.strata.data.MarketData;
 import com.opengamma.strata.data.MarketDataFxRateProvider;
+import com.opengamma.strata.market.curve.Curve;
+import com.opengamma.strata.market.curve.CurveDefinition;
+import com.opengamma.strata.market.curve.CurveInfoType;
 import com.opengamma.strata.market.curve.CurveName;
 import com.opengamma.strata.market.curve.CurveNode;
 import com.opengamma.strata.market.curve.CurveParameterSize;
 import com.opengamma.strata.market.curve.JacobianCalibrationMatrix;
+import com.opengamma.strata.market.curve.RatesCurveGroup;
 import com.opengamma.strata.market.curve.RatesCurveGroupDefinition;
 import com.opengamma.strata.market.observable.IndexQuoteId;
 import com.opengamma.strata.math.impl.matrix.CommonsMatrixAlgebra;
@@ -52,6 +60,10 @@ import com.opengamma.strata.product.ResolvedTrade;
  * <p>
  * Once calibrated, the curves are then available for use.
  * Each node in the curve definition becomes a parameter in the matching output curve.
+ * <p>
+ * By default, the trades are priced one at a time on the calling thread.
+ * Use {@link #withParallelism(Executor, int)} to price the trades of each group in parallel.
+ * The calibrated curves are the same, the parallelism only affects how quickly they are produced.
  */
 public final class RatesCurveCalibrator {
 
@@ -79,6 +91,10 @@ public final class RatesCurveCalibrator {
    * This is used to compute the present value sensitivity to market quotes stored in the metadata.
    */
   private final CalibrationMeasures pvMeasures;
+  /**
+   * The evaluator, used to price the trades of a group, optionally in parallel.
+   */
+  private final ParallelEvaluator evaluator;
 
   //-------------------------------------------------------------------------
   /**
@@ -181,9 +197,51 @@ public final class RatesCurveCalibrator {
       CalibrationMeasures measures,
       CalibrationMeasures pvMeasures) {
 
+    this(rootFinder, measures, pvMeasures, ParallelEvaluator.SERIAL);
+  }
+
+  // restricted constructor
+  private RatesCurveCalibrator(
+      NewtonVectorRootFinder rootFinder,
+      CalibrationMeasures measures,
+      CalibrationMeasures pvMeasures,
+      ParallelEvaluator evaluator) {
+
     this.rootFinder = ArgChecker.notNull(rootFinder, "rootFinder");
     this.measures = ArgChecker.notNull(measures, "measures");
     this.pvMeasures = ArgChecker.notNull(pvMeasures, "pvMeasures");
+    this.evaluator = evaluator;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns a calibrator that prices the trades of each group in parallel using the common fork-join pool.
+   * <p>
+   * The calibration measures of the trades, their derivatives and the Jacobian inputs
+   * are calculated in parallel. The root finder itself is unchanged.
+   * A parallelism of one means that the trades are priced one at a time on the calling thread.
+   *
+   * @param parallelism  the maximum number of trades that are priced at the same time
+   * @return a calibrator that prices the trades in parallel
+   */
+  public RatesCurveCalibrator withParallelism(int parallelism) {
+    return withParallelism(ForkJoinPool.commonPool(), parallelism);
+  }
+
+  /**
+   * Returns a calibrator that prices the trades of each group in parallel using the specified executor.
+   * <p>
+   * The calibration measures of the trades, their derivatives and the Jacobian inputs
+   * are calculated in parallel. The root finder itself is unchanged.
+   * The calling thread takes part in the pricing, see {@link ParallelEvaluator}.
+   * It is the caller's responsibility to manage the life-cycle of the executor.
+   *
+   * @param executor  the executor used to price the trades
+   * @param parallelism  the maximum number of trades that are priced at the same time
+   * @return a calibrator that prices the trades in parallel
+   */
+  public RatesCurveCalibrator withParallelism(Executor executor, int parallelism) {
+    return new RatesCurveCalibrator(rootFinder, measures, pvMeasures, ParallelEvaluator.of(executor, parallelism));
   }
 
   //-------------------------------------------------------------------------
@@ -226,6 +284,54 @@ public final class RatesCurveCalibrator {
     return calibrate(ImmutableList.of(curveGroupDefn), knownData, marketData, refData);
   }
 
+  /**
+   * Calibrates a single curve group, containing one or more curves, starting from a set of existing curves.
+   * <p>
+   * The calibration is defined using {@link RatesCurveGroupDefinition}.
+   * Observable market data, time-series and FX are also needed to complete the calibration.
+   * The valuation date is defined by the market data.
+   * <p>
+   * The starting curves are used as the initial guess of the root finder, typically
+   * being the result of an earlier calibration using similar market data.
+   * The parameters of a starting curve are used if it has the same name and the same
+   * number of parameters as the curve being calibrated. Otherwise the initial guess
+   * defined by the curve definition is used.
+   * When the market data is close to that of the starting curves, fewer iterations are needed.
+   * <p>
+   * If every curve of a group is taken from the starting curves, and the starting curves contain
+   * the {@linkplain CurveInfoType#JACOBIAN Jacobian} of that group, the Jacobian is used as the
+   * initial derivative of the root finder, avoiding the pricing of the derivative of each trade.
+   * The Jacobian is present if the starting curves were calibrated with
+   * {@link RatesCurveGroupDefinition#isComputeJacobian()} set.
+   * <p>
+   * The Jacobian matrices are computed and stored in curve metadata if requested by the definition.
+   * The present value sensitivity to market quotes is relatively expensive to compute. Where it is
+   * not needed, it can be skipped by setting {@link RatesCurveGroupDefinition#isComputePvSensitivityToMarketQuote()}
+   * to false, while retaining the Jacobian for use in the next warm start.
+   *
+   * @param curveGroupDefn  the curve group definition
+   * @param marketData  the market data required to build a trade for the instrument, including time-series
+   * @param refData  the reference data, used to resolve the trades
+   * @param startingCurves  the curves used as the initial guess of the calibration
+   * @return the rates provider resulting from the calibration
+   */
+  public ImmutableRatesProvider calibrate(
+      RatesCurveGroupDefinition curveGroupDefn,
+      MarketData marketData,
+      ReferenceData refData,
+      RatesCurveGroup startingCurves) {
+
+    ArgChecker.notNull(startingCurves, "startingCurves");
+    Map<Index, LocalDateDoubleTimeSeries> timeSeries = marketData.getTimeSeriesIds().stream()
+        .flatMap(filtering(IndexQuoteId.class))
+        .collect(toImmutableMap(id -> id.getIndex(), id -> marketData.getTimeSeries(id)));
+    ImmutableRatesProvider knownData = ImmutableRatesProvider.builder(marketData.getValuationDate())
+        .fxRateProvider(MarketDataFxRateProvider.of(marketData))
+        .timeSeries(timeSeries)
+        .build();
+    return calibrate(ImmutableList.of(curveGroupDefn), knownData, marketData, refData, startingCurves::findCurve);
+  }
+
   /**
    * Calibrates a list of curve groups, each containing one or more curves.
    * <p>
@@ -245,6 +351,17 @@ public final class RatesCurveCalibrator {
       ImmutableRatesProvider knownData,
       MarketData marketData,
       ReferenceData refData) {
+
+    return calibrate(allGroupDefns, knownData, marketData, refData, name -> Optional.empty());
+  }
+
+  // calibrates the groups, using the starting curves as the initial guess where possible
+  private ImmutableRatesProvider calibrate(
+      List<RatesCurveGroupDefinition> allGroupDefns,
+      ImmutableRatesProvider knownData,
+      MarketData marketData,
+      ReferenceData refData,
+      Function<CurveName, Optional<Curve>> startingCurves) {
     // this method effectively takes one CurveGroupDefinition
     // the list is a split of the definition, not multiple independent definitions
 
@@ -264,7 +381,8 @@ public final class RatesCurveCalibrator {
           groupDefn.bindTimeSeries(knownData.getValuationDate(), knownData.getTimeSeries());
       // combine all data in the group into flat lists
       ImmutableList<ResolvedTrade> trades = groupDefnBound.resolvedTrades(marketData, refData);
-      ImmutableList<Double> initialGuesses = groupDefnBound.initialGuesses(marketData);
+      ImmutableList<Double> initialGuesses = initialGuesses(groupDefnBound, marketData, startingCurves);
+      Optional<DoubleMatrix> initialDerivative = initialDerivative(groupDefnBound, startingCurves);
       ImmutableList<CurveParameterSize> orderGroup = toOrder(groupDefnBound);
       ImmutableList<CurveParameterSize> orderPrevAndGroup = ImmutableList.<CurveParameterSize>builder()
           .addAll(orderPrev)
@@ -273,7 +391,7 @@ public final class RatesCurveCalibrator {
 
       // calibrate
       RatesProviderGenerator providerGenerator = ImmutableRatesProviderGenerator.of(providerCombined, groupDefnBound, refData);
-      DoubleArray calibratedGroupParams = calibrateGroup(providerGenerator, trades, initialGuesses, orderGroup);
+      DoubleArray calibratedGroupParams = calibrateGroup(providerGenerator, trades, initialGuesses, initialDerivative, orderGroup);
       ImmutableRatesProvider calibratedProvider = providerGenerator.generate(calibratedGroupParams);
 
       // use calibration to build Jacobian matrices
@@ -296,6 +414,70 @@ public final class RatesCurveCalibrator {
   }
 
   //-------------------------------------------------------------------------
+  // the initial guess for each curve, taken from the matching starting curve if available
+  private static ImmutableList<Double> initialGuesses(
+      RatesCurveGroupDefinition groupDefn,
+      MarketData marketData,
+      Function<CurveName, Optional<Curve>> startingCurves) {
+
+    ImmutableList.Builder<Double> result = ImmutableList.builder();
+    for (CurveDefinition defn : groupDefn.getCurveDefinitions()) {
+      Optional<Curve> startingCurve = startingCurves.apply(defn.getName())
+          .filter(curve -> curve.getParameterCount() == defn.getParameterCount());
+      if (startingCurve.isPresent()) {
+        Curve curve = startingCurve.get();
+        for (int i = 0; i < curve.getParameterCount(); i++) {
+          result.add(curve.getParameter(i));
+        }
+      } else {
+        result.addAll(defn.initialGuess(marketData));
+      }
+    }
+    return result.build();
+  }
+
+  // the initial derivative of the group, the inverse of the direct Jacobian stored in the starting curves
+  // empty unless every curve of the group has a starting curve with a Jacobian covering the whole group
+  private static Optional<DoubleMatrix> initialDerivative(
+      RatesCurveGroupDefinition groupDefn,
+      Function<CurveName, Optional<Curve>> startingCurves) {
+
+    List<CurveDefinition> defns = groupDefn.getCurveDefinitions();
+    int totalParamsGroup = defns.stream().mapToInt(defn -> defn.getParameterCount()).sum();
+    double[][] direct = new double[totalParamsGroup][totalParamsGroup];
+    int row = 0;
+    for (CurveDefinition defn : defns) {
+      Optional<JacobianCalibrationMatrix> jacobian = startingCurves.apply(defn.getName())
+          .filter(curve -> curve.getParameterCount() == defn.getParameterCount())
+          .flatMap(curve -> curve.getMetadata().findInfo(CurveInfoType.JACOBIAN));
+      if (!jacobian.isPresent()) {
+        return Optional.empty();
+      }
+      // the columns of the group, which must have the same sizes as the definitions
+      ImmutableList<CurveParameterSize> order = jacobian.get().getOrder();
+      DoubleMatrix matrix = jacobian.get().getJacobianMatrix();
+      int column = 0;
+      for (CurveDefinition columnDefn : defns) {
+        int startIndex = 0;
+        int orderIndex = 0;
+        while (orderIndex < order.size() && !order.get(orderIndex).getName().equals(columnDefn.getName())) {
+          startIndex += order.get(orderIndex).getParameterCount();
+          orderIndex++;
+        }
+        if (orderIndex == order.size() || order.get(orderIndex).getParameterCount() != columnDefn.getParameterCount()) {
+          return Optional.empty();
+        }
+        for (int p = 0; p < defn.getParameterCount(); p++) {
+          System.arraycopy(
+              matrix.rowArray(p), startIndex, direct[row + p], column, columnDefn.getParameterCount());
+        }
+        column += columnDefn.getParameterCount();
+      }
+      row += defn.getParameterCount();
+    }
+    return Optional.of(MATRIX_ALGEBRA.getInverse(DoubleMatrix.ofUnsafe(direct)));
+  }
+
   // converts a definition to the curve order list
   private static ImmutableList<CurveParameterSize> toOrder(RatesCurveGroupDefinition groupDefn) {
     return groupDefn.getCurveDefinitions().stream().map(def -> def.toCurveParameterSize()).collect(toImmutableList());
@@ -307,15 +489,17 @@ public final class RatesCurveCalibrator {
       RatesProviderGenerator providerGenerator,
       ImmutableList<ResolvedTrade> trades,
       ImmutableList<Double> initialGuesses,
+      Optional<DoubleMatrix> initialDerivative,
       ImmutableList<CurveParameterSize> curveOrder) {
 
     // setup for calibration
-    Function<DoubleArray, DoubleArray> valueCalculator = new CalibrationValue(trades, measures, providerGenerator);
-    Function<DoubleArray, DoubleMatrix> derivativeCalculator =
-        new CalibrationDerivative(trades, measures, providerGenerator, curveOrder);
+    DoubleArray initialGuess = DoubleArray.copyOf(initialGuesses);
+    Function<DoubleArray, DoubleArray> valueCalculator =
+        new CalibrationValue(trades, measures, providerGenerator, evaluator);
+    Function<DoubleArray, DoubleMatrix> derivativeCalculator = new CalibrationDerivative(
+        trades, measures, providerGenerator, curveOrder, evaluator, initialGuess, initialDerivative.orElse(null));
 
     // calibrate
-    DoubleArray initialGuess = DoubleArray.copyOf(initialGuesses);
     return rootFinder.findRoot(valueCalculator, derivativeCalculator, initialGuess);
   }
 
@@ -375,17 +559,15 @@ public final class RatesCurveCalibrator {
       ImmutableList<ResolvedTrade> trades,
       ImmutableList<CurveParameterSize> orderGroup) {
 
+    DoubleArray mqsAll = evaluator.values(
+        trades.size(),
+        nodeIndex -> pvMeasures.derivative(trades.get(nodeIndex), provider, orderGroup).get(nodeIndex));
     Builder<CurveName, DoubleArray> mqsGroup = new Builder<>();
-    int nodeIndex = 0;
+    int startIndex = 0;
     for (CurveParameterSize cps : orderGroup) {
       int nbParameters = cps.getParameterCount();
-      double[] mqsCurve = new double[nbParameters];
-      for (int looptrade = 0; looptrade < nbParameters; looptrade++) {
-        DoubleArray mqsNode = pvMeasures.derivative(trades.get(nodeIndex), provider, orderGroup);
-        mqsCurve[looptrade] = mqsNode.get(nodeIndex);
-        nodeIndex++;
-      }
-      mqsGroup.put(cps.getName(), DoubleArray.ofUnsafe(mqsCurve));
+      mqsGroup.put(cps.getName(), mqsAll.subArray(startIndex, startIndex + nbParameters));
+      startIndex += nbParameters;
     }
     return mqsGroup.build();
   }
@@ -397,7 +579,7 @@ public final class RatesCurveCalibrator {
       ImmutableList<CurveParameterSize> orderAll,
       int totalParamsAll) {
 
-    return DoubleMatrix.ofArrayObjects(
+    return evaluator.rows(
         trades.size(),
         totalParamsAll,
         i -> measures.derivative(trades.get(i), provider, orderAll));
@@ -0,0 +1,442 @@
+/*
+ * Copyright (C) 2019 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.rate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.index.IborIndex;
+import com.opengamma.strata.basics.index.IborIndexObservation;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.DoubleArrayMath;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.tuple.Pair;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.market.sensitivity.PointSensitivities;
+import com.opengamma.strata.market.sensitivity.PointSensitivity;
+import com.opengamma.strata.pricer.DiscountFactors;
+import com.opengamma.strata.pricer.ZeroRateSensitivity;
+import com.opengamma.strata.pricer.fx.FxForwardRates;
+import com.opengamma.strata.pricer.fx.FxForwardSensitivity;
+import com.opengamma.strata.pricer.fx.FxIndexRates;
+import com.opengamma.strata.pricer.fx.FxIndexSensitivity;
+
+/**
+ * Mutable accumulator of point sensitivities, optimized for the common curve sensitivity types.
+ * <p>
+ * Sensitivities to the zero rate, {@link ZeroRateSensitivity}, and to Ibor rates, {@link IborRateSensitivity},
+ * are held in primitive buffers, grouped by curve and sensitivity currency. Other point sensitivities are
+ * held as a list. This avoids creating an object for each point, and allows the points to be merged
+ * in place rather than by sorting a list of objects.
+ * <p>
+ * The accumulated sensitivity can be converted to parameter sensitivity directly using
+ * {@link #parameterSensitivity(RatesProvider)}, or to {@link PointSensitivities} using {@link #build()}.
+ * <p>
+ * This is a mutable builder that is not intended for use in multiple threads.
+ */
+public final class PointSensitivityAccumulator {
+
+  /**
+   * The initial capacity of each buffer.
+   */
+  private static final int INITIAL_CAPACITY = 16;
+
+  /**
+   * The zero rate sensitivities, keyed by curve currency and sensitivity currency.
+   */
+  private final Map<Pair<Currency, Currency>, ZeroRateBuffer> zeroRates = new LinkedHashMap<>();
+  /**
+   * The Ibor rate sensitivities, keyed by index and sensitivity currency.
+   */
+  private final Map<Pair<IborIndex, Currency>, IborRateBuffer> iborRates = new LinkedHashMap<>();
+  /**
+   * The other point sensitivities.
+   */
+  private final List<PointSensitivity> others = new ArrayList<>();
+  /**
+   * The most recently used zero rate buffer, which avoids a map lookup for consecutive points on the same curve.
+   */
+  private ZeroRateBuffer lastZeroRate;
+  /**
+   * The most recently used Ibor rate buffer, which avoids a map lookup for consecutive points on the same index.
+   */
+  private IborRateBuffer lastIborRate;
+
+  /**
+   * Creates an empty instance.
+   */
+  public PointSensitivityAccumulator() {
+  }
+
+  /**
+   * Obtains an instance containing the specified point sensitivities.
+   *
+   * @param sensitivities  the point sensitivities
+   * @return the accumulator
+   */
+  public static PointSensitivityAccumulator of(PointSensitivities sensitivities) {
+    return new PointSensitivityAccumulator().addAll(sensitivities);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the number of sensitivity entries.
+   * <p>
+   * Entries with the same key are only combined when added to the same Ibor buffer or when normalized.
+   *
+   * @return the number of entries
+   */
+  public int size() {
+    int size = others.size();
+    for (ZeroRateBuffer buffer : zeroRates.values()) {
+      size += buffer.size;
+    }
+    for (IborRateBuffer buffer : iborRates.values()) {
+      size += buffer.size;
+    }
+    return size;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Adds a point sensitivity.
+   * <p>
+   * Zero rate and Ibor rate sensitivities are added to the primitive buffers.
+   *
+   * @param sensitivity  the sensitivity to add
+   * @return {@code this}, for method chaining
+   */
+  public PointSensitivityAccumulator add(PointSensitivity sensitivity) {
+    ArgChecker.notNull(sensitivity, "sensitivity");
+    if (sensitivity instanceof ZeroRateSensitivity) {
+      ZeroRateSensitivity pt = (ZeroRateSensitivity) sensitivity;
+      return addZeroRate(pt.getCurveCurrency(), pt.getYearFraction(), pt.getCurrency(), pt.getSensitivity());
+    } else if (sensitivity instanceof IborRateSensitivity) {
+      IborRateSensitivity pt = (IborRateSensitivity) sensitivity;
+      return addIborRate(pt.getObservation(), pt.getCurrency(), pt.getSensitivity());
+    }
+    others.add(sensitivity);
+    return this;
+  }
+
+  /**
+   * Adds all the point sensitivities.
+   *
+   * @param sensitivities  the sensitivities to add
+   * @return {@code this}, for method chaining
+   */
+  public PointSensitivityAccumulator addAll(PointSensitivities sensitivities) {
+    for (PointSensitivity sensitivity : sensitivities.getSensitivities()) {
+      add(sensitivity);
+    }
+    return this;
+  }
+
+  /**
+   * Adds a sensitivity to the zero rate, without creating a {@link ZeroRateSensitivity}.
+   *
+   * @param curveCurrency  the currency of the curve
+   * @param yearFraction  the year fraction of the point on the curve
+   * @param sensitivityCurrency  the currency of the sensitivity
+   * @param sensitivity  the value of the sensitivity
+   * @return {@code this}, for method chaining
+   */
+  public PointSensitivityAccumulator addZeroRate(
+      Currency curveCurrency,
+      double yearFraction,
+      Currency sensitivityCurrency,
+      double sensitivity) {
+
+    ZeroRateBuffer buffer = lastZeroRate;
+    if (buffer == null || !buffer.curveCurrency.equals(curveCurrency) || !buffer.currency.equals(sensitivityCurrency)) {
+      ArgChecker.notNull(curveCurrency, "curveCurrency");
+      ArgChecker.notNull(sensitivityCurrency, "sensitivityCurrency");
+      buffer = zeroRates.computeIfAbsent(
+          Pair.of(curveCurrency, sensitivityCurrency), key -> new ZeroRateBuffer(curveCurrency, sensitivityCurrency));
+      lastZeroRate = buffer;
+    }
+    buffer.add(yearFraction, sensitivity);
+    return this;
+  }
+
+  /**
+   * Adds a sensitivity to an Ibor rate, without creating an {@link IborRateSensitivity}.
+   * <p>
+   * The sensitivity is merged with any existing sensitivity to the same observation.
+   *
+   * @param observation  the rate observation
+   * @param sensitivityCurrency  the currency of the sensitivity
+   * @param sensitivity  the value of the sensitivity
+   * @return {@code this}, for method chaining
+   */
+  public PointSensitivityAccumulator addIborRate(
+      IborIndexObservation observation,
+      Currency sensitivityCurrency,
+      double sensitivity) {
+
+    ArgChecker.notNull(observation, "observation");
+    IborIndex index = observation.getIndex();
+    IborRateBuffer buffer = lastIborRate;
+    if (buffer == null || !buffer.index.equals(index) || !buffer.currency.equals(sensitivityCurrency)) {
+      ArgChecker.notNull(sensitivityCurrency, "sensitivityCurrency");
+      buffer = iborRates.computeIfAbsent(
+          Pair.of(index, sensitivityCurrency), key -> new IborRateBuffer(index, sensitivityCurrency));
+      lastIborRate = buffer;
+    }
+    buffer.add(observation, sensitivity);
+    return this;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Normalizes the point sensitivities by sorting and merging in place.
+   * <p>
+   * Any two entries that represent the same curve query are merged, summing the sensitivity value.
+   *
+   * @return {@code this}, for method chaining
+   */
+  public PointSensitivityAccumulator normalize() {
+    for (ZeroRateBuffer buffer : zeroRates.values()) {
+      buffer.normalize();
+    }
+    return this;
+  }
+
+  /**
+   * Builds the normalized point sensitivities.
+   * <p>
+   * This creates a point sensitivity object for each merged entry.
+   * The result is equal to {@link PointSensitivities#normalized()} of the sensitivities that were added.
+   *
+   * @return the point sensitivities
+   */
+  public PointSensitivities build() {
+    normalize();
+    List<PointSensitivity> result = new ArrayList<>(size());
+    for (ZeroRateBuffer buffer : zeroRates.values()) {
+      for (int i = 0; i < buffer.size; i++) {
+        result.add(ZeroRateSensitivity.of(
+            buffer.curveCurrency, buffer.yearFractions[i], buffer.currency, buffer.sensitivities[i]));
+      }
+    }
+    for (IborRateBuffer buffer : iborRates.values()) {
+      for (int i = 0; i < buffer.size; i++) {
+        result.add(IborRateSensitivity.of(buffer.observations[i], buffer.currency, buffer.sensitivities[i]));
+      }
+    }
+    result.addAll(others);
+    return PointSensitivities.of(result).normalized();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Computes the parameter sensitivity.
+   * <p>
+   * This computes the {@link CurrencyParameterSensitivities} associated with the accumulated sensitivities.
+   * The result is the same as {@link RatesProvider#parameterSensitivity(PointSensitivities)}.
+   * <p>
+   * Each buffer of zero rate sensitivities is converted in one call to the discount factors.
+   * Ibor rate sensitivities based on discount factors are converted to the equivalent zero rate
+   * sensitivities at the start and end of each observation and handled in the same way.
+   *
+   * @param provider  the rates provider
+   * @return the sensitivity to the curve parameters
+   */
+  public CurrencyParameterSensitivities parameterSensitivity(RatesProvider provider) {
+    ArgChecker.notNull(provider, "provider");
+    normalize();
+    CurrencyParameterSensitivities sens = CurrencyParameterSensitivities.empty();
+    for (ZeroRateBuffer buffer : zeroRates.values()) {
+      DiscountFactors factors = provider.discountFactors(buffer.curveCurrency);
+      sens = sens.combinedWith(factors.parameterSensitivity(
+          buffer.currency,
+          DoubleArray.copyOf(buffer.yearFractions, 0, buffer.size),
+          DoubleArray.copyOf(buffer.sensitivities, 0, buffer.size)));
+    }
+    for (IborRateBuffer buffer : iborRates.values()) {
+      sens = sens.combinedWith(buffer.parameterSensitivity(provider.iborIndexRates(buffer.index)));
+    }
+    for (PointSensitivity point : others) {
+      sens = sens.combinedWith(parameterSensitivity(provider, point));
+    }
+    return sens;
+  }
+
+  // converts a point sensitivity that is not held in a buffer
+  private static CurrencyParameterSensitivities parameterSensitivity(RatesProvider provider, PointSensitivity point) {
+    if (point instanceof OvernightRateSensitivity) {
+      OvernightRateSensitivity pt = (OvernightRateSensitivity) point;
+      OvernightIndexRates rates = provider.overnightIndexRates(pt.getIndex());
+      return rates.parameterSensitivity(pt);
+
+    } else if (point instanceof FxIndexSensitivity) {
+      FxIndexSensitivity pt = (FxIndexSensitivity) point;
+      FxIndexRates rates = provider.fxIndexRates(pt.getIndex());
+      return rates.parameterSensitivity(pt);
+
+    } else if (point instanceof InflationRateSensitivity) {
+      InflationRateSensitivity pt = (InflationRateSensitivity) point;
+      PriceIndexValues rates = provider.priceIndexValues(pt.getIndex());
+      return rates.parameterSensitivity(pt);
+
+    } else if (point instanceof FxForwardSensitivity) {
+      FxForwardSensitivity pt = (FxForwardSensitivity) point;
+      FxForwardRates rates = provider.fxForwardRates(pt.getCurrencyPair());
+      return rates.parameterSensitivity(pt);
+    }
+    return CurrencyParameterSensitivities.empty();
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return new StringBuilder(64)
+        .append("PointSensitivityAccumulator{size=")
+        .append(size())
+        .append('}')
+        .toString();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The zero rate sensitivities to a single curve in a single currency.
+   * <p>
+   * Points are appended to the buffer and merged when normalized.
+   */
+  private static final class ZeroRateBuffer {
+
+    private final Currency curveCurrency;
+    private final Currency currency;
+    private double[] yearFractions = new double[INITIAL_CAPACITY];
+    private double[] sensitivities = new double[INITIAL_CAPACITY];
+    private int size;
+    private boolean normalized = true;
+
+    private ZeroRateBuffer(Currency curveCurrency, Currency currency) {
+      this.curveCurrency = curveCurrency;
+      this.currency = currency;
+    }
+
+    // appends a point, growing the arrays if necessary
+    private void add(double yearFraction, double sensitivity) {
+      if (size == yearFractions.length) {
+        yearFractions = Arrays.copyOf(yearFractions, size * 2);
+        sensitivities = Arrays.copyOf(sensitivities, size * 2);
+      }
+      if (normalized && size > 0 && yearFraction <= yearFractions[size - 1]) {
+        normalized = false;
+      }
+      yearFractions[size] = yearFraction;
+      sensitivities[size] = sensitivity;
+      size++;
+    }
+
+    // sorts by year fraction and merges equal year fractions, compacting the arrays in place
+    private void normalize() {
+      if (normalized) {
+        return;
+      }
+      if (size < yearFractions.length) {
+        yearFractions = Arrays.copyOf(yearFractions, size);
+        sensitivities = Arrays.copyOf(sensitivities, size);
+      }
+      DoubleArrayMath.sortPairs(yearFractions, sensitivities);
+      int merged = 0;
+      for (int i = 1; i < size; i++) {
+        if (yearFractions[i] == yearFractions[merged]) {
+          sensitivities[merged] += sensitivities[i];
+        } else {
+          merged++;
+          yearFractions[merged] = yearFractions[i];
+          sensitivities[merged] = sensitivities[i];
+        }
+      }
+      size = merged + 1;
+      normalized = true;
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The Ibor rate sensitivities to a single index in a single currency.
+   * <p>
+   * Points are merged as they are added, keyed by the observation.
+   */
+  private static final class IborRateBuffer {
+
+    private final IborIndex index;
+    private final Currency currency;
+    private final Map<IborIndexObservation, Integer> slots = new HashMap<>();
+    private IborIndexObservation[] observations = new IborIndexObservation[INITIAL_CAPACITY];
+    private double[] sensitivities = new double[INITIAL_CAPACITY];
+    private int size;
+
+    private IborRateBuffer(IborIndex index, Currency currency) {
+      this.index = index;
+      this.currency = currency;
+    }
+
+    // adds a point, merging with an existing point for the same observation
+    private void add(IborIndexObservation observation, double sensitivity) {
+      Integer slot = slots.get(observation);
+      if (slot != null) {
+        sensitivities[slot] += sensitivity;
+        return;
+      }
+      if (size == observations.length) {
+        observations = Arrays.copyOf(observations, size * 2);
+        sensitivities = Arrays.copyOf(sensitivities, size * 2);
+      }
+      slots.put(observation, size);
+      observations[size] = observation;
+      sensitivities[size] = sensitivity;
+      size++;
+    }
+
+    // converts to parameter sensitivity
+    private CurrencyParameterSensitivities parameterSensitivity(IborIndexRates rates) {
+      if (!(rates instanceof DiscountIborIndexRates)) {
+        CurrencyParameterSensitivities sens = CurrencyParameterSensitivities.empty();
+        for (int i = 0; i < size; i++) {
+          sens = sens.combinedWith(
+              rates.parameterSensitivity(IborRateSensitivity.of(observations[i], currency, sensitivities[i])));
+        }
+        return sens;
+      }
+      // the forward rate is implied by the discount factors at the start and end of each observation
+      DiscountFactors discountFactors = ((DiscountIborIndexRates) rates).getDiscountFactors();
+      double[] yearFractions = new double[size * 2];
+      double[] zeroRateSens = new double[size * 2];
+      for (int i = 0; i < size; i++) {
+        LocalDate fixingStartDate = observations[i].getEffectiveDate();
+        LocalDate fixingEndDate = observations[i].getMaturityDate();
+        double accrualFactor = observations[i].getYearFraction();
+        double forwardBar = sensitivities[i];
+        double dfForwardStart = discountFactors.discountFactor(fixingStartDate);
+        double dfForwardEnd = discountFactors.discountFactor(fixingEndDate);
+        double dfStartBar = forwardBar / (accrualFactor * dfForwardEnd);
+        double dfEndBar = -forwardBar * dfForwardStart / (accrualFactor * dfForwardEnd * dfForwardEnd);
+        double startYearFraction = discountFactors.relativeYearFraction(fixingStartDate);
+        double endYearFraction = discountFactors.relativeYearFraction(fixingEndDate);
+        yearFractions[2 * i] = startYearFraction;
+        zeroRateSens[2 * i] =
+            discountFactors.zeroRatePointSensitivity(startYearFraction, currency).getSensitivity() * dfStartBar;
+        yearFractions[2 * i + 1] = endYearFraction;
+        zeroRateSens[2 * i + 1] =
+            discountFactors.zeroRatePointSensitivity(endYearFraction, currency).getSensitivity() * dfEndBar;
+      }
+      return discountFactors.parameterSensitivity(
+          currency, DoubleArray.ofUnsafe(yearFractions), DoubleArray.ofUnsafe(zeroRateSens));
+    }
+  }
+
+}
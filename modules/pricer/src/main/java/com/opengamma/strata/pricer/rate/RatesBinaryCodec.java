@@ -0,0 +1,531 @@
+/*
+ * Copyright (C) 2019 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.rate;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.joda.beans.Bean;
+import org.joda.beans.impl.flexi.FlexiBean;
+import org.joda.beans.ser.JodaBeanSer;
+
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.FxRateProvider;
+import com.opengamma.strata.basics.index.Index;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeriesStore;
+import com.opengamma.strata.market.curve.Curve;
+import com.opengamma.strata.market.curve.CurveGroupName;
+import com.opengamma.strata.market.curve.CurveMetadata;
+import com.opengamma.strata.market.curve.InterpolatedNodalCurve;
+import com.opengamma.strata.market.curve.RatesCurveGroup;
+import com.opengamma.strata.market.curve.interpolator.CurveExtrapolator;
+import com.opengamma.strata.market.curve.interpolator.CurveInterpolator;
+import com.opengamma.strata.market.param.ParameterMetadata;
+
+/**
+ * A compact binary format for curves, curve groups, rates providers and time-series.
+ * <p>
+ * This format is intended for sending calibrated market data between processes,
+ * where Joda-Beans XML or JSON is slow and large.
+ * <p>
+ * Each message starts with a header, followed by a dictionary of strings and a dictionary of beans.
+ * The string dictionary holds names, such as those of currencies, indices and interpolators.
+ * The bean dictionary holds curve metadata, excluding the parameter metadata, and each distinct item
+ * of parameter metadata, written together as a single Joda-Beans binary message. Each distinct string
+ * and bean is written once, no matter how many curves refer to it. Each distinct curve is also only written once.
+ * <p>
+ * The x-values and y-values of {@link InterpolatedNodalCurve} are written as raw 8-byte doubles,
+ * and are read in bulk. Other types of curve are held in the bean dictionary.
+ * Time-series are written in the format of {@link LocalDateDoubleTimeSeriesStore}, and the
+ * time-series that are read are views of the buffer, without copying.
+ * All numbers are little-endian.
+ * <p>
+ * When reading, the message starts at the position of the buffer, which is not changed.
+ * The buffer must not be modified while any time-series that was read from it is in use.
+ */
+public final class RatesBinaryCodec {
+
+  /**
+   * The marker at the start of each message.
+   */
+  private static final int MAGIC = 0x53524243;
+  /**
+   * The version of the format.
+   */
+  private static final int VERSION = 1;
+  /**
+   * The byte order.
+   */
+  private static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+  /**
+   * The kind of message holding a curve.
+   */
+  private static final int KIND_CURVE = 1;
+  /**
+   * The kind of message holding a curve group.
+   */
+  private static final int KIND_CURVE_GROUP = 2;
+  /**
+   * The kind of message holding a rates provider.
+   */
+  private static final int KIND_RATES_PROVIDER = 3;
+  /**
+   * The kind of message holding a time-series.
+   */
+  private static final int KIND_TIME_SERIES = 4;
+  /**
+   * The property of the bean dictionary holding the beans.
+   */
+  private static final String BEANS = "beans";
+  /**
+   * The curve type of an interpolated nodal curve.
+   */
+  private static final int CURVE_NODAL = 1;
+  /**
+   * The curve type of a curve written as a bean.
+   */
+  private static final int CURVE_BEAN = 2;
+
+  /**
+   * Restricted constructor.
+   */
+  private RatesBinaryCodec() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Writes a curve.
+   *
+   * @param curve  the curve
+   * @return the binary form of the curve
+   * @throws IllegalArgumentException if the curve cannot be written
+   */
+  public static byte[] writeCurve(Curve curve) {
+    ArgChecker.notNull(curve, "curve");
+    Writer writer = new Writer();
+    writer.writeCurves(ImmutableMap.of("", curve));
+    return writer.toByteArray(KIND_CURVE);
+  }
+
+  /**
+   * Reads a curve.
+   *
+   * @param buffer  the buffer, positioned at the start of the binary form of the curve
+   * @return the curve
+   * @throws IllegalArgumentException if the buffer does not contain a curve
+   */
+  public static Curve readCurve(ByteBuffer buffer) {
+    Reader reader = new Reader(buffer, KIND_CURVE);
+    return reader.readCurves().get("");
+  }
+
+  /**
+   * Writes a curve group.
+   *
+   * @param curveGroup  the curve group
+   * @return the binary form of the curve group
+   * @throws IllegalArgumentException if the curve group cannot be written
+   */
+  public static byte[] writeCurveGroup(RatesCurveGroup curveGroup) {
+    ArgChecker.notNull(curveGroup, "curveGroup");
+    Writer writer = new Writer();
+    writer.writeString(curveGroup.getName().getName());
+    writer.writeCurves(curveGroup.getDiscountCurves());
+    writer.writeCurves(curveGroup.getForwardCurves());
+    return writer.toByteArray(KIND_CURVE_GROUP);
+  }
+
+  /**
+   * Reads a curve group.
+   *
+   * @param buffer  the buffer, positioned at the start of the binary form of the curve group
+   * @return the curve group
+   * @throws IllegalArgumentException if the buffer does not contain a curve group
+   */
+  public static RatesCurveGroup readCurveGroup(ByteBuffer buffer) {
+    Reader reader = new Reader(buffer, KIND_CURVE_GROUP);
+    CurveGroupName name = CurveGroupName.of(reader.readString());
+    Map<Currency, Curve> discountCurves = new LinkedHashMap<>();
+    reader.readCurves().forEach((key, curve) -> discountCurves.put(Currency.of(key), curve));
+    Map<Index, Curve> forwardCurves = new LinkedHashMap<>();
+    reader.readCurves().forEach((key, curve) -> forwardCurves.put(Index.of(key), curve));
+    return RatesCurveGroup.of(name, discountCurves, forwardCurves);
+  }
+
+  /**
+   * Writes a rates provider.
+   * <p>
+   * The FX rate provider must be a bean, such as {@code FxMatrix}.
+   *
+   * @param ratesProvider  the rates provider
+   * @return the binary form of the rates provider
+   * @throws IllegalArgumentException if the rates provider cannot be written
+   */
+  public static byte[] writeRatesProvider(ImmutableRatesProvider ratesProvider) {
+    ArgChecker.notNull(ratesProvider, "ratesProvider");
+    Writer writer = new Writer();
+    writer.writeLong(ratesProvider.getValuationDate().toEpochDay());
+    writer.writeBean(ratesProvider.getFxRateProvider());
+    writer.writeCurves(ratesProvider.getDiscountCurves());
+    writer.writeCurves(ratesProvider.getIndexCurves());
+    writer.writeTimeSeries(ratesProvider.getTimeSeries());
+    return writer.toByteArray(KIND_RATES_PROVIDER);
+  }
+
+  /**
+   * Reads a rates provider.
+   * <p>
+   * The time-series of the rates provider are views of the buffer.
+   *
+   * @param buffer  the buffer, positioned at the start of the binary form of the rates provider
+   * @return the rates provider
+   * @throws IllegalArgumentException if the buffer does not contain a rates provider
+   */
+  public static ImmutableRatesProvider readRatesProvider(ByteBuffer buffer) {
+    Reader reader = new Reader(buffer, KIND_RATES_PROVIDER);
+    LocalDate valuationDate = LocalDate.ofEpochDay(reader.readLong());
+    FxRateProvider fxRateProvider = (FxRateProvider) reader.readBean();
+    Map<Currency, Curve> discountCurves = new LinkedHashMap<>();
+    reader.readCurves().forEach((key, curve) -> discountCurves.put(Currency.of(key), curve));
+    Map<Index, Curve> indexCurves = new LinkedHashMap<>();
+    reader.readCurves().forEach((key, curve) -> indexCurves.put(Index.of(key), curve));
+    Map<Index, LocalDateDoubleTimeSeries> timeSeries = new LinkedHashMap<>();
+    reader.readTimeSeries().forEach((key, series) -> timeSeries.put(Index.of(key), series));
+    return ImmutableRatesProvider.builder(valuationDate)
+        .fxRateProvider(fxRateProvider)
+        .discountCurves(discountCurves)
+        .indexCurves(indexCurves)
+        .timeSeries(timeSeries)
+        .build();
+  }
+
+  /**
+   * Writes a time-series.
+   *
+   * @param timeSeries  the time-series
+   * @return the binary form of the time-series
+   */
+  public static byte[] writeTimeSeries(LocalDateDoubleTimeSeries timeSeries) {
+    ArgChecker.notNull(timeSeries, "timeSeries");
+    Writer writer = new Writer();
+    writer.writeTimeSeries(ImmutableMap.of("", timeSeries));
+    return writer.toByteArray(KIND_TIME_SERIES);
+  }
+
+  /**
+   * Reads a time-series.
+   * <p>
+   * The time-series is a view of the buffer.
+   *
+   * @param buffer  the buffer, positioned at the start of the binary form of the time-series
+   * @return the time-series
+   * @throws IllegalArgumentException if the buffer does not contain a time-series
+   */
+  public static LocalDateDoubleTimeSeries readTimeSeries(ByteBuffer buffer) {
+    Reader reader = new Reader(buffer, KIND_TIME_SERIES);
+    return reader.readTimeSeries().get("");
+  }
+
+  //-------------------------------------------------------------------------
+  // writes the body of a message, collecting the strings and beans
+  private static final class Writer {
+    // the strings, mapped to their index in the dictionary
+    private final Map<String, Integer> strings = new LinkedHashMap<>();
+    // the beans, mapped to their index in the dictionary
+    private final Map<Object, Integer> beans = new HashMap<>();
+    // the beans, in dictionary order
+    private final List<Object> beanList = new ArrayList<>();
+    // the curves, mapped to their index in the message
+    private final Map<Curve, Integer> curves = new HashMap<>();
+    // the body
+    private ByteBuffer body = ByteBuffer.allocate(1024).order(ORDER);
+
+    // writes the curves, each distinct curve is only written once in the message
+    private void writeCurves(Map<?, ? extends Curve> curves) {
+      List<Curve> added = new ArrayList<>();
+      for (Curve curve : curves.values()) {
+        if (!this.curves.containsKey(curve)) {
+          this.curves.put(curve, this.curves.size());
+          added.add(curve);
+        }
+      }
+      writeInt(added.size());
+      for (Curve curve : added) {
+        writeCurve(curve);
+      }
+      writeInt(curves.size());
+      for (Entry<?, ? extends Curve> entry : curves.entrySet()) {
+        writeString(key(entry.getKey()));
+        writeInt(this.curves.get(entry.getValue()));
+      }
+    }
+
+    // writes a curve
+    private void writeCurve(Curve curve) {
+      if (curve instanceof InterpolatedNodalCurve) {
+        InterpolatedNodalCurve nodal = (InterpolatedNodalCurve) curve;
+        writeInt(CURVE_NODAL);
+        CurveMetadata metadata = nodal.getMetadata();
+        writeBean(metadata.withParameterMetadata(null));
+        List<ParameterMetadata> paramMetadata = metadata.getParameterMetadata().orElse(null);
+        writeInt(paramMetadata == null ? -1 : paramMetadata.size());
+        if (paramMetadata != null) {
+          for (ParameterMetadata param : paramMetadata) {
+            writeBean(param);
+          }
+        }
+        writeString(nodal.getInterpolator().getName());
+        writeString(nodal.getExtrapolatorLeft().getName());
+        writeString(nodal.getExtrapolatorRight().getName());
+        writeInt(nodal.getParameterCount());
+        writeDoubles(nodal.getXValues());
+        writeDoubles(nodal.getYValues());
+      } else {
+        writeInt(CURVE_BEAN);
+        writeBean(curve);
+      }
+    }
+
+    // writes the time-series, aligned so that they can be read without copying
+    private void writeTimeSeries(Map<?, LocalDateDoubleTimeSeries> timeSeries) {
+      Map<String, LocalDateDoubleTimeSeries> keyed = new LinkedHashMap<>();
+      timeSeries.forEach((key, series) -> keyed.put(key(key), series));
+      byte[] bytes = LocalDateDoubleTimeSeriesStore.toByteArray(keyed);
+      writeInt(bytes.length);
+      align();
+      ensureCapacity(bytes.length);
+      body.put(bytes);
+    }
+
+    // the string form of a key of a map
+    private String key(Object key) {
+      if (key instanceof Index) {
+        return ((Index) key).getName();
+      }
+      if (key instanceof Currency) {
+        return ((Currency) key).getCode();
+      }
+      return key.toString();
+    }
+
+    // writes a reference to a bean in the dictionary
+    private void writeBean(Object bean) {
+      Integer index = beans.get(bean);
+      if (index == null) {
+        if (!(bean instanceof Bean)) {
+          throw new IllegalArgumentException("Unable to write object that is not a bean: " + bean.getClass().getName());
+        }
+        index = beanList.size();
+        beanList.add(bean);
+        beans.put(bean, index);
+      }
+      writeInt(index);
+    }
+
+    // writes a reference to a string in the dictionary
+    private void writeString(String str) {
+      Integer index = strings.get(str);
+      if (index == null) {
+        index = strings.size();
+        strings.put(str, index);
+      }
+      writeInt(index);
+    }
+
+    private void writeInt(int value) {
+      ensureCapacity(4);
+      body.putInt(value);
+    }
+
+    private void writeLong(long value) {
+      ensureCapacity(8);
+      body.putLong(value);
+    }
+
+    // writes the doubles, aligned so that they can be read in bulk
+    private void writeDoubles(DoubleArray values) {
+      align();
+      ensureCapacity(values.size() * 8);
+      body.asDoubleBuffer().put(values.toArrayUnsafe());
+      body.position(body.position() + values.size() * 8);
+    }
+
+    // pads the body to an 8 byte boundary
+    private void align() {
+      int padding = -body.position() & 7;
+      ensureCapacity(padding);
+      body.position(body.position() + padding);
+    }
+
+    private void ensureCapacity(int length) {
+      if (body.remaining() < length) {
+        int capacity = Math.max(body.capacity() * 2, body.position() + length);
+        ByteBuffer grown = ByteBuffer.allocate(capacity).order(ORDER);
+        body.flip();
+        grown.put(body);
+        body = grown;
+      }
+    }
+
+    // writes the message, the header and dictionaries followed by the body on an 8 byte boundary
+    private byte[] toByteArray(int kind) {
+      List<byte[]> stringBytes = new ArrayList<>(strings.size());
+      int headerSize = 20;
+      for (String str : strings.keySet()) {
+        byte[] bytes = str.getBytes(UTF_8);
+        stringBytes.add(bytes);
+        headerSize += 4 + bytes.length;
+      }
+      FlexiBean dictionary = new FlexiBean();
+      dictionary.set(BEANS, beanList);
+      byte[] beanBytes = JodaBeanSer.COMPACT.binWriter().write(dictionary);
+      headerSize += beanBytes.length;
+      int bodyStart = (headerSize + 7) & ~7;
+      ByteBuffer buf = ByteBuffer.allocate(bodyStart + body.position()).order(ORDER);
+      buf.putInt(MAGIC).putInt(VERSION).putInt(kind);
+      buf.putInt(stringBytes.size());
+      for (byte[] bytes : stringBytes) {
+        buf.putInt(bytes.length).put(bytes);
+      }
+      buf.putInt(beanBytes.length).put(beanBytes);
+      buf.position(bodyStart);
+      buf.put(body.array(), 0, body.position());
+      return buf.array();
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  // reads the body of a message, using the strings and beans
+  private static final class Reader {
+    // the strings
+    private final String[] strings;
+    // the beans
+    private final Object[] beans;
+    // the body, starting on an 8 byte boundary
+    private final ByteBuffer body;
+    // the curves read so far
+    private final List<Curve> curves = new ArrayList<>();
+
+    private Reader(ByteBuffer buffer, int kind) {
+      ArgChecker.notNull(buffer, "buffer");
+      ByteBuffer buf = buffer.slice().order(ORDER);
+      ArgChecker.isTrue(
+          buf.remaining() >= 20 && buf.getInt() == MAGIC && buf.getInt() == VERSION,
+          "Buffer does not contain binary rates data");
+      int actualKind = buf.getInt();
+      ArgChecker.isTrue(actualKind == kind, "Buffer contains binary rates data of the wrong kind: {}", actualKind);
+      strings = new String[buf.getInt()];
+      for (int i = 0; i < strings.length; i++) {
+        byte[] bytes = new byte[buf.getInt()];
+        buf.get(bytes);
+        strings[i] = new String(bytes, UTF_8);
+      }
+      byte[] beanBytes = new byte[buf.getInt()];
+      buf.get(beanBytes);
+      beans = ((List<?>) JodaBeanSer.COMPACT.binReader().read(beanBytes, FlexiBean.class).get(BEANS)).toArray();
+      buf.position((buf.position() + 7) & ~7);
+      body = buf.slice().order(ORDER);
+    }
+
+    // reads the curves, keyed by the string form of the key
+    private Map<String, Curve> readCurves() {
+      int added = readInt();
+      for (int i = 0; i < added; i++) {
+        curves.add(readCurve());
+      }
+      int size = readInt();
+      Map<String, Curve> result = new LinkedHashMap<>();
+      for (int i = 0; i < size; i++) {
+        String key = readString();
+        result.put(key, curves.get(readInt()));
+      }
+      return result;
+    }
+
+    // reads a curve
+    private Curve readCurve() {
+      int type = readInt();
+      if (type == CURVE_BEAN) {
+        return (Curve) readBean();
+      }
+      ArgChecker.isTrue(type == CURVE_NODAL, "Unknown curve type in binary rates data: {}", type);
+      CurveMetadata metadata = (CurveMetadata) readBean();
+      int paramCount = readInt();
+      if (paramCount >= 0) {
+        List<ParameterMetadata> paramMetadata = new ArrayList<>(paramCount);
+        for (int i = 0; i < paramCount; i++) {
+          paramMetadata.add((ParameterMetadata) readBean());
+        }
+        metadata = metadata.withParameterMetadata(paramMetadata);
+      }
+      CurveInterpolator interpolator = CurveInterpolator.of(readString());
+      CurveExtrapolator extrapolatorLeft = CurveExtrapolator.of(readString());
+      CurveExtrapolator extrapolatorRight = CurveExtrapolator.of(readString());
+      int size = readInt();
+      DoubleArray xValues = readDoubles(size);
+      DoubleArray yValues = readDoubles(size);
+      return InterpolatedNodalCurve.of(metadata, xValues, yValues, interpolator, extrapolatorLeft, extrapolatorRight);
+    }
+
+    // reads the time-series, which are views of the buffer
+    private Map<String, LocalDateDoubleTimeSeries> readTimeSeries() {
+      int length = readInt();
+      align();
+      ByteBuffer storeBuf = body.slice();
+      storeBuf.limit(length);
+      body.position(body.position() + length);
+      LocalDateDoubleTimeSeriesStore store = LocalDateDoubleTimeSeriesStore.of(storeBuf);
+      Map<String, LocalDateDoubleTimeSeries> timeSeries = new LinkedHashMap<>();
+      for (String key : store.getKeys()) {
+        timeSeries.put(key, store.get(key));
+      }
+      return timeSeries;
+    }
+
+    private Object readBean() {
+      return beans[readInt()];
+    }
+
+    private String readString() {
+      return strings[readInt()];
+    }
+
+    private int readInt() {
+      return body.getInt();
+    }
+
+    private long readLong() {
+      return body.getLong();
+    }
+
+    // reads the doubles in bulk
+    private DoubleArray readDoubles(int size) {
+      align();
+      double[] values = new double[size];
+      body.asDoubleBuffer().get(values);
+      body.position(body.position() + size * 8);
+      return DoubleArray.ofUnsafe(values);
+    }
+
+    private void align() {
+      body.position((body.position() + 7) & ~7);
+    }
+  }
+
+}
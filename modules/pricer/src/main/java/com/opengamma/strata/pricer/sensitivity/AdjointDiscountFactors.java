@@ -0,0 +1,357 @@
+/*
+ * Copyright (C) 2019 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.sensitivity;
+
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import com.google.common.collect.ImmutableSet;
+
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.market.curve.ConstantCurve;
+import com.opengamma.strata.market.curve.Curve;
+import com.opengamma.strata.market.curve.CurveInfoType;
+import com.opengamma.strata.market.curve.InterpolatedNodalCurve;
+import com.opengamma.strata.market.curve.interpolator.CurveExtrapolator;
+import com.opengamma.strata.market.curve.interpolator.CurveExtrapolators;
+import com.opengamma.strata.market.curve.interpolator.CurveInterpolator;
+import com.opengamma.strata.market.curve.interpolator.CurveInterpolators;
+import com.opengamma.strata.market.param.CrossGammaParameterSensitivity;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivity;
+import com.opengamma.strata.market.param.ParameterMetadata;
+import com.opengamma.strata.math.impl.differentiation.AdjointTape;
+import com.opengamma.strata.pricer.DiscountFactors;
+import com.opengamma.strata.pricer.SimpleDiscountFactors;
+import com.opengamma.strata.pricer.ZeroRateDiscountFactors;
+import com.opengamma.strata.pricer.ZeroRatePeriodicDiscountFactors;
+
+/**
+ * Discount factors that record their use on an {@link AdjointTape}.
+ * <p>
+ * Each parameter of the underlying curve is an input of the tape.
+ * A pricing function records its calculation on the tape using the discount factors from this class.
+ * The first and second order sensitivities of the result to the curve parameters are then obtained
+ * from the recorded calculation, without repricing.
+ * <p>
+ * This provides an alternative to the finite difference approach of {@link CurveGammaCalculator}, which
+ * computes the sensitivities once for each bumped curve parameter.
+ * <p>
+ * The interpolated curve value is recorded using the value and parameter sensitivity of the curve.
+ * Where the curve is linear in its parameters, such as linear or natural cubic spline interpolation with
+ * flat or linear extrapolation, the curve value has no second order sensitivity.
+ * Where the curve is linear in the logarithm of its parameters, such as log-linear interpolation with
+ * flat, log-linear or exponential extrapolation, the second order sensitivity is derived analytically
+ * from the value and parameter sensitivity of the curve.
+ * <p>
+ * Curve interpolators do not provide a second order parameter sensitivity, thus for any other curve,
+ * such as log natural spline interpolation or linear extrapolation of log-linear interpolation,
+ * the second order sensitivity is obtained by central finite difference of the parameter sensitivity.
+ * The shifted curves are created once per instance, but each recorded curve value still evaluates
+ * the parameter sensitivity of two shifted curves for each parameter.
+ * <p>
+ * The supported discount factors are {@link ZeroRateDiscountFactors}, {@link SimpleDiscountFactors}
+ * and {@link ZeroRatePeriodicDiscountFactors}.
+ */
+public final class AdjointDiscountFactors {
+
+  /**
+   * The interpolators that are linear in the node values.
+   */
+  private static final Set<CurveInterpolator> LINEAR_INTERPOLATORS = ImmutableSet.of(
+      CurveInterpolators.LINEAR,
+      CurveInterpolators.DOUBLE_QUADRATIC,
+      CurveInterpolators.NATURAL_CUBIC_SPLINE,
+      CurveInterpolators.NATURAL_SPLINE,
+      CurveInterpolators.STEP_UPPER);
+  /**
+   * The extrapolators that are linear in the node values.
+   */
+  private static final Set<CurveExtrapolator> LINEAR_EXTRAPOLATORS = ImmutableSet.of(
+      CurveExtrapolators.FLAT,
+      CurveExtrapolators.LINEAR,
+      CurveExtrapolators.EXCEPTION,
+      CurveExtrapolators.INTERPOLATOR);
+  /**
+   * The interpolators that are linear in the logarithm of the node values.
+   */
+  private static final Set<CurveInterpolator> LOG_LINEAR_INTERPOLATORS = ImmutableSet.of(
+      CurveInterpolators.LOG_LINEAR);
+  /**
+   * The extrapolators that are linear in the logarithm of the node values when used with a log-linear interpolator.
+   */
+  private static final Set<CurveExtrapolator> LOG_LINEAR_EXTRAPOLATORS = ImmutableSet.of(
+      CurveExtrapolators.FLAT,
+      CurveExtrapolators.LOG_LINEAR,
+      CurveExtrapolators.EXPONENTIAL,
+      CurveExtrapolators.EXCEPTION,
+      CurveExtrapolators.INTERPOLATOR);
+  /**
+   * The parameter shift used to obtain the second order sensitivity of a non-linear curve.
+   */
+  private static final double SHIFT = 1.0e-5;
+
+  /**
+   * The tape.
+   */
+  private final AdjointTape tape;
+  /**
+   * The underlying discount factors.
+   */
+  private final DiscountFactors discountFactors;
+  /**
+   * The underlying curve.
+   */
+  private final Curve curve;
+  /**
+   * The tape variable of each curve parameter.
+   */
+  private final int[] parameters;
+  /**
+   * The index of the first parameter in the inputs of the tape.
+   */
+  private final int firstInput;
+  /**
+   * Whether the curve is linear in the logarithm of its parameters.
+   */
+  private final boolean logLinear;
+  /**
+   * The curve with each parameter shifted up, null unless the finite difference is needed.
+   */
+  private final Curve[] shiftedUp;
+  /**
+   * The curve with each parameter shifted down, null unless the finite difference is needed.
+   */
+  private final Curve[] shiftedDown;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance, recording the curve parameters as inputs of the tape.
+   *
+   * @param tape  the tape
+   * @param discountFactors  the discount factors
+   * @return the discount factors that record on the tape
+   * @throws IllegalArgumentException if the discount factors are not supported
+   */
+  public static AdjointDiscountFactors of(AdjointTape tape, DiscountFactors discountFactors) {
+    ArgChecker.notNull(tape, "tape");
+    ArgChecker.notNull(discountFactors, "discountFactors");
+    return new AdjointDiscountFactors(tape, discountFactors, curve(discountFactors));
+  }
+
+  // obtains the curve of the supported discount factors
+  private static Curve curve(DiscountFactors discountFactors) {
+    if (discountFactors instanceof ZeroRateDiscountFactors) {
+      return ((ZeroRateDiscountFactors) discountFactors).getCurve();
+    }
+    if (discountFactors instanceof SimpleDiscountFactors) {
+      return ((SimpleDiscountFactors) discountFactors).getCurve();
+    }
+    if (discountFactors instanceof ZeroRatePeriodicDiscountFactors) {
+      return ((ZeroRatePeriodicDiscountFactors) discountFactors).getCurve();
+    }
+    throw new IllegalArgumentException("Unsupported DiscountFactors type: " + discountFactors.getClass().getSimpleName());
+  }
+
+  // restricted constructor
+  private AdjointDiscountFactors(AdjointTape tape, DiscountFactors discountFactors, Curve curve) {
+    this.tape = tape;
+    this.discountFactors = discountFactors;
+    this.curve = curve;
+    this.firstInput = tape.getInputCount();
+    this.parameters = new int[curve.getParameterCount()];
+    for (int i = 0; i < parameters.length; i++) {
+      parameters[i] = tape.input(curve.getParameter(i));
+    }
+    this.logLinear = isLogLinear(curve);
+    if (logLinear || isLinear(curve)) {
+      this.shiftedUp = null;
+      this.shiftedDown = null;
+    } else {
+      this.shiftedUp = new Curve[parameters.length];
+      this.shiftedDown = new Curve[parameters.length];
+      for (int i = 0; i < parameters.length; i++) {
+        shiftedUp[i] = curve.withParameter(i, curve.getParameter(i) + SHIFT);
+        shiftedDown[i] = curve.withParameter(i, curve.getParameter(i) - SHIFT);
+      }
+    }
+  }
+
+  // checks if the curve is linear in its parameters, thus the curve value has no second order sensitivity
+  private static boolean isLinear(Curve curve) {
+    if (curve instanceof ConstantCurve) {
+      return true;
+    }
+    if (curve instanceof InterpolatedNodalCurve) {
+      InterpolatedNodalCurve nodalCurve = (InterpolatedNodalCurve) curve;
+      return LINEAR_INTERPOLATORS.contains(nodalCurve.getInterpolator()) &&
+          LINEAR_EXTRAPOLATORS.contains(nodalCurve.getExtrapolatorLeft()) &&
+          LINEAR_EXTRAPOLATORS.contains(nodalCurve.getExtrapolatorRight());
+    }
+    return false;
+  }
+
+  // checks if the curve is linear in the logarithm of its parameters
+  private static boolean isLogLinear(Curve curve) {
+    if (curve instanceof InterpolatedNodalCurve) {
+      InterpolatedNodalCurve nodalCurve = (InterpolatedNodalCurve) curve;
+      return LOG_LINEAR_INTERPOLATORS.contains(nodalCurve.getInterpolator()) &&
+          LOG_LINEAR_EXTRAPOLATORS.contains(nodalCurve.getExtrapolatorLeft()) &&
+          LOG_LINEAR_EXTRAPOLATORS.contains(nodalCurve.getExtrapolatorRight());
+    }
+    return false;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the tape.
+   *
+   * @return the tape
+   */
+  public AdjointTape getTape() {
+    return tape;
+  }
+
+  /**
+   * Gets the underlying discount factors.
+   *
+   * @return the discount factors
+   */
+  public DiscountFactors getDiscountFactors() {
+    return discountFactors;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Records the discount factor for the specified date.
+   *
+   * @param date  the date to discount to
+   * @return the tape variable of the discount factor
+   */
+  public int discountFactor(LocalDate date) {
+    return discountFactor(discountFactors.relativeYearFraction(date));
+  }
+
+  /**
+   * Records the discount factor for the specified year fraction.
+   * <p>
+   * The value matches {@link DiscountFactors#discountFactor(double)}.
+   *
+   * @param yearFraction  the year fraction
+   * @return the tape variable of the discount factor
+   */
+  public int discountFactor(double yearFraction) {
+    int y = curveValue(yearFraction);
+    if (discountFactors instanceof ZeroRateDiscountFactors) {
+      return tape.exp(tape.multiply(y, -yearFraction));
+    }
+    if (discountFactors instanceof SimpleDiscountFactors) {
+      return y;
+    }
+    int frequency = curve.getMetadata().getInfo(CurveInfoType.COMPOUNDING_PER_YEAR);
+    return tape.pow(tape.add(tape.multiply(y, 1d / frequency), 1d), -yearFraction * frequency);
+  }
+
+  // records the curve value, with first order derivatives given by the parameter sensitivity
+  // the second order derivatives are analytic if the curve is linear or log-linear in its parameters,
+  // otherwise they are the finite difference of the parameter sensitivity
+  private int curveValue(double x) {
+    DoubleArray derivatives = curve.yValueParameterSensitivity(x).getSensitivity();
+    int size = derivatives.size();
+    int[] variables = size == parameters.length ? parameters : Arrays.copyOf(parameters, size);
+    if (logLinear) {
+      return logLinearCurveValue(variables, derivatives, curve.yValue(x));
+    }
+    if (shiftedUp == null) {
+      return tape.linear(variables, derivatives, curve.yValue(x));
+    }
+    double[][] secondDerivatives = new double[size][size];
+    for (int j = 0; j < size; j++) {
+      DoubleArray up = shiftedUp[j].yValueParameterSensitivity(x).getSensitivity();
+      DoubleArray down = shiftedDown[j].yValueParameterSensitivity(x).getSensitivity();
+      for (int i = 0; i < size; i++) {
+        secondDerivatives[i][j] = (up.get(i) - down.get(i)) / (2d * SHIFT);
+      }
+    }
+    // symmetrize, removing the asymmetry due to the finite difference
+    for (int i = 0; i < size; i++) {
+      for (int j = 0; j < i; j++) {
+        double average = 0.5 * (secondDerivatives[i][j] + secondDerivatives[j][i]);
+        secondDerivatives[i][j] = average;
+        secondDerivatives[j][i] = average;
+      }
+    }
+    return tape.function(variables, curve.yValue(x), derivatives, DoubleMatrix.ofUnsafe(secondDerivatives));
+  }
+
+  // records the value of a curve that is the exponential of a linear function of the logarithm of the parameters
+  // with y = exp(sum(w[i] * log(p[i]))), the first derivatives are d[i] = y * w[i] / p[i]
+  // thus the second derivatives are d[i] * d[j] / y, less d[i] / p[i] on the diagonal
+  private int logLinearCurveValue(int[] variables, DoubleArray derivatives, double value) {
+    int size = derivatives.size();
+    double[][] secondDerivatives = new double[size][size];
+    for (int i = 0; i < size; i++) {
+      double derivative = derivatives.get(i);
+      if (derivative != 0d) {
+        for (int j = 0; j < size; j++) {
+          secondDerivatives[i][j] = derivative * derivatives.get(j) / value;
+        }
+        secondDerivatives[i][i] -= derivative / curve.getParameter(i);
+      }
+    }
+    return tape.function(variables, value, derivatives, DoubleMatrix.ofUnsafe(secondDerivatives));
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Computes the sensitivity of a variable to the curve parameters.
+   *
+   * @param variable  the tape variable, such as a present value
+   * @param currency  the currency of the sensitivity
+   * @return the parameter sensitivity
+   */
+  public CurrencyParameterSensitivity parameterSensitivity(int variable, Currency currency) {
+    DoubleArray derivatives = tape.derivatives(variable).getDerivatives();
+    return curve.createParameterSensitivity(currency, derivatives.subArray(firstInput, firstInput + parameters.length));
+  }
+
+  /**
+   * Computes the second order sensitivity of a variable to the curve parameters.
+   * <p>
+   * This is the intra-curve cross gamma, equivalent to
+   * {@link CurveGammaCalculator#calculateCrossGammaIntraCurve} for this curve.
+   *
+   * @param variable  the tape variable, such as a present value
+   * @param currency  the currency of the sensitivity
+   * @return the cross gamma
+   */
+  public CrossGammaParameterSensitivity crossGamma(int variable, Currency currency) {
+    DoubleMatrix secondDerivatives = tape.secondDerivatives(variable);
+    DoubleMatrix gamma = DoubleMatrix.of(
+        parameters.length, parameters.length, (i, j) -> secondDerivatives.get(firstInput + i, firstInput + j));
+    List<ParameterMetadata> metadata = IntStream.range(0, parameters.length)
+        .mapToObj(i -> curve.getParameterMetadata(i))
+        .collect(toImmutableList());
+    return CrossGammaParameterSensitivity.of(curve.getName(), metadata, currency, gamma);
+  }
+
+  @Override
+  public String toString() {
+    return new StringBuilder(64)
+        .append("AdjointDiscountFactors{curve=")
+        .append(curve.getName())
+        .append('}')
+        .toString();
+  }
+
+}
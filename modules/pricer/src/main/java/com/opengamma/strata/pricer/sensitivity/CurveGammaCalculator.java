@@ -53,6 +53,9 @@ import com.opengamma.strata.pricer.rate.RatesProvider;
  * By default the gamma is computed using a one basis-point shift and a forward finite difference.
  * The results themselves are not scaled (they represent the second order derivative).
  * <p>
+ * Where the pricing can be recorded using {@link AdjointDiscountFactors}, the intra-curve cross gamma
+ * can instead be computed by Algorithmic Differentiation, without computing the delta for each bumped parameter.
+ * <p>
  * Reference: Interest Rate Cross-gamma for Single and Multiple Curves. OpenGamma quantitative research 15, July 14
  */
 public final class CurveGammaCalculator {
@@ -0,0 +1,328 @@
+/*
+ * Copyright (C) 2019 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.swaption;
+
+import java.io.Serializable;
+import java.util.List;
+
+import org.joda.beans.ImmutableBean;
+import org.joda.beans.gen.BeanDefinition;
+import org.joda.beans.gen.PropertyDefinition;
+
+import com.google.common.collect.ImmutableList;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import org.joda.beans.Bean;
+import org.joda.beans.BeanBuilder;
+import org.joda.beans.JodaBeanUtils;
+import org.joda.beans.MetaBean;
+import org.joda.beans.MetaProperty;
+import org.joda.beans.impl.direct.DirectMetaBean;
+import org.joda.beans.impl.direct.DirectMetaProperty;
+import org.joda.beans.impl.direct.DirectMetaPropertyMap;
+import org.joda.beans.impl.direct.DirectPrivateBeanBuilder;
+
+/**
+ * Calibration result for SABR swaption volatilities.
+ * <p>
+ * This stores the calibrated volatilities {@link SabrParametersSwaptionVolatilities} and
+ * the convergence statistics of each calibrated expiry and tenor.
+ */
+@BeanDefinition(builderScope = "private")
+public final class SabrSwaptionCalibrationResult
+    implements ImmutableBean, Serializable {
+
+  /**
+   * The calibrated SABR volatilities.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final SabrParametersSwaptionVolatilities volatilities;
+  /**
+   * The convergence statistics, one for each calibrated expiry and tenor.
+   * <p>
+   * The statistics are ordered by tenor, then by expiry, as in the raw data.
+   * Expiries and tenors that were skipped are not included.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final ImmutableList<SabrSwaptionNodeStatistics> nodeStatistics;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance.
+   * 
+   * @param volatilities  the calibrated volatilities
+   * @param nodeStatistics  the convergence statistics of each calibrated expiry and tenor
+   * @return the instance
+   */
+  public static SabrSwaptionCalibrationResult of(
+      SabrParametersSwaptionVolatilities volatilities,
+      List<SabrSwaptionNodeStatistics> nodeStatistics) {
+
+    return new SabrSwaptionCalibrationResult(volatilities, ImmutableList.copyOf(nodeStatistics));
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the total number of least square fits that were run.
+   * 
+   * @return the total number of fits
+   */
+  public int getTotalFitCount() {
+    return nodeStatistics.stream().mapToInt(SabrSwaptionNodeStatistics::getFitCount).sum();
+  }
+
+  //------------------------- AUTOGENERATED START -------------------------
+  /**
+   * The meta-bean for {@code SabrSwaptionCalibrationResult}.
+   * @return the meta-bean, not null
+   */
+  public static SabrSwaptionCalibrationResult.Meta meta() {
+    return SabrSwaptionCalibrationResult.Meta.INSTANCE;
+  }
+
+  static {
+    MetaBean.register(SabrSwaptionCalibrationResult.Meta.INSTANCE);
+  }
+
+  /**
+   * The serialization version id.
+   */
+  private static final long serialVersionUID = 1L;
+
+  private SabrSwaptionCalibrationResult(
+      SabrParametersSwaptionVolatilities volatilities,
+      List<SabrSwaptionNodeStatistics> nodeStatistics) {
+    JodaBeanUtils.notNull(volatilities, "volatilities");
+    JodaBeanUtils.notNull(nodeStatistics, "nodeStatistics");
+    this.volatilities = volatilities;
+    this.nodeStatistics = ImmutableList.copyOf(nodeStatistics);
+  }
+
+  @Override
+  public SabrSwaptionCalibrationResult.Meta metaBean() {
+    return SabrSwaptionCalibrationResult.Meta.INSTANCE;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the calibrated SABR volatilities.
+   * @return the value of the property, not null
+   */
+  public SabrParametersSwaptionVolatilities getVolatilities() {
+    return volatilities;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the convergence statistics, one for each calibrated expiry and tenor.
+   * <p>
+   * The statistics are ordered by tenor, then by expiry, as in the raw data.
+   * Expiries and tenors that were skipped are not included.
+   * @return the value of the property, not null
+   */
+  public ImmutableList<SabrSwaptionNodeStatistics> getNodeStatistics() {
+    return nodeStatistics;
+  }
+
+  //-----------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj != null && obj.getClass() == this.getClass()) {
+      SabrSwaptionCalibrationResult other = (SabrSwaptionCalibrationResult) obj;
+      return JodaBeanUtils.equal(volatilities, other.volatilities) &&
+          JodaBeanUtils.equal(nodeStatistics, other.nodeStatistics);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = getClass().hashCode();
+    hash = hash * 31 + JodaBeanUtils.hashCode(volatilities);
+    hash = hash * 31 + JodaBeanUtils.hashCode(nodeStatistics);
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder buf = new StringBuilder(96);
+    buf.append("SabrSwaptionCalibrationResult{");
+    buf.append("volatilities").append('=').append(volatilities).append(',').append(' ');
+    buf.append("nodeStatistics").append('=').append(JodaBeanUtils.toString(nodeStatistics));
+    buf.append('}');
+    return buf.toString();
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * The meta-bean for {@code SabrSwaptionCalibrationResult}.
+   */
+  public static final class Meta extends DirectMetaBean {
+    /**
+     * The singleton instance of the meta-bean.
+     */
+    static final Meta INSTANCE = new Meta();
+
+    /**
+     * The meta-property for the {@code volatilities} property.
+     */
+    private final MetaProperty<SabrParametersSwaptionVolatilities> volatilities = DirectMetaProperty.ofImmutable(
+        this, "volatilities", SabrSwaptionCalibrationResult.class, SabrParametersSwaptionVolatilities.class);
+    /**
+     * The meta-property for the {@code nodeStatistics} property.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes" })
+    private final MetaProperty<ImmutableList<SabrSwaptionNodeStatistics>> nodeStatistics = DirectMetaProperty.ofImmutable(
+        this, "nodeStatistics", SabrSwaptionCalibrationResult.class, (Class) ImmutableList.class);
+    /**
+     * The meta-properties.
+     */
+    private final Map<String, MetaProperty<?>> metaPropertyMap$ = new DirectMetaPropertyMap(
+        this, null,
+        "volatilities",
+        "nodeStatistics");
+
+    /**
+     * Restricted constructor.
+     */
+    private Meta() {
+    }
+
+    @Override
+    protected MetaProperty<?> metaPropertyGet(String propertyName) {
+      switch (propertyName.hashCode()) {
+        case -625639549:  // volatilities
+          return volatilities;
+        case -1461051195:  // nodeStatistics
+          return nodeStatistics;
+      }
+      return super.metaPropertyGet(propertyName);
+    }
+
+    @Override
+    public BeanBuilder<? extends SabrSwaptionCalibrationResult> builder() {
+      return new SabrSwaptionCalibrationResult.Builder();
+    }
+
+    @Override
+    public Class<? extends SabrSwaptionCalibrationResult> beanType() {
+      return SabrSwaptionCalibrationResult.class;
+    }
+
+    @Override
+    public Map<String, MetaProperty<?>> metaPropertyMap() {
+      return metaPropertyMap$;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * The meta-property for the {@code volatilities} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<SabrParametersSwaptionVolatilities> volatilities() {
+      return volatilities;
+    }
+
+    /**
+     * The meta-property for the {@code nodeStatistics} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<ImmutableList<SabrSwaptionNodeStatistics>> nodeStatistics() {
+      return nodeStatistics;
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    protected Object propertyGet(Bean bean, String propertyName, boolean quiet) {
+      switch (propertyName.hashCode()) {
+        case -625639549:  // volatilities
+          return ((SabrSwaptionCalibrationResult) bean).getVolatilities();
+        case -1461051195:  // nodeStatistics
+          return ((SabrSwaptionCalibrationResult) bean).getNodeStatistics();
+      }
+      return super.propertyGet(bean, propertyName, quiet);
+    }
+
+    @Override
+    protected void propertySet(Bean bean, String propertyName, Object newValue, boolean quiet) {
+      metaProperty(propertyName);
+      if (quiet) {
+        return;
+      }
+      throw new UnsupportedOperationException("Property cannot be written: " + propertyName);
+    }
+
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * The bean-builder for {@code SabrSwaptionCalibrationResult}.
+   */
+  private static final class Builder extends DirectPrivateBeanBuilder<SabrSwaptionCalibrationResult> {
+
+    private SabrParametersSwaptionVolatilities volatilities;
+    private List<SabrSwaptionNodeStatistics> nodeStatistics = ImmutableList.of();
+
+    /**
+     * Restricted constructor.
+     */
+    private Builder() {
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public Object get(String propertyName) {
+      switch (propertyName.hashCode()) {
+        case -625639549:  // volatilities
+          return volatilities;
+        case -1461051195:  // nodeStatistics
+          return nodeStatistics;
+        default:
+          throw new NoSuchElementException("Unknown property: " + propertyName);
+      }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Builder set(String propertyName, Object newValue) {
+      switch (propertyName.hashCode()) {
+        case -625639549:  // volatilities
+          this.volatilities = (SabrParametersSwaptionVolatilities) newValue;
+          break;
+        case -1461051195:  // nodeStatistics
+          this.nodeStatistics = (List<SabrSwaptionNodeStatistics>) newValue;
+          break;
+        default:
+          throw new NoSuchElementException("Unknown property: " + propertyName);
+      }
+      return this;
+    }
+
+    @Override
+    public SabrSwaptionCalibrationResult build() {
+      return new SabrSwaptionCalibrationResult(
+          volatilities,
+          nodeStatistics);
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public String toString() {
+      StringBuilder buf = new StringBuilder(96);
+      buf.append("SabrSwaptionCalibrationResult.Builder{");
+      buf.append("volatilities").append('=').append(JodaBeanUtils.toString(volatilities)).append(',').append(' ');
+      buf.append("nodeStatistics").append('=').append(JodaBeanUtils.toString(nodeStatistics));
+      buf.append('}');
+      return buf.toString();
+    }
+
+  }
+
+  //-------------------------- AUTOGENERATED END --------------------------
+}
@@ -5,13 +5,19 @@
  */
 package com.opengamma.strata.pricer.swaption;
 
+import static com.opengamma.strata.collect.Guavate.toImmutableMap;
+import static java.util.stream.Collectors.toList;
+
 import java.time.LocalDate;
 import java.time.Period;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.BitSet;
 import java.util.List;
+import java.util.Map;
 import java.util.TreeMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Function;
 
 import com.opengamma.strata.basics.ReferenceData;
@@ -21,6 +27,7 @@ import com.opengamma.strata.basics.date.Tenor;
 import com.opengamma.strata.basics.value.ValueDerivatives;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.ParallelEvaluator;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.collect.tuple.Pair;
@@ -67,16 +74,36 @@ public final class SabrSwaptionCalibrator {
    * The reference data.
    */
   private final ReferenceData refData;
+  /**
+   * The evaluator used to calibrate the expiries and tenors, optionally in parallel.
+   */
+  private final ParallelEvaluator evaluator;
 
   /** The root-finder used in the Alpha calibration to ATM volatility. */
   private static final NewtonRaphsonSingleRootFinder ROOT_FINDER = new NewtonRaphsonSingleRootFinder();
+  /**
+   * The chi-square per strike below which a fit from a warm start is always kept.
+   * <p>
+   * The fit errors are set to 1bp of volatility, thus this is a root mean square error of 3bp.
+   */
+  private static final double WARM_START_CHI_SQUARE_PER_STRIKE = 9d;
+  /**
+   * The maximum ratio between the chi-square of a fit from a warm start and the chi-square
+   * of the fit the warm start is taken from for the fit to be kept.
+   */
+  private static final double WARM_START_CHI_SQUARE_RATIO = 1.5d;
+  /** The limit applied to the correlation of the warm start. */
+  private static final double WARM_START_RHO_LIMIT = 0.99;
 
   /**
    * The default instance of the class.
    */
   public static final SabrSwaptionCalibrator DEFAULT =
       new SabrSwaptionCalibrator(
-          SabrVolatilityFormula.hagan(), DiscountingSwapProductPricer.DEFAULT, ReferenceData.standard());
+          SabrVolatilityFormula.hagan(),
+          DiscountingSwapProductPricer.DEFAULT,
+          ReferenceData.standard(),
+          ParallelEvaluator.SERIAL);
 
   //-------------------------------------------------------------------------
   /**
@@ -92,7 +119,8 @@ public final class SabrSwaptionCalibrator {
       SabrVolatilityFormula sabrVolatilityFormula,
       DiscountingSwapProductPricer swapPricer) {
 
-    return new SabrSwaptionCalibrator(sabrVolatilityFormula, swapPricer, ReferenceData.standard());
+    return new SabrSwaptionCalibrator(
+        sabrVolatilityFormula, swapPricer, ReferenceData.standard(), ParallelEvaluator.SERIAL);
   }
 
   /**
@@ -110,17 +138,51 @@ public final class SabrSwaptionCalibrator {
       DiscountingSwapProductPricer swapPricer,
       ReferenceData refData) {
 
-    return new SabrSwaptionCalibrator(sabrVolatilityFormula, swapPricer, refData);
+    return new SabrSwaptionCalibrator(sabrVolatilityFormula, swapPricer, refData, ParallelEvaluator.SERIAL);
   }
 
   private SabrSwaptionCalibrator(
       SabrVolatilityFormula sabrVolatilityFormula,
       DiscountingSwapProductPricer swapPricer,
-      ReferenceData refData) {
+      ReferenceData refData,
+      ParallelEvaluator evaluator) {
 
     this.sabrVolatilityFormula = ArgChecker.notNull(sabrVolatilityFormula, "sabrVolatilityFormula");
     this.swapPricer = ArgChecker.notNull(swapPricer, "swapPricer");
     this.refData = ArgChecker.notNull(refData, "refData");
+    this.evaluator = evaluator;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns a calibrator that calibrates the expiries and tenors in parallel using the common fork-join pool.
+   * <p>
+   * The expiries and tenors of a cube are calibrated independently, thus the result is
+   * the same as calibrating them one at a time.
+   * A parallelism of one means that the expiries and tenors are calibrated on the calling thread.
+   *
+   * @param parallelism  the maximum number of expiries and tenors that are calibrated at the same time
+   * @return a calibrator that calibrates in parallel
+   */
+  public SabrSwaptionCalibrator withParallelism(int parallelism) {
+    return withParallelism(ForkJoinPool.commonPool(), parallelism);
+  }
+
+  /**
+   * Returns a calibrator that calibrates the expiries and tenors in parallel using the specified executor.
+   * <p>
+   * The expiries and tenors of a cube are calibrated independently, thus the result is
+   * the same as calibrating them one at a time.
+   * The calling thread takes part in the calibration, see {@link ParallelEvaluator}.
+   * It is the caller's responsibility to manage the life-cycle of the executor.
+   *
+   * @param executor  the executor used to calibrate the expiries and tenors
+   * @param parallelism  the maximum number of expiries and tenors that are calibrated at the same time
+   * @return a calibrator that calibrates in parallel
+   */
+  public SabrSwaptionCalibrator withParallelism(Executor executor, int parallelism) {
+    return new SabrSwaptionCalibrator(
+        sabrVolatilityFormula, swapPricer, refData, ParallelEvaluator.of(executor, parallelism));
   }
 
   //-------------------------------------------------------------------------
@@ -178,7 +240,6 @@ public final class SabrSwaptionCalibrator {
    *   expiries/tenors which throw MathException
    * @return the SABR volatility object
    */
-  @SuppressWarnings("null")
   public SabrParametersSwaptionVolatilities calibrateWithFixedBetaAndShift(
       SabrSwaptionDefinition definition,
       ZonedDateTime calibrationDateTime,
@@ -188,78 +249,222 @@ public final class SabrSwaptionCalibrator {
       Surface shiftSurface,
       boolean stopOnMathException) {
 
+    return calibrate(
+        definition,
+        calibrationDateTime,
+        data,
+        ratesProvider,
+        betaSurface,
+        shiftSurface,
+        false,
+        null,
+        stopOnMathException).getVolatilities();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calibrate SABR parameters to a set of raw swaption data, starting each fit from the previous expiry.
+   * <p>
+   * The SABR parameters are calibrated with fixed beta and fixed shift surfaces.
+   * The raw data can be (shifted) log-normal volatilities, normal volatilities or option prices
+   * <p>
+   * For each tenor, the expiries are calibrated in order. The fit of an expiry is started from the
+   * calibrated parameters of the previous expiry. The fit is kept if its chi-square is close to the one
+   * of the previous expiry, otherwise the starting points of {@link #calibrateWithFixedBetaAndShift} are also tried.
+   * The first expiry of each tenor is only calibrated from those starting points.
+   * When parallelism is enabled, the tenors are calibrated in parallel.
+   * <p>
+   * This method offers the flexibility to skip the data sets that throw a MathException (stopOnMathException = false).
+   * The option to skip those data sets should be use with care, as part of the input data may be unused in the output.
+   *
+   * @param definition  the definition of the calibration to be performed
+   * @param calibrationDateTime  the data and time of the calibration
+   * @param data  the map of raw option data, keyed by tenor
+   * @param ratesProvider  the rate provider used to compute the swap forward rates
+   * @param betaSurface  the beta surface
+   * @param shiftSurface  the shift surface
+   * @param stopOnMathException  flag indicating if the calibration should stop on math exceptions or skip the
+   *   expiries/tenors which throw MathException
+   * @return the SABR volatility object and the convergence statistics
+   */
+  public SabrSwaptionCalibrationResult calibrateWithFixedBetaAndShiftWarmStart(
+      SabrSwaptionDefinition definition,
+      ZonedDateTime calibrationDateTime,
+      TenorRawOptionData data,
+      RatesProvider ratesProvider,
+      Surface betaSurface,
+      Surface shiftSurface,
+      boolean stopOnMathException) {
+
+    return calibrate(
+        definition,
+        calibrationDateTime,
+        data,
+        ratesProvider,
+        betaSurface,
+        shiftSurface,
+        true,
+        null,
+        stopOnMathException);
+  }
+
+  /**
+   * Calibrate SABR parameters to a set of raw swaption data, starting each fit from a previous calibration.
+   * <p>
+   * The SABR parameters are calibrated with fixed beta and fixed shift surfaces.
+   * The raw data can be (shifted) log-normal volatilities, normal volatilities or option prices
+   * <p>
+   * The fit of each expiry and tenor is started from the alpha, rho and nu of the previous calibration,
+   * typically the calibration of the previous day. The fit is kept if its chi-square is close to the one
+   * of the same expiry and tenor in the previous calibration, otherwise the starting points of
+   * {@link #calibrateWithFixedBetaAndShift} are also tried.
+   * When parallelism is enabled, all the expiries and tenors are calibrated in parallel.
+   * <p>
+   * This method offers the flexibility to skip the data sets that throw a MathException (stopOnMathException = false).
+   * The option to skip those data sets should be use with care, as part of the input data may be unused in the output.
+   *
+   * @param definition  the definition of the calibration to be performed
+   * @param calibrationDateTime  the data and time of the calibration
+   * @param data  the map of raw option data, keyed by tenor
+   * @param ratesProvider  the rate provider used to compute the swap forward rates
+   * @param betaSurface  the beta surface
+   * @param shiftSurface  the shift surface
+   * @param previousResult  the previous calibration, used as starting point of each fit
+   * @param stopOnMathException  flag indicating if the calibration should stop on math exceptions or skip the
+   *   expiries/tenors which throw MathException
+   * @return the SABR volatility object and the convergence statistics
+   */
+  public SabrSwaptionCalibrationResult calibrateWithFixedBetaAndShiftWarmStart(
+      SabrSwaptionDefinition definition,
+      ZonedDateTime calibrationDateTime,
+      TenorRawOptionData data,
+      RatesProvider ratesProvider,
+      Surface betaSurface,
+      Surface shiftSurface,
+      SabrSwaptionCalibrationResult previousResult,
+      boolean stopOnMathException) {
+
+    ArgChecker.notNull(previousResult, "previousResult");
+    return calibrate(
+        definition,
+        calibrationDateTime,
+        data,
+        ratesProvider,
+        betaSurface,
+        shiftSurface,
+        false,
+        previousResult,
+        stopOnMathException);
+  }
+
+  // Calibrates all the expiries and tenors. The nodes are set up serially, then calibrated by the evaluator,
+  // with the surfaces built from the results in standard order, thus the result does not depend on the parallelism.
+  @SuppressWarnings("null")
+  private SabrSwaptionCalibrationResult calibrate(
+      SabrSwaptionDefinition definition,
+      ZonedDateTime calibrationDateTime,
+      TenorRawOptionData data,
+      RatesProvider ratesProvider,
+      Surface betaSurface,
+      Surface shiftSurface,
+      boolean previousExpiryStart,
+      SabrSwaptionCalibrationResult previousResult,
+      boolean stopOnMathException) {
+
     SwaptionVolatilitiesName name = definition.getName();
     FixedIborSwapConvention convention = definition.getConvention();
     DayCount dayCount = definition.getDayCount();
     SurfaceInterpolator interpolator = definition.getInterpolator();
 
-    BitSet fixed = new BitSet();
-    fixed.set(1); // Beta fixed
     BusinessDayAdjustment bda = convention.getFloatingLeg().getStartDateBusinessDayAdjustment();
     LocalDate calibrationDate = calibrationDateTime.toLocalDate();
-    // Sorted maps to obtain the surfaces nodes in standard order
-    TreeMap<Double, TreeMap<Double, ParameterMetadata>> parameterMetadataTmp = new TreeMap<>();
-    TreeMap<Double, TreeMap<Double, DoubleArray>> dataSensitivityAlphaTmp = new TreeMap<>(); // Sensitivity to the calibrating data
-    TreeMap<Double, TreeMap<Double, DoubleArray>> dataSensitivityRhoTmp = new TreeMap<>();
-    TreeMap<Double, TreeMap<Double, DoubleArray>> dataSensitivityNuTmp = new TreeMap<>();
-    TreeMap<Double, TreeMap<Double, SabrFormulaData>> sabrPointTmp = new TreeMap<>();
+    List<List<CalibrationNode>> nodesByTenor = new ArrayList<>();
     for (Tenor tenor : data.getTenors()) {
       RawOptionData tenorData = data.getData(tenor);
       double timeTenor = tenor.getPeriod().getYears() + tenor.getPeriod().getMonths() / 12;
-      List<Period> expiries = tenorData.getExpiries();
-      int nbExpiries = expiries.size();
-      for (int loopexpiry = 0; loopexpiry < nbExpiries; loopexpiry++) {
-        Pair<DoubleArray, DoubleArray> availableSmile = tenorData.availableSmileAtExpiry(expiries.get(loopexpiry));
+      List<CalibrationNode> nodes = new ArrayList<>();
+      for (Period expiry : tenorData.getExpiries()) {
+        Pair<DoubleArray, DoubleArray> availableSmile = tenorData.availableSmileAtExpiry(expiry);
         if (availableSmile.getFirst().size() == 0) { // If not data is available, no calibration possible
           continue;
         }
-        LocalDate exerciseDate = expirationDate(bda, calibrationDate, expiries.get(loopexpiry));
+        LocalDate exerciseDate = expirationDate(bda, calibrationDate, expiry);
         LocalDate effectiveDate = convention.calculateSpotDateFromTradeDate(exerciseDate, refData);
         double timeToExpiry = dayCount.relativeYearFraction(calibrationDate, exerciseDate);
         double beta = betaSurface.zValue(timeToExpiry, timeTenor);
         double shift = shiftSurface.zValue(timeToExpiry, timeTenor);
         LocalDate endDate = effectiveDate.plus(tenor);
         SwapTrade swap0 = convention.toTrade(calibrationDate, effectiveDate, endDate, BuySell.BUY, 1.0, 0.0);
-        double forward = swapPricer.parRate(swap0.getProduct().resolve(refData), ratesProvider);
-        SabrFormulaData sabrPoint = null;
-        DoubleMatrix inverseJacobian = null;
-        boolean error = false;
-        try {
-          Pair<SabrFormulaData, DoubleMatrix> calibrationResult =
-              calibration(forward, shift, beta, fixed, bda, calibrationDateTime, dayCount,
-                  availableSmile.getFirst(), availableSmile.getSecond(), expiries.get(loopexpiry), tenorData);
-          sabrPoint = calibrationResult.getFirst();
-          inverseJacobian = calibrationResult.getSecond();
-        } catch (MathException e) {
-          error = true;
-          if (stopOnMathException) {
-            String message = Messages.format("{} at expiry {} and tenor {}", e.getMessage(),
-                expiries.get(loopexpiry), tenor);
-            throw new MathException(message, e);
-          }
-        }
-        if (!error) {
-          if (!parameterMetadataTmp.containsKey(timeToExpiry)) {
-            parameterMetadataTmp.put(timeToExpiry, new TreeMap<>());
-            dataSensitivityAlphaTmp.put(timeToExpiry, new TreeMap<>());
-            dataSensitivityRhoTmp.put(timeToExpiry, new TreeMap<>());
-            dataSensitivityNuTmp.put(timeToExpiry, new TreeMap<>());
-            sabrPointTmp.put(timeToExpiry, new TreeMap<>());
-          }
-          TreeMap<Double, ParameterMetadata> parameterMetadataExpiryMap = parameterMetadataTmp.get(timeToExpiry);
-          TreeMap<Double, DoubleArray> dataSensitivityAlphaExpiryMap = dataSensitivityAlphaTmp.get(timeToExpiry);
-          TreeMap<Double, DoubleArray> dataSensitivityRhoExpiryMap = dataSensitivityRhoTmp.get(timeToExpiry);
-          TreeMap<Double, DoubleArray> dataSensitivityNuExpiryMap = dataSensitivityNuTmp.get(timeToExpiry);
-          TreeMap<Double, SabrFormulaData> sabrPointExpiryMap = sabrPointTmp.get(timeToExpiry);
-          parameterMetadataExpiryMap.put(timeTenor, SwaptionSurfaceExpiryTenorParameterMetadata.of(
-              timeToExpiry,
-              timeTenor,
-              expiries.get(loopexpiry).toString() + "x" + tenor.toString()));
-          dataSensitivityAlphaExpiryMap.put(timeTenor, inverseJacobian.row(0));
-          dataSensitivityRhoExpiryMap.put(timeTenor, inverseJacobian.row(2));
-          dataSensitivityNuExpiryMap.put(timeTenor, inverseJacobian.row(3));
-          sabrPointExpiryMap.put(timeTenor, sabrPoint);
+        nodes.add(new CalibrationNode(
+            expiry, tenor, timeToExpiry, timeTenor, beta, shift, swap0, availableSmile, tenorData));
+      }
+      nodesByTenor.add(nodes);
+    }
+    List<CalibrationNode> nodes = nodesByTenor.stream().flatMap(List::stream).collect(toList());
+    List<NodeCalibration> results;
+    if (previousExpiryStart) {
+      // Each fit depends on the previous expiry of the same tenor, thus only the tenors are independent
+      results = evaluator.objects(nodesByTenor.size(), i -> calibrateTenor(
+          nodesByTenor.get(i), bda, calibrationDateTime, dayCount, ratesProvider, stopOnMathException))
+          .stream()
+          .flatMap(List::stream)
+          .collect(toList());
+    } else if (previousResult != null) {
+      SabrInterestRateParameters previous = previousResult.getVolatilities().getParameters();
+      Map<Pair<Period, Tenor>, Double> previousChiSquare = previousResult.getNodeStatistics().stream()
+          .collect(toImmutableMap(
+              stats -> Pair.of(stats.getExpiry(), stats.getTenor()),
+              SabrSwaptionNodeStatistics::getChiSquare));
+      results = evaluator.objects(nodes.size(), i -> {
+        CalibrationNode node = nodes.get(i);
+        DoubleArray warmStart = warmStart(
+            previous.alpha(node.timeToExpiry, node.timeTenor),
+            node.beta,
+            previous.rho(node.timeToExpiry, node.timeTenor),
+            previous.nu(node.timeToExpiry, node.timeTenor));
+        double warmStartChiSquare = previousChiSquare.getOrDefault(Pair.of(node.expiry, node.tenor), 0d);
+        return calibrateNode(node, warmStart, warmStartChiSquare,
+            bda, calibrationDateTime, dayCount, ratesProvider, stopOnMathException);
+      });
+    } else {
+      results = evaluator.objects(nodes.size(), i -> calibrateNode(
+          nodes.get(i), null, 0d, bda, calibrationDateTime, dayCount, ratesProvider, stopOnMathException));
+    }
+    // Sorted maps to obtain the surfaces nodes in standard order
+    TreeMap<Double, TreeMap<Double, ParameterMetadata>> parameterMetadataTmp = new TreeMap<>();
+    TreeMap<Double, TreeMap<Double, DoubleArray>> dataSensitivityAlphaTmp = new TreeMap<>(); // Sensitivity to the calibrating data
+    TreeMap<Double, TreeMap<Double, DoubleArray>> dataSensitivityRhoTmp = new TreeMap<>();
+    TreeMap<Double, TreeMap<Double, DoubleArray>> dataSensitivityNuTmp = new TreeMap<>();
+    TreeMap<Double, TreeMap<Double, SabrFormulaData>> sabrPointTmp = new TreeMap<>();
+    List<SabrSwaptionNodeStatistics> nodeStatistics = new ArrayList<>();
+    for (int loopnode = 0; loopnode < nodes.size(); loopnode++) {
+      CalibrationNode node = nodes.get(loopnode);
+      NodeCalibration result = results.get(loopnode);
+      if (result != null) {
+        double timeToExpiry = node.timeToExpiry;
+        double timeTenor = node.timeTenor;
+        if (!parameterMetadataTmp.containsKey(timeToExpiry)) {
+          parameterMetadataTmp.put(timeToExpiry, new TreeMap<>());
+          dataSensitivityAlphaTmp.put(timeToExpiry, new TreeMap<>());
+          dataSensitivityRhoTmp.put(timeToExpiry, new TreeMap<>());
+          dataSensitivityNuTmp.put(timeToExpiry, new TreeMap<>());
+          sabrPointTmp.put(timeToExpiry, new TreeMap<>());
         }
+        TreeMap<Double, ParameterMetadata> parameterMetadataExpiryMap = parameterMetadataTmp.get(timeToExpiry);
+        TreeMap<Double, DoubleArray> dataSensitivityAlphaExpiryMap = dataSensitivityAlphaTmp.get(timeToExpiry);
+        TreeMap<Double, DoubleArray> dataSensitivityRhoExpiryMap = dataSensitivityRhoTmp.get(timeToExpiry);
+        TreeMap<Double, DoubleArray> dataSensitivityNuExpiryMap = dataSensitivityNuTmp.get(timeToExpiry);
+        TreeMap<Double, SabrFormulaData> sabrPointExpiryMap = sabrPointTmp.get(timeToExpiry);
+        parameterMetadataExpiryMap.put(timeTenor, SwaptionSurfaceExpiryTenorParameterMetadata.of(
+            timeToExpiry,
+            timeTenor,
+            node.expiry.toString() + "x" + node.tenor.toString()));
+        dataSensitivityAlphaExpiryMap.put(timeTenor, result.inverseJacobian.row(0));
+        dataSensitivityRhoExpiryMap.put(timeTenor, result.inverseJacobian.row(2));
+        dataSensitivityNuExpiryMap.put(timeTenor, result.inverseJacobian.row(3));
+        sabrPointExpiryMap.put(timeTenor, result.sabrPoint);
+        nodeStatistics.add(SabrSwaptionNodeStatistics.of(
+            node.expiry, node.tenor, result.chiSquare, result.fitCount, result.warmStart));
       }
     }
     DoubleArray timeToExpiryArray = DoubleArray.EMPTY;
@@ -307,7 +512,7 @@ public final class SabrSwaptionCalibrator {
         .of(metadataNu, timeToExpiryArray, timeTenorArray, nuArray, interpolator);
     SabrInterestRateParameters params = SabrInterestRateParameters.of(
         alphaSurface, betaSurface, rhoSurface, nuSurface, shiftSurface, sabrVolatilityFormula);
-    return SabrParametersSwaptionVolatilities.builder()
+    SabrParametersSwaptionVolatilities volatilities = SabrParametersSwaptionVolatilities.builder()
         .name(name)
         .convention(convention)
         .valuationDateTime(calibrationDateTime)
@@ -315,11 +520,77 @@ public final class SabrSwaptionCalibrator {
         .dataSensitivityAlpha(dataSensitivityAlpha)
         .dataSensitivityRho(dataSensitivityRho)
         .dataSensitivityNu(dataSensitivityNu).build();
+    return SabrSwaptionCalibrationResult.of(volatilities, nodeStatistics);
+  }
+
+  // Calibrates the expiries of one tenor in order, each fit starting from the result of the previous expiry.
+  // The results are in the order of the nodes, null if the node has been skipped.
+  private List<NodeCalibration> calibrateTenor(
+      List<CalibrationNode> nodes,
+      BusinessDayAdjustment bda,
+      ZonedDateTime calibrationDateTime,
+      DayCount dayCount,
+      RatesProvider ratesProvider,
+      boolean stopOnMathException) {
+
+    List<NodeCalibration> results = new ArrayList<>();
+    NodeCalibration previous = null;
+    for (CalibrationNode node : nodes) {
+      DoubleArray warmStart = previous == null ?
+          null :
+          warmStart(previous.sabrPoint.getAlpha(), node.beta, previous.sabrPoint.getRho(), previous.sabrPoint.getNu());
+      double warmStartChiSquare = previous == null ? 0d : previous.chiSquare;
+      NodeCalibration result = calibrateNode(node, warmStart, warmStartChiSquare,
+          bda, calibrationDateTime, dayCount, ratesProvider, stopOnMathException);
+      if (result != null) {
+        previous = result;
+      }
+      results.add(result);
+    }
+    return results;
+  }
+
+  // Calibrates one expiry and tenor, returning null if a MathException is thrown and the node is to be skipped.
+  private NodeCalibration calibrateNode(
+      CalibrationNode node,
+      DoubleArray warmStart,
+      double warmStartChiSquare,
+      BusinessDayAdjustment bda,
+      ZonedDateTime calibrationDateTime,
+      DayCount dayCount,
+      RatesProvider ratesProvider,
+      boolean stopOnMathException) {
+
+    double forward = swapPricer.parRate(node.swap.getProduct().resolve(refData), ratesProvider);
+    BitSet fixed = new BitSet();
+    fixed.set(1); // Beta fixed
+    try {
+      return calibration(forward, node.shift, node.beta, fixed, bda, calibrationDateTime, dayCount,
+          node.smile.getFirst(), node.smile.getSecond(), node.expiry, node.rawData, warmStart, warmStartChiSquare);
+    } catch (MathException e) {
+      if (stopOnMathException) {
+        String message = Messages.format("{} at expiry {} and tenor {}", e.getMessage(), node.expiry, node.tenor);
+        throw new MathException(message, e);
+      }
+      return null;
+    }
   }
 
-  // The main part of the calibration. The calibration is done 4 times with different starting points: low and high
-  // volatilities and high and low vol of vol. The best result (in term of chi^2) is returned.
-  private Pair<SabrFormulaData, DoubleMatrix> calibration(
+  // The starting point of a warm start fit, null if the parameters are not suitable as a starting point.
+  // The correlation is kept away from the limits, where the parameter transform of the fitter is singular.
+  private static DoubleArray warmStart(double alpha, double beta, double rho, double nu) {
+    if (!(alpha > 0d && nu > 0d && Math.abs(rho) < 1d)) {
+      return null;
+    }
+    double rhoStart = Math.max(-WARM_START_RHO_LIMIT, Math.min(WARM_START_RHO_LIMIT, rho));
+    return DoubleArray.of(alpha, beta, rhoStart, nu);
+  }
+
+  // The main part of the calibration. If available, the warm start is tried first. Its fit is kept if the chi^2 is
+  // small or close to the chi^2 of the fit the warm start is taken from. Otherwise, the calibration is done 4 times
+  // with different starting points: low and high volatilities and high and low vol of vol.
+  // The best result (in term of chi^2) is returned.
+  private NodeCalibration calibration(
       double forward,
       double shift,
       double beta,
@@ -330,47 +601,50 @@ public final class SabrSwaptionCalibrator {
       DoubleArray strike,
       DoubleArray data,
       Period expiry,
-      RawOptionData rawData) {
-
-    double rhoStart = -0.50 * beta + 0.50 * (1 - beta);
-    // Correlation is usually positive for normal and negative for log-normal;.
-    double[] alphaStart = new double[4];
-    alphaStart[0] = 0.0025 / Math.pow(forward + shift, beta); // Low vol
-    alphaStart[1] = alphaStart[0];
-    alphaStart[2] = 4 * alphaStart[0]; // High vol
-    alphaStart[3] = alphaStart[2];
-    double[] nuStart = new double[4];
-    nuStart[0] = 0.10; // Low vol of vol
-    nuStart[1] = 0.50; // High vol of vol
-    nuStart[2] = 0.10;
-    nuStart[3] = 0.50;
+      RawOptionData rawData,
+      DoubleArray warmStart,
+      double warmStartChiSquare) {
+
     double chi2 = 1.0E+12; // Large number
     Pair<LeastSquareResultsWithTransform, DoubleArray> sabrCalibrationResult = null;
-    for (int i = 0; i < 4; i++) { // Try different starting points and take the best
-      DoubleArray startParameters = DoubleArray.of(alphaStart[i], beta, rhoStart, nuStart[i]);
-      Pair<LeastSquareResultsWithTransform, DoubleArray> r = null;
-      if (rawData.getDataType().equals(ValueType.NORMAL_VOLATILITY)) {
-        r = calibrateLsShiftedFromNormalVolatilities(bda, calibrationDateTime, dayCount,
-            expiry, forward, strike, rawData.getStrikeType(),
-            data, startParameters, fixed, shift);
-      } else {
-        if (rawData.getDataType().equals(ValueType.PRICE)) {
-          r = calibrateLsShiftedFromPrices(bda, calibrationDateTime, dayCount,
-              expiry, forward, strike, rawData.getStrikeType(),
-              data, startParameters, fixed, shift);
-        } else {
-          if (rawData.getDataType().equals(ValueType.BLACK_VOLATILITY)) {
-            r = calibrateLsShiftedFromBlackVolatilities(bda, calibrationDateTime, dayCount,
-                expiry, forward, strike, rawData.getStrikeType(),
-                data, rawData.getShift().orElse(0d), startParameters, fixed, shift);
-          } else {
-            throw new IllegalArgumentException("Data type not supported");
-          }
-        }
+    int fitCount = 0;
+    boolean fromWarmStart = false;
+    if (warmStart != null) {
+      fitCount++;
+      try {
+        sabrCalibrationResult = calibrationFromStart(
+            forward, shift, fixed, bda, calibrationDateTime, dayCount, strike, data, expiry, rawData, warmStart);
+        chi2 = sabrCalibrationResult.getFirst().getChiSq();
+        fromWarmStart = true;
+      } catch (MathException e) {
+        // the standard starting points are used instead
       }
-      if (r.getFirst().getChiSq() < chi2) { // Keep best calibration
-        sabrCalibrationResult = r;
-        chi2 = r.getFirst().getChiSq();
+    }
+    double acceptedChi2 = Math.max(
+        WARM_START_CHI_SQUARE_PER_STRIKE * strike.size(), WARM_START_CHI_SQUARE_RATIO * warmStartChiSquare);
+    if (!fromWarmStart || chi2 > acceptedChi2) {
+      double rhoStart = -0.50 * beta + 0.50 * (1 - beta);
+      // Correlation is usually positive for normal and negative for log-normal;.
+      double[] alphaStart = new double[4];
+      alphaStart[0] = 0.0025 / Math.pow(forward + shift, beta); // Low vol
+      alphaStart[1] = alphaStart[0];
+      alphaStart[2] = 4 * alphaStart[0]; // High vol
+      alphaStart[3] = alphaStart[2];
+      double[] nuStart = new double[4];
+      nuStart[0] = 0.10; // Low vol of vol
+      nuStart[1] = 0.50; // High vol of vol
+      nuStart[2] = 0.10;
+      nuStart[3] = 0.50;
+      for (int i = 0; i < 4; i++) { // Try different starting points and take the best
+        DoubleArray startParameters = DoubleArray.of(alphaStart[i], beta, rhoStart, nuStart[i]);
+        Pair<LeastSquareResultsWithTransform, DoubleArray> r = calibrationFromStart(
+            forward, shift, fixed, bda, calibrationDateTime, dayCount, strike, data, expiry, rawData, startParameters);
+        fitCount++;
+        if (r.getFirst().getChiSq() < chi2) { // Keep best calibration
+          sabrCalibrationResult = r;
+          chi2 = r.getFirst().getChiSq();
+          fromWarmStart = false;
+        }
       }
     }
     @SuppressWarnings("null")
@@ -388,7 +662,39 @@ public final class SabrSwaptionCalibrator {
       }
     }
     DoubleMatrix parameterSensitivityToData = DoubleMatrix.ofUnsafe(parameterSensitivityToDataArray);
-    return Pair.of(sabrParameters, parameterSensitivityToData);
+    return new NodeCalibration(sabrParameters, parameterSensitivityToData, chi2, fitCount, fromWarmStart);
+  }
+
+  // Calibration from one starting point. Distribute the calculation according to the type of raw data
+  private Pair<LeastSquareResultsWithTransform, DoubleArray> calibrationFromStart(
+      double forward,
+      double shift,
+      BitSet fixed,
+      BusinessDayAdjustment bda,
+      ZonedDateTime calibrationDateTime,
+      DayCount dayCount,
+      DoubleArray strike,
+      DoubleArray data,
+      Period expiry,
+      RawOptionData rawData,
+      DoubleArray startParameters) {
+
+    if (rawData.getDataType().equals(ValueType.NORMAL_VOLATILITY)) {
+      return calibrateLsShiftedFromNormalVolatilities(bda, calibrationDateTime, dayCount,
+          expiry, forward, strike, rawData.getStrikeType(),
+          data, startParameters, fixed, shift);
+    }
+    if (rawData.getDataType().equals(ValueType.PRICE)) {
+      return calibrateLsShiftedFromPrices(bda, calibrationDateTime, dayCount,
+          expiry, forward, strike, rawData.getStrikeType(),
+          data, startParameters, fixed, shift);
+    }
+    if (rawData.getDataType().equals(ValueType.BLACK_VOLATILITY)) {
+      return calibrateLsShiftedFromBlackVolatilities(bda, calibrationDateTime, dayCount,
+          expiry, forward, strike, rawData.getStrikeType(),
+          data, rawData.getShift().orElse(0d), startParameters, fixed, shift);
+    }
+    throw new IllegalArgumentException("Data type not supported");
   }
 
   //-------------------------------------------------------------------------
@@ -899,4 +1205,63 @@ public final class SabrSwaptionCalibrator {
     return bda.adjust(calibrationDate.plus(expiry), refData);
   }
 
+  //-------------------------------------------------------------------------
+  // an expiry and tenor to be calibrated
+  private static final class CalibrationNode {
+    private final Period expiry;
+    private final Tenor tenor;
+    private final double timeToExpiry;
+    private final double timeTenor;
+    private final double beta;
+    private final double shift;
+    private final SwapTrade swap;
+    private final Pair<DoubleArray, DoubleArray> smile;
+    private final RawOptionData rawData;
+
+    private CalibrationNode(
+        Period expiry,
+        Tenor tenor,
+        double timeToExpiry,
+        double timeTenor,
+        double beta,
+        double shift,
+        SwapTrade swap,
+        Pair<DoubleArray, DoubleArray> smile,
+        RawOptionData rawData) {
+
+      this.expiry = expiry;
+      this.tenor = tenor;
+      this.timeToExpiry = timeToExpiry;
+      this.timeTenor = timeTenor;
+      this.beta = beta;
+      this.shift = shift;
+      this.swap = swap;
+      this.smile = smile;
+      this.rawData = rawData;
+    }
+  }
+
+  // the calibrated parameters of an expiry and tenor, with their sensitivity to the data
+  private static final class NodeCalibration {
+    private final SabrFormulaData sabrPoint;
+    private final DoubleMatrix inverseJacobian;
+    private final double chiSquare;
+    private final int fitCount;
+    private final boolean warmStart;
+
+    private NodeCalibration(
+        SabrFormulaData sabrPoint,
+        DoubleMatrix inverseJacobian,
+        double chiSquare,
+        int fitCount,
+        boolean warmStart) {
+
+      this.sabrPoint = sabrPoint;
+      this.inverseJacobian = inverseJacobian;
+      this.chiSquare = chiSquare;
+      this.fitCount = fitCount;
+      this.warmStart = warmStart;
+    }
+  }
+
 }
@@ -0,0 +1,455 @@
+/*
+ * Copyright (C) 2019 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.swaption;
+
+import java.io.Serializable;
+import java.time.Period;
+
+import org.joda.beans.ImmutableBean;
+import org.joda.beans.gen.BeanDefinition;
+import org.joda.beans.gen.PropertyDefinition;
+
+import com.opengamma.strata.basics.date.Tenor;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import org.joda.beans.Bean;
+import org.joda.beans.BeanBuilder;
+import org.joda.beans.JodaBeanUtils;
+import org.joda.beans.MetaBean;
+import org.joda.beans.MetaProperty;
+import org.joda.beans.impl.direct.DirectMetaBean;
+import org.joda.beans.impl.direct.DirectMetaProperty;
+import org.joda.beans.impl.direct.DirectMetaPropertyMap;
+import org.joda.beans.impl.direct.DirectPrivateBeanBuilder;
+
+/**
+ * The convergence statistics of the SABR calibration of a single swaption expiry and tenor.
+ * <p>
+ * This records the quality of the least square fit and the number of fits that were run,
+ * allowing the effect of warm starts to be monitored.
+ */
+@BeanDefinition(builderScope = "private")
+public final class SabrSwaptionNodeStatistics
+    implements ImmutableBean, Serializable {
+
+  /**
+   * The period to expiry of the swaptions.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final Period expiry;
+  /**
+   * The tenor of the underlying swaps.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final Tenor tenor;
+  /**
+   * The chi-square value of the selected fit.
+   */
+  @PropertyDefinition
+  private final double chiSquare;
+  /**
+   * The number of least square fits that were run.
+   * <p>
+   * This is one if the warm start was accepted, and up to five otherwise.
+   */
+  @PropertyDefinition
+  private final int fitCount;
+  /**
+   * Whether the selected fit was started from the warm start parameters.
+   */
+  @PropertyDefinition
+  private final boolean warmStart;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance.
+   * 
+   * @param expiry  the period to expiry
+   * @param tenor  the tenor
+   * @param chiSquare  the chi-square value of the selected fit
+   * @param fitCount  the number of least square fits that were run
+   * @param warmStart  whether the selected fit was started from the warm start parameters
+   * @return the instance
+   */
+  public static SabrSwaptionNodeStatistics of(
+      Period expiry,
+      Tenor tenor,
+      double chiSquare,
+      int fitCount,
+      boolean warmStart) {
+
+    return new SabrSwaptionNodeStatistics(expiry, tenor, chiSquare, fitCount, warmStart);
+  }
+
+  //------------------------- AUTOGENERATED START -------------------------
+  /**
+   * The meta-bean for {@code SabrSwaptionNodeStatistics}.
+   * @return the meta-bean, not null
+   */
+  public static SabrSwaptionNodeStatistics.Meta meta() {
+    return SabrSwaptionNodeStatistics.Meta.INSTANCE;
+  }
+
+  static {
+    MetaBean.register(SabrSwaptionNodeStatistics.Meta.INSTANCE);
+  }
+
+  /**
+   * The serialization version id.
+   */
+  private static final long serialVersionUID = 1L;
+
+  private SabrSwaptionNodeStatistics(
+      Period expiry,
+      Tenor tenor,
+      double chiSquare,
+      int fitCount,
+      boolean warmStart) {
+    JodaBeanUtils.notNull(expiry, "expiry");
+    JodaBeanUtils.notNull(tenor, "tenor");
+    this.expiry = expiry;
+    this.tenor = tenor;
+    this.chiSquare = chiSquare;
+    this.fitCount = fitCount;
+    this.warmStart = warmStart;
+  }
+
+  @Override
+  public SabrSwaptionNodeStatistics.Meta metaBean() {
+    return SabrSwaptionNodeStatistics.Meta.INSTANCE;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the period to expiry of the swaptions.
+   * @return the value of the property, not null
+   */
+  public Period getExpiry() {
+    return expiry;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the tenor of the underlying swaps.
+   * @return the value of the property, not null
+   */
+  public Tenor getTenor() {
+    return tenor;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the chi-square value of the selected fit.
+   * @return the value of the property
+   */
+  public double getChiSquare() {
+    return chiSquare;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the number of least square fits that were run.
+   * <p>
+   * This is one if the warm start was accepted, and up to five otherwise.
+   * @return the value of the property
+   */
+  public int getFitCount() {
+    return fitCount;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets whether the selected fit was started from the warm start parameters.
+   * @return the value of the property
+   */
+  public boolean isWarmStart() {
+    return warmStart;
+  }
+
+  //-----------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj != null && obj.getClass() == this.getClass()) {
+      SabrSwaptionNodeStatistics other = (SabrSwaptionNodeStatistics) obj;
+      return JodaBeanUtils.equal(expiry, other.expiry) &&
+          JodaBeanUtils.equal(tenor, other.tenor) &&
+          JodaBeanUtils.equal(chiSquare, other.chiSquare) &&
+          (fitCount == other.fitCount) &&
+          (warmStart == other.warmStart);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = getClass().hashCode();
+    hash = hash * 31 + JodaBeanUtils.hashCode(expiry);
+    hash = hash * 31 + JodaBeanUtils.hashCode(tenor);
+    hash = hash * 31 + JodaBeanUtils.hashCode(chiSquare);
+    hash = hash * 31 + JodaBeanUtils.hashCode(fitCount);
+    hash = hash * 31 + JodaBeanUtils.hashCode(warmStart);
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder buf = new StringBuilder(192);
+    buf.append("SabrSwaptionNodeStatistics{");
+    buf.append("expiry").append('=').append(expiry).append(',').append(' ');
+    buf.append("tenor").append('=').append(tenor).append(',').append(' ');
+    buf.append("chiSquare").append('=').append(chiSquare).append(',').append(' ');
+    buf.append("fitCount").append('=').append(fitCount).append(',').append(' ');
+    buf.append("warmStart").append('=').append(JodaBeanUtils.toString(warmStart));
+    buf.append('}');
+    return buf.toString();
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * The meta-bean for {@code SabrSwaptionNodeStatistics}.
+   */
+  public static final class Meta extends DirectMetaBean {
+    /**
+     * The singleton instance of the meta-bean.
+     */
+    static final Meta INSTANCE = new Meta();
+
+    /**
+     * The meta-property for the {@code expiry} property.
+     */
+    private final MetaProperty<Period> expiry = DirectMetaProperty.ofImmutable(
+        this, "expiry", SabrSwaptionNodeStatistics.class, Period.class);
+    /**
+     * The meta-property for the {@code tenor} property.
+     */
+    private final MetaProperty<Tenor> tenor = DirectMetaProperty.ofImmutable(
+        this, "tenor", SabrSwaptionNodeStatistics.class, Tenor.class);
+    /**
+     * The meta-property for the {@code chiSquare} property.
+     */
+    private final MetaProperty<Double> chiSquare = DirectMetaProperty.ofImmutable(
+        this, "chiSquare", SabrSwaptionNodeStatistics.class, Double.TYPE);
+    /**
+     * The meta-property for the {@code fitCount} property.
+     */
+    private final MetaProperty<Integer> fitCount = DirectMetaProperty.ofImmutable(
+        this, "fitCount", SabrSwaptionNodeStatistics.class, Integer.TYPE);
+    /**
+     * The meta-property for the {@code warmStart} property.
+     */
+    private final MetaProperty<Boolean> warmStart = DirectMetaProperty.ofImmutable(
+        this, "warmStart", SabrSwaptionNodeStatistics.class, Boolean.TYPE);
+    /**
+     * The meta-properties.
+     */
+    private final Map<String, MetaProperty<?>> metaPropertyMap$ = new DirectMetaPropertyMap(
+        this, null,
+        "expiry",
+        "tenor",
+        "chiSquare",
+        "fitCount",
+        "warmStart");
+
+    /**
+     * Restricted constructor.
+     */
+    private Meta() {
+    }
+
+    @Override
+    protected MetaProperty<?> metaPropertyGet(String propertyName) {
+      switch (propertyName.hashCode()) {
+        case -1289159373:  // expiry
+          return expiry;
+        case 110246592:  // tenor
+          return tenor;
+        case -797918495:  // chiSquare
+          return chiSquare;
+        case -537086082:  // fitCount
+          return fitCount;
+        case -1787818787:  // warmStart
+          return warmStart;
+      }
+      return super.metaPropertyGet(propertyName);
+    }
+
+    @Override
+    public BeanBuilder<? extends SabrSwaptionNodeStatistics> builder() {
+      return new SabrSwaptionNodeStatistics.Builder();
+    }
+
+    @Override
+    public Class<? extends SabrSwaptionNodeStatistics> beanType() {
+      return SabrSwaptionNodeStatistics.class;
+    }
+
+    @Override
+    public Map<String, MetaProperty<?>> metaPropertyMap() {
+      return metaPropertyMap$;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * The meta-property for the {@code expiry} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<Period> expiry() {
+      return expiry;
+    }
+
+    /**
+     * The meta-property for the {@code tenor} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<Tenor> tenor() {
+      return tenor;
+    }
+
+    /**
+     * The meta-property for the {@code chiSquare} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<Double> chiSquare() {
+      return chiSquare;
+    }
+
+    /**
+     * The meta-property for the {@code fitCount} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<Integer> fitCount() {
+      return fitCount;
+    }
+
+    /**
+     * The meta-property for the {@code warmStart} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<Boolean> warmStart() {
+      return warmStart;
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    protected Object propertyGet(Bean bean, String propertyName, boolean quiet) {
+      switch (propertyName.hashCode()) {
+        case -1289159373:  // expiry
+          return ((SabrSwaptionNodeStatistics) bean).getExpiry();
+        case 110246592:  // tenor
+          return ((SabrSwaptionNodeStatistics) bean).getTenor();
+        case -797918495:  // chiSquare
+          return ((SabrSwaptionNodeStatistics) bean).getChiSquare();
+        case -537086082:  // fitCount
+          return ((SabrSwaptionNodeStatistics) bean).getFitCount();
+        case -1787818787:  // warmStart
+          return ((SabrSwaptionNodeStatistics) bean).isWarmStart();
+      }
+      return super.propertyGet(bean, propertyName, quiet);
+    }
+
+    @Override
+    protected void propertySet(Bean bean, String propertyName, Object newValue, boolean quiet) {
+      metaProperty(propertyName);
+      if (quiet) {
+        return;
+      }
+      throw new UnsupportedOperationException("Property cannot be written: " + propertyName);
+    }
+
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * The bean-builder for {@code SabrSwaptionNodeStatistics}.
+   */
+  private static final class Builder extends DirectPrivateBeanBuilder<SabrSwaptionNodeStatistics> {
+
+    private Period expiry;
+    private Tenor tenor;
+    private double chiSquare;
+    private int fitCount;
+    private boolean warmStart;
+
+    /**
+     * Restricted constructor.
+     */
+    private Builder() {
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public Object get(String propertyName) {
+      switch (propertyName.hashCode()) {
+        case -1289159373:  // expiry
+          return expiry;
+        case 110246592:  // tenor
+          return tenor;
+        case -797918495:  // chiSquare
+          return chiSquare;
+        case -537086082:  // fitCount
+          return fitCount;
+        case -1787818787:  // warmStart
+          return warmStart;
+        default:
+          throw new NoSuchElementException("Unknown property: " + propertyName);
+      }
+    }
+
+    @Override
+    public Builder set(String propertyName, Object newValue) {
+      switch (propertyName.hashCode()) {
+        case -1289159373:  // expiry
+          this.expiry = (Period) newValue;
+          break;
+        case 110246592:  // tenor
+          this.tenor = (Tenor) newValue;
+          break;
+        case -797918495:  // chiSquare
+          this.chiSquare = (Double) newValue;
+          break;
+        case -537086082:  // fitCount
+          this.fitCount = (Integer) newValue;
+          break;
+        case -1787818787:  // warmStart
+          this.warmStart = (Boolean) newValue;
+          break;
+        default:
+          throw new NoSuchElementException("Unknown property: " + propertyName);
+      }
+      return this;
+    }
+
+    @Override
+    public SabrSwaptionNodeStatistics build() {
+      return new SabrSwaptionNodeStatistics(
+          expiry,
+          tenor,
+          chiSquare,
+          fitCount,
+          warmStart);
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public String toString() {
+      StringBuilder buf = new StringBuilder(192);
+      buf.append("SabrSwaptionNodeStatistics.Builder{");
+      buf.append("expiry").append('=').append(JodaBeanUtils.toString(expiry)).append(',').append(' ');
+      buf.append("tenor").append('=').append(JodaBeanUtils.toString(tenor)).append(',').append(' ');
+      buf.append("chiSquare").append('=').append(JodaBeanUtils.toString(chiSquare)).append(',').append(' ');
+      buf.append("fitCount").append('=').append(JodaBeanUtils.toString(fitCount)).append(',').append(' ');
+      buf.append("warmStart").append('=').append(JodaBeanUtils.toString(warmStart));
+      buf.append('}');
+      return buf.toString();
+    }
+
+  }
+
+  //-------------------------- AUTOGENERATED END --------------------------
+}
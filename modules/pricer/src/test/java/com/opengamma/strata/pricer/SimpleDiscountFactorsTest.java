@@ -255,6 +255,22 @@ public class SimpleDiscountFactorsTest {
     assertEquals(test.parameterSensitivity(point).size(), 1);
   }
 
+  public void test_parameterSensitivity_batch() {
+    SimpleDiscountFactors test = SimpleDiscountFactors.of(GBP, DATE_VAL, CURVE);
+    DoubleArray yearFractions = DoubleArray.of(0d, 0.5d, 1d, 2.5d, 1d);
+    DoubleArray sensitivities = DoubleArray.of(3d, 10d, -5d, 25d, 7d);
+    CurrencyParameterSensitivities expected = CurrencyParameterSensitivities.empty();
+    for (int i = 0; i < yearFractions.size(); i++) {
+      ZeroRateSensitivity point = ZeroRateSensitivity.of(GBP, yearFractions.get(i), USD, sensitivities.get(i));
+      expected = expected.combinedWith(test.parameterSensitivity(point));
+    }
+    CurrencyParameterSensitivities computed = test.parameterSensitivity(USD, yearFractions, sensitivities);
+    assertEquals(computed.equalWithTolerance(expected, TOL), true);
+    assertEquals(test.parameterSensitivity(USD, DoubleArray.EMPTY, DoubleArray.EMPTY), CurrencyParameterSensitivities.empty());
+    assertEquals(test.parameterSensitivity(USD, DoubleArray.of(0d), DoubleArray.of(3d)), CurrencyParameterSensitivities.empty());
+    assertThrowsIllegalArg(() -> test.parameterSensitivity(USD, yearFractions, DoubleArray.of(1d)));
+  }
+
   //-------------------------------------------------------------------------
   public void test_createParameterSensitivity() {
     SimpleDiscountFactors test = SimpleDiscountFactors.of(GBP, DATE_VAL, CURVE);
@@ -9,12 +9,15 @@ import static com.opengamma.strata.basics.date.DayCounts.ACT_ACT_ISDA;
 import static com.opengamma.strata.basics.index.IborIndices.USD_LIBOR_3M;
 import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
 import static org.testng.Assert.assertTrue;
 
 import java.util.List;
+import java.util.Map;
 
 import org.testng.annotations.Test;
 
+import com.google.common.collect.ImmutableMap;
 import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.collect.tuple.Pair;
 import com.opengamma.strata.market.ValueType;
@@ -299,4 +302,91 @@ public class SabrIborCapletFloorletVolatilityBootstrapperTest extends CapletStri
     }
   }
 
+  //-------------------------------------------------------------------------
+  public void test_parallel() {
+    SabrIborCapletFloorletVolatilityBootstrapDefinition definition = definitionFixedBeta("test");
+    RawOptionData data = blackData(createFullBlackDataMatrix());
+    IborCapletFloorletVolatilityCalibrationResult expected =
+        CALIBRATOR.calibrate(definition, CALIBRATION_TIME, data, RATES_PROVIDER);
+    IborCapletFloorletVolatilityCalibrationResult computed =
+        CALIBRATOR.withParallelism(4).calibrate(definition, CALIBRATION_TIME, data, RATES_PROVIDER);
+    assertEquals(computed, expected);
+  }
+
+  public void test_calibrateAll() {
+    SabrIborCapletFloorletVolatilityBootstrapDefinition definition1 = definitionFixedBeta("test1");
+    SabrIborCapletFloorletVolatilityBootstrapDefinition definition2 = definitionFixedBeta("test2");
+    RawOptionData data1 = blackData(createFullBlackDataMatrix());
+    RawOptionData data2 = blackData(createFullFlatBlackDataMatrix());
+    Map<IborCapletFloorletVolatilitiesName, IborCapletFloorletVolatilityCalibrationResult> computed =
+        CALIBRATOR.withParallelism(2).calibrateAll(
+            ImmutableMap.of(definition1, data1, definition2, data2), CALIBRATION_TIME, RATES_PROVIDER);
+    assertEquals(computed.size(), 2);
+    assertEquals(
+        computed.get(definition1.getName()),
+        CALIBRATOR.calibrate(definition1, CALIBRATION_TIME, data1, RATES_PROVIDER));
+    assertEquals(
+        computed.get(definition2.getName()),
+        CALIBRATOR.calibrate(definition2, CALIBRATION_TIME, data2, RATES_PROVIDER));
+  }
+
+  public void test_calibrateAll_duplicateName() {
+    SabrIborCapletFloorletVolatilityBootstrapDefinition definition1 = definitionFixedBeta("test");
+    SabrIborCapletFloorletVolatilityBootstrapDefinition definition2 = definition1.toBuilder()
+        .interpolator(CurveInterpolators.LINEAR)
+        .build();
+    RawOptionData data = blackData(createFullFlatBlackDataMatrix());
+    assertThrowsIllegalArg(
+        () -> CALIBRATOR.calibrateAll(
+            ImmutableMap.of(definition1, data, definition2, data), CALIBRATION_TIME, RATES_PROVIDER),
+        "caplet volatility definitions must have unique names");
+  }
+
+  public void test_recalibrate() {
+    SabrIborCapletFloorletVolatilityBootstrapDefinition definition = definitionFixedBeta("test");
+    DoubleMatrix volData = createFullBlackDataMatrix();
+    RawOptionData previousData = blackData(volData);
+    RawOptionData data = blackData(volData.with(4, 3, volData.get(4, 3) + 0.005));
+    IborCapletFloorletVolatilityCalibrationResult previous =
+        CALIBRATOR.calibrate(definition, CALIBRATION_TIME, previousData, RATES_PROVIDER);
+    IborCapletFloorletVolatilityCalibrationResult expected =
+        CALIBRATOR.calibrate(definition, CALIBRATION_TIME, data, RATES_PROVIDER);
+    IborCapletFloorletVolatilityCalibrationResult computed =
+        CALIBRATOR.recalibrate(definition, CALIBRATION_TIME, data, RATES_PROVIDER, previousData, previous);
+    assertEquals(computed.getVolatilities(), expected.getVolatilities());
+    assertEquals(computed.getChiSquare(), expected.getChiSquare(), expected.getChiSquare() * 1.0e-10);
+    // unchanged data
+    assertSame(CALIBRATOR.recalibrate(definition, CALIBRATION_TIME, data, RATES_PROVIDER, data, computed), computed);
+    // different strikes, full calibration
+    RawOptionData flatData = blackData(createFullFlatBlackDataMatrix());
+    RawOptionData otherStrikes = RawOptionData.of(
+        createBlackMaturities(),
+        createBlackStrikes().map(k -> k + 0.001),
+        ValueType.STRIKE,
+        createFullFlatBlackDataMatrix(),
+        ValueType.BLACK_VOLATILITY);
+    assertEquals(
+        CALIBRATOR.recalibrate(definition, CALIBRATION_TIME, flatData, RATES_PROVIDER, otherStrikes, previous),
+        CALIBRATOR.calibrate(definition, CALIBRATION_TIME, flatData, RATES_PROVIDER));
+  }
+
+  //-------------------------------------------------------------------------
+  private static SabrIborCapletFloorletVolatilityBootstrapDefinition definitionFixedBeta(String name) {
+    return SabrIborCapletFloorletVolatilityBootstrapDefinition.ofFixedBeta(
+        IborCapletFloorletVolatilitiesName.of(name),
+        USD_LIBOR_3M,
+        ACT_ACT_ISDA,
+        0.85,
+        CurveInterpolators.STEP_UPPER,
+        CurveExtrapolators.FLAT,
+        CurveExtrapolators.FLAT,
+        SabrHaganVolatilityFunctionProvider.DEFAULT);
+  }
+
+  private static RawOptionData blackData(DoubleMatrix volData) {
+    DoubleMatrix error = DoubleMatrix.filled(volData.rowCount(), volData.columnCount(), 1.0e-3);
+    return RawOptionData.of(
+        createBlackMaturities(), createBlackStrikes(), ValueType.STRIKE, volData, error, ValueType.BLACK_VOLATILITY);
+  }
+
 }
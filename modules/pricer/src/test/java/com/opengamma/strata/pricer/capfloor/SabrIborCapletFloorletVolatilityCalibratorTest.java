@@ -12,6 +12,7 @@ import static com.opengamma.strata.market.curve.interpolator.CurveInterpolators.
 import static com.opengamma.strata.market.curve.interpolator.CurveInterpolators.LINEAR;
 import static com.opengamma.strata.market.curve.interpolator.CurveInterpolators.PCHIP;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
 
 import java.time.Period;
 import java.util.List;
@@ -338,4 +339,52 @@ public class SabrIborCapletFloorletVolatilityCalibratorTest
     }
   }
 
+  //-------------------------------------------------------------------------
+  public void test_parallel() {
+    SabrIborCapletFloorletVolatilityCalibrationDefinition definition =
+        SabrIborCapletFloorletVolatilityCalibrationDefinition.ofFixedBeta(
+            NAME, USD_LIBOR_3M, ACT_ACT_ISDA, 0.7, ALPHA_KNOTS, BETA_RHO_KNOTS, NU_KNOTS, DOUBLE_QUADRATIC, FLAT, FLAT, HAGAN);
+    RawOptionData data = blackData(createFullBlackDataMatrix());
+    IborCapletFloorletVolatilityCalibrationResult expected =
+        CALIBRATOR.calibrate(definition, CALIBRATION_TIME, data, RATES_PROVIDER);
+    IborCapletFloorletVolatilityCalibrationResult computed =
+        CALIBRATOR.withParallelism(4).calibrate(definition, CALIBRATION_TIME, data, RATES_PROVIDER);
+    assertEquals(computed, expected);
+  }
+
+  public void test_recalibrate() {
+    SabrIborCapletFloorletVolatilityCalibrationDefinition definition =
+        SabrIborCapletFloorletVolatilityCalibrationDefinition.ofFixedBeta(
+            NAME, USD_LIBOR_3M, ACT_ACT_ISDA, 0.7, ALPHA_KNOTS, BETA_RHO_KNOTS, NU_KNOTS, DOUBLE_QUADRATIC, FLAT, FLAT, HAGAN);
+    DoubleMatrix volData = createFullBlackDataMatrix();
+    RawOptionData previousData = blackData(volData);
+    RawOptionData data = blackData(volData.with(4, 3, volData.get(4, 3) + 0.005));
+    IborCapletFloorletVolatilityCalibrationResult previous =
+        CALIBRATOR.calibrate(definition, CALIBRATION_TIME, previousData, RATES_PROVIDER);
+    IborCapletFloorletVolatilityCalibrationResult expected =
+        CALIBRATOR.calibrate(definition, CALIBRATION_TIME, data, RATES_PROVIDER);
+    IborCapletFloorletVolatilityCalibrationResult computed =
+        CALIBRATOR.recalibrate(definition, CALIBRATION_TIME, data, RATES_PROVIDER, previousData, previous);
+    SabrParametersIborCapletFloorletVolatilities expectedVols =
+        (SabrParametersIborCapletFloorletVolatilities) expected.getVolatilities();
+    SabrParametersIborCapletFloorletVolatilities computedVols =
+        (SabrParametersIborCapletFloorletVolatilities) computed.getVolatilities();
+    for (int i = 0; i < NUM_BLACK_STRIKES; ++i) {
+      for (ResolvedIborCapFloorLeg cap : getCapsBlackVols(i).getFirst()) {
+        double priceExpected = LEG_PRICER_SABR.presentValue(cap, RATES_PROVIDER, expectedVols).getAmount();
+        double priceComputed = LEG_PRICER_SABR.presentValue(cap, RATES_PROVIDER, computedVols).getAmount();
+        assertEquals(priceComputed, priceExpected, Math.max(priceExpected, 1d) * TOL);
+      }
+    }
+    // unchanged data
+    assertSame(CALIBRATOR.recalibrate(definition, CALIBRATION_TIME, data, RATES_PROVIDER, data, computed), computed);
+  }
+
+  //-------------------------------------------------------------------------
+  private static RawOptionData blackData(DoubleMatrix volData) {
+    DoubleMatrix error = DoubleMatrix.filled(volData.rowCount(), volData.columnCount(), 1.0e-3);
+    return RawOptionData.of(
+        createBlackMaturities(), createBlackStrikes(), ValueType.STRIKE, volData, error, ValueType.BLACK_VOLATILITY);
+  }
+
 }
@@ -8,6 +8,8 @@ package com.opengamma.strata.pricer.credit;
 import static com.opengamma.strata.basics.currency.Currency.EUR;
 import static com.opengamma.strata.basics.date.DayCounts.ACT_360;
 import static com.opengamma.strata.basics.date.DayCounts.ACT_365F;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertTrue;
 
 import java.time.LocalDate;
@@ -31,6 +33,7 @@ import com.opengamma.strata.market.observable.QuoteId;
 import com.opengamma.strata.market.param.DatedParameterMetadata;
 import com.opengamma.strata.market.param.ParameterMetadata;
 import com.opengamma.strata.market.param.ResolvedTradeParameterMetadata;
+import com.opengamma.strata.product.credit.PaymentOnDefault;
 import com.opengamma.strata.product.credit.ResolvedCdsTrade;
 import com.opengamma.strata.product.credit.type.CdsConvention;
 import com.opengamma.strata.product.credit.type.CdsTemplate;
@@ -291,4 +294,60 @@ public class FastCreditCurveCalibratorTest extends IsdaCompliantCreditCurveCalib
     testJacobian(BUILDER_MARKIT, ccMf, ratesProvider, nodes, quotes, ONE_PC, EPS);
   }
 
+  //-------------------------------------------------------------------------
+  public void calibrateAllTest() {
+    testCalibrateAll(BUILDER_ISDA, BUILDER_MARKIT.withParallelism(4));
+  }
+
+  public void paymentOnDefaultNoneTest() {
+    LocalDate valuationDate = LocalDate.of(2013, 2, 27);
+    DoubleArray ycTime = DoubleArray.of(0.5, 1d, 2d, 3d, 5d, 7d, 10d, 15d);
+    DoubleArray ycRate = DoubleArray.of(0.003, 0.004, 0.005, 0.007, 0.01, 0.014, 0.019, 0.025);
+    IsdaCreditDiscountFactors yc = IsdaCreditDiscountFactors.of(EUR, valuationDate, CurveName.of("yc"), ycTime, ycRate, ACT_365F);
+    LocalDate startDate = LocalDate.of(2012, 12, 20);
+    LocalDate[] pillarDates = new LocalDate[] {
+        LocalDate.of(2013, 9, 20), LocalDate.of(2014, 3, 20), LocalDate.of(2016, 3, 20), LocalDate.of(2018, 3, 20),
+        LocalDate.of(2020, 3, 20), LocalDate.of(2023, 3, 20)};
+    double[] quotes = new double[] {0.006485, 0.008163, 0.015136, 0.021905, 0.025211, 0.027549};
+    ImmutableCdsConvention convAccrued = ImmutableCdsConvention.of("conv", EUR, ACT_360, Frequency.P3M, BUS_ADJ, CDS_SETTLE_STD);
+    CdsConvention convNone = convAccrued.toBuilder()
+        .paymentOnDefault(PaymentOnDefault.NONE)
+        .build();
+    ImmutableMarketDataBuilder builderCredit = ImmutableMarketData.builder(valuationDate);
+    List<CdsIsdaCreditCurveNode> nodesAccrued = new ArrayList<>();
+    List<CdsIsdaCreditCurveNode> nodesNone = new ArrayList<>();
+    for (int i = 0; i < pillarDates.length; ++i) {
+      QuoteId id = QuoteId.of(StandardId.of("OG", pillarDates[i].toString()));
+      nodesAccrued.add(CdsIsdaCreditCurveNode.ofParSpread(
+          DatesCdsTemplate.of(startDate, pillarDates[i], convAccrued), id, LEGAL_ENTITY));
+      nodesNone.add(CdsIsdaCreditCurveNode.ofParSpread(
+          DatesCdsTemplate.of(startDate, pillarDates[i], convNone), id, LEGAL_ENTITY));
+      builderCredit.addValue(id, quotes[i]);
+    }
+    ImmutableMarketData marketData = builderCredit.build();
+    ImmutableCreditRatesProvider ratesProvider = ImmutableCreditRatesProvider.builder()
+        .valuationDate(valuationDate)
+        .discountCurves(ImmutableMap.of(EUR, yc))
+        .recoveryRateCurves(ImmutableMap.of(LEGAL_ENTITY, ConstantRecoveryRates.of(LEGAL_ENTITY, valuationDate, 0.25)))
+        .creditCurves(ImmutableMap.of())
+        .build();
+    IsdaCreditCurveDefinition definitionAccrued =
+        IsdaCreditCurveDefinition.of(CurveName.of("accrued"), EUR, valuationDate, ACT_365F, nodesAccrued, false, false);
+    IsdaCreditCurveDefinition definitionNone =
+        IsdaCreditCurveDefinition.of(CurveName.of("none"), EUR, valuationDate, ACT_365F, nodesNone, false, false);
+    for (AccrualOnDefaultFormula formula : AccrualOnDefaultFormula.values()) {
+      NodalCurve computed = ((IsdaCreditDiscountFactors) new FastCreditCurveCalibrator(formula)
+          .calibrate(definitionNone, marketData, ratesProvider, REF_DATA)
+          .getSurvivalProbabilities()).getCurve();
+      NodalCurve expected = ((IsdaCreditDiscountFactors) new SimpleCreditCurveCalibrator(formula)
+          .calibrate(definitionNone, marketData, ratesProvider, REF_DATA)
+          .getSurvivalProbabilities()).getCurve();
+      NodalCurve accrued = ((IsdaCreditDiscountFactors) new FastCreditCurveCalibrator(formula)
+          .calibrate(definitionAccrued, marketData, ratesProvider, REF_DATA)
+          .getSurvivalProbabilities()).getCurve();
+      assertTrue(DoubleArrayMath.fuzzyEquals(computed.getYValues().toArray(), expected.getYValues().toArray(), 1e-10));
+      assertFalse(DoubleArrayMath.fuzzyEquals(computed.getYValues().toArray(), accrued.getYValues().toArray(), 1e-10));
+    }
+  }
+
 }
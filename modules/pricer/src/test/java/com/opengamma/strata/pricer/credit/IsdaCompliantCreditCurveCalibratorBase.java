@@ -11,11 +11,14 @@ import static com.opengamma.strata.basics.date.DayCounts.ACT_360;
 import static com.opengamma.strata.basics.date.DayCounts.ACT_365F;
 import static com.opengamma.strata.basics.date.DayCounts.THIRTY_U_360;
 import static com.opengamma.strata.basics.schedule.Frequency.P3M;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
 import static com.opengamma.strata.product.common.BuySell.BUY;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 
 import java.time.LocalDate;
 import java.time.Period;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -35,6 +38,10 @@ import com.opengamma.strata.basics.schedule.Frequency;
 import com.opengamma.strata.basics.schedule.PeriodicSchedule;
 import com.opengamma.strata.basics.schedule.RollConventions;
 import com.opengamma.strata.basics.schedule.StubConvention;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.result.FailureItem;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.ValueWithFailures;
 import com.opengamma.strata.collect.tuple.Pair;
 import com.opengamma.strata.data.ImmutableMarketData;
 import com.opengamma.strata.data.ImmutableMarketDataBuilder;
@@ -405,6 +412,65 @@ public class IsdaCompliantCreditCurveCalibratorBase {
     }
   }
 
+  protected void testCalibrateAll(
+      IsdaCompliantCreditCurveCalibrator serialCalibrator,
+      IsdaCompliantCreditCurveCalibrator parallelCalibrator) {
+
+    LocalDate valuationDate = LocalDate.of(2013, 2, 27);
+    DoubleArray ycTime = DoubleArray.of(0.5, 1d, 2d, 3d, 5d, 7d, 10d, 15d);
+    DoubleArray ycRate = DoubleArray.of(0.003, 0.004, 0.005, 0.007, 0.01, 0.014, 0.019, 0.025);
+    IsdaCreditDiscountFactors yc = IsdaCreditDiscountFactors.of(EUR, valuationDate, CurveName.of("yc"), ycTime, ycRate, ACT_365F);
+    LocalDate startDate = LocalDate.of(2012, 12, 20);
+    LocalDate[] pillarDates = new LocalDate[] {
+        LocalDate.of(2013, 9, 20), LocalDate.of(2014, 3, 20), LocalDate.of(2016, 3, 20), LocalDate.of(2018, 3, 20),
+        LocalDate.of(2020, 3, 20), LocalDate.of(2023, 3, 20)};
+    double[] quotes = new double[] {0.006485, 0.008163, 0.015136, 0.021905, 0.025211, 0.027549};
+    CdsConvention conv = ImmutableCdsConvention.of("conv", EUR, ACT_360, Frequency.P3M, BUS_ADJ, CDS_SETTLE_STD);
+    int nEntities = 6;
+    ImmutableMarketDataBuilder builderCredit = ImmutableMarketData.builder(valuationDate);
+    ImmutableMap.Builder<StandardId, RecoveryRates> recoveryRates = ImmutableMap.builder();
+    List<IsdaCreditCurveDefinition> curveDefinitions = new ArrayList<>();
+    for (int k = 0; k < nEntities; ++k) {
+      StandardId legalEntity = StandardId.of("OG", "E" + k);
+      recoveryRates.put(legalEntity, ConstantRecoveryRates.of(legalEntity, valuationDate, 0.25 + 0.04 * k));
+      List<CdsIsdaCreditCurveNode> nodes = new ArrayList<>();
+      for (int i = 0; i < pillarDates.length; ++i) {
+        QuoteId id = QuoteId.of(StandardId.of("OG", "E" + k + "-" + pillarDates[i]));
+        nodes.add(CdsIsdaCreditCurveNode.ofParSpread(DatesCdsTemplate.of(startDate, pillarDates[i], conv), id, legalEntity));
+        if (k < nEntities - 1) { // no market data for the last entity
+          builderCredit.addValue(id, quotes[i] * (1d + 0.2 * k));
+        }
+      }
+      curveDefinitions.add(IsdaCreditCurveDefinition.of(
+          CurveName.of("E" + k), EUR, valuationDate, ACT_365F, nodes, k % 2 == 0, k % 2 == 0));
+    }
+    ImmutableMarketData marketData = builderCredit.build();
+    ImmutableCreditRatesProvider ratesProvider = ImmutableCreditRatesProvider.builder()
+        .valuationDate(valuationDate)
+        .discountCurves(ImmutableMap.of(EUR, yc))
+        .recoveryRateCurves(recoveryRates.build())
+        .creditCurves(ImmutableMap.of())
+        .build();
+    for (IsdaCompliantCreditCurveCalibrator calibrator : ImmutableList.of(serialCalibrator, parallelCalibrator)) {
+      ValueWithFailures<ImmutableMap<CurveName, LegalEntitySurvivalProbabilities>> computed =
+          calibrator.calibrateAll(curveDefinitions, marketData, ratesProvider, REF_DATA);
+      assertEquals(computed.getValue().size(), nEntities - 1);
+      for (int k = 0; k < nEntities - 1; ++k) {
+        IsdaCreditCurveDefinition curveDefinition = curveDefinitions.get(k);
+        assertEquals(
+            computed.getValue().get(curveDefinition.getName()),
+            calibrator.calibrate(curveDefinition, marketData, ratesProvider, REF_DATA));
+      }
+      assertEquals(computed.getFailures().size(), 1);
+      FailureItem failure = computed.getFailures().get(0);
+      assertEquals(failure.getReason(), FailureReason.CALCULATION_FAILED);
+      assertTrue(failure.getMessage().startsWith("Unable to calibrate credit curve 'E5'"));
+    }
+    List<IsdaCreditCurveDefinition> duplicated = ImmutableList.of(curveDefinitions.get(0), curveDefinitions.get(0));
+    assertThrowsIllegalArg(() -> serialCalibrator.calibrateAll(duplicated, marketData, ratesProvider, REF_DATA));
+  }
+
+
   protected void testJacobian(
       IsdaCompliantCreditCurveCalibrator builder,
       LegalEntitySurvivalProbabilities curve,
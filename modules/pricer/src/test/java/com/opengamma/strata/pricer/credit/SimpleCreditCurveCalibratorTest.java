@@ -29,4 +29,8 @@ public class SimpleCreditCurveCalibratorTest extends IsdaCompliantCreditCurveCal
     testCalibrationAgainstISDA(BUILDER_MARKIT, ACT_365F, EUR, TOL);
   }
 
+  public void calibrateAllTest() {
+    testCalibrateAll(BUILDER_ISDA, BUILDER_MARKIT.withParallelism(4));
+  }
+
 }
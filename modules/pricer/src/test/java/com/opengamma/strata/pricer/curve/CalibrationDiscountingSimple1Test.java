@@ -35,12 +35,14 @@ import com.opengamma.strata.data.ImmutableMarketDataBuilder;
 import com.opengamma.strata.data.MarketData;
 import com.opengamma.strata.market.ValueType;
 import com.opengamma.strata.market.curve.RatesCurveGroupDefinition;
+import com.opengamma.strata.market.curve.Curve;
 import com.opengamma.strata.market.curve.CurveGroupName;
 import com.opengamma.strata.market.curve.CurveMetadata;
 import com.opengamma.strata.market.curve.CurveName;
 import com.opengamma.strata.market.curve.CurveNode;
 import com.opengamma.strata.market.curve.DefaultCurveMetadata;
 import com.opengamma.strata.market.curve.InterpolatedNodalCurveDefinition;
+import com.opengamma.strata.market.curve.RatesCurveGroup;
 import com.opengamma.strata.market.curve.interpolator.CurveExtrapolator;
 import com.opengamma.strata.market.curve.interpolator.CurveExtrapolators;
 import com.opengamma.strata.market.curve.interpolator.CurveInterpolator;
@@ -51,6 +53,7 @@ import com.opengamma.strata.market.curve.node.IborFixingDepositCurveNode;
 import com.opengamma.strata.market.observable.QuoteId;
 import com.opengamma.strata.pricer.deposit.DiscountingIborFixingDepositProductPricer;
 import com.opengamma.strata.pricer.fra.DiscountingFraTradePricer;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
 import com.opengamma.strata.pricer.rate.RatesProvider;
 import com.opengamma.strata.pricer.swap.DiscountingSwapProductPricer;
 import com.opengamma.strata.product.ResolvedTrade;
@@ -209,6 +212,31 @@ public class CalibrationDiscountingSimple1Test {
     }
   }
 
+  public void calibration_startingCurves() {
+    ImmutableRatesProvider base = CALIBRATOR.calibrate(CURVE_GROUP_DEFN, ALL_QUOTES, REF_DATA);
+    RatesCurveGroup startingCurves = RatesCurveGroup.of(CURVE_GROUP_NAME, base.getDiscountCurves(), base.getIndexCurves());
+    ImmutableRatesProvider test = CALIBRATOR.calibrate(CURVE_GROUP_DEFN, ALL_QUOTES, REF_DATA, startingCurves);
+    Curve baseCurve = base.findData(ALL_CURVE_NAME).get();
+    Curve testCurve = test.findData(ALL_CURVE_NAME).get();
+    assertEquals(testCurve.getParameterCount(), baseCurve.getParameterCount());
+    for (int i = 0; i < baseCurve.getParameterCount(); i++) {
+      assertEquals(testCurve.getParameter(i), baseCurve.getParameter(i), 1e-10);
+    }
+    // shifted quotes, starting from the unshifted curves
+    ImmutableMarketDataBuilder builder = ImmutableMarketData.builder(VAL_DATE);
+    for (int i = 0; i < FWD3_NB_NODES; i++) {
+      builder.addValue(QuoteId.of(StandardId.of(SCHEME, FWD3_ID_VALUE[i])), FWD3_MARKET_QUOTES[i] + 0.0001);
+    }
+    ImmutableMarketData shiftedQuotes = builder.build();
+    ImmutableRatesProvider expected = CALIBRATOR.calibrate(CURVE_GROUP_DEFN, shiftedQuotes, REF_DATA);
+    ImmutableRatesProvider shifted = CALIBRATOR.calibrate(CURVE_GROUP_DEFN, shiftedQuotes, REF_DATA, startingCurves);
+    Curve expectedCurve = expected.findData(ALL_CURVE_NAME).get();
+    Curve shiftedCurve = shifted.findData(ALL_CURVE_NAME).get();
+    for (int i = 0; i < expectedCurve.getParameterCount(); i++) {
+      assertEquals(shiftedCurve.getParameter(i), expectedCurve.getParameter(i), 1e-8);
+    }
+  }
+
   //-------------------------------------------------------------------------
   @Test(enabled = false)
   void performance() {
@@ -17,6 +17,7 @@ import static com.opengamma.strata.product.swap.type.FixedIborSwapConventions.US
 import static com.opengamma.strata.product.swap.type.FixedOvernightSwapConventions.USD_FIXED_1Y_FED_FUND_OIS;
 import static com.opengamma.strata.product.swap.type.IborIborSwapConventions.USD_LIBOR_3M_LIBOR_6M;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 
 import java.time.LocalDate;
 import java.time.Period;
@@ -41,18 +42,22 @@ import com.opengamma.strata.basics.date.DayCount;
 import com.opengamma.strata.basics.date.DaysAdjustment;
 import com.opengamma.strata.basics.date.Tenor;
 import com.opengamma.strata.basics.index.Index;
+import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.data.ImmutableMarketData;
 import com.opengamma.strata.data.ImmutableMarketDataBuilder;
 import com.opengamma.strata.data.MarketData;
 import com.opengamma.strata.data.MarketDataId;
 import com.opengamma.strata.market.ValueType;
 import com.opengamma.strata.market.curve.RatesCurveGroupDefinition;
+import com.opengamma.strata.market.curve.Curve;
 import com.opengamma.strata.market.curve.CurveGroupName;
+import com.opengamma.strata.market.curve.CurveInfoType;
 import com.opengamma.strata.market.curve.CurveMetadata;
 import com.opengamma.strata.market.curve.CurveName;
 import com.opengamma.strata.market.curve.CurveNode;
 import com.opengamma.strata.market.curve.DefaultCurveMetadata;
 import com.opengamma.strata.market.curve.InterpolatedNodalCurveDefinition;
+import com.opengamma.strata.market.curve.RatesCurveGroup;
 import com.opengamma.strata.market.curve.interpolator.CurveExtrapolator;
 import com.opengamma.strata.market.curve.interpolator.CurveExtrapolators;
 import com.opengamma.strata.market.curve.interpolator.CurveInterpolator;
@@ -389,6 +394,55 @@ public class CalibrationZeroRateUsd3OisIrsBsTest {
     calibration_market_quote_sensitivity_check(calibrator, shift);
   }
 
+  public void calibration_market_quote_sensitivity_parallel() {
+    double shift = 1.0E-6;
+    RatesCurveCalibrator parallel = CALIBRATOR.withParallelism(4);
+    Function<MarketData, RatesProvider> calibrator =
+        marketData -> parallel.calibrate(ImmutableList.of(GROUP_1, GROUP_2, GROUP_3), KNOWN_DATA, marketData, REF_DATA);
+    calibration_market_quote_sensitivity_check(calibrator, shift);
+  }
+
+  public void calibration_parallel() {
+    RatesCurveGroupDefinition groupDefn = CURVE_GROUP_CONFIG.toBuilder().computePvSensitivityToMarketQuote(true).build();
+    ImmutableRatesProvider expected = CALIBRATOR.calibrate(groupDefn, ALL_QUOTES, REF_DATA);
+    ImmutableRatesProvider test = CALIBRATOR.withParallelism(4).calibrate(groupDefn, ALL_QUOTES, REF_DATA);
+    assertEquals(test.getDiscountCurves(), expected.getDiscountCurves());
+    assertEquals(test.getIndexCurves(), expected.getIndexCurves());
+    ImmutableRatesProvider expected3 =
+        CALIBRATOR.calibrate(ImmutableList.of(GROUP_1, GROUP_2, GROUP_3), KNOWN_DATA, ALL_QUOTES, REF_DATA);
+    ImmutableRatesProvider test3 = CALIBRATOR.withParallelism(4)
+        .calibrate(ImmutableList.of(GROUP_1, GROUP_2, GROUP_3), KNOWN_DATA, ALL_QUOTES, REF_DATA);
+    assertEquals(test3.getDiscountCurves(), expected3.getDiscountCurves());
+    assertEquals(test3.getIndexCurves(), expected3.getIndexCurves());
+  }
+
+  public void calibration_warmStart() {
+    ImmutableRatesProvider base = CALIBRATOR.calibrate(CURVE_GROUP_CONFIG, ALL_QUOTES, REF_DATA);
+    RatesCurveGroup startingCurves =
+        RatesCurveGroup.of(CURVE_GROUP_NAME, base.getDiscountCurves(), base.getIndexCurves());
+    Map<MarketDataId<?>, Object> map = new HashMap<>(ALL_QUOTES.getValues());
+    for (int i = 0; i < FWD3_NB_NODES; i++) {
+      map.put(QuoteId.of(StandardId.of(SCHEME, FWD3_ID_VALUE[i])), FWD3_MARKET_QUOTES[i] + 0.0001);
+    }
+    ImmutableMarketData shiftedQuotes = ImmutableMarketData.of(VAL_DATE, map);
+    ImmutableRatesProvider expected = CALIBRATOR.calibrate(CURVE_GROUP_CONFIG, shiftedQuotes, REF_DATA);
+    ImmutableRatesProvider test =
+        CALIBRATOR.withParallelism(4).calibrate(CURVE_GROUP_CONFIG, shiftedQuotes, REF_DATA, startingCurves);
+    for (CurveName name : ImmutableList.of(DSCON_CURVE_NAME, FWD3_CURVE_NAME, FWD6_CURVE_NAME)) {
+      Curve expectedCurve = expected.findData(name).get();
+      Curve testCurve = test.findData(name).get();
+      for (int i = 0; i < expectedCurve.getParameterCount(); i++) {
+        assertEquals(testCurve.getParameter(i), expectedCurve.getParameter(i), 1e-8);
+      }
+      DoubleMatrix expectedJacobian = expectedCurve.getMetadata().getInfo(CurveInfoType.JACOBIAN).getJacobianMatrix();
+      DoubleMatrix testJacobian = testCurve.getMetadata().getInfo(CurveInfoType.JACOBIAN).getJacobianMatrix();
+      for (int i = 0; i < expectedJacobian.rowCount(); i++) {
+        assertTrue(testJacobian.row(i).equalWithTolerance(expectedJacobian.row(i), 1e-6));
+      }
+    }
+    assertPresentValue(test, shiftedQuotes);
+  }
+
   private void calibration_market_quote_sensitivity_check(
       Function<MarketData, RatesProvider> calibrator,
       double shift) {
@@ -432,11 +486,15 @@ public class CalibrationZeroRateUsd3OisIrsBsTest {
   }
 
   private void assertPresentValue(RatesProvider result) {
+    assertPresentValue(result, ALL_QUOTES);
+  }
+
+  private void assertPresentValue(RatesProvider result, MarketData quotes) {
     // Test PV Dsc
     CurveNode[] dscNodes = CURVES_NODES.get(0).get(0);
     List<ResolvedTrade> dscTrades = new ArrayList<>();
     for (int i = 0; i < dscNodes.length; i++) {
-      dscTrades.add(dscNodes[i].resolvedTrade(1d, ALL_QUOTES, REF_DATA));
+      dscTrades.add(dscNodes[i].resolvedTrade(1d, quotes, REF_DATA));
     }
     // Depo
     for (int i = 0; i < DSC_NB_DEPO_NODES; i++) {
@@ -454,7 +512,7 @@ public class CalibrationZeroRateUsd3OisIrsBsTest {
     CurveNode[] fwd3Nodes = CURVES_NODES.get(1).get(0);
     List<ResolvedTrade> fwd3Trades = new ArrayList<>();
     for (int i = 0; i < fwd3Nodes.length; i++) {
-      fwd3Trades.add(fwd3Nodes[i].resolvedTrade(1d, ALL_QUOTES, REF_DATA));
+      fwd3Trades.add(fwd3Nodes[i].resolvedTrade(1d, quotes, REF_DATA));
     }
     // Fixing 
     CurrencyAmount pvFixing3 = FIXING_PRICER.presentValue(
@@ -476,7 +534,7 @@ public class CalibrationZeroRateUsd3OisIrsBsTest {
     CurveNode[] fwd6Nodes = CURVES_NODES.get(2).get(0);
     List<ResolvedTrade> fwd6Trades = new ArrayList<>();
     for (int i = 0; i < fwd6Nodes.length; i++) {
-      fwd6Trades.add(fwd6Nodes[i].resolvedTrade(1d, ALL_QUOTES, REF_DATA));
+      fwd6Trades.add(fwd6Nodes[i].resolvedTrade(1d, quotes, REF_DATA));
     }
     // Fixing 
     CurrencyAmount pvFixing6 = FIXING_PRICER.presentValue(
@@ -0,0 +1,133 @@
+/*
+ * Copyright (C) 2019 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.rate;
+
+import static com.opengamma.strata.basics.currency.Currency.EUR;
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.basics.index.IborIndices.EUR_EURIBOR_3M;
+import static com.opengamma.strata.basics.index.IborIndices.USD_LIBOR_3M;
+import static com.opengamma.strata.basics.index.OvernightIndices.USD_FED_FUND;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.index.IborIndexObservation;
+import com.opengamma.strata.basics.index.OvernightIndexObservation;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.market.sensitivity.PointSensitivities;
+import com.opengamma.strata.market.sensitivity.PointSensitivity;
+import com.opengamma.strata.pricer.ZeroRateSensitivity;
+import com.opengamma.strata.pricer.datasets.StandardDataSets;
+
+/**
+ * Test {@link PointSensitivityAccumulator}.
+ */
+@Test
+public class PointSensitivityAccumulatorTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final RatesProvider PROVIDER = StandardDataSets.providerUsdEurDscL3();
+  private static final LocalDate DATE_1 = LocalDate.of(2015, 12, 21);
+  private static final LocalDate DATE_2 = LocalDate.of(2016, 3, 21);
+  private static final IborIndexObservation IBOR_1 = IborIndexObservation.of(USD_LIBOR_3M, DATE_1, REF_DATA);
+  private static final IborIndexObservation IBOR_2 = IborIndexObservation.of(USD_LIBOR_3M, DATE_2, REF_DATA);
+  private static final IborIndexObservation IBOR_3 = IborIndexObservation.of(EUR_EURIBOR_3M, DATE_1, REF_DATA);
+  private static final OvernightIndexObservation ON_1 = OvernightIndexObservation.of(USD_FED_FUND, DATE_1, REF_DATA);
+
+  private static final ZeroRateSensitivity ZERO_1 = ZeroRateSensitivity.of(USD, 1.5d, 100d);
+  private static final ZeroRateSensitivity ZERO_2 = ZeroRateSensitivity.of(USD, 0.5d, 200d);
+  private static final ZeroRateSensitivity ZERO_3 = ZeroRateSensitivity.of(USD, 1.5d, 50d);
+  private static final ZeroRateSensitivity ZERO_4 = ZeroRateSensitivity.of(EUR, 2d, USD, 25d);
+  private static final IborRateSensitivity IBOR_SENS_1 = IborRateSensitivity.of(IBOR_1, 1000d);
+  private static final IborRateSensitivity IBOR_SENS_2 = IborRateSensitivity.of(IBOR_2, 2000d);
+  private static final IborRateSensitivity IBOR_SENS_3 = IborRateSensitivity.of(IBOR_1, -300d);
+  private static final IborRateSensitivity IBOR_SENS_4 = IborRateSensitivity.of(IBOR_3, EUR, 500d);
+  private static final OvernightRateSensitivity ON_SENS_1 = OvernightRateSensitivity.of(ON_1, 400d);
+  private static final PointSensitivities POINTS = PointSensitivities.of(
+      ZERO_1, IBOR_SENS_1, ZERO_2, ON_SENS_1, ZERO_3, IBOR_SENS_2, ZERO_4, IBOR_SENS_3, IBOR_SENS_4);
+
+  private static final double TOLERANCE_SENSI = 1.0E-8;
+
+  //-------------------------------------------------------------------------
+  public void test_empty() {
+    PointSensitivityAccumulator test = new PointSensitivityAccumulator();
+    assertEquals(test.size(), 0);
+    assertEquals(test.build(), PointSensitivities.empty());
+    assertEquals(test.parameterSensitivity(PROVIDER), CurrencyParameterSensitivities.empty());
+  }
+
+  public void test_of() {
+    PointSensitivityAccumulator test = PointSensitivityAccumulator.of(POINTS);
+    // the two Ibor sensitivities to the same observation are merged as they are added
+    assertEquals(test.size(), POINTS.size() - 1);
+    assertEquals(test.normalize().size(), POINTS.size() - 2);
+    assertEquals(test.toString(), "PointSensitivityAccumulator{size=7}");
+  }
+
+  public void test_add_null() {
+    PointSensitivityAccumulator test = new PointSensitivityAccumulator();
+    assertThrowsIllegalArg(() -> test.add(null));
+    assertThrowsIllegalArg(() -> test.addZeroRate(null, 1d, USD, 1d));
+    assertThrowsIllegalArg(() -> test.addIborRate(null, USD, 1d));
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_build() {
+    PointSensitivityAccumulator test = PointSensitivityAccumulator.of(POINTS);
+    assertEquals(test.build(), POINTS.normalized());
+  }
+
+  public void test_build_primitive() {
+    PointSensitivityAccumulator test = new PointSensitivityAccumulator()
+        .addZeroRate(USD, 1.5d, USD, 100d)
+        .addZeroRate(USD, 0.5d, USD, 200d)
+        .addZeroRate(USD, 1.5d, USD, 50d)
+        .addIborRate(IBOR_1, USD, 1000d)
+        .addIborRate(IBOR_1, USD, -300d);
+    PointSensitivities expected = PointSensitivities.of(ZERO_1, ZERO_2, ZERO_3, IBOR_SENS_1, IBOR_SENS_3).normalized();
+    assertEquals(test.build(), expected);
+  }
+
+  public void test_build_manyPoints() {
+    PointSensitivityAccumulator test = new PointSensitivityAccumulator();
+    List<PointSensitivity> points = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      ZeroRateSensitivity point = ZeroRateSensitivity.of(USD, (i * 7 % 40) / 4d, i);
+      test.add(point);
+      points.add(point);
+    }
+    assertEquals(test.build(), PointSensitivities.of(points).normalized());
+    assertEquals(test.size(), 40);
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_parameterSensitivity() {
+    CurrencyParameterSensitivities computed = PointSensitivityAccumulator.of(POINTS).parameterSensitivity(PROVIDER);
+    CurrencyParameterSensitivities expected = CurrencyParameterSensitivities.empty();
+    for (PointSensitivity point : POINTS.getSensitivities()) {
+      if (point instanceof ZeroRateSensitivity) {
+        ZeroRateSensitivity pt = (ZeroRateSensitivity) point;
+        expected = expected.combinedWith(PROVIDER.discountFactors(pt.getCurveCurrency()).parameterSensitivity(pt));
+      } else if (point instanceof IborRateSensitivity) {
+        IborRateSensitivity pt = (IborRateSensitivity) point;
+        expected = expected.combinedWith(PROVIDER.iborIndexRates(pt.getIndex()).parameterSensitivity(pt));
+      } else {
+        OvernightRateSensitivity pt = (OvernightRateSensitivity) point;
+        expected = expected.combinedWith(PROVIDER.overnightIndexRates(pt.getIndex()).parameterSensitivity(pt));
+      }
+    }
+    assertTrue(computed.equalWithTolerance(expected, TOLERANCE_SENSI));
+    assertTrue(PROVIDER.parameterSensitivity(POINTS).equalWithTolerance(expected, TOLERANCE_SENSI));
+  }
+
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright (C) 2019 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.rate;
+
+import static com.opengamma.strata.basics.currency.Currency.GBP;
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.basics.date.DayCounts.ACT_365F;
+import static com.opengamma.strata.basics.index.IborIndices.GBP_LIBOR_3M;
+import static com.opengamma.strata.basics.index.OvernightIndices.GBP_SONIA;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.coverPrivateConstructor;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.joda.beans.ser.JodaBeanSer;
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.basics.currency.FxMatrix;
+import com.opengamma.strata.basics.date.Tenor;
+import com.opengamma.strata.basics.index.Index;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeriesBuilder;
+import com.opengamma.strata.market.curve.ConstantCurve;
+import com.opengamma.strata.market.curve.Curve;
+import com.opengamma.strata.market.curve.CurveGroupName;
+import com.opengamma.strata.market.curve.CurveName;
+import com.opengamma.strata.market.curve.Curves;
+import com.opengamma.strata.market.curve.InterpolatedNodalCurve;
+import com.opengamma.strata.market.curve.RatesCurveGroup;
+import com.opengamma.strata.market.curve.interpolator.CurveExtrapolators;
+import com.opengamma.strata.market.curve.interpolator.CurveInterpolators;
+import com.opengamma.strata.market.param.ParameterMetadata;
+import com.opengamma.strata.market.param.TenorParameterMetadata;
+import com.opengamma.strata.pricer.datasets.RatesProviderDataSets;
+
+/**
+ * Test {@link RatesBinaryCodec}.
+ */
+@Test
+public class RatesBinaryCodecTest {
+
+  private static final LocalDate VAL_DATE = LocalDate.of(2015, 6, 30);
+  private static final Curve DSC_CURVE = nodalCurve("GBP-Discount", 30);
+  private static final Curve FWD_CURVE = nodalCurve("GBP-LIBOR-3M", 40);
+  private static final Curve CONSTANT_CURVE = ConstantCurve.of("USD-Discount", 0.01d);
+  private static final LocalDateDoubleTimeSeries TIME_SERIES = timeSeries(500);
+  private static final ImmutableRatesProvider PROVIDER = ImmutableRatesProvider.builder(VAL_DATE)
+      .fxRateProvider(FxMatrix.of(GBP, USD, 1.5d))
+      .discountCurve(GBP, DSC_CURVE)
+      .discountCurve(USD, CONSTANT_CURVE)
+      .overnightIndexCurve(GBP_SONIA, DSC_CURVE, TIME_SERIES)
+      .iborIndexCurve(GBP_LIBOR_3M, FWD_CURVE, TIME_SERIES)
+      .build();
+
+  //-------------------------------------------------------------------------
+  public void test_curve() {
+    assertEquals(roundTrip(DSC_CURVE), DSC_CURVE);
+    assertEquals(roundTrip(CONSTANT_CURVE), CONSTANT_CURVE);
+    Curve noParamMetadata = InterpolatedNodalCurve.of(
+        Curves.zeroRates("Simple", ACT_365F),
+        DoubleArray.of(1d, 2d, 3d),
+        DoubleArray.of(0.01d, 0.02d, 0.025d),
+        CurveInterpolators.DOUBLE_QUADRATIC,
+        CurveExtrapolators.FLAT,
+        CurveExtrapolators.LINEAR);
+    assertEquals(roundTrip(noParamMetadata), noParamMetadata);
+  }
+
+  public void test_curve_bufferPosition() {
+    byte[] bytes = RatesBinaryCodec.writeCurve(DSC_CURVE);
+    ByteBuffer buffer = ByteBuffer.allocate(bytes.length + 3);
+    buffer.position(3);
+    buffer.put(bytes);
+    buffer.position(3);
+    assertEquals(RatesBinaryCodec.readCurve(buffer), DSC_CURVE);
+    assertEquals(buffer.position(), 3);
+  }
+
+  public void test_curveGroup() {
+    RatesCurveGroup group = RatesCurveGroup.of(
+        CurveGroupName.of("Group"),
+        ImmutableMap.of(GBP, DSC_CURVE, USD, CONSTANT_CURVE),
+        ImmutableMap.of(GBP_SONIA, DSC_CURVE, GBP_LIBOR_3M, FWD_CURVE));
+    byte[] bytes = RatesBinaryCodec.writeCurveGroup(group);
+    assertEquals(RatesBinaryCodec.readCurveGroup(ByteBuffer.wrap(bytes)), group);
+  }
+
+  public void test_ratesProvider() {
+    byte[] bytes = RatesBinaryCodec.writeRatesProvider(PROVIDER);
+    ImmutableRatesProvider test = RatesBinaryCodec.readRatesProvider(ByteBuffer.wrap(bytes));
+    assertProvider(test, PROVIDER);
+    assertEquals(test.discountFactor(GBP, VAL_DATE.plusYears(5)), PROVIDER.discountFactor(GBP, VAL_DATE.plusYears(5)));
+    assertEquals(test.timeSeries(GBP_LIBOR_3M).get(VAL_DATE), TIME_SERIES.get(VAL_DATE));
+  }
+
+  public void test_ratesProvider_dataSets() {
+    for (ImmutableRatesProvider provider : new ImmutableRatesProvider[] {
+        RatesProviderDataSets.MULTI_USD,
+        RatesProviderDataSets.MULTI_CPI_USD,
+        RatesProviderDataSets.MULTI_CPI_USD_COMBINED}) {
+      byte[] bytes = RatesBinaryCodec.writeRatesProvider(provider);
+      assertProvider(RatesBinaryCodec.readRatesProvider(ByteBuffer.wrap(bytes)), provider);
+    }
+  }
+
+  public void test_ratesProvider_sharedCurveWrittenOnce() {
+    ImmutableRatesProvider single = ImmutableRatesProvider.builder(VAL_DATE)
+        .discountCurve(GBP, DSC_CURVE)
+        .build();
+    ImmutableRatesProvider shared = ImmutableRatesProvider.builder(VAL_DATE)
+        .discountCurve(GBP, DSC_CURVE)
+        .overnightIndexCurve(GBP_SONIA, DSC_CURVE)
+        .build();
+    int singleSize = RatesBinaryCodec.writeRatesProvider(single).length;
+    int sharedSize = RatesBinaryCodec.writeRatesProvider(shared).length;
+    assertTrue(sharedSize - singleSize < 40);
+  }
+
+  public void test_ratesProvider_smallerThanBeans() {
+    ImmutableRatesProvider provider = ImmutableRatesProvider.builder(VAL_DATE)
+        .fxRateProvider(PROVIDER.getFxRateProvider())
+        .discountCurves(PROVIDER.getDiscountCurves())
+        .indexCurves(PROVIDER.getIndexCurves())
+        .build();
+    byte[] bytes = RatesBinaryCodec.writeRatesProvider(provider);
+    byte[] xml = JodaBeanSer.COMPACT.xmlWriter().write(provider).getBytes(UTF_8);
+    byte[] bin = JodaBeanSer.COMPACT.binWriter().write(provider);
+    assertTrue(bytes.length * 2 < xml.length);
+    assertTrue(bytes.length < bin.length);
+  }
+
+  public void test_ratesProvider_fxNotBean() {
+    ImmutableRatesProvider provider = ImmutableRatesProvider.builder(VAL_DATE)
+        .fxRateProvider((ccy1, ccy2) -> 1d)
+        .build();
+    assertThrowsIllegalArg(() -> RatesBinaryCodec.writeRatesProvider(provider));
+  }
+
+  public void test_timeSeries() {
+    byte[] bytes = RatesBinaryCodec.writeTimeSeries(TIME_SERIES);
+    assertEquals(RatesBinaryCodec.readTimeSeries(ByteBuffer.wrap(bytes)).toBuilder().build(), TIME_SERIES);
+    byte[] empty = RatesBinaryCodec.writeTimeSeries(LocalDateDoubleTimeSeries.empty());
+    assertEquals(RatesBinaryCodec.readTimeSeries(ByteBuffer.wrap(empty)), LocalDateDoubleTimeSeries.empty());
+  }
+
+  public void test_invalid() {
+    byte[] bytes = RatesBinaryCodec.writeCurve(DSC_CURVE);
+    assertThrowsIllegalArg(() -> RatesBinaryCodec.readRatesProvider(ByteBuffer.wrap(bytes)));
+    assertThrowsIllegalArg(() -> RatesBinaryCodec.readCurve(ByteBuffer.wrap(new byte[40])));
+    assertThrowsIllegalArg(() -> RatesBinaryCodec.readCurve(ByteBuffer.wrap(new byte[4])));
+  }
+
+  //-------------------------------------------------------------------------
+  public void coverage() {
+    coverPrivateConstructor(RatesBinaryCodec.class);
+  }
+
+  //-------------------------------------------------------------------------
+  // the time-series that are read are views of the buffer, thus are compared once copied
+  private static void assertProvider(ImmutableRatesProvider actual, ImmutableRatesProvider expected) {
+    Map<Index, LocalDateDoubleTimeSeries> timeSeries = new HashMap<>();
+    actual.getTimeSeries().forEach((index, series) -> timeSeries.put(index, series.toBuilder().build()));
+    assertEquals(actual.toBuilder().timeSeries(timeSeries).build(), expected);
+  }
+
+  private static Curve roundTrip(Curve curve) {
+    return RatesBinaryCodec.readCurve(ByteBuffer.wrap(RatesBinaryCodec.writeCurve(curve)));
+  }
+
+  private static Curve nodalCurve(String name, int size) {
+    double[] xValues = new double[size];
+    double[] yValues = new double[size];
+    List<ParameterMetadata> paramMetadata = new ArrayList<>();
+    for (int i = 0; i < size; i++) {
+      xValues[i] = (i + 1) / 4d;
+      yValues[i] = 0.01d + i * 0.0005d;
+      paramMetadata.add(TenorParameterMetadata.of(Tenor.of(Period.ofMonths((i + 1) * 3))));
+    }
+    return InterpolatedNodalCurve.of(
+        Curves.zeroRates(CurveName.of(name), ACT_365F, paramMetadata),
+        DoubleArray.ofUnsafe(xValues),
+        DoubleArray.ofUnsafe(yValues),
+        CurveInterpolators.NATURAL_SPLINE);
+  }
+
+  private static LocalDateDoubleTimeSeries timeSeries(int size) {
+    LocalDateDoubleTimeSeriesBuilder builder = LocalDateDoubleTimeSeries.builder();
+    for (int i = 0; i < size; i++) {
+      builder.put(VAL_DATE.minusDays(i), 0.01d + i * 1e-6d);
+    }
+    return builder.build();
+  }
+
+}
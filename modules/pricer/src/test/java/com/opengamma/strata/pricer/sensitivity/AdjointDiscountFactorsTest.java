@@ -0,0 +1,233 @@
+/*
+ * Copyright (C) 2019 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.sensitivity;
+
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.basics.date.DayCounts.ACT_360;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.time.LocalDate;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.market.ValueType;
+import com.opengamma.strata.market.curve.Curve;
+import com.opengamma.strata.market.curve.CurveInfoType;
+import com.opengamma.strata.market.curve.CurveName;
+import com.opengamma.strata.market.curve.Curves;
+import com.opengamma.strata.market.curve.DefaultCurveMetadata;
+import com.opengamma.strata.market.curve.InterpolatedNodalCurve;
+import com.opengamma.strata.market.curve.interpolator.CurveExtrapolators;
+import com.opengamma.strata.market.curve.interpolator.CurveInterpolators;
+import com.opengamma.strata.market.param.CrossGammaParameterSensitivities;
+import com.opengamma.strata.market.param.CrossGammaParameterSensitivity;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivity;
+import com.opengamma.strata.math.impl.differentiation.AdjointTape;
+import com.opengamma.strata.pricer.DiscountFactors;
+import com.opengamma.strata.pricer.SimpleDiscountFactors;
+import com.opengamma.strata.pricer.ZeroRateDiscountFactors;
+import com.opengamma.strata.pricer.ZeroRatePeriodicDiscountFactors;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+
+/**
+ * Test {@link AdjointDiscountFactors}.
+ */
+@Test
+public class AdjointDiscountFactorsTest {
+
+  private static final LocalDate VAL_DATE = LocalDate.of(2015, 4, 27);
+  private static final DoubleArray TIMES = DoubleArray.of(0.25, 0.5, 1d, 2d, 5d, 10d);
+  private static final DoubleArray RATES = DoubleArray.of(0.010, 0.012, 0.015, 0.018, 0.022, 0.025);
+  private static final CurveName NAME = CurveName.of("USD-Disc");
+  private static final InterpolatedNodalCurve CURVE_LINEAR = InterpolatedNodalCurve.of(
+      Curves.zeroRates(NAME, ACT_360), TIMES, RATES, CurveInterpolators.LINEAR);
+  private static final InterpolatedNodalCurve CURVE_SPLINE = InterpolatedNodalCurve.of(
+      Curves.zeroRates(NAME, ACT_360), TIMES, RATES, CurveInterpolators.NATURAL_CUBIC_SPLINE);
+  private static final InterpolatedNodalCurve CURVE_PERIODIC = InterpolatedNodalCurve.of(
+      DefaultCurveMetadata.builder()
+          .curveName(NAME)
+          .xValueType(ValueType.YEAR_FRACTION)
+          .yValueType(ValueType.ZERO_RATE)
+          .dayCount(ACT_360)
+          .addInfo(CurveInfoType.COMPOUNDING_PER_YEAR, 2)
+          .build(),
+      TIMES,
+      RATES,
+      CurveInterpolators.LINEAR);
+  private static final InterpolatedNodalCurve CURVE_DF = InterpolatedNodalCurve.of(
+      Curves.discountFactors(NAME, ACT_360), TIMES, RATES.map(r -> 1d - r), CurveInterpolators.LINEAR);
+  private static final InterpolatedNodalCurve CURVE_DF_LOG_LINEAR = InterpolatedNodalCurve.of(
+      Curves.discountFactors(NAME, ACT_360),
+      TIMES,
+      DoubleArray.of(TIMES.size(), i -> Math.exp(-RATES.get(i) * TIMES.get(i))),
+      CurveInterpolators.LOG_LINEAR,
+      CurveExtrapolators.FLAT,
+      CurveExtrapolators.LOG_LINEAR);
+  private static final InterpolatedNodalCurve CURVE_DF_LOG_LINEAR_EXTRAPOLATED = CURVE_DF_LOG_LINEAR.toBuilder()
+      .extrapolatorRight(CurveExtrapolators.LINEAR)
+      .build();
+
+  // a set of fixed cash flows and a forward rate agreement paying at the end of the period
+  private static final LocalDate[] DATES = {
+      LocalDate.of(2015, 10, 27), LocalDate.of(2016, 4, 27), LocalDate.of(2017, 4, 27), LocalDate.of(2020, 4, 27)};
+  private static final double[] AMOUNTS = {25_000d, 25_000d, 50_000d, 1_050_000d};
+  private static final LocalDate START = LocalDate.of(2016, 7, 27);
+  private static final LocalDate END = LocalDate.of(2019, 7, 27);
+  private static final double NOTIONAL = 10_000_000d;
+  private static final double FIXED = 0.045;
+
+  private static final double TOLERANCE_PV = 1.0e-6;
+  private static final double TOLERANCE_DELTA = 1.0e-2;
+  private static final double TOLERANCE_GAMMA = 1.0e+1;
+  private static final double EPS = 1.0e-6;
+
+  //-------------------------------------------------------------------------
+  public void test_of() {
+    AdjointTape tape = new AdjointTape();
+    tape.input(1d);
+    DiscountFactors discountFactors = ZeroRateDiscountFactors.of(USD, VAL_DATE, CURVE_LINEAR);
+    AdjointDiscountFactors test = AdjointDiscountFactors.of(tape, discountFactors);
+    assertEquals(test.getTape(), tape);
+    assertEquals(test.getDiscountFactors(), discountFactors);
+    assertEquals(tape.getInputCount(), 1 + TIMES.size());
+    assertEquals(test.toString(), "AdjointDiscountFactors{curve=USD-Disc}");
+    assertThrowsIllegalArg(() -> AdjointDiscountFactors.of(null, discountFactors));
+  }
+
+  public void test_discountFactor() {
+    for (DiscountFactors discountFactors : discountFactors()) {
+      AdjointDiscountFactors test = AdjointDiscountFactors.of(new AdjointTape(), discountFactors);
+      for (LocalDate date : DATES) {
+        assertEquals(test.getTape().value(test.discountFactor(date)), discountFactors.discountFactor(date), 1e-15);
+      }
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_parameterSensitivity() {
+    for (DiscountFactors discountFactors : discountFactors()) {
+      AdjointDiscountFactors test = AdjointDiscountFactors.of(new AdjointTape(), discountFactors);
+      int pv = recordPresentValue(test);
+      assertEquals(test.getTape().value(pv), presentValue(discountFactors), TOLERANCE_PV);
+      CurrencyParameterSensitivity computed = test.parameterSensitivity(pv, USD);
+      assertEquals(computed.getMarketDataName(), NAME);
+      assertEquals(computed.getCurrency(), USD);
+      Curve curve = curve(discountFactors);
+      for (int i = 0; i < curve.getParameterCount(); i++) {
+        double up = presentValue(discountFactors.withParameter(i, curve.getParameter(i) + EPS));
+        double down = presentValue(discountFactors.withParameter(i, curve.getParameter(i) - EPS));
+        assertEquals(computed.getSensitivity().get(i), (up - down) / (2d * EPS), TOLERANCE_DELTA);
+      }
+    }
+  }
+
+  public void test_crossGamma() {
+    for (InterpolatedNodalCurve curve : new InterpolatedNodalCurve[] {CURVE_LINEAR, CURVE_SPLINE}) {
+      ImmutableRatesProvider provider = ImmutableRatesProvider.builder(VAL_DATE)
+          .discountCurve(USD, curve)
+          .build();
+      AdjointDiscountFactors test = AdjointDiscountFactors.of(new AdjointTape(), provider.discountFactors(USD));
+      int pv = recordPresentValue(test);
+      CrossGammaParameterSensitivity computed = test.crossGamma(pv, USD);
+      // finite difference of the delta
+      CrossGammaParameterSensitivities expected = CurveGammaCalculator.ofCentralDifference(1.0e-5)
+          .calculateCrossGammaIntraCurve(provider, p -> {
+            AdjointDiscountFactors bumped = AdjointDiscountFactors.of(new AdjointTape(), p.discountFactors(USD));
+            return CurrencyParameterSensitivities.of(bumped.parameterSensitivity(recordPresentValue(bumped), USD));
+          });
+      assertTrue(CrossGammaParameterSensitivities.of(computed).equalWithTolerance(expected, TOLERANCE_GAMMA));
+      assertEquals(computed.getMarketDataName(), NAME);
+      assertEquals(computed.getParameterCount(), TIMES.size());
+    }
+  }
+
+  public void test_crossGamma_logLinear() {
+    assertCrossGamma(CURVE_DF_LOG_LINEAR);
+  }
+
+  public void test_crossGamma_finiteDifference() {
+    // linear extrapolation of a log-linear curve is not log-linear, thus the finite difference is used
+    assertCrossGamma(CURVE_DF_LOG_LINEAR_EXTRAPOLATED);
+  }
+
+  //-------------------------------------------------------------------------
+  // checks the cross gamma of a non-linear discount factor curve against the finite difference of the present value
+  private static void assertCrossGamma(InterpolatedNodalCurve curve) {
+    DiscountFactors discountFactors = SimpleDiscountFactors.of(USD, VAL_DATE, curve);
+    AdjointDiscountFactors test = AdjointDiscountFactors.of(new AdjointTape(), discountFactors);
+    int pv = recordPresentValue(test);
+    assertEquals(test.getTape().value(pv), presentValue(discountFactors), TOLERANCE_PV);
+    DoubleMatrix computed = test.crossGamma(pv, USD).getSensitivity();
+    // finite difference of the present value
+    double shift = 1.0e-4;
+    int n = curve.getParameterCount();
+    for (int i = 0; i < n; i++) {
+      for (int j = 0; j < n; j++) {
+        double pvUpUp = presentValue(shift(discountFactors, i, shift, j, shift));
+        double pvUpDown = presentValue(shift(discountFactors, i, shift, j, -shift));
+        double pvDownUp = presentValue(shift(discountFactors, i, -shift, j, shift));
+        double pvDownDown = presentValue(shift(discountFactors, i, -shift, j, -shift));
+        double expected = (pvUpUp - pvUpDown - pvDownUp + pvDownDown) / (4d * shift * shift);
+        assertEquals(computed.get(i, j), expected, TOLERANCE_GAMMA);
+      }
+    }
+    // the diagonal is material, thus the curve is not treated as linear in the discount factors
+    assertTrue(Math.abs(computed.get(3, 3)) > 1.0e+4);
+  }
+
+  // shifts two parameters of the discount factors
+  private static DiscountFactors shift(DiscountFactors factors, int i, double shiftI, int j, double shiftJ) {
+    Curve curve = curve(factors);
+    DiscountFactors shifted = factors.withParameter(i, curve.getParameter(i) + shiftI);
+    return shifted.withParameter(j, curve(shifted).getParameter(j) + shiftJ);
+  }
+
+  // records the present value on the tape
+  private static int recordPresentValue(AdjointDiscountFactors factors) {
+    AdjointTape tape = factors.getTape();
+    int pv = tape.constant(0d);
+    for (int i = 0; i < DATES.length; i++) {
+      pv = tape.add(pv, tape.multiply(factors.discountFactor(DATES[i]), AMOUNTS[i]));
+    }
+    int dfStart = factors.discountFactor(START);
+    int dfEnd = factors.discountFactor(END);
+    int fra = tape.multiply(tape.subtract(dfStart, tape.multiply(dfEnd, 1d + FIXED * 3d)), NOTIONAL);
+    return tape.add(pv, fra);
+  }
+
+  // calculates the present value directly
+  private static double presentValue(DiscountFactors factors) {
+    double pv = 0d;
+    for (int i = 0; i < DATES.length; i++) {
+      pv += factors.discountFactor(DATES[i]) * AMOUNTS[i];
+    }
+    return pv + (factors.discountFactor(START) - factors.discountFactor(END) * (1d + FIXED * 3d)) * NOTIONAL;
+  }
+
+  private static DiscountFactors[] discountFactors() {
+    return new DiscountFactors[] {
+        ZeroRateDiscountFactors.of(USD, VAL_DATE, CURVE_LINEAR),
+        ZeroRateDiscountFactors.of(USD, VAL_DATE, CURVE_SPLINE),
+        ZeroRatePeriodicDiscountFactors.of(USD, VAL_DATE, CURVE_PERIODIC),
+        SimpleDiscountFactors.of(USD, VAL_DATE, CURVE_DF)};
+  }
+
+  private static Curve curve(DiscountFactors factors) {
+    if (factors instanceof ZeroRateDiscountFactors) {
+      return ((ZeroRateDiscountFactors) factors).getCurve();
+    }
+    if (factors instanceof ZeroRatePeriodicDiscountFactors) {
+      return ((ZeroRatePeriodicDiscountFactors) factors).getCurve();
+    }
+    return ((SimpleDiscountFactors) factors).getCurve();
+  }
+
+}
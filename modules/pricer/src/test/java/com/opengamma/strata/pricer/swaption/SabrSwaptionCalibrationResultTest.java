@@ -0,0 +1,56 @@
+/*
+ * Copyright (C) 2019 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.swaption;
+
+import static com.opengamma.strata.collect.TestHelper.assertSerialization;
+import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
+import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
+import static org.testng.Assert.assertEquals;
+
+import java.time.LocalDate;
+import java.time.Period;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.date.Tenor;
+
+/**
+ * Test {@link SabrSwaptionCalibrationResult}.
+ */
+@Test
+public class SabrSwaptionCalibrationResultTest {
+
+  private static final LocalDate VAL_DATE = LocalDate.of(2014, 1, 3);
+  private static final SabrParametersSwaptionVolatilities VOLS =
+      SwaptionSabrRateVolatilityDataSet.getVolatilitiesUsd(VAL_DATE, false);
+  private static final SabrSwaptionNodeStatistics NODE1 =
+      SabrSwaptionNodeStatistics.of(Period.ofMonths(6), Tenor.TENOR_2Y, 12.5, 4, false);
+  private static final SabrSwaptionNodeStatistics NODE2 =
+      SabrSwaptionNodeStatistics.of(Period.ofYears(1), Tenor.TENOR_2Y, 10.5, 1, true);
+
+  public void test_of() {
+    SabrSwaptionCalibrationResult test = SabrSwaptionCalibrationResult.of(VOLS, ImmutableList.of(NODE1, NODE2));
+    assertEquals(test.getVolatilities(), VOLS);
+    assertEquals(test.getNodeStatistics(), ImmutableList.of(NODE1, NODE2));
+    assertEquals(test.getTotalFitCount(), 5);
+  }
+
+  //-------------------------------------------------------------------------
+  public void coverage() {
+    SabrSwaptionCalibrationResult test1 = SabrSwaptionCalibrationResult.of(VOLS, ImmutableList.of(NODE1, NODE2));
+    coverImmutableBean(test1);
+    SabrSwaptionCalibrationResult test2 = SabrSwaptionCalibrationResult.of(
+        SwaptionSabrRateVolatilityDataSet.getVolatilitiesEur(VAL_DATE, true), ImmutableList.of(NODE1));
+    coverBeanEquals(test1, test2);
+  }
+
+  public void test_serialization() {
+    SabrSwaptionCalibrationResult test = SabrSwaptionCalibrationResult.of(VOLS, ImmutableList.of(NODE1, NODE2));
+    assertSerialization(test);
+  }
+
+}
@@ -0,0 +1,220 @@
+/*
+ * Copyright (C) 2019 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.swaption;
+
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+import static com.opengamma.strata.market.curve.interpolator.CurveInterpolators.LINEAR;
+import static com.opengamma.strata.pricer.swaption.SwaptionCubeData.DATA_DATE;
+import static com.opengamma.strata.pricer.swaption.SwaptionCubeData.DATA_NORMAL_SIMPLE;
+import static com.opengamma.strata.pricer.swaption.SwaptionCubeData.DATA_TIME;
+import static com.opengamma.strata.pricer.swaption.SwaptionCubeData.DAY_COUNT;
+import static com.opengamma.strata.pricer.swaption.SwaptionCubeData.EXPIRIES_SIMPLE;
+import static com.opengamma.strata.pricer.swaption.SwaptionCubeData.MONEYNESS;
+import static com.opengamma.strata.pricer.swaption.SwaptionCubeData.TENORS_SIMPLE;
+import static com.opengamma.strata.product.swap.type.FixedIborSwapConventions.EUR_FIXED_1Y_EURIBOR_6M;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.collect.io.ResourceLocator;
+import com.opengamma.strata.data.ImmutableMarketData;
+import com.opengamma.strata.loader.csv.QuotesCsvLoader;
+import com.opengamma.strata.loader.csv.RatesCalibrationCsvLoader;
+import com.opengamma.strata.market.ValueType;
+import com.opengamma.strata.market.curve.CurveGroupName;
+import com.opengamma.strata.market.curve.RatesCurveGroupDefinition;
+import com.opengamma.strata.market.observable.QuoteId;
+import com.opengamma.strata.market.surface.ConstantSurface;
+import com.opengamma.strata.market.surface.DefaultSurfaceMetadata;
+import com.opengamma.strata.market.surface.Surface;
+import com.opengamma.strata.market.surface.interpolator.GridSurfaceInterpolator;
+import com.opengamma.strata.market.surface.interpolator.SurfaceInterpolator;
+import com.opengamma.strata.pricer.curve.CalibrationMeasures;
+import com.opengamma.strata.pricer.curve.RatesCurveCalibrator;
+import com.opengamma.strata.pricer.impl.option.BlackFormulaRepository;
+import com.opengamma.strata.pricer.impl.option.NormalFormulaRepository;
+import com.opengamma.strata.pricer.model.SabrInterestRateParameters;
+import com.opengamma.strata.pricer.option.TenorRawOptionData;
+import com.opengamma.strata.pricer.rate.RatesProvider;
+import com.opengamma.strata.pricer.swap.DiscountingSwapProductPricer;
+import com.opengamma.strata.product.common.BuySell;
+import com.opengamma.strata.product.common.PutCall;
+import com.opengamma.strata.product.swap.SwapTrade;
+
+/**
+ * Tests {@link SabrSwaptionCalibrator} for a cube, calibrated in parallel and with warm starts.
+ */
+@Test
+public class SabrSwaptionCalibratorCubeWarmStartTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+
+  private static final LocalDate CALIBRATION_DATE = DATA_DATE;
+  private static final ZonedDateTime CALIBRATION_TIME = DATA_TIME;
+
+  private static final SabrSwaptionCalibrator SABR_CALIBRATION = SabrSwaptionCalibrator.DEFAULT;
+  private static final SabrSwaptionCalibrator SABR_CALIBRATION_PARALLEL = SabrSwaptionCalibrator.DEFAULT
+      .withParallelism(4);
+
+  private static final String BASE_DIR = "src/test/resources/";
+  private static final String GROUPS_FILE = "curve-config/EUR-DSCONOIS-E3BS-E6IRS-group.csv";
+  private static final String SETTINGS_FILE = "curve-config/EUR-DSCONOIS-E3BS-E6IRS-settings.csv";
+  private static final String NODES_FILE = "curve-config/EUR-DSCONOIS-E3BS-E6IRS-nodes.csv";
+  private static final String QUOTES_FILE = "quotes/quotes-20160229-eur.csv";
+  private static final RatesCurveGroupDefinition CONFIGS =
+      RatesCalibrationCsvLoader.load(
+          ResourceLocator.of(BASE_DIR + GROUPS_FILE),
+          ResourceLocator.of(BASE_DIR + SETTINGS_FILE),
+          ResourceLocator.of(BASE_DIR + NODES_FILE)).get(CurveGroupName.of("EUR-DSCONOIS-E3BS-E6IRS"));
+  private static final Map<QuoteId, Double> MAP_MQ =
+      QuotesCsvLoader.load(CALIBRATION_DATE, ImmutableList.of(ResourceLocator.of(BASE_DIR + QUOTES_FILE)));
+  private static final ImmutableMarketData MARKET_QUOTES = ImmutableMarketData.of(CALIBRATION_DATE, MAP_MQ);
+
+  private static final CalibrationMeasures CALIBRATION_MEASURES = CalibrationMeasures.PAR_SPREAD;
+  private static final RatesCurveCalibrator CALIBRATOR = RatesCurveCalibrator.of(1e-9, 1e-9, 100, CALIBRATION_MEASURES);
+  private static final RatesProvider MULTICURVE = CALIBRATOR.calibrate(CONFIGS, MARKET_QUOTES, REF_DATA);
+
+  private static final DiscountingSwapProductPricer SWAP_PRICER = DiscountingSwapProductPricer.DEFAULT;
+
+  private static final TenorRawOptionData DATA_SIMPLE = SabrSwaptionCalibratorSmileTestUtils.rawData(
+      TENORS_SIMPLE,
+      EXPIRIES_SIMPLE,
+      ValueType.SIMPLE_MONEYNESS,
+      MONEYNESS,
+      ValueType.NORMAL_VOLATILITY,
+      DATA_NORMAL_SIMPLE);
+  private static final SurfaceInterpolator INTERPOLATOR_2D = GridSurfaceInterpolator.of(LINEAR, LINEAR);
+  private static final SwaptionVolatilitiesName NAME_SABR = SwaptionVolatilitiesName.of("Calibrated-SABR");
+  private static final SabrSwaptionDefinition DEFINITION =
+      SabrSwaptionDefinition.of(NAME_SABR, EUR_FIXED_1Y_EURIBOR_6M, DAY_COUNT, INTERPOLATOR_2D);
+  private static final double SHIFT = 0.0300;
+  private static final Surface BETA_SURFACE = ConstantSurface.of("Beta", 0.50)
+      .withMetadata(DefaultSurfaceMetadata.builder()
+          .xValueType(ValueType.YEAR_FRACTION).yValueType(ValueType.YEAR_FRACTION)
+          .zValueType(ValueType.SABR_BETA).surfaceName("Beta").build());
+  private static final Surface SHIFT_SURFACE = ConstantSurface.of("Shift", SHIFT)
+      .withMetadata(DefaultSurfaceMetadata.builder()
+          .xValueType(ValueType.YEAR_FRACTION).yValueType(ValueType.YEAR_FRACTION).surfaceName("Shift").build());
+  private static final int NB_NODES = TENORS_SIMPLE.size() * EXPIRIES_SIMPLE.size();
+
+  private static final double TOLERANCE_PRICE_CALIBRATION_LS = 5.0E-4; // Calibration Least Square; result not exact
+  private static final double TOLERANCE_PARAM = 1.0E-4;
+
+  //-------------------------------------------------------------------------
+  public void parallel_same_as_serial() {
+    SabrParametersSwaptionVolatilities serial = SABR_CALIBRATION.calibrateWithFixedBetaAndShift(
+        DEFINITION, CALIBRATION_TIME, DATA_SIMPLE, MULTICURVE, BETA_SURFACE, SHIFT_SURFACE);
+    SabrParametersSwaptionVolatilities parallel = SABR_CALIBRATION_PARALLEL.calibrateWithFixedBetaAndShift(
+        DEFINITION, CALIBRATION_TIME, DATA_SIMPLE, MULTICURVE, BETA_SURFACE, SHIFT_SURFACE);
+    assertEquals(parallel, serial);
+  }
+
+  public void warm_start_previous_expiry() {
+    SabrSwaptionCalibrationResult result = SABR_CALIBRATION.calibrateWithFixedBetaAndShiftWarmStart(
+        DEFINITION, CALIBRATION_TIME, DATA_SIMPLE, MULTICURVE, BETA_SURFACE, SHIFT_SURFACE, true);
+    checkPrices(result.getVolatilities());
+    List<SabrSwaptionNodeStatistics> statistics = result.getNodeStatistics();
+    assertEquals(statistics.size(), NB_NODES);
+    for (int looptenor = 0; looptenor < TENORS_SIMPLE.size(); looptenor++) {
+      for (int loopexpiry = 0; loopexpiry < EXPIRIES_SIMPLE.size(); loopexpiry++) {
+        SabrSwaptionNodeStatistics node = statistics.get(looptenor * EXPIRIES_SIMPLE.size() + loopexpiry);
+        assertEquals(node.getTenor(), TENORS_SIMPLE.get(looptenor));
+        assertEquals(node.getExpiry(), EXPIRIES_SIMPLE.get(loopexpiry));
+        if (loopexpiry == 0) {
+          assertEquals(node.getFitCount(), 4);
+          assertFalse(node.isWarmStart());
+        } else {
+          assertTrue(node.getFitCount() == 1 || node.getFitCount() == 5);
+        }
+      }
+    }
+    assertTrue(result.getTotalFitCount() < 4 * NB_NODES);
+    SabrSwaptionCalibrationResult parallel = SABR_CALIBRATION_PARALLEL.calibrateWithFixedBetaAndShiftWarmStart(
+        DEFINITION, CALIBRATION_TIME, DATA_SIMPLE, MULTICURVE, BETA_SURFACE, SHIFT_SURFACE, true);
+    assertEquals(parallel, result);
+  }
+
+  public void warm_start_previous_parameters() {
+    SabrSwaptionCalibrationResult previousResult = SABR_CALIBRATION.calibrateWithFixedBetaAndShiftWarmStart(
+        DEFINITION, CALIBRATION_TIME, DATA_SIMPLE, MULTICURVE, BETA_SURFACE, SHIFT_SURFACE, true);
+    SabrInterestRateParameters previous = previousResult.getVolatilities().getParameters();
+    SabrSwaptionCalibrationResult result = SABR_CALIBRATION_PARALLEL.calibrateWithFixedBetaAndShiftWarmStart(
+        DEFINITION, CALIBRATION_TIME, DATA_SIMPLE, MULTICURVE, BETA_SURFACE, SHIFT_SURFACE, previousResult, true);
+    checkPrices(result.getVolatilities());
+    assertEquals(result.getNodeStatistics().size(), NB_NODES);
+    for (SabrSwaptionNodeStatistics node : result.getNodeStatistics()) {
+      assertEquals(node.getFitCount(), 1);
+      assertTrue(node.isWarmStart());
+    }
+    assertEquals(result.getTotalFitCount(), NB_NODES);
+    SabrInterestRateParameters parameters = result.getVolatilities().getParameters();
+    for (int i = 0; i < NB_NODES; i++) {
+      assertEquals(
+          parameters.getAlphaSurface().getParameter(i), previous.getAlphaSurface().getParameter(i), TOLERANCE_PARAM);
+      assertEquals(
+          parameters.getRhoSurface().getParameter(i), previous.getRhoSurface().getParameter(i), TOLERANCE_PARAM);
+      assertEquals(
+          parameters.getNuSurface().getParameter(i), previous.getNuSurface().getParameter(i), TOLERANCE_PARAM);
+    }
+  }
+
+  public void warm_start_rejected() {
+    SabrSwaptionCalibrationResult calibrated = SABR_CALIBRATION.calibrateWithFixedBetaAndShiftWarmStart(
+        DEFINITION, CALIBRATION_TIME, DATA_SIMPLE, MULTICURVE, BETA_SURFACE, SHIFT_SURFACE, true);
+    // previous chi-square of zero, thus the warm start fits are not close enough
+    List<SabrSwaptionNodeStatistics> exactFits = calibrated.getNodeStatistics().stream()
+        .map(node -> SabrSwaptionNodeStatistics.of(node.getExpiry(), node.getTenor(), 0d, 1, true))
+        .collect(toImmutableList());
+    SabrSwaptionCalibrationResult previous = SabrSwaptionCalibrationResult.of(calibrated.getVolatilities(), exactFits);
+    SabrSwaptionCalibrationResult result = SABR_CALIBRATION.calibrateWithFixedBetaAndShiftWarmStart(
+        DEFINITION, CALIBRATION_TIME, DATA_SIMPLE, MULTICURVE, BETA_SURFACE, SHIFT_SURFACE, previous, true);
+    checkPrices(result.getVolatilities());
+    for (SabrSwaptionNodeStatistics node : result.getNodeStatistics()) {
+      assertEquals(node.getFitCount(), 5);
+    }
+    assertEquals(result.getTotalFitCount(), 5 * NB_NODES);
+  }
+
+  //-------------------------------------------------------------------------
+  private static void checkPrices(SabrParametersSwaptionVolatilities calibrated) {
+    for (int looptenor = 0; looptenor < TENORS_SIMPLE.size(); looptenor++) {
+      double tenor = TENORS_SIMPLE.get(looptenor).get(ChronoUnit.YEARS);
+      for (int loopexpiry = 0; loopexpiry < EXPIRIES_SIMPLE.size(); loopexpiry++) {
+        LocalDate expiry = EUR_FIXED_1Y_EURIBOR_6M.getFloatingLeg().getStartDateBusinessDayAdjustment()
+            .adjust(CALIBRATION_DATE.plus(EXPIRIES_SIMPLE.get(loopexpiry)), REF_DATA);
+        LocalDate effectiveDate = EUR_FIXED_1Y_EURIBOR_6M.calculateSpotDateFromTradeDate(expiry, REF_DATA);
+        LocalDate endDate = effectiveDate.plus(TENORS_SIMPLE.get(looptenor));
+        SwapTrade swap = EUR_FIXED_1Y_EURIBOR_6M
+            .toTrade(CALIBRATION_DATE, effectiveDate, endDate, BuySell.BUY, 1.0, 0.0);
+        double parRate = SWAP_PRICER.parRate(swap.resolve(REF_DATA).getProduct(), MULTICURVE);
+        ZonedDateTime expiryDateTime = expiry.atTime(11, 0).atZone(ZoneId.of("Europe/Berlin"));
+        double time = calibrated.relativeTime(expiryDateTime);
+        for (int loopmoney = 0; loopmoney < MONEYNESS.size(); loopmoney++) {
+          if (!Double.isNaN(DATA_NORMAL_SIMPLE[looptenor][loopexpiry][loopmoney])) {
+            double strike = parRate + MONEYNESS.get(loopmoney);
+            double volBlack = calibrated.volatility(expiryDateTime, tenor, strike, parRate);
+            double priceComputed = BlackFormulaRepository.price(parRate + SHIFT, strike + SHIFT, time, volBlack, true);
+            double priceNormal = NormalFormulaRepository.price(parRate, strike,
+                time, DATA_NORMAL_SIMPLE[looptenor][loopexpiry][loopmoney], PutCall.CALL);
+            assertEquals(priceComputed, priceNormal, TOLERANCE_PRICE_CALIBRATION_LS);
+          }
+        }
+      }
+    }
+  }
+
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright (C) 2019 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.swaption;
+
+import static com.opengamma.strata.collect.TestHelper.assertSerialization;
+import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
+import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.time.Period;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.basics.date.Tenor;
+
+/**
+ * Test {@link SabrSwaptionNodeStatistics}.
+ */
+@Test
+public class SabrSwaptionNodeStatisticsTest {
+
+  public void test_of() {
+    SabrSwaptionNodeStatistics test = SabrSwaptionNodeStatistics.of(Period.ofMonths(6), Tenor.TENOR_2Y, 12.5, 1, true);
+    assertEquals(test.getExpiry(), Period.ofMonths(6));
+    assertEquals(test.getTenor(), Tenor.TENOR_2Y);
+    assertEquals(test.getChiSquare(), 12.5);
+    assertEquals(test.getFitCount(), 1);
+    assertTrue(test.isWarmStart());
+  }
+
+  //-------------------------------------------------------------------------
+  public void coverage() {
+    SabrSwaptionNodeStatistics test1 = SabrSwaptionNodeStatistics.of(Period.ofMonths(6), Tenor.TENOR_2Y, 12.5, 1, true);
+    coverImmutableBean(test1);
+    SabrSwaptionNodeStatistics test2 = SabrSwaptionNodeStatistics.of(Period.ofYears(1), Tenor.TENOR_5Y, 20.5, 5, false);
+    coverBeanEquals(test1, test2);
+  }
+
+  public void test_serialization() {
+    SabrSwaptionNodeStatistics test = SabrSwaptionNodeStatistics.of(Period.ofMonths(6), Tenor.TENOR_2Y, 12.5, 1, true);
+    assertSerialization(test);
+  }
+
+}